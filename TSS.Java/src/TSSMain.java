@@ -1,6 +1,8 @@
 //import java.util.Arrays;
 
+import samples.Benchmarks;
 import samples.CmdLine;
+import samples.LinuxDeviceCheck;
 import samples.Samples;
 //import tss.*;
 //import tss.tpm.*;
@@ -12,6 +14,20 @@ public class TSSMain
     {
         CmdLine.setArgs(args);
 
+        if (CmdLine.isOptionPresent("bench", "b"))
+        {
+            System.out.println("TSSMain: starting Benchmarks...");
+            new Benchmarks().doAll(args);
+            return;
+        }
+
+        if (CmdLine.isOptionPresent("linuxdev", null))
+        {
+            System.out.println("TSSMain: starting TpmDeviceLinux checks...");
+            new LinuxDeviceCheck().doAll(args);
+            return;
+        }
+
         // DocSamples s1 = new DocSamples();
         // s1.doAll();
     
@@ -0,0 +1,1019 @@
+package samples;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import tss.*;
+import tss.tpm.*;
+
+/**
+ * Simple wall-clock benchmarks of the TSS.Java hot paths.
+ *
+ * Unless stated otherwise the benchmarks use the TPM simulator on localhost:2321.
+ * Run them with the "bench" command line option of TSSMain.
+ */
+public class Benchmarks
+{
+    static final int WarmupIters = 200;
+    static final int Iters = 2000;
+
+    public void doAll(String[] args)
+    {
+        // Does not need the simulator
+        if (System.getProperty("os.name").contains("Linux"))
+            linuxDeviceLatency();
+        dispatchOverhead();
+        dispatchAllocations();
+        concurrentInvocations();
+        proxyThroughput();
+        transportLatency();
+        asyncPipelining();
+        platformHashThroughput();
+        tpmDigestThroughput();
+        entropyPool();
+        sessionOverhead();
+        parmEncryption();
+        sessionPool();
+        commandAudit();
+        cpHashBatch();
+        unmarshaling();
+        enumDecoding();
+        marshaling();
+        responseViews();
+        structureHashing();
+    }
+
+    static void report(String name, long elapsedNs, int iters)
+    {
+        System.out.printf("%-40s %10.2f us/op%n", name, elapsedNs / 1000.0 / iters);
+    }
+
+    static Tpm startSimulator(TpmDevice device)
+    {
+        if (!device.connect())
+            throw new TpmException("Failed to connect to the TPM simulator");
+        device.powerCycle();
+        Tpm tpm = new Tpm();
+        tpm._setDevice(device);
+        tpm.Startup(TPM_SU.CLEAR);
+        return tpm;
+    }
+
+    /** @return Tpm object started over a new in-memory TpmDeviceMock */
+    static Tpm startMock()
+    {
+        return startMock(new TpmDeviceMock());
+    }
+
+    /** @return Tpm object started over the given in-memory TpmDeviceMock */
+    static Tpm startMock(TpmDeviceMock device)
+    {
+        device.connect();
+        Tpm tpm = new Tpm();
+        tpm._setDevice(device);
+        tpm.Startup(TPM_SU.CLEAR);
+        return tpm;
+    }
+
+    static void close(Tpm tpm)
+    {
+        try { tpm.close(); } catch (IOException e) {}
+    }
+
+    /** TSS-side cost of marshaling, dispatching and unmarshaling commands, measured against
+     *  the in-memory TpmDeviceMock, i.e. without any transport or device latency
+     */
+    void dispatchOverhead()
+    {
+        Tpm tpm = startMock();
+        TPMS_PCR_SELECTION[] pcrs = { new TPMS_PCR_SELECTION(TPM_ALG_ID.SHA256, new int[] {0, 1, 2, 3}) };
+
+        for (int i = 0; i < WarmupIters * 10; ++i)
+        {
+            tpm.GetRandom(8);
+            tpm.PCR_Read(pcrs);
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < Iters * 10; ++i)
+            tpm.GetRandom(8);
+        report("GetRandom(8) via TpmDeviceMock", System.nanoTime() - start, Iters * 10);
+
+        start = System.nanoTime();
+        for (int i = 0; i < Iters * 10; ++i)
+            tpm.PCR_Read(pcrs);
+        report("PCR_Read(4 PCRs) via TpmDeviceMock", System.nanoTime() - start, Iters * 10);
+        close(tpm);
+    }
+
+    /** Bytes allocated on the Java heap by the TSS-side processing of a single command.
+     *  TpmDeviceMock replies with canned responses recorded beforehand, so that the device
+     *  contributes next to nothing.
+     */
+    void dispatchAllocations()
+    {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean)ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        Tpm tpm = startMock();
+        TpmDeviceMock device = (TpmDeviceMock)tpm._getDevice();
+        TPMS_PCR_SELECTION[] pcrs = { new TPMS_PCR_SELECTION(TPM_ALG_ID.SHA256, new int[] {0, 1, 2, 3}) };
+
+        TpmDeviceMock.Recorder recorder = new TpmDeviceMock.Recorder();
+        tpm._setCallback(recorder);
+        tpm.GetRandom(8);
+        tpm.PCR_Read(pcrs);
+        tpm._setCallback(null);
+        device.setResponse(TPM_CC.GetRandom, recorder.getExchanges().get(0).response);
+        device.setResponse(TPM_CC.PCR_Read, recorder.getExchanges().get(1).response);
+
+        for (int i = 0; i < WarmupIters * 10; ++i)
+        {
+            tpm.GetRandom(8);
+            tpm.PCR_Read(pcrs);
+        }
+
+        long start = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < Iters; ++i)
+            tpm.GetRandom(8);
+        reportAllocations("GetRandom(8), canned response", threads.getThreadAllocatedBytes(threadId) - start, Iters);
+
+        start = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < Iters; ++i)
+            tpm.PCR_Read(pcrs);
+        reportAllocations("PCR_Read(4 PCRs), canned response", threads.getThreadAllocatedBytes(threadId) - start, Iters);
+        close(tpm);
+    }
+
+    static void reportAllocations(String name, long bytes, int iters)
+    {
+        System.out.printf("%-40s %10d B/op%n", name, bytes / iters);
+    }
+
+    /** Stress test and throughput of a single Tpm object shared by multiple threads, which
+     *  issue commands with conflicting invocation modifiers via TpmInvocation
+     */
+    void concurrentInvocations()
+    {
+        Tpm tpm = startMock();
+        TPM_HANDLE bogus = TPM_HANDLE.from(0x80FFFFFF);
+        TPMT_HA[] digests = { new TPMT_HA(TPM_ALG_ID.SHA256, new byte[32]) };
+        AtomicInteger failures = new AtomicInteger();
+
+        for (int numThreads : new int[] {1, 4, 16})
+        {
+            Thread[] threads = new Thread[numThreads];
+            CyclicBarrier started = new CyclicBarrier(numThreads + 1);
+            for (int i = 0; i < numThreads; ++i)
+            {
+                final int id = i;
+                threads[i] = new Thread(() -> {
+                    await(started);
+                    for (int j = 0; j < Iters; ++j)
+                    {
+                        try {
+                            if (id % 2 == 0)
+                            {
+                                // Must fail with exactly the expected error
+                                tpm.invocation().expectError(TPM_RC.HANDLE).run(t -> t.FlushContext(bogus));
+                                if (tpm.with(TPM_HANDLE.pwSession(new byte[0])).call(t -> t.GetRandom(8)).length != 8)
+                                    failures.incrementAndGet();
+                            }
+                            else
+                            {
+                                // Must not throw, and must report its own error
+                                TPM_RC rc = tpm.invocation().allowErrors().call(t -> {
+                                    t.FlushContext(bogus);
+                                    return t._getLastResponseCode();
+                                });
+                                if (rc != TPM_RC.HANDLE)
+                                    failures.incrementAndGet();
+                                tpm.PCR_Extend(TPM_HANDLE.pcr(id % 16), digests);
+                            }
+                        } catch (TpmException e) {
+                            failures.incrementAndGet();
+                        }
+                    }
+                });
+                threads[i].start();
+            }
+
+            await(started);
+            long start = System.nanoTime();
+            for (Thread t : threads)
+            {
+                try { t.join(); } catch (InterruptedException e) {}
+            }
+            report("Shared Tpm, " + numThreads + " threads", System.nanoTime() - start, Iters * 2 * numThreads);
+        }
+        close(tpm);
+        if (failures.get() != 0)
+            throw new TpmException("Shared Tpm stress test: " + failures.get() + " failed invocations");
+    }
+
+    /** Throughput of TpmProxyServer serving a growing number of concurrent clients.
+     *  The proxy is backed by TpmDeviceMock, so that only the proxy overhead is measured.
+     */
+    void proxyThroughput()
+    {
+        final int port = 2341;
+        TpmDeviceMock backend = new TpmDeviceMock();
+        backend.connect();
+        for (int numClients : new int[] {1, 4, 16})
+        {
+            TpmProxyServer proxy = new TpmProxyServer(backend, port).start();
+            Thread[] clients = new Thread[numClients];
+            CyclicBarrier warmedUp = new CyclicBarrier(numClients + 1);
+            for (int i = 0; i < numClients; ++i)
+            {
+                clients[i] = new Thread(() -> {
+                    Tpm tpm = startSimulator(new TpmDeviceTcpNio("localhost", port));
+                    for (int j = 0; j < WarmupIters; ++j)
+                        tpm.GetRandom(8);
+                    await(warmedUp);
+                    for (int j = 0; j < Iters; ++j)
+                        tpm.GetRandom(8);
+                    close(tpm);
+                });
+                clients[i].start();
+            }
+
+            await(warmedUp);
+            long start = System.nanoTime();
+            for (Thread t : clients)
+            {
+                try { t.join(); } catch (InterruptedException e) {}
+            }
+            report("GetRandom(8) via proxy, " + numClients + " clients", System.nanoTime() - start, Iters * numClients);
+            System.out.printf("    max queue depth %d, avg service %.2f us, avg queue wait %.2f us%n",
+                              proxy.maxQueueDepth(), proxy.avgServiceNanos() / 1000.0,
+                              proxy.avgQueueWaitNanos() / 1000.0);
+            proxy.close();
+        }
+    }
+
+    static void await(CyclicBarrier barrier)
+    {
+        try {
+            barrier.await();
+        } catch (InterruptedException | BrokenBarrierException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /** Round-trip latency of a small command over the stream and NIO socket transports */
+    void transportLatency()
+    {
+        TpmDevice[] devices = { new TpmDeviceTcp("localhost", 2321),
+                                new TpmDeviceTcpNio("localhost", 2321) };
+        for (TpmDevice device : devices)
+        {
+            Tpm tpm = startSimulator(device);
+            for (int i = 0; i < WarmupIters; ++i)
+                tpm.GetRandom(8);
+
+            long start = System.nanoTime();
+            for (int i = 0; i < Iters; ++i)
+                tpm.GetRandom(8);
+            report("GetRandom(8) via " + device.getClass().getSimpleName(), System.nanoTime() - start, Iters);
+            close(tpm);
+        }
+    }
+
+    /** Throughput of pipelined asynchronous commands vs. synchronous ones */
+    void asyncPipelining()
+    {
+        final int batch = 32;
+        Tpm tpm = startSimulator(new TpmDeviceTcpNio("localhost", 2321));
+
+        long start = System.nanoTime();
+        for (int i = 0; i < Iters; ++i)
+            tpm.GetRandom(8);
+        report("GetRandom(8) sync", System.nanoTime() - start, Iters);
+
+        start = System.nanoTime();
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        CompletableFuture<GetRandomResponse>[] futures = new CompletableFuture[batch];
+        for (int i = 0; i < Iters; i += batch)
+        {
+            for (int j = 0; j < batch; ++j)
+                futures[j] = tpm.DispatchCommandAsync(TPM_CC.GetRandom, new TPM2_GetRandom_REQUEST(8),
+                                                      new GetRandomResponse());
+            CompletableFuture.allOf(futures).join();
+        }
+        report("GetRandom(8) async, " + batch + " in flight", System.nanoTime() - start, Iters);
+        close(tpm);
+    }
+
+    static void reportThroughput(String name, long elapsedNs, long bytes)
+    {
+        System.out.printf("%-40s %10.2f MB/s%n", name, bytes / 1048576.0 / (elapsedNs / 1e9));
+    }
+
+    /** Throughput of hashing a large blob via the streamed platform hash signals vs.
+     *  a TPM2_HashSequence driven with the largest chunks the TPM accepts
+     */
+    void platformHashThroughput()
+    {
+        byte[] data = Helpers.RandomBytes(4 * 1024 * 1024);
+        Tpm tpm = startSimulator(new TpmDeviceTcpNio("localhost", 2321));
+
+        long start = System.nanoTime();
+        try (OutputStream hashStream = tpm._getDevice().platformHashStream()) {
+            hashStream.write(data);
+        } catch (IOException e) {
+            throw new TpmException("Platform hash stream failed", e);
+        }
+        reportThroughput("Platform hash stream", System.nanoTime() - start, data.length);
+
+        int chunkSize = TpmHelpers.getTpmProperty(tpm, TPM_PT.INPUT_BUFFER);
+        start = System.nanoTime();
+        TPM_HANDLE seq = tpm.HashSequenceStart(new byte[0], TPM_ALG_ID.SHA256);
+        int pos = 0;
+        for (; data.length - pos > chunkSize; pos += chunkSize)
+            tpm.SequenceUpdate(seq, Arrays.copyOfRange(data, pos, pos + chunkSize));
+        tpm.SequenceComplete(seq, Arrays.copyOfRange(data, pos, data.length), TPM_HANDLE.from(TPM_RH.NULL));
+        reportThroughput("TPM2_HashSequence, " + chunkSize + " byte chunks", System.nanoTime() - start, data.length);
+        close(tpm);
+    }
+
+    /** Throughput of TPM2_HashSequence against the size of the chunks passed to
+     *  TPM2_SequenceUpdate, and of the TpmProvider message digest filling the largest chunks
+     *  the TPM accepts from the small updates. Small inputs take a single TPM2_Hash command.
+     */
+    void tpmDigestThroughput()
+    {
+        byte[] data = Helpers.RandomBytes(1024 * 1024);
+        Tpm tpm = startSimulator(new TpmDeviceTcpNio("localhost", 2321));
+        int maxChunk = TpmHelpers.getTpmProperty(tpm, TPM_PT.INPUT_BUFFER);
+
+        for (int chunkSize = 64; chunkSize <= maxChunk; chunkSize *= 2)
+        {
+            long start = System.nanoTime();
+            TPM_HANDLE seq = tpm.HashSequenceStart(new byte[0], TPM_ALG_ID.SHA256);
+            int pos = 0;
+            for (; data.length - pos > chunkSize; pos += chunkSize)
+                tpm.SequenceUpdate(seq, Arrays.copyOfRange(data, pos, pos + chunkSize));
+            tpm.SequenceComplete(seq, Arrays.copyOfRange(data, pos, data.length), TPM_HANDLE.NULL);
+            reportThroughput("TPM2_HashSequence, " + chunkSize + " byte chunks", System.nanoTime() - start, data.length);
+        }
+
+        MessageDigest md;
+        try {
+            md = MessageDigest.getInstance("SHA-256", new TpmProvider(tpm));
+        } catch (NoSuchAlgorithmException e) {
+            throw new TpmException("TpmProvider does not support SHA-256", e);
+        }
+        long start = System.nanoTime();
+        for (int pos = 0; pos < data.length; pos += 64)
+            md.update(data, pos, 64);
+        byte[] digest = md.digest();
+        reportThroughput("TpmProvider SHA-256, 64 byte updates", System.nanoTime() - start, data.length);
+        if (!Arrays.equals(digest, Crypto.hash(TPM_ALG_ID.SHA256, data)))
+            throw new TpmException("TpmProvider digest mismatch");
+
+        byte[] small = Arrays.copyOf(data, 256);
+        start = System.nanoTime();
+        for (int i = 0; i < Iters / 10; ++i)
+        {
+            TPM_HANDLE seq = tpm.HashSequenceStart(new byte[0], TPM_ALG_ID.SHA256);
+            tpm.SequenceComplete(seq, small, TPM_HANDLE.NULL);
+        }
+        report("TPM2_HashSequence, 256 bytes", System.nanoTime() - start, Iters / 10);
+        start = System.nanoTime();
+        for (int i = 0; i < Iters / 10; ++i)
+            md.digest(small);
+        report("TpmProvider SHA-256, 256 bytes", System.nanoTime() - start, Iters / 10);
+        close(tpm);
+    }
+
+    /** Checks the commands with HMAC sessions, whose caller nonces are produced by the TPM
+     *  while the TpmProvider entropy pool is empty (i.e. with GetRandom commands issued by the
+     *  thread preparing the session command), and a command issued by the command completion
+     *  callback. The pool is kept empty by failing the commands of its refill thread.
+     */
+    static void checkSessionNoncesFromTpm()
+    {
+        Thread checker = Thread.currentThread();
+        Tpm tpm = startMock(new TpmDeviceMock() {
+            @Override
+            public byte[] executeCommand(byte[] cmdBuf, int timeoutMs)
+            {
+                if (Thread.currentThread() != checker)
+                    throw new TpmException("Entropy pool refills are disabled by the check");
+                return super.executeCommand(cmdBuf, timeoutMs);
+            }
+        });
+        SecureRandom prevRandom = Helpers.getRandomSource();
+        try {
+            TpmProvider prov = new TpmProvider(tpm);
+            try {
+                Helpers.setRandomSource(SecureRandom.getInstance("TPM", prov));
+            } catch (NoSuchAlgorithmException e) {
+                throw new TpmException("TpmProvider does not support SecureRandom", e);
+            }
+
+            TPM_HANDLE nv = TPM_HANDLE.NV(0x1004);
+            byte[] auth = new byte[16];
+            tpm.NV_DefineSpace(TPM_HANDLE.from(TPM_RH.OWNER), auth,
+                    new TPMS_NV_PUBLIC(nv, TPM_ALG_ID.SHA256,
+                                       new TPMA_NV(TPMA_NV.AUTHREAD, TPMA_NV.AUTHWRITE), new byte[0], 64));
+            nv.AuthValue = auth;
+            byte[] data = new byte[64];
+            Arrays.fill(data, (byte)0x5A);
+            tpm.NV_Write(nv, nv, data, 0);
+
+            AuthSession sess = tpm.StartAuthSession(TPM_SE.HMAC, TPM_ALG_ID.SHA256);
+            tpm._setCallback((cc, rc, cmd, resp) -> {
+                if (cc == TPM_CC.NV_Read)
+                    tpm.invocation().call(t -> t.GetRandom(8));
+            });
+            for (int i = 0; i < 16; ++i)
+            {
+                if (!Arrays.equals(tpm.with(sess).call(t -> t.NV_Read(nv, nv, 64, 0)), data))
+                    throw new RuntimeException("NV_Read with an HMAC session returned wrong data");
+            }
+            tpm._setCallback(null);
+            if (prov.getEntropyPool().syncBytes() == 0)
+                throw new RuntimeException("The session nonces were not obtained with GetRandom commands");
+            tpm.FlushContext(sess);
+        } finally {
+            Helpers.setRandomSource(prevRandom);
+            close(tpm);
+        }
+    }
+
+    /** Latency of a 32 byte nonce obtained with a GetRandom command vs. from the TPM entropy
+     *  pool refilled in the background, and vs. the TPM seeded DRBG
+     */
+    void entropyPool()
+    {
+        checkSessionNoncesFromTpm();
+
+        Tpm tpm = startSimulator(new TpmDeviceTcpNio("localhost", 2321));
+        byte[] nonce = new byte[32];
+
+        long start = System.nanoTime();
+        for (int i = 0; i < Iters; ++i)
+            tpm.GetRandom(nonce.length);
+        report("GetRandom(32)", System.nanoTime() - start, Iters);
+
+        TpmProvider prov = new TpmProvider(tpm);
+        SecureRandom tpmRand, drbg;
+        try {
+            tpmRand = SecureRandom.getInstance("TPM", prov);
+            drbg = SecureRandom.getInstance("TPM-DRBG", prov);
+        } catch (NoSuchAlgorithmException e) {
+            throw new TpmException("TpmProvider does not support SecureRandom", e);
+        }
+        TpmEntropyPool pool = prov.getEntropyPool();
+        start = System.nanoTime();
+        for (int i = 0; i < Iters; ++i)
+            tpmRand.nextBytes(nonce);
+        report("TpmEntropyPool, 32 bytes", System.nanoTime() - start, Iters);
+
+        for (int i = 0; i < WarmupIters; ++i)
+            drbg.nextBytes(nonce);
+        start = System.nanoTime();
+        for (int i = 0; i < Iters; ++i)
+            drbg.nextBytes(nonce);
+        report("TPM-DRBG, 32 bytes", System.nanoTime() - start, Iters);
+
+        System.out.println("TpmEntropyPool: " + pool);
+        close(tpm);
+    }
+
+    /** Per-command cost of the HMAC sessions (command HMAC, response HMAC verification and
+     *  nonce rolling) compared to a password session. The mock verifies the HMACs too. */
+    void sessionOverhead()
+    {
+        Tpm tpm = startMock();
+
+        TPM_HANDLE nv = TPM_HANDLE.NV(0x1000);
+        byte[] auth = Helpers.RandomBytes(16);
+        tpm.NV_DefineSpace(TPM_HANDLE.from(TPM_RH.OWNER), auth,
+                new TPMS_NV_PUBLIC(nv, TPM_ALG_ID.SHA256,
+                                   new TPMA_NV(TPMA_NV.AUTHREAD, TPMA_NV.AUTHWRITE), new byte[0], 64));
+        nv.AuthValue = auth;
+        tpm.NV_Write(nv, nv, new byte[64], 0);
+
+        AuthSession unbound = tpm.StartAuthSession(TPM_SE.HMAC, TPM_ALG_ID.SHA256);
+        AuthSession bound = tpm.StartAuthSession(TPM_SE.HMAC, TPM_ALG_ID.SHA256, TPMA_SESSION.continueSession,
+                                                 new TPMT_SYM_DEF(TPM_ALG_ID.NULL, 0, TPM_ALG_ID.NULL),
+                                                 nv, TPM_HANDLE.NULL, null);
+        TPM_HANDLE[] sessions = { TPM_HANDLE.pwSession(auth), unbound, bound };
+        String[] names = { "NV_Read(64) with PW session", "NV_Read(64) with HMAC session",
+                           "NV_Read(64) with bound HMAC session" };
+        for (int k = 0; k < sessions.length; ++k)
+        {
+            TpmInvocation inv = tpm.with(sessions[k]);
+            for (int i = 0; i < WarmupIters * 10; ++i)
+                inv.call(t -> t.NV_Read(nv, nv, 64, 0));
+            long start = System.nanoTime();
+            for (int i = 0; i < Iters * 10; ++i)
+                inv.call(t -> t.NV_Read(nv, nv, 64, 0));
+            report(names[k], System.nanoTime() - start, Iters * 10);
+        }
+        tpm.FlushContext(unbound);
+        tpm.FlushContext(bound);
+        close(tpm);
+    }
+
+    /** Per-command cost of the session based parameter encryption (AES-CFB vs XOR obfuscation)
+     *  for NV_Write and NV_Read of 1 KB. The mock decrypts and encrypts the parameters too. */
+    void parmEncryption()
+    {
+        Tpm tpm = startMock();
+
+        int size = 1024;
+        TPM_HANDLE nv = TPM_HANDLE.NV(0x1001);
+        tpm.NV_DefineSpace(TPM_HANDLE.from(TPM_RH.OWNER), null,
+                new TPMS_NV_PUBLIC(nv, TPM_ALG_ID.SHA256,
+                                   new TPMA_NV(TPMA_NV.AUTHREAD, TPMA_NV.AUTHWRITE), new byte[0], size));
+        byte[] data = Helpers.RandomBytes(size);
+
+        TPMT_SYM_DEF[] syms = { new TPMT_SYM_DEF(TPM_ALG_ID.NULL, 0, TPM_ALG_ID.NULL),
+                                new TPMT_SYM_DEF(TPM_ALG_ID.AES, 128, TPM_ALG_ID.CFB),
+                                new TPMT_SYM_DEF(TPM_ALG_ID.XOR, TPM_ALG_ID.SHA256.toInt(), TPM_ALG_ID.NULL) };
+        String[] names = { "no encryption", "AES-128-CFB", "XOR" };
+        for (int k = 0; k < syms.length; ++k)
+        {
+            boolean encrypted = syms[k].algorithm != TPM_ALG_ID.NULL;
+            TPMA_SESSION plain = TPMA_SESSION.continueSession,
+                         writeAttrs = encrypted ? new TPMA_SESSION(plain, TPMA_SESSION.decrypt) : plain,
+                         readAttrs = encrypted ? new TPMA_SESSION(plain, TPMA_SESSION.encrypt) : plain;
+            AuthSession sess = tpm.StartAuthSession(TPM_SE.HMAC, TPM_ALG_ID.SHA256, plain, syms[k]);
+            TpmInvocation inv = tpm.with(sess);
+            for (int i = 0; i < WarmupIters * 10; ++i)
+            {
+                sess.attributes = writeAttrs;
+                inv.run(t -> t.NV_Write(nv, nv, data, 0));
+                sess.attributes = readAttrs;
+                inv.call(t -> t.NV_Read(nv, nv, size, 0));
+            }
+
+            sess.attributes = writeAttrs;
+            long start = System.nanoTime();
+            for (int i = 0; i < Iters * 10; ++i)
+                inv.run(t -> t.NV_Write(nv, nv, data, 0));
+            report("NV_Write(1 KB), " + names[k], System.nanoTime() - start, Iters * 10);
+
+            sess.attributes = readAttrs;
+            start = System.nanoTime();
+            for (int i = 0; i < Iters * 10; ++i)
+                inv.call(t -> t.NV_Read(nv, nv, size, 0));
+            report("NV_Read(1 KB), " + names[k], System.nanoTime() - start, Iters * 10);
+            tpm.FlushContext(sess);
+        }
+        close(tpm);
+    }
+
+    /** Latency of a one-shot authorized command with a session started for it, and with
+     *  a session taken from AuthSessionPool */
+    void sessionPool()
+    {
+        Tpm tpm = startMock();
+
+        TPM_HANDLE nv = TPM_HANDLE.NV(0x1002);
+        byte[] auth = Helpers.RandomBytes(16);
+        tpm.NV_DefineSpace(TPM_HANDLE.from(TPM_RH.OWNER), auth,
+                new TPMS_NV_PUBLIC(nv, TPM_ALG_ID.SHA256,
+                                   new TPMA_NV(TPMA_NV.AUTHREAD, TPMA_NV.AUTHWRITE), new byte[0], 64));
+        nv.AuthValue = auth;
+        tpm.NV_Write(nv, nv, new byte[64], 0);
+
+        for (int i = 0; i < WarmupIters * 10; ++i)
+        {
+            AuthSession sess = tpm.StartAuthSession(TPM_SE.HMAC, TPM_ALG_ID.SHA256);
+            tpm.with(sess).call(t -> t.NV_Read(nv, nv, 64, 0));
+            tpm.FlushContext(sess);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < Iters * 10; ++i)
+        {
+            AuthSession sess = tpm.StartAuthSession(TPM_SE.HMAC, TPM_ALG_ID.SHA256);
+            tpm.with(sess).call(t -> t.NV_Read(nv, nv, 64, 0));
+            tpm.FlushContext(sess);
+        }
+        report("NV_Read(64) with a new HMAC session", System.nanoTime() - start, Iters * 10);
+
+        AuthSessionPool pool = new AuthSessionPool(tpm);
+        AuthSessionPool.Config config = new AuthSessionPool.Config(TPM_SE.HMAC, TPM_ALG_ID.SHA256);
+        for (int i = 0; i < WarmupIters * 10; ++i)
+            pool.call(config, t -> t.NV_Read(nv, nv, 64, 0));
+        start = System.nanoTime();
+        for (int i = 0; i < Iters * 10; ++i)
+            pool.call(config, t -> t.NV_Read(nv, nv, 64, 0));
+        report("NV_Read(64) with a pooled HMAC session", System.nanoTime() - start, Iters * 10);
+        System.out.println("AuthSessionPool: " + pool);
+        pool.close();
+        close(tpm);
+    }
+
+    /** Per-command cost of mirroring the TPM command audit on the host (cpHash/rpHash and the
+     *  audit digest extension), with and without an HMAC session computing the hashes anyway
+     */
+    void commandAudit()
+    {
+        Tpm tpm = startMock();
+
+        TPM_HANDLE owner = TPM_HANDLE.from(TPM_RH.OWNER),
+                   endorsement = TPM_HANDLE.from(TPM_RH.ENDORSEMENT);
+        AuthSession sess = tpm.StartAuthSession(TPM_SE.HMAC, TPM_ALG_ID.SHA256);
+        String[] names = { "GetRandom(16) not audited", "GetRandom(16) audited",
+                           "GetRandom(16) audited with HMAC session" };
+        TpmCommandAudit audit = null;
+        for (int k = 0; k < names.length; ++k)
+        {
+            if (k == 1)
+            {
+                audit = tpm._startCommandAudit(TPM_ALG_ID.SHA256);
+                tpm.SetCommandCodeAuditStatus(owner, TPM_ALG_ID.NULL, new TPM_CC[] {TPM_CC.GetRandom}, new TPM_CC[0]);
+            }
+            TpmInvocation inv = k == 2 ? tpm.with(sess) : tpm.invocation();
+            for (int i = 0; i < WarmupIters * 10; ++i)
+                inv.call(t -> t.GetRandom(16));
+            long start = System.nanoTime();
+            for (int i = 0; i < Iters * 10; ++i)
+                inv.call(t -> t.GetRandom(16));
+            report(names[k], System.nanoTime() - start, Iters * 10);
+        }
+        byte[] nonce = Helpers.RandomBytes(16);
+        GetCommandAuditDigestResponse resp = tpm.GetCommandAuditDigest(endorsement, TPM_HANDLE.NULL, nonce,
+                                                                       new TPMS_NULL_SIG_SCHEME());
+        System.out.println("Audit digest of " + audit.numAudited() + " commands verified: " +
+                           audit.verify(resp, null, nonce));
+        tpm.FlushContext(sess);
+        close(tpm);
+    }
+
+    /** Host-only cost of computing the cpHash of a command, one by one vs. in a parallel batch */
+    void cpHashBatch()
+    {
+        // No TPM is involved: the NV index name is computed from its public area
+        TPM_HANDLE nv = TPM_HANDLE.NV(0x1003);
+        TPMS_NV_PUBLIC nvPub = new TPMS_NV_PUBLIC(nv, TPM_ALG_ID.SHA256,
+                                                  new TPMA_NV(TPMA_NV.AUTHREAD, TPMA_NV.AUTHWRITE), new byte[0], 64);
+        nv.Name = Helpers.concatenate(Helpers.hostToNet((short)TPM_ALG_ID.SHA256.toInt()),
+                                      Crypto.hash(TPM_ALG_ID.SHA256, nvPub.toBytes()));
+        CpHashCalculator calc = new CpHashCalculator(TPM_ALG_ID.SHA256);
+        List<Consumer<Tpm>> commands = new ArrayList<Consumer<Tpm>>();
+        for (int i = 0; i < Iters * 50; ++i)
+        {
+            byte[] data = Helpers.hostToNet(i);
+            commands.add(t -> t.NV_Write(nv, nv, data, 0));
+        }
+
+        for (int i = 0; i < WarmupIters * 10; ++i)
+            calc.cpHash(commands.get(i));
+        long start = System.nanoTime();
+        for (Consumer<Tpm> cmd : commands)
+            calc.cpHash(cmd);
+        report("cpHash of NV_Write, sequential", System.nanoTime() - start, commands.size());
+
+        calc.cpHashes(commands.subList(0, WarmupIters * 10));
+        start = System.nanoTime();
+        calc.cpHashes(commands);
+        report("cpHash of NV_Write, batch of " + commands.size(), System.nanoTime() - start, commands.size());
+    }
+
+    static TPMT_PUBLIC eccSigningKeyPublic()
+    {
+        return new TPMT_PUBLIC(TPM_ALG_ID.SHA256,
+                new TPMA_OBJECT(TPMA_OBJECT.sign, TPMA_OBJECT.fixedTPM, TPMA_OBJECT.fixedParent,
+                                TPMA_OBJECT.sensitiveDataOrigin, TPMA_OBJECT.userWithAuth),
+                new byte[0],
+                new TPMS_ECC_PARMS(new TPMT_SYM_DEF_OBJECT(), new TPMS_SIG_SCHEME_ECDSA(TPM_ALG_ID.SHA256),
+                                   TPM_ECC_CURVE.NIST_P256, new TPMS_NULL_KDF_SCHEME()),
+                new TPMS_ECC_POINT(Helpers.RandomBytes(32), Helpers.RandomBytes(32)));
+    }
+
+    static TPMS_ATTEST quoteAttest()
+    {
+        return new TPMS_ATTEST(TPM_GENERATED.VALUE, Helpers.RandomBytes(34), Helpers.RandomBytes(16),
+                new TPMS_CLOCK_INFO(123456789, 1, 2, (byte)1), 0x20190823,
+                new TPMS_QUOTE_INFO(new TPMS_PCR_SELECTION[] {new TPMS_PCR_SELECTION(TPM_ALG_ID.SHA256, new int[] {0, 1, 2, 7})},
+                                    Helpers.RandomBytes(32)));
+    }
+
+    static TPMS_CAPABILITY_DATA tpmProperties(int count)
+    {
+        TPMS_TAGGED_PROPERTY[] props = new TPMS_TAGGED_PROPERTY[count];
+        for (int i = 0; i < props.length; ++i)
+            props[i] = new TPMS_TAGGED_PROPERTY(TPM_PT.fromInt(TPM_PT.PT_FIXED.toInt() + i), i);
+        return new TPMS_CAPABILITY_DATA(new TPML_TAGGED_TPM_PROPERTY(props));
+    }
+
+    /** Host-only cost of unmarshaling the structures with union members (each union member is
+     *  instantiated by UnionFactory according to its selector)
+     */
+    void unmarshaling()
+    {
+        byte[] pubBytes = eccSigningKeyPublic().toBytes(),
+               attestBytes = quoteAttest().toBytes(),
+               capBytes = tpmProperties(64).toBytes();
+
+        for (int i = 0; i < WarmupIters * 50; ++i)
+        {
+            TPMT_PUBLIC.fromBytes(pubBytes);
+            TPMS_ATTEST.fromBytes(attestBytes);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < Iters * 50; ++i)
+            TPMT_PUBLIC.fromBytes(pubBytes);
+        report("Unmarshal ECC TPMT_PUBLIC", System.nanoTime() - start, Iters * 50);
+        start = System.nanoTime();
+        for (int i = 0; i < Iters * 50; ++i)
+            TPMS_ATTEST.fromBytes(attestBytes);
+        report("Unmarshal quote TPMS_ATTEST", System.nanoTime() - start, Iters * 50);
+        for (int i = 0; i < WarmupIters * 250; ++i)
+            TPMS_CAPABILITY_DATA.fromBytes(capBytes);
+        start = System.nanoTime();
+        for (int i = 0; i < Iters * 20; ++i)
+            TPMS_CAPABILITY_DATA.fromBytes(capBytes);
+        report("Unmarshal 64 TPM properties", System.nanoTime() - start, Iters * 20);
+    }
+
+    /** Host-only cost of converting the TPM enum and attribute values from their wire form */
+    void enumDecoding()
+    {
+        // A named response code, a parameter-qualified one (not in the table), and a typical
+        // combination of object attributes (not in the table either)
+        int[] rcs = { TPM_RC.HANDLE.toInt(), TPM_RC.VALUE.toInt() + TPM_RC.P.toInt() + TPM_RC._2.toInt() };
+        TPMA_OBJECT attrs = new TPMA_OBJECT(TPMA_OBJECT.fixedTPM, TPMA_OBJECT.fixedParent, TPMA_OBJECT.sensitiveDataOrigin,
+                                            TPMA_OBJECT.userWithAuth, TPMA_OBJECT.restricted, TPMA_OBJECT.decrypt);
+        String[] names = { "TPM_RC.fromTpm, named value", "TPM_RC.fromTpm, qualified value", "TPMA_OBJECT.fromTpm" };
+        for (int k = 0; k < names.length; ++k)
+        {
+            TpmBuffer buf = new TpmBuffer(4);
+            buf.writeInt(k < 2 ? rcs[k] : attrs.toInt());
+            for (int i = 0; i < WarmupIters * 100; ++i)
+            {
+                buf.curPos(0);
+                if (k < 2) TPM_RC.fromTpm(buf); else TPMA_OBJECT.fromTpm(buf);
+            }
+            long start = System.nanoTime();
+            for (int i = 0; i < Iters * 500; ++i)
+            {
+                buf.curPos(0);
+                if (k < 2) TPM_RC.fromTpm(buf); else TPMA_OBJECT.fromTpm(buf);
+            }
+            report(names[k], System.nanoTime() - start, Iters * 500);
+        }
+    }
+
+    /** Host-only cost of marshaling TPM structures to byte arrays (the last case exceeds the
+     *  default TpmBuffer capacity)
+     */
+    void marshaling()
+    {
+        TpmStructure[] objs = { eccSigningKeyPublic(), quoteAttest(), tpmProperties(64), tpmProperties(1024) };
+        String[] names = { "Marshal ECC TPMT_PUBLIC", "Marshal quote TPMS_ATTEST",
+                           "Marshal 64 TPM properties", "Marshal 1024 TPM properties" };
+        for (int k = 0; k < objs.length; ++k)
+        {
+            int iters = k < 3 ? Iters * 50 : Iters * 2;
+            for (int i = 0; i < WarmupIters * 50; ++i)
+                objs[k].toBytes();
+            long start = System.nanoTime();
+            for (int i = 0; i < iters; ++i)
+                objs[k].toBytes();
+            report(names[k], System.nanoTime() - start, iters);
+        }
+
+        // Primitive writes into a reused buffer
+        TpmBuffer buf = new TpmBuffer();
+        for (int i = 0; i < WarmupIters * 50; ++i)
+        {
+            buf.clear();
+            for (int j = 0; j < 256; ++j)
+                buf.writeInt(j);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < Iters * 50; ++i)
+        {
+            buf.clear();
+            for (int j = 0; j < 256; ++j)
+            {
+                buf.writeShort(j);
+                buf.writeInt(j);
+            }
+        }
+        report("256 x (writeShort + writeInt)", System.nanoTime() - start, Iters * 50);
+    }
+
+    /** Bytes allocated by the TSS-side processing of ContextSave/ContextLoad with the eager
+     *  unmarshaling of the saved context vs. its lazy view over the response buffer (decoded,
+     *  or loaded back from its wire representation). The canned responses are recorded
+     *  beforehand, so that the device allocates nothing.
+     */
+    void responseViews()
+    {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean)ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        Tpm tpm = startMock();
+        TpmDeviceMock device = (TpmDeviceMock)tpm._getDevice();
+
+        TPM_HANDLE h = TPM_HANDLE.from(0x80000001);
+        ContextSaveResponse saved = new ContextSaveResponse();
+        saved.context = new TPMS_CONTEXT(1, h, TPM_HANDLE.from(TPM_RH.OWNER),
+                                         new TPMS_CONTEXT_DATA(Helpers.RandomBytes(32), Helpers.RandomBytes(1024)));
+        ContextLoadResponse loaded = new ContextLoadResponse();
+        loaded.handle = h;
+        device.setResponse(TPM_CC.ContextSave, saved);
+        device.setResponse(TPM_CC.ContextLoad, loaded);
+        TpmDeviceMock.Recorder recorder = new TpmDeviceMock.Recorder();
+        tpm._setCallback(recorder);
+        tpm.ContextLoad(tpm.ContextSave(h));
+        tpm._setCallback(null);
+        device.setResponse(TPM_CC.ContextSave, recorder.getExchanges().get(0).response);
+        device.setResponse(TPM_CC.ContextLoad, recorder.getExchanges().get(1).response);
+
+        ContextSaveResponse.View view = new ContextSaveResponse.View();
+        for (int i = 0; i < WarmupIters * 10; ++i)
+        {
+            tpm.ContextLoad(tpm.ContextSave(h));
+            tpm._view(view).ContextSave(h);
+            tpm.ContextLoad(view.context());
+            tpm._view(view).ContextSave(h);
+            tpm.ContextLoad(TPMS_CONTEXT.wrap(view.contextBytes()));
+        }
+
+        long start = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < Iters; ++i)
+            tpm.ContextSave(h);
+        reportAllocations("ContextSave(1 KB), eager", threads.getThreadAllocatedBytes(threadId) - start, Iters);
+
+        start = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < Iters; ++i)
+        {
+            tpm._view(view).ContextSave(h);
+            view.contextBytes();
+        }
+        reportAllocations("ContextSave(1 KB), view bytes", threads.getThreadAllocatedBytes(threadId) - start, Iters);
+
+        start = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < Iters; ++i)
+            tpm.ContextLoad(tpm.ContextSave(h));
+        reportAllocations("ContextSave+ContextLoad, eager", threads.getThreadAllocatedBytes(threadId) - start, Iters);
+
+        start = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < Iters; ++i)
+        {
+            tpm._view(view).ContextSave(h);
+            tpm.ContextLoad(view.context());
+        }
+        reportAllocations("ContextSave+ContextLoad, view", threads.getThreadAllocatedBytes(threadId) - start, Iters);
+
+        start = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < Iters; ++i)
+        {
+            tpm._view(view).ContextSave(h);
+            tpm.ContextLoad(TPMS_CONTEXT.wrap(view.contextBytes()));
+        }
+        reportAllocations("ContextSave+ContextLoad, view bytes", threads.getThreadAllocatedBytes(threadId) - start,
+                          Iters);
+        close(tpm);
+    }
+
+    /** Checks that the generated equals() and hashCode() implement value semantics, which the
+     *  structureHashing benchmark relies upon
+     */
+    static void checkStructureEquality()
+    {
+        TPMT_PUBLIC key = eccSigningKeyPublic(),
+                    copy = TPMT_PUBLIC.fromBytes(key.toBytes());
+        if (key == copy || !key.equals(copy) || key.hashCode() != copy.hashCode())
+            throw new RuntimeException("Unmarshaled copy of a structure is not equal to the original");
+
+        HashMap<TPMT_PUBLIC, Integer> cache = new HashMap<TPMT_PUBLIC, Integer>();
+        cache.put(key, 1);
+        if (cache.get(TPMT_PUBLIC.fromBytes(key.toBytes())) == null)
+            throw new RuntimeException("HashMap lookup with an equal structure failed");
+
+        TPMT_PUBLIC rsaParms = TPMT_PUBLIC.fromBytes(key.toBytes());
+        rsaParms.parameters = new TPMS_RSA_PARMS();
+        if (key.equals(rsaParms) || rsaParms.equals(key))
+            throw new RuntimeException("Structures with different union members are equal");
+
+        TPMT_PUBLIC empty1 = new TPMT_PUBLIC(),
+                    empty2 = new TPMT_PUBLIC();
+        if (!empty1.equals(empty2) || empty1.hashCode() != empty2.hashCode())
+            throw new RuntimeException("Structures with null fields are not equal");
+        if (empty1.equals(key) || key.equals(empty1))
+            throw new RuntimeException("Structure with null fields is equal to a populated one");
+
+        if (new TPM2B_DIGEST(new byte[] {1}).equals(new TPM2B_NONCE(new byte[] {1})))
+            throw new RuntimeException("Structures of different types are equal");
+    }
+
+    /** Cost of a lookup in a cache keyed by TPM structures: the generated field-wise
+     *  hashCode() and equals() vs. hashing and comparing the marshaled structures. Both take
+     *  a fraction of a microsecond, and within the full benchmark run their difference is
+     *  below the run-to-run variance.
+     */
+    void structureHashing()
+    {
+        checkStructureEquality();
+
+        int numKeys = 64,
+            iters = Iters * 50;
+        TPMT_PUBLIC[] keys = new TPMT_PUBLIC[numKeys],
+                      probes = new TPMT_PUBLIC[numKeys];
+        HashMap<TPMT_PUBLIC, Integer> cache = new HashMap<TPMT_PUBLIC, Integer>();
+        for (int i = 0; i < numKeys; ++i)
+        {
+            keys[i] = eccSigningKeyPublic();
+            probes[i] = TPMT_PUBLIC.fromBytes(keys[i].toBytes());
+            cache.put(keys[i], i);
+        }
+
+        // Both routes go through several levels of nested calls, and need a longer warmup
+        int found = 0;
+        for (int i = 0; i < iters; ++i)
+        {
+            TPMT_PUBLIC p = probes[i % numKeys];
+            if (cache.get(p) != null)
+                ++found;
+            if (Arrays.hashCode(p.toBytes()) != 0 && Arrays.equals(p.toBytes(), keys[i % numKeys].toBytes()))
+                ++found;
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < iters; ++i)
+            if (cache.get(probes[i % numKeys]) != null)
+                ++found;
+        report("HashMap<TPMT_PUBLIC>.get(), field-wise", System.nanoTime() - start, iters);
+
+        start = System.nanoTime();
+        for (int i = 0; i < iters; ++i)
+        {
+            TPMT_PUBLIC p = probes[i % numKeys];
+            if (Arrays.hashCode(p.toBytes()) != 0 && Arrays.equals(p.toBytes(), keys[i % numKeys].toBytes()))
+                ++found;
+        }
+        report("TPMT_PUBLIC hash + equals via toBytes()", System.nanoTime() - start, iters);
+        if (found != 4 * iters)
+            throw new RuntimeException("Structure lookup failed");
+    }
+
+    /** Per-command overhead of TpmDeviceLinux measured against a FIFO standing in for
+     *  /dev/tpmrm0. The FIFO echoes the command back, which the device treats as its response.
+     *  The delayed responses are checked by LinuxDeviceCheck.
+     */
+    void linuxDeviceLatency()
+    {
+        File fifo = new File(System.getProperty("java.io.tmpdir"), "tss-bench-fifo-" + System.nanoTime());
+        try {
+            if (new ProcessBuilder("mkfifo", fifo.getPath()).inheritIO().start().waitFor() != 0)
+                return;
+        } catch (IOException | InterruptedException e) {
+            return;
+        }
+
+        TpmDeviceLinux device = new TpmDeviceLinux(fifo.getPath());
+        if (device.connect())
+        {
+            byte[] cmd = Helpers.fromHex("8001 0000000C 0000017B 0008");   // GetRandom(8)
+            for (int i = 0; i < WarmupIters; ++i)
+            {
+                device.dispatchCommand(cmd);
+                device.getResponse();
+            }
+
+            long start = System.nanoTime();
+            for (int i = 0; i < Iters; ++i)
+            {
+                device.dispatchCommand(cmd);
+                device.getResponse();
+            }
+            report("TpmDeviceLinux FIFO round trip", System.nanoTime() - start, Iters);
+
+            // Responses exceeding the default 4 KB buffer
+            byte[] bigCmd = new byte[16384];
+            System.arraycopy(Helpers.fromHex("8001 00004000"), 0, bigCmd, 0, 6);
+            start = System.nanoTime();
+            for (int i = 0; i < Iters; ++i)
+            {
+                device.dispatchCommand(bigCmd);
+                device.getResponse();
+            }
+            report("TpmDeviceLinux FIFO 16 KB round trip", System.nanoTime() - start, Iters);
+            device.close();
+        }
+        fifo.delete();
+    }
+}
@@ -0,0 +1,328 @@
+package samples;
+
+import java.util.Arrays;
+
+import com.sun.jna.LastErrorException;
+import com.sun.jna.Library;
+import com.sun.jna.Memory;
+import com.sun.jna.Native;
+import com.sun.jna.NativeLong;
+
+import tss.*;
+import tss.TpmDeviceLinux.CLibrary;
+
+/**
+ * Self-checks of TpmDeviceLinux that do not need a TPM.
+ *
+ * A pseudo terminal in raw mode stands in for /dev/tpmrm0. A responder thread reads
+ * GetRandom commands from its master side, and answers each one after a configurable delay.
+ * Any failed check throws a RuntimeException.
+ * Run them with the "linuxdev" command line option of TSSMain.
+ */
+public class LinuxDeviceCheck
+{
+    /** libc functions creating the pseudo terminal */
+    public interface PtyLibrary extends Library
+    {
+        PtyLibrary INSTANCE = Native.loadLibrary("c", PtyLibrary.class);
+
+        int O_NOCTTY = 0400,
+            TCSANOW = 0;
+
+        /** Size of a buffer large enough for struct termios */
+        int TermiosSize = 128;
+
+        int posix_openpt(int flags) throws LastErrorException;
+        int grantpt(int fd) throws LastErrorException;
+        int unlockpt(int fd) throws LastErrorException;
+        String ptsname(int fd);
+        int tcgetattr(int fd, byte[] termios) throws LastErrorException;
+        void cfmakeraw(byte[] termios);
+        int tcsetattr(int fd, int optionalActions, byte[] termios) throws LastErrorException;
+    }
+
+    /** Latency over the responder delay still considered close to it. The old TpmDeviceLinux
+     *  polled for the response every 200 ms. */
+    static final int LatencyToleranceMs = 25;
+
+    /** Iterations of each latency measurement. The best one is checked. */
+    static final int LatencyIters = 5;
+
+    /** Loaded along with this class, as loading two JNA libraries concurrently (here and
+     *  on the responder thread) may deadlock */
+    static final CLibrary libc = CLibrary.INSTANCE;
+
+    /** Master side of the pseudo terminal */
+    int master = -1;
+
+    /** Delay of the responses in milliseconds */
+    volatile int delayMs;
+
+    /** Response size reported in the header of the next response instead of its actual one
+     *  (0 if none). Only the header is sent then. */
+    volatile int bogusRespSize;
+
+    public void doAll(String[] args)
+    {
+        if (!System.getProperty("os.name").contains("Linux"))
+        {
+            System.out.println("TpmDeviceLinux checks skipped: not running on Linux");
+            return;
+        }
+
+        String slave = openPty();
+        TpmDeviceLinux device = new TpmDeviceLinux(slave);
+        try {
+            if (!device.connect())
+                throw new RuntimeException("Failed to open " + slave);
+            responseReady(device);
+            latency(device, slave);
+            largeResponses(device);
+            abandonedCommand(device);
+            invalidResponseSize(device);
+        } finally {
+            device.close();
+            closePty();
+        }
+        System.out.println("TpmDeviceLinux checks passed");
+    }
+
+    /** responseReady() is false until the delayed response arrives, and true afterwards */
+    void responseReady(TpmDeviceLinux device)
+    {
+        delayMs = 100;
+        device.dispatchCommand(getRandom(8));
+        if (device.responseReady())
+            throw new RuntimeException("responseReady() is true before the response is sent");
+        sleep(delayMs + 100);
+        if (!device.responseReady())
+            throw new RuntimeException("responseReady() is false after the response is sent");
+        checkResponse(device.getResponse(), 8);
+    }
+
+    /** The round trip time follows the response delay, rather than rounding it up to the
+     *  polling interval of the old implementation (emulated by legacyRoundTrip()) */
+    void latency(TpmDeviceLinux device, String slave)
+    {
+        int legacyFd = libc.open(slave, CLibrary.O_RDWR | CLibrary.O_NONBLOCK);
+        try {
+            for (int delay : new int[] {0, 5, 20, 50})
+            {
+                delayMs = delay;
+                long best = Long.MAX_VALUE,
+                     legacyBest = Long.MAX_VALUE;
+                for (int i = 0; i < LatencyIters; ++i)
+                {
+                    long start = System.nanoTime();
+                    device.dispatchCommand(getRandom(8));
+                    checkResponse(device.getResponse(), 8);
+                    best = Math.min(best, System.nanoTime() - start);
+
+                    start = System.nanoTime();
+                    checkResponse(legacyRoundTrip(legacyFd, getRandom(8)), 8);
+                    legacyBest = Math.min(legacyBest, System.nanoTime() - start);
+                }
+                System.out.printf("%-40s %10.2f ms (200 ms polling: %.2f ms)%n",
+                                  "TpmDeviceLinux, response after " + delay + " ms",
+                                  best / 1e6, legacyBest / 1e6);
+                if (best < delay * 1000000L || best > (delay + LatencyToleranceMs) * 1000000L)
+                {
+                    throw new RuntimeException(String.format("Round trip with a response delayed by %d ms "
+                                                             + "took %.2f ms", delay, best / 1e6));
+                }
+            }
+        } finally {
+            libc.close(legacyFd);
+        }
+    }
+
+    /** Responses exceeding the initial 4 KB buffer arrive in several chunks, and are
+     *  reassembled byte-exact */
+    void largeResponses(TpmDeviceLinux device)
+    {
+        for (int delay : new int[] {0, 10})
+        {
+            delayMs = delay;
+            for (int size : new int[] {4084, 4085, 5000, 16000, 65000})
+            {
+                device.dispatchCommand(getRandom(size));
+                checkResponse(device.getResponse(), size);
+            }
+        }
+    }
+
+    /** A command issued while the response to an abandoned (timed out) one is still pending
+     *  fails by its own deadline, instead of waiting for the abandoned response indefinitely.
+     *  A command with no deadline waits for it. */
+    void abandonedCommand(TpmDeviceLinux device)
+    {
+        Tpm tpm = new Tpm();
+        tpm._setDevice(device);
+        delayMs = 0;
+        tpm.GetRandom(8);   // Warm up the Tpm code paths
+        delayMs = 500;
+        int timeoutMs = 50;
+        for (int i = 0; i < 2; ++i)
+        {
+            long start = System.nanoTime();
+            try {
+                tpm._withTimeout(timeoutMs).GetRandom(8);
+                throw new RuntimeException("Command #" + i + " did not time out");
+            } catch (TpmTimeoutException e) {
+                // Expected
+            }
+            long elapsedMs = (System.nanoTime() - start) / 1000000;
+            // Well before the response to the abandoned command arrives
+            if (elapsedMs > delayMs / 2)
+                throw new RuntimeException("Command #" + i + " timed out after " + elapsedMs + " ms");
+        }
+        if (tpm.GetRandom(8).length != 8)
+            throw new RuntimeException("Wrong response after an abandoned command");
+        delayMs = 0;
+    }
+
+    /** A response header with a size out of range fails the command without allocating the
+     *  buffer for it, and the device remains usable */
+    void invalidResponseSize(TpmDeviceLinux device)
+    {
+        delayMs = 0;
+        for (int size : new int[] {Integer.MAX_VALUE, 64 * 1024 * 1024, 9})
+        {
+            bogusRespSize = size;
+            device.dispatchCommand(getRandom(8));
+            try {
+                device.getResponse();
+                throw new RuntimeException("Response of " + size + " bytes is accepted");
+            } catch (TpmException e) {
+                // Expected
+            }
+            device.dispatchCommand(getRandom(8));
+            checkResponse(device.getResponse(), 8);
+        }
+    }
+
+    /** Command/response exchange the way the old TpmDeviceLinux did it: a 4 KB read retried
+     *  every 200 ms while the device has no data */
+    static byte[] legacyRoundTrip(int fd, byte[] cmd)
+    {
+        libc.write(fd, cmd, new NativeLong(cmd.length));
+        Memory buf = new Memory(4096);
+        for (int count = 0; count < 20; ++count)
+        {
+            try {
+                int len = libc.read(fd, buf, new NativeLong(buf.size())).intValue();
+                if (len > 0)
+                    return buf.getByteArray(0, len);
+            } catch (LastErrorException e) {
+                if (e.getErrorCode() != CLibrary.EAGAIN)
+                    throw e;
+            }
+            sleep(200);
+        }
+        throw new RuntimeException("No response");
+    }
+
+    /** @return  GetRandom command requesting the given number of bytes */
+    static byte[] getRandom(int numBytes)
+    {
+        return Helpers.fromHex(String.format("8001 0000000C 0000017B %04X", numBytes));
+    }
+
+    /** @return  Response of the responder thread to getRandom(numBytes) */
+    static byte[] response(int numBytes)
+    {
+        TpmBuffer buf = new TpmBuffer(12 + numBytes);
+        buf.writeShort(0x8001);
+        buf.writeInt(12 + numBytes);
+        buf.writeInt(0);
+        buf.writeShort(numBytes);
+        for (int i = 0; i < numBytes; ++i)
+            buf.writeByte((byte)(i * 7 + numBytes));
+        return buf.trim();
+    }
+
+    static void checkResponse(byte[] resp, int numBytes)
+    {
+        if (!Arrays.equals(resp, response(numBytes)))
+        {
+            throw new RuntimeException("Response to GetRandom(" + numBytes + ") is corrupted (" +
+                                       resp.length + " bytes received)");
+        }
+    }
+
+    /** Creates a raw mode pseudo terminal, and starts the responder thread on its master side
+     *  @return  Path of the slave side */
+    String openPty()
+    {
+        PtyLibrary pty = PtyLibrary.INSTANCE;
+        master = pty.posix_openpt(CLibrary.O_RDWR | PtyLibrary.O_NOCTTY);
+        pty.grantpt(master);
+        pty.unlockpt(master);
+        byte[] termios = new byte[PtyLibrary.TermiosSize];
+        pty.tcgetattr(master, termios);
+        pty.cfmakeraw(termios);
+        pty.tcsetattr(master, PtyLibrary.TCSANOW, termios);
+
+        Thread responder = new Thread(this::respond, "TpmDeviceLinux check responder");
+        responder.setDaemon(true);
+        responder.start();
+        return pty.ptsname(master);
+    }
+
+    void closePty()
+    {
+        if (master >= 0)
+        {
+            try { libc.close(master); } catch (LastErrorException e) {}
+            master = -1;
+        }
+    }
+
+    /** Answers the GetRandom commands read from the pseudo terminal until it is closed */
+    void respond()
+    {
+        Memory cmd = new Memory(12);
+        try {
+            while (true)
+            {
+                readFully(cmd);
+                sleep(delayMs);
+                byte[] resp = response((cmd.getByte(10) & 0xFF) << 8 | cmd.getByte(11) & 0xFF);
+                int bogusSize = bogusRespSize;
+                if (bogusSize != 0)
+                {
+                    bogusRespSize = 0;
+                    resp = Arrays.copyOf(resp, 10);
+                    System.arraycopy(Helpers.hostToNet(bogusSize), 0, resp, 2, 4);
+                }
+                for (int off = 0; off < resp.length; )
+                {
+                    byte[] chunk = Arrays.copyOfRange(resp, off, resp.length);
+                    off += libc.write(master, chunk, new NativeLong(chunk.length)).intValue();
+                }
+            }
+        } catch (LastErrorException e) {
+            // The pseudo terminal is closed
+        }
+    }
+
+    void readFully(Memory buf)
+    {
+        for (long off = 0; off < buf.size(); )
+        {
+            long len = libc.read(master, buf.share(off), new NativeLong(buf.size() - off)).longValue();
+            if (len <= 0)
+                throw new LastErrorException("Pseudo terminal closed");
+            off += len;
+        }
+    }
+
+    static void sleep(int ms)
+    {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,357 @@
+package tss;
+
+import java.security.MessageDigest;
+import java.util.Arrays;
+
+import org.bouncycastle.crypto.Digest;
+import org.bouncycastle.crypto.engines.AESEngine;
+import org.bouncycastle.crypto.macs.HMac;
+import org.bouncycastle.crypto.modes.CFBBlockCipher;
+import org.bouncycastle.crypto.params.KeyParameter;
+import org.bouncycastle.crypto.params.ParametersWithIV;
+
+import tss.tpm.*;
+
+/**
+ * HMAC or policy authorization session started by TpmBase.StartAuthSession(). The object is a
+ * session handle, and is passed to the commands the same way as the other session handles:
+ * <pre>
+ *  AuthSession sess = tpm.StartAuthSession(TPM_SE.HMAC, TPM_ALG_ID.SHA256);
+ *  tpm._withSession(sess).NV_Write(...);
+ * </pre>
+ * TSS.Java computes the command HMACs, verifies the response HMACs, and rolls the session
+ * nonces. The hash and HMAC engines are kept with the session and reused by its commands.
+ * <P>
+ * If the session attributes include decrypt or encrypt, the first command or response parameter
+ * (if it is a sized buffer) is encrypted with the session symmetric algorithm (AES in CFB mode,
+ * or XOR obfuscation).
+ * <P>
+ * If the session attributes include audit, the session audit digest is maintained on the host
+ * along with the TPM one, and can be checked against the TPM2_GetSessionAuditDigest attestation
+ * by verifyAuditDigest(). The auditReset attribute is cleared after the first successful command.
+ * <P>
+ * The authorization values and names of the entities authorized via the session are taken from
+ * their TPM_HANDLE objects. If the name of a transient, persistent or NV index handle is not
+ * known, it is queried from the TPM.
+ * <P>
+ * A session is used by one command at a time: a command using a session that is still used by
+ * another command in flight (e.g. an asynchronous one whose future has not completed yet) fails
+ * with TpmException. The responses are verified with the nonces their commands were sent with.
+ * Other methods of the session must not be called while a command using it is in flight.
+ */
+public class AuthSession extends TPM_HANDLE
+{
+    /** Session type (HMAC or POLICY) */
+    public final TPM_SE sessionType;
+
+    /** Hash algorithm of the session */
+    public final TPM_ALG_ID hashAlg;
+
+    /** Symmetric algorithm used for the parameter encryption */
+    public final TPMT_SYM_DEF symmetric;
+
+    /** Session attributes sent with the commands (continueSession by default) */
+    public TPMA_SESSION attributes;
+
+    /** The policy session requires the authorization value of the authorized entity to be
+     *  included into the HMAC (set by TPM2_PolicyAuthValue) */
+    public boolean policyAuthValue;
+
+    /** The policy session requires the authorization value of the authorized entity to be
+     *  sent in clear (set by TPM2_PolicyPassword) */
+    public boolean policyPassword;
+
+    byte[] sessionKey;
+    byte[] nonceCaller;
+    byte[] nonceTpm;
+
+    /** Name of the entity the session is bound to (null if the session is unbound) */
+    byte[] bindName;
+
+    final Digest digest;
+    final HMac hmac;
+
+    /** The authorization value the HMAC engine is keyed with (together with sessionKey) */
+    byte[] hmacAuth;
+
+    /** AES-CFB engine for the parameter encryption (created on the first use) */
+    CFBBlockCipher cfb;
+
+    /** KDFa output block */
+    final byte[] kdfBlock;
+
+    /** Session audit digest (zeros until the first audited command) */
+    byte[] auditDigest;
+
+    /** The session is used by a command in flight */
+    boolean reserved;
+
+    static final byte[] XorLabel = {'X', 'O', 'R', 0},
+                        CfbLabel = {'C', 'F', 'B', 0};
+
+    AuthSession(TPM_HANDLE handle, TPM_SE sessionType, TPM_ALG_ID hashAlg, TPMT_SYM_DEF symmetric,
+                TPMA_SESSION attributes, byte[] nonceCaller, byte[] nonceTpm)
+    {
+        super(handle.handle);
+        this.sessionType = sessionType;
+        this.hashAlg = hashAlg;
+        this.symmetric = symmetric;
+        this.attributes = attributes;
+        this.nonceCaller = nonceCaller;
+        this.nonceTpm = nonceTpm;
+        digest = Crypto.getDigest(hashAlg);
+        hmac = new HMac(Crypto.getDigest(hashAlg));
+        kdfBlock = new byte[hmac.getMacSize()];
+        auditDigest = new byte[kdfBlock.length];
+    }
+
+    /** @return The session key (empty for an unbound and unsalted session) */
+    public byte[] getSessionKey() { return sessionKey; }
+
+    /** @return The most recent nonce generated by the TPM */
+    public byte[] getNonceTpm() { return nonceTpm; }
+
+    /** @return The session audit digest computed on the host */
+    public byte[] getAuditDigest() { return auditDigest.clone(); }
+
+    /** @return Whether the session is bound to the entity with the given name */
+    boolean isBoundTo(byte[] name)
+    {
+        return bindName != null && Arrays.equals(bindName, name);
+    }
+
+    /**
+     * Decides how the session authorizes the given entity
+     * @param authValue Authorization value of the entity (null if the session does not
+     *                  authorize an entity, e.g. when it is used for the audit only)
+     * @param name Name of the entity
+     * @return The authorization value to include into the HMAC key
+     */
+    byte[] hmacAuthValue(byte[] authValue, byte[] name)
+    {
+        if (authValue == null)
+            return null;
+        if (sessionType == TPM_SE.POLICY)
+            return policyAuthValue ? authValue : null;
+        return isBoundTo(name) ? null : authValue;
+    }
+
+    /** @return The digest engine of the session (reset) */
+    Digest digest()
+    {
+        digest.reset();
+        return digest;
+    }
+
+    /** Keys the HMAC engine with sessionKey || authValue (unless it is already keyed so) */
+    HMac hmac(byte[] authValue)
+    {
+        byte[] auth = trimAuth(authValue);
+        if (hmacAuth == null || !Arrays.equals(hmacAuth, auth))
+        {
+            hmac.init(new KeyParameter(Helpers.concatenate(sessionKey, auth)));
+            hmacAuth = auth;
+        }
+        else
+            hmac.reset();
+        return hmac;
+    }
+
+    /** Reserves the session for a command until its response is processed */
+    synchronized void reserve()
+    {
+        if (reserved)
+            throw new TpmException(String.format("Session 0x%08X is used by another command in flight", handle));
+        reserved = true;
+    }
+
+    /** Releases the session reserved by reserve() */
+    synchronized void release()
+    {
+        reserved = false;
+    }
+
+    /** Starts a new command: generates the new caller nonce */
+    void rollCallerNonce()
+    {
+        nonceCaller = Helpers.RandomBytes(nonceCaller.length);
+    }
+
+    /**
+     * Computes the command HMAC
+     * @param cpHash Command parameters hash
+     * @param authValue Authorization value to include into the HMAC key (may be null)
+     * @param nonceDecrypt nonceTPM of the decryption session, if it is not this one (or null)
+     * @param nonceEncrypt nonceTPM of the encryption session, if it is not this one (or null)
+     * @return The command HMAC
+     */
+    byte[] commandHmac(byte[] cpHash, byte[] authValue, byte[] nonceDecrypt, byte[] nonceEncrypt)
+    {
+        HMac h = hmac(authValue);
+        h.update(cpHash, 0, cpHash.length);
+        h.update(nonceCaller, 0, nonceCaller.length);
+        h.update(nonceTpm, 0, nonceTpm.length);
+        if (nonceDecrypt != null)
+            h.update(nonceDecrypt, 0, nonceDecrypt.length);
+        if (nonceEncrypt != null)
+            h.update(nonceEncrypt, 0, nonceEncrypt.length);
+        h.update((byte)attributes.toInt());
+        byte[] res = new byte[h.getMacSize()];
+        h.doFinal(res, 0);
+        return res;
+    }
+
+    /**
+     * Computes the response HMAC
+     * @param rpHash Response parameters hash
+     * @param authValue Authorization value included into the HMAC key (may be null)
+     * @param nonceTpm nonceTPM returned with the response
+     * @param nonceCaller nonceCaller sent with the command
+     * @param respAttrs Session attributes returned by the TPM
+     * @return The expected response HMAC
+     */
+    byte[] responseHmac(byte[] rpHash, byte[] authValue, byte[] nonceTpm, byte[] nonceCaller, int respAttrs)
+    {
+        HMac h = hmac(authValue);
+        h.update(rpHash, 0, rpHash.length);
+        h.update(nonceTpm, 0, nonceTpm.length);
+        h.update(nonceCaller, 0, nonceCaller.length);
+        h.update((byte)respAttrs);
+        byte[] res = new byte[h.getMacSize()];
+        h.doFinal(res, 0);
+        return res;
+    }
+
+    /**
+     * Extends the session audit digest with a successfully completed command:
+     * auditDigest := H(auditDigest || cpHash || rpHash)
+     */
+    void extendAudit(byte[] cpHash, byte[] rpHash)
+    {
+        if (attributes.hasAttr(TPMA_SESSION.auditReset))
+        {
+            Arrays.fill(auditDigest, (byte)0);
+            attributes = TPMA_SESSION.fromInt(attributes.toInt() & ~TPMA_SESSION.auditReset.toInt());
+        }
+        Digest d = digest();
+        d.update(auditDigest, 0, auditDigest.length);
+        d.update(cpHash, 0, cpHash.length);
+        d.update(rpHash, 0, rpHash.length);
+        d.doFinal(auditDigest, 0);
+    }
+
+    /**
+     * Verifies the session audit attestation returned by TPM2_GetSessionAuditDigest against the
+     * session audit digest computed on the host
+     * @param resp TPM2_GetSessionAuditDigest response
+     * @param signKeyPub Public area of the signing key, or null if the attestation is not
+     *                   signed (its origin is trusted)
+     * @param qualifyingData The qualifying data passed to the command
+     * @return Whether the attestation is valid and matches the local session audit digest
+     */
+    public boolean verifyAuditDigest(GetSessionAuditDigestResponse resp, TPMT_PUBLIC signKeyPub,
+                                     byte[] qualifyingData)
+    {
+        if (!TpmCommandAudit.checkAttestation(resp.auditInfo, resp.signature, signKeyPub, qualifyingData,
+                                              TPM_ST.ATTEST_SESSION_AUDIT))
+        {
+            return false;
+        }
+        TPMS_SESSION_AUDIT_INFO info = (TPMS_SESSION_AUDIT_INFO)resp.auditInfo.attested;
+        return MessageDigest.isEqual(info.sessionDigest, auditDigest);
+    }
+
+    /**
+     * Encrypts or decrypts the first command or response parameter in place
+     * @param buf Buffer with the parameter
+     * @param pos Position of the parameter data (after its size prefix)
+     * @param len Size of the parameter data
+     * @param authValue Authorization value included into the encryption key (may be null)
+     * @param nonceCaller nonceCaller sent with the command
+     * @param nonceTpm nonceTPM the command was sent with (request), or returned with the response
+     * @param request Whether a command parameter is encrypted, or a response one decrypted
+     */
+    void cryptParam(byte[] buf, int pos, int len, byte[] authValue, byte[] nonceCaller, byte[] nonceTpm,
+                    boolean request)
+    {
+        // The encryption key is the HMAC key, so the KDFa streams are produced with the
+        // HMAC engine of the session
+        byte[] nonceNewer = request ? nonceCaller : nonceTpm,
+               nonceOlder = request ? nonceTpm : nonceCaller;
+        if (symmetric.algorithm == TPM_ALG_ID.XOR)
+        {
+            kdfa(authValue, XorLabel, nonceNewer, nonceOlder, buf, pos, len, true);
+            return;
+        }
+        if (symmetric.algorithm != TPM_ALG_ID.AES || symmetric.mode != TPM_ALG_ID.CFB)
+            throw new TpmException("Unsupported parameter encryption algorithm " + symmetric.algorithm);
+
+        int keySize = symmetric.keyBits / 8,
+            blockSize = 16;
+        byte[] keyIv = new byte[keySize + blockSize];
+        kdfa(authValue, CfbLabel, nonceNewer, nonceOlder, keyIv, 0, keyIv.length, false);
+        if (cfb == null)
+            cfb = new CFBBlockCipher(new AESEngine(), blockSize * 8);
+        cfb.init(request, new ParametersWithIV(new KeyParameter(keyIv, 0, keySize), keyIv, keySize, blockSize));
+        int fullBlocks = len - len % blockSize;
+        for (int i = 0; i < fullBlocks; i += blockSize)
+            cfb.processBlock(buf, pos + i, buf, pos + i);
+        cfb.processBytes(buf, pos + fullBlocks, len - fullBlocks, buf, pos + fullBlocks);
+    }
+
+    /**
+     * Computes KDFa(hashAlg, sessionKey || authValue, label, contextU, contextV, len * 8)
+     * @param label Label including its terminating zero
+     * @param out Buffer to store the result to, or to XOR it with
+     */
+    void kdfa(byte[] authValue, byte[] label, byte[] contextU, byte[] contextV,
+              byte[] out, int pos, int len, boolean xor)
+    {
+        for (int counter = 1, done = 0; done < len; ++counter)
+        {
+            HMac h = hmac(authValue);
+            updateInt(h, counter);
+            h.update(label, 0, label.length);
+            h.update(contextU, 0, contextU.length);
+            h.update(contextV, 0, contextV.length);
+            updateInt(h, len * 8);
+            h.doFinal(kdfBlock, 0);
+            int n = Math.min(kdfBlock.length, len - done);
+            if (xor)
+            {
+                for (int i = 0; i < n; ++i)
+                    out[pos + done + i] ^= kdfBlock[i];
+            }
+            else
+                System.arraycopy(kdfBlock, 0, out, pos + done, n);
+            done += n;
+        }
+    }
+
+    static void updateInt(HMac h, int val)
+    {
+        h.update((byte)(val >> 24));
+        h.update((byte)(val >> 16));
+        h.update((byte)(val >> 8));
+        h.update((byte)val);
+    }
+
+    /** @return The authorization value without the trailing zeros (an empty array for null) */
+    static byte[] trimAuth(byte[] authValue)
+    {
+        if (authValue == null)
+            return new byte[0];
+        int len = authValue.length;
+        while (len > 0 && authValue[len - 1] == 0)
+            --len;
+        return len == authValue.length ? authValue : Arrays.copyOf(authValue, len);
+    }
+
+    /** Derives the session key from the bind entity authorization value and the salt */
+    void deriveSessionKey(byte[] bindAuth, byte[] salt)
+    {
+        byte[] seed = Helpers.concatenate(trimAuth(bindAuth), salt == null ? new byte[0] : salt);
+        sessionKey = seed.length == 0 ? new byte[0]
+                   : Crypto.KDFa(hashAlg, seed, "ATH", nonceTpm, nonceCaller, Crypto.digestSize(hashAlg) * 8);
+    }
+}
@@ -0,0 +1,501 @@
+package tss;
+
+import java.io.Closeable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import tss.tpm.*;
+
+/**
+ * Pool of pre-started authorization sessions, so that a one-shot authorized command does not
+ * wait for TPM2_StartAuthSession (and the host side salt encryption) to complete.
+ * <P>
+ * The pool keeps up to sessionsPerConfig idle sessions for each session configuration
+ * ({@link Config}), and starts the missing ones in the background when the idle and handed out
+ * sessions of the configuration are fewer than sessionsPerConfig, or none are idle. A session
+ * is handed out to a single user, and is returned to the pool with {@link #release(AuthSession)}.
+ * Policy sessions are reset with TPM2_PolicyRestart before they are handed out again. The idle
+ * sessions are handed out in the order of their return, so that none of them is left unused
+ * long enough to cause a context gap.
+ * <P>
+ * The total number of the sessions owned by the pool (idle and handed out ones) is limited
+ * by TPM_PT.ACTIVE_SESSIONS_MAX. When a new session is needed and the limit is reached, or the
+ * TPM fails to start it with TPM_RC.CONTEXT_GAP, SESSION_MEMORY or SESSION_HANDLES, the oldest
+ * idle session of the pool is flushed, and the session is started again.
+ * <P>
+ * The pool commands are issued without the invocation modifiers set on the Tpm object.
+ */
+public class AuthSessionPool implements Closeable
+{
+    /** Session configuration. Sessions are unbound. */
+    public static class Config
+    {
+        public final TPM_SE sessionType;
+        public final TPM_ALG_ID authHash;
+        public final TPMA_SESSION attributes;
+        public final TPMT_SYM_DEF symmetric;
+        public final TPM_HANDLE saltKey;
+        public final TPMT_PUBLIC saltKeyPub;
+        final byte[] symBytes;
+
+        /**
+         * @param sessionType Session type (HMAC or POLICY)
+         * @param authHash Hash algorithm of the sessions
+         * @param attributes Session attributes (restored when a session is returned to the pool)
+         * @param symmetric Parameter encryption algorithm (TPM_ALG_ID.NULL for none)
+         * @param saltKey Loaded RSA key to encrypt the salt with, or TPM_HANDLE.NULL for
+         *        unsalted sessions
+         * @param saltKeyPub Public area of saltKey (null for unsalted sessions)
+         */
+        public Config(TPM_SE sessionType, TPM_ALG_ID authHash, TPMA_SESSION attributes,
+                      TPMT_SYM_DEF symmetric, TPM_HANDLE saltKey, TPMT_PUBLIC saltKeyPub)
+        {
+            this.sessionType = sessionType;
+            this.authHash = authHash;
+            this.attributes = attributes;
+            this.symmetric = symmetric;
+            this.saltKey = saltKey;
+            this.saltKeyPub = saltKeyPub;
+            symBytes = symmetric.toBytes();
+        }
+
+        /** Unsalted sessions without parameter encryption */
+        public Config(TPM_SE sessionType, TPM_ALG_ID authHash)
+        {
+            this(sessionType, authHash, TPMA_SESSION.continueSession,
+                 new TPMT_SYM_DEF(TPM_ALG_ID.NULL, 0, TPM_ALG_ID.NULL), TPM_HANDLE.NULL, null);
+        }
+
+        @Override
+        public boolean equals(Object o)
+        {
+            if (!(o instanceof Config))
+                return false;
+            Config c = (Config)o;
+            return sessionType == c.sessionType && authHash == c.authHash &&
+                   attributes.toInt() == c.attributes.toInt() &&
+                   saltKey.handle == c.saltKey.handle && Arrays.equals(symBytes, c.symBytes);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return ((sessionType.toInt() * 31 + authHash.toInt()) * 31 + saltKey.handle) * 31
+                   + Arrays.hashCode(symBytes);
+        }
+    }
+
+    /** A session owned by the pool */
+    static class Pooled
+    {
+        final Config config;
+        final AuthSession sess;
+        final long seq;     // Start order
+
+        Pooled(Config config, AuthSession sess, long seq)
+        {
+            this.config = config;
+            this.sess = sess;
+            this.seq = seq;
+        }
+    }
+
+    /** Sessions of a configuration */
+    static class Slot
+    {
+        final ArrayDeque<Pooled> idle = new ArrayDeque<Pooled>();
+        int handedOut;
+        boolean refilling;
+
+        /** @return Whether the slot needs more idle sessions. The handed out sessions are
+         *          expected to be returned, unless none are idle. */
+        boolean needsRefill(int sessionsPerConfig)
+        {
+            return idle.isEmpty() || idle.size() + handedOut < sessionsPerConfig;
+        }
+    }
+
+    /** Runs the refills of all the pools */
+    static ExecutorService refillExecutor = null;
+
+    final Tpm tpm;
+    final int sessionsPerConfig;
+    final int maxSessions;
+
+    // Guarded by this
+    final HashMap<Config, Slot> slots = new HashMap<Config, Slot>();
+    final HashMap<Integer, Pooled> inUse = new HashMap<Integer, Pooled>();
+    int numSessions = 0;    // Idle, handed out, and being started
+    long nextSeq = 0;
+    boolean closed;
+
+    final AtomicLong    hits = new AtomicLong(),
+                        misses = new AtomicLong(),
+                        started = new AtomicLong(),
+                        restarted = new AtomicLong(),
+                        evicted = new AtomicLong(),
+                        numFailedRefills = new AtomicLong();
+
+    /**
+     * @param tpm Tpm object to start the sessions with
+     * @param sessionsPerConfig Number of the idle sessions kept for each configuration
+     * @param maxSessions Maximal number of the sessions owned by the pool (limited by
+     *        TPM_PT.ACTIVE_SESSIONS_MAX)
+     */
+    public AuthSessionPool(Tpm tpm, int sessionsPerConfig, int maxSessions)
+    {
+        this.tpm = tpm;
+        this.sessionsPerConfig = sessionsPerConfig;
+        int activeMax = tpm.getFixedProperty(TPM_PT.ACTIVE_SESSIONS_MAX);
+        this.maxSessions = activeMax > 0 ? Math.min(maxSessions, activeMax) : maxSessions;
+    }
+
+    /** Pool keeping 4 idle sessions per configuration, and owning at most half of the
+     *  TPM sessions */
+    public AuthSessionPool(Tpm tpm)
+    {
+        this(tpm, 4, Math.max(tpm.getFixedProperty(TPM_PT.ACTIVE_SESSIONS_MAX) / 2, 1));
+    }
+
+    /** Starts the idle sessions of the given configuration in the background */
+    public void prestart(Config config)
+    {
+        synchronized (this) {
+            slot(config);
+        }
+        refill(config);
+    }
+
+    /**
+     * Hands out a session of the given configuration. A session is started synchronously if
+     * there are no idle ones.
+     * @return The session to be returned with {@link #release(AuthSession)} or
+     *         {@link #discard(AuthSession)}
+     */
+    public AuthSession acquire(Config config)
+    {
+        Pooled p;
+        synchronized (this) {
+            if (closed)
+                throw new TpmException("The session pool is closed");
+            p = slot(config).idle.pollFirst();
+        }
+        if (p != null)
+            hits.incrementAndGet();
+        else
+        {
+            misses.incrementAndGet();
+            // Make room for the new session. If all the sessions are handed out, the TPM decides.
+            while (true)
+            {
+                synchronized (this) {
+                    if (numSessions < maxSessions)
+                    {
+                        ++numSessions;
+                        break;
+                    }
+                }
+                if (!evictOldest())
+                {
+                    synchronized (this) {
+                        ++numSessions;
+                    }
+                    break;
+                }
+            }
+            try {
+                p = start(config);
+            } catch (RuntimeException e) {
+                synchronized (this) {
+                    --numSessions;
+                }
+                throw e;
+            }
+        }
+        synchronized (this) {
+            inUse.put(p.sess.handle, p);
+            ++slots.get(config).handedOut;
+        }
+        refill(config);
+        return p.sess;
+    }
+
+    /**
+     * Returns the session to the pool. The session must be loaded in the TPM (i.e. it must
+     * not have been used with the continueSession attribute cleared).
+     */
+    public void release(AuthSession sess)
+    {
+        Pooled p = take(sess);
+        if (p.sess.sessionType == TPM_SE.POLICY)
+        {
+            // The response code is taken inside the invocation, as outside of it
+            // _getLastResponseCode() may return the one of another thread's command
+            TPM_RC rc = tpm.invocation().allowErrors().call(t -> {
+                t.PolicyRestart(sess);
+                return t._getLastResponseCode();
+            });
+            if (rc != TPM_RC.SUCCESS)
+            {
+                flush(p);
+                return;
+            }
+        }
+        sess.attributes = p.config.attributes;
+        synchronized (this) {
+            Slot slot = slots.get(p.config);
+            if (!closed && slot.idle.size() < sessionsPerConfig)
+            {
+                slot.idle.addLast(p);
+                return;
+            }
+        }
+        flush(p);
+    }
+
+    /** Flushes the session instead of returning it to the pool (e.g. after the session has
+     *  been used in a failed command, or has been bound to a policy) */
+    public void discard(AuthSession sess)
+    {
+        flush(take(sess));
+    }
+
+    /**
+     * Runs the given commands with a pooled session. The session is returned to the pool
+     * afterwards, or flushed if the commands throw.
+     * @param config Session configuration
+     * @param body Commands to run. The session is the first session of the commands.
+     * @return The value returned by body
+     */
+    public <R> R call(Config config, Function<Tpm, R> body)
+    {
+        AuthSession sess = acquire(config);
+        R res;
+        try {
+            res = tpm.with(sess).call(body);
+        } catch (RuntimeException e) {
+            discard(sess);
+            throw e;
+        }
+        release(sess);
+        return res;
+    }
+
+    /** Flushes the idle sessions. The handed out ones are flushed when they are returned. */
+    @Override
+    public void close()
+    {
+        List<Pooled> idle = new ArrayList<Pooled>();
+        synchronized (this) {
+            closed = true;
+            for (Slot slot : slots.values())
+            {
+                idle.addAll(slot.idle);
+                slot.idle.clear();
+            }
+        }
+        for (Pooled p : idle)
+            flush(p);
+    }
+
+    Slot slot(Config config)
+    {
+        Slot slot = slots.get(config);
+        if (slot == null)
+        {
+            slot = new Slot();
+            slots.put(config, slot);
+        }
+        return slot;
+    }
+
+    synchronized Pooled take(AuthSession sess)
+    {
+        Pooled p = inUse.get(sess.handle);
+        if (p == null || p.sess != sess)
+            throw new TpmException("The session does not belong to the pool");
+        inUse.remove(sess.handle);
+        --slots.get(p.config).handedOut;
+        return p;
+    }
+
+    /** Starts a session. numSessions must already account for it. */
+    Pooled start(Config config)
+    {
+        while (true)
+        {
+            TPM_RC[] rc = new TPM_RC[1];
+            AuthSession sess = tpm.invocation().allowErrors().call(t -> {
+                AuthSession s = t.StartAuthSession(config.sessionType, config.authHash, config.attributes,
+                                                   config.symmetric, TPM_HANDLE.NULL, config.saltKey,
+                                                   config.saltKeyPub);
+                rc[0] = t._getLastResponseCode();
+                return s;
+            });
+            if (sess != null)
+            {
+                started.incrementAndGet();
+                synchronized (this) {
+                    return new Pooled(config, sess, nextSeq++);
+                }
+            }
+            boolean recoverable = rc[0] == TPM_RC.CONTEXT_GAP || rc[0] == TPM_RC.SESSION_MEMORY ||
+                                  rc[0] == TPM_RC.SESSION_HANDLES;
+            if (!recoverable || !evictOldest())
+                throw new TpmException("StartAuthSession failed", rc[0]);
+            restarted.incrementAndGet();
+        }
+    }
+
+    /** Flushes the oldest idle session
+     *  @return false if there are no idle sessions */
+    boolean evictOldest()
+    {
+        Pooled oldest = null;
+        synchronized (this) {
+            Slot oldestSlot = null;
+            for (Slot slot : slots.values())
+            {
+                Pooled p = slot.idle.peekFirst();
+                for (Pooled q : slot.idle)
+                    if (q.seq < p.seq)
+                        p = q;
+                if (p != null && (oldest == null || p.seq < oldest.seq))
+                {
+                    oldest = p;
+                    oldestSlot = slot;
+                }
+            }
+            if (oldest == null)
+                return false;
+            oldestSlot.idle.remove(oldest);
+        }
+        evicted.incrementAndGet();
+        flush(oldest);
+        return true;
+    }
+
+    void flush(Pooled p)
+    {
+        tpm.invocation().allowErrors().run(t -> t.FlushContext(p.sess));
+        synchronized (this) {
+            --numSessions;
+        }
+    }
+
+    /** Starts a background refill of the idle sessions of the configuration, unless one is
+     *  already in progress or not needed */
+    void refill(Config config)
+    {
+        synchronized (this) {
+            Slot slot = slots.get(config);
+            if (closed || slot.refilling || !slot.needsRefill(sessionsPerConfig) ||
+                numSessions >= maxSessions)
+            {
+                return;
+            }
+            slot.refilling = true;
+        }
+        try {
+            refillExecutor().execute(() -> fill(config));
+        } catch (RejectedExecutionException e) {
+            synchronized (this) {
+                slots.get(config).refilling = false;
+            }
+        }
+    }
+
+    /** Starts the missing idle sessions of the configuration */
+    void fill(Config config)
+    {
+        try {
+            while (true)
+            {
+                synchronized (this) {
+                    Slot slot = slots.get(config);
+                    if (closed || !slot.needsRefill(sessionsPerConfig) ||
+                        numSessions >= maxSessions)
+                    {
+                        return;
+                    }
+                    ++numSessions;
+                }
+                Pooled p;
+                try {
+                    p = start(config);
+                } catch (RuntimeException e) {
+                    synchronized (this) {
+                        --numSessions;
+                    }
+                    numFailedRefills.incrementAndGet();
+                    return;
+                }
+                boolean keep;
+                synchronized (this) {
+                    keep = !closed;
+                    if (keep)
+                        slots.get(config).idle.addLast(p);
+                }
+                if (!keep)
+                    flush(p);
+            }
+        } finally {
+            synchronized (this) {
+                slots.get(config).refilling = false;
+            }
+        }
+    }
+
+    static synchronized ExecutorService refillExecutor()
+    {
+        if (refillExecutor == null)
+        {
+            refillExecutor = Helpers.daemonExecutor("AuthSessionPool refill");
+        }
+        return refillExecutor;
+    }
+
+    /** @return Number of the idle sessions of the configuration */
+    public synchronized int idle(Config config)
+    {
+        Slot slot = slots.get(config);
+        return slot == null ? 0 : slot.idle.size();
+    }
+
+    /** @return Number of the sessions owned by the pool */
+    public synchronized int size() { return numSessions; }
+
+    /** @return Number of the sessions handed out without waiting for StartAuthSession */
+    public long hits() { return hits.get(); }
+
+    /** @return Number of the sessions started synchronously by acquire() */
+    public long misses() { return misses.get(); }
+
+    /** @return Number of the sessions started by the pool */
+    public long started() { return started.get(); }
+
+    /** @return Number of the StartAuthSession commands repeated after an idle session had
+     *          been flushed (context gap or session limit) */
+    public long restarted() { return restarted.get(); }
+
+    /** @return Number of the idle sessions flushed to make room for a new session */
+    public long evicted() { return evicted.get(); }
+
+    /** @return Number of the background refills that failed */
+    public long numFailedRefills() { return numFailedRefills.get(); }
+
+    @Override
+    public String toString()
+    {
+        return String.format("%d sessions, %d hits, %d misses, %d started (%d restarted), " +
+                             "%d evicted, %d failed refills", size(), hits(), misses(), started(),
+                             restarted(), evicted(), numFailedRefills());
+    }
+}
@@ -0,0 +1,95 @@
+package tss;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+import tss.TpmBase.ThreadState;
+import tss.tpm.*;
+
+/**
+ * Computes the command parameter hashes (cpHash) of the TPM commands in software, e.g. to
+ * author TPM2_PolicyCpHash policies or TPM2_PolicyAuthorize approvals:
+ * <pre>
+ *  CpHashCalculator calc = new CpHashCalculator(TPM_ALG_ID.SHA256);
+ *  byte[] cpHash = calc.cpHash(t -&gt; t.NV_Write(nvHandle, nvHandle, data, 0));
+ * </pre>
+ * The commands are marshaled as usual, but are not sent to the TPM. The sessions are not used,
+ * and the parameters are hashed unencrypted.
+ * <P>
+ * A calculator created without a Tpm object needs no TPM connection. In this case the names of
+ * the transient and persistent objects and NV indices used by the commands must be set in their
+ * TPM_HANDLE objects. Otherwise the unknown names are queried from the TPM.
+ * <P>
+ * The calculator is thread-safe. Each thread reuses its own marshaling buffers and hash engine,
+ * and cpHashes() spreads a batch of commands across the available cores.
+ */
+public class CpHashCalculator
+{
+    final Tpm tpm;
+
+    /** Hash algorithm of the computed cpHash values */
+    public final TPM_ALG_ID hashAlg;
+
+    /** @param hashAlg Hash algorithm of the computed cpHash values */
+    public CpHashCalculator(TPM_ALG_ID hashAlg)
+    {
+        this(new Tpm(), hashAlg);
+    }
+
+    /**
+     * @param tpm Tpm object used to query the unknown entity names
+     * @param hashAlg Hash algorithm of the computed cpHash values
+     */
+    public CpHashCalculator(Tpm tpm, TPM_ALG_ID hashAlg)
+    {
+        if (Crypto.digestSize(hashAlg) == 0)
+            throw new TpmException("Unsupported cpHash algorithm " + hashAlg);
+        this.tpm = tpm;
+        this.hashAlg = hashAlg;
+    }
+
+    /**
+     * @param command Code issuing a single TPM command via the given Tpm object (if it issues
+     *                several ones, the cpHash of the last one is returned)
+     * @return cpHash of the command
+     */
+    public byte[] cpHash(Consumer<Tpm> command)
+    {
+        ThreadState ts = tpm.threadState.get();
+        TPMT_HA res = new TPMT_HA(hashAlg, null);
+        TPMT_HA prev = ts.cpHash;
+        ts.cpHash = res;
+        try {
+            command.accept(tpm);
+        } finally {
+            ts.cpHash = prev;
+        }
+        if (res.digest == null)
+            throw new TpmException("No TPM command was issued");
+        return res.digest;
+    }
+
+    /**
+     * @param cmdCode Command code
+     * @param req Command parameters
+     * @return cpHash of the command
+     */
+    public byte[] cpHash(TPM_CC cmdCode, ReqStructure req)
+    {
+        return tpm.computeCpHash(hashAlg, cmdCode, req, tpm.threadState.get());
+    }
+
+    /**
+     * Computes the cpHash values of a batch of commands in parallel
+     * @param commands Code issuing the commands, one per item (see {@link #cpHash(Consumer)})
+     * @return cpHash of each command in the order of the commands
+     */
+    public List<byte[]> cpHashes(List<? extends Consumer<Tpm>> commands)
+    {
+        byte[][] res = new byte[commands.size()][];
+        IntStream.range(0, res.length).parallel().forEach(i -> res[i] = cpHash(commands.get(i)));
+        return Arrays.asList(res);
+    }
+}
@@ -5,6 +5,11 @@ import tss.tpm.*;
 
 import java.io.ByteArrayOutputStream;
 import java.nio.ByteBuffer;
+import java.security.SecureRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
 
 /**
  * @author pengland
@@ -87,15 +92,31 @@ public class Helpers {
         return sb.toString();
     }
     
-    static Random rand;
+    static volatile SecureRandom rand;
+    
+    /**
+     * Sets the source of the random bytes used for the nonces, seeds and keys generated by
+     * TSS.Java (e.g. SecureRandom.getInstance("TPM-DRBG", new TpmProvider(tpm)))
+     * @param random The random number generator, or null for a default SecureRandom
+     */
+    public static void setRandomSource(SecureRandom random)
+    {
+        rand = random;
+    }
+    
+    /** @return  The source of the random bytes used by TSS.Java */
+    public static SecureRandom getRandomSource()
+    {
+        SecureRandom r = rand;
+        if (r == null)
+            rand = r = new SecureRandom();
+        return r;
+    }
     
     public static byte[] RandomBytes(int numBytes)
     {
-        if (rand==null)
-            rand = new Random();
-        
         byte[] res = new byte[numBytes];
-        rand.nextBytes(res);
+        getRandomSource().nextBytes(res);
         return res;
     }
     
@@ -204,5 +225,29 @@ public class Helpers {
         }
         return false;
     }
+
+    /** @return Factory of the daemon threads with the given name (the background threads of
+     *          TSS.Java do not keep the JVM running) */
+    static ThreadFactory daemonThreads(String threadName)
+    {
+        return r -> {
+            Thread t = new Thread(r, threadName);
+            t.setDaemon(true);
+            return t;
+        };
+    }
+
+    /** @return Single-thread executor running its tasks on a daemon thread with the given name */
+    static ExecutorService daemonExecutor(String threadName)
+    {
+        return Executors.newSingleThreadExecutor(daemonThreads(threadName));
+    }
+
+    /** @return Single-thread scheduled executor running its tasks on a daemon thread with the
+     *          given name */
+    static ScheduledExecutorService daemonScheduler(String threadName)
+    {
+        return Executors.newSingleThreadScheduledExecutor(daemonThreads(threadName));
+    }
     
 }
@@ -0,0 +1,301 @@
+package tss;
+
+import java.nio.ByteBuffer;
+
+import tss.tpm.TPMS_CONTEXT;
+import tss.tpm.TPM_HANDLE;
+
+/**
+ * Lazy view of the parameters of a TPM response. Instead of unmarshaling the response into
+ * a new object graph, the view retains the response buffer, and decodes only the fields
+ * accessed by the caller. Byte buffer fields (and the wire representation of the structure
+ * fields) are exposed as read-only ByteBuffer slices of the response buffer without copying.
+ * <P>
+ * Each response structure with parameters has a generated View class, which is passed to the
+ * Tpm._view() modifier of the command:
+ * <pre>
+ *  ContextSaveResponse.View v = new ContextSaveResponse.View();
+ *  tpm._view(v).ContextSave(h);
+ *  ByteBuffer ctx = v.contextBytes();
+ * </pre>
+ * The command method then returns null (or the default value of its return type), while the
+ * commands returning the whole response structure (e.g. CreatePrimary) return it with only the
+ * handle (if any) set. A view can be reused for any number of commands, and is valid until the
+ * next one. It is not thread-safe.
+ * <P>
+ * The wire representation of a saved context can be loaded back without decoding it via
+ * {@link TPMS_CONTEXT#wrap(ByteBuffer)}.
+ * <P>
+ * A view is filled in only when the command succeeds. The name of the handle returned by the
+ * command (if any) is not set, and is queried from the TPM when needed.
+ *
+ * @param <R> Response structure type
+ */
+public abstract class RespView<R extends RespStructure>
+{
+    /** Layout code of a field preceded with its 2-byte size */
+    protected static final int SIZED = -1;
+
+    /** Layout code of a field that must be unmarshaled to find out its size. Other layout
+     *  codes are the sizes of the fixed size fields. */
+    protected static final int DECODED = 0;
+
+    final Class<R> respClass;
+    final int[] layout;
+
+    /** Retained response buffer, and the bounds of the response parameters in it */
+    byte[] buf;
+    int start, end;
+
+    TPM_HANDLE handle;
+
+    /** Offsets of the fields located so far (the last one is the end of the last field) */
+    final int[] fieldPos;
+    int numLocated;
+
+    /** Decoded fields (null until accessed) */
+    final Object[] fields;
+    R resp;
+
+    /** Unmarshaling buffer (reused, and rebound to buf on the first decoding) */
+    TpmBuffer tpmBuf;
+
+    /**
+     * @param respClass Response structure type
+     * @param layout Layout codes of the response parameters (SIZED, DECODED or size in bytes)
+     */
+    protected RespView(Class<R> respClass, int[] layout)
+    {
+        this.respClass = respClass;
+        this.layout = layout;
+        fieldPos = new int[layout.length + 1];
+        fields = new Object[layout.length];
+    }
+
+    /** @return New empty response structure */
+    protected abstract R newResponse();
+
+    /**
+     * Unmarshals the given field of the response
+     * @param field Field index
+     * @param buf Unmarshaling buffer positioned at the field
+     * @return The field value
+     */
+    protected abstract Object readField(int field, TpmBuffer buf);
+
+    /** Empties the view before it is used for a new command */
+    void clear()
+    {
+        buf = null;
+        handle = null;
+        resp = null;
+        numLocated = 0;
+        for (int i = 0; i < fields.length; ++i)
+            fields[i] = null;
+    }
+
+    /** Retains the response parameters area of the given response buffer */
+    void init(byte[] buf, int start, int end, TPM_HANDLE handle)
+    {
+        clear();
+        this.buf = buf;
+        this.start = start;
+        this.end = end;
+        this.handle = handle;
+        fieldPos[0] = start;
+        numLocated = 1;
+    }
+
+    /** @return Whether the view can hold the parameters of the given response */
+    boolean accepts(RespStructure resp)
+    {
+        return resp != null && resp.getClass() == respClass;
+    }
+
+    /** @return true if the view has not been filled in by a successful command */
+    public boolean isEmpty() { return buf == null; }
+
+    /** @return The handle returned by the command (null if none) */
+    public TPM_HANDLE getHandle() { return handle; }
+
+    /** @return Read-only wire representation of the response parameters */
+    public ByteBuffer bytes()
+    {
+        checkFilled();
+        return slice(start, end);
+    }
+
+    /** @return The response structure decoded from the response parameters as a whole
+     *          (decoded only once) */
+    public R decode()
+    {
+        checkFilled();
+        if (resp == null)
+        {
+            R r = newResponse();
+            TpmBuffer b = buffer(start);
+            r.initFromTpm(b);
+            if (!b.isOk() || b.curPos() != end)
+                throw new TpmException("Bad response parameters of " + respClass.getSimpleName());
+            if (handle != null)
+                r.setHandle(handle);
+            resp = r;
+        }
+        return resp;
+    }
+
+    /**
+     * @param field Field index
+     * @return The decoded value of the given field (decoded only once)
+     */
+    @SuppressWarnings("unchecked")
+    protected <T> T field(int field)
+    {
+        if (fields[field] == null)
+            decodeAt(field, pos(field));
+        return (T)fields[field];
+    }
+
+    /**
+     * @param field Field index
+     * @return Read-only wire representation of the given field
+     */
+    protected ByteBuffer bytes(int field)
+    {
+        int pos = pos(field);
+        return slice(pos, pos(field + 1));
+    }
+
+    /**
+     * @param field Index of a field preceded with its 2-byte size
+     * @return Read-only contents of the given field (without the size)
+     */
+    protected ByteBuffer sizedBytes(int field)
+    {
+        int pos = pos(field);
+        return slice(pos + 2, pos(field + 1));
+    }
+
+    /**
+     * @param field Index of a 1-byte field
+     * @return Value of the given field
+     */
+    protected byte byteAt(int field) { return buf[fixedPos(field)]; }
+
+    /**
+     * @param field Index of a 2-byte field
+     * @return Value of the given field
+     */
+    protected int shortAt(int field)
+    {
+        int pos = fixedPos(field);
+        return (buf[pos] & 0xFF) << 8 | buf[pos + 1] & 0xFF;
+    }
+
+    /**
+     * @param field Index of a 4-byte field
+     * @return Value of the given field
+     */
+    protected int intAt(int field) { return getInt(fixedPos(field)); }
+
+    /**
+     * @param field Index of an 8-byte field
+     * @return Value of the given field
+     */
+    protected long int64At(int field)
+    {
+        int pos = fixedPos(field);
+        return (long)getInt(pos) << 32 | getInt(pos + 4) & 0xFFFFFFFFL;
+    }
+
+    int getInt(int pos)
+    {
+        return (buf[pos] & 0xFF) << 24 | (buf[pos + 1] & 0xFF) << 16 | (buf[pos + 2] & 0xFF) << 8 | buf[pos + 3] & 0xFF;
+    }
+
+    /** @return Offset of the given fixed size field (checked to fit the parameters area) */
+    int fixedPos(int field)
+    {
+        pos(field + 1);
+        return fieldPos[field];
+    }
+
+    /** Helper for the generated union fields */
+    protected static <U extends TpmUnion> U readUnion(U u, TpmBuffer buf)
+    {
+        u.initFromTpm(buf);
+        return u;
+    }
+
+    /** @return Offset of the given field in the response buffer. The preceding fields are
+     *          skipped using their sizes, or decoded if their size is not known upfront. */
+    int pos(int field)
+    {
+        checkFilled();
+        while (numLocated <= field)
+        {
+            int i = numLocated - 1,
+                pos = fieldPos[i],
+                next;
+            if (layout[i] == DECODED)
+            {
+                // The last field ends with the parameters area, and is not decoded until
+                // accessed. Decoding of any other field locates the next one.
+                if (i < layout.length - 1)
+                    decodeAt(i, pos);
+                else
+                    fieldPos[numLocated++] = end;
+                continue;
+            }
+            if (layout[i] == SIZED)
+            {
+                checkBounds(pos + 2, i);
+                next = pos + 2 + ((buf[pos] & 0xFF) << 8 | buf[pos + 1] & 0xFF);
+            }
+            else
+                next = pos + layout[i];
+            checkBounds(next, i);
+            fieldPos[numLocated++] = next;
+        }
+        return fieldPos[field];
+    }
+
+    void decodeAt(int field, int pos)
+    {
+        TpmBuffer b = buffer(pos);
+        Object val = readField(field, b);
+        checkBounds(b.curPos(), field);
+        if (!b.isOk())
+            throw new TpmException("Bad response parameter " + field + " of " + respClass.getSimpleName());
+        fields[field] = val;
+        if (numLocated == field + 1)
+            fieldPos[numLocated++] = b.curPos();
+    }
+
+    TpmBuffer buffer(int pos)
+    {
+        if (tpmBuf == null)
+            tpmBuf = new TpmBuffer(buf);
+        else if (tpmBuf.buffer() != buf)
+            tpmBuf.init(buf);
+        tpmBuf.curPos(pos);
+        return tpmBuf;
+    }
+
+    ByteBuffer slice(int from, int to)
+    {
+        return ByteBuffer.wrap(buf, from, to - from).slice().asReadOnlyBuffer();
+    }
+
+    void checkFilled()
+    {
+        if (buf == null)
+            throw new TpmException("The view of " + respClass.getSimpleName() + " is empty");
+    }
+
+    void checkBounds(int pos, int field)
+    {
+        if (pos > end)
+            throw new TpmException("Bad response parameter " + field + " of " + respClass.getSimpleName());
+    }
+}
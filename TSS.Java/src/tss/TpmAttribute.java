@@ -28,16 +28,15 @@ public abstract class TpmAttribute<T extends TpmAttribute<T>> extends TpmEnum<T>
     }
 
     // Needed to hide super class implementation
-    protected static <T extends TpmEnum<T>> T fromInt (int value, ValueMap<T> values, Class<T> cls)
+    protected static <T extends TpmEnum<T>> T fromInt (int value, ValueMap<T> values)
     {
         return null;
     }
     
-    protected static <T extends TpmAttribute<T>> T attrFromInt (int value, ValueMap<T> values, Class<T> cls)
+    protected static <T extends TpmAttribute<T>> T attrFromInt (int value, ValueMap<T> values)
     {
-        T newAttr = TpmEnum.fromInt(value, values, cls);
-        ((TpmAttribute<T>)newAttr).updateName(values);
-        return newAttr;
+        // Both the named and the newly created instances already have their names set
+        return TpmEnum.fromInt(value, values);
     }
     
     protected boolean hasAttr(TpmAttribute<T> attr)
@@ -45,9 +44,9 @@ public abstract class TpmAttribute<T extends TpmAttribute<T>> extends TpmEnum<T>
         return attr.Value == (Value & attr.Value);
     }
 
-    protected T maskAttr(T attr, ValueMap<T> values, Class<T> cls)
+    protected T maskAttr(T attr, ValueMap<T> values)
     {
-        return attrFromInt(Value & attr.Value, values, cls);
+        return attrFromInt(Value & attr.Value, values);
     }
 
     private void updateName(String attrName)
@@ -2,7 +2,14 @@ package tss;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.security.MessageDigest;
 import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.bouncycastle.crypto.Digest;
 
 import tss.tpm.*;
 
@@ -40,6 +47,8 @@ public abstract class TpmBase implements Closeable
     {
         device = theDevice;
         lastResponseCode = TPM_RC.SUCCESS;
+        retryScheduler.resetCachedProperties();
+        fixedProps.clear();
     }
     /**
      * Tpm objects can interact with TPMs over a variety of interfaces called "devices."  This returns
@@ -95,18 +104,21 @@ public abstract class TpmBase implements Closeable
      */
     public Tpm _expectResponses(TPM_RC... expectedResponses)
     {
-        // Empty responses list indicates success
-        ExpectedResponses = null;
+        ExpectedResponses = normalizeExpectedResponses(expectedResponses);
+        return (Tpm)this;
+    }
 
-        if (expectedResponses.length == 0 ||
+    /** @return The list of expected response codes in the form used by ExpectedResponses */
+    static TPM_RC[] normalizeExpectedResponses(TPM_RC... expectedResponses)
+    {
+        // Empty responses list indicates success
+        if (expectedResponses == null || expectedResponses.length == 0 ||
             (expectedResponses.length == 1 &&
              Helpers.isOneOf(expectedResponses[0], TPM_RC.SUCCESS, null)))
         {
-            return (Tpm)this;
+            return null;
         }
-
-        ExpectedResponses = new TPM_RC[0];
-        return _expectMoreResponses(expectedResponses);
+        return addExpectedResponses(new TPM_RC[0], expectedResponses);
     }
     
     /**
@@ -122,11 +134,16 @@ public abstract class TpmBase implements Closeable
         {
             ExpectedResponses = new TPM_RC[] {TPM_RC.SUCCESS};
         }
-        TPM_RC[] old = ExpectedResponses;
-        ExpectedResponses = new TPM_RC[expectedResponses.length + old.length];
+        ExpectedResponses = addExpectedResponses(ExpectedResponses, expectedResponses);
+        return (Tpm)this;
+    }
+
+    static TPM_RC[] addExpectedResponses(TPM_RC[] old, TPM_RC[] expectedResponses)
+    {
+        TPM_RC[] res = new TPM_RC[expectedResponses.length + old.length];
         for (int i = 0; i < old.length; ++i)
         {
-            ExpectedResponses[i] = old[i];  
+            res[i] = old[i];  
         }
 
         for (int i = 0; i < expectedResponses.length; ++i)
@@ -135,21 +152,16 @@ public abstract class TpmBase implements Closeable
             int curPos = old.length + i;
             if (rc == TPM_RC.SUCCESS && curPos != 0)
             {
-                if (ExpectedResponses[0] == TPM_RC.SUCCESS)
+                if (res[0] == TPM_RC.SUCCESS)
                     continue;
-                rc = ExpectedResponses[0];
-                ExpectedResponses[0] = TPM_RC.SUCCESS;
+                rc = res[0];
+                res[0] = TPM_RC.SUCCESS;
             }
-            ExpectedResponses[curPos] = rc;
+            res[curPos] = rc;
         }
-        return (Tpm)this;
+        return res;
     }
 
-    private boolean _isSuccessExpected()
-    {
-        return ExpectedResponses == null || ExpectedResponses[0] == TPM_RC.SUCCESS;
-    }
-    
     /**
      * Did the last TPM command return RC_SUCCESS?
      * 
@@ -157,22 +169,28 @@ public abstract class TpmBase implements Closeable
      */
     public Boolean _lastCommandSucceeded()
     {
-        return (lastResponseCode == TPM_RC.SUCCESS);
+        return (_getLastResponseCode() == TPM_RC.SUCCESS);
     }
 
     /**
-     * Get the last TPM response code
+     * Get the last TPM response code. Inside the code run by TpmInvocation.call() it is
+     * the response code of the last command issued by the current thread.
      * 
      * @return The response code
      */
     public TPM_RC _getLastResponseCode()
     {
-        return lastResponseCode;
+        ThreadState ts = threadState.get();
+        return ts.invocation != null ? ts.lastResponseCode : lastResponseCode;
     }
 
     /**
      * Specifies a single session handle to use with the next command 
      * 
+     * An AuthSession is used by one command at a time. If the session is still used by
+     * another command in flight (e.g. an asynchronous one whose future has not completed yet),
+     * the command fails with TpmException.
+     * 
      * @param h Session handle
      * @return this TPM object
      */
@@ -184,6 +202,7 @@ public abstract class TpmBase implements Closeable
 
     /**
      * Specifies the session handles to use with the next command 
+     * (see {@link #_withSession(TPM_HANDLE)} for the sessions used by commands in flight)
      * 
      * @param hh List of up to 3 session handles 
      * @return this TPM object
@@ -194,13 +213,215 @@ public abstract class TpmBase implements Closeable
         return (Tpm)this;
     }
 
+    /**
+     * @return The scheduler deciding when the commands failed with transient warnings
+     *         (TPM_RC.RETRY, NV_RATE etc.) are resent, and collecting the retry statistics
+     */
+    public TpmRetryScheduler _getRetryScheduler()
+    {
+        return retryScheduler;
+    }
+
+    /**
+     * Starts mirroring the TPM command audit on the host (see TpmCommandAudit). The TPM audit
+     * digest must be clear at this moment, and the TPM must audit the given commands with the
+     * given hash algorithm.
+     * 
+     * @param hashAlg Audit hash algorithm used by the TPM
+     * @param auditedCommands The commands audited by the TPM (TPM2_SetCommandCodeAuditStatus
+     *        is always audited, and does not have to be listed)
+     * @return The audit mirror updated by all subsequent commands issued via this object
+     */
+    public TpmCommandAudit _startCommandAudit(TPM_ALG_ID hashAlg, TPM_CC... auditedCommands)
+    {
+        commandAudit = new TpmCommandAudit(hashAlg, auditedCommands);
+        return commandAudit;
+    }
+
+    /**
+     * @return The command audit mirror started by _startCommandAudit(), or null
+     */
+    public TpmCommandAudit _getCommandAudit()
+    {
+        return commandAudit;
+    }
+
+    /**
+     * Stops mirroring the TPM command audit on the host
+     */
+    public void _endCommandAudit()
+    {
+        commandAudit = null;
+    }
+
+    /**
+     * Creates a thread-safe invocation context with the given sessions (see TpmInvocation)
+     * 
+     * @param sessions Session handles to use with the commands 
+     * @return New invocation context
+     */
+    public TpmInvocation with(TPM_HANDLE... sessions)
+    {
+        return new TpmInvocation(this).with(sessions);
+    }
+
+    /**
+     * Creates a thread-safe invocation context with no modifiers (see TpmInvocation)
+     * 
+     * @return New invocation context
+     */
+    public TpmInvocation invocation()
+    {
+        return new TpmInvocation(this);
+    }
+
+    /** Runs the body with the modifiers of the given invocation bound to the current thread */
+    <R> R invoke(TpmInvocation inv, Function<Tpm, R> body)
+    {
+        ThreadState ts = threadState.get();
+        TpmInvocation prev = ts.invocation;
+        ts.invocation = inv;
+        try {
+            return body.apply((Tpm)this);
+        } finally {
+            ts.invocation = prev;
+        }
+    }
+
+    /**
+     * Sets the deadline for all subsequent TPM commands. A command not completed in time is
+     * cancelled (or abandoned, if the TPM device cannot cancel it), and TpmTimeoutException
+     * is thrown.
+     * 
+     * @param timeoutMs Deadline in milliseconds, or 0 for no deadline
+     */
+    public void _setCommandTimeout(int timeoutMs)
+    {
+        CommandTimeout = timeoutMs;
+    }
+
+    /**
+     * Overrides the deadline set by _setCommandTimeout() for the next command
+     * 
+     * @param timeoutMs Deadline in milliseconds, or 0 for no deadline
+     * @return This Tpm object (to allow modifier chaining)
+     */
+    public Tpm _withTimeout(int timeoutMs)
+    {
+        Timeout = timeoutMs;
+        return (Tpm)this;
+    }
+
+    /**
+     * The next command is not sent to the TPM. Instead its cpHash is computed and stored in
+     * cpHash.digest (see CpHashCalculator for the batch and offline computation).
+     * 
+     * @param cpHash Receives the cpHash computed with cpHash.hashAlg
+     * @return This Tpm object (to allow modifier chaining)
+     */
+    public Tpm _getCpHash(TPMT_HA cpHash)
+    {
+        CpHash = cpHash;
+        return (Tpm)this;
+    }
+
+    /**
+     * The response parameters of the next command issued by the current thread are not
+     * unmarshaled. Instead the given view retains the response buffer, and decodes the
+     * parameters lazily. The command method returns null (or the default value of its return
+     * type). The commands returning the whole response structure (e.g. CreatePrimary) return
+     * it with only the handle (if any) set. The view must be the View class of the command
+     * response structure:
+     * <pre>
+     *  QuoteResponse.View q = new QuoteResponse.View();
+     *  tpm._view(q).Quote(key, data, scheme, pcrs);
+     *  ByteBuffer attest = q.quotedBytes();
+     * </pre>
+     * 
+     * @param view Lazy view of the response (see {@link RespView})
+     * @return This Tpm object (to allow modifier chaining)
+     */
+    public Tpm _view(RespView<?> view)
+    {
+        threadState.get().view = view;
+        return (Tpm)this;
+    }
+
     /**
      * Get last response code returned from the TPM (e.g. TPM_RC.SUCCESS)
      * @return The response code
      */
     public TPM_RC getLastResponseCode()
     {
-        return lastResponseCode;
+        return _getLastResponseCode();
+    }
+
+    /**
+     * Starts an unbound and unsalted authorization session
+     * 
+     * @param sessionType Session type (HMAC or POLICY)
+     * @param authHash Hash algorithm of the session
+     * @return The session handle object, or null if an allowed error occurred
+     */
+    public AuthSession StartAuthSession(TPM_SE sessionType, TPM_ALG_ID authHash)
+    {
+        return StartAuthSession(sessionType, authHash, TPMA_SESSION.continueSession,
+                                new TPMT_SYM_DEF(TPM_ALG_ID.NULL, 0, TPM_ALG_ID.NULL));
+    }
+
+    /**
+     * Starts an unbound and unsalted authorization session
+     * 
+     * @param sessionType Session type (HMAC or POLICY)
+     * @param authHash Hash algorithm of the session
+     * @param attributes Session attributes used with the commands
+     * @param symmetric Parameter encryption algorithm (TPM_ALG_ID.NULL for none)
+     * @return The session handle object, or null if an allowed error occurred
+     */
+    public AuthSession StartAuthSession(TPM_SE sessionType, TPM_ALG_ID authHash,
+                                        TPMA_SESSION attributes, TPMT_SYM_DEF symmetric)
+    {
+        return StartAuthSession(sessionType, authHash, attributes, symmetric, TPM_HANDLE.NULL, TPM_HANDLE.NULL, null);
+    }
+
+    /**
+     * Starts an authorization session, and derives its session key
+     * 
+     * @param sessionType Session type (HMAC or POLICY)
+     * @param authHash Hash algorithm of the session
+     * @param attributes Session attributes used with the commands
+     * @param symmetric Parameter encryption algorithm (TPM_ALG_ID.NULL for none)
+     * @param bind Entity to bind the session to (its AuthValue must be set), or TPM_HANDLE.NULL
+     * @param saltKey Loaded RSA key to encrypt the salt with, or TPM_HANDLE.NULL for an
+     *        unsalted session
+     * @param saltKeyPub Public area of saltKey (null for an unsalted session)
+     * @return The session handle object, or null if an allowed error occurred
+     */
+    public AuthSession StartAuthSession(TPM_SE sessionType, TPM_ALG_ID authHash,
+                                        TPMA_SESSION attributes, TPMT_SYM_DEF symmetric,
+                                        TPM_HANDLE bind, TPM_HANDLE saltKey, TPMT_PUBLIC saltKeyPub)
+    {
+        int nonceSize = Crypto.digestSize(authHash);
+        byte[] nonceCaller = Helpers.RandomBytes(nonceSize);
+        byte[] salt = null,
+               encryptedSalt = new byte[0];
+        if (saltKey.handle != TPM_RH.NULL.toInt())
+        {
+            salt = Helpers.RandomBytes(nonceSize);
+            encryptedSalt = saltKeyPub.encrypt(salt, "SECRET");
+        }
+        boolean bound = bind.handle != TPM_RH.NULL.toInt();
+        byte[] bindName = bound ? entityName(bind) : null;
+
+        StartAuthSessionResponse resp = ((Tpm)this).StartAuthSession(saltKey, bind, nonceCaller, encryptedSalt,
+                                                                     sessionType, symmetric, authHash);
+        if (_getLastResponseCode() != TPM_RC.SUCCESS)
+            return null;
+        AuthSession sess = new AuthSession(resp.handle, sessionType, authHash, symmetric, attributes,
+                                           nonceCaller, resp.nonceTPM);
+        sess.bindName = bindName;
+        sess.deriveSessionKey(bound ? bind.AuthValue : null, salt);
+        return sess;
     }
 
     static void WriteSession (TpmBuffer buf, TPM_HANDLE sessHandle, byte[] nonceCaller,
@@ -212,6 +433,95 @@ public abstract class TpmBase implements Closeable
         buf.writeSizedByteBuf(authVal);
     }
 
+    /** State of a TPM command invocation captured when the command is marshaled, and
+     *  used to interpret its response (possibly asynchronously).
+     */
+    static class PendingCommand
+    {
+        TPM_CC      cmdCode;
+        byte[]      rawCmdBuf;
+        int         sessTag;
+        boolean     allowErrors;
+        TPM_RC[]    expectedResponses;
+        int         timeout;
+
+        /** Command audit mirror updated by the command (null if the command neither is audited,
+         *  nor changes the audit state) */
+        TpmCommandAudit audit;
+
+        /** Sequence number of the command in the audit mirror (-1 if not assigned, or if the
+         *  result of the command is already applied) */
+        long        auditSeq = -1;
+
+        /** Command parameters (for the commands changing the audit state) */
+        ReqStructure auditReq;
+
+        /** Audit hash algorithm and the cpHash computed with it (null if the command is not
+         *  audited) */
+        TPM_ALG_ID  auditAlg;
+        byte[]      auditCpHash;
+
+        /** Response code of the last attempt, and the number of retries made */
+        TPM_RC      responseCode;
+        int         retries;
+
+        /** Offset of the command parameters in rawCmdBuf */
+        int         paramsPos;
+
+        /** The command can be resent with its parameters patched in rawCmdBuf, as neither
+         *  its authorization nor its audit depend on the parameters */
+        boolean     reusable;
+
+        /** Command handles */
+        TPM_HANDLE[] inHandles;
+
+        /** Lazy view retaining the response parameters instead of unmarshaling them (null
+         *  if none) */
+        RespView<?>  view;
+
+        /** Command sessions (null if no HMAC or policy sessions are used) */
+        TPM_HANDLE[] sessions;
+
+        /** Authorization values included into the HMAC keys of the sessions */
+        byte[][]    hmacAuthValues;
+
+        /** nonceCaller sent with each of the sessions, and nonceTPM returned for it (null for
+         *  the sessions other than AuthSession). The response is verified and decrypted with
+         *  the nonces of its command rather than the current ones of the sessions. */
+        byte[][]    nonceCallers,
+                    nonceTpms;
+
+        /** AuthSession objects reserved for the command until its response is processed
+         *  (null if none) */
+        AuthSession[] reservedSessions;
+
+        /** Indices of the sessions encrypting the first command parameter and the first
+         *  response parameter (-1 if none) */
+        int         decryptSession = -1,
+                    encryptSession = -1;
+
+        /** cpHash and rpHash computed for each of the sessions (null if not needed) */
+        byte[][]    cpHashes,
+                    rpHashes;
+
+        /** Releases the sessions reserved for the command */
+        void endSessions()
+        {
+            releaseSessions(reservedSessions);
+            reservedSessions = null;
+        }
+
+        /** Releases the audit sequence number of the command, unless its result was applied */
+        void endAudit()
+        {
+            if (auditSeq >= 0)
+            {
+                audit.complete(auditSeq, null);
+                auditSeq = -1;
+            }
+        }
+    }
+
     /**
      * Send a command to the underlying TPM
      * @param cmdCode The command code
@@ -219,14 +529,317 @@ public abstract class TpmBase implements Closeable
      * @param resp The output parameter structure
      */
     protected void DispatchCommand(TPM_CC cmdCode, ReqStructure req, RespStructure resp)
-    { try {
+    {
+        ThreadState ts = threadState.get();
+        RespView<?> view = takeView(ts, cmdCode, resp);
+        PendingCommand cmd = prepareCommand(cmdCode, req, ts);
+        if (cmd == null)
+            return;
+        cmd.view = view;
+        dispatchPrepared(cmd, ts, resp);
+    } // DispatchCommand()
+
+    /** Sends the command marshaled by prepareCommand() (possibly not for the first time)
+     *  to the TPM, and unmarshals the response */
+    void dispatchPrepared(PendingCommand cmd, ThreadState ts, RespStructure resp)
+    {
+        cmd.retries = 0;
+        TpmDevice device = this.device;
+        try {
+            while (true)
+            {
+                boolean done;
+                try {
+                    byte[] rawRespBuf;
+                    // Only the transport is serialized. Threads marshal and unmarshal concurrently.
+                    synchronized (device) {
+                        if (cmd.audit != null)
+                            cmd.auditSeq = cmd.audit.nextSeq(cmd.cmdCode);
+                        rawRespBuf = device.executeCommand(cmd.rawCmdBuf, cmd.timeout);
+                    }
+                    // Synchronous responses are unmarshaled in place via the reused respBuf,
+                    // unless it is still used by an outer command dispatched by this thread
+                    // (e.g. from TpmCallbackInterface)
+                    boolean nested = ts.respBufBusy;
+                    TpmBuffer respBuf = nested ? new TpmBuffer(rawRespBuf) : ts.respBuf;
+                    if (!nested)
+                        respBuf.init(rawRespBuf);
+                    ts.respBufBusy = true;
+                    try {
+                        done = processResponse(cmd, rawRespBuf, respBuf, resp);
+                    } finally {
+                        ts.respBufBusy = nested;
+                    }
+                } finally {
+                    cmd.endAudit();
+                }
+                if (done)
+                    break;
+                retryScheduler.await(cmd.cmdCode, cmd.responseCode, cmd.retries++);
+            }
+        } finally {
+            cmd.endSessions();
+        }
+    }
+
+    /**
+     * Asynchronously sends a command to the underlying TPM. The invocation modifiers
+     * (_withSession(), _allowErrors(), _expectResponses() etc.) are applied to this command
+     * before this method returns, and the Tpm object can be used for the next command
+     * (either synchronous or not) right away. The device executes the commands in the order
+     * they are sent, and a synchronous command waits for the responses to the asynchronous
+     * commands sent before it (see {@link TpmDevice#submitAsync(byte[])}).
+     * 
+     * The sessions of the command (see {@link #_withSession(TPM_HANDLE)}) stay reserved for
+     * it until the returned future completes, so the next command using the same session
+     * has to be chained to the future (e.g. via thenCompose()).
+     *
+     * @param cmdCode The command code
+     * @param req The input parameter structure
+     * @param resp The output parameter structure
+     * @return Future completed with the resp object when the TPM response is received and
+     *         unmarshaled, or exceptionally if the TPM or device returns an error
+     */
+    public <R extends RespStructure>
+    CompletableFuture<R> DispatchCommandAsync(TPM_CC cmdCode, ReqStructure req, R resp)
+    {
+        ThreadState ts = threadState.get();
+        RespView<?> view = takeView(ts, cmdCode, resp);
+        PendingCommand cmd = prepareCommand(cmdCode, req, ts);
+        if (cmd == null)
+            return CompletableFuture.completedFuture(resp);
+        cmd.view = view;
+        CompletableFuture<R> submitted;
+        try {
+            submitted = submitAsync(cmd, resp);
+        } catch (RuntimeException e) {
+            cmd.endSessions();
+            throw e;
+        }
+        return submitted.whenComplete((r, e) -> cmd.endSessions());
+    }
+
+    /** @return The view set by _view() for the next command (consumed), emptied and checked to
+     *          match the command response, or null if none */
+    RespView<?> takeView(ThreadState ts, TPM_CC cmdCode, RespStructure resp)
+    {
+        RespView<?> view = ts.view;
+        if (view == null)
+            return null;
+        ts.view = null;
+        if (!view.accepts(resp))
+        {
+            throw new TpmException(view.getClass().getName().replace('$', '.') +
+                                   " cannot hold the response of " + cmdCode);
+        }
+        view.clear();
+        return view;
+    }
+
+    <R extends RespStructure>
+    CompletableFuture<R> submitAsync(PendingCommand cmd, R resp)
+    {
+        if (cmd.audit == null)
+        {
+            return device.submitAsync(cmd.rawCmdBuf, cmd.timeout).thenCompose(rawRespBuf ->
+                        processResponse(cmd, rawRespBuf, resp)
+                            ? CompletableFuture.completedFuture(resp)
+                            : retryScheduler.delay(cmd.cmdCode, cmd.responseCode, cmd.retries++)
+                                            .thenCompose(v -> submitAsync(cmd, resp)));
+        }
+
+        // The device executes the submitted commands in order, so the audit sequence number
+        // is assigned at the submission
+        CompletableFuture<byte[]> submitted;
+        synchronized (device) {
+            cmd.auditSeq = cmd.audit.nextSeq(cmd.cmdCode);
+            submitted = device.submitAsync(cmd.rawCmdBuf, cmd.timeout);
+        }
+        return submitted.whenComplete((r, e) -> {
+                    if (e != null)
+                        cmd.endAudit();
+                }).thenCompose(rawRespBuf -> {
+                    boolean done;
+                    try {
+                        done = processResponse(cmd, rawRespBuf, resp);
+                    } finally {
+                        cmd.endAudit();
+                    }
+                    return done ? CompletableFuture.completedFuture(resp)
+                                : retryScheduler.delay(cmd.cmdCode, cmd.responseCode, cmd.retries++)
+                                                .thenCompose(v -> submitAsync(cmd, resp));
+                });
+    }
+
+    /**
+     * Marshals the command applying the modifiers of the invocation bound to the current
+     * thread, if any. Otherwise consumes the per-invocation state of this object.
+     * @return The marshaled command and its invocation state, or null if the command
+     *         should not be sent to the TPM (cpHash computation only)
+     */
+    PendingCommand prepareCommand(TPM_CC cmdCode, ReqStructure req, ThreadState ts)
+    {
+        TPMT_HA cpHash = ts.cpHash;
+        if (cpHash != null)
+        {
+            // Unbound while the entity names are resolved, as they may be queried from the TPM
+            ts.cpHash = null;
+            try {
+                cpHash.digest = computeCpHash(cpHash.hashAlg, cmdCode, req, ts);
+            } finally {
+                ts.cpHash = cpHash;
+            }
+            return null;
+        }
+        if (ts.invocation == null && CpHash != null)
+        {
+            // Consumed along with the other modifiers set for the next command
+            cpHash = CpHash;
+            CpHash = null;
+            takeInvocation(ts);
+            cpHash.digest = computeCpHash(cpHash.hashAlg, cmdCode, req, ts);
+            return null;
+        }
+        TpmInvocation inv = takeInvocation(ts);
+        AuthSession[] reserved = reserveSessions(inv.sessions);
+        boolean cmdBufsBusy = ts.cmdBufsBusy;
+        try {
+            PendingCommand cmd = prepareCommand(cmdCode, req, ts, inv);
+            cmd.reservedSessions = reserved;
+            return cmd;
+        } catch (RuntimeException e) {
+            releaseSessions(reserved);
+            throw e;
+        } finally {
+            ts.cmdBufsBusy = cmdBufsBusy;
+        }
+    }
+
+    /** Reserves the AuthSession objects among the given sessions for a command, so that their
+     *  nonces and hash engines are not used by another command in flight, and rolls their
+     *  caller nonces. The nonces are generated before the command is marshaled, as the random
+     *  source (see Helpers.setRandomSource()) may itself issue TPM commands.
+     *  @return The reserved sessions, or null if none */
+    static AuthSession[] reserveSessions(TPM_HANDLE[] sessions)
+    {
+        AuthSession[] reserved = null;
+        for (int i = 0; sessions != null && i < sessions.length; ++i)
+        {
+            if (!(sessions[i] instanceof AuthSession))
+                continue;
+            if (reserved == null)
+                reserved = new AuthSession[sessions.length];
+            try {
+                ((AuthSession)sessions[i]).reserve();
+            } catch (TpmException e) {
+                releaseSessions(reserved);
+                throw e;
+            }
+            reserved[i] = (AuthSession)sessions[i];
+        }
+        try {
+            for (int i = 0; reserved != null && i < reserved.length; ++i)
+            {
+                if (reserved[i] != null)
+                    reserved[i].rollCallerNonce();
+            }
+        } catch (RuntimeException e) {
+            releaseSessions(reserved);
+            throw e;
+        }
+        return reserved;
+    }
+
+    static void releaseSessions(AuthSession[] reserved)
+    {
+        for (int i = 0; reserved != null && i < reserved.length; ++i)
+        {
+            if (reserved[i] != null)
+                reserved[i].release();
+        }
+    }
+
+    /**
+     * Computes cpHash of the command without sending it to the TPM. The command sessions (if
+     * any) are not used, and the parameters are hashed as they are (without encryption).
+     * If this object is not connected to a TPM, the names of the transient and persistent
+     * objects and NV indices must be set in their TPM_HANDLE objects.
+     */
+    byte[] computeCpHash(TPM_ALG_ID hashAlg, TPM_CC cmdCode, ReqStructure req, ThreadState ts)
+    {
+        TPM_HANDLE[] handles = req.getHandles();
+        byte[][] names = new byte[handles == null ? 0 : handles.length][];
+        for (int i = 0; i < names.length; ++i)
+            names[i] = device != null ? entityName(handles[i]) : knownEntityName(handles[i]);
+
+        TpmBuffer paramBuf = ts.paramBuf;
+        paramBuf.clear();
+        req.toTpm(paramBuf);
+        if (!paramBuf.isOk())
+            throw new TpmException("TPM command " + cmdCode + " exceeds " + paramBuf.size() + " bytes");
+        return getCpHash(ts.digest(hashAlg), cmdCode, names, paramBuf.buffer(), paramBuf.curPos());
+    }
+
+    /** @return Name of the entity represented by the given handle, if it is known without
+     *          querying the TPM */
+    static byte[] knownEntityName(TPM_HANDLE h)
+    {
+        TPM_HT type = h.getType();
+        if ((type == TPM_HT.TRANSIENT || type == TPM_HT.PERSISTENT || type == TPM_HT.NV_INDEX)
+            && (h.Name == null || h.Name.length == 0))
+        {
+            throw new TpmException(String.format("Name of the handle 0x%08X is not set", h.handle));
+        }
+        return h.getName();
+    }
+
+    /** @return The invocation bound to the current thread, if any, or otherwise the snapshot
+     *          of the per-invocation state of this object, which is consumed */
+    TpmInvocation takeInvocation(ThreadState ts)
+    {
+        if (ts.invocation != null)
+            return ts.invocation;
+        try {
+            return new TpmInvocation(this, Sessions, AllowErrors, ExpectedResponses, Timeout);
+        } finally {
+            clearInvocationState();
+            Sessions = null;
+        }
+    }
+
+    PendingCommand prepareCommand(TPM_CC cmdCode, ReqStructure req, ThreadState ts, TpmInvocation inv)
+    {
         TPM_HANDLE[] inHandles = req.getHandles();
+        TPM_HANDLE[] sessions = inv.sessions;
         int numAuthHandles = req.numAuthHandles();
 
-        boolean hasSessions = numAuthHandles != 0 || Sessions != null;
+        boolean hasSessions = numAuthHandles != 0 || sessions != null;
+        boolean pwSessionsOnly = true;
         int sessTag = hasSessions ? TPM_ST.SESSIONS.toInt() : TPM_ST.NO_SESSIONS.toInt();
+        int numHandles = inHandles == null ? 0 : inHandles.length;
+
+        // The names of the handles used by the cpHash are resolved before the command is
+        // marshaled, as they may have to be queried from the TPM
+        boolean hmacSessions = false;
+        for (int i = 0; sessions != null && i < sessions.length; ++i)
+            hmacSessions |= sessions[i] instanceof AuthSession;
+        TpmCommandAudit audit = commandAudit;
+        boolean audited = audit != null && audit.isAudited(cmdCode);
+        byte[][] names = null;
+        if (hmacSessions || audited)
+        {
+            names = new byte[numHandles][];
+            for (int i = 0; i < numHandles; ++i)
+                names[i] = entityName(inHandles[i]);
+        }
         
-        TpmBuffer cmdBuf = new TpmBuffer();
+        // Commands are marshaled into the buffers reused across invocations, unless they are
+        // still used by an outer command dispatched by this thread
+        boolean nested = ts.cmdBufsBusy;
+        TpmBuffer cmdBuf = nested ? new TpmBuffer() : ts.cmdBuf,
+                  paramBuf = nested ? new TpmBuffer() : ts.paramBuf;
+        ts.cmdBufsBusy = true;
+        cmdBuf.clear();
 
         // Standard TPM command header {tag, length, commandCode}
         cmdBuf.writeShort(sessTag);
@@ -234,16 +847,17 @@ public abstract class TpmBase implements Closeable
         cmdBuf.writeInt(cmdCode.toInt());
 
         // Handles
-        int numHandles = inHandles == null ? 0 : inHandles.length;
         for (int i=0; i < numHandles; i++)
             inHandles[i].toTpm(cmdBuf);
         
         // Marshal command params (without handles) to paramBuf
-        TpmBuffer paramBuf = new TpmBuffer();
+        paramBuf.clear();
         req.toTpm(paramBuf);
-        paramBuf.trim();
+        int paramSize = paramBuf.curPos();
 
-        byte[] cpHashData = null;
+        PendingCommand cmd = new PendingCommand();
+        cmd.cmdCode = cmdCode;
+        cmd.inHandles = inHandles;
         
         //
         // Authorization sessions
@@ -260,134 +874,209 @@ public abstract class TpmBase implements Closeable
             // If not all required sessions were provided explicitly, TSS.Java will create the necessary
             // number of password sessions with auth values (if any) from the corresponding TPM_HANDLE objects.
             int numExplicitSessions = 0;
-            if (Sessions == null)
-                Sessions = new TPM_HANDLE[numAuthHandles];
+            if (sessions == null)
+                sessions = new TPM_HANDLE[numAuthHandles];
             else
             {
-                numExplicitSessions = Sessions.length;
+                numExplicitSessions = sessions.length;
                 if (numExplicitSessions < numAuthHandles)
-                    Sessions = Arrays.copyOf(Sessions, numAuthHandles);
+                    sessions = Arrays.copyOf(sessions, numAuthHandles);
             }
             for (int i = numExplicitSessions; i < numAuthHandles; ++i)
-                Sessions[i] = TPM_HANDLE.PW;
+                sessions[i] = TPM_HANDLE.PW;
 
             TPMA_SESSION sessAttrs = TPMA_SESSION.continueSession;
-            for (int i=0; i < Sessions.length; i++)
+            byte[][] cpHashes = null;
+            byte[] nonceDecrypt = null,
+                   nonceEncrypt = null;
+            if (hmacSessions)
+            {
+                cmd.sessions = sessions;
+                cmd.hmacAuthValues = new byte[sessions.length][];
+                cmd.nonceCallers = new byte[sessions.length][];
+                cmd.nonceTpms = new byte[sessions.length][];
+                cpHashes = cmd.cpHashes = new byte[sessions.length][];
+
+                // The nonces were rolled by reserveSessions(). The first parameter is encrypted
+                // before the cpHash is computed, as it covers the parameters as they are sent
+                for (int i = 0; i < sessions.length; ++i)
+                {
+                    if (!(sessions[i] instanceof AuthSession))
+                        continue;
+                    AuthSession sess = (AuthSession)sessions[i];
+                    cmd.nonceCallers[i] = sess.nonceCaller;
+                    if (sess.sessionType != TPM_SE.POLICY || !sess.policyPassword)
+                    {
+                        cmd.hmacAuthValues[i] = sess.hmacAuthValue(i < numAuthHandles ? inHandles[i].AuthValue : null,
+                                                                   i < numHandles ? names[i] : null);
+                    }
+                    if (sess.attributes.hasAttr(TPMA_SESSION.decrypt))
+                        cmd.decryptSession = cryptSessionIndex(cmd.decryptSession, i, "decrypt");
+                    if (sess.attributes.hasAttr(TPMA_SESSION.encrypt))
+                        cmd.encryptSession = cryptSessionIndex(cmd.encryptSession, i, "encrypt");
+                }
+                doParmEncryption(cmd, req, paramBuf, 0, true);
+
+                // The nonces of the encryption sessions other than the first one are included
+                // into the HMAC of the first session
+                if (cmd.decryptSession > 0)
+                    nonceDecrypt = ((AuthSession)sessions[cmd.decryptSession]).nonceTpm;
+                if (cmd.encryptSession > 0 && cmd.encryptSession != cmd.decryptSession)
+                    nonceEncrypt = ((AuthSession)sessions[cmd.encryptSession]).nonceTpm;
+            }
+            for (int i=0; i < sessions.length; i++)
             {
-                // todo: Add support for policyc sessions with HMAC
-                boolean needAuth = i < numHandles && Sessions[i].getType() != TPM_HT.POLICY_SESSION;
-                WriteSession (cmdBuf, Sessions[i], null, sessAttrs,
+                pwSessionsOnly &= sessions[i].handle == TPM_RH.PW.toInt();
+                if (sessions[i] instanceof AuthSession)
+                {
+                    AuthSession sess = (AuthSession)sessions[i];
+                    boolean pwPolicy = sess.sessionType == TPM_SE.POLICY && sess.policyPassword;
+                    // The sessions with the same hash algorithm share the cpHash
+                    if (!pwPolicy || sess.attributes.hasAttr(TPMA_SESSION.audit))
+                    {
+                        cpHashes[i] = sharedHash(cpHashes, sessions, i, sess.hashAlg);
+                        if (cpHashes[i] == null)
+                            cpHashes[i] = getCpHash(sess.digest(), cmdCode, names, paramBuf.buffer(), paramSize);
+                    }
+                    if (pwPolicy)
+                    {
+                        WriteSession(cmdBuf, sess, sess.nonceCaller, sess.attributes,
+                                     i < numAuthHandles ? inHandles[i].AuthValue : null);
+                        continue;
+                    }
+
+                    WriteSession(cmdBuf, sess, sess.nonceCaller, sess.attributes,
+                                 sess.commandHmac(cpHashes[i], cmd.hmacAuthValues[i],
+                                                  i == 0 ? nonceDecrypt : null, i == 0 ? nonceEncrypt : null));
+                    continue;
+                }
+                boolean needAuth = i < numHandles && sessions[i].getType() != TPM_HT.POLICY_SESSION;
+                WriteSession (cmdBuf, sessions[i], null, sessAttrs,
                               needAuth ? inHandles[i].AuthValue : null);
             }
-            Sessions = null;
 
             cmdBuf.writeNumAtPos(cmdBuf.curPos() - authSizePos - 4, authSizePos);
         }
         
         // Write marshaled command params to the command buffer
-        cmdBuf.writeByteBuf(paramBuf.buffer());
+        int paramsPos = cmdBuf.curPos();
+        cmdBuf.writeByteBuf(paramBuf.buffer(), 0, paramSize);
+        if (!paramBuf.isOk() || !cmdBuf.isOk())
+        {
+            throw new TpmException("TPM command " + cmdCode + " exceeds " + cmdBuf.size() + " bytes");
+        }
         
         // Finally, set the command buffer size
         cmdBuf.writeNumAtPos(cmdBuf.curPos(), 2);
         
-
-        if (CpHash != null || AuditCommand)
+        if (audit != null && (audited || TpmCommandAudit.changesAudit(cmdCode)))
         {
-            if (cpHashData == null)
-                cpHashData = GetCpHashData(cmdCode, paramBuf.buffer());
-            if (CpHash != null)
+            cmd.audit = audit;
+            cmd.auditReq = req;
+            if (audited)
             {
-                CpHash.digest = Crypto.hash(CpHash.hashAlg, cpHashData);
-                clearInvocationState();
-                Sessions = null;
-                CpHash = null;
-                return;
+                cmd.auditAlg = audit.getHashAlg();
+                cmd.auditCpHash = sharedHash(cmd.cpHashes, sessions, sessions == null ? 0 : sessions.length,
+                                             cmd.auditAlg);
+                if (cmd.auditCpHash == null)
+                {
+                    cmd.auditCpHash = getCpHash(Crypto.getDigest(cmd.auditAlg), cmdCode, names,
+                                                paramBuf.buffer(), paramSize);
+                }
             }
-            AuditCpHash.digest = Crypto.hash(CommandAuditHash.hashAlg, cpHashData);
         }
 
+        // The device (and the retry logic) retain the command, so it gets its own copy
+        cmd.rawCmdBuf = Arrays.copyOf(cmdBuf.buffer(), cmdBuf.curPos());
+        cmd.sessTag = sessTag;
+        cmd.allowErrors = inv.allowErrors;
+        cmd.expectedResponses = inv.expectedResponses;
+        cmd.timeout = inv.timeout >= 0 ? inv.timeout : CommandTimeout;
+        cmd.paramsPos = paramsPos;
+        cmd.reusable = pwSessionsOnly && cmd.audit == null;
+        return cmd;
+    } // prepareCommand()
 
+    /**
+     * Interprets the TPM response to the given command.
+     * @return false if the command has to be resent to the TPM, true otherwise 
+     */
+    boolean processResponse(PendingCommand cmd, byte[] rawRespBuf, RespStructure resp)
+    {
+        return processResponse(cmd, rawRespBuf, new TpmBuffer(rawRespBuf), resp);
+    }
 
-        byte[] rawCmdBuf = cmdBuf.trim();
-        int nvRateRecoveryCount = 4;    
-        TpmBuffer respBuf = null;
-        TPM_ST respTag = TPM_ST.NULL; 
-        int respSize = 0;
-        int rawResponseCode = 0;
-
-        while (true)
-        {
-            device.dispatchCommand(rawCmdBuf);
-            
-            byte[] rawRespBuf = device.getResponse();
-            respBuf = new TpmBuffer(rawRespBuf);
+    /**
+     * Interprets the TPM response to the given command.
+     * @param respBuf Unmarshaling buffer positioned at the beginning of rawRespBuf
+     * @return false if the command has to be resent to the TPM, true otherwise 
+     */
+    boolean processResponse(PendingCommand cmd, byte[] rawRespBuf, TpmBuffer respBuf, RespStructure resp)
+    {
+        TPM_CC cmdCode = cmd.cmdCode;
             
-            // get the standard header
-            respTag = TPM_ST.fromTpm(respBuf);
-            respSize = respBuf.readInt();
-            rawResponseCode = respBuf.readInt();
+        // get the standard header
+        TPM_ST respTag = TPM_ST.fromTpm(respBuf);
+        int respSize = respBuf.readInt();
+        int rawResponseCode = respBuf.readInt();
     
-            int actRespSize = respBuf.size();
-            if (respSize != actRespSize)
-            {
-                throw new TpmException(String.format(
-                            "Inconsistent TPM response buffer: %d B reported, %d B received", respSize, actRespSize));
-            }
-
-            lastResponseCode = TpmHelpers.fromRawResponse(rawResponseCode);
-            if (callbackObject != null)
-                callbackObject.commandCompleteCallback(cmdCode, lastResponseCode, rawCmdBuf, rawRespBuf);
-
-            if (lastResponseCode == TPM_RC.RETRY)
-                continue;
-
-            if (lastResponseCode != TPM_RC.NV_RATE || ++nvRateRecoveryCount > 4)
-                break;
+        int actRespSize = respBuf.size();
+        if (respSize != actRespSize)
+        {
+            throw new TpmException(String.format(
+                        "Inconsistent TPM response buffer: %d B reported, %d B received", respSize, actRespSize));
+        }
 
-            // todo: Enable TPM property retrieval and sleep below, and remove the following break
-            break;
-            //System.out.println(">>>> NV_RATE: Retrying... Attempt " + nvRateRecoveryCount.toString());
-            //Thread.Sleep((int)Tpm2.GetProperty(this, Pt.NvWriteRecovery) + 100);
+        TPM_RC rc = TpmHelpers.fromRawResponse(rawResponseCode);
+        lastResponseCode = rc;
+        threadState.get().lastResponseCode = rc;
+        if (callbackObject != null)
+        {
+            // The encrypted response parameter is decrypted in place, while the callback may
+            // retain the response buffer
+            callbackObject.commandCompleteCallback(cmdCode, rc, cmd.rawCmdBuf,
+                                                   cmd.encryptSession < 0 ? rawRespBuf : rawRespBuf.clone());
         }
 
+        // Transient warnings (RETRY, NV_RATE etc.) are retried unless explicitly expected
+        cmd.responseCode = rc;
+        if (retryScheduler.shouldRetry(cmdCode, rc, cmd.retries, cmd.expectedResponses))
+            return false;
+
         // Interpretation of the response code depends on whether the programmer
         // has indicated that an error is expected or allowed.
-        if (lastResponseCode != TPM_RC.SUCCESS)
+        TPM_RC[] expectedResponses = cmd.expectedResponses;
+        if (rc != TPM_RC.SUCCESS)
         {
             // error - decode it
-            if (AllowErrors)
-                return; // Any error is allowed
+            if (cmd.allowErrors)
+                return true; // Any error is allowed
 
-            if (Helpers.isOneOf(lastResponseCode, ExpectedResponses))
-                return; // The given error is expected
+            if (Helpers.isOneOf(rc, expectedResponses))
+                return true; // The given error is expected
 
-            if (_isSuccessExpected())
+            if (expectedResponses == null || expectedResponses[0] == TPM_RC.SUCCESS)
             {
-                System.out.println("TPM ERROR: " + lastResponseCode);
-                throw new TpmException(lastResponseCode, rawResponseCode);
+                System.out.println("TPM ERROR: " + rc);
+                throw new TpmException(rc, rawResponseCode);
             }
 
-            String expected = ExpectedResponses.length > 1 ? Arrays.toString(ExpectedResponses)
-                                                           : ExpectedResponses[0].toString();
-            throw new TpmException("Unexpected response {" + lastResponseCode + "} instead of {" + expected + "}",
-                                   lastResponseCode);
+            String expected = expectedResponses.length > 1 ? Arrays.toString(expectedResponses)
+                                                           : expectedResponses[0].toString();
+            throw new TpmException("Unexpected response {" + rc + "} instead of {" + expected + "}",
+                                   rc);
         }
-        else if (ExpectedResponses != null)
+        else if (expectedResponses != null)
         {
-            String expected = ExpectedResponses.length > 1 ? "s " + Arrays.toString(ExpectedResponses) + " were"
-                                                           : " " + ExpectedResponses.toString() + " was";
+            String expected = expectedResponses.length > 1 ? "s " + Arrays.toString(expectedResponses) + " were"
+                                                           : " " + expectedResponses[0].toString() + " was";
             throw new TpmException("Error" + expected + " expected, " +
                                    "but the TPM command " + cmdCode + " succeeded"); 
         }
 
-        // Keep a copy of this before we clean out invocation state
-        boolean auditCommand = AuditCommand;
-
-        clearInvocationState();
-
         // A check for the session tag consistency across the command invocation
         // only makes sense when the command succeeds.
-        if (respTag.toInt() != sessTag)
+        if (respTag.toInt() != cmd.sessTag)
             throw new TpmException("Unexpected response tag " + respTag);
 
         if (resp == null)
@@ -399,7 +1088,6 @@ public abstract class TpmBase implements Closeable
             resp.setHandle(TPM_HANDLE.fromTpm(respBuf));
         }
 
-        boolean rpReady = false;
         int     respParamsPos = 0,
                 respParamsSize = 0;
 
@@ -410,7 +1098,7 @@ public abstract class TpmBase implements Closeable
         {
             respParamsSize = respBuf.readInt();
             respParamsPos = respBuf.curPos();
-            rpReady = processRespSessions(respBuf, cmdCode, respParamsPos, respParamsSize);
+            processRespSessions(respBuf, cmd, respParamsPos, respParamsSize);
         }
         else
         {
@@ -418,61 +1106,264 @@ public abstract class TpmBase implements Closeable
             respParamsSize = respBuf.size() - respParamsPos;
         }
 
-        if (auditCommand)
+        if (cmd.audit != null)
         {
-            byte[] rpHash = getRpHash(CommandAuditHash.hashAlg, respBuf,
-                                      cmdCode, respParamsPos, respParamsSize, rpReady);
-            CommandAuditHash.extend(Helpers.concatenate(AuditCpHash.digest, rpHash));
+            byte[] rpHash = null;
+            if (cmd.auditCpHash != null)
+            {
+                rpHash = sharedHash(cmd.rpHashes, cmd.sessions, cmd.rpHashes == null ? 0 : cmd.rpHashes.length,
+                                    cmd.auditAlg);
+                if (rpHash == null)
+                {
+                    rpHash = getRpHash(Crypto.getDigest(cmd.auditAlg), respBuf.buffer(),
+                                       cmdCode, respParamsPos, respParamsSize);
+                }
+            }
+            cmd.audit.commandSucceeded(cmd.auditSeq, cmdCode, cmd.auditReq, cmd.auditCpHash, rpHash);
+            cmd.auditSeq = -1;
         }
 
         // Now we can decrypt (if necessary) the first response parameter
-        doParmEncryption(resp, respBuf, respParamsPos, false);
+        doParmEncryption(cmd, resp, respBuf, respParamsPos, false);
 
-        // ... and unmarshall the whole response parameters area
-        respBuf.curPos(respParamsPos);
-        resp.initFromTpm(respBuf);
-        if (respBuf.curPos() != respParamsPos + respParamsSize)
-            throw new TpmException("Bad response parameters area");
+        if (cmd.view != null)
+        {
+            // The view retains the response buffer, and unmarshals the parameters on access
+            if (respParamsPos + respParamsSize > rawRespBuf.length)
+                throw new TpmException("Bad response parameters area");
+            cmd.view.init(rawRespBuf, respParamsPos, respParamsPos + respParamsSize, resp.getHandle());
+        }
+        else
+        {
+            // ... and unmarshall the whole response parameters area
+            respBuf.curPos(respParamsPos);
+            resp.initFromTpm(respBuf);
+            if (respBuf.curPos() != respParamsPos + respParamsSize)
+                throw new TpmException("Bad response parameters area");
+        }
 
         // If there is a returned handle get a pointer to it. It is always the 
         // first element in the structure.
         updateRespHandle(cmdCode, resp);
-
-        Sessions = null;
-
-    } finally {
-        clearInvocationState();
-    }} // DispatchCommand()
+        updateEntityState(cmd);
+        return true;
+    } // processResponse()
     
     void clearInvocationState()
     {
         AllowErrors = false;
         ExpectedResponses = null;
-        AuditCommand = false;
+        Timeout = -1;
+        CpHash = null;
     }
 
-    byte[] GetCpHashData(TPM_CC cmdCode, byte[] cmdParams)
+    /**
+     * @return Name of the entity represented by the given handle. The names of the transient
+     *         and persistent objects and NV indices are queried from the TPM, if not known.
+     */
+    byte[] entityName(TPM_HANDLE h)
     {
-        return null;
+        TPM_HT type = h.getType();
+        if (type != TPM_HT.TRANSIENT && type != TPM_HT.PERSISTENT && type != TPM_HT.NV_INDEX)
+            return h.getName();
+        if (h.Name == null || h.Name.length == 0)
+        {
+            // A clean invocation, so that the modifiers of the current command do not apply
+            h.Name = invocation().call(t -> type == TPM_HT.NV_INDEX ? t.NV_ReadPublic(h).nvName
+                                                                    : t.ReadPublic(h).name);
+        }
+        return h.Name;
+    }
+
+    /**
+     * Computes cpHash := H(commandCode || names || parameters) without concatenating its parts
+     * @param d Digest engine (reset)
+     * @param names Names of the command handles
+     * @param params Buffer containing the marshaled command parameters at its beginning
+     * @param paramsSize Size of the command parameters
+     */
+    static byte[] getCpHash(Digest d, TPM_CC cmdCode, byte[][] names, byte[] params, int paramsSize)
+    {
+        updateInt(d, cmdCode.toInt());
+        for (int i = 0; names != null && i < names.length; ++i)
+            d.update(names[i], 0, names[i].length);
+        d.update(params, 0, paramsSize);
+        byte[] res = new byte[d.getDigestSize()];
+        d.doFinal(res, 0);
+        return res;
+    }
+
+    /**
+     * Computes rpHash := H(responseCode (always 0) || commandCode || parameters)
+     * @param d Digest engine (reset)
+     * @param resp Response buffer
+     */
+    static byte[] getRpHash(Digest d, byte[] resp, TPM_CC cmdCode, int respParamsPos, int respParamsSize)
+    {
+        updateInt(d, TPM_RC.SUCCESS.toInt());
+        updateInt(d, cmdCode.toInt());
+        d.update(resp, respParamsPos, respParamsSize);
+        byte[] res = new byte[d.getDigestSize()];
+        d.doFinal(res, 0);
+        return res;
+    }
+
+    static void updateInt(Digest d, int val)
+    {
+        d.update((byte)(val >> 24));
+        d.update((byte)(val >> 16));
+        d.update((byte)(val >> 8));
+        d.update((byte)val);
     }
 
-    byte[] getRpHash(TPM_ALG_ID hashAlg, TpmBuffer respBuf, TPM_CC cmdCode,
-                     int respParamsPos, int respParamsSize, boolean rpReady)
+    /** @return The hash computed with the given algorithm for one of the first count sessions
+     *          (null if none) */
+    static byte[] sharedHash(byte[][] hashes, TPM_HANDLE[] sessions, int count, TPM_ALG_ID hashAlg)
     {
+        for (int i = 0; hashes != null && i < count; ++i)
+        {
+            if (hashes[i] != null && ((AuthSession)sessions[i]).hashAlg == hashAlg)
+                return hashes[i];
+        }
         return null;
     }
 
-    void doParmEncryption(CmdStructure cmd, TpmBuffer paramBuf, int startPos, boolean request)
+    static int cryptSessionIndex(int curIndex, int sessIndex, String attr)
+    {
+        if (curIndex >= 0)
+            throw new TpmException("More than one session with the " + attr + " attribute");
+        return sessIndex;
+    }
+
+    /**
+     * Encrypts the first command parameter, or decrypts the first response parameter in place
+     * @param params Command or response structure
+     * @param buf Buffer with the marshaled parameters
+     * @param startPos Position of the parameters in buf
+     * @param request Whether the command (true) or response (false) parameter is processed
+     */
+    void doParmEncryption(PendingCommand cmd, CmdStructure params, TpmBuffer buf, int startPos, boolean request)
     {
+        int sessIndex = request ? cmd.decryptSession : cmd.encryptSession;
+        if (sessIndex < 0)
+            return;
+        SessEncInfo encInfo = params.sessEncInfo();
+        if (encInfo.sizeLen == 0)
+            return;     // The TPM rejects the session attribute with TPM_RC.ATTRIBUTES
+        byte[] b = buf.buffer();
+        int size = 0;
+        for (int i = 0; i < encInfo.sizeLen; ++i)
+            size = size << 8 | b[startPos + i] & 0xFF;
+        int len = size * encInfo.valLen;
+        if (startPos + encInfo.sizeLen + len > b.length)
+            throw new TpmException("Bad size of the encrypted parameter of " + cmd.cmdCode);
+
+        AuthSession sess = (AuthSession)cmd.sessions[sessIndex];
+        sess.cryptParam(b, startPos + encInfo.sizeLen, len, cmd.hmacAuthValues[sessIndex],
+                        cmd.nonceCallers[sessIndex], request ? sess.nonceTpm : cmd.nonceTpms[sessIndex], request);
     }
 
-    boolean processRespSessions(TpmBuffer b, TPM_CC cmdCode, int respParamsPos, int respParamsSize)
-    {    
-        return false;
+    /**
+     * Rolls the TPM nonces of the HMAC and policy sessions used by the command, and verifies
+     * their response HMACs.
+     */
+    void processRespSessions(TpmBuffer respBuf, PendingCommand cmd, int respParamsPos, int respParamsSize)
+    {
+        if (cmd.sessions == null)
+            return;
+        respBuf.curPos(respParamsPos + respParamsSize);
+        byte[][] rpHashes = cmd.rpHashes = new byte[cmd.sessions.length][];
+        for (int i = 0; i < cmd.sessions.length; ++i)
+        {
+            byte[] nonceTpm = respBuf.readSizedByteBuf();
+            int attrs = respBuf.readByte() & 0xFF;
+            byte[] respHmac = respBuf.readSizedByteBuf();
+            if (!respBuf.isOk())
+                throw new TpmException("Bad response sessions area of " + cmd.cmdCode);
+            if (!(cmd.sessions[i] instanceof AuthSession))
+                continue;
+
+            AuthSession sess = (AuthSession)cmd.sessions[i];
+            sess.nonceTpm = cmd.nonceTpms[i] = nonceTpm;
+            // No HMAC (or an HMAC with no secret in its key) to check
+            boolean noHmac = sess.sessionType == TPM_SE.POLICY && (sess.policyPassword ||
+                    (respHmac.length == 0 && cmd.hmacAuthValues[i] == null && sess.sessionKey.length == 0));
+            boolean audit = (attrs & TPMA_SESSION.audit.toInt()) != 0;
+            if (noHmac && !audit)
+                continue;
+
+            rpHashes[i] = sharedHash(rpHashes, cmd.sessions, i, sess.hashAlg);
+            if (rpHashes[i] == null)
+            {
+                rpHashes[i] = getRpHash(sess.digest(), respBuf.buffer(), cmd.cmdCode,
+                                        respParamsPos, respParamsSize);
+            }
+            if (!noHmac)
+            {
+                byte[] expectedHmac = sess.responseHmac(rpHashes[i], cmd.hmacAuthValues[i], nonceTpm,
+                                                        cmd.nonceCallers[i], attrs);
+                if (!MessageDigest.isEqual(expectedHmac, respHmac))
+                    throw new TpmException("Invalid response HMAC of session #" + i + " in " + cmd.cmdCode);
+            }
+            if (audit)
+                sess.extendAudit(cmd.cpHashes[i], rpHashes[i]);
+        }
     }
     
+    /** Records the names of the objects loaded by the command */
     void updateRespHandle(TPM_CC cc, RespStructure resp)
     {
+        if (resp instanceof CreatePrimaryResponse)
+            ((CreatePrimaryResponse)resp).handle.Name = ((CreatePrimaryResponse)resp).name;
+        else if (resp instanceof LoadResponse)
+            ((LoadResponse)resp).handle.Name = ((LoadResponse)resp).name;
+        else if (resp instanceof LoadExternalResponse)
+            ((LoadExternalResponse)resp).handle.Name = ((LoadExternalResponse)resp).name;
+        else if (resp instanceof CreateLoadedResponse)
+            ((CreateLoadedResponse)resp).handle.Name = ((CreateLoadedResponse)resp).name;
+    }
+
+    /** Updates the state of the handle and session objects changed by the successful command */
+    void updateEntityState(PendingCommand cmd)
+    {
+        TPM_HANDLE[] handles = cmd.inHandles;
+        if (handles == null || handles.length == 0)
+            return;
+        TPM_CC cc = cmd.cmdCode;
+        if (handles[0] instanceof AuthSession)
+        {
+            AuthSession sess = (AuthSession)handles[0];
+            if (cc == TPM_CC.PolicyAuthValue)
+                sess.policyAuthValue = true;
+            else if (cc == TPM_CC.PolicyPassword)
+                sess.policyPassword = true;
+            else if (cc == TPM_CC.PolicyRestart)
+                sess.policyAuthValue = sess.policyPassword = false;
+        }
+        if (cc == TPM_CC.NV_Write || cc == TPM_CC.NV_Increment || cc == TPM_CC.NV_Extend ||
+            cc == TPM_CC.NV_SetBits || cc == TPM_CC.NV_WriteLock || cc == TPM_CC.NV_ReadLock)
+        {
+            // The index attributes, and thus its name, may have changed
+            for (TPM_HANDLE h : handles)
+                if (h.getType() == TPM_HT.NV_INDEX)
+                    h.Name = null;
+        }
+    }
+
+    /**
+     * @return Value of the given TPM property that does not change while the TPM is running
+     *         (e.g. TPM_PT.NV_BUFFER_MAX). It is queried from the TPM only once.
+     */
+    int getFixedProperty(TPM_PT prop)
+    {
+        Integer val = fixedProps.get(prop.toInt());
+        if (val == null)
+        {
+            // A clean invocation, so that the modifiers of the current command do not apply
+            val = invocation().call(t -> TpmHelpers.getTpmProperty(t, prop));
+            fixedProps.put(prop.toInt(), val);
+        }
+        return val;
     }
 
     /**
@@ -499,18 +1390,74 @@ public abstract class TpmBase implements Closeable
     TpmDevice device;
     TpmCallbackInterface callbackObject;
     
-    TPM_RC lastResponseCode;
+    volatile TPM_RC lastResponseCode;
+
+    final TpmRetryScheduler retryScheduler = new TpmRetryScheduler(this);
+
+    /** Cached values of the fixed TPM properties (see getFixedProperty()) */
+    final Map<Integer, Integer> fixedProps = new ConcurrentHashMap<Integer, Integer>();
     
-    TPMT_HA     CommandAuditHash;
-    TPMT_HA     AuditCpHash;
+    /** Host-side mirror of the TPM command audit (null if not started) */
+    volatile TpmCommandAudit commandAudit;
+
+    /** Deadline in milliseconds for the TPM commands (0 - none) */
+    int         CommandTimeout = 0;
+
+    /** State of the commands issued by a single thread */
+    static class ThreadState
+    {
+        /** Invocation modifiers bound to the thread by TpmInvocation.call() */
+        TpmInvocation invocation;
+
+        /** Response code of the last command completed by the thread */
+        TPM_RC  lastResponseCode = TPM_RC.SUCCESS;
+
+        /** Command and parameters marshaling buffers reused by all commands */
+        final TpmBuffer cmdBuf = new TpmBuffer(),
+                        paramBuf = new TpmBuffer();
+
+        /** Unmarshaling buffer reused for synchronous responses */
+        final TpmBuffer respBuf = new TpmBuffer(0);
+
+        /** Whether cmdBuf and paramBuf (respBuf) hold the command (response) of a command in
+         *  progress. A command dispatched re-entrantly by the same thread meanwhile uses its
+         *  own buffers. */
+        boolean cmdBufsBusy,
+                respBufBusy;
+
+        /** cpHash to compute instead of sending the commands to the TPM (see CpHashCalculator) */
+        TPMT_HA cpHash;
+
+        /** View of the response of the next command set by _view() */
+        RespView<?> view;
+
+        /** Digest engine reused for the cpHash computation */
+        Digest digest;
+        TPM_ALG_ID digestAlg;
+
+        /** @return The reused digest engine for the given hash algorithm (reset) */
+        Digest digest(TPM_ALG_ID hashAlg)
+        {
+            if (hashAlg != digestAlg)
+            {
+                digest = Crypto.getDigest(hashAlg);
+                digestAlg = hashAlg;
+            }
+            else
+                digest.reset();
+            return digest;
+        }
+    }
+
+    final ThreadLocal<ThreadState> threadState = ThreadLocal.withInitial(ThreadState::new);
 
     //
-    // Per-invocation state
+    // Per-invocation state set by the modifiers of this object. Not thread-safe
+    // (use TpmInvocation to issue commands from multiple threads).
     //
 
     /** Suppress exceptions in response to the next command failure */
     boolean     AllowErrors = false;
-    boolean     AuditCommand = false;
     
     /** List of allowed response codes for the next command invocation.
      * 
@@ -521,6 +1468,10 @@ public abstract class TpmBase implements Closeable
     TPM_HANDLE[] Sessions;
     //TPM_RC ErrorToExpect;
 
+    /** Deadline for the next command overriding CommandTimeout (if non-negative) */
+    int         Timeout = -1;
+
+    /** cpHash to compute instead of sending the next command to the TPM */
     TPMT_HA     CpHash = null;
 
 }
@@ -3,41 +3,55 @@ package tss;
 import java.lang.reflect.Array;
 import java.nio.ByteBuffer;
 import java.util.Arrays;
-import java.util.Stack;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
 
 public class TpmBuffer
 {
-    /** Information about the TPM data structure being currently unmarshaled. **/
-    public class SizedStructInfo {
-        /** A TPM structure start position in the marshaled input buffer. **/
-        public int startPos;
+    /** Initial capacity of the output buffers created with the default constructor */
+    public static final int DefaultCapacity = 4096;
 
-        /** Total size of the structure in bytes. **/
-        public int size;
+    /** Scratch buffers that grew larger than this are not kept in the per-thread pool */
+    static final int MaxPooledCapacity = 64 * 1024;
 
-        public SizedStructInfo(int startPos, int size) {
-            this.startPos = startPos;
-            this.size = size;
-        }
-    } // class SizedStructInfo
+    /** Max number of the nested scratch buffers per thread */
+    static final int MaxScratchDepth = 4;
 
     ByteBuffer buf;
     boolean outOfBounds;
-    Stack<SizedStructInfo> sizedStructSizes;
+
+    /** Stack of the sized structures being currently unmarshaled: pairs of their start
+     *  positions in the input buffer and sizes (allocated on the first use) */
+    int[] sizedStructs;
+    int numSizedStructs;
+
+    /** Index of this buffer in the per-thread scratch pool, or -1 if it is not pooled */
+    int scratchIdx = -1;
+
+    /** Per-thread pool of the scratch buffers used to marshal objects to byte arrays */
+    static final class ScratchPool
+    {
+        final TpmBuffer[] bufs = new TpmBuffer[MaxScratchDepth];
+        int depth;
+    }
+
+    static final ThreadLocal<ScratchPool> scratchPool = ThreadLocal.withInitial(ScratchPool::new);
 
     void init(byte[] backingBuffer)
     {
         buf = ByteBuffer.wrap(backingBuffer);
-        sizedStructSizes = new Stack<SizedStructInfo>();
+        numSizedStructs = 0;
         outOfBounds = false;
     }
 
     void init(int capacity) { init(new byte[capacity]); }
 
     /** Constructs output marshling buffer with the default capacity of 4096 bytes */
-    public TpmBuffer() { init(4096); }
+    public TpmBuffer() { init(DefaultCapacity); }
 
-    /** Constructs an output marshling buffer with the given capacity
+    /** Constructs an output marshling buffer with the given initial capacity. The buffer
+     *  grows automatically when more data are written to it.
      * @param capacity Capacity in bytes
      */
     public TpmBuffer(int capacity) { init(capacity); }
@@ -47,7 +61,48 @@ public class TpmBuffer
      */
     public TpmBuffer(byte[] buf) { init(buf); }
 
-    public void clear() { buf.clear(); }
+    /** Takes a cleared output buffer from the pool of the current thread. The buffer must be
+     *  returned to the pool by {@link #release()} once its contents is not needed anymore
+     *  (normally in a finally block, so that the nested scratch buffers are released in the
+     *  reverse order). If the pool is exhausted by the nesting, a new buffer is returned.
+     * @return Scratch output buffer
+     */
+    public static TpmBuffer scratch()
+    {
+        ScratchPool pool = scratchPool.get();
+        if (pool.depth == MaxScratchDepth)
+            return new TpmBuffer();
+        TpmBuffer b = pool.bufs[pool.depth];
+        if (b == null)
+            pool.bufs[pool.depth] = b = new TpmBuffer();
+        else
+            b.clear();
+        b.scratchIdx = pool.depth++;
+        return b;
+    }
+
+    /** Returns this buffer to the scratch pool of the current thread (no-op for the buffers
+     *  not obtained via {@link #scratch()})
+     */
+    public void release()
+    {
+        if (scratchIdx < 0)
+            return;
+        ScratchPool pool = scratchPool.get();
+        assert scratchIdx == pool.depth - 1;
+        pool.depth = scratchIdx;
+        if (size() > MaxPooledCapacity)
+            pool.bufs[scratchIdx] = null;
+        scratchIdx = -1;
+    }
+
+    /** Rewinds the buffer to its beginning, so that it can be reused for marshaling */
+    public void clear()
+    {
+        buf.clear();
+        numSizedStructs = 0;
+        outOfBounds = false;
+    }
 
     public void reset() { clear(); }
 
@@ -85,12 +140,32 @@ public class TpmBuffer
         return this.buf.array();
     }
 
+    /** @return Copy of the data from the beginning of the buffer up to the current position
+     *          (unlike trim(), keeps the backing buffer intact)
+     */
+    public byte[] toByteArray()
+    {
+        return Arrays.copyOf(buf.array(), curPos());
+    }
+
     public int getCurStuctRemainingSize()
     {
-        SizedStructInfo ssi = sizedStructSizes.peek();
-        return ssi.size - (curPos() - ssi.startPos);
+        int top = 2 * (numSizedStructs - 1);
+        return sizedStructs[top + 1] - (curPos() - sizedStructs[top]);
+    }
+
+    void pushSizedStruct(int startPos, int size)
+    {
+        if (sizedStructs == null)
+            sizedStructs = new int[16];
+        else if (2 * numSizedStructs == sizedStructs.length)
+            sizedStructs = Arrays.copyOf(sizedStructs, 2 * sizedStructs.length);
+        sizedStructs[2 * numSizedStructs] = startPos;
+        sizedStructs[2 * numSizedStructs + 1] = size;
+        ++numSizedStructs;
     }
 
+    /** Checks if the given number of bytes can be read from the current position */
     boolean checkLen(int len)
     {
         if (size() < curPos() + len) {
@@ -100,22 +175,40 @@ public class TpmBuffer
         return true;
     }
 
+    /** Grows the backing buffer if the given number of bytes does not fit into it after the
+     *  current position */
+    boolean ensureCapacity(int len)
+    {
+        int required = curPos() + len;
+        if (required <= size())
+            return true;
+        if (required < 0)
+        {
+            outOfBounds = true;
+            return false;
+        }
+        int pos = curPos();
+        buf = ByteBuffer.wrap(Arrays.copyOf(buf.array(), Math.max(required, 2 * size())));
+        buf.position(pos);
+        return true;
+    }
+
     public void writeNum(long val, int len)
     {
-        if (!checkLen(len))
+        if (!ensureCapacity(len))
             return;
         switch (len) {
             case 1:
                 buf.put((byte) val);
                 return;
             case 2:
-                writeByteBuf(Helpers.hostToNet((short)val));
+                buf.putShort((short)val);
                 return;
             case 4:
-                writeByteBuf(Helpers.hostToNet((int)val));
+                buf.putInt((int)val);
                 return;
             case 8:
-                writeByteBuf(Helpers.hostToNet(val));
+                buf.putLong(val);
                 return;
         }
         assert (false);
@@ -153,7 +246,7 @@ public class TpmBuffer
      * @param val 8-bit integer value to marshal
      */
     public void writeByte(byte val) {
-        if (checkLen(1))
+        if (ensureCapacity(1))
             buf.put(val);
     }
 
@@ -164,7 +257,11 @@ public class TpmBuffer
     /** Marshals the given 16-bit integer to this buffer.
      * @param val 16-bit integer value to marshal
      */
-    public void writeShort(int val) { writeNum(val, 2); }
+    public void writeShort(int val)
+    {
+        if (ensureCapacity(2))
+            buf.putShort((short)val);
+    }
 
     public <T extends TpmEnum<T>>
     void writeShort(TpmEnum<T> val) { writeShort(val.toInt()); }
@@ -172,15 +269,23 @@ public class TpmBuffer
     /** Marshals the given 32-bit integer to this buffer.
      * @param val 32-bit integer value to marshal
      */
-    public void writeInt(int val) { writeNum(val, 4); }
+    public void writeInt(int val)
+    {
+        if (ensureCapacity(4))
+            buf.putInt(val);
+    }
 
     public <T extends TpmEnum<T>>
-    void writeInt(TpmEnum<T> val) { writeShort(val.toInt()); }
+    void writeInt(TpmEnum<T> val) { writeInt(val.toInt()); }
 
     /** Marshals the given 64-bit integer to this buffer.
      * @param val 64-bit integer value to marshal
      */
-    public void writeInt64(long val) { writeNum(val, 8); }
+    public void writeInt64(long val)
+    {
+        if (ensureCapacity(8))
+            buf.putLong(val);
+    }
 
     /** Reads a byte from this buffer.
      * @return The byte read
@@ -191,17 +296,17 @@ public class TpmBuffer
      * @return Unmarshaled 16-bit integer (as 32-bit int because of Java's abysmal
      *         unsigned values handling)
      */
-    public int readShort() { return (int) readNum(2); }
+    public int readShort() { return checkLen(2) ? buf.getShort() & 0xFFFF : 0; }
 
     /** Unmarshals a 32-bit integer from this buffer.
      * @return Unmarshaled 32-bit integer
      */
-    public int readInt() { return (int) readNum(4); }
+    public int readInt() { return checkLen(4) ? buf.getInt() : 0; }
 
     /** Unmarshals a 64-bit integer from this buffer.
      * @return Unmarshaled 64-bit integer
      */
-    public long readInt64() { return readNum(8); }
+    public long readInt64() { return checkLen(8) ? buf.getLong() : 0; }
 
     /** Marshalls the given byte buffer with no length prefix.
      * @param data Byte buffer to marshal
@@ -209,11 +314,35 @@ public class TpmBuffer
     public void writeByteBuf(byte[] data)
     {
         int dataSize = data != null ? data.length : 0;
-        if (dataSize == 0 || !checkLen(data.length))
+        if (dataSize == 0 || !ensureCapacity(data.length))
             return;
         buf.put(data, 0, data.length);
     }
 
+    /** Marshalls the given part of the byte buffer with no length prefix.
+     * @param data   Byte buffer to marshal
+     * @param offset Start of the part to marshal
+     * @param len    Size of the part to marshal
+     */
+    public void writeByteBuf(byte[] data, int offset, int len)
+    {
+        if (len == 0 || !ensureCapacity(len))
+            return;
+        buf.put(data, offset, len);
+    }
+
+    /** Marshalls the remaining contents of the given buffer with no length prefix (the
+     *  position of the given buffer is not changed).
+     * @param data Buffer to marshal
+     */
+    public void writeByteBuf(ByteBuffer data)
+    {
+        int len = data.remaining();
+        if (len == 0 || !ensureCapacity(len))
+            return;
+        buf.put(data.duplicate());
+    }
+
     /** Unmarshalls a byte buffer of the given size (no marshaled length prefix).
      * @param size Size of the byte buffer to unmarshal
      * @return Unmarshaled byte buffer
@@ -250,17 +379,33 @@ public class TpmBuffer
 
     public byte[] readSizedByteBuf() { return readSizedByteBuf(2); }
 
+    /** Creates a new object and unmarshals it from this buffer
+     * @param factory Creates an empty object of the required type (normally its constructor reference)
+     * @return The unmarshaled object
+     */
+    public <T extends TpmMarshaller>
+    T createObj(Supplier<T> factory)
+    {
+        T newObj = factory.get();
+        newObj.initFromTpm(this);
+        return newObj;
+    }
+
+    /** @deprecated Use {@link #createObj(Supplier)} with the constructor reference of the type instead */
+    @Deprecated
     public <T extends TpmMarshaller>
     T createObj(Class<T> type)
     {
-        T newObj;
+        return createObj(() -> newInstance(type));
+    }
+
+    static <T> T newInstance(Class<T> type)
+    {
         try {
-            newObj = type.newInstance();
-        } catch (Exception e) {
-            return null;
+            return type.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new TpmException("Failed to instantiate " + type.getName(), e);
         }
-        newObj.initFromTpm(this);
-        return newObj;
     }
 
     public <T extends TpmMarshaller>
@@ -272,7 +417,7 @@ public class TpmBuffer
             writeShort(0);
             return;
         }
-        if (!this.checkLen(lenSize))
+        if (!ensureCapacity(lenSize))
             return;
 
         // Remember position to marshal the size of the data structure
@@ -287,20 +432,32 @@ public class TpmBuffer
         writeNumAtPos(objSize, sizePos, lenSize);
     }
 
+    /** Unmarshals an object prefixed with its 2-byte size
+     * @param factory Creates an empty object of the required type (normally its constructor reference)
+     * @return The unmarshaled object, or null if its size is 0
+     */
     public <T extends TpmMarshaller>
-    T createSizedObj(Class<T> type)
+    T createSizedObj(Supplier<T> factory)
     {
         // Length of the object size is always 2 bytes
         int size = readShort();
         if (size == 0)
             return null;
 
-        sizedStructSizes.push(new SizedStructInfo(curPos(), size));
-        T newObj = createObj(type);
-        this.sizedStructSizes.pop();
+        pushSizedStruct(curPos(), size);
+        T newObj = createObj(factory);
+        --numSizedStructs;
         return newObj;
     }
 
+    /** @deprecated Use {@link #createSizedObj(Supplier)} with the constructor reference of the type instead */
+    @Deprecated
+    public <T extends TpmMarshaller>
+    T createSizedObj(Class<T> type)
+    {
+        return createSizedObj(() -> newInstance(type));
+    }
+
     // Array element type is not TpmStructure as the method needs to handle not only 
     // TPM structures but also enums that are implemented as first class objects
     // (rather than value types) in Java.
@@ -322,19 +479,34 @@ public class TpmBuffer
         }
     }
 
+    /** Unmarshals an array of objects prefixed with its 4-byte length
+     * @param reader Unmarshals a single element (normally the static fromTpm(TpmBuffer) method
+     *               of the element type, so that the enum elements are the shared instances)
+     * @param arrayFactory Creates the array of the given length (normally T[]::new)
+     * @return The unmarshaled array
+     */
     public <T extends TpmMarshaller>
-    T[] readObjArr(Class<T> type)
+    T[] readObjArr(Function<TpmBuffer, T> reader, IntFunction<T[]> arrayFactory)
     {
         // Length of the array size is always 4 bytes
         int numElems = readInt();
-        @SuppressWarnings("unchecked")
-        T[] arr = (T[])Array.newInstance(type, numElems);
+        T[] arr = arrayFactory.apply(numElems);
         for (int i=0; i < numElems; ++i)
         {
             if (!isOk())
                 break;
-            arr[i] = createObj(type);
+            arr[i] = reader.apply(this);
         }
         return arr;
     }
+
+    /** @deprecated Use {@link #readObjArr(Function, IntFunction)} instead */
+    @Deprecated
+    @SuppressWarnings("unchecked")
+    public <T extends TpmMarshaller>
+    T[] readObjArr(Class<T> type)
+    {
+        return readObjArr(b -> b.createObj(() -> newInstance(type)),
+                          n -> (T[])Array.newInstance(type, n));
+    }
 }
@@ -0,0 +1,310 @@
+package tss;
+
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.TreeSet;
+
+import org.bouncycastle.crypto.Digest;
+
+import tss.tpm.*;
+
+/**
+ * Host-side mirror of the TPM command audit, started by Tpm._startCommandAudit().
+ * <P>
+ * The TPM extends its command audit digest with every successful command in its list of the
+ * audited commands (see TPM2_SetCommandCodeAuditStatus):
+ * <pre>
+ *  auditDigest := H(auditDigest || cpHash || rpHash)
+ * </pre>
+ * The mirror keeps the same list, and extends its copy of the digest with the commands issued
+ * via the Tpm object in the order the TPM executed them, reusing a single hash engine and the
+ * cpHash/rpHash computed for the HMAC sessions of the command (if any). Thus an audited command
+ * costs two to three hash computations on the host, and no audit log has to be kept.
+ * <P>
+ * The successful TPM2_SetCommandCodeAuditStatus and TPM2_GetCommandAuditDigest commands update
+ * the mirror the same way they update the TPM audit state. The attestation returned by the
+ * latter is checked against the locally computed digest by {@link #verify}.
+ * <P>
+ * The mirror starts with a cleared digest, so it must be started when the TPM digest is clear
+ * as well (e.g. right after TPM2_GetCommandAuditDigest with a signing key, or after a change of
+ * the audit hash algorithm), and with the TPM list of the audited commands. The commands
+ * issued to the TPM bypassing the Tpm object make the digests diverge.
+ */
+public class TpmCommandAudit
+{
+    TPM_ALG_ID hashAlg;
+    Digest digest;
+
+    /** Audited command codes in the ascending order (replaced on each change) */
+    volatile int[] auditedCodes;
+
+    /** The audit digest (null when it is cleared) */
+    byte[] auditDigest;
+
+    /** Number of times the digest was started from the cleared state (each one increments
+     *  the TPM audit counter) */
+    long numRestarts;
+
+    /** Sequence numbers assigned to the commands when they are sent to the TPM, and the
+     *  number of the commands whose results are applied to the digest */
+    long nextSeq, appliedSeq;
+
+    /** Results of the commands completed out of order, waiting for the preceding ones */
+    final HashMap<Long, Runnable> pending = new HashMap<Long, Runnable>();
+
+    /** Sequence number of the last TPM2_GetCommandAuditDigest, and the state it attested */
+    long attestSeq = -1;
+    TPM_ALG_ID attestedAlg;
+    byte[] attestedDigest,
+           attestedCommandDigest;
+    long attestedRestarts;
+
+    /** Audit counter reported by the last verified attestation (-1 if none), and the number
+     *  of the digest restarts at that moment */
+    long lastAuditCounter = -1,
+         lastRestarts;
+
+    long numAudited;
+
+    TpmCommandAudit(TPM_ALG_ID hashAlg, TPM_CC[] auditedCommands)
+    {
+        setHashAlg(hashAlg);
+        TreeSet<Integer> codes = new TreeSet<Integer>();
+        // TPM2_SetCommandCodeAuditStatus is always audited
+        codes.add(TPM_CC.SetCommandCodeAuditStatus.toInt());
+        for (TPM_CC cc : auditedCommands)
+            codes.add(cc.toInt());
+        setAuditedCodes(codes);
+    }
+
+    void setHashAlg(TPM_ALG_ID hashAlg)
+    {
+        if (Crypto.digestSize(hashAlg) == 0)
+            throw new TpmException("Unsupported audit hash algorithm " + hashAlg);
+        this.hashAlg = hashAlg;
+        digest = Crypto.getDigest(hashAlg);
+    }
+
+    void setAuditedCodes(TreeSet<Integer> codes)
+    {
+        int[] res = new int[codes.size()];
+        int i = 0;
+        for (int cc : codes)
+            res[i++] = cc;
+        auditedCodes = res;
+    }
+
+    /** @return Whether the given command is in the list of the audited commands */
+    public boolean isAudited(TPM_CC cc)
+    {
+        return Arrays.binarySearch(auditedCodes, cc.toInt()) >= 0;
+    }
+
+    /** @return Audited command codes in the ascending order */
+    public TPM_CC[] getAuditedCommands()
+    {
+        int[] codes = auditedCodes;
+        TPM_CC[] res = new TPM_CC[codes.length];
+        for (int i = 0; i < codes.length; ++i)
+            res[i] = TPM_CC.fromInt(codes[i]);
+        return res;
+    }
+
+    /** @return Current audit hash algorithm */
+    public synchronized TPM_ALG_ID getHashAlg() { return hashAlg; }
+
+    /** @return Current audit digest (empty if it is cleared), including the results of all
+     *          the audited commands completed so far */
+    public synchronized TPMT_HA getAuditDigest()
+    {
+        return new TPMT_HA(hashAlg, auditDigest == null ? new byte[0] : auditDigest.clone());
+    }
+
+    /** @return The commandDigest reported by TPM2_GetCommandAuditDigest, i.e. the digest of
+     *          the audited command codes in the ascending order */
+    public synchronized byte[] getCommandDigest()
+    {
+        digest.reset();
+        for (int cc : auditedCodes)
+            TpmBase.updateInt(digest, cc);
+        byte[] res = new byte[digest.getDigestSize()];
+        digest.doFinal(res, 0);
+        return res;
+    }
+
+    /** @return Number of the commands the audit digest was extended with */
+    public synchronized long numAudited() { return numAudited; }
+
+    /** @return Whether the given command changes the audit state of the TPM */
+    static boolean changesAudit(TPM_CC cc)
+    {
+        return cc == TPM_CC.GetCommandAuditDigest || cc == TPM_CC.SetCommandCodeAuditStatus;
+    }
+
+    /** @return Sequence number of the command being sent to the TPM (the device access must be
+     *          serialized, so that the sequence numbers follow the TPM execution order) */
+    synchronized long nextSeq(TPM_CC cc)
+    {
+        if (cc == TPM_CC.GetCommandAuditDigest)
+            attestSeq = nextSeq;
+        return nextSeq++;
+    }
+
+    /**
+     * Applies the result of a command to the audit state once the results of all the commands
+     * sent to the TPM before it are applied
+     * @param seq Sequence number of the command
+     * @param update Update of the audit state, or null if the command failed
+     */
+    synchronized void complete(long seq, Runnable update)
+    {
+        if (seq != appliedSeq)
+        {
+            pending.put(seq, update != null ? update : () -> {});
+            return;
+        }
+        while (true)
+        {
+            if (update != null)
+                update.run();
+            ++appliedSeq;
+            if (pending.isEmpty() || (update = pending.remove(appliedSeq)) == null)
+                break;
+        }
+        notifyAll();
+    }
+
+    /**
+     * Applies the result of a successfully completed command
+     * @param seq Sequence number of the command
+     * @param req Command parameters
+     * @param cpHash Command parameters hash (null if the command is not audited)
+     * @param rpHash Response parameters hash (null if the command is not audited)
+     */
+    void commandSucceeded(long seq, TPM_CC cc, ReqStructure req, byte[] cpHash, byte[] rpHash)
+    {
+        complete(seq, () -> {
+            if (cc == TPM_CC.SetCommandCodeAuditStatus)
+            {
+                TPM2_SetCommandCodeAuditStatus_REQUEST r = (TPM2_SetCommandCodeAuditStatus_REQUEST)req;
+                if (r.auditAlg != TPM_ALG_ID.NULL && r.auditAlg != hashAlg)
+                {
+                    // The change of the algorithm clears the digest, and is not audited
+                    setHashAlg(r.auditAlg);
+                    auditDigest = null;
+                    return;
+                }
+                TreeSet<Integer> codes = new TreeSet<Integer>();
+                for (int c : auditedCodes)
+                    codes.add(c);
+                for (TPM_CC c : r.setList)
+                    codes.add(c.toInt());
+                for (TPM_CC c : r.clearList)
+                    if (c != TPM_CC.SetCommandCodeAuditStatus)
+                        codes.remove(c.toInt());
+                setAuditedCodes(codes);
+            }
+            else if (cc == TPM_CC.GetCommandAuditDigest)
+            {
+                TPM2_GetCommandAuditDigest_REQUEST r = (TPM2_GetCommandAuditDigest_REQUEST)req;
+                attestedAlg = hashAlg;
+                attestedDigest = auditDigest == null ? new byte[0] : auditDigest.clone();
+                attestedCommandDigest = getCommandDigest();
+                attestedRestarts = numRestarts;
+                // The digest is cleared only when it is signed
+                if (r.signHandle.handle != TPM_RH.NULL.toInt())
+                    auditDigest = null;
+            }
+            if (cpHash != null)
+                extend(cpHash, rpHash);
+        });
+    }
+
+    /** auditDigest := H(auditDigest || cpHash || rpHash) */
+    void extend(byte[] cpHash, byte[] rpHash)
+    {
+        if (auditDigest == null)
+        {
+            // The cleared digest is restarted from zeros
+            auditDigest = new byte[digest.getDigestSize()];
+            ++numRestarts;
+        }
+        digest.reset();
+        digest.update(auditDigest, 0, auditDigest.length);
+        digest.update(cpHash, 0, cpHash.length);
+        digest.update(rpHash, 0, rpHash.length);
+        digest.doFinal(auditDigest, 0);
+        ++numAudited;
+    }
+
+    /**
+     * Verifies the command audit attestation returned by TPM2_GetCommandAuditDigest issued via
+     * the Tpm object against the digest and the list of the audited commands computed on the
+     * host. Also checks that the audit counter advanced by the number of the audit digest
+     * restarts since the previous verified attestation (if any).
+     * @param resp The response of the last TPM2_GetCommandAuditDigest command
+     * @param signKeyPub Public area of the signing key, or null if the attestation is not
+     *                   signed (its origin is trusted)
+     * @param qualifyingData The qualifying data passed to the command
+     * @return Whether the attestation is valid and matches the local audit state
+     */
+    public boolean verify(GetCommandAuditDigestResponse resp, TPMT_PUBLIC signKeyPub, byte[] qualifyingData)
+    {
+        if (!checkAttestation(resp.auditInfo, resp.signature, signKeyPub, qualifyingData,
+                              TPM_ST.ATTEST_COMMAND_AUDIT))
+        {
+            return false;
+        }
+        TPMS_COMMAND_AUDIT_INFO info = (TPMS_COMMAND_AUDIT_INFO)resp.auditInfo.attested;
+        synchronized (this)
+        {
+            // The preceding commands issued by other threads may still be completing
+            while (appliedSeq <= attestSeq)
+            {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new TpmException("Interrupted while waiting for the audited commands", e);
+                }
+            }
+            if (attestedDigest == null || info.digestAlg != attestedAlg
+                || !MessageDigest.isEqual(info.auditDigest, attestedDigest)
+                || !MessageDigest.isEqual(info.commandDigest, attestedCommandDigest)
+                || (lastAuditCounter >= 0 && info.auditCounter - lastAuditCounter != attestedRestarts - lastRestarts))
+            {
+                return false;
+            }
+            lastAuditCounter = info.auditCounter;
+            lastRestarts = attestedRestarts;
+            return true;
+        }
+    }
+
+    /**
+     * Checks the generic part of a TPM attestation
+     * @param signKeyPub Public area of the signing key, or null if the signature is not checked
+     * @return Whether the attestation has the given type, is generated by the TPM for the given
+     *         qualifying data, and its signature is valid
+     */
+    static boolean checkAttestation(TPMS_ATTEST attest, TPMU_SIGNATURE signature, TPMT_PUBLIC signKeyPub,
+                                    byte[] qualifyingData, TPM_ST type)
+    {
+        if (attest == null || attest.magic != TPM_GENERATED.VALUE || attest.attested == null
+            || attest.type() != type)
+        {
+            return false;
+        }
+        if (!Helpers.arraysAreEqual(attest.extraData, qualifyingData == null ? new byte[0] : qualifyingData))
+            return false;
+        return signKeyPub == null || signKeyPub.validateSignature(attest.toBytes(), signature);
+    }
+
+    @Override
+    public synchronized String toString()
+    {
+        return "TpmCommandAudit{" + hashAlg + ", " + auditedCodes.length + " commands, " +
+               numAudited + " audited, digest " + (auditDigest == null ? "cleared" : Helpers.toHex(auditDigest)) + "}";
+    }
+}
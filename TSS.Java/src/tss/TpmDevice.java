@@ -1,6 +1,9 @@
 package tss;
 
 import java.io.Closeable;
+import java.io.OutputStream;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
 
 /**
  * Partially abstract base class for classes implementing communication 
@@ -58,6 +61,14 @@ public abstract class TpmDevice implements Closeable
         TpmTctiConn = 0x8000;
 
 
+    /** Single threaded executor serializing asynchronously submitted commands.
+     *  Created lazily on the first submitAsync() call. */
+    private ExecutorService cmdExecutor = null;
+
+    /** Guards cmdExecutor. The device itself is not locked, as it may be closed by the command
+     *  executor, while another thread holding the device lock waits for the executor. */
+    private final Object cmdExecutorLock = new Object();
+
     static void throwUnsupported(String meth)
     {
         throw new UnsupportedOperationException("TpmDevice." + meth + "() is not implemented on this TPM device");
@@ -80,8 +91,91 @@ public abstract class TpmDevice implements Closeable
     /** @return  TPM response buffer received from the TPM device */
     public abstract byte[] getResponse();
 
+    /** Waits for the response to the previously dispatched command no longer than the given time.
+     *
+     *  If the deadline expires, the device cancels the command (if it has means to do so), or
+     *  abandons it. Devices that cannot enforce deadlines (e.g. because their dispatchCommand()
+     *  is synchronous) ignore the timeout.
+     *  @param timeoutMs  Deadline in milliseconds since the command was dispatched, or 0 for none
+     *  @return  TPM response buffer received from the TPM device
+     *  @throws TpmTimeoutException if the command did not complete in time
+     */
+    public byte[] getResponse(int timeoutMs) { return getResponse(); }
+
     /** @return  Whether the TPM response to the previously issued command is ready */
     public abstract boolean responseReady();
+
+    /** Asynchronously sends the TPM command buffer to the TPM.
+     *
+     *  Commands submitted via this method are executed in the order of submission
+     *  by the device's command executor. They can be interleaved with the commands executed
+     *  synchronously via executeCommand() (e.g. by a Tpm object), as the device keeps them
+     *  ordered, but not with the dispatchCommand()/getResponse() pairs made by other threads.
+     *  @param cmdBuf  TPM command buffer
+     *  @return  Future completed with the TPM response buffer
+     */
+    public CompletableFuture<byte[]> submitAsync(byte[] cmdBuf)
+    {
+        return submitAsync(cmdBuf, 0);
+    }
+
+    /** Asynchronously sends the TPM command buffer to the TPM (see {@link #submitAsync(byte[])})
+     *  @param cmdBuf  TPM command buffer
+     *  @param timeoutMs  Deadline in milliseconds since the command is sent, or 0 for none
+     *                    (see {@link #getResponse(int)})
+     *  @return  Future completed with the TPM response buffer
+     */
+    public CompletableFuture<byte[]> submitAsync(byte[] cmdBuf, int timeoutMs)
+    {
+        return CompletableFuture.supplyAsync(() -> executeCommand(cmdBuf, timeoutMs), commandExecutor());
+    }
+
+    /** @return  Future completed exceptionally with the given error (e.g. the failure to send
+     *           an asynchronously submitted command) */
+    protected static <T> CompletableFuture<T> failedFuture(Throwable e)
+    {
+        CompletableFuture<T> f = new CompletableFuture<T>();
+        f.completeExceptionally(e);
+        return f;
+    }
+
+    /** Synchronously executes a single command. It is called both on the command executor
+     *  thread and by the threads executing synchronous commands, so the implementations must
+     *  keep the two ordered (the default one serializes them on this object).
+     *  Devices override it to avoid the state kept between dispatchCommand() and getResponse().
+     *  @param cmdBuf  TPM command buffer
+     *  @param timeoutMs  Deadline in milliseconds, or 0 for none (see {@link #getResponse(int)})
+     *  @return  TPM response buffer
+     */
+    protected synchronized byte[] executeCommand(byte[] cmdBuf, int timeoutMs)
+    {
+        dispatchCommand(cmdBuf);
+        return getResponse(timeoutMs);
+    }
+
+    /** @return  The executor used to run asynchronously submitted commands */
+    protected ExecutorService commandExecutor()
+    {
+        synchronized (cmdExecutorLock) {
+            if (cmdExecutor == null)
+            {
+                cmdExecutor = Helpers.daemonExecutor(getClass().getSimpleName() + " command executor");
+            }
+            return cmdExecutor;
+        }
+    }
+
+    /** Stops the command executor (if any). Called by the device implementations upon close(). */
+    protected void shutdownCommandExecutor()
+    {
+        synchronized (cmdExecutorLock) {
+            if (cmdExecutor != null)
+            {
+                cmdExecutor.shutdown();
+                cmdExecutor = null;
+            }
+        }
+    }
     
     /** Powers on/off the TPM.
      * 
@@ -104,6 +198,16 @@ public abstract class TpmDevice implements Closeable
      */
     public void setLocality(int locality) { throwUnsupported("setLocality"); }
 
+    /** Starts a platform hash sequence (_TPM_Hash_Start), e.g. to measure an H-CRTM component.
+     *
+     *  The data written to the returned stream are delivered to the TPM via _TPM_Hash_Data,
+     *  and closing the stream completes the sequence (_TPM_Hash_End). No TPM commands can be
+     *  sent to the device until the stream is closed.
+     *  Only implemented for TPM simulators and TPM vendors test harness.
+     *  @return  Stream accepting the data to hash
+     */
+    public OutputStream platformHashStream() { throwUnsupported("platformHashStream"); return null; }
+
 
     /** @return true if the TPM device supports sending/emulation of platform signals,
      *          and if the platform hierarchy is enabled.*/
@@ -1,57 +1,155 @@
 package tss;
-import java.io.*;
+import java.io.File;
 import java.util.Arrays;
+import java.util.List;
 
+import com.sun.jna.*;
 
+
+/**
+ * Connection to the TPM character device on Linux (the kernel mode resource manager
+ * /dev/tpmrm0, or the raw /dev/tpm0 device).
+ *
+ * The device is opened in non-blocking mode, and the responses are awaited with poll(2),
+ * so that a command completes as soon as the TPM produces its response, and responseReady()
+ * reflects the actual device state. Responses of any size are read into a reusable buffer
+ * that grows on demand.
+ *
+ * The TPM character device provides no means to cancel a command, so a command exceeding
+ * its deadline is abandoned: its response is read and discarded before the next command
+ * is sent.
+ */
 public class TpmDeviceLinux extends TpmDevice
 {
-    RandomAccessFile devTpm = null;
-    int respSize = 0;
-    byte[] respBuf = null;
+    public interface CLibrary extends Library
+    {
+        CLibrary INSTANCE = Native.loadLibrary("c", CLibrary.class);
+
+        int O_RDWR = 02,
+            O_NONBLOCK = 04000;
+        short POLLIN = 0x1;
+        int EINTR = 4,
+            EAGAIN = 11;
+
+        public static class PollFd extends Structure
+        {
+            public int fd;
+            public short events;
+            public short revents;
+
+            @Override
+            protected List<String> getFieldOrder()
+            {
+                return Arrays.asList(new String[] { "fd", "events", "revents" });
+            }
+        }
+
+        int open(String path, int flags) throws LastErrorException;
+        int close(int fd) throws LastErrorException;
+        NativeLong read(int fd, Pointer buf, NativeLong count) throws LastErrorException;
+        NativeLong write(int fd, byte[] buf, NativeLong count) throws LastErrorException;
+        int poll(PollFd fds, int nfds, int timeout) throws LastErrorException;
+    }
+
+    /** Size of the TPM response header prefix containing the response size */
+    static final int RespSizeEnd = 6;
 
+    /** Size of the TPM response header {tag, responseSize, responseCode} */
+    static final int RespHeaderSize = 10;
 
+    /** Largest response size accepted from the device. TPMs report maximal response sizes
+     *  (TPM_PT.MAX_RESPONSE_SIZE) of a few KB, so a larger size means a malformed header. */
+    static final int MaxRespSize = 1 << 20;
+
+    /** Initial capacity of the response buffer */
+    static final int DefaultBufSize = 4096;
+
+    String devPath = null;
+    int fd = -1;
+    final CLibrary.PollFd pollFd = new CLibrary.PollFd();
+
+    /** Reusable response buffer. Grows when a larger response is received. */
+    Memory respBuf = null;
+
+    /** Number of bytes of the current response read so far */
+    int respRead = 0;
+
+    boolean responsePending = false;
+
+    /** Time the last synchronously dispatched command was sent */
+    long dispatchNs;
+
+    /** The response being awaited belongs to a command that exceeded its deadline */
+    boolean abandoned = false;
+
+
+    /** Connects to /dev/tpmrm0 if it is available, or to /dev/tpm0 otherwise */
     public TpmDeviceLinux() {}
 
+    /** Connects to the given TPM character device (or its stand-in, e.g. a FIFO or pty)
+     *  @param devPath  Path of the TPM device
+     */
+    public TpmDeviceLinux(String devPath)
+    {
+        this.devPath = devPath;
+    }
+
     @Override
     public boolean connect()
     {
-        if (devTpm != null)
+        if (fd >= 0)
             return true;
 
-        String errorRM = openTpmDevice("/dev/tpmrm0");
-        if (errorRM != null)
+        if (devPath != null)
         {
-            String errorTPM = openTpmDevice("/dev/tpm0");
-            if (errorTPM != null)
+            String error = openTpmDevice(devPath);
+            if (error != null)
             {
-                System.err.println("TSS.Java: " + errorRM + " and " + errorTPM);
+                System.err.println("TSS.Java: " + error);
                 return false;
-                //throw new RuntimeException("TSS.Java: " + errorRM + " and " + errorTPM);
             }
-            //System.out.println("Connected to system TPM");
         }
-        //else System.out.println("Connected to kernel mode TRM");
-        respSize = 0;
-        respBuf = new byte[4096];
+        else
+        {
+            String errorRM = openTpmDevice("/dev/tpmrm0");
+            if (errorRM != null)
+            {
+                String errorTPM = openTpmDevice("/dev/tpm0");
+                if (errorTPM != null)
+                {
+                    System.err.println("TSS.Java: " + errorRM + " and " + errorTPM);
+                    return false;
+                }
+            }
+        }
+        pollFd.fd = fd;
+        pollFd.events = CLibrary.POLLIN;
+        respBuf = new Memory(DefaultBufSize);
+        respRead = 0;
+        responsePending = false;
         return true;
     }
 
     @Override
     public void close()
     {
-        if (devTpm != null)
-            try { devTpm.close(); } catch (IOException ioe) {}
+        shutdownCommandExecutor();
+        if (fd >= 0)
+        {
+            try { CLibrary.INSTANCE.close(fd); } catch (LastErrorException e) {}
+            fd = -1;
+        }
     }
-    
+
     private String openTpmDevice(String devName)
     {
-        File devTpm0 = new File(devName);
-        if (!devTpm0.exists())
+        File devTpm = new File(devName);
+        if (!devTpm.exists())
             return devName + " does not exist";
         try {
-            devTpm = new RandomAccessFile(devName, "rwd");
-        } catch (Exception e) {
-            return "Failed to open " + devName + " in RW mode";
+            fd = CLibrary.INSTANCE.open(devName, CLibrary.O_RDWR | CLibrary.O_NONBLOCK);
+        } catch (LastErrorException e) {
+            return "Failed to open " + devName + " in RW mode: " + e.getMessage();
         }
         return null;
     }
@@ -59,42 +157,169 @@ public class TpmDeviceLinux extends TpmDevice
     @Override
     public void dispatchCommand(byte[] command)
     {
-        try {
-            devTpm.write(command);
-        } catch (IOException e) {
-            throw new RuntimeException("TSS.Java fatal error: Failed to send TPM command to /dev/tpm0");
+        sendCommand(command, System.nanoTime(), 0);
+        dispatchNs = System.nanoTime();
+    }
+
+    @Override
+    public byte[] getResponse()
+    {
+        return getResponse(0);
+    }
+
+    @Override
+    public byte[] getResponse(int timeoutMs)
+    {
+        if (!responsePending || abandoned)
+            throw new TpmException("No previous TPM command, or TPM command failed");
+        return receiveResponse(dispatchNs, timeoutMs);
+    }
+
+    @Override
+    public synchronized boolean responseReady()
+    {
+        if (!responsePending || abandoned)
+            throw new TpmException("Cannot responseReady() without a prior dispatchCommand()");
+        return readAvailable() || (waitReadable(0) && readAvailable());
+    }
+
+    @Override
+    protected byte[] executeCommand(byte[] command, int timeoutMs)
+    {
+        return transact(command, timeoutMs);
+    }
+
+    synchronized byte[] transact(byte[] command, int timeoutMs)
+    {
+        long startNs = System.nanoTime();
+        sendCommand(command, startNs, timeoutMs);
+        return receiveResponse(startNs, timeoutMs);
+    }
+
+    /** Sends the command, after the response to the abandoned command (if any) is drained
+     *  @param startNs  Time the command was issued
+     *  @param timeoutMs  Deadline of the command in milliseconds since startNs, or 0 for none.
+     *                    The drain counts against it, and the abandoned command stays pending
+     *                    if it does not complete in time.
+     */
+    synchronized void sendCommand(byte[] command, long startNs, int timeoutMs)
+    {
+        if (abandoned)
+        {
+            // Wait for the TPM to complete the abandoned command
+            abandoned = false;
+            receiveResponse(startNs, timeoutMs);
         }
-        
+        if (responsePending)
+            throw new TpmException("Previous TPM command response has not been read from " + devName());
         try {
-            int count = 0;
-            do {
-                respSize = devTpm.read(respBuf);
-                if (respSize > 0)
-                    break;
-                try {
-                    Thread.sleep(200);
-                } catch (InterruptedException e) {}
-            } while (count++ < 20);
-        } catch (IOException e) {
-            throw new RuntimeException("TSS.Java fatal error: Failed to read TPM response from /dev/tpm0");
+            long written = CLibrary.INSTANCE.write(fd, command, new NativeLong(command.length)).longValue();
+            if (written != command.length)
+                throw new TpmException("Short write of a TPM command to " + devName() + ": " +
+                                       written + " of " + command.length + " bytes");
+        } catch (LastErrorException e) {
+            throw new TpmException("Failed to send TPM command to " + devName(), e);
         }
-        if (respSize <= 0)
-            throw new RuntimeException("TSS.Java fatal error: No response from /dev/tpm0");
+        responsePending = true;
+        respRead = 0;
     }
 
-    @Override
-    public byte[] getResponse() {
-        if(respSize == 0) 
-            throw new TpmException("No previous TPM command, or TPM command failed");
-        byte[] resp = Arrays.copyOf(respBuf, respSize);
-        respSize = 0;
+    /** Blocks until the complete response is read from the device, or the deadline expires
+     *  @param startNs  Time the command was sent
+     *  @param timeoutMs  Deadline in milliseconds since startNs, or 0 for none
+     */
+    synchronized byte[] receiveResponse(long startNs, int timeoutMs)
+    {
+        long deadline = startNs + timeoutMs * 1000000L;
+        while (!readAvailable())
+        {
+            int waitMs = -1;
+            if (timeoutMs > 0)
+            {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0)
+                {
+                    abandoned = true;
+                    throw new TpmTimeoutException("No response from " + devName(),
+                                                  (System.nanoTime() - startNs) / 1000000);
+                }
+                waitMs = (int)Math.max(1, remaining / 1000000);
+            }
+            waitReadable(waitMs);
+        }
+
+        byte[] resp = respBuf.getByteArray(0, respSize());
+        responsePending = false;
+        respRead = 0;
         return resp;
     }
 
-    @Override
-    public boolean responseReady() 
+    /** Reads whatever part of the response is currently available without blocking.
+     *  @return true if the complete response has been read
+     */
+    boolean readAvailable()
     {
-        // TBS is blocking
-        return true;
-    }    
+        while (true)
+        {
+            int respSize = respRead < RespSizeEnd ? RespSizeEnd : respSize();
+            if (respRead >= RespSizeEnd && (respSize < RespHeaderSize || respSize > MaxRespSize))
+            {
+                responsePending = false;
+                throw new TpmException("Invalid TPM response size " + respSize + " from " + devName());
+            }
+            if (respRead >= respSize)
+                return true;
+
+            if (respBuf.size() < respSize)
+            {
+                Memory newBuf = new Memory(respSize);
+                newBuf.write(0, respBuf.getByteArray(0, respRead), 0, respRead);
+                respBuf = newBuf;
+            }
+
+            long count;
+            try {
+                count = CLibrary.INSTANCE.read(fd, respBuf.share(respRead),
+                                               new NativeLong(respBuf.size() - respRead)).longValue();
+            } catch (LastErrorException e) {
+                if (e.getErrorCode() == CLibrary.EAGAIN || e.getErrorCode() == CLibrary.EINTR)
+                    return false;
+                responsePending = false;
+                throw new TpmException("Failed to read TPM response from " + devName(), e);
+            }
+            if (count == 0)
+            {
+                responsePending = false;
+                throw new TpmException("No response from " + devName());
+            }
+            respRead += (int)count;
+        }
+    }
+
+    /** Waits until the device has data to read
+     *  @param timeout  Timeout in milliseconds, or -1 to wait indefinitely
+     *  @return  Whether the device has data to read
+     */
+    boolean waitReadable(int timeout)
+    {
+        try {
+            return CLibrary.INSTANCE.poll(pollFd, 1, timeout) > 0;
+        } catch (LastErrorException e) {
+            if (e.getErrorCode() == CLibrary.EINTR)
+                return false;
+            throw new TpmException("Failed to poll " + devName(), e);
+        }
+    }
+
+    /** @return Response size from the (big endian) response header */
+    int respSize()
+    {
+        return (respBuf.getByte(2) & 0xFF) << 24 | (respBuf.getByte(3) & 0xFF) << 16
+             | (respBuf.getByte(4) & 0xFF) << 8 | (respBuf.getByte(5) & 0xFF);
+    }
+
+    String devName()
+    {
+        return devPath != null ? devPath : "/dev/tpm";
+    }
 }
@@ -0,0 +1,1194 @@
+package tss;
+
+import java.io.ByteArrayOutputStream;
+import java.lang.reflect.Constructor;
+import java.security.GeneralSecurityException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Supplier;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+
+import tss.tpm.*;
+
+/**
+ * In-process TPM device for deterministic unit and load testing of the TSS.Java marshaling
+ * and dispatch code in isolation from the device latency.
+ * <P>
+ * A command is served by the first applicable source of the following ones:
+ * <ol>
+ * <li> recorded command/response stream (see {@link #replay(List, boolean)} and {@link Recorder}),
+ * <li> canned responses keyed by the command code (see {@link #setResponse(TPM_CC, byte[])}),
+ * <li> built-in emulation of a subset of TPM commands: Startup, Shutdown, GetRandom, StirRandom,
+ *      Hash, PCR_Read, PCR_Extend, NV_DefineSpace, NV_UndefineSpace, NV_ReadPublic, NV_Write,
+ *      NV_Read, HashSequenceStart, SequenceUpdate, SequenceComplete, LoadExternal (keyed hash
+ *      keys only), HMAC, HMAC_Start, StartAuthSession (unsalted sessions only), PolicyRestart,
+ *      PolicyAuthValue (the policy digests are not computed), GetCapability (TPM properties,
+ *      command attributes, NV and transient handles, PCR banks), FlushContext,
+ *      SetCommandCodeAuditStatus, GetCommandAuditDigest and GetSessionAuditDigest (unsigned,
+ *      or signed with an HMAC key).
+ * </ol>
+ * Any other command fails with TPM_RC.COMMAND_CODE.
+ * <P>
+ * The command HMACs of the sessions started by the emulated StartAuthSession are verified, and
+ * their responses carry the new nonceTPM and the response HMAC. The parameter encryption
+ * (AES-CFB or XOR) and the session audit are emulated for these sessions too. The command audit
+ * digest is extended with the successful commands in the list of the audited commands, which
+ * initially contains SetCommandCodeAuditStatus only. Policy sessions are not checked against
+ * their policies. Password sessions are not checked, and any other session handle is answered
+ * with an empty session. Random numbers are generated by a seeded PRNG, so that test runs are
+ * reproducible.
+ */
+public class TpmDeviceMock extends TpmDevice
+{
+    /** A single command/response pair */
+    public static class Exchange
+    {
+        public byte[] command;
+        public byte[] response;
+
+        public Exchange(byte[] command, byte[] response)
+        {
+            this.command = command;
+            this.response = response;
+        }
+    }
+
+    /** Records the commands executed by a Tpm object and their responses for a later replay.
+     *  Register it with {@link TpmBase#_setCallback(TpmCallbackInterface)}.
+     */
+    public static class Recorder implements TpmCallbackInterface
+    {
+        final List<Exchange> exchanges = new ArrayList<Exchange>();
+
+        @Override
+        public synchronized void commandCompleteCallback(TPM_CC commandCode, TPM_RC responseCode,
+                                                         byte[] inCommand, byte[] outResponse)
+        {
+            exchanges.add(new Exchange(inCommand, outResponse));
+        }
+
+        /** @return  Recorded command/response pairs in the order of execution */
+        public synchronized List<Exchange> getExchanges()
+        {
+            return new ArrayList<Exchange>(exchanges);
+        }
+    }
+
+    /** Emulated command implementation. Failures are reported by throwing a TpmException
+     *  with the corresponding response code. */
+    interface CommandHandler
+    {
+        RespStructure execute(ReqStructure req, TPM_HANDLE[] handles);
+    }
+
+    static class EmulatedCommand
+    {
+        Supplier<ReqStructure> reqFactory;
+        CommandHandler handler;
+
+        EmulatedCommand(Supplier<ReqStructure> reqFactory, CommandHandler handler)
+        {
+            this.reqFactory = reqFactory;
+            this.handler = handler;
+        }
+    }
+
+    static class NvIndex
+    {
+        TPMS_NV_PUBLIC pub;
+        byte[] auth;
+        byte[] data;
+
+        NvIndex(TPMS_NV_PUBLIC pub, byte[] auth)
+        {
+            this.pub = pub;
+            this.auth = auth;
+            data = new byte[pub.dataSize];
+            Arrays.fill(data, (byte)0xFF);
+        }
+    }
+
+    static class HashSequence
+    {
+        TPM_ALG_ID hashAlg;
+        byte[] hmacKey;     // null for hash sequences
+        ByteArrayOutputStream data = new ByteArrayOutputStream();
+
+        HashSequence(TPM_ALG_ID hashAlg, byte[] hmacKey)
+        {
+            this.hashAlg = hashAlg;
+            this.hmacKey = hmacKey;
+        }
+    }
+
+    static class HmacKey
+    {
+        TPM_ALG_ID hashAlg;
+        byte[] key;
+        byte[] auth;
+        byte[] name;
+
+        HmacKey(TPM_ALG_ID hashAlg, byte[] key, byte[] auth, byte[] name)
+        {
+            this.hashAlg = hashAlg;
+            this.key = key;
+            this.auth = auth;
+            this.name = name;
+        }
+    }
+
+    static class Session
+    {
+        TPM_SE type;
+        TPM_ALG_ID hashAlg;
+        TPMT_SYM_DEF symmetric;
+        byte[] sessionKey;
+        byte[] bindName;
+        byte[] nonceTpm;
+        boolean policyAuthValue;
+        byte[] auditDigest;
+
+        Session(TPM_SE type, TPM_ALG_ID hashAlg, TPMT_SYM_DEF symmetric, byte[] sessionKey,
+                byte[] bindName, byte[] nonceTpm)
+        {
+            this.type = type;
+            this.hashAlg = hashAlg;
+            this.symmetric = symmetric;
+            this.sessionKey = sessionKey;
+            this.bindName = bindName;
+            this.nonceTpm = nonceTpm;
+            auditDigest = new byte[Crypto.digestSize(hashAlg)];
+        }
+    }
+
+    /** A session of the command being executed */
+    static class CommandSession
+    {
+        int handle;
+        byte[] nonceCaller;
+        int attrs;
+        Session sess;       // null for the sessions not started by the emulator
+        byte[] authValue;   // included into the HMAC key
+    }
+
+    /** Maximal number of the loaded transient objects (sequences and keys) */
+    static final int MaxTransients = 3;
+
+    static final int NumPcrs = 24;
+    static final TPM_ALG_ID[] PcrBanks = { TPM_ALG_ID.SHA1, TPM_ALG_ID.SHA256 };
+    static final int MaxRandomBytes = 32;
+    static final int MaxPcrValuesPerRead = 8;
+
+    final ArrayDeque<Exchange> replayQueue = new ArrayDeque<Exchange>();
+    boolean matchReplayedCommands;
+    final Map<Integer, byte[]> rawResponses = new HashMap<Integer, byte[]>();
+    final Map<Integer, RespStructure> responses = new HashMap<Integer, RespStructure>();
+    /** Request structure factories of the commands with canned responses (used to parse their
+     *  handle and session areas) */
+    final Map<Integer, Supplier<ReqStructure>> cannedRequests =
+            new HashMap<Integer, Supplier<ReqStructure>>();
+    final TreeMap<Integer, EmulatedCommand> emulated = new TreeMap<Integer, EmulatedCommand>();
+
+    final TreeMap<Integer, Integer> properties = new TreeMap<Integer, Integer>();
+    final byte[][][] pcrs = new byte[PcrBanks.length][NumPcrs][];
+    int pcrUpdateCounter = 0;
+    final TreeMap<Integer, NvIndex> nvIndices = new TreeMap<Integer, NvIndex>();
+    /** Loaded transient objects: hash/HMAC sequences and HMAC keys */
+    final TreeMap<Integer, Object> transients = new TreeMap<Integer, Object>();
+    int nextTransient = TPM_HT.TRANSIENT.toInt() << 24;
+    final TreeMap<Integer, Session> sessions = new TreeMap<Integer, Session>();
+    int nextSession = 0;
+    TPM_ALG_ID auditAlg = TPM_ALG_ID.SHA256;
+    final TreeSet<Integer> auditedCommands = new TreeSet<Integer>();
+    byte[] commandAuditDigest = null;   // cleared
+    long auditCounter = 0;
+    /** The current command changed the audit algorithm, and is not audited */
+    boolean auditAlgChanged;
+    final Random rand;
+
+    byte[] lastResponse = null;
+    long numCommands = 0;
+
+    /** Creates an emulator with the default PRNG seed */
+    public TpmDeviceMock() { this(0); }
+
+    /** @param seed  Seed for the emulated TPM random number generator */
+    public TpmDeviceMock(long seed)
+    {
+        rand = new Random(seed);
+        TpmInfo |= TpmNoPowerCtl | TpmNoLocalityCtl;
+
+        setProperty(TPM_PT.FAMILY_INDICATOR, 0x322E3000);   // "2.0"
+        setProperty(TPM_PT.INPUT_BUFFER, 1024);
+        setProperty(TPM_PT.ACTIVE_SESSIONS_MAX, 64);
+        setProperty(TPM_PT.MAX_DIGEST, 32);
+        auditedCommands.add(TPM_CC.SetCommandCodeAuditStatus.toInt());
+        setProperty(TPM_PT.NV_BUFFER_MAX, 1024);
+        setProperty(TPM_PT.NV_WRITE_RECOVERY, 0);
+        resetPcrs();
+
+        emulate(TPM_CC.Startup, TPM2_Startup_REQUEST::new, (req, h) -> null);
+        emulate(TPM_CC.Shutdown, TPM2_Shutdown_REQUEST::new, (req, h) -> null);
+        emulate(TPM_CC.GetRandom, TPM2_GetRandom_REQUEST::new, this::getRandom);
+        emulate(TPM_CC.StirRandom, TPM2_StirRandom_REQUEST::new, this::stirRandom);
+        emulate(TPM_CC.Hash, TPM2_Hash_REQUEST::new, this::hash);
+        emulate(TPM_CC.PCR_Read, TPM2_PCR_Read_REQUEST::new, this::pcrRead);
+        emulate(TPM_CC.PCR_Extend, TPM2_PCR_Extend_REQUEST::new, this::pcrExtend);
+        emulate(TPM_CC.NV_DefineSpace, TPM2_NV_DefineSpace_REQUEST::new, this::nvDefineSpace);
+        emulate(TPM_CC.NV_UndefineSpace, TPM2_NV_UndefineSpace_REQUEST::new, this::nvUndefineSpace);
+        emulate(TPM_CC.NV_ReadPublic, TPM2_NV_ReadPublic_REQUEST::new, this::nvReadPublic);
+        emulate(TPM_CC.NV_Write, TPM2_NV_Write_REQUEST::new, this::nvWrite);
+        emulate(TPM_CC.NV_Read, TPM2_NV_Read_REQUEST::new, this::nvRead);
+        emulate(TPM_CC.HashSequenceStart, TPM2_HashSequenceStart_REQUEST::new,
+                this::hashSequenceStart);
+        emulate(TPM_CC.SequenceUpdate, TPM2_SequenceUpdate_REQUEST::new, this::sequenceUpdate);
+        emulate(TPM_CC.SequenceComplete, TPM2_SequenceComplete_REQUEST::new,
+                this::sequenceComplete);
+        emulate(TPM_CC.LoadExternal, TPM2_LoadExternal_REQUEST::new, this::loadExternal);
+        emulate(TPM_CC.HMAC, TPM2_HMAC_REQUEST::new, this::hmac);
+        emulate(TPM_CC.HMAC_Start, TPM2_HMAC_Start_REQUEST::new, this::hmacStart);
+        emulate(TPM_CC.StartAuthSession, TPM2_StartAuthSession_REQUEST::new,
+                this::startAuthSession);
+        emulate(TPM_CC.PolicyRestart, TPM2_PolicyRestart_REQUEST::new, this::policyRestart);
+        emulate(TPM_CC.PolicyAuthValue, TPM2_PolicyAuthValue_REQUEST::new, this::policyAuthValue);
+        emulate(TPM_CC.GetCapability, TPM2_GetCapability_REQUEST::new, this::getCapability);
+        emulate(TPM_CC.FlushContext, TPM2_FlushContext_REQUEST::new, this::flushContext);
+        emulate(TPM_CC.SetCommandCodeAuditStatus, TPM2_SetCommandCodeAuditStatus_REQUEST::new,
+                this::setCommandCodeAuditStatus);
+        emulate(TPM_CC.GetCommandAuditDigest, TPM2_GetCommandAuditDigest_REQUEST::new,
+                this::getCommandAuditDigest);
+        emulate(TPM_CC.GetSessionAuditDigest, TPM2_GetSessionAuditDigest_REQUEST::new,
+                this::getSessionAuditDigest);
+    }
+
+    void emulate(TPM_CC cc, Supplier<ReqStructure> reqFactory, CommandHandler handler)
+    {
+        emulated.put(cc.toInt(), new EmulatedCommand(reqFactory, handler));
+    }
+
+    @Override
+    public boolean connect() { return true; }
+
+    @Override
+    public void close()
+    {
+        shutdownCommandExecutor();
+    }
+
+    @Override
+    public void dispatchCommand(byte[] cmdBuf)
+    {
+        lastResponse = executeCommand(cmdBuf, 0);
+    }
+
+    @Override
+    public byte[] getResponse()
+    {
+        if (lastResponse == null)
+            throw new TpmException("No previous TPM command, or TPM command failed");
+        byte[] resp = lastResponse;
+        lastResponse = null;
+        return resp;
+    }
+
+    @Override
+    public boolean responseReady() { return true; }
+
+    /** Replays the given command/response stream. Replayed responses take precedence over
+     *  the canned responses and emulation until the stream is exhausted.
+     *  @param exchanges  Recorded commands and responses (e.g. by a {@link Recorder})
+     *  @param matchCommands  If true, a command different from the recorded one causes
+     *                        a TpmException
+     */
+    public synchronized void replay(List<Exchange> exchanges, boolean matchCommands)
+    {
+        replayQueue.clear();
+        replayQueue.addAll(exchanges);
+        matchReplayedCommands = matchCommands;
+    }
+
+    /** Sets a canned response returned for every subsequent command with the given command code.
+     *  @param cc  Command code
+     *  @param rawResponse  Complete TPM response buffer (including the header), or null to
+     *                      remove the canned response
+     */
+    public synchronized void setResponse(TPM_CC cc, byte[] rawResponse)
+    {
+        if (rawResponse == null)
+            rawResponses.remove(cc.toInt());
+        else
+            rawResponses.put(cc.toInt(), rawResponse);
+    }
+
+    /** Sets a canned successful response returned for every subsequent command with the given
+     *  command code. The response header and session area are generated to match the command.
+     *  @param cc  Command code
+     *  @param resp  Response parameters (and handle), or null to remove the canned response
+     */
+    public synchronized void setResponse(TPM_CC cc, RespStructure resp)
+    {
+        if (resp == null)
+        {
+            responses.remove(cc.toInt());
+            cannedRequests.remove(cc.toInt());
+        }
+        else
+        {
+            cannedRequests.put(cc.toInt(), requestFactory(cc));
+            responses.put(cc.toInt(), resp);
+        }
+    }
+
+    /** @return  Factory of the request structure of the given command */
+    static Supplier<ReqStructure> requestFactory(TPM_CC cc)
+    {
+        // The request structures are named after the commands
+        Constructor<?> ctor;
+        try {
+            ctor = Class.forName("tss.tpm.TPM2_" + cc.name() + "_REQUEST").getConstructor();
+        } catch (ReflectiveOperationException e) {
+            throw new TpmException("TpmDeviceMock: Unknown command " + cc, e);
+        }
+        return () -> {
+            try {
+                return (ReqStructure)ctor.newInstance();
+            } catch (ReflectiveOperationException e) {
+                throw new TpmException("TpmDeviceMock: Cannot create the request of " + cc, e);
+            }
+        };
+    }
+
+    /** Sets the value of the TPM property reported by the emulated GetCapability command
+     *  @param prop  TPM property
+     *  @param value  Property value
+     */
+    public synchronized void setProperty(TPM_PT prop, int value)
+    {
+        properties.put(prop.toInt(), value);
+    }
+
+    /** Resets all emulated PCRs to zeros */
+    public synchronized void resetPcrs()
+    {
+        for (int bank = 0; bank < PcrBanks.length; ++bank)
+            for (int i = 0; i < NumPcrs; ++i)
+                pcrs[bank][i] = new byte[Crypto.digestSize(PcrBanks[bank])];
+    }
+
+    /** @return  Number of commands executed by this device */
+    public synchronized long numCommands() { return numCommands; }
+
+    @Override
+    protected synchronized byte[] executeCommand(byte[] cmdBuf, int timeoutMs)
+    {
+        ++numCommands;
+        if (!replayQueue.isEmpty())
+        {
+            Exchange ex = replayQueue.poll();
+            if (matchReplayedCommands && !Arrays.equals(ex.command, cmdBuf))
+                throw new TpmException("TpmDeviceMock: Command differs from the recorded one: " +
+                                       Helpers.toHex(cmdBuf));
+            return ex.response;
+        }
+
+        TpmBuffer buf = new TpmBuffer(cmdBuf);
+        int tag = buf.readShort();
+        buf.readInt();  // command size
+        int cc = buf.readInt();
+
+        byte[] rawResp = rawResponses.get(cc);
+        if (rawResp != null)
+            return rawResp;
+
+        RespStructure resp = responses.get(cc);
+        EmulatedCommand cmd = emulated.get(cc);
+        if (resp == null && cmd == null)
+            return errorResponse(TPM_RC.COMMAND_CODE);
+
+        ReqStructure req = (cmd != null ? cmd.reqFactory : cannedRequests.get(cc)).get();
+        TPM_HANDLE[] handles = new TPM_HANDLE[req.numHandles()];
+        for (int i = 0; i < handles.length; ++i)
+            handles[i] = TPM_HANDLE.fromTpm(buf);
+
+        List<CommandSession> cmdSessions = new ArrayList<CommandSession>();
+        List<byte[]> hmacs = new ArrayList<byte[]>();
+        if (tag == TPM_ST.SESSIONS.toInt())
+        {
+            int authAreaEnd = buf.readInt() + buf.curPos();
+            while (buf.curPos() < authAreaEnd)
+            {
+                CommandSession cs = new CommandSession();
+                cs.handle = buf.readInt();
+                cs.nonceCaller = buf.readSizedByteBuf();
+                cs.attrs = buf.readByte() & 0xFF;
+                hmacs.add(buf.readSizedByteBuf());
+                cs.sess = sessions.get(cs.handle);
+                cmdSessions.add(cs);
+            }
+        }
+
+        int paramsPos = buf.curPos();
+        // cc || names || parameters (as sent) to compute the cpHash from
+        byte[] cpData = Helpers.concatenate(Helpers.hostToNet(cc), entityNames(handles));
+        cpData = Helpers.concatenate(cpData, Arrays.copyOfRange(cmdBuf, paramsPos, cmdBuf.length));
+        CommandSession decryptSession = null,
+                       encryptSession = null;
+        try {
+            for (CommandSession cs : cmdSessions)
+            {
+                if (cs.sess == null)
+                    continue;
+                int cryptAttrs = TPMA_SESSION.decrypt.toInt() | TPMA_SESSION.encrypt.toInt();
+                boolean crypt = (cs.attrs & cryptAttrs) != 0;
+                if (crypt && cs.sess.symmetric.algorithm == TPM_ALG_ID.NULL)
+                    throw new TpmException(TPM_RC.ATTRIBUTES);
+                if ((cs.attrs & TPMA_SESSION.decrypt.toInt()) != 0)
+                    decryptSession = cs;
+                if ((cs.attrs & TPMA_SESSION.encrypt.toInt()) != 0)
+                    encryptSession = cs;
+            }
+            checkSessions(req.numAuthHandles(), handles, cmdSessions, hmacs, cpData,
+                          decryptSession, encryptSession);
+            if (decryptSession != null)
+            {
+                // The command buffer is retained by the caller, so a copy is decrypted
+                byte[] plain = cmdBuf.clone();
+                if (!cryptParam(decryptSession, req.sessEncInfo(), plain, paramsPos, true))
+                    throw new TpmException(TPM_RC.ATTRIBUTES);
+                buf = new TpmBuffer(plain);
+                buf.curPos(paramsPos);
+            }
+        } catch (TpmException e) {
+            return errorResponse(e.ResponseCode);
+        }
+
+        if (resp == null)
+        {
+            req.initFromTpm(buf);
+            if (!buf.isOk())
+                return errorResponse(TPM_RC.INSUFFICIENT);
+            auditAlgChanged = false;
+            try {
+                resp = cmd.handler.execute(req, handles);
+            } catch (TpmException e) {
+                return errorResponse(e.ResponseCode);
+            }
+        }
+        return successResponse(tag, cc, cmdSessions, encryptSession, resp, cpData);
+    }
+
+    /** Verifies the command HMACs of the emulated sessions */
+    void checkSessions(int numAuthHandles, TPM_HANDLE[] handles, List<CommandSession> cmdSessions,
+                       List<byte[]> hmacs, byte[] cpData, CommandSession decryptSession,
+                       CommandSession encryptSession)
+    {
+        for (int i = 0; i < cmdSessions.size(); ++i)
+        {
+            CommandSession cs = cmdSessions.get(i);
+            if (cs.sess == null)
+                continue;
+            if (i < numAuthHandles && (cs.sess.type == TPM_SE.HMAC
+                                        ? !Arrays.equals(cs.sess.bindName, entityName(handles[i]))
+                                        : cs.sess.policyAuthValue))
+            {
+                cs.authValue = entityAuth(handles[i]);
+            }
+            byte[] key = sessionHmacKey(cs);
+            if (cs.sess.type == TPM_SE.POLICY && key.length == 0)
+                continue;
+            byte[] cpHash = Crypto.hash(cs.sess.hashAlg, cpData);
+            // The first session HMAC includes the nonces of the other encryption sessions
+            byte[] nonceDecrypt = i == 0 && decryptSession != null && decryptSession != cs
+                                ? decryptSession.sess.nonceTpm : new byte[0];
+            byte[] nonceEncrypt = i == 0 && encryptSession != null && encryptSession != cs &&
+                                  encryptSession != decryptSession
+                                ? encryptSession.sess.nonceTpm : new byte[0];
+            byte[] hmac = Crypto.hmac(cs.sess.hashAlg, key, Helpers.concatenate(new byte[][] {
+                                cpHash, cs.nonceCaller, cs.sess.nonceTpm, nonceDecrypt,
+                                nonceEncrypt, new byte[] {(byte)cs.attrs} }));
+            if (!Arrays.equals(hmac, hmacs.get(i)))
+                throw new TpmException(TPM_RC.AUTH_FAIL);
+        }
+    }
+
+    static byte[] sessionHmacKey(CommandSession cs)
+    {
+        return Helpers.concatenate(cs.sess.sessionKey, AuthSession.trimAuth(cs.authValue));
+    }
+
+    /**
+     * Decrypts the first command parameter or encrypts the first response parameter in place
+     * @return false if the parameter cannot be encrypted
+     */
+    static boolean cryptParam(CommandSession cs, SessEncInfo encInfo, byte[] buf, int pos,
+                              boolean request)
+    {
+        if (encInfo.sizeLen == 0)
+            return false;
+        int size = encInfo.sizeLen == 2 ? (buf[pos] & 0xFF) << 8 | buf[pos + 1] & 0xFF
+                                        : buf[pos] & 0xFF;
+        int len = size * encInfo.valLen;
+        pos += encInfo.sizeLen;
+        if (pos + len > buf.length)
+            throw new TpmException(TPM_RC.SIZE);
+
+        byte[] key = sessionHmacKey(cs);
+        byte[] nonceNewer = request ? cs.nonceCaller : cs.sess.nonceTpm,
+               nonceOlder = request ? cs.sess.nonceTpm : cs.nonceCaller;
+        TPMT_SYM_DEF sym = cs.sess.symmetric;
+        if (sym.algorithm == TPM_ALG_ID.XOR)
+        {
+            byte[] mask = Crypto.KDFa(cs.sess.hashAlg, key, "XOR", nonceNewer, nonceOlder, len * 8);
+            for (int i = 0; i < len; ++i)
+                buf[pos + i] ^= mask[i];
+            return true;
+        }
+        if (sym.algorithm != TPM_ALG_ID.AES)
+            throw new TpmException(TPM_RC.SYMMETRIC);
+        int keySize = sym.keyBits / 8;
+        byte[] keyIv = Crypto.KDFa(cs.sess.hashAlg, key, "CFB", nonceNewer, nonceOlder,
+                                   (keySize + 16) * 8);
+        try {
+            Cipher aes = Cipher.getInstance("AES/CFB/NoPadding");
+            aes.init(request ? Cipher.DECRYPT_MODE : Cipher.ENCRYPT_MODE,
+                     new SecretKeySpec(keyIv, 0, keySize, "AES"),
+                     new IvParameterSpec(keyIv, keySize, 16));
+            System.arraycopy(aes.doFinal(buf, pos, len), 0, buf, pos, len);
+        } catch (GeneralSecurityException e) {
+            throw new TpmException(TPM_RC.FAILURE);
+        }
+        return true;
+    }
+
+    /** @return Concatenated names of the entities */
+    byte[] entityNames(TPM_HANDLE[] handles)
+    {
+        byte[] names = new byte[0];
+        for (TPM_HANDLE h : handles)
+            names = Helpers.concatenate(names, entityName(h));
+        return names;
+    }
+
+    /** @return Name of the entity (the handle value for the entities not emulated) */
+    byte[] entityName(TPM_HANDLE h)
+    {
+        if (h.getType() == TPM_HT.NV_INDEX && nvIndices.containsKey(h.handle))
+            return nvName(nvIndices.get(h.handle).pub);
+        if (transients.get(h.handle) instanceof HmacKey)
+            return ((HmacKey)transients.get(h.handle)).name;
+        return Helpers.hostToNet(h.handle);
+    }
+
+    /** @return Authorization value of the entity (empty for the entities not emulated) */
+    byte[] entityAuth(TPM_HANDLE h)
+    {
+        if (h.getType() == TPM_HT.NV_INDEX && nvIndices.containsKey(h.handle))
+            return nvIndices.get(h.handle).auth;
+        if (transients.get(h.handle) instanceof HmacKey)
+            return ((HmacKey)transients.get(h.handle)).auth;
+        return new byte[0];
+    }
+
+    static byte[] errorResponse(TPM_RC rc)
+    {
+        TpmBuffer buf = new TpmBuffer(10);
+        buf.writeShort(TPM_ST.NO_SESSIONS.toInt());
+        buf.writeInt(10);
+        buf.writeInt(rc.toInt());
+        return buf.buffer();
+    }
+
+    byte[] successResponse(int tag, int cc, List<CommandSession> cmdSessions,
+                           CommandSession encryptSession, RespStructure resp, byte[] cpData)
+    {
+        int numSessions = cmdSessions.size();
+        TpmBuffer buf = new TpmBuffer();
+        buf.writeShort(tag);
+        buf.writeInt(0);    // to be filled in later
+        buf.writeInt(TPM_RC.SUCCESS.toInt());
+        if (resp != null && resp.numHandles() > 0)
+            resp.getHandle().toTpm(buf);
+
+        int paramSizePos = buf.curPos();
+        if (numSessions > 0)
+            buf.writeInt(0);
+        if (resp != null)
+            resp.toTpm(buf);
+
+        int paramsPos = numSessions > 0 ? paramSizePos + 4 : paramSizePos;
+        if (numSessions > 0)
+        {
+            buf.writeNumAtPos(buf.curPos() - paramsPos, paramSizePos);
+            for (CommandSession cs : cmdSessions)
+            {
+                if (cs.sess == null)
+                    continue;
+                cs.sess.nonceTpm = new byte[cs.sess.nonceTpm.length];
+                rand.nextBytes(cs.sess.nonceTpm);
+            }
+            if (encryptSession != null && resp != null)
+                cryptParam(encryptSession, resp.sessEncInfo(), buf.buffer(), paramsPos, false);
+        }
+        // rc (always 0) || cc || parameters (as sent) to compute the rpHash from
+        byte[] rpData = Helpers.concatenate(new byte[][] {
+                            new byte[4], Helpers.hostToNet(cc),
+                            Arrays.copyOfRange(buf.buffer(), paramsPos, buf.curPos()) });
+        if (auditedCommands.contains(cc) && !auditAlgChanged)
+        {
+            if (commandAuditDigest == null)
+            {
+                commandAuditDigest = new byte[Crypto.digestSize(auditAlg)];
+                ++auditCounter;
+            }
+            commandAuditDigest = Crypto.hash(auditAlg, Helpers.concatenate(new byte[][] {
+                                    commandAuditDigest, Crypto.hash(auditAlg, cpData),
+                                    Crypto.hash(auditAlg, rpData) }));
+        }
+
+        if (numSessions > 0)
+        {
+            for (CommandSession cs : cmdSessions)
+            {
+                if (cs.sess == null)
+                {
+                    buf.writeSizedByteBuf(null);                // nonceTPM
+                    TPMA_SESSION.continueSession.toTpm(buf);
+                    buf.writeSizedByteBuf(null);                // hmac
+                    continue;
+                }
+                Session sess = cs.sess;
+                if ((cs.attrs & TPMA_SESSION.continueSession.toInt()) == 0)
+                    sessions.remove(cs.handle);
+
+                byte[] rpHash = Crypto.hash(sess.hashAlg, rpData);
+                if ((cs.attrs & TPMA_SESSION.audit.toInt()) != 0)
+                {
+                    if ((cs.attrs & TPMA_SESSION.auditReset.toInt()) != 0)
+                        sess.auditDigest = new byte[sess.auditDigest.length];
+                    sess.auditDigest = Crypto.hash(sess.hashAlg, Helpers.concatenate(new byte[][] {
+                                sess.auditDigest, Crypto.hash(sess.hashAlg, cpData), rpHash }));
+                }
+                byte[] key = sessionHmacKey(cs);
+                byte[] hmac = null;
+                if (sess.type != TPM_SE.POLICY || key.length != 0)
+                {
+                    hmac = Crypto.hmac(sess.hashAlg, key, Helpers.concatenate(new byte[][] {
+                                rpHash, sess.nonceTpm, cs.nonceCaller,
+                                new byte[] {(byte)cs.attrs} }));
+                }
+                buf.writeSizedByteBuf(sess.nonceTpm);
+                buf.writeByte((byte)cs.attrs);
+                buf.writeSizedByteBuf(hmac);
+            }
+        }
+        buf.writeNumAtPos(buf.curPos(), 2);
+        return buf.trim();
+    }
+
+    static int pcrBankIndex(TPM_ALG_ID alg)
+    {
+        for (int i = 0; i < PcrBanks.length; ++i)
+            if (PcrBanks[i] == alg)
+                return i;
+        return -1;
+    }
+
+    //
+    // Emulated commands
+    //
+
+    RespStructure getRandom(ReqStructure r, TPM_HANDLE[] handles)
+    {
+        TPM2_GetRandom_REQUEST req = (TPM2_GetRandom_REQUEST)r;
+        GetRandomResponse resp = new GetRandomResponse();
+        resp.randomBytes = new byte[Math.min(req.bytesRequested, MaxRandomBytes)];
+        rand.nextBytes(resp.randomBytes);
+        return resp;
+    }
+
+    RespStructure stirRandom(ReqStructure r, TPM_HANDLE[] handles)
+    {
+        if (((TPM2_StirRandom_REQUEST)r).inData.length > 128)
+            throw new TpmException(TPM_RC.SIZE);
+        return null;
+    }
+
+    RespStructure hash(ReqStructure r, TPM_HANDLE[] handles)
+    {
+        TPM2_Hash_REQUEST req = (TPM2_Hash_REQUEST)r;
+        if (req.data.length > properties.get(TPM_PT.INPUT_BUFFER.toInt()))
+            throw new TpmException(TPM_RC.SIZE);
+        HashResponse resp = new HashResponse();
+        try {
+            resp.outHash = Crypto.hash(req.hashAlg, req.data);
+        } catch (RuntimeException e) {
+            throw new TpmException(TPM_RC.HASH);
+        }
+        resp.validation = new TPMT_TK_HASHCHECK(TPM_HANDLE.NULL, new byte[0]);
+        return resp;
+    }
+
+    RespStructure pcrRead(ReqStructure r, TPM_HANDLE[] handles)
+    {
+        TPM2_PCR_Read_REQUEST req = (TPM2_PCR_Read_REQUEST)r;
+        List<TPMS_PCR_SELECTION> selOut = new ArrayList<TPMS_PCR_SELECTION>();
+        List<TPM2B_DIGEST> values = new ArrayList<TPM2B_DIGEST>();
+        for (TPMS_PCR_SELECTION sel : req.pcrSelectionIn)
+        {
+            int bank = pcrBankIndex(sel.hash);
+            byte[] selected = new byte[sel.pcrSelect.length];
+            if (bank >= 0)
+            {
+                for (int i = 0; i < NumPcrs && i < sel.pcrSelect.length * 8; ++i)
+                {
+                    if ((sel.pcrSelect[i / 8] & (1 << (i % 8))) == 0 ||
+                        values.size() == MaxPcrValuesPerRead)
+                    {
+                        continue;
+                    }
+                    selected[i / 8] |= 1 << (i % 8);
+                    values.add(new TPM2B_DIGEST(pcrs[bank][i].clone()));
+                }
+            }
+            selOut.add(new TPMS_PCR_SELECTION(sel.hash, selected));
+        }
+        PCR_ReadResponse resp = new PCR_ReadResponse();
+        resp.pcrUpdateCounter = pcrUpdateCounter;
+        resp.pcrSelectionOut = selOut.toArray(new TPMS_PCR_SELECTION[selOut.size()]);
+        resp.pcrValues = values.toArray(new TPM2B_DIGEST[values.size()]);
+        return resp;
+    }
+
+    RespStructure pcrExtend(ReqStructure r, TPM_HANDLE[] handles)
+    {
+        TPM2_PCR_Extend_REQUEST req = (TPM2_PCR_Extend_REQUEST)r;
+        int pcr = handles[0].handle;
+        if (pcr < 0 || pcr >= NumPcrs)
+            throw new TpmException(TPM_RC.VALUE);
+        for (TPMT_HA d : req.digests)
+        {
+            int bank = pcrBankIndex(d.hashAlg);
+            if (bank >= 0)
+                pcrs[bank][pcr] = Crypto.hash(d.hashAlg,
+                                              Helpers.concatenate(pcrs[bank][pcr], d.digest));
+        }
+        ++pcrUpdateCounter;
+        return null;
+    }
+
+    NvIndex getNvIndex(TPM_HANDLE h)
+    {
+        NvIndex nv = nvIndices.get(h.handle);
+        if (nv == null)
+            throw new TpmException(TPM_RC.HANDLE);
+        return nv;
+    }
+
+    RespStructure nvDefineSpace(ReqStructure r, TPM_HANDLE[] handles)
+    {
+        TPM2_NV_DefineSpace_REQUEST req = (TPM2_NV_DefineSpace_REQUEST)r;
+        if (req.publicInfo.nvIndex.getType() != TPM_HT.NV_INDEX)
+            throw new TpmException(TPM_RC.HANDLE);
+        if (nvIndices.containsKey(req.publicInfo.nvIndex.handle))
+            throw new TpmException(TPM_RC.NV_DEFINED);
+        if (req.publicInfo.dataSize > 2048)
+            throw new TpmException(TPM_RC.SIZE);
+        nvIndices.put(req.publicInfo.nvIndex.handle, new NvIndex(req.publicInfo, req.auth));
+        return null;
+    }
+
+    RespStructure nvUndefineSpace(ReqStructure r, TPM_HANDLE[] handles)
+    {
+        getNvIndex(handles[1]);
+        nvIndices.remove(handles[1].handle);
+        return null;
+    }
+
+    RespStructure nvReadPublic(ReqStructure r, TPM_HANDLE[] handles)
+    {
+        NvIndex nv = getNvIndex(handles[0]);
+        NV_ReadPublicResponse resp = new NV_ReadPublicResponse();
+        resp.nvPublic = nv.pub;
+        resp.nvName = nvName(nv.pub);
+        return resp;
+    }
+
+    static byte[] nvName(TPMS_NV_PUBLIC pub)
+    {
+        return Helpers.concatenate(Helpers.hostToNet((short)pub.nameAlg.toInt()),
+                                   Crypto.hash(pub.nameAlg, pub.toBytes()));
+    }
+
+    RespStructure nvWrite(ReqStructure r, TPM_HANDLE[] handles)
+    {
+        TPM2_NV_Write_REQUEST req = (TPM2_NV_Write_REQUEST)r;
+        NvIndex nv = getNvIndex(handles[1]);
+        if (req.data.length > properties.get(TPM_PT.NV_BUFFER_MAX.toInt()))
+            throw new TpmException(TPM_RC.VALUE);
+        if (req.offset < 0 || req.offset + req.data.length > nv.data.length)
+            throw new TpmException(TPM_RC.NV_RANGE);
+        System.arraycopy(req.data, 0, nv.data, req.offset, req.data.length);
+        nv.pub.attributes = new TPMA_NV(nv.pub.attributes, TPMA_NV.WRITTEN);
+        return null;
+    }
+
+    RespStructure nvRead(ReqStructure r, TPM_HANDLE[] handles)
+    {
+        TPM2_NV_Read_REQUEST req = (TPM2_NV_Read_REQUEST)r;
+        NvIndex nv = getNvIndex(handles[1]);
+        if (!nv.pub.attributes.hasAttr(TPMA_NV.WRITTEN))
+            throw new TpmException(TPM_RC.NV_UNINITIALIZED);
+        if (req.size > properties.get(TPM_PT.NV_BUFFER_MAX.toInt()))
+            throw new TpmException(TPM_RC.VALUE);
+        if (req.offset < 0 || req.offset + req.size > nv.data.length)
+            throw new TpmException(TPM_RC.NV_RANGE);
+        NV_ReadResponse resp = new NV_ReadResponse();
+        resp.data = Arrays.copyOfRange(nv.data, req.offset, req.offset + req.size);
+        return resp;
+    }
+
+    HashSequence getSequence(TPM_HANDLE h)
+    {
+        Object seq = transients.get(h.handle);
+        if (!(seq instanceof HashSequence))
+            throw new TpmException(TPM_RC.HANDLE);
+        return (HashSequence)seq;
+    }
+
+    HmacKey getHmacKey(TPM_HANDLE h)
+    {
+        Object key = transients.get(h.handle);
+        if (!(key instanceof HmacKey))
+            throw new TpmException(TPM_RC.HANDLE);
+        return (HmacKey)key;
+    }
+
+    TPM_HANDLE addTransient(Object obj)
+    {
+        if (transients.size() == MaxTransients)
+            throw new TpmException(TPM_RC.OBJECT_MEMORY);
+        int h = nextTransient++;
+        transients.put(h, obj);
+        return TPM_HANDLE.from(h);
+    }
+
+    RespStructure hashSequenceStart(ReqStructure r, TPM_HANDLE[] handles)
+    {
+        TPM2_HashSequenceStart_REQUEST req = (TPM2_HashSequenceStart_REQUEST)r;
+        if (Crypto.digestSize(req.hashAlg) == 0)
+            throw new TpmException(TPM_RC.HASH);
+        HashSequenceStartResponse resp = new HashSequenceStartResponse();
+        resp.handle = addTransient(new HashSequence(req.hashAlg, null));
+        return resp;
+    }
+
+    RespStructure sequenceUpdate(ReqStructure r, TPM_HANDLE[] handles)
+    {
+        TPM2_SequenceUpdate_REQUEST req = (TPM2_SequenceUpdate_REQUEST)r;
+        if (req.buffer.length > properties.get(TPM_PT.INPUT_BUFFER.toInt()))
+            throw new TpmException(TPM_RC.SIZE);
+        HashSequence seq = getSequence(handles[0]);
+        seq.data.write(req.buffer, 0, req.buffer.length);
+        return null;
+    }
+
+    RespStructure sequenceComplete(ReqStructure r, TPM_HANDLE[] handles)
+    {
+        TPM2_SequenceComplete_REQUEST req = (TPM2_SequenceComplete_REQUEST)r;
+        HashSequence seq = getSequence(handles[0]);
+        seq.data.write(req.buffer, 0, req.buffer.length);
+        transients.remove(handles[0].handle);
+        SequenceCompleteResponse resp = new SequenceCompleteResponse();
+        byte[] data = seq.data.toByteArray();
+        resp.result = seq.hmacKey == null ? Crypto.hash(seq.hashAlg, data)
+                                          : Crypto.hmac(seq.hashAlg, seq.hmacKey, data);
+        resp.validation = new TPMT_TK_HASHCHECK(TPM_HANDLE.NULL, new byte[0]);
+        return resp;
+    }
+
+    RespStructure loadExternal(ReqStructure r, TPM_HANDLE[] handles)
+    {
+        TPM2_LoadExternal_REQUEST req = (TPM2_LoadExternal_REQUEST)r;
+        if (req.inPrivate == null || !(req.inPrivate.sensitive instanceof TPM2B_SENSITIVE_DATA) ||
+            !(req.inPublic.parameters instanceof TPMS_KEYEDHASH_PARMS))
+        {
+            throw new TpmException(TPM_RC.VALUE);
+        }
+        if (req.inPublic.objectAttributes.hasAttr(TPMA_OBJECT.fixedTPM) ||
+            req.inPublic.objectAttributes.hasAttr(TPMA_OBJECT.fixedParent))
+        {
+            throw new TpmException(TPM_RC.ATTRIBUTES);
+        }
+        TPMU_SCHEME_KEYEDHASH scheme = ((TPMS_KEYEDHASH_PARMS)req.inPublic.parameters).scheme;
+        if (!(scheme instanceof TPMS_SCHEME_HMAC))
+            throw new TpmException(TPM_RC.SCHEME);
+        byte[] key = ((TPM2B_SENSITIVE_DATA)req.inPrivate.sensitive).buffer;
+        LoadExternalResponse resp = new LoadExternalResponse();
+        resp.name = req.inPublic.getName();
+        resp.handle = addTransient(new HmacKey(((TPMS_SCHEME_HMAC)scheme).hashAlg, key,
+                                               req.inPrivate.authValue, resp.name));
+        return resp;
+    }
+
+    RespStructure hmac(ReqStructure r, TPM_HANDLE[] handles)
+    {
+        TPM2_HMAC_REQUEST req = (TPM2_HMAC_REQUEST)r;
+        if (req.buffer.length > properties.get(TPM_PT.INPUT_BUFFER.toInt()))
+            throw new TpmException(TPM_RC.SIZE);
+        HmacKey key = getHmacKey(handles[0]);
+        if (req.hashAlg != key.hashAlg && req.hashAlg != TPM_ALG_ID.NULL)
+            throw new TpmException(TPM_RC.VALUE);
+        HMACResponse resp = new HMACResponse();
+        resp.outHMAC = Crypto.hmac(key.hashAlg, key.key, req.buffer);
+        return resp;
+    }
+
+    RespStructure hmacStart(ReqStructure r, TPM_HANDLE[] handles)
+    {
+        TPM2_HMAC_Start_REQUEST req = (TPM2_HMAC_Start_REQUEST)r;
+        HmacKey key = getHmacKey(handles[0]);
+        if (req.hashAlg != key.hashAlg && req.hashAlg != TPM_ALG_ID.NULL)
+            throw new TpmException(TPM_RC.VALUE);
+        HMAC_StartResponse resp = new HMAC_StartResponse();
+        resp.handle = addTransient(new HashSequence(key.hashAlg, key.key));
+        return resp;
+    }
+
+    RespStructure startAuthSession(ReqStructure r, TPM_HANDLE[] handles)
+    {
+        TPM2_StartAuthSession_REQUEST req = (TPM2_StartAuthSession_REQUEST)r;
+        if (handles[0].handle != TPM_RH.NULL.toInt())
+            throw new TpmException(TPM_RC.HANDLE);
+        if (req.sessionType != TPM_SE.HMAC && req.sessionType != TPM_SE.POLICY)
+            throw new TpmException(TPM_RC.VALUE);
+        int digestSize = Crypto.digestSize(req.authHash);
+        if (digestSize == 0)
+            throw new TpmException(TPM_RC.HASH);
+        if (req.nonceCaller.length < 16 || req.nonceCaller.length > digestSize)
+            throw new TpmException(TPM_RC.SIZE);
+        if (sessions.size() == properties.get(TPM_PT.ACTIVE_SESSIONS_MAX.toInt()))
+            throw new TpmException(TPM_RC.SESSION_MEMORY);
+        TPM_ALG_ID symAlg = req.symmetric.algorithm;
+        if (symAlg != TPM_ALG_ID.NULL && symAlg != TPM_ALG_ID.XOR &&
+            (symAlg != TPM_ALG_ID.AES || req.symmetric.mode != TPM_ALG_ID.CFB))
+        {
+            throw new TpmException(TPM_RC.SYMMETRIC);
+        }
+
+        boolean bound = handles[1].handle != TPM_RH.NULL.toInt();
+        byte[] bindAuth = bound ? AuthSession.trimAuth(entityAuth(handles[1])) : new byte[0];
+        byte[] nonceTpm = new byte[digestSize];
+        rand.nextBytes(nonceTpm);
+        byte[] sessionKey = bindAuth.length == 0 ? new byte[0]
+                : Crypto.KDFa(req.authHash, bindAuth, "ATH", nonceTpm, req.nonceCaller,
+                              digestSize * 8);
+
+        TPM_HT type = req.sessionType == TPM_SE.HMAC ? TPM_HT.HMAC_SESSION : TPM_HT.POLICY_SESSION;
+        int h = type.toInt() << 24 | nextSession++ & 0xFFFFFF;
+        sessions.put(h, new Session(req.sessionType, req.authHash, req.symmetric, sessionKey,
+                                    bound ? entityName(handles[1]) : null, nonceTpm));
+        StartAuthSessionResponse resp = new StartAuthSessionResponse();
+        resp.handle = TPM_HANDLE.from(h);
+        resp.nonceTPM = nonceTpm;
+        return resp;
+    }
+
+    RespStructure policyRestart(ReqStructure r, TPM_HANDLE[] handles)
+    {
+        // The policy digest is not emulated
+        if (handles[0].getType() != TPM_HT.POLICY_SESSION)
+            throw new TpmException(TPM_RC.HANDLE);
+        Session sess = sessions.get(handles[0].handle);
+        if (sess != null)
+            sess.policyAuthValue = false;
+        return null;
+    }
+
+    RespStructure policyAuthValue(ReqStructure r, TPM_HANDLE[] handles)
+    {
+        if (handles[0].getType() != TPM_HT.POLICY_SESSION)
+            throw new TpmException(TPM_RC.HANDLE);
+        Session sess = sessions.get(handles[0].handle);
+        if (sess != null)
+            sess.policyAuthValue = true;
+        return null;
+    }
+
+    RespStructure getCapability(ReqStructure r, TPM_HANDLE[] handles)
+    {
+        TPM2_GetCapability_REQUEST req = (TPM2_GetCapability_REQUEST)r;
+        GetCapabilityResponse resp = new GetCapabilityResponse();
+        boolean moreData = false;
+        if (req.capability == TPM_CAP.TPM_PROPERTIES)
+        {
+            List<TPMS_TAGGED_PROPERTY> props = new ArrayList<TPMS_TAGGED_PROPERTY>();
+            for (Map.Entry<Integer, Integer> p : properties.tailMap(req.property).entrySet())
+            {
+                if (props.size() == req.propertyCount)
+                {
+                    moreData = true;
+                    break;
+                }
+                props.add(new TPMS_TAGGED_PROPERTY(TPM_PT.fromInt(p.getKey()), p.getValue()));
+            }
+            resp.capabilityData = new TPML_TAGGED_TPM_PROPERTY(
+                                        props.toArray(new TPMS_TAGGED_PROPERTY[props.size()]));
+        }
+        else if (req.capability == TPM_CAP.COMMANDS)
+        {
+            List<TPMA_CC> attrs = new ArrayList<TPMA_CC>();
+            for (Map.Entry<Integer, EmulatedCommand> c : emulated.tailMap(req.property).entrySet())
+            {
+                if (attrs.size() == req.propertyCount)
+                {
+                    moreData = true;
+                    break;
+                }
+                int numHandles = c.getValue().reqFactory.get().numHandles();
+                boolean rHandle = c.getKey() == TPM_CC.HashSequenceStart.toInt() ||
+                                  c.getKey() == TPM_CC.HMAC_Start.toInt() ||
+                                  c.getKey() == TPM_CC.LoadExternal.toInt() ||
+                                  c.getKey() == TPM_CC.StartAuthSession.toInt();
+                attrs.add(TPMA_CC.fromInt(c.getKey() | numHandles << 25 | (rHandle ? 1 << 28 : 0)));
+            }
+            resp.capabilityData = new TPML_CCA(attrs.toArray(new TPMA_CC[attrs.size()]));
+        }
+        else if (req.capability == TPM_CAP.HANDLES)
+        {
+            List<TPM_HANDLE> hh = new ArrayList<TPM_HANDLE>();
+            int type = req.property >>> 24;
+            TreeMap<Integer, ?> objects = type == TPM_HT.NV_INDEX.toInt() ? nvIndices
+                                        : type == TPM_HT.TRANSIENT.toInt() ? transients : null;
+            if (objects != null)
+            {
+                for (int h : objects.tailMap(req.property).keySet())
+                {
+                    if (hh.size() == req.propertyCount)
+                    {
+                        moreData = true;
+                        break;
+                    }
+                    hh.add(TPM_HANDLE.from(h));
+                }
+            }
+            resp.capabilityData = new TPML_HANDLE(hh.toArray(new TPM_HANDLE[hh.size()]));
+        }
+        else if (req.capability == TPM_CAP.PCRS)
+        {
+            TPMS_PCR_SELECTION[] banks = new TPMS_PCR_SELECTION[PcrBanks.length];
+            for (int i = 0; i < PcrBanks.length; ++i)
+            {
+                banks[i] = new TPMS_PCR_SELECTION(PcrBanks[i],
+                                                  new byte[] {(byte)0xFF, (byte)0xFF, (byte)0xFF});
+            }
+            resp.capabilityData = new TPML_PCR_SELECTION(banks);
+        }
+        else
+            throw new TpmException(TPM_RC.VALUE);
+        resp.moreData = (byte)(moreData ? 1 : 0);
+        return resp;
+    }
+
+    RespStructure setCommandCodeAuditStatus(ReqStructure r, TPM_HANDLE[] handles)
+    {
+        TPM2_SetCommandCodeAuditStatus_REQUEST req = (TPM2_SetCommandCodeAuditStatus_REQUEST)r;
+        int auth = handles[0].handle;
+        if (auth != TPM_RH.OWNER.toInt() && auth != TPM_RH.PLATFORM.toInt())
+            throw new TpmException(TPM_RC.HIERARCHY);
+        if (req.auditAlg != TPM_ALG_ID.NULL && req.auditAlg != auditAlg)
+        {
+            if (Crypto.digestSize(req.auditAlg) == 0)
+                throw new TpmException(TPM_RC.HASH);
+            if (req.setList.length != 0 || req.clearList.length != 0)
+                throw new TpmException(TPM_RC.VALUE);
+            // The digest is cleared, and this command is not audited
+            auditAlg = req.auditAlg;
+            commandAuditDigest = null;
+            auditAlgChanged = true;
+            return null;
+        }
+        for (TPM_CC cc : req.setList)
+            auditedCommands.add(cc.toInt());
+        for (TPM_CC cc : req.clearList)
+            if (cc.toInt() != TPM_CC.SetCommandCodeAuditStatus.toInt())
+                auditedCommands.remove(cc.toInt());
+        return null;
+    }
+
+    RespStructure getCommandAuditDigest(ReqStructure r, TPM_HANDLE[] handles)
+    {
+        TPM2_GetCommandAuditDigest_REQUEST req = (TPM2_GetCommandAuditDigest_REQUEST)r;
+        TpmBuffer codes = new TpmBuffer();
+        for (int cc : auditedCommands)
+            codes.writeInt(cc);
+        TPMS_COMMAND_AUDIT_INFO info = new TPMS_COMMAND_AUDIT_INFO(auditCounter, auditAlg,
+                commandAuditDigest == null ? new byte[0] : commandAuditDigest,
+                Crypto.hash(auditAlg, codes.trim()));
+        GetCommandAuditDigestResponse resp = new GetCommandAuditDigestResponse();
+        resp.auditInfo = attest(handles[1], req.qualifyingData, info);
+        resp.signature = sign(handles[1], resp.auditInfo);
+        // The digest is cleared when it is signed
+        if (handles[1].handle != TPM_RH.NULL.toInt())
+            commandAuditDigest = null;
+        return resp;
+    }
+
+    RespStructure getSessionAuditDigest(ReqStructure r, TPM_HANDLE[] handles)
+    {
+        TPM2_GetSessionAuditDigest_REQUEST req = (TPM2_GetSessionAuditDigest_REQUEST)r;
+        Session sess = sessions.get(handles[2].handle);
+        if (sess == null)
+            throw new TpmException(TPM_RC.HANDLE);
+        GetSessionAuditDigestResponse resp = new GetSessionAuditDigestResponse();
+        resp.auditInfo = attest(handles[1], req.qualifyingData,
+                                new TPMS_SESSION_AUDIT_INFO((byte)0, sess.auditDigest));
+        resp.signature = sign(handles[1], resp.auditInfo);
+        return resp;
+    }
+
+    TPMS_ATTEST attest(TPM_HANDLE signHandle, byte[] qualifyingData, TPMU_ATTEST attested)
+    {
+        boolean signed = signHandle.handle != TPM_RH.NULL.toInt();
+        if (signed)
+            getHmacKey(signHandle);
+        return new TPMS_ATTEST(TPM_GENERATED.VALUE, signed ? entityName(signHandle) : new byte[0],
+                               qualifyingData, new TPMS_CLOCK_INFO(numCommands, 0, 0, (byte)1), 0,
+                               attested);
+    }
+
+    /** Signs the attestation with an HMAC key (if any) */
+    TPMU_SIGNATURE sign(TPM_HANDLE signHandle, TPMS_ATTEST attest)
+    {
+        if (signHandle.handle == TPM_RH.NULL.toInt())
+            return new TPMS_NULL_SIGNATURE();
+        HmacKey key = getHmacKey(signHandle);
+        return new TPMT_HA(key.hashAlg, Crypto.hmac(key.hashAlg, key.key, attest.toBytes()));
+    }
+
+    RespStructure flushContext(ReqStructure r, TPM_HANDLE[] handles)
+    {
+        // Only the handle type is checked for the sessions not started by the emulator
+        TPM_HANDLE h = ((TPM2_FlushContext_REQUEST)r).flushHandle;
+        TPM_HT type = h.getType();
+        if (type == TPM_HT.TRANSIENT)
+        {
+            if (!transients.containsKey(h.handle))
+                throw new TpmException(TPM_RC.HANDLE);
+        }
+        else if (type != TPM_HT.HMAC_SESSION && type != TPM_HT.POLICY_SESSION)
+            throw new TpmException(TPM_RC.HANDLE);
+        transients.remove(h.handle);
+        sessions.remove(h.handle);
+        return null;
+    }
+}
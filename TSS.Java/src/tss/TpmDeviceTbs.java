@@ -1,6 +1,9 @@
 package tss;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 import com.sun.jna.*;
 import com.sun.jna.ptr.IntByReference;
@@ -14,6 +17,11 @@ public class TpmDeviceTbs extends TpmDevice
 {
     int tbsHandle = -1;
     byte[] lastTpmResponse = null;
+
+    static final int TBS_E_COMMAND_CANCELED = 0x8028400D;
+
+    /** Issues Tbsip_Cancel_Commands() for the commands exceeding their deadlines */
+    static ScheduledExecutorService cancelTimer = null;
     
 
     public interface TBSLibrary extends StdCallLibrary 
@@ -37,6 +45,7 @@ public class TpmDeviceTbs extends TpmDevice
         int Tbsip_Submit_Command(int handle, int locality, int priority,
                                 byte[] inBuf, int inBufLen, 
                                 PointerByReference outBuf, IntByReference outBufLen); 
+        int Tbsip_Cancel_Commands(int handle);
     }
 
 
@@ -66,12 +75,56 @@ public class TpmDeviceTbs extends TpmDevice
     @Override
     public void close()
      {
-        // todo: Auto-generated method stub
+        shutdownCommandExecutor();
         TBSLibrary.INSTANCE.Tbsip_Context_Close(tbsHandle);
     }
 
     @Override
     public void dispatchCommand(byte[] command) 
+    {
+        lastTpmResponse = submitCommand(command, System.nanoTime());
+    }
+
+    /** TBS submission is stateless, so asynchronous commands bypass lastTpmResponse.
+     *  As Tbsip_Submit_Command() blocks until the command completes, the deadline is enforced
+     *  by cancelling the command from the timer thread. Tbsip_Cancel_Commands() cancels any
+     *  command of the context, and the timer task may be already running when this command
+     *  completes, so the task skips the call once the command is marked completed.
+     */
+    @Override
+    protected byte[] executeCommand(byte[] command, int timeoutMs)
+    {
+        long startNs = System.nanoTime();
+        if (timeoutMs <= 0)
+            return submitCommand(command, startNs);
+
+        boolean[] completed = { false };
+        ScheduledFuture<?> cancel = cancelTimer().schedule(() -> {
+                    synchronized (completed) {
+                        if (!completed[0])
+                            TBSLibrary.INSTANCE.Tbsip_Cancel_Commands(tbsHandle);
+                    }
+                }, timeoutMs, TimeUnit.MILLISECONDS);
+        try {
+            return submitCommand(command, startNs);
+        } finally {
+            synchronized (completed) {
+                completed[0] = true;
+            }
+            cancel.cancel(false);
+        }
+    }
+
+    static synchronized ScheduledExecutorService cancelTimer()
+    {
+        if (cancelTimer == null)
+        {
+            cancelTimer = Helpers.daemonScheduler("TpmDeviceTbs cancel timer");
+        }
+        return cancelTimer;
+    }
+
+    byte[] submitCommand(byte[] command, long startNs)
     {
         Memory buf = new Memory(4096);
         PointerByReference response = new PointerByReference();
@@ -81,13 +134,19 @@ public class TpmDeviceTbs extends TpmDevice
         responseLen.setValue(4096);
         
         int res = TBSLibrary.INSTANCE.Tbsip_Submit_Command(tbsHandle, 0,  0,  command, command.length, response, responseLen);
+        if (res == TBS_E_COMMAND_CANCELED)
+        {
+            throw new TpmTimeoutException("TPM command cancelled by TBS",
+                                          (System.nanoTime() - startNs) / 1000000, TPM_RC.CANCELED);
+        }
         if(res!=0)
         {
             throw new TpmException("Tbsip_Submit_Command failed.  Error code is:" + Integer.toHexString(res));
         }    
         int numBytesReturned = responseLen.getValue();
-        lastTpmResponse = new byte[numBytesReturned];
-        buf.read(0, lastTpmResponse, 0, numBytesReturned);
+        byte[] resp = new byte[numBytesReturned];
+        buf.read(0, resp, 0, numBytesReturned);
+        return resp;
     }
 
     @Override
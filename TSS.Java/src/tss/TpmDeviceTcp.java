@@ -1,6 +1,15 @@
 package tss;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BooleanSupplier;
+
+import tss.tpm.TPM_RC;
 
 public class TpmDeviceTcp extends TpmDevice 
 {
@@ -10,9 +19,26 @@ public class TpmDeviceTcp extends TpmDevice
     int port;
     boolean linuxTrm;
     boolean oldTrm = true;
+
+    /** Time in milliseconds the TPM is given to respond to SignalCancelOn after a deadline expires */
+    static final int CancelGracePeriod = 1000;
     
-    boolean responsePending;
     int currentLocality;
+
+    /** Responses of the commands sent over the command connection */
+    final ResponseQueue responses = new ResponseQueue() {
+        @Override
+        byte[] receive(long startNs, int timeoutMs) { return receiveResponse(startNs, timeoutMs); }
+    };
+
+    /** Last command sent by dispatchCommand(), whose response has not been collected yet */
+    ResponseQueue.Entry dispatched;
+
+    /** SignalCancelOn has been sent for the command, whose response is being awaited */
+    boolean cancelPending;
+
+    /** Platform hash sequence in progress (if any) */
+    SignalHashStream hashStream;
     
     public TpmDeviceTcp(String hostName, int port, boolean linuxTrm)
     {
@@ -93,6 +119,8 @@ public class TpmDeviceTcp extends TpmDevice
     @Override
     public void close()
     {
+        shutdownCommandExecutor();
+        responses.failAll(new TpmException("TPM connection closed before the response was received"));
         if (CommandSocket != null) {
             writeInt(CommandSocket, TcpTpmCommands.SessionEnd.Val);
             try { CommandSocket.close(); } catch (IOException ioe) {}
@@ -108,6 +136,63 @@ public class TpmDeviceTcp extends TpmDevice
     @Override
     public void dispatchCommand(byte[] commandBuffer) 
     {
+        dispatched = sendCommand(commandBuffer, 0);
+    }
+    
+    @Override
+    public byte[] getResponse()
+    {
+        return getResponse(0);
+    }
+
+    /** If the response does not arrive in time, the command is cancelled via SignalCancelOn.
+     *  If the TPM does not respond to the cancellation within CancelGracePeriod ms, or the
+     *  signal connection is not available, the connection is closed.
+     */
+    @Override
+    public byte[] getResponse(int timeoutMs)
+    {
+        if(dispatched == null)
+        {
+            throw new TpmException("Cannot getResponse() without a prior dispatchCommand()");
+        }
+        ResponseQueue.Entry cmd = dispatched;
+        dispatched = null;
+        cmd.timeoutMs = timeoutMs;
+        return responses.await(cmd);
+    }
+
+    /** The simulator protocol processes commands strictly in order, so the command is
+     *  written right away, and its response is collected by the command executor thread.
+     *  This allows pipelining several commands over the same connection.
+     */
+    @Override
+    public synchronized CompletableFuture<byte[]> submitAsync(byte[] cmdBuf, int timeoutMs)
+    {
+        ResponseQueue.Entry cmd;
+        try {
+            cmd = sendCommand(cmdBuf, timeoutMs);
+        } catch (TpmException e) {
+            return failedFuture(e);
+        }
+        return CompletableFuture.supplyAsync(() -> responses.await(cmd), commandExecutor());
+    }
+
+    /** The response is read in turn with the responses to the asynchronously submitted
+     *  commands sent before it */
+    @Override
+    protected byte[] executeCommand(byte[] cmdBuf, int timeoutMs)
+    {
+        return responses.await(sendCommand(cmdBuf, timeoutMs));
+    }
+
+    /** Sends the command, and registers it in the response queue
+     *  @return  Entry to await the response with */
+    synchronized ResponseQueue.Entry sendCommand(byte[] commandBuffer, int timeoutMs)
+    {
+        checkNoHashStream(hashStream);
+        if (CommandSocket == null)
+            throw new TpmException("TPM device is not connected");
         writeInt(CommandSocket, TcpTpmCommands.SendCommand.Val);
         writeBuf(CommandSocket, new byte[] {(byte) currentLocality});
         if (linuxTrm && oldTrm)
@@ -120,39 +205,101 @@ public class TpmDeviceTcp extends TpmDevice
         writeInt(CommandSocket, commandBuffer.length);
         try {
             CommandSocket.getOutputStream().write(commandBuffer);
-            responsePending = true;
         } catch (IOException e) {
             throw new TpmException("Error sending data to the TPM", e);
         }
+        return responses.sent(timeoutMs);
     }
-    
-    @Override
-    public byte[] getResponse()
+
+    byte[] receiveResponse(long startNs, int timeoutMs)
     {
-        if(!responsePending)
-        {
-            throw new TpmException("Cannot getResponse() without a prior dispatchCommand()");
-        }
-        responsePending = false;
-        byte[] outBuf = readEncapsulated(CommandSocket);
+        if (CommandSocket == null)
+            throw new TpmException("TPM device is not connected");
+        byte[] sizeBuf = timeoutMs > 0 ? readRespSize(startNs, timeoutMs) : readBuf(CommandSocket, 4);
+        byte[] outBuf = readBuf(CommandSocket, Helpers.netToHost(sizeBuf));
         readInt(CommandSocket);
-        return outBuf;
+        return cancelPending ? completeCancellation(outBuf, startNs) : outBuf;
+    }
+
+    /** Reads the response size prefix, cancelling the command if it does not arrive in time */
+    byte[] readRespSize(long startNs, int timeoutMs)
+    {
+        byte[] buf = new byte[4];
+        int numRead = 0;
+        long deadline = startNs + timeoutMs * 1000000L;
+        try {
+            while (numRead < buf.length)
+            {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0)
+                {
+                    if (cancelPending || SignalSocket == null)
+                        abandonCommand(startNs);
+                    sendCmdAndGetAck(SignalSocket, TcpTpmCommands.SignalCancelOn);
+                    cancelPending = true;
+                    deadline += CancelGracePeriod * 1000000L;
+                    continue;
+                }
+                CommandSocket.setSoTimeout((int)Math.max(1, remaining / 1000000));
+                try {
+                    int sz = CommandSocket.getInputStream().read(buf, numRead, buf.length - numRead);
+                    if (sz < 0)
+                        throw new TpmException("TPM connection closed by the remote side");
+                    numRead += sz;
+                } catch (SocketTimeoutException e) {}
+            }
+            CommandSocket.setSoTimeout(0);
+        } catch (IOException e) {
+            throw new TpmException("TPM IO error", e);
+        }
+        return buf;
+    }
+
+    /** Response to a cancelled command has been received */
+    byte[] completeCancellation(byte[] resp, long startNs)
+    {
+        cancelPending = false;
+        sendCmdAndGetAck(SignalSocket, TcpTpmCommands.SignalCancelOff);
+        if (isCancelledResponse(resp))
+            throw new TpmTimeoutException("TPM command cancelled", elapsedMs(startNs), TPM_RC.CANCELED);
+        // The command completed before the cancellation took effect
+        return resp;
+    }
+
+    /** Closes the connection, as the TPM does not respond even to the command cancellation.
+     *  The commands pipelined after this one fail without waiting for their responses. */
+    void abandonCommand(long startNs)
+    {
+        cancelPending = false;
+        responses.failAll(new TpmException("TPM connection abandoned after a command timeout"));
+        close();
+        throw new TpmTimeoutException("TPM command timed out, connection closed", elapsedMs(startNs));
+    }
+
+    static boolean isCancelledResponse(byte[] resp)
+    {
+        return resp.length >= 10 && Helpers.netToHost(Arrays.copyOfRange(resp, 6, 10)) == TPM_RC.CANCELED.toInt();
+    }
+
+    static long elapsedMs(long startNs)
+    {
+        return (System.nanoTime() - startNs) / 1000000;
     }
     
     @Override
     public boolean responseReady()
     {
-        if(!responsePending)
+        if(dispatched == null)
         {
             throw new TpmException("Cannot responseReady() without a prior dispatchCommand()");
         }
-        int available;
-        try {
-            available = CommandSocket.getInputStream().available();
-        } catch (IOException e) {
-            throw new TpmException("Error getting data from the TPM", e);
-        }
-        return (available>0);
+        return responses.ready(dispatched, () -> {
+            try {
+                return CommandSocket.getInputStream().available() > 0;
+            } catch (IOException e) {
+                throw new TpmException("Error getting data from the TPM", e);
+            }
+        });
     }
     
     @Override
@@ -173,10 +320,51 @@ public class TpmDeviceTcp extends TpmDevice
     {
         currentLocality = locality;
     }
+
+    @Override
+    public OutputStream platformHashStream()
+    {
+        if (linuxTrm)
+            throwUnsupported("platformHashStream");
+        checkNoHashStream(hashStream);
+        checkNoPendingResponses(responses);
+        hashStream = new SignalHashStream() {
+            @Override
+            void send(byte[] buf, int len)
+            {
+                try {
+                    CommandSocket.getOutputStream().write(buf, 0, len);
+                } catch (IOException e) {
+                    throw new TpmException("Error sending data to the TPM", e);
+                }
+            }
+
+            @Override
+            void readAck() { readInt(CommandSocket); }
+
+            @Override
+            void finished() { hashStream = null; }
+        };
+        hashStream.start();
+        return hashStream;
+    }
+
+    static void checkNoHashStream(SignalHashStream hashStream)
+    {
+        if (hashStream != null)
+            throw new TpmException("The platform hash stream must be closed before sending other TPM commands");
+    }
+
+    /** The acknowledgements of the platform hash signals are read from the command connection */
+    static void checkNoPendingResponses(ResponseQueue responses)
+    {
+        if (!responses.isEmpty())
+            throw new TpmException("Responses to the sent TPM commands must be received before a platform hash sequence");
+    }
     
     public void sendCmdAndGetAck(Socket s, TcpTpmCommands comm) 
     {
-        writeEncapsulated(s, Helpers.hostToNet(comm.getVal()));
+        writeInt(s, comm.getVal());
         getAck(s);
     }
     private void getAck(Socket s) 
@@ -226,19 +414,215 @@ public class TpmDeviceTcp extends TpmDevice
         return buf;
     }
     
-    private void writeEncapsulated(Socket s, byte[] buf) 
+    /**
+     * Feeds the platform hash signals (_TPM_Hash_Start/Data/End) of the simulator protocol.
+     *
+     * The signals travel over the TPM command connection, and each one is acknowledged
+     * by the simulator. The data are sent in large chunks, and the acknowledgements are
+     * collected lazily (up to MaxPendingAcks of them may be outstanding), so that the
+     * transfer is not stalled by a round trip per chunk.
+     */
+    static abstract class SignalHashStream extends OutputStream
     {
-        writeBuf(s, Helpers.hostToNet(buf.length));
-        writeBuf(s, buf);
+        static final int ChunkSize = 0x10000;
+        static final int MaxPendingAcks = 32;
+
+        // {SignalHashData, dataSize, data}
+        final byte[] chunk = new byte[8 + ChunkSize];
+        int chunkLen = 0;
+        int pendingAcks = 0;
+        boolean closed = false;
+
+        /** Writes the given bytes to the TPM command connection */
+        abstract void send(byte[] buf, int len);
+
+        /** Reads a single acknowledgement from the TPM command connection */
+        abstract void readAck();
+
+        /** Called when the stream is closed */
+        abstract void finished();
+
+        void start()
+        {
+            signal(TcpTpmCommands.SignalHashStart);
+        }
+
+        void signal(TcpTpmCommands sig)
+        {
+            send(Helpers.hostToNet(sig.getVal()), 4);
+            sent();
+        }
+
+        /** Accounts for a sent signal, and collects the acknowledgements when too many are pending */
+        void sent()
+        {
+            if (++pendingAcks > MaxPendingAcks)
+                drainAcks(MaxPendingAcks / 2);
+        }
+
+        void drainAcks(int maxPending)
+        {
+            for (; pendingAcks > maxPending; --pendingAcks)
+                readAck();
+        }
+
+        @Override
+        public void write(int b) throws IOException
+        {
+            write(new byte[] {(byte)b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException
+        {
+            if (closed)
+                throw new IOException("Platform hash stream is closed");
+            while (len > 0)
+            {
+                int n = Math.min(len, ChunkSize - chunkLen);
+                System.arraycopy(b, off, chunk, 8 + chunkLen, n);
+                chunkLen += n;
+                off += n;
+                len -= n;
+                if (chunkLen == ChunkSize)
+                    flush();
+            }
+        }
+
+        /** Sends the buffered data without waiting for the acknowledgement */
+        @Override
+        public void flush()
+        {
+            if (chunkLen == 0)
+                return;
+            ByteBuffer.wrap(chunk).putInt(TcpTpmCommands.SignalHashData.getVal()).putInt(chunkLen);
+            send(chunk, 8 + chunkLen);
+            chunkLen = 0;
+            sent();
+        }
+
+        /** Sends the remaining data, completes the hash sequence and waits for all acknowledgements */
+        @Override
+        public void close()
+        {
+            if (closed)
+                return;
+            closed = true;
+            try {
+                flush();
+                signal(TcpTpmCommands.SignalHashEnd);
+                drainAcks(0);
+            } finally {
+                finished();
+            }
+        }
     }
 
-    private byte[] readEncapsulated(Socket s) 
+    /**
+     * Responses of the commands sent over a TPM simulator protocol connection.
+     *
+     * The TPM responds to the commands in the order they were sent. The thread awaiting
+     * a response (a synchronous caller or the command executor) also reads the responses
+     * preceding it, and keeps them for their commands. Thus synchronous and asynchronously
+     * submitted commands can be mixed, while only one thread at a time reads the connection.
+     */
+    static abstract class ResponseQueue
     {
-        byte[] t = readBuf(s, 4);
-        int sz = Helpers.netToHost(t);
-        return readBuf(s, sz);
+        /** Command sent to the TPM */
+        static class Entry
+        {
+            /** Time the command was sent */
+            final long startNs = System.nanoTime();
+
+            /** Deadline in milliseconds since the command was sent, or 0 for none */
+            volatile int timeoutMs;
+
+            /** Response to the command, or the error receiving it (valid once received is set) */
+            byte[] resp;
+            RuntimeException error;
+            volatile boolean received;
+
+            Entry(int timeoutMs)
+            {
+                this.timeoutMs = timeoutMs;
+            }
+        }
+
+        /** Commands, whose responses have not been read yet, in the order they were sent */
+        final ArrayDeque<Entry> inFlight = new ArrayDeque<Entry>();
+
+        /** Serializes reading the responses */
+        final Object recvLock = new Object();
+
+        /** Reads the next response from the connection */
+        abstract byte[] receive(long startNs, int timeoutMs);
+
+        /** Registers the command that has just been sent
+         *  @return  Entry to await the response with */
+        synchronized Entry sent(int timeoutMs)
+        {
+            Entry e = new Entry(timeoutMs);
+            inFlight.add(e);
+            return e;
+        }
+
+        synchronized boolean isEmpty()
+        {
+            return inFlight.isEmpty();
+        }
+
+        /** @return  Response to the given command, read after the responses preceding it */
+        byte[] await(Entry e)
+        {
+            synchronized (recvLock) {
+                while (!e.received)
+                {
+                    Entry next;
+                    synchronized (this) {
+                        next = inFlight.poll();
+                    }
+                    if (next == null)
+                        break;  // failed by failAll()
+                    try {
+                        next.resp = receive(next.startNs, next.timeoutMs);
+                    } catch (RuntimeException ex) {
+                        next.error = ex;
+                    }
+                    next.received = true;
+                }
+            }
+            if (e.error != null)
+                throw e.error;
+            return e.resp;
+        }
+
+        /** Fails the commands still awaiting their responses (e.g. as the connection is closed) */
+        synchronized void failAll(RuntimeException error)
+        {
+            for (Entry e : inFlight)
+            {
+                e.error = error;
+                e.received = true;
+            }
+            inFlight.clear();
+        }
+
+        /** @return  Whether the response to the given command has been read, or it is the next
+         *           one to read, and the given check reports the data available */
+        boolean ready(Entry e, BooleanSupplier dataAvailable)
+        {
+            synchronized (recvLock) {
+                if (e.received)
+                    return true;
+                synchronized (this) {
+                    if (inFlight.peek() != e)
+                        return false;
+                }
+                return dataAvailable.getAsBoolean();
+            }
+        }
     }
-    
+
     /**
      * Commands of the Microsoft TPM simulator TCP protocol
      */
@@ -0,0 +1,459 @@
+package tss;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.SocketTimeoutException;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.CompletableFuture;
+
+import tss.TpmDeviceTcp.ResponseQueue;
+import tss.TpmDeviceTcp.SignalHashStream;
+import tss.TpmDeviceTcp.TcpTpmCommands;
+import tss.tpm.TPM_RC;
+
+/**
+ * TPM simulator protocol transport built on NIO socket channels.
+ *
+ * Speaks the same wire protocol as {@link TpmDeviceTcp}, but sends each TPM command
+ * with a single gathering write (protocol header + command buffer), normally receives
+ * the whole response with a single read, disables Nagle's algorithm on both sockets,
+ * and reuses its direct byte buffers across commands.
+ */
+public class TpmDeviceTcpNio extends TpmDevice
+{
+    /** Initial capacity of the command/response body buffers. They grow on demand. */
+    static final int DefaultBufSize = 4096;
+
+    protected SocketChannel CommandChannel = null;
+    protected SocketChannel SignalChannel = null;
+    String hostName;
+    int port;
+    boolean linuxTrm;
+    boolean oldTrm = true;
+
+    int currentLocality;
+
+    /** Responses of the commands sent over the command channel */
+    final ResponseQueue responses = new ResponseQueue() {
+        @Override
+        byte[] receive(long startNs, int timeoutMs) { return receiveResponse(startNs, timeoutMs); }
+    };
+
+    /** Last command sent by dispatchCommand(), whose response has not been collected yet */
+    ResponseQueue.Entry dispatched;
+
+    /** SignalCancelOn has been sent for the command, whose response is being awaited */
+    boolean cancelPending;
+
+    // {SendCommand, locality, [debugMsgLevel, commandSent,] cmdSize}
+    final ByteBuffer cmdHeader = ByteBuffer.allocateDirect(16);
+    ByteBuffer cmdBody = ByteBuffer.allocateDirect(DefaultBufSize);
+    final ByteBuffer[] cmdBufs = new ByteBuffer[2];
+
+    // Inbound data (response size prefix, response body and trailing ack) not consumed yet
+    ByteBuffer respBuf = ByteBuffer.allocateDirect(DefaultBufSize);
+
+    // Signal commands and their acks
+    final ByteBuffer sigBuf = ByteBuffer.allocateDirect(4);
+
+    /** Platform hash sequence in progress (if any) */
+    SignalHashStream hashStream;
+
+    public TpmDeviceTcpNio(String hostName, int port, boolean linuxTrm)
+    {
+        init(hostName, port, linuxTrm);
+    }
+
+    public TpmDeviceTcpNio(String hostName, int port)
+    {
+        init(hostName, port, false);
+    }
+
+    void init(String hostName, int port, boolean linuxTrm)
+    {
+        this.hostName = hostName;
+        this.port = port;
+        this.linuxTrm = linuxTrm;
+        TpmInfo |= TpmSocketConn;
+        if (!linuxTrm)
+            TpmInfo |= TpmPlatformAvailable | TpmSupportsPP;
+    }
+
+    static SocketChannel openChannel(String hostName, int port) throws IOException
+    {
+        SocketChannel ch = SocketChannel.open();
+        try {
+            ch.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            ch.connect(new InetSocketAddress(hostName, port));
+        } catch (IOException e) {
+            ch.close();
+            throw e;
+        }
+        return ch;
+    }
+
+    static void closeChannel(SocketChannel ch)
+    {
+        if (ch != null)
+            try { ch.close(); } catch (IOException ioe) {}
+    }
+
+    @Override
+    public boolean connect()
+    {
+        respBuf.clear();
+        try {
+            CommandChannel = openChannel(hostName, port);
+            if (!linuxTrm)
+                SignalChannel = openChannel(hostName, port + 1);
+        } catch (Exception e) {
+            closeChannel(CommandChannel);
+            CommandChannel = null;
+            System.err.println("Failed to connect to the TPM at " + hostName + ":" +
+                               port + ": " +  e.getMessage());
+            return false;
+        }
+
+        if (linuxTrm)
+        {
+            byte[] cmdGetRandom = new byte[] {
+                    (byte)0x80, 0x01,       // TPM_ST_NO_SESSIONS
+                    0, 0, 0, 0x0C,          // length
+                    0, 0, 0x01, 0x7B,       // TPM_CC_GetRandom
+                    0, 0x08                 // Command parameter - num random bytes to generate
+            };
+
+            byte[] resp = null;
+            try {
+                dispatchCommand(cmdGetRandom);
+                resp = getResponse();
+            }
+            catch (Exception e) {}
+            if (resp == null || resp.length != 20)
+            {
+                closeChannel(CommandChannel);
+                CommandChannel = null;
+                dispatched = null;
+                if (!oldTrm)
+                {
+                    System.err.println("Unknown user mode TRM protocol version");
+                    return false;
+                }
+                oldTrm = false;
+                return connect();
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void close()
+    {
+        shutdownCommandExecutor();
+        responses.failAll(new TpmException("TPM connection closed before the response was received"));
+        if (CommandChannel != null) {
+            try { sendSignal(CommandChannel, TcpTpmCommands.SessionEnd, false); } catch (TpmException e) {}
+            closeChannel(CommandChannel);
+            CommandChannel = null;
+        }
+        if (SignalChannel != null) {
+            try { sendSignal(SignalChannel, TcpTpmCommands.SessionEnd, false); } catch (TpmException e) {}
+            closeChannel(SignalChannel);
+            SignalChannel = null;
+        }
+    }
+
+    @Override
+    public void dispatchCommand(byte[] commandBuffer)
+    {
+        dispatched = sendCommand(commandBuffer, 0);
+    }
+
+    @Override
+    public byte[] getResponse()
+    {
+        return getResponse(0);
+    }
+
+    /** Expired commands are cancelled the same way as by {@link TpmDeviceTcp#getResponse(int)} */
+    @Override
+    public byte[] getResponse(int timeoutMs)
+    {
+        if (dispatched == null)
+            throw new TpmException("Cannot getResponse() without a prior dispatchCommand()");
+        ResponseQueue.Entry cmd = dispatched;
+        dispatched = null;
+        cmd.timeoutMs = timeoutMs;
+        return responses.await(cmd);
+    }
+
+    /** Pipelines the command over the command channel (see {@link TpmDeviceTcp#submitAsync(byte[], int)}) */
+    @Override
+    public synchronized CompletableFuture<byte[]> submitAsync(byte[] cmdBuf, int timeoutMs)
+    {
+        ResponseQueue.Entry cmd;
+        try {
+            cmd = sendCommand(cmdBuf, timeoutMs);
+        } catch (TpmException e) {
+            return failedFuture(e);
+        }
+        return CompletableFuture.supplyAsync(() -> responses.await(cmd), commandExecutor());
+    }
+
+    /** Orders the response with those of the asynchronous commands (see
+     *  {@link TpmDeviceTcp#executeCommand(byte[], int)}) */
+    @Override
+    protected byte[] executeCommand(byte[] cmdBuf, int timeoutMs)
+    {
+        return responses.await(sendCommand(cmdBuf, timeoutMs));
+    }
+
+    /** Sends the command, and registers it in the response queue
+     *  @return  Entry to await the response with */
+    synchronized ResponseQueue.Entry sendCommand(byte[] commandBuffer, int timeoutMs)
+    {
+        TpmDeviceTcp.checkNoHashStream(hashStream);
+        if (CommandChannel == null)
+            throw new TpmException("TPM device is not connected");
+        cmdHeader.clear();
+        cmdHeader.putInt(TcpTpmCommands.SendCommand.getVal());
+        cmdHeader.put((byte)currentLocality);
+        if (linuxTrm && oldTrm)
+        {
+            // 'debugMsgLevel' and 'commandSent' status bit
+            cmdHeader.put((byte)0);
+            cmdHeader.put((byte)1);
+        }
+        cmdHeader.putInt(commandBuffer.length);
+        cmdHeader.flip();
+
+        if (cmdBody.capacity() < commandBuffer.length)
+            cmdBody = ByteBuffer.allocateDirect(commandBuffer.length);
+        cmdBody.clear();
+        cmdBody.put(commandBuffer);
+        cmdBody.flip();
+
+        cmdBufs[0] = cmdHeader;
+        cmdBufs[1] = cmdBody;
+        try {
+            while (cmdBody.hasRemaining())
+                CommandChannel.write(cmdBufs);
+        } catch (IOException e) {
+            throw new TpmException("Error sending data to the TPM", e);
+        }
+        return responses.sent(timeoutMs);
+    }
+
+    byte[] receiveResponse(long startNs, int timeoutMs)
+    {
+        if (CommandChannel == null)
+            throw new TpmException("TPM device is not connected");
+        // In the common case the size prefix, response body and the trailing ack all
+        // arrive with a single read. With pipelined commands the read may also return
+        // (a part of) the next response, which is retained in respBuf for the next call.
+        if (timeoutMs > 0)
+            awaitRespSize(startNs, timeoutMs);
+        ensureReceived(4);
+        int respSize = respBuf.getInt(0);
+        if (respSize < 0)
+            throw new TpmException("Invalid TPM response size " + respSize);
+
+        // Size prefix + response + trailing ack
+        int total = respSize + 8;
+        if (respBuf.capacity() < total)
+        {
+            ByteBuffer newBuf = ByteBuffer.allocateDirect(total);
+            respBuf.flip();
+            newBuf.put(respBuf);
+            respBuf = newBuf;
+        }
+        ensureReceived(total);
+
+        byte[] resp = new byte[respSize];
+        respBuf.flip();
+        respBuf.position(4);
+        respBuf.get(resp);
+        // Skip the trailing ack (always 0) and keep whatever follows it
+        respBuf.position(total);
+        respBuf.compact();
+        return cancelPending ? completeCancellation(resp, startNs) : resp;
+    }
+
+    /** Waits for the response size prefix, cancelling the command if it does not arrive in time */
+    void awaitRespSize(long startNs, int timeoutMs)
+    {
+        // Channel reads ignore SO_TIMEOUT, while the socket adapter stream honors it
+        byte[] buf = new byte[4];
+        long deadline = startNs + timeoutMs * 1000000L;
+        try {
+            while (respBuf.position() < 4)
+            {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0)
+                {
+                    if (cancelPending || SignalChannel == null)
+                        abandonCommand(startNs);
+                    sendSignal(SignalChannel, TcpTpmCommands.SignalCancelOn, true);
+                    cancelPending = true;
+                    deadline += TpmDeviceTcp.CancelGracePeriod * 1000000L;
+                    continue;
+                }
+                CommandChannel.socket().setSoTimeout((int)Math.max(1, remaining / 1000000));
+                try {
+                    int sz = CommandChannel.socket().getInputStream().read(buf, 0, 4 - respBuf.position());
+                    if (sz < 0)
+                        throw new TpmException("TPM connection closed by the remote side");
+                    respBuf.put(buf, 0, sz);
+                } catch (SocketTimeoutException e) {}
+            }
+            CommandChannel.socket().setSoTimeout(0);
+        } catch (IOException e) {
+            throw new TpmException("TPM IO error", e);
+        }
+    }
+
+    /** Response to a cancelled command has been received */
+    byte[] completeCancellation(byte[] resp, long startNs)
+    {
+        cancelPending = false;
+        sendSignal(SignalChannel, TcpTpmCommands.SignalCancelOff, true);
+        if (TpmDeviceTcp.isCancelledResponse(resp))
+            throw new TpmTimeoutException("TPM command cancelled", TpmDeviceTcp.elapsedMs(startNs), TPM_RC.CANCELED);
+        // The command completed before the cancellation took effect
+        return resp;
+    }
+
+    /** Closes the connection, as the TPM does not respond even to the command cancellation
+     *  (see {@link TpmDeviceTcp#abandonCommand(long)}) */
+    void abandonCommand(long startNs)
+    {
+        cancelPending = false;
+        responses.failAll(new TpmException("TPM connection abandoned after a command timeout"));
+        close();
+        throw new TpmTimeoutException("TPM command timed out, connection closed", TpmDeviceTcp.elapsedMs(startNs));
+    }
+
+    /** Reads from the command channel until respBuf contains at least the given number of bytes */
+    void ensureReceived(int len)
+    {
+        while (respBuf.position() < len)
+            read(CommandChannel, respBuf);
+    }
+
+    @Override
+    public boolean responseReady()
+    {
+        if (dispatched == null)
+            throw new TpmException("Cannot responseReady() without a prior dispatchCommand()");
+        return responses.ready(dispatched, this::pollResponse);
+    }
+
+    /** @return  Whether (a part of) the next response has been received */
+    boolean pollResponse()
+    {
+        if (respBuf.position() > 0)
+            return true;
+        // The socket adapter stream of a channel always reports no available data, so poll
+        // the channel with a non-blocking read (the received data is retained in respBuf)
+        try {
+            CommandChannel.configureBlocking(false);
+            try {
+                if (CommandChannel.read(respBuf) < 0)
+                    throw new TpmException("TPM connection closed by the remote side");
+            } finally {
+                CommandChannel.configureBlocking(true);
+            }
+        } catch (IOException e) {
+            throw new TpmException("Error getting data from the TPM", e);
+        }
+        return respBuf.position() > 0;
+    }
+
+    @Override
+    public void powerCtl(boolean on)
+    {
+        sendSignal(SignalChannel, on ? TcpTpmCommands.SignalPowerOn : TcpTpmCommands.SignalPowerOff, true);
+        sendSignal(SignalChannel, on ? TcpTpmCommands.SignalNvOn : TcpTpmCommands.SignalNvOff, true);
+    }
+
+    @Override
+    public void assertPhysicalPresence(boolean on)
+    {
+        sendSignal(SignalChannel, on ? TcpTpmCommands.SignalPPOn : TcpTpmCommands.SignalPPOff, true);
+    }
+
+    @Override
+    public void setLocality(int locality)
+    {
+        currentLocality = locality;
+    }
+
+    @Override
+    public OutputStream platformHashStream()
+    {
+        if (linuxTrm)
+            throwUnsupported("platformHashStream");
+        TpmDeviceTcp.checkNoHashStream(hashStream);
+        TpmDeviceTcp.checkNoPendingResponses(responses);
+        hashStream = new SignalHashStream() {
+            @Override
+            void send(byte[] buf, int len)
+            {
+                ByteBuffer data = ByteBuffer.wrap(buf, 0, len);
+                try {
+                    while (data.hasRemaining())
+                        CommandChannel.write(data);
+                } catch (IOException e) {
+                    throw new TpmException("Error sending data to the TPM", e);
+                }
+            }
+
+            @Override
+            void readAck()
+            {
+                ensureReceived(4);
+                respBuf.flip();
+                respBuf.position(4);
+                respBuf.compact();
+            }
+
+            @Override
+            void finished() { hashStream = null; }
+        };
+        hashStream.start();
+        return hashStream;
+    }
+
+    void sendSignal(SocketChannel ch, TcpTpmCommands cmd, boolean getAck)
+    {
+        if (ch == null)
+            throwUnsupported(cmd.toString());
+        sigBuf.clear();
+        sigBuf.putInt(cmd.getVal());
+        sigBuf.flip();
+        try {
+            while (sigBuf.hasRemaining())
+                ch.write(sigBuf);
+        } catch (IOException e) {
+            throw new TpmException("TPM IO error", e);
+        }
+        if (!getAck)
+            return;
+        sigBuf.clear();
+        while (sigBuf.hasRemaining())
+            read(ch, sigBuf);
+    }
+
+    static void read(SocketChannel ch, ByteBuffer buf)
+    {
+        try {
+            if (ch.read(buf) < 0)
+                throw new TpmException("TPM connection closed by the remote side");
+        } catch (IOException e) {
+            throw new TpmException("TPM IO error", e);
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package tss;
+
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import tss.tpm.*;
+
+/**
+ * Pool of the random bytes produced by the TPM (TPM2_GetRandom), refilled in the background.
+ * <P>
+ * The bytes are kept in a ring buffer. When the number of the buffered bytes drops below the
+ * low watermark, the background thread of the pool refills the ring with a batch of GetRandom commands (each
+ * returning at most a digest-sized block). The readers take the bytes without locking, and only
+ * a request exceeding the buffered bytes waits for GetRandom commands issued by the reader.
+ * Each byte is served at most once.
+ * <P>
+ * The refill commands are regular synchronous commands serialized with the other commands
+ * issued via the same Tpm object, as the TPM devices do not allow to mix the asynchronous
+ * submission with the synchronous commands.
+ * <P>
+ * The refill commands are issued without the invocation modifiers set on the Tpm object.
+ */
+public class TpmEntropyPool
+{
+    /** Number of bytes requested by a single GetRandom command */
+    static final int BytesPerCommand = 64;
+
+    final Tpm tpm;
+    final byte[] ring;
+    final int mask;
+    final int lowWatermark;
+
+    /** Total numbers of the bytes taken from and put into the ring. The ring holds the bytes
+     *  [readPos, writePos). Only the refill completion (single producer) advances writePos. */
+    final AtomicLong readPos = new AtomicLong(), writePos = new AtomicLong();
+    final AtomicBoolean refilling = new AtomicBoolean();
+
+    /** Idle time in seconds after which the refill thread of a pool exits */
+    static final int RefillThreadKeepAliveSec = 10;
+
+    /** Runs the refills of this pool, so that a pool over a slow or hung TPM does not hold up
+     *  the refills of the other ones. Its thread exits when idle. */
+    final ThreadPoolExecutor refillExecutor;
+
+    final AtomicLong    bytesServed = new AtomicLong(),
+                        bytesRefilled = new AtomicLong(),
+                        syncBytes = new AtomicLong(),
+                        numRefills = new AtomicLong(),
+                        numFailedRefills = new AtomicLong(),
+                        refillNanos = new AtomicLong(),
+                        maxRefillNanos = new AtomicLong();
+
+    /**
+     * @param tpm Tpm object providing the entropy
+     * @param capacity Ring buffer size in bytes (rounded up to a power of 2)
+     */
+    public TpmEntropyPool(Tpm tpm, int capacity)
+    {
+        this.tpm = tpm;
+        int size = Integer.highestOneBit(Math.max(capacity, BytesPerCommand) - 1) << 1;
+        ring = new byte[size];
+        mask = size - 1;
+        lowWatermark = size / 2;
+        refillExecutor = new ThreadPoolExecutor(1, 1, RefillThreadKeepAliveSec, TimeUnit.SECONDS,
+                                                new LinkedBlockingQueue<Runnable>(),
+                                                Helpers.daemonThreads("TpmEntropyPool refill"));
+        refillExecutor.allowCoreThreadTimeOut(true);
+        refill();
+    }
+
+    /** Pool of 4 KB */
+    public TpmEntropyPool(Tpm tpm)
+    {
+        this(tpm, 4096);
+    }
+
+    /** @return Number of the random bytes currently buffered */
+    public int available()
+    {
+        return (int)(writePos.get() - readPos.get());
+    }
+
+    /** Fills the given array with the random bytes produced by the TPM */
+    public void nextBytes(byte[] bytes)
+    {
+        int pos = take(bytes, 0, bytes.length);
+        if (available() < lowWatermark)
+            refill();
+        while (pos < bytes.length)
+        {
+            // The buffered bytes are exhausted
+            int count = Math.min(bytes.length - pos, BytesPerCommand);
+            byte[] rand = tpm.invocation().call(t -> t.GetRandom(count));
+            int len = Math.min(rand.length, count);
+            if (len == 0)
+                throw new TpmException("TPM2_GetRandom returned no data");
+            System.arraycopy(rand, 0, bytes, pos, len);
+            pos += len;
+            syncBytes.addAndGet(len);
+        }
+        bytesServed.addAndGet(bytes.length);
+    }
+
+    /** @return The given number of the random bytes produced by the TPM */
+    public byte[] nextBytes(int numBytes)
+    {
+        byte[] bytes = new byte[numBytes];
+        nextBytes(bytes);
+        return bytes;
+    }
+
+    /** Takes up to len buffered bytes
+     *  @return Number of bytes taken */
+    int take(byte[] dst, int off, int len)
+    {
+        while (true)
+        {
+            long r = readPos.get();
+            int count = (int)Math.min(len, writePos.get() - r);
+            if (count <= 0)
+                return 0;
+            // The bytes are copied before being claimed, as the producer may overwrite them
+            // once readPos is advanced. If another reader claims them first, they are re-read.
+            int start = (int)(r & mask);
+            int first = Math.min(count, ring.length - start);
+            System.arraycopy(ring, start, dst, off, first);
+            System.arraycopy(ring, 0, dst, off + first, count - first);
+            if (readPos.compareAndSet(r, r + count))
+                return count;
+        }
+    }
+
+    /** Starts a background refill of the ring, unless one is already in progress */
+    void refill()
+    {
+        if (!refilling.compareAndSet(false, true))
+            return;
+        try {
+            refillExecutor.execute(this::fill);
+        } catch (RejectedExecutionException e) {
+            refilling.set(false);
+        }
+    }
+
+    /** Fills the ring with the bytes produced by the TPM */
+    void fill()
+    {
+        long start = System.nanoTime();
+        try {
+            tpm.invocation().run(t -> {
+                while (available() < ring.length)
+                {
+                    byte[] bytes = t.GetRandom(Math.min(ring.length - available(), BytesPerCommand));
+                    if (bytes.length == 0)
+                        break;
+                    put(bytes);
+                }
+            });
+            long elapsed = System.nanoTime() - start;
+            numRefills.incrementAndGet();
+            refillNanos.addAndGet(elapsed);
+            maxRefillNanos.accumulateAndGet(elapsed, Math::max);
+        } catch (RuntimeException e) {
+            numFailedRefills.incrementAndGet();
+        } finally {
+            refilling.set(false);
+        }
+    }
+
+    /** Appends the bytes to the ring (as much as fits) */
+    void put(byte[] bytes)
+    {
+        long w = writePos.get();
+        int count = (int)Math.min(bytes.length, ring.length - (w - readPos.get()));
+        if (count <= 0)
+            return;
+        int start = (int)(w & mask);
+        int first = Math.min(count, ring.length - start);
+        System.arraycopy(bytes, 0, ring, start, first);
+        System.arraycopy(bytes, first, ring, 0, count - first);
+        writePos.set(w + count);
+        bytesRefilled.addAndGet(count);
+    }
+
+    /** @return Total number of the random bytes served by the pool */
+    public long bytesServed() { return bytesServed.get(); }
+
+    /** @return Number of the served bytes that were not buffered, and were obtained with
+     *          synchronous GetRandom commands */
+    public long syncBytes() { return syncBytes.get(); }
+
+    /** @return Total number of the bytes put into the ring by the background refills */
+    public long bytesRefilled() { return bytesRefilled.get(); }
+
+    /** @return Number of the completed background refills */
+    public long numRefills() { return numRefills.get(); }
+
+    /** @return Number of the background refills that failed */
+    public long numFailedRefills() { return numFailedRefills.get(); }
+
+    /** @return Average latency of a background refill in nanoseconds */
+    public long avgRefillNanos()
+    {
+        long n = numRefills.get();
+        return n == 0 ? 0 : refillNanos.get() / n;
+    }
+
+    /** @return Maximal latency of a background refill in nanoseconds */
+    public long maxRefillNanos() { return maxRefillNanos.get(); }
+
+    @Override
+    public String toString()
+    {
+        return String.format("served %d (sync %d), refilled %d in %d refills (%d failed), " +
+                             "refill latency avg %.3f ms, max %.3f ms",
+                             bytesServed(), syncBytes(), bytesRefilled(), numRefills(), numFailedRefills(),
+                             avgRefillNanos() / 1e6, maxRefillNanos() / 1e6);
+    }
+}
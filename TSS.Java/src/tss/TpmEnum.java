@@ -1,8 +1,9 @@
 package tss;
 
-import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
+import java.util.Map;
 import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.IntFunction;
 
 public abstract class TpmEnum<T extends TpmEnum<T>> implements TpmMarshaller
 {
@@ -13,13 +14,128 @@ public abstract class TpmEnum<T extends TpmEnum<T>> implements TpmMarshaller
     /** @return The size of the enumeration value used to marshal it to the TPM representation */
     protected abstract int wireSize();
     
-    /** Map used for conversion from an int value to the corresponding TpmEnum derived type */
+    /** Map used for conversion from an int value to the corresponding TpmEnum derived type.
+     *  Besides the sorted map of the named values, it keeps an int-keyed lookup table built on
+     *  the first conversion (dense array if the values are close enough, open addressing hash
+     *  table otherwise), and a small cache of the instances created for the unnamed values.
+     */
     @SuppressWarnings("serial")
     protected static class ValueMap<T extends TpmEnum<T>> extends TreeMap<Integer, T>
     {
-        public ValueMap() {}
+        static final int UnknownCacheBits = 6;
+
+        /** Size of the TPM representation of the values */
+        final int wireSize;
+
+        /** Creates an instance for a value that does not have a name */
+        final IntFunction<T> factory;
+
+        volatile Lookup<T> lookup;
+
+        final AtomicReferenceArray<T> unknown = new AtomicReferenceArray<T>(1 << UnknownCacheBits);
+
+        public ValueMap(int wireSize, IntFunction<T> factory)
+        {
+            this.wireSize = wireSize;
+            this.factory = factory;
+        }
+
+        @Override
+        public T put(Integer value, T e)
+        {
+            lookup = null;
+            return super.put(value, e);
+        }
+
+        /** @return The named instance with the given value, or null if there is none */
+        T find(int value)
+        {
+            Lookup<T> l = lookup;
+            if (l == null)
+                lookup = l = new Lookup<T>(this);
+            return l.find(value);
+        }
+
+        /** @return The named instance with the given value, or a (possibly cached) new one */
+        T fromInt(int value)
+        {
+            T e = find(value);
+            if (e != null)
+                return e;
+            int idx = (value * 0x9E3779B9) >>> (32 - UnknownCacheBits);
+            e = unknown.get(idx);
+            if (e == null || e.Value != value)
+            {
+                e = factory.apply(value);
+                unknown.set(idx, e);
+            }
+            return e;
+        }
     }
-    
+
+    /** Immutable int-keyed lookup table of the named values of a TpmEnum type */
+    static final class Lookup<T extends TpmEnum<T>>
+    {
+        static final int MaxDenseSlack = 64;
+
+        /** Dense table indexed by (value - base), or null if the hash table is used */
+        final Object[] dense;
+        final int base;
+
+        /** Open addressing hash table with linear probing (the size is a power of 2) */
+        final int[] keys;
+        final Object[] vals;
+        final int shift;
+
+        Lookup(TreeMap<Integer, T> values)
+        {
+            int count = values.size();
+            long min = count == 0 ? 0 : values.firstKey(),
+                 span = count == 0 ? 0 : (long)values.lastKey() - min + 1;
+            if (span <= 4L * count + MaxDenseSlack)
+            {
+                dense = new Object[(int)span];
+                base = (int)min;
+                for (Map.Entry<Integer, T> v : values.entrySet())
+                    dense[v.getKey() - base] = v.getValue();
+                keys = null;
+                vals = null;
+                shift = 0;
+                return;
+            }
+            dense = null;
+            base = 0;
+            int bits = 32 - Integer.numberOfLeadingZeros(2 * count - 1);
+            keys = new int[1 << bits];
+            vals = new Object[1 << bits];
+            shift = 32 - bits;
+            for (Map.Entry<Integer, T> v : values.entrySet())
+            {
+                int i = slot(v.getKey());
+                while (vals[i] != null)
+                    i = (i + 1) & (keys.length - 1);
+                keys[i] = v.getKey();
+                vals[i] = v.getValue();
+            }
+        }
+
+        int slot(int value) { return (value * 0x9E3779B9) >>> shift; }
+
+        @SuppressWarnings("unchecked")
+        T find(int value)
+        {
+            if (dense != null)
+            {
+                int i = value - base;
+                return i >= 0 && i < dense.length ? (T)dense[i] : null;
+            }
+            for (int i = slot(value); vals[i] != null; i = (i + 1) & (keys.length - 1))
+                if (keys[i] == value)
+                    return (T)vals[i];
+            return null;
+        }
+    }
+
     @SuppressWarnings("unchecked")
     protected TpmEnum (int value, Enum<?> nameAsEnum, ValueMap<T> values)
     {
@@ -37,9 +153,9 @@ public abstract class TpmEnum<T extends TpmEnum<T>> implements TpmMarshaller
     protected TpmEnum (int value, ValueMap<T> values)
     {
         Value = value;
-        if (values.containsKey(value))
+        T v = values.find(value);
+        if (v != null)
         {
-            T v = values.get(value);
             Name = v.Name;
             NameAsEnum = v.NameAsEnum;
         }
@@ -48,36 +164,23 @@ public abstract class TpmEnum<T extends TpmEnum<T>> implements TpmMarshaller
     }
     
     protected static <T extends TpmEnum<T>>
-    T fromInt (int value, ValueMap<T> values, Class<T> cls)
+    T fromInt (int value, ValueMap<T> values)
     {
-        if (values.containsKey(value))
-            return (T)values.get(value);
-        Constructor<T> ctor = null;
-        try {
-            ctor = cls.getConstructor(int.class);
-        } catch (NoSuchMethodException | SecurityException e) {}
-        if (ctor == null)
-            return null;
-        T newEnum = null;
-        try {
-            newEnum = ctor.newInstance(value);
-        } catch (InstantiationException | IllegalAccessException |
-                 IllegalArgumentException | InvocationTargetException e) {} 
-        return newEnum;
+        return values.fromInt(value);
     }
 
     protected static <T extends TpmEnum<T>>
-    T fromTpm(byte[] buf, ValueMap<T> values, Class<T> cls)
+    T fromTpm(byte[] buf, ValueMap<T> values)
     {
         int value = Helpers.netToHost(buf);
-        return fromInt(value, values, cls);
+        return fromInt(value, values);
     }
     
     protected static <T extends TpmEnum<T>>
-    T fromTpm(TpmBuffer buf, ValueMap<T> values, Class<T> cls)
+    T fromTpm(TpmBuffer buf, ValueMap<T> values)
     {
-        int value = (int)buf.readNum(values.firstEntry().getValue().wireSize());
-        return fromInt(value, values, cls);
+        int value = (int)buf.readNum(values.wireSize);
+        return fromInt(value, values);
     }
     
     public int toInt()
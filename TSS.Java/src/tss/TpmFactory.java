@@ -1,6 +1,7 @@
 package tss;
 
 //import java.io.Console;
+import java.io.File;
 
 import tss.tpm.TPM_HANDLE;
 import tss.tpm.TPM_RH;
@@ -83,5 +84,22 @@ public class TpmFactory
         tpm._setDevice(device);
         return tpm;
     }
-    
+
+    /**
+     * Opens a pool of connections to the platform TPM resource manager. On Windows this uses
+     * TPM Base Services (TBS). On Linux this uses the kernel mode TRM (/dev/tpmrm0) if it is
+     * available, and the user mode TRM otherwise. Note that the raw /dev/tpm0 device cannot be
+     * opened more than once, and thus cannot be pooled.
+     * 
+     * @param size Number of connections in the pool
+     * @return The new pool of Tpm instances
+     */
+    public static TpmPool platformTpmPool(int size)
+    {
+        if (System.getProperty("os.name").contains("Windows"))
+            return new TpmPool(size, TpmDeviceTbs::new);
+        if (new File("/dev/tpmrm0").exists())
+            return new TpmPool(size, () -> new TpmDeviceLinux("/dev/tpmrm0"));
+        return new TpmPool(size, () -> new TpmDeviceTcp("localhost", 2323, true));
+    }
 }
@@ -0,0 +1,123 @@
+package tss;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import tss.tpm.*;
+
+/**
+ * Immutable set of the invocation modifiers (sessions, allowed or expected errors, deadline)
+ * applied to the TPM commands issued via {@link #call(Function)} or {@link #run(Consumer)}:
+ * <pre>
+ *  byte[] data = tpm.with(sess).allowErrors().call(t -&gt; t.NV_Read(...));
+ * </pre>
+ * Unlike the Tpm._withSession()/_allowErrors()/_expectError() family, which mutate the shared
+ * Tpm object, an invocation binds its modifiers to the calling thread only while the given
+ * code runs. Thus multiple threads can share the same Tpm object, each one with its own
+ * modifiers. The TPM device access is serialized by the Tpm object.
+ * <P>
+ * Note that the TPM sessions themselves are not thread-safe: a session handle must not be
+ * used by several threads at the same time.
+ */
+public final class TpmInvocation
+{
+    final TpmBase tpm;
+    final TPM_HANDLE[] sessions;
+    final boolean allowErrors;
+    final TPM_RC[] expectedResponses;
+    final int timeout;
+
+    TpmInvocation(TpmBase tpm, TPM_HANDLE[] sessions, boolean allowErrors,
+                  TPM_RC[] expectedResponses, int timeout)
+    {
+        this.tpm = tpm;
+        this.sessions = sessions;
+        this.allowErrors = allowErrors;
+        this.expectedResponses = expectedResponses;
+        this.timeout = timeout;
+    }
+
+    /** Invocation with no modifiers applied to the commands of the given Tpm */
+    TpmInvocation(TpmBase tpm)
+    {
+        this(tpm, null, false, null, -1);
+    }
+
+    /**
+     * @param sessions Session handles to use with the commands (replacing the ones specified
+     *                 before, if any)
+     * @return New invocation with the given sessions
+     */
+    public TpmInvocation with(TPM_HANDLE... sessions)
+    {
+        return new TpmInvocation(tpm, sessions == null ? null : sessions.clone(),
+                                 allowErrors, expectedResponses, timeout);
+    }
+
+    /**
+     * Errors returned by the commands will not cause an exception to be thrown
+     * (use Tpm._getLastResponseCode() inside the invoked code to check for an error)
+     * @return New invocation with errors allowed
+     */
+    public TpmInvocation allowErrors()
+    {
+        return new TpmInvocation(tpm, sessions, true, expectedResponses, timeout);
+    }
+
+    /**
+     * @param expectedResponse Response code the command is expected to return
+     * @return New invocation expecting the given response code
+     */
+    public TpmInvocation expectError(TPM_RC expectedResponse)
+    {
+        return expectResponses(expectedResponse);
+    }
+
+    /**
+     * The commands are expected to return one of the given response codes (see
+     * Tpm._expectResponses()). Otherwise a TpmException is thrown.
+     * @param expectedResponses One or more allowed response codes. May be null.
+     * @return New invocation expecting the given response codes
+     */
+    public TpmInvocation expectResponses(TPM_RC... expectedResponses)
+    {
+        return new TpmInvocation(tpm, sessions, allowErrors,
+                                 TpmBase.normalizeExpectedResponses(expectedResponses), timeout);
+    }
+
+    /**
+     * @param timeoutMs Deadline in milliseconds for each command, or 0 for no deadline
+     * @return New invocation with the given deadline
+     */
+    public TpmInvocation withTimeout(int timeoutMs)
+    {
+        return new TpmInvocation(tpm, sessions, allowErrors, expectedResponses, timeoutMs);
+    }
+
+    /**
+     * Runs the given code, applying the modifiers of this invocation to every TPM command it
+     * issues via the Tpm object on the current thread.
+     * @param body Code issuing the TPM commands
+     * @return The value returned by the body
+     */
+    public <R> R call(Function<Tpm, R> body)
+    {
+        return tpm.invoke(this, body);
+    }
+
+    /** Same as {@link #call(Function)} for the code that does not return a value
+     *  @param body Code issuing the TPM commands
+     */
+    public void run(Consumer<Tpm> body)
+    {
+        tpm.invoke(this, t -> { body.accept(t); return null; });
+    }
+
+    @Override
+    public String toString()
+    {
+        return "TpmInvocation{sessions=" + Arrays.toString(sessions) + ", allowErrors=" + allowErrors +
+               ", expectedResponses=" + Arrays.toString(expectedResponses) + ", timeout=" + timeout + "}";
+    }
+}
@@ -0,0 +1,352 @@
+package tss;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import tss.TpmBase.PendingCommand;
+import tss.TpmBase.ThreadState;
+import tss.tpm.*;
+
+/**
+ * Reads and writes the data of an ordinary NV index in transfers of any size.
+ * <P>
+ * The transfers are split into the largest chunks the TPM accepts (TPM_PT.NV_BUFFER_MAX
+ * and TPM_PT.INPUT_BUFFER, queried once per Tpm object). The command is marshaled only once
+ * per transfer, and its parameters are patched for each chunk, unless its authorization
+ * depends on the parameters.
+ * <P>
+ * The invocation modifiers set on the Tpm object (_withSession(), _allowErrors() etc.), or
+ * the ones of the TpmInvocation the transfer is run with, apply to every chunk of a transfer.
+ * If an allowed error occurs, the transfer stops at the failed chunk.
+ */
+public class TpmNvIndex
+{
+    final Tpm tpm;
+    final TPM_HANDLE authHandle;
+    final TPM_HANDLE nvIndex;
+    int dataSize = -1;
+
+    /**
+     * @param tpm Tpm object to access the index with
+     * @param authHandle Handle indicating the source of the authorization value
+     *        (e.g. nvIndex itself, or TPM_RH.OWNER)
+     * @param nvIndex The NV index
+     */
+    public TpmNvIndex(Tpm tpm, TPM_HANDLE authHandle, TPM_HANDLE nvIndex)
+    {
+        this.tpm = tpm;
+        this.authHandle = authHandle;
+        this.nvIndex = nvIndex;
+    }
+
+    /** @return Size of the index data (queried from the TPM once) */
+    public int size()
+    {
+        if (dataSize < 0)
+            dataSize = tpm.invocation().call(t -> t.NV_ReadPublic(nvIndex)).nvPublic.dataSize;
+        return dataSize;
+    }
+
+    /** @return Maximal size of the data read or written by a single command */
+    public int maxChunkSize(boolean write)
+    {
+        int max = tpm.getFixedProperty(TPM_PT.NV_BUFFER_MAX);
+        return write ? Math.min(max, tpm.getFixedProperty(TPM_PT.INPUT_BUFFER)) : max;
+    }
+
+    /**
+     * Reads the given part of the index data
+     * @param offset Offset in the index data
+     * @param size Number of bytes to read
+     * @return The data read, or null if an allowed error occurred
+     */
+    public byte[] read(int offset, int size)
+    {
+        byte[] data = new byte[size];
+        TPM_RC rc = readChunks(offset, data, 0, size, tpm.takeInvocation(tpm.threadState.get()));
+        return rc == TPM_RC.SUCCESS ? data : null;
+    }
+
+    /**
+     * Reads the given part of the index data
+     * @param offset Offset in the index data
+     * @param dst Buffer to read the data into
+     * @param dstOffset Offset in dst
+     * @param len Number of bytes to read
+     * @return false if an allowed error occurred
+     */
+    public boolean readFully(int offset, byte[] dst, int dstOffset, int len)
+    {
+        return readChunks(offset, dst, dstOffset, len, tpm.takeInvocation(tpm.threadState.get()))
+                == TPM_RC.SUCCESS;
+    }
+
+    /** Reads the data chunk by chunk with the given invocation
+     *  @return Response code of the failed chunk (an allowed error), or TPM_RC.SUCCESS. It is
+     *          taken inside the invocation, as outside of it _getLastResponseCode() may return
+     *          the one of another thread's command. */
+    TPM_RC readChunks(int offset, byte[] dst, int dstOffset, int len, TpmInvocation inv)
+    {
+        int chunkSize = maxChunkSize(false);
+        return inv.call(t -> {
+            ThreadState ts = t.threadState.get();
+            NV_ReadResponse resp = new NV_ReadResponse();
+            PendingCommand cmd = null;
+            for (int pos = 0; pos < len; pos += chunkSize)
+            {
+                int size = Math.min(chunkSize, len - pos);
+                if (cmd == null || !cmd.reusable)
+                {
+                    cmd = t.prepareCommand(TPM_CC.NV_Read,
+                            new TPM2_NV_Read_REQUEST(authHandle, nvIndex, size, offset + pos), ts);
+                    if (cmd == null)
+                        return cpHashOnly(len, chunkSize);
+                }
+                else
+                {
+                    // TPM2_NV_Read parameters: {UINT16 size, UINT16 offset}
+                    byte[] buf = patchable(cmd);
+                    putShort(buf, cmd.paramsPos, size);
+                    putShort(buf, cmd.paramsPos + 2, offset + pos);
+                }
+                resp.data = null;
+                t.dispatchPrepared(cmd, ts, resp);
+                if (resp.data == null)
+                    return t._getLastResponseCode();
+                System.arraycopy(resp.data, 0, dst, dstOffset + pos, resp.data.length);
+            }
+            return TPM_RC.SUCCESS;
+        });
+    }
+
+    /**
+     * Writes the given data to the index
+     * @param offset Offset in the index data
+     * @param data Data to write
+     * @return false if an allowed error occurred
+     */
+    public boolean write(int offset, byte[] data)
+    {
+        return write(offset, data, 0, data.length);
+    }
+
+    /**
+     * Writes the given data to the index
+     * @param offset Offset in the index data
+     * @param src Buffer with the data to write
+     * @param srcOffset Offset of the data in src
+     * @param len Number of bytes to write
+     * @return false if an allowed error occurred
+     */
+    public boolean write(int offset, byte[] src, int srcOffset, int len)
+    {
+        return writeChunks(offset, src, srcOffset, len, tpm.takeInvocation(tpm.threadState.get()))
+                == TPM_RC.SUCCESS;
+    }
+
+    /** Writes the data chunk by chunk with the given invocation
+     *  @return Response code of the failed chunk (an allowed error), or TPM_RC.SUCCESS */
+    TPM_RC writeChunks(int offset, byte[] src, int srcOffset, int len, TpmInvocation inv)
+    {
+        int chunkSize = maxChunkSize(true);
+        return inv.call(t -> {
+            ThreadState ts = t.threadState.get();
+            PendingCommand cmd = null;
+            int cmdDataSize = 0;
+            for (int pos = 0; pos < len; pos += chunkSize)
+            {
+                int size = Math.min(chunkSize, len - pos);
+                if (cmd == null || !cmd.reusable || size != cmdDataSize)
+                {
+                    byte[] data = new byte[size];
+                    System.arraycopy(src, srcOffset + pos, data, 0, size);
+                    cmd = t.prepareCommand(TPM_CC.NV_Write,
+                            new TPM2_NV_Write_REQUEST(authHandle, nvIndex, data, offset + pos), ts);
+                    if (cmd == null)
+                        return cpHashOnly(len, chunkSize);
+                    cmdDataSize = size;
+                }
+                else
+                {
+                    // TPM2_NV_Write parameters: {UINT16 size, BYTE data[size], UINT16 offset}
+                    byte[] buf = patchable(cmd);
+                    System.arraycopy(src, srcOffset + pos, buf, cmd.paramsPos + 2, size);
+                    putShort(buf, cmd.paramsPos + 2 + size, offset + pos);
+                }
+                t.dispatchPrepared(cmd, ts, null);
+                TPM_RC rc = t._getLastResponseCode();
+                if (rc != TPM_RC.SUCCESS)
+                    return rc;
+            }
+            return TPM_RC.SUCCESS;
+        });
+    }
+
+    /** Handles a transfer whose first command was not sent, as only its cpHash was computed
+     *  (see CpHashCalculator). A transfer of more than one chunk has no single cpHash. */
+    static TPM_RC cpHashOnly(int len, int chunkSize)
+    {
+        if (len > chunkSize)
+            throw new TpmException("The cpHash of an NV transfer of more than one chunk (" + len +
+                                   " bytes) cannot be computed");
+        return TPM_RC.SUCCESS;
+    }
+
+    /**
+     * @return Stream reading the index data from its beginning to its end. Reads are buffered,
+     *         so that each command reads a whole chunk. The invocation modifiers in effect when
+     *         the stream is created apply to all its reads.
+     */
+    public InputStream openInputStream()
+    {
+        TpmInvocation inv = tpm.takeInvocation(tpm.threadState.get());
+        return new InputStream() {
+            final byte[] buf = new byte[maxChunkSize(false)];
+            final byte[] oneByte = new byte[1];
+            int bufPos = 0, bufLen = 0;
+            int pos = 0;    // Offset of the end of the buffered data in the index
+
+            @Override
+            public int read() throws IOException
+            {
+                if (bufPos < bufLen)
+                    return buf[bufPos++] & 0xFF;
+                return read(oneByte, 0, 1) < 0 ? -1 : oneByte[0] & 0xFF;
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException
+            {
+                if (len == 0)
+                    return 0;
+                if (bufPos == bufLen)
+                {
+                    int count = Math.min(size() - pos, len >= buf.length ? len : buf.length);
+                    if (count <= 0)
+                        return -1;
+                    if (len >= buf.length)
+                    {
+                        // Large reads bypass the buffer
+                        fill(b, off, count);
+                        return count;
+                    }
+                    fill(buf, 0, count);
+                    bufPos = 0;
+                    bufLen = count;
+                }
+                int count = Math.min(len, bufLen - bufPos);
+                System.arraycopy(buf, bufPos, b, off, count);
+                bufPos += count;
+                return count;
+            }
+
+            void fill(byte[] b, int off, int count) throws IOException
+            {
+                try {
+                    TPM_RC rc = readChunks(pos, b, off, count, inv);
+                    if (rc != TPM_RC.SUCCESS)
+                        throw new IOException("NV_Read failed: " + rc);
+                } catch (TpmException e) {
+                    throw new IOException(e);
+                }
+                pos += count;
+            }
+
+            /** @return Number of the buffered bytes, and of the bytes left in the index if its
+             *          size is already known (the TPM is not queried for it) */
+            @Override
+            public int available() { return bufLen - bufPos + (dataSize < 0 ? 0 : dataSize - pos); }
+        };
+    }
+
+    /**
+     * @param offset Offset in the index data to start writing at
+     * @return Stream writing the index data. Writes are buffered, so that each chunk is
+     *         written by a single command. The invocation modifiers in effect when the stream
+     *         is created apply to all its writes.
+     */
+    public OutputStream openOutputStream(int offset)
+    {
+        TpmInvocation inv = tpm.takeInvocation(tpm.threadState.get());
+        return new OutputStream() {
+            final byte[] buf = new byte[maxChunkSize(true)];
+            int len = 0;
+            int pos = offset;
+
+            @Override
+            public void write(int b) throws IOException
+            {
+                write(new byte[] {(byte)b}, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int count) throws IOException
+            {
+                if (len > 0)
+                {
+                    int n = Math.min(count, buf.length - len);
+                    System.arraycopy(b, off, buf, len, n);
+                    len += n;
+                    off += n;
+                    count -= n;
+                    if (len < buf.length)
+                        return;
+                    flush();
+                }
+                // Whole chunks bypass the buffer
+                int direct = count - count % buf.length;
+                if (direct > 0)
+                {
+                    send(b, off, direct);
+                    off += direct;
+                    count -= direct;
+                }
+                System.arraycopy(b, off, buf, 0, count);
+                len = count;
+            }
+
+            @Override
+            public void flush() throws IOException
+            {
+                if (len == 0)
+                    return;
+                send(buf, 0, len);
+                len = 0;
+            }
+
+            @Override
+            public void close() throws IOException
+            {
+                flush();
+            }
+
+            void send(byte[] b, int off, int count) throws IOException
+            {
+                try {
+                    TPM_RC rc = writeChunks(pos, b, off, count, inv);
+                    if (rc != TPM_RC.SUCCESS)
+                        throw new IOException("NV_Write failed: " + rc);
+                } catch (TpmException e) {
+                    throw new IOException(e);
+                }
+                pos += count;
+            }
+        };
+    }
+
+    /** @return The command buffer to patch. The buffer passed to the callback of the Tpm
+     *          object (if any) is not modified, as the callback may retain it. */
+    byte[] patchable(PendingCommand cmd)
+    {
+        if (tpm.callbackObject != null)
+            cmd.rawCmdBuf = cmd.rawCmdBuf.clone();
+        return cmd.rawCmdBuf;
+    }
+
+    static void putShort(byte[] buf, int pos, int val)
+    {
+        buf[pos] = (byte)(val >> 8);
+        buf[pos + 1] = (byte)val;
+    }
+}
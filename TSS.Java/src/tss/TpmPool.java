@@ -0,0 +1,176 @@
+package tss;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * A fixed size pool of Tpm objects, each one with its own connection to a TPM resource
+ * manager (e.g. /dev/tpmrm0, the user mode TRM or TBS), that can be concurrently used
+ * by multiple threads.
+ * <P>
+ * Tpm objects carry per-invocation state (sessions, expected errors, etc.), so a Tpm
+ * leased from the pool is confined to the leasing thread until the lease is closed:
+ * <pre>
+ *  try (TpmPool.Lease lease = pool.lease()) {
+ *      byte[] r = lease.tpm().GetRandom(16);
+ *  }
+ * </pre>
+ * Note that the connections share the TPM resources through the resource manager, so
+ * transient objects and sessions created via one connection are not visible via others.
+ */
+public class TpmPool implements Closeable
+{
+    /** A Tpm object leased from the pool. Closing the lease returns it to the pool. */
+    public class Lease implements AutoCloseable
+    {
+        Tpm tpm;
+
+        Lease(Tpm tpm) { this.tpm = tpm; }
+
+        /** @return The leased Tpm object. Must not be used after the lease is closed. */
+        public Tpm tpm()
+        {
+            if (tpm == null)
+                throw new IllegalStateException("TpmPool lease has been already closed");
+            return tpm;
+        }
+
+        @Override
+        public void close()
+        {
+            if (tpm == null)
+                return;
+            release(tpm);
+            tpm = null;
+        }
+    }
+
+    final List<Tpm> all = new ArrayList<Tpm>();
+    final ArrayBlockingQueue<Tpm> idle;
+
+    final AtomicLong    numLeases = new AtomicLong(),
+                        totalWaitNs = new AtomicLong(),
+                        maxWaitNs = new AtomicLong();
+
+    /**
+     * Opens the given number of TPM connections
+     * @param size Number of connections (and Tpm objects) in the pool
+     * @param deviceFactory Creates a new (not yet connected) TPM device for each pool entry
+     */
+    public TpmPool(int size, Supplier<TpmDevice> deviceFactory)
+    {
+        if (size <= 0)
+            throw new IllegalArgumentException("TpmPool size must be positive");
+        idle = new ArrayBlockingQueue<Tpm>(size);
+        for (int i = 0; i < size; ++i)
+        {
+            TpmDevice device = deviceFactory.get();
+            if (!device.connect())
+            {
+                device.close();
+                close();
+                throw new TpmException("TpmPool: Failed to open TPM connection #" + i);
+            }
+            Tpm tpm = new Tpm();
+            tpm._setDevice(device);
+            all.add(tpm);
+            idle.add(tpm);
+        }
+    }
+
+    /** @return Number of connections in the pool */
+    public int size() { return all.size(); }
+
+    /** @return Number of Tpm objects currently available for leasing */
+    public int available() { return idle.size(); }
+
+    /**
+     * Leases a Tpm object, waiting for one to be returned to the pool if necessary
+     * @return The lease (to be closed when the Tpm object is no longer needed)
+     */
+    public Lease lease()
+    {
+        long start = System.nanoTime();
+        Tpm tpm;
+        try {
+            tpm = idle.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TpmException("TpmPool: Interrupted while waiting for a Tpm", e);
+        }
+        recordWait(System.nanoTime() - start);
+        return new Lease(tpm);
+    }
+
+    /**
+     * Leases a Tpm object, waiting for it up to the given time
+     * @param timeout Maximal time to wait
+     * @param unit Time unit of the timeout argument
+     * @return The lease, or null if no Tpm object became available within the timeout
+     */
+    public Lease lease(long timeout, TimeUnit unit)
+    {
+        long start = System.nanoTime();
+        Tpm tpm;
+        try {
+            tpm = idle.poll(timeout, unit);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TpmException("TpmPool: Interrupted while waiting for a Tpm", e);
+        }
+        recordWait(System.nanoTime() - start);
+        return tpm == null ? null : new Lease(tpm);
+    }
+
+    void recordWait(long waitNs)
+    {
+        numLeases.incrementAndGet();
+        totalWaitNs.addAndGet(waitNs);
+        long max;
+        while (waitNs > (max = maxWaitNs.get()) && !maxWaitNs.compareAndSet(max, waitNs))
+            continue;
+    }
+
+    void release(Tpm tpm)
+    {
+        // Drop the modifiers the previous user may have left behind
+        tpm.clearInvocationState();
+        tpm.Sessions = null;
+        tpm.threadState.get().view = null;
+        idle.add(tpm);
+    }
+
+    /** @return Total number of leases (including the timed out attempts) */
+    public long numLeases() { return numLeases.get(); }
+
+    /** @return Total time in nanoseconds the threads waited for a Tpm object */
+    public long totalWaitNanos() { return totalWaitNs.get(); }
+
+    /** @return Longest time in nanoseconds a thread waited for a Tpm object */
+    public long maxWaitNanos() { return maxWaitNs.get(); }
+
+    /** @return Average time in nanoseconds a thread waited for a Tpm object */
+    public long avgWaitNanos()
+    {
+        long n = numLeases.get();
+        return n == 0 ? 0 : totalWaitNs.get() / n;
+    }
+
+    /** Closes all connections of the pool, including the ones currently leased */
+    @Override
+    public void close()
+    {
+        for (Tpm tpm : all)
+        {
+            try { tpm.close(); } catch (IOException e) {}
+        }
+        all.clear();
+        idle.clear();
+    }
+}
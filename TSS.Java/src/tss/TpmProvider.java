@@ -0,0 +1,452 @@
+package tss;
+
+import java.security.InvalidAlgorithmParameterException;
+import java.security.InvalidKeyException;
+import java.security.Key;
+import java.security.MessageDigestSpi;
+import java.security.Provider;
+import java.security.SecureRandomSpi;
+import java.security.spec.AlgorithmParameterSpec;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.function.Function;
+
+import javax.crypto.MacSpi;
+import javax.crypto.SecretKey;
+
+import tss.tpm.*;
+
+/**
+ * JCA provider computing the SHA-1/SHA-2 message digests (MessageDigest "SHA-1", "SHA-256",
+ * "SHA-384", "SHA-512") and HMACs (Mac "HmacSHA1", "HmacSHA256", "HmacSHA384", "HmacSHA512")
+ * on the TPM, and generating random numbers with the TPM (SecureRandom "TPM" and "TPM-DRBG"):
+ * <pre>
+ *  Provider tpmProv = new TpmProvider(tpm);
+ *  MessageDigest md = MessageDigest.getInstance("SHA-256", tpmProv);
+ * </pre>
+ * The data is buffered and sent to the TPM in chunks of the maximal size the TPM accepts
+ * (TPM_PT.INPUT_BUFFER), so that hashing N bytes takes ceil(N / INPUT_BUFFER) + 1 commands.
+ * Data fitting in a single chunk is processed by a single TPM2_Hash or TPM2_HMAC command.
+ * <P>
+ * A Mac can be initialized either with an HMAC key already loaded into the TPM (see
+ * {@link HmacKey}), or with a raw key (e.g. a javax.crypto.spec.SecretKeySpec). A raw key is
+ * loaded into the NULL hierarchy for the duration of each HMAC computation.
+ * <P>
+ * SecureRandom "TPM" serves the bytes produced by the TPM from a {@link TpmEntropyPool} shared
+ * by all the SecureRandom objects of the provider. "TPM-DRBG" is an HMAC_DRBG (NIST SP 800-90A,
+ * SHA-256) seeded and periodically reseeded from the same pool, for the bulk random data.
+ * <P>
+ * The TPM commands are issued without the invocation modifiers set on the Tpm object. Note
+ * that the Oracle JDK only accepts signed providers of the javax.crypto services (Mac).
+ */
+public class TpmProvider extends Provider
+{
+    private static final long serialVersionUID = 1L;
+
+    static final String[][] Digests = {
+        { "SHA-1", "SHA1" }, { "SHA-256", "SHA256" }, { "SHA-384", "SHA384" }, { "SHA-512", "SHA512" } };
+    static final String[] Macs = { "HmacSHA1", "HmacSHA256", "HmacSHA384", "HmacSHA512" };
+    static final TPM_ALG_ID[] HashAlgs = {
+        TPM_ALG_ID.SHA1, TPM_ALG_ID.SHA256, TPM_ALG_ID.SHA384, TPM_ALG_ID.SHA512 };
+
+    /** Number of the TPM-DRBG requests served between its reseeds */
+    public static int DrbgReseedInterval = 1024;
+
+    final transient Tpm tpm;
+    transient TpmEntropyPool entropyPool;
+
+    /** @param tpm Tpm object used by the digests and MACs created by this provider */
+    public TpmProvider(Tpm tpm)
+    {
+        super("TSS.Java", 1.0, "TPM 2.0 backed message digests and HMACs");
+        this.tpm = tpm;
+        for (int i = 0; i < HashAlgs.length; ++i)
+        {
+            TPM_ALG_ID alg = HashAlgs[i];
+            putService(new Service(this, "MessageDigest", Digests[i][0], DigestSpi.class.getName(),
+                                   Arrays.asList(Digests[i][1]), null) {
+                @Override
+                public Object newInstance(Object param) { return new DigestSpi(tpm, alg); }
+            });
+            putService(new Service(this, "Mac", Macs[i], HmacSpi.class.getName(), null, null) {
+                @Override
+                public Object newInstance(Object param) { return new HmacSpi(tpm, alg); }
+            });
+        }
+        putService(new Service(this, "SecureRandom", "TPM", RandomSpi.class.getName(), null,
+                               Collections.singletonMap("ThreadSafe", "true")) {
+            @Override
+            public Object newInstance(Object param) { return new RandomSpi(getEntropyPool(), false); }
+        });
+        putService(new Service(this, "SecureRandom", "TPM-DRBG", RandomSpi.class.getName(), null, null) {
+            @Override
+            public Object newInstance(Object param) { return new RandomSpi(getEntropyPool(), true); }
+        });
+    }
+
+    /** @return The pool of the TPM random bytes used by the SecureRandom objects of this provider */
+    public synchronized TpmEntropyPool getEntropyPool()
+    {
+        if (entropyPool == null)
+            entropyPool = new TpmEntropyPool(tpm);
+        return entropyPool;
+    }
+
+    /** Handle of an HMAC key (keyed hash object with the HMAC scheme) loaded into the TPM.
+     *  The key's authorization value must be set in the handle (see TPM_HANDLE.AuthValue). */
+    public static class HmacKey implements SecretKey
+    {
+        private static final long serialVersionUID = 1L;
+
+        public final transient TPM_HANDLE handle;
+
+        public HmacKey(TPM_HANDLE handle)
+        {
+            this.handle = handle;
+        }
+
+        @Override
+        public String getAlgorithm() { return "HMAC"; }
+
+        /** @return null, as the key cannot be exported */
+        @Override
+        public String getFormat() { return null; }
+
+        /** @return null, as the key cannot be exported */
+        @Override
+        public byte[] getEncoded() { return null; }
+    }
+
+    /**
+     * Accumulates the data into the INPUT_BUFFER sized chunks, and feeds them to a TPM hash
+     * or HMAC sequence. A full chunk is sent only when more data arrives, so that the last
+     * chunk is always passed to TPM2_SequenceComplete, and the sequence is not started at all
+     * if the whole data fits in a single chunk.
+     */
+    static abstract class ChunkedSequence
+    {
+        final Tpm tpm;
+        final TPM_ALG_ID hashAlg;
+        byte[] chunk;
+        int len;
+        TPM_HANDLE seq;
+
+        ChunkedSequence(Tpm tpm, TPM_ALG_ID hashAlg)
+        {
+            this.tpm = tpm;
+            this.hashAlg = hashAlg;
+        }
+
+        /** @return Handle of the newly started TPM sequence */
+        abstract TPM_HANDLE start(Tpm t);
+
+        /** @return Result of the one-shot operation over the given data */
+        abstract byte[] oneShot(Tpm t, byte[] data);
+
+        <R> R call(Function<Tpm, R> body)
+        {
+            return tpm.invocation().call(body);
+        }
+
+        void update(byte[] in, int off, int n)
+        {
+            if (chunk == null)
+                chunk = new byte[tpm.getFixedProperty(TPM_PT.INPUT_BUFFER)];
+            while (n > 0)
+            {
+                if (len == chunk.length)
+                {
+                    try {
+                        call(t -> {
+                            if (seq == null)
+                                seq = start(t);
+                            t.SequenceUpdate(seq, chunk);
+                            return null;
+                        });
+                    } catch (RuntimeException e) {
+                        reset();
+                        throw e;
+                    }
+                    len = 0;
+                }
+                int count = Math.min(n, chunk.length - len);
+                System.arraycopy(in, off, chunk, len, count);
+                len += count;
+                off += count;
+                n -= count;
+            }
+        }
+
+        byte[] finish()
+        {
+            byte[] last = chunk == null ? new byte[0] : len == chunk.length ? chunk : Arrays.copyOf(chunk, len);
+            TPM_HANDLE s = seq;
+            seq = null;
+            len = 0;
+            try {
+                return call(t -> s == null ? oneShot(t, last)
+                                           : t.SequenceComplete(s, last, TPM_HANDLE.NULL).result);
+            } catch (RuntimeException e) {
+                // The TPM flushes the sequence object only when SequenceComplete succeeds
+                if (s != null)
+                    flush(tpm, s);
+                throw e;
+            }
+        }
+
+        void reset()
+        {
+            len = 0;
+            if (seq == null)
+                return;
+            TPM_HANDLE s = seq;
+            seq = null;
+            flush(tpm, s);
+        }
+
+        static void flush(Tpm tpm, TPM_HANDLE h)
+        {
+            tpm.invocation().allowErrors().run(t -> t.FlushContext(h));
+        }
+    }
+
+    /** MessageDigestSpi over TPM2_HashSequenceStart/TPM2_SequenceUpdate/TPM2_SequenceComplete */
+    public static class DigestSpi extends MessageDigestSpi
+    {
+        final ChunkedSequence seq;
+
+        DigestSpi(Tpm tpm, TPM_ALG_ID hashAlg)
+        {
+            seq = new ChunkedSequence(tpm, hashAlg) {
+                @Override
+                TPM_HANDLE start(Tpm t) { return t.HashSequenceStart(new byte[0], hashAlg); }
+
+                @Override
+                byte[] oneShot(Tpm t, byte[] data) { return t.Hash(data, hashAlg, TPM_HANDLE.NULL).outHash; }
+            };
+        }
+
+        @Override
+        protected int engineGetDigestLength() { return Crypto.digestSize(seq.hashAlg); }
+
+        @Override
+        protected void engineUpdate(byte input)
+        {
+            seq.update(new byte[] {input}, 0, 1);
+        }
+
+        @Override
+        protected void engineUpdate(byte[] input, int offset, int len)
+        {
+            seq.update(input, offset, len);
+        }
+
+        @Override
+        protected byte[] engineDigest() { return seq.finish(); }
+
+        @Override
+        protected void engineReset() { seq.reset(); }
+    }
+
+    /** MacSpi over TPM2_HMAC_Start/TPM2_SequenceUpdate/TPM2_SequenceComplete */
+    public static class HmacSpi extends MacSpi
+    {
+        final ChunkedSequence seq;
+
+        /** The key handle, if the key was loaded by the caller */
+        TPM_HANDLE keyHandle;
+
+        /** The raw key to load for each HMAC computation (if keyHandle is null) */
+        byte[] rawKey;
+
+        /** The loaded raw key */
+        TPM_HANDLE loadedKey;
+
+        HmacSpi(Tpm tpm, TPM_ALG_ID hashAlg)
+        {
+            seq = new ChunkedSequence(tpm, hashAlg) {
+                @Override
+                TPM_HANDLE start(Tpm t) { return t.HMAC_Start(key(t), new byte[0], hashAlg); }
+
+                @Override
+                byte[] oneShot(Tpm t, byte[] data) { return t.HMAC(key(t), data, hashAlg); }
+            };
+        }
+
+        TPM_HANDLE key(Tpm t)
+        {
+            if (keyHandle != null)
+                return keyHandle;
+            if (loadedKey == null)
+            {
+                TPM_ALG_ID alg = seq.hashAlg;
+                byte[] seed = Helpers.RandomBytes(Crypto.digestSize(alg));
+                TPMT_PUBLIC pub = new TPMT_PUBLIC(alg, new TPMA_OBJECT(TPMA_OBJECT.sign, TPMA_OBJECT.userWithAuth),
+                        new byte[0], new TPMS_KEYEDHASH_PARMS(new TPMS_SCHEME_HMAC(alg)),
+                        new TPM2B_DIGEST_KEYEDHASH(Crypto.hash(alg, Helpers.concatenate(seed, rawKey))));
+                loadedKey = t.LoadExternal(new TPMT_SENSITIVE(new byte[0], seed, new TPM2B_SENSITIVE_DATA(rawKey)),
+                                           pub, TPM_HANDLE.NULL);
+            }
+            return loadedKey;
+        }
+
+        void unloadKey()
+        {
+            if (loadedKey == null)
+                return;
+            TPM_HANDLE k = loadedKey;
+            loadedKey = null;
+            ChunkedSequence.flush(seq.tpm, k);
+        }
+
+        @Override
+        protected int engineGetMacLength() { return Crypto.digestSize(seq.hashAlg); }
+
+        @Override
+        protected void engineInit(Key key, AlgorithmParameterSpec params)
+                throws InvalidKeyException, InvalidAlgorithmParameterException
+        {
+            if (params != null)
+                throw new InvalidAlgorithmParameterException("HMAC does not use parameters");
+            engineReset();
+            if (key instanceof HmacKey)
+            {
+                keyHandle = ((HmacKey)key).handle;
+                rawKey = null;
+                return;
+            }
+            byte[] k = key == null ? null : key.getEncoded();
+            if (k == null || !"RAW".equalsIgnoreCase(key.getFormat()))
+                throw new InvalidKeyException("Raw secret key or TpmProvider.HmacKey expected");
+            // The keys longer than the hash block are hashed by HMAC itself (RFC 2104), and
+            // the TPM limits the size of the keyed hash object data
+            int blockSize = seq.hashAlg == TPM_ALG_ID.SHA384 || seq.hashAlg == TPM_ALG_ID.SHA512 ? 128 : 64;
+            rawKey = k.length > blockSize ? Crypto.hash(seq.hashAlg, k) : k;
+            keyHandle = null;
+        }
+
+        @Override
+        protected void engineUpdate(byte input)
+        {
+            seq.update(new byte[] {input}, 0, 1);
+        }
+
+        @Override
+        protected void engineUpdate(byte[] input, int offset, int len)
+        {
+            seq.update(input, offset, len);
+        }
+
+        @Override
+        protected byte[] engineDoFinal()
+        {
+            try {
+                return seq.finish();
+            } finally {
+                unloadKey();
+            }
+        }
+
+        @Override
+        protected void engineReset()
+        {
+            try {
+                seq.reset();
+            } finally {
+                unloadKey();
+            }
+        }
+    }
+
+    /** SecureRandomSpi serving the TPM random bytes, either directly, or via an HMAC_DRBG */
+    public static class RandomSpi extends SecureRandomSpi
+    {
+        private static final long serialVersionUID = 1L;
+
+        /** Maximal size of the TPM2_StirRandom input */
+        static final int MaxStirSize = 128;
+
+        final transient TpmEntropyPool pool;
+        final boolean useDrbg;
+
+        /** HMAC_DRBG state */
+        byte[] drbgKey, drbgV;
+        int requestsSinceReseed;
+
+        RandomSpi(TpmEntropyPool pool, boolean useDrbg)
+        {
+            this.pool = pool;
+            this.useDrbg = useDrbg;
+        }
+
+        /** Mixes the given seed into the DRBG state, or into the TPM's own RNG state */
+        @Override
+        protected synchronized void engineSetSeed(byte[] seed)
+        {
+            if (useDrbg)
+            {
+                if (drbgKey == null)
+                    drbgInstantiate();
+                drbgUpdate(seed);
+                return;
+            }
+            for (int pos = 0; pos < seed.length; pos += MaxStirSize)
+            {
+                byte[] chunk = Arrays.copyOfRange(seed, pos, Math.min(seed.length, pos + MaxStirSize));
+                pool.tpm.invocation().run(t -> t.StirRandom(chunk));
+            }
+        }
+
+        @Override
+        protected void engineNextBytes(byte[] bytes)
+        {
+            if (useDrbg)
+                drbgGenerate(bytes);
+            else
+                pool.nextBytes(bytes);
+        }
+
+        @Override
+        protected byte[] engineGenerateSeed(int numBytes)
+        {
+            return pool.nextBytes(numBytes);
+        }
+
+        void drbgInstantiate()
+        {
+            // Entropy input and nonce for the 256 bit security strength
+            drbgKey = new byte[32];
+            drbgV = new byte[32];
+            Arrays.fill(drbgV, (byte)1);
+            drbgUpdate(pool.nextBytes(48));
+            requestsSinceReseed = 0;
+        }
+
+        void drbgUpdate(byte[] data)
+        {
+            drbgKey = Crypto.hmac(TPM_ALG_ID.SHA256, drbgKey, Helpers.concatenate(drbgV, new byte[] {0}, data));
+            drbgV = Crypto.hmac(TPM_ALG_ID.SHA256, drbgKey, drbgV);
+            if (data.length == 0)
+                return;
+            drbgKey = Crypto.hmac(TPM_ALG_ID.SHA256, drbgKey, Helpers.concatenate(drbgV, new byte[] {1}, data));
+            drbgV = Crypto.hmac(TPM_ALG_ID.SHA256, drbgKey, drbgV);
+        }
+
+        synchronized void drbgGenerate(byte[] bytes)
+        {
+            if (drbgKey == null)
+                drbgInstantiate();
+            else if (++requestsSinceReseed >= DrbgReseedInterval)
+            {
+                drbgUpdate(pool.nextBytes(32));
+                requestsSinceReseed = 0;
+            }
+            for (int pos = 0; pos < bytes.length; pos += drbgV.length)
+            {
+                drbgV = Crypto.hmac(TPM_ALG_ID.SHA256, drbgKey, drbgV);
+                System.arraycopy(drbgV, 0, bytes, pos, Math.min(drbgV.length, bytes.length - pos));
+            }
+            drbgUpdate(new byte[0]);
+        }
+    }
+}
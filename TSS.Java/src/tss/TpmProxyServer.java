@@ -0,0 +1,802 @@
+package tss;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import tss.TpmDeviceTcp.TcpTpmCommands;
+import tss.tpm.*;
+
+/**
+ * Serves a single TPM device to many concurrent clients over the TPM simulator protocol
+ * (as spoken by {@link TpmDeviceTcp} and {@link TpmDeviceTcpNio}), so that multiple
+ * processes can share one TPM via {@link TpmFactory#remoteTpm(String, int)}.
+ * <P>
+ * Client connections are served by a single NIO selector thread. Commands are queued
+ * per client, and a backend thread executes them on the TPM device in round-robin order
+ * across the clients, so that a client submitting many (pipelined) commands cannot
+ * starve the others.
+ * <P>
+ * Transient object handles are virtualized per client: a client only sees (and can only
+ * use) the objects it created itself. Handles in the handle area of commands and responses,
+ * and the FlushContext parameter are translated. Session handles are passed through as is,
+ * since the name of a session is its handle and is included into the command HMACs, but a
+ * client can only use the sessions it started (or loaded) itself. A session is forgotten
+ * when it is flushed, or when a response shows that the TPM closed it. Everything a client
+ * has left loaded is flushed when it disconnects. Capability queries are passed through
+ * unmodified.
+ * <P>
+ * Platform signals (power, NV, physical presence, cancel) received on the signal port are
+ * acknowledged but not forwarded, as they would affect all clients of the shared TPM. The
+ * platform hash sequence signals (H-CRTM events) are rejected for the same reason.
+ * Localities requested by the clients are ignored. The old Linux user mode TRM variant of
+ * the protocol is not supported.
+ */
+public class TpmProxyServer implements Closeable
+{
+    /** Protocol version reported in response to the RemoteHandshake command */
+    static final int ProtocolVersion = 1;
+
+    /** Largest accepted TPM command */
+    static final int MaxCommandSize = 0x10000;
+
+    static final int DefaultBufSize = 4096;
+
+    /** TPMA_CC bits */
+    static final int cHandlesShift = 25,
+                     cHandlesMask = 0x7,
+                     rHandle = 1 << 28,
+                     ccMask = 0x2000FFFF;   // commandIndex and the vendor bit
+
+    /** A command queued for the execution on the backend device */
+    static class Request
+    {
+        /** Command buffer, or null to release all resources held by the client */
+        final byte[] cmd;
+        final long enqueuedNs = System.nanoTime();
+
+        Request(byte[] cmd) { this.cmd = cmd; }
+    }
+
+    /** State of a client connection */
+    static class Client
+    {
+        final SocketChannel ch;
+        final boolean signalConn;
+        volatile boolean closed;
+
+        /** Inbound data not parsed yet */
+        ByteBuffer in = ByteBuffer.allocate(DefaultBufSize);
+
+        /** Number of bytes of the incompletely received command (if any) */
+        int needed;
+
+        /** Outbound data not sent yet */
+        final ConcurrentLinkedQueue<ByteBuffer> out = new ConcurrentLinkedQueue<ByteBuffer>();
+
+        /** Commands waiting for execution. Guarded by the proxy's run queue. */
+        final ArrayDeque<Request> pending = new ArrayDeque<Request>();
+
+        // Transient handle virtualization tables. Only accessed by the backend thread.
+        final Map<Integer, Integer> realHandles = new HashMap<Integer, Integer>();
+        final Map<Integer, Integer> virtualHandles = new HashMap<Integer, Integer>();
+        int nextHandle = 0;
+
+        Client(SocketChannel ch, boolean signalConn)
+        {
+            this.ch = ch;
+            this.signalConn = signalConn;
+        }
+    }
+
+    final TpmDevice backend;
+    final InetSocketAddress cmdAddr, sigAddr;
+
+    /** TPMA_CC attributes of the commands supported by the backend TPM, keyed by the command code */
+    final Map<Integer, Integer> cmdAttrs = new HashMap<Integer, Integer>();
+
+    Selector selector;
+    ServerSocketChannel cmdServer, sigServer;
+    Thread ioThread, backendThread;
+    volatile boolean stopped;
+
+    /** Clients with commands waiting for execution, in the order of service */
+    final ArrayDeque<Client> runQueue = new ArrayDeque<Client>();
+
+    /** Clients with outbound data the backend thread could not write without blocking */
+    final ConcurrentLinkedQueue<Client> outputReady = new ConcurrentLinkedQueue<Client>();
+
+    final List<Client> clients = new ArrayList<Client>();
+
+    /** Clients owning the loaded sessions, keyed by the session handle. Only accessed by the
+     *  backend thread. */
+    final Map<Integer, Client> sessionOwners = new HashMap<Integer, Client>();
+
+    // Statistics. Queue depth counters are guarded by the run queue.
+    int queueDepth, maxQueueDepth;
+    final AtomicInteger numClients = new AtomicInteger();
+    final AtomicLong    numCommands = new AtomicLong(),
+                        totalServiceNs = new AtomicLong(),
+                        maxServiceNs = new AtomicLong(),
+                        totalWaitNs = new AtomicLong(),
+                        maxWaitNs = new AtomicLong();
+
+    /**
+     * Creates a proxy listening on the loopback interface
+     * @param backend Connected TPM device to be shared
+     * @param port Port number of the TPM command socket. The signal socket uses port+1.
+     */
+    public TpmProxyServer(TpmDevice backend, int port)
+    {
+        this(backend, "localhost", port);
+    }
+
+    /**
+     * Creates a proxy listening on the given interface
+     * @param backend Connected TPM device to be shared
+     * @param hostName Host name or address of the interface to listen on
+     * @param port Port number of the TPM command socket. The signal socket uses port+1.
+     */
+    public TpmProxyServer(TpmDevice backend, String hostName, int port)
+    {
+        this.backend = backend;
+        cmdAddr = new InetSocketAddress(hostName, port);
+        sigAddr = new InetSocketAddress(hostName, port + 1);
+    }
+
+    /** Queries the command attributes of the backend TPM, and starts accepting clients
+     *  @return This object
+     */
+    public TpmProxyServer start()
+    {
+        queryCommandAttributes();
+        try {
+            selector = Selector.open();
+            cmdServer = openServer(cmdAddr);
+            sigServer = openServer(sigAddr);
+        } catch (IOException e) {
+            close();
+            throw new TpmException("TpmProxyServer: Failed to listen on " + cmdAddr, e);
+        }
+
+        ioThread = new Thread(this::serveClients, "TpmProxyServer-io");
+        backendThread = new Thread(this::serveBackend, "TpmProxyServer-backend");
+        ioThread.start();
+        backendThread.start();
+        return this;
+    }
+
+    void queryCommandAttributes()
+    {
+        Tpm tpm = new Tpm();
+        tpm._setDevice(backend);
+        int cc = TPM_CC.FIRST.toInt();
+        while (true)
+        {
+            GetCapabilityResponse caps = tpm.GetCapability(TPM_CAP.COMMANDS, cc, 256);
+            TPMA_CC[] attrs = ((TPML_CCA)caps.capabilityData).commandAttributes;
+            for (TPMA_CC a : attrs)
+            {
+                cc = a.toInt() & ccMask;
+                cmdAttrs.put(cc, a.toInt());
+            }
+            if (caps.moreData == 0 || attrs.length == 0)
+                break;
+            ++cc;
+        }
+    }
+
+    ServerSocketChannel openServer(InetSocketAddress addr) throws IOException
+    {
+        ServerSocketChannel server = ServerSocketChannel.open();
+        server.setOption(StandardSocketOptions.SO_REUSEADDR, true);
+        server.bind(addr);
+        server.configureBlocking(false);
+        server.register(selector, SelectionKey.OP_ACCEPT);
+        return server;
+    }
+
+    /** Stops the proxy, and disconnects all clients. The backend device is left open. */
+    @Override
+    public void close()
+    {
+        stopped = true;
+        synchronized (runQueue) {
+            runQueue.notifyAll();
+        }
+        if (selector != null)
+            selector.wakeup();
+        join(ioThread);
+        join(backendThread);
+
+        // Both the connected clients and the disconnected ones still waiting for cleanup.
+        // A connected client may be queued too, and is closed only once.
+        LinkedHashSet<Client> all = new LinkedHashSet<Client>(clients);
+        all.addAll(runQueue);
+        for (Client c : all)
+        {
+            closeChannel(c.ch);
+            if (!c.signalConn)
+                releaseHandles(c);
+        }
+        clients.clear();
+        runQueue.clear();
+        closeChannel(cmdServer);
+        closeChannel(sigServer);
+        closeChannel(selector);
+    }
+
+    static void join(Thread t)
+    {
+        if (t == null || t == Thread.currentThread())
+            return;
+        try {
+            t.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    static void closeChannel(Closeable ch)
+    {
+        if (ch != null)
+            try { ch.close(); } catch (IOException e) {}
+    }
+
+    //
+    // Statistics
+    //
+
+    /** @return Number of currently connected clients (command connections only) */
+    public int numClients() { return numClients.get(); }
+
+    /** @return Total number of TPM commands executed on behalf of the clients */
+    public long numCommands() { return numCommands.get(); }
+
+    /** @return Number of commands currently waiting for execution */
+    public int queueDepth()
+    {
+        synchronized (runQueue) {
+            return queueDepth;
+        }
+    }
+
+    /** @return Largest number of commands simultaneously waiting for execution */
+    public int maxQueueDepth()
+    {
+        synchronized (runQueue) {
+            return maxQueueDepth;
+        }
+    }
+
+    /** @return Average time in nanoseconds the backend device took to execute a command */
+    public long avgServiceNanos()
+    {
+        long n = numCommands.get();
+        return n == 0 ? 0 : totalServiceNs.get() / n;
+    }
+
+    /** @return Longest time in nanoseconds the backend device took to execute a command */
+    public long maxServiceNanos() { return maxServiceNs.get(); }
+
+    /** @return Average time in nanoseconds a command waited in the queue */
+    public long avgQueueWaitNanos()
+    {
+        long n = numCommands.get();
+        return n == 0 ? 0 : totalWaitNs.get() / n;
+    }
+
+    /** @return Longest time in nanoseconds a command waited in the queue */
+    public long maxQueueWaitNanos() { return maxWaitNs.get(); }
+
+    static void updateMax(AtomicLong max, long val)
+    {
+        long cur;
+        while (val > (cur = max.get()) && !max.compareAndSet(cur, val))
+            continue;
+    }
+
+    //
+    // Client connections (selector thread)
+    //
+
+    void serveClients()
+    {
+        try {
+            while (!stopped)
+            {
+                selector.select();
+                Client c;
+                while ((c = outputReady.poll()) != null)
+                    flush(c);
+
+                Iterator<SelectionKey> it = selector.selectedKeys().iterator();
+                while (it.hasNext())
+                {
+                    SelectionKey key = it.next();
+                    it.remove();
+                    if (!key.isValid())
+                        continue;
+                    if (key.isAcceptable())
+                        accept((ServerSocketChannel)key.channel());
+                    else
+                    {
+                        c = (Client)key.attachment();
+                        if (key.isReadable())
+                            receive(c);
+                        if (key.isValid() && key.isWritable())
+                            flush(c);
+                    }
+                }
+            }
+        } catch (IOException | ClosedSelectorException e) {
+            if (!stopped)
+                System.err.println("TpmProxyServer: " + e.getMessage());
+        }
+    }
+
+    void accept(ServerSocketChannel server) throws IOException
+    {
+        SocketChannel ch = server.accept();
+        if (ch == null)
+            return;
+        ch.configureBlocking(false);
+        ch.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        Client c = new Client(ch, server == sigServer);
+        ch.register(selector, SelectionKey.OP_READ, c);
+        clients.add(c);
+        if (!c.signalConn)
+            numClients.incrementAndGet();
+    }
+
+    void receive(Client c)
+    {
+        try {
+            if (c.ch.read(c.in) < 0)
+            {
+                disconnect(c);
+                return;
+            }
+        } catch (IOException e) {
+            disconnect(c);
+            return;
+        }
+
+        c.in.flip();
+        while (!c.closed && c.in.remaining() >= 4)
+        {
+            c.in.mark();
+            int cmd = c.in.getInt();
+            boolean complete = c.signalConn ? processSignal(c, cmd) : processCommand(c, cmd);
+            if (!complete)
+            {
+                c.in.reset();
+                break;
+            }
+        }
+        c.in.compact();
+        if (c.in.capacity() < c.needed)
+        {
+            ByteBuffer in = ByteBuffer.allocate(c.needed);
+            c.in.flip();
+            in.put(c.in);
+            c.in = in;
+        }
+    }
+
+    /** Processes a command received on the TPM command connection
+     *  @return false if the command has not been completely received yet
+     */
+    boolean processCommand(Client c, int cmd)
+    {
+        if (cmd == TcpTpmCommands.SendCommand.getVal())
+        {
+            // {locality, cmdSize, cmd}
+            if (c.in.remaining() < 5)
+                return false;
+            c.in.get();
+            int cmdSize = c.in.getInt();
+            if (cmdSize < 10 || cmdSize > MaxCommandSize)
+            {
+                disconnect(c);
+                return true;
+            }
+            if (c.in.remaining() < cmdSize)
+            {
+                c.needed = 9 + cmdSize;
+                return false;
+            }
+            c.needed = 0;
+            byte[] cmdBuf = new byte[cmdSize];
+            c.in.get(cmdBuf);
+            enqueue(c, new Request(cmdBuf));
+        }
+        else if (cmd == TcpTpmCommands.RemoteHandshake.getVal())
+        {
+            // {clientVersion} -> {serverVersion, endpointInfo, ack}
+            if (c.in.remaining() < 4)
+                return false;
+            c.in.getInt();
+            send(c, ProtocolVersion, 0x02 /* tpmUsesTrm */, 0);
+        }
+        else if (cmd == TcpTpmCommands.SessionEnd.getVal() || cmd == TcpTpmCommands.Stop.getVal())
+            disconnect(c);
+        else
+        {
+            System.err.println("TpmProxyServer: Unsupported command " + cmd + " from " + remoteAddress(c));
+            disconnect(c);
+        }
+        return true;
+    }
+
+    /** Processes a command received on the platform signal connection */
+    boolean processSignal(Client c, int cmd)
+    {
+        if (cmd == TcpTpmCommands.SessionEnd.getVal() || cmd == TcpTpmCommands.Stop.getVal())
+            disconnect(c);
+        else if (cmd >= TcpTpmCommands.SignalHashStart.getVal() && cmd <= TcpTpmCommands.SignalHashEnd.getVal())
+        {
+            // The hash data payload is not consumed, so the connection cannot be used anymore
+            System.err.println("TpmProxyServer: Platform hash signals are not supported (from " +
+                               remoteAddress(c) + ")");
+            disconnect(c);
+        }
+        else if (cmd >= TcpTpmCommands.SignalPowerOn.getVal() && cmd <= TcpTpmCommands.SignalKeyCacheOff.getVal()
+                 && cmd != TcpTpmCommands.SendCommand.getVal())
+            send(c, 0);
+        else
+        {
+            System.err.println("TpmProxyServer: Unsupported signal " + cmd + " from " + remoteAddress(c));
+            disconnect(c);
+        }
+        return true;
+    }
+
+    static String remoteAddress(Client c)
+    {
+        try {
+            return String.valueOf(c.ch.getRemoteAddress());
+        } catch (IOException e) {
+            return "(unknown)";
+        }
+    }
+
+    void send(Client c, int... vals)
+    {
+        ByteBuffer buf = ByteBuffer.allocate(vals.length * 4);
+        for (int v : vals)
+            buf.putInt(v);
+        buf.flip();
+        c.out.add(buf);
+        flush(c);
+    }
+
+    /** Writes as much of the pending output as the socket accepts without blocking.
+     *  Called by both the selector and backend threads.
+     *  @return false if some output remains pending
+     */
+    boolean flush(Client c)
+    {
+        synchronized (c) {
+            SelectionKey key = c.ch.keyFor(selector);
+            if (c.closed || key == null || !key.isValid())
+                return true;
+            try {
+                ByteBuffer buf;
+                while ((buf = c.out.peek()) != null)
+                {
+                    c.ch.write(buf);
+                    if (buf.hasRemaining())
+                    {
+                        key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+                        return false;
+                    }
+                    c.out.poll();
+                }
+                if (key.interestOps() != SelectionKey.OP_READ)
+                    key.interestOps(SelectionKey.OP_READ);
+            } catch (IOException | CancelledKeyException e) {
+                // The connection is broken or being closed by the selector thread
+            }
+            return true;
+        }
+    }
+
+    void disconnect(Client c)
+    {
+        if (c.closed)
+            return;
+        c.closed = true;
+        closeChannel(c.ch);
+        clients.remove(c);
+        if (!c.signalConn)
+        {
+            numClients.decrementAndGet();
+            enqueue(c, new Request(null));
+        }
+    }
+
+    //
+    // Backend device (backend thread)
+    //
+
+    void enqueue(Client c, Request r)
+    {
+        synchronized (runQueue) {
+            if (c.pending.isEmpty())
+                runQueue.add(c);
+            c.pending.add(r);
+            if (++queueDepth > maxQueueDepth)
+                maxQueueDepth = queueDepth;
+            runQueue.notify();
+        }
+    }
+
+    void serveBackend()
+    {
+        while (true)
+        {
+            Client c;
+            Request r;
+            synchronized (runQueue) {
+                while (runQueue.isEmpty() && !stopped)
+                {
+                    try {
+                        runQueue.wait();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                if (stopped)
+                    return;
+                c = runQueue.poll();
+                r = c.pending.poll();
+                // Round-robin: a client with more commands goes to the end of the queue
+                if (!c.pending.isEmpty())
+                    runQueue.add(c);
+                --queueDepth;
+            }
+
+            if (r.cmd == null)
+            {
+                releaseHandles(c);
+                continue;
+            }
+            if (c.closed)
+                continue;
+
+            long start = System.nanoTime();
+            byte[] resp = execute(c, r.cmd);
+            long serviceNs = System.nanoTime() - start;
+            numCommands.incrementAndGet();
+            totalServiceNs.addAndGet(serviceNs);
+            updateMax(maxServiceNs, serviceNs);
+            totalWaitNs.addAndGet(start - r.enqueuedNs);
+            updateMax(maxWaitNs, start - r.enqueuedNs);
+
+            // {respSize, resp, ack}
+            ByteBuffer out = ByteBuffer.allocate(resp.length + 8);
+            out.putInt(resp.length).put(resp).putInt(0).flip();
+            c.out.add(out);
+            // Normally the response is written right away, without a round trip
+            // through the selector thread
+            if (!flush(c))
+            {
+                outputReady.add(c);
+                selector.wakeup();
+            }
+        }
+    }
+
+    /** Executes the command on the backend device, translating the virtualized handles */
+    byte[] execute(Client c, byte[] cmd)
+    {
+        ByteBuffer buf = ByteBuffer.wrap(cmd);
+        int tag = buf.getShort(0) & 0xFFFF;
+        int cc = buf.getInt(6);
+        Integer attrs = cmdAttrs.get(cc);
+        if (attrs == null)
+            return errorResponse(TPM_RC.COMMAND_CODE.toInt());
+
+        int numHandles = (attrs >>> cHandlesShift) & cHandlesMask;
+        int flushHandle = 0;
+        List<Integer> sessions = new ArrayList<Integer>();
+        try {
+            buf.position(10);
+            for (int i = 1; i <= numHandles; ++i)
+            {
+                if (!toReal(c, buf))
+                    return errorResponse(TPM_RC.HANDLE.toInt() + TPM_RC.H.toInt() + TPM_RC._1.toInt() * i);
+            }
+            if (tag == TPM_ST.SESSIONS.toInt())
+            {
+                int authEnd = buf.getInt();
+                authEnd += buf.position();
+                for (int i = 1; buf.position() < authEnd; ++i)
+                {
+                    if (!toReal(c, buf))
+                        return errorResponse(TPM_RC.HANDLE.toInt() + TPM_RC.S.toInt() + TPM_RC._1.toInt() * i);
+                    sessions.add(buf.getInt(buf.position() - 4));
+                    skipSized(buf);     // nonceCaller
+                    buf.get();          // sessionAttributes
+                    skipSized(buf);     // hmac
+                }
+            }
+
+            if (cc == TPM_CC.FlushContext.toInt())
+            {
+                if (!toReal(c, buf))
+                    return errorResponse(TPM_RC.VALUE.toInt() + TPM_RC.P.toInt() + TPM_RC._1.toInt());
+                flushHandle = buf.getInt(buf.position() - 4);
+            }
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            return errorResponse(TPM_RC.COMMAND_SIZE.toInt());
+        }
+
+        byte[] resp;
+        try {
+            resp = backend.executeCommand(cmd, 0);
+        } catch (TpmException e) {
+            System.err.println("TpmProxyServer: Backend TPM device failure: " + e.getMessage());
+            return errorResponse(TPM_RC.FAILURE.toInt());
+        }
+
+        ByteBuffer rbuf = ByteBuffer.wrap(resp);
+        if (resp.length < 10 || rbuf.getInt(6) != TPM_RC.SUCCESS.toInt())
+            return resp;
+        boolean hasHandle = (attrs & rHandle) != 0 && resp.length >= 14;
+        if (hasHandle)
+        {
+            int h = rbuf.getInt(10);
+            // A session handle reused by the TPM may still be recorded for another client,
+            // if the response closing the session was not seen
+            if (isSession(h))
+                sessionOwners.put(h, c);
+            else
+                rbuf.putInt(10, toVirtual(c, h));
+        }
+        if (flushHandle != 0)
+        {
+            if (isSession(flushHandle))
+                sessionOwners.remove(flushHandle);
+            else
+                c.realHandles.remove(c.virtualHandles.remove(flushHandle));
+        }
+        if (!sessions.isEmpty())
+            dropClosedSessions(rbuf, hasHandle, sessions);
+        return resp;
+    }
+
+    /** Forgets the sessions of the command the TPM closed after the successful execution
+     *  (continueSession is CLEAR in their response session attributes)
+     *  @param resp Response buffer
+     *  @param hasHandle Whether the response has a handle area
+     *  @param sessions Session handles in the order of the command's session area
+     */
+    void dropClosedSessions(ByteBuffer resp, boolean hasHandle, List<Integer> sessions)
+    {
+        try {
+            // {tag, size, rc, [handle,] paramSize, params, {nonceTPM, attributes, hmac}...}
+            resp.position(hasHandle ? 14 : 10);
+            int paramSize = resp.getInt();
+            resp.position(resp.position() + paramSize);
+            for (int h : sessions)
+            {
+                skipSized(resp);    // nonceTPM
+                int sessAttrs = resp.get();
+                skipSized(resp);    // hmac
+                if (isSession(h) && (sessAttrs & TPMA_SESSION.continueSession.toInt()) == 0)
+                    sessionOwners.remove(h);
+            }
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            // Malformed response is passed on to the client as is
+        }
+    }
+
+    static void skipSized(ByteBuffer buf)
+    {
+        int size = buf.getShort() & 0xFFFF;
+        buf.position(buf.position() + size);
+    }
+
+    static boolean isVirtualized(int handle)
+    {
+        return handle >>> 24 == TPM_HT.TRANSIENT.toInt();
+    }
+
+    static boolean isSession(int handle)
+    {
+        int type = handle >>> 24;
+        return type == TPM_HT.HMAC_SESSION.toInt() || type == TPM_HT.POLICY_SESSION.toInt();
+    }
+
+    /** Replaces the virtual handle at the current buffer position with the real one
+     *  @return false if the handle is not known to the client, or is a session handle the
+     *          client does not own
+     */
+    boolean toReal(Client c, ByteBuffer buf)
+    {
+        int pos = buf.position();
+        int handle = buf.getInt();
+        if (isSession(handle))
+            return sessionOwners.get(handle) == c;
+        if (!isVirtualized(handle))
+            return true;
+        Integer real = c.realHandles.get(handle);
+        if (real == null)
+            return false;
+        buf.putInt(pos, real);
+        return true;
+    }
+
+    /** @return The virtual handle of the given real one, allocated if necessary */
+    static int toVirtual(Client c, int real)
+    {
+        if (!isVirtualized(real))
+            return real;
+        Integer virt = c.virtualHandles.get(real);
+        if (virt == null)
+        {
+            virt = (real & 0xFF000000) | (c.nextHandle++ & 0x00FFFFFF);
+            c.virtualHandles.put(real, virt);
+            c.realHandles.put(virt, real);
+        }
+        return virt;
+    }
+
+    /** Flushes all transient objects and sessions the client has left loaded */
+    void releaseHandles(Client c)
+    {
+        for (int real : c.virtualHandles.keySet())
+            flushContext(real);
+        c.virtualHandles.clear();
+        c.realHandles.clear();
+
+        Iterator<Map.Entry<Integer, Client>> it = sessionOwners.entrySet().iterator();
+        while (it.hasNext())
+        {
+            Map.Entry<Integer, Client> e = it.next();
+            if (e.getValue() == c)
+            {
+                flushContext(e.getKey());
+                it.remove();
+            }
+        }
+    }
+
+    void flushContext(int handle)
+    {
+        ByteBuffer cmd = ByteBuffer.allocate(14);
+        cmd.putShort((short)TPM_ST.NO_SESSIONS.toInt()).putInt(14)
+           .putInt(TPM_CC.FlushContext.toInt()).putInt(handle);
+        try {
+            backend.executeCommand(cmd.array(), 0);
+        } catch (TpmException e) {}
+    }
+
+    static byte[] errorResponse(int rc)
+    {
+        ByteBuffer buf = ByteBuffer.allocate(10);
+        buf.putShort((short)TPM_ST.NO_SESSIONS.toInt()).putInt(10).putInt(rc);
+        return buf.array();
+    }
+}
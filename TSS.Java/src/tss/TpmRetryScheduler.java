@@ -0,0 +1,223 @@
+package tss;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import tss.tpm.*;
+
+/**
+ * Decides whether and when a TPM command failed with a transient warning (TPM_RC.RETRY,
+ * YIELDED, NV_RATE or TESTING) is resent to the TPM, and collects the retry statistics
+ * per command code.
+ * <P>
+ * The delays grow exponentially, starting from 0 ms (RETRY and YIELDED), TestingDelayMs
+ * (TESTING) or the TPM_PT.NV_WRITE_RECOVERY time reported by the TPM (NV_RATE), and are
+ * capped by MaxDelayMs. A command is resent at most MaxRetries times, after which its last
+ * response code is reported as usual. A warning explicitly expected by the command
+ * invocation is never retried.
+ */
+public class TpmRetryScheduler
+{
+    /** Retry statistics of a single command code */
+    public static class Stats
+    {
+        final AtomicLong    numRetries = new AtomicLong(),
+                            numExhausted = new AtomicLong(),
+                            waitNanos = new AtomicLong();
+
+        /** @return Number of times the command was resent to the TPM */
+        public long numRetries() { return numRetries.get(); }
+
+        /** @return Number of times the command failed after MaxRetries attempts */
+        public long numExhausted() { return numExhausted.get(); }
+
+        /** @return Total time in nanoseconds spent waiting before the retries */
+        public long waitNanos() { return waitNanos.get(); }
+
+        @Override
+        public String toString()
+        {
+            return String.format("retries %d, exhausted %d, waited %.3f ms",
+                                 numRetries(), numExhausted(), waitNanos() / 1e6);
+        }
+    }
+
+    /** Maximal number of times a single command invocation is resent */
+    public int MaxRetries = 10;
+
+    /** Upper bound of a single delay in milliseconds (except for the first NV_RATE delay,
+     *  which is never shorter than the NV write recovery time reported by the TPM) */
+    public int MaxDelayMs = 1000;
+
+    /** Initial delay in milliseconds for the TPM_RC.TESTING warning */
+    public int TestingDelayMs = 10;
+
+    /** NV write recovery time used if the TPM does not report TPM_PT.NV_WRITE_RECOVERY */
+    public int DefaultNvWriteRecoveryMs = 50;
+
+    final TpmBase tpm;
+    final Map<Integer, Stats> stats = new ConcurrentHashMap<Integer, Stats>();
+
+    /** Cached TPM_PT.NV_WRITE_RECOVERY value (-1 if not read from the TPM yet) */
+    volatile int nvWriteRecoveryMs = -1;
+
+    static ScheduledExecutorService retryTimer = null;
+
+    TpmRetryScheduler(TpmBase tpm)
+    {
+        this.tpm = tpm;
+    }
+
+    /** @return Whether the given response code is a transient warning worth retrying */
+    public static boolean isRetriable(TPM_RC rc)
+    {
+        return rc == TPM_RC.RETRY || rc == TPM_RC.YIELDED ||
+               rc == TPM_RC.NV_RATE || rc == TPM_RC.TESTING;
+    }
+
+    /**
+     * @param cmdCode Command code
+     * @param rc Response code returned by the TPM
+     * @param attempt Number of the retries already made
+     * @param expectedResponses Response codes expected by the command invocation
+     * @return Whether the command should be resent
+     */
+    boolean shouldRetry(TPM_CC cmdCode, TPM_RC rc, int attempt, TPM_RC[] expectedResponses)
+    {
+        if (!isRetriable(rc) || Helpers.isOneOf(rc, expectedResponses))
+            return false;
+        if (attempt < MaxRetries)
+            return true;
+        statsFor(cmdCode).numExhausted.incrementAndGet();
+        return false;
+    }
+
+    /**
+     * @param rc Response code returned by the TPM
+     * @param attempt Number of the retries already made
+     * @param readProps Whether the TPM properties may be queried from the TPM (if not cached yet)
+     * @return Delay in milliseconds before the next attempt
+     */
+    long delayMs(TPM_RC rc, int attempt, boolean readProps)
+    {
+        long base;
+        if (rc == TPM_RC.NV_RATE)
+        {
+            base = nvWriteRecoveryMs(readProps);
+            return Math.max(base, Math.min(base << Math.min(attempt, 20), MaxDelayMs));
+        }
+        if (rc == TPM_RC.TESTING)
+            base = TestingDelayMs;
+        else if (attempt == 0)
+            return 0;   // RETRY and YIELDED are first resent immediately
+        else
+            base = 1;
+        return Math.min(base << Math.min(attempt, 20), MaxDelayMs);
+    }
+
+    /** Blocks the current thread before the next attempt of the command */
+    void await(TPM_CC cmdCode, TPM_RC rc, int attempt)
+    {
+        long delay = delayMs(rc, attempt, true);
+        long start = System.nanoTime();
+        if (delay > 0)
+        {
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new TpmException("Interrupted while waiting to resend " + cmdCode, rc);
+            }
+        }
+        recordRetry(cmdCode, System.nanoTime() - start);
+    }
+
+    /** @return Future completed when the next attempt of an asynchronous command may be made */
+    CompletableFuture<Void> delay(TPM_CC cmdCode, TPM_RC rc, int attempt)
+    {
+        // Asynchronous completions run on the device's command executor, so the TPM cannot
+        // be queried for its properties here
+        long delay = delayMs(rc, attempt, false);
+        if (delay == 0)
+        {
+            recordRetry(cmdCode, 0);
+            return CompletableFuture.completedFuture(null);
+        }
+        // The time actually waited is recorded when the timer fires, unless the wait has been
+        // cancelled before
+        CompletableFuture<Void> f = new CompletableFuture<Void>();
+        long start = System.nanoTime();
+        retryTimer().schedule(() -> {
+            if (f.isDone())
+                return;
+            recordRetry(cmdCode, System.nanoTime() - start);
+            f.complete(null);
+        }, delay, TimeUnit.MILLISECONDS);
+        return f;
+    }
+
+    static synchronized ScheduledExecutorService retryTimer()
+    {
+        if (retryTimer == null)
+        {
+            retryTimer = Helpers.daemonScheduler("TpmRetryScheduler timer");
+        }
+        return retryTimer;
+    }
+
+    int nvWriteRecoveryMs(boolean readProps)
+    {
+        int val = nvWriteRecoveryMs;
+        if (val >= 0 || !readProps)
+            return val >= 0 ? val : DefaultNvWriteRecoveryMs;
+
+        // Prevents recursion should the property query be retried itself
+        nvWriteRecoveryMs = DefaultNvWriteRecoveryMs;
+        try {
+            // A clean invocation, so that the modifiers of the failed command do not apply
+            val = tpm.invocation().call(t -> TpmHelpers.getTpmProperty(t, TPM_PT.NV_WRITE_RECOVERY));
+        } catch (RuntimeException e) {
+            val = 0;
+        }
+        nvWriteRecoveryMs = val > 0 ? val : DefaultNvWriteRecoveryMs;
+        return nvWriteRecoveryMs;
+    }
+
+    /** Drops the cached TPM properties (e.g. when a different TPM device is used) */
+    public void resetCachedProperties()
+    {
+        nvWriteRecoveryMs = -1;
+    }
+
+    void recordRetry(TPM_CC cmdCode, long waitNs)
+    {
+        Stats s = statsFor(cmdCode);
+        s.numRetries.incrementAndGet();
+        s.waitNanos.addAndGet(waitNs);
+    }
+
+    Stats statsFor(TPM_CC cmdCode)
+    {
+        return stats.computeIfAbsent(cmdCode.toInt(), cc -> new Stats());
+    }
+
+    /** @return Retry statistics of the command codes that have been retried at least once */
+    public Map<TPM_CC, Stats> getStats()
+    {
+        Map<TPM_CC, Stats> res = new TreeMap<TPM_CC, Stats>((a, b) -> Integer.compareUnsigned(a.toInt(), b.toInt()));
+        for (Map.Entry<Integer, Stats> e : stats.entrySet())
+            res.put(TPM_CC.fromInt(e.getKey()), e.getValue());
+        return res;
+    }
+
+    /** Clears the retry statistics */
+    public void resetStats()
+    {
+        stats.clear();
+    }
+}
@@ -1,6 +1,8 @@
 
 package tss;
 
+import java.util.Arrays;
+
 // import tss.tpm.*;
 
 public class TpmStructure implements TpmMarshaller {
@@ -26,9 +28,13 @@ public class TpmStructure implements TpmMarshaller {
     /** @return TPM binary representation of this object. */
     public byte[] toBytes()
     {
-        TpmBuffer buf = new TpmBuffer();
-        toTpm(buf);
-        return buf.trim();
+        TpmBuffer buf = TpmBuffer.scratch();
+        try {
+            toTpm(buf);
+            return buf.toByteArray();
+        } finally {
+            buf.release();
+        }
     }
 
     /** Initializes this object from a TPM binary representation in the given byte buffer
@@ -44,30 +50,34 @@ public class TpmStructure implements TpmMarshaller {
     /** @return 2B size-prefixed TPM binary representation of this object. */
     byte[] asTpm2B()
     {
-        TpmBuffer buf = new TpmBuffer();
-        buf.writeSizedObj(this);
-        return buf.trim();
+        TpmBuffer buf = TpmBuffer.scratch();
+        try {
+            buf.writeSizedObj(this);
+            return buf.toByteArray();
+        } finally {
+            buf.release();
+        }
     }
 
+    /** Compares the TPM binary representations of the structures of the same type. The generated
+     *  structures override it with a field-wise comparison.
+     */
     @Override
     public boolean equals(Object obj)
     {
         if (this == obj) 
             return true;
-        else if (obj == null) 
+        else if (obj == null || obj.getClass() != getClass()) 
             return false;
-        else if (obj instanceof TpmStructure) 
-        {
-            byte[] thisObject = this.toBytes();
-            byte[] thatObject = ((TpmStructure)obj).toBytes();
-            return Helpers.arraysAreEqual(thisObject,  thatObject);
-        }
-        return false;
+        return Arrays.equals(toBytes(), ((TpmStructure)obj).toBytes());
     }
 
+    /** @return Hash of the TPM binary representation consistent with equals(). The generated
+     *          structures override it with a field-wise hash.
+     */
     @Override
     public int hashCode()
     {
-        return toBytes().hashCode();
+        return Arrays.hashCode(toBytes());
     }
 }
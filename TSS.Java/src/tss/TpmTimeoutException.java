@@ -0,0 +1,31 @@
+package tss;
+
+import tss.tpm.TPM_RC;
+
+/**
+ * Thrown when a TPM command does not complete within its deadline
+ * (see {@link TpmBase#_withTimeout(int)} and {@link TpmBase#_setCommandTimeout(int)}).
+ *
+ * If the device was able to cancel the command, and the TPM confirmed the cancellation,
+ * ResponseCode is TPM_RC.CANCELED. Otherwise ResponseCode is null, and the device
+ * connection may have been closed to get rid of the outstanding command.
+ */
+public class TpmTimeoutException extends TpmException
+{
+    private static final long serialVersionUID = -3022785916343651937L;
+
+    /** Time in milliseconds elapsed since the command was sent to the TPM */
+    public long ElapsedMillis;
+
+    public TpmTimeoutException(String message, long elapsedMillis)
+    {
+        super(message + " (" + elapsedMillis + " ms elapsed)");
+        ElapsedMillis = elapsedMillis;
+    }
+
+    public TpmTimeoutException(String message, long elapsedMillis, TPM_RC code)
+    {
+        this(message, elapsedMillis);
+        ResponseCode = code;
+    }
+}
@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -33,7 +33,7 @@ public class AC_GetCapabilityResponse extends RespStructure
     public void initFromTpm(TpmBuffer buf)
     {
         moreData = buf.readByte();
-        capabilitiesData = buf.readObjArr(TPMS_AC_OUTPUT.class);
+        capabilitiesData = buf.readObjArr(TPMS_AC_OUTPUT::fromTpm, TPMS_AC_OUTPUT[]::new);
     }
 
     /** @deprecated Use {@link #toBytes()} instead
@@ -47,7 +47,7 @@ public class AC_GetCapabilityResponse extends RespStructure
      */
     public static AC_GetCapabilityResponse fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(AC_GetCapabilityResponse.class);
+        return new TpmBuffer(byteBuf).createObj(AC_GetCapabilityResponse::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -62,7 +62,7 @@ public class AC_GetCapabilityResponse extends RespStructure
      */
     public static AC_GetCapabilityResponse fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(AC_GetCapabilityResponse.class);
+        return buf.createObj(AC_GetCapabilityResponse::new);
     }
 
     @Override
@@ -80,6 +80,55 @@ public class AC_GetCapabilityResponse extends RespStructure
         _p.add(d, "byte", "moreData", moreData);
         _p.add(d, "TPMS_AC_OUTPUT[]", "capabilitiesData", capabilitiesData);
     }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        AC_GetCapabilityResponse that = (AC_GetCapabilityResponse)o;
+        return moreData == that.moreData
+            && Arrays.equals(capabilitiesData, that.capabilitiesData);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = moreData;
+        _h = 31 * _h + Arrays.hashCode(capabilitiesData);
+        return _h;
+    }
+
+    /** Lazy view of the response parameters retained in the response buffer
+     *  (see {@link RespView} and {@link Tpm#_view(RespView)})
+     */
+    public static class View extends RespView<AC_GetCapabilityResponse>
+    {
+        static final int[] Layout = {1, DECODED};
+
+        public View() { super(AC_GetCapabilityResponse.class, Layout); }
+
+        /** Flag to indicate whether there are more values */
+        public byte moreData() { return byteAt(0); }
+
+        /** List of capabilities */
+        public TPMS_AC_OUTPUT[] capabilitiesData() { return field(1); }
+
+        @Override
+        protected AC_GetCapabilityResponse newResponse() { return new AC_GetCapabilityResponse(); }
+
+        @Override
+        protected Object readField(int field, TpmBuffer buf)
+        {
+            switch (field) {
+                case 0: return buf.readByte();
+                case 1: return buf.readObjArr(TPMS_AC_OUTPUT::fromTpm, TPMS_AC_OUTPUT[]::new);
+                default: return null;
+            }
+        }
+    }
 }
 
 //<<<
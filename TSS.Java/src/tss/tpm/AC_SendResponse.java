@@ -1,7 +1,8 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
+import java.nio.ByteBuffer;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -36,7 +37,7 @@ public class AC_SendResponse extends RespStructure
      */
     public static AC_SendResponse fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(AC_SendResponse.class);
+        return new TpmBuffer(byteBuf).createObj(AC_SendResponse::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -51,7 +52,7 @@ public class AC_SendResponse extends RespStructure
      */
     public static AC_SendResponse fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(AC_SendResponse.class);
+        return buf.createObj(AC_SendResponse::new);
     }
 
     @Override
@@ -68,6 +69,42 @@ public class AC_SendResponse extends RespStructure
     {
         _p.add(d, "TPMS_AC_OUTPUT", "acDataOut", acDataOut);
     }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        AC_SendResponse that = (AC_SendResponse)o;
+        return Objects.equals(acDataOut, that.acDataOut);
+    }
+
+    @Override
+    public int hashCode() { return Objects.hashCode(acDataOut); }
+
+    /** Lazy view of the response parameters retained in the response buffer
+     *  (see {@link RespView} and {@link Tpm#_view(RespView)})
+     */
+    public static class View extends RespView<AC_SendResponse>
+    {
+        static final int[] Layout = {DECODED};
+
+        public View() { super(AC_SendResponse.class, Layout); }
+
+        /** May include AC specific data or information about an error. */
+        public TPMS_AC_OUTPUT acDataOut() { return field(0); }
+
+        /** Read-only wire representation of acDataOut */
+        public ByteBuffer acDataOutBytes() { return bytes(0); }
+
+        @Override
+        protected AC_SendResponse newResponse() { return new AC_SendResponse(); }
+
+        @Override
+        protected Object readField(int field, TpmBuffer buf) { return TPMS_AC_OUTPUT.fromTpm(buf); }
+    }
 }
 
 //<<<
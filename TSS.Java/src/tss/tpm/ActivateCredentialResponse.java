@@ -1,7 +1,8 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
+import java.nio.ByteBuffer;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -39,7 +40,7 @@ public class ActivateCredentialResponse extends RespStructure
      */
     public static ActivateCredentialResponse fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(ActivateCredentialResponse.class);
+        return new TpmBuffer(byteBuf).createObj(ActivateCredentialResponse::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -54,7 +55,7 @@ public class ActivateCredentialResponse extends RespStructure
      */
     public static ActivateCredentialResponse fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(ActivateCredentialResponse.class);
+        return buf.createObj(ActivateCredentialResponse::new);
     }
 
     @Override
@@ -72,8 +73,44 @@ public class ActivateCredentialResponse extends RespStructure
         _p.add(d, "byte[]", "certInfo", certInfo);
     }
 
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        ActivateCredentialResponse that = (ActivateCredentialResponse)o;
+        return Arrays.equals(certInfo, that.certInfo);
+    }
+
+    @Override
+    public int hashCode() { return Arrays.hashCode(certInfo); }
+
     @Override
     public SessEncInfo sessEncInfo() { return new SessEncInfo(2, 1); }
+
+    /** Lazy view of the response parameters retained in the response buffer
+     *  (see {@link RespView} and {@link Tpm#_view(RespView)})
+     */
+    public static class View extends RespView<ActivateCredentialResponse>
+    {
+        static final int[] Layout = {SIZED};
+
+        public View() { super(ActivateCredentialResponse.class, Layout); }
+
+        /** The decrypted certificate information
+         *  the data should be no larger than the size of the digest of the nameAlg associated
+         *  with keyHandle
+         */
+        public ByteBuffer certInfo() { return sizedBytes(0); }
+
+        @Override
+        protected ActivateCredentialResponse newResponse() { return new ActivateCredentialResponse(); }
+
+        @Override
+        protected Object readField(int field, TpmBuffer buf) { return buf.readSizedByteBuf(); }
+    }
 }
 
 //<<<
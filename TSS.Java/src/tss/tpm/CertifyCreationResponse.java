@@ -1,7 +1,8 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
+import java.nio.ByteBuffer;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -42,9 +43,9 @@ public class CertifyCreationResponse extends RespStructure
     @Override
     public void initFromTpm(TpmBuffer buf)
     {
-        certifyInfo = buf.createSizedObj(TPMS_ATTEST.class);
+        certifyInfo = buf.createSizedObj(TPMS_ATTEST::new);
         TPM_ALG_ID signatureSigAlg = TPM_ALG_ID.fromTpm(buf);
-        signature = UnionFactory.create("TPMU_SIGNATURE", signatureSigAlg);
+        signature = UnionFactory.createTPMU_SIGNATURE(signatureSigAlg);
         signature.initFromTpm(buf);
     }
 
@@ -59,7 +60,7 @@ public class CertifyCreationResponse extends RespStructure
      */
     public static CertifyCreationResponse fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(CertifyCreationResponse.class);
+        return new TpmBuffer(byteBuf).createObj(CertifyCreationResponse::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -74,7 +75,7 @@ public class CertifyCreationResponse extends RespStructure
      */
     public static CertifyCreationResponse fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(CertifyCreationResponse.class);
+        return buf.createObj(CertifyCreationResponse::new);
     }
 
     @Override
@@ -93,8 +94,67 @@ public class CertifyCreationResponse extends RespStructure
         _p.add(d, "TPMU_SIGNATURE", "signature", signature);
     }
 
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        CertifyCreationResponse that = (CertifyCreationResponse)o;
+        return Objects.equals(certifyInfo, that.certifyInfo)
+            && Objects.equals(signature, that.signature);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Objects.hashCode(certifyInfo);
+        _h = 31 * _h + Objects.hashCode(signature);
+        return _h;
+    }
+
     @Override
     public SessEncInfo sessEncInfo() { return new SessEncInfo(2, 1); }
+
+    /** Lazy view of the response parameters retained in the response buffer
+     *  (see {@link RespView} and {@link Tpm#_view(RespView)})
+     */
+    public static class View extends RespView<CertifyCreationResponse>
+    {
+        static final int[] Layout = {SIZED, DECODED};
+
+        public View() { super(CertifyCreationResponse.class, Layout); }
+
+        /** The structure that was signed */
+        public TPMS_ATTEST certifyInfo() { return field(0); }
+
+        /** Read-only wire representation of certifyInfo (without its size) */
+        public ByteBuffer certifyInfoBytes() { return sizedBytes(0); }
+
+        /** The signature over certifyInfo
+         *  One of: TPMS_SIGNATURE_RSASSA, TPMS_SIGNATURE_RSAPSS, TPMS_SIGNATURE_ECDSA,
+         *  TPMS_SIGNATURE_ECDAA, TPMS_SIGNATURE_SM2, TPMS_SIGNATURE_ECSCHNORR, TPMT_HA,
+         *  TPMS_SCHEME_HASH, TPMS_NULL_SIGNATURE.
+         */
+        public TPMU_SIGNATURE signature() { return field(1); }
+
+        /** Selector of the algorithm used to construct the signature */
+        public TPM_ALG_ID signatureSigAlg() { return signature().GetUnionSelector(); }
+
+        @Override
+        protected CertifyCreationResponse newResponse() { return new CertifyCreationResponse(); }
+
+        @Override
+        protected Object readField(int field, TpmBuffer buf)
+        {
+            switch (field) {
+                case 0: return buf.createSizedObj(TPMS_ATTEST::new);
+                case 1: return readUnion(UnionFactory.createTPMU_SIGNATURE(TPM_ALG_ID.fromTpm(buf)), buf);
+                default: return null;
+            }
+        }
+    }
 }
 
 //<<<
@@ -1,7 +1,8 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
+import java.nio.ByteBuffer;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -53,7 +54,7 @@ public class CertifyX509Response extends RespStructure
         addedToCertificate = buf.readSizedByteBuf();
         tbsDigest = buf.readSizedByteBuf();
         TPM_ALG_ID signatureSigAlg = TPM_ALG_ID.fromTpm(buf);
-        signature = UnionFactory.create("TPMU_SIGNATURE", signatureSigAlg);
+        signature = UnionFactory.createTPMU_SIGNATURE(signatureSigAlg);
         signature.initFromTpm(buf);
     }
 
@@ -68,7 +69,7 @@ public class CertifyX509Response extends RespStructure
      */
     public static CertifyX509Response fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(CertifyX509Response.class);
+        return new TpmBuffer(byteBuf).createObj(CertifyX509Response::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -83,7 +84,7 @@ public class CertifyX509Response extends RespStructure
      */
     public static CertifyX509Response fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(CertifyX509Response.class);
+        return buf.createObj(CertifyX509Response::new);
     }
 
     @Override
@@ -103,8 +104,72 @@ public class CertifyX509Response extends RespStructure
         _p.add(d, "TPMU_SIGNATURE", "signature", signature);
     }
 
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        CertifyX509Response that = (CertifyX509Response)o;
+        return Arrays.equals(addedToCertificate, that.addedToCertificate)
+            && Arrays.equals(tbsDigest, that.tbsDigest)
+            && Objects.equals(signature, that.signature);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Arrays.hashCode(addedToCertificate);
+        _h = 31 * _h + Arrays.hashCode(tbsDigest);
+        _h = 31 * _h + Objects.hashCode(signature);
+        return _h;
+    }
+
     @Override
     public SessEncInfo sessEncInfo() { return new SessEncInfo(2, 1); }
+
+    /** Lazy view of the response parameters retained in the response buffer
+     *  (see {@link RespView} and {@link Tpm#_view(RespView)})
+     */
+    public static class View extends RespView<CertifyX509Response>
+    {
+        static final int[] Layout = {SIZED, SIZED, DECODED};
+
+        public View() { super(CertifyX509Response.class, Layout); }
+
+        /** A DER encoded SEQUENCE containing the DER encoded fields added to partialCertificate
+         *  to make it a complete RFC5280 TBSCertificate.
+         */
+        public ByteBuffer addedToCertificate() { return sizedBytes(0); }
+
+        /** The digest that was signed */
+        public ByteBuffer tbsDigest() { return sizedBytes(1); }
+
+        /** The signature over tbsDigest
+         *  One of: TPMS_SIGNATURE_RSASSA, TPMS_SIGNATURE_RSAPSS, TPMS_SIGNATURE_ECDSA,
+         *  TPMS_SIGNATURE_ECDAA, TPMS_SIGNATURE_SM2, TPMS_SIGNATURE_ECSCHNORR, TPMT_HA,
+         *  TPMS_SCHEME_HASH, TPMS_NULL_SIGNATURE.
+         */
+        public TPMU_SIGNATURE signature() { return field(2); }
+
+        /** Selector of the algorithm used to construct the signature */
+        public TPM_ALG_ID signatureSigAlg() { return signature().GetUnionSelector(); }
+
+        @Override
+        protected CertifyX509Response newResponse() { return new CertifyX509Response(); }
+
+        @Override
+        protected Object readField(int field, TpmBuffer buf)
+        {
+            switch (field) {
+                case 0: return buf.readSizedByteBuf();
+                case 1: return buf.readSizedByteBuf();
+                case 2: return readUnion(UnionFactory.createTPMU_SIGNATURE(TPM_ALG_ID.fromTpm(buf)), buf);
+                default: return null;
+            }
+        }
+    }
 }
 
 //<<<
@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -61,7 +61,7 @@ public class CommandHeader extends TpmStructure
      */
     public static CommandHeader fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(CommandHeader.class);
+        return new TpmBuffer(byteBuf).createObj(CommandHeader::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -76,7 +76,7 @@ public class CommandHeader extends TpmStructure
      */
     public static CommandHeader fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(CommandHeader.class);
+        return buf.createObj(CommandHeader::new);
     }
 
     @Override
@@ -95,6 +95,28 @@ public class CommandHeader extends TpmStructure
         _p.add(d, "int", "CommandSize", CommandSize);
         _p.add(d, "TPM_CC", "CommandCode", CommandCode);
     }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        CommandHeader that = (CommandHeader)o;
+        return Objects.equals(Tag, that.Tag)
+            && CommandSize == that.CommandSize
+            && Objects.equals(CommandCode, that.CommandCode);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Objects.hashCode(Tag);
+        _h = 31 * _h + CommandSize;
+        _h = 31 * _h + Objects.hashCode(CommandCode);
+        return _h;
+    }
 }
 
 //<<<
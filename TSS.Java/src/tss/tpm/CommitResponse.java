@@ -1,7 +1,8 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
+import java.nio.ByteBuffer;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -42,9 +43,9 @@ public class CommitResponse extends RespStructure
     @Override
     public void initFromTpm(TpmBuffer buf)
     {
-        K = buf.createSizedObj(TPMS_ECC_POINT.class);
-        L = buf.createSizedObj(TPMS_ECC_POINT.class);
-        E = buf.createSizedObj(TPMS_ECC_POINT.class);
+        K = buf.createSizedObj(TPMS_ECC_POINT::new);
+        L = buf.createSizedObj(TPMS_ECC_POINT::new);
+        E = buf.createSizedObj(TPMS_ECC_POINT::new);
         counter = buf.readShort();
     }
 
@@ -59,7 +60,7 @@ public class CommitResponse extends RespStructure
      */
     public static CommitResponse fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(CommitResponse.class);
+        return new TpmBuffer(byteBuf).createObj(CommitResponse::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -74,7 +75,7 @@ public class CommitResponse extends RespStructure
      */
     public static CommitResponse fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(CommitResponse.class);
+        return buf.createObj(CommitResponse::new);
     }
 
     @Override
@@ -95,8 +96,78 @@ public class CommitResponse extends RespStructure
         _p.add(d, "int", "counter", counter);
     }
 
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        CommitResponse that = (CommitResponse)o;
+        return Objects.equals(K, that.K)
+            && Objects.equals(L, that.L)
+            && Objects.equals(E, that.E)
+            && counter == that.counter;
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Objects.hashCode(K);
+        _h = 31 * _h + Objects.hashCode(L);
+        _h = 31 * _h + Objects.hashCode(E);
+        _h = 31 * _h + counter;
+        return _h;
+    }
+
     @Override
     public SessEncInfo sessEncInfo() { return new SessEncInfo(2, 1); }
+
+    /** Lazy view of the response parameters retained in the response buffer
+     *  (see {@link RespView} and {@link Tpm#_view(RespView)})
+     */
+    public static class View extends RespView<CommitResponse>
+    {
+        static final int[] Layout = {SIZED, SIZED, SIZED, 2};
+
+        public View() { super(CommitResponse.class, Layout); }
+
+        /** ECC point K [ds](x2, y2) */
+        public TPMS_ECC_POINT K() { return field(0); }
+
+        /** Read-only wire representation of K (without its size) */
+        public ByteBuffer KBytes() { return sizedBytes(0); }
+
+        /** ECC point L [r](x2, y2) */
+        public TPMS_ECC_POINT L() { return field(1); }
+
+        /** Read-only wire representation of L (without its size) */
+        public ByteBuffer LBytes() { return sizedBytes(1); }
+
+        /** ECC point E [r]P1 */
+        public TPMS_ECC_POINT E() { return field(2); }
+
+        /** Read-only wire representation of E (without its size) */
+        public ByteBuffer EBytes() { return sizedBytes(2); }
+
+        /** Least-significant 16 bits of commitCount */
+        public int counter() { return shortAt(3); }
+
+        @Override
+        protected CommitResponse newResponse() { return new CommitResponse(); }
+
+        @Override
+        protected Object readField(int field, TpmBuffer buf)
+        {
+            switch (field) {
+                case 0: return buf.createSizedObj(TPMS_ECC_POINT::new);
+                case 1: return buf.createSizedObj(TPMS_ECC_POINT::new);
+                case 2: return buf.createSizedObj(TPMS_ECC_POINT::new);
+                case 3: return buf.readShort();
+                default: return null;
+            }
+        }
+    }
 }
 
 //<<<
@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -26,7 +26,7 @@ public class ContextLoadResponse extends RespStructure
      */
     public static ContextLoadResponse fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(ContextLoadResponse.class);
+        return new TpmBuffer(byteBuf).createObj(ContextLoadResponse::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -41,7 +41,7 @@ public class ContextLoadResponse extends RespStructure
      */
     public static ContextLoadResponse fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(ContextLoadResponse.class);
+        return buf.createObj(ContextLoadResponse::new);
     }
 
     @Override
@@ -59,6 +59,20 @@ public class ContextLoadResponse extends RespStructure
         _p.add(d, "TPM_HANDLE", "handle", handle);
     }
 
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        ContextLoadResponse that = (ContextLoadResponse)o;
+        return Objects.equals(handle, that.handle);
+    }
+
+    @Override
+    public int hashCode() { return Objects.hashCode(handle); }
+
     @Override
     public int numHandles() { return 1; }
 
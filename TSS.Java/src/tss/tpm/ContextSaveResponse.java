@@ -1,7 +1,8 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
+import java.nio.ByteBuffer;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -35,7 +36,7 @@ public class ContextSaveResponse extends RespStructure
      */
     public static ContextSaveResponse fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(ContextSaveResponse.class);
+        return new TpmBuffer(byteBuf).createObj(ContextSaveResponse::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -50,7 +51,7 @@ public class ContextSaveResponse extends RespStructure
      */
     public static ContextSaveResponse fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(ContextSaveResponse.class);
+        return buf.createObj(ContextSaveResponse::new);
     }
 
     @Override
@@ -67,6 +68,41 @@ public class ContextSaveResponse extends RespStructure
     {
         _p.add(d, "TPMS_CONTEXT", "context", context);
     }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        ContextSaveResponse that = (ContextSaveResponse)o;
+        return Objects.equals(context, that.context);
+    }
+
+    @Override
+    public int hashCode() { return Objects.hashCode(context); }
+
+    /** Lazy view of the response parameters retained in the response buffer
+     *  (see {@link RespView} and {@link Tpm#_view(RespView)})
+     */
+    public static class View extends RespView<ContextSaveResponse>
+    {
+        static final int[] Layout = {DECODED};
+
+        public View() { super(ContextSaveResponse.class, Layout); }
+
+        public TPMS_CONTEXT context() { return field(0); }
+
+        /** Read-only wire representation of context */
+        public ByteBuffer contextBytes() { return bytes(0); }
+
+        @Override
+        protected ContextSaveResponse newResponse() { return new ContextSaveResponse(); }
+
+        @Override
+        protected Object readField(int field, TpmBuffer buf) { return TPMS_CONTEXT.fromTpm(buf); }
+    }
 }
 
 //<<<
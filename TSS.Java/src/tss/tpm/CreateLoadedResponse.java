@@ -1,7 +1,8 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
+import java.nio.ByteBuffer;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -43,7 +44,7 @@ public class CreateLoadedResponse extends RespStructure
     public void initFromTpm(TpmBuffer buf)
     {
         outPrivate = TPM2B_PRIVATE.fromTpm(buf);
-        outPublic = buf.createSizedObj(TPMT_PUBLIC.class);
+        outPublic = buf.createSizedObj(TPMT_PUBLIC::new);
         name = buf.readSizedByteBuf();
     }
 
@@ -58,7 +59,7 @@ public class CreateLoadedResponse extends RespStructure
      */
     public static CreateLoadedResponse fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(CreateLoadedResponse.class);
+        return new TpmBuffer(byteBuf).createObj(CreateLoadedResponse::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -73,7 +74,7 @@ public class CreateLoadedResponse extends RespStructure
      */
     public static CreateLoadedResponse fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(CreateLoadedResponse.class);
+        return buf.createObj(CreateLoadedResponse::new);
     }
 
     @Override
@@ -94,6 +95,30 @@ public class CreateLoadedResponse extends RespStructure
         _p.add(d, "byte[]", "name", name);
     }
 
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        CreateLoadedResponse that = (CreateLoadedResponse)o;
+        return Objects.equals(handle, that.handle)
+            && Objects.equals(outPrivate, that.outPrivate)
+            && Objects.equals(outPublic, that.outPublic)
+            && Arrays.equals(name, that.name);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Objects.hashCode(handle);
+        _h = 31 * _h + Objects.hashCode(outPrivate);
+        _h = 31 * _h + Objects.hashCode(outPublic);
+        _h = 31 * _h + Arrays.hashCode(name);
+        return _h;
+    }
+
     @Override
     public int numHandles() { return 1; }
 
@@ -102,6 +127,45 @@ public class CreateLoadedResponse extends RespStructure
 
     @Override
     public void setHandle(TPM_HANDLE h) { handle = h; }
+
+    /** Lazy view of the response parameters retained in the response buffer
+     *  (see {@link RespView} and {@link Tpm#_view(RespView)})
+     */
+    public static class View extends RespView<CreateLoadedResponse>
+    {
+        static final int[] Layout = {SIZED, SIZED, SIZED};
+
+        public View() { super(CreateLoadedResponse.class, Layout); }
+
+        /** The sensitive area of the object (optional) */
+        public TPM2B_PRIVATE outPrivate() { return field(0); }
+
+        /** Read-only wire representation of outPrivate */
+        public ByteBuffer outPrivateBytes() { return bytes(0); }
+
+        /** The public portion of the created object */
+        public TPMT_PUBLIC outPublic() { return field(1); }
+
+        /** Read-only wire representation of outPublic (without its size) */
+        public ByteBuffer outPublicBytes() { return sizedBytes(1); }
+
+        /** The name of the created object */
+        public ByteBuffer name() { return sizedBytes(2); }
+
+        @Override
+        protected CreateLoadedResponse newResponse() { return new CreateLoadedResponse(); }
+
+        @Override
+        protected Object readField(int field, TpmBuffer buf)
+        {
+            switch (field) {
+                case 0: return TPM2B_PRIVATE.fromTpm(buf);
+                case 1: return buf.createSizedObj(TPMT_PUBLIC::new);
+                case 2: return buf.readSizedByteBuf();
+                default: return null;
+            }
+        }
+    }
 }
 
 //<<<
@@ -1,7 +1,8 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
+import java.nio.ByteBuffer;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -52,8 +53,8 @@ public class CreatePrimaryResponse extends RespStructure
     @Override
     public void initFromTpm(TpmBuffer buf)
     {
-        outPublic = buf.createSizedObj(TPMT_PUBLIC.class);
-        creationData = buf.createSizedObj(TPMS_CREATION_DATA.class);
+        outPublic = buf.createSizedObj(TPMT_PUBLIC::new);
+        creationData = buf.createSizedObj(TPMS_CREATION_DATA::new);
         creationHash = buf.readSizedByteBuf();
         creationTicket = TPMT_TK_CREATION.fromTpm(buf);
         name = buf.readSizedByteBuf();
@@ -70,7 +71,7 @@ public class CreatePrimaryResponse extends RespStructure
      */
     public static CreatePrimaryResponse fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(CreatePrimaryResponse.class);
+        return new TpmBuffer(byteBuf).createObj(CreatePrimaryResponse::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -85,7 +86,7 @@ public class CreatePrimaryResponse extends RespStructure
      */
     public static CreatePrimaryResponse fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(CreatePrimaryResponse.class);
+        return buf.createObj(CreatePrimaryResponse::new);
     }
 
     @Override
@@ -108,6 +109,34 @@ public class CreatePrimaryResponse extends RespStructure
         _p.add(d, "byte[]", "name", name);
     }
 
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        CreatePrimaryResponse that = (CreatePrimaryResponse)o;
+        return Objects.equals(handle, that.handle)
+            && Objects.equals(outPublic, that.outPublic)
+            && Objects.equals(creationData, that.creationData)
+            && Arrays.equals(creationHash, that.creationHash)
+            && Objects.equals(creationTicket, that.creationTicket)
+            && Arrays.equals(name, that.name);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Objects.hashCode(handle);
+        _h = 31 * _h + Objects.hashCode(outPublic);
+        _h = 31 * _h + Objects.hashCode(creationData);
+        _h = 31 * _h + Arrays.hashCode(creationHash);
+        _h = 31 * _h + Objects.hashCode(creationTicket);
+        _h = 31 * _h + Arrays.hashCode(name);
+        return _h;
+    }
+
     @Override
     public int numHandles() { return 1; }
 
@@ -119,6 +148,58 @@ public class CreatePrimaryResponse extends RespStructure
 
     @Override
     public SessEncInfo sessEncInfo() { return new SessEncInfo(2, 1); }
+
+    /** Lazy view of the response parameters retained in the response buffer
+     *  (see {@link RespView} and {@link Tpm#_view(RespView)})
+     */
+    public static class View extends RespView<CreatePrimaryResponse>
+    {
+        static final int[] Layout = {SIZED, SIZED, SIZED, DECODED, SIZED};
+
+        public View() { super(CreatePrimaryResponse.class, Layout); }
+
+        /** The public portion of the created object */
+        public TPMT_PUBLIC outPublic() { return field(0); }
+
+        /** Read-only wire representation of outPublic (without its size) */
+        public ByteBuffer outPublicBytes() { return sizedBytes(0); }
+
+        /** Contains a TPMT_CREATION_DATA */
+        public TPMS_CREATION_DATA creationData() { return field(1); }
+
+        /** Read-only wire representation of creationData (without its size) */
+        public ByteBuffer creationDataBytes() { return sizedBytes(1); }
+
+        /** Digest of creationData using nameAlg of outPublic */
+        public ByteBuffer creationHash() { return sizedBytes(2); }
+
+        /** Ticket used by TPM2_CertifyCreation() to validate that the creation data was produced
+         *  by the TPM
+         */
+        public TPMT_TK_CREATION creationTicket() { return field(3); }
+
+        /** Read-only wire representation of creationTicket */
+        public ByteBuffer creationTicketBytes() { return bytes(3); }
+
+        /** The name of the created object */
+        public ByteBuffer name() { return sizedBytes(4); }
+
+        @Override
+        protected CreatePrimaryResponse newResponse() { return new CreatePrimaryResponse(); }
+
+        @Override
+        protected Object readField(int field, TpmBuffer buf)
+        {
+            switch (field) {
+                case 0: return buf.createSizedObj(TPMT_PUBLIC::new);
+                case 1: return buf.createSizedObj(TPMS_CREATION_DATA::new);
+                case 2: return buf.readSizedByteBuf();
+                case 3: return TPMT_TK_CREATION.fromTpm(buf);
+                case 4: return buf.readSizedByteBuf();
+                default: return null;
+            }
+        }
+    }
 }
 
 //<<<
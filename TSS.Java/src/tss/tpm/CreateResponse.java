@@ -1,7 +1,8 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
+import java.nio.ByteBuffer;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -52,8 +53,8 @@ public class CreateResponse extends RespStructure
     public void initFromTpm(TpmBuffer buf)
     {
         outPrivate = TPM2B_PRIVATE.fromTpm(buf);
-        outPublic = buf.createSizedObj(TPMT_PUBLIC.class);
-        creationData = buf.createSizedObj(TPMS_CREATION_DATA.class);
+        outPublic = buf.createSizedObj(TPMT_PUBLIC::new);
+        creationData = buf.createSizedObj(TPMS_CREATION_DATA::new);
         creationHash = buf.readSizedByteBuf();
         creationTicket = TPMT_TK_CREATION.fromTpm(buf);
     }
@@ -69,7 +70,7 @@ public class CreateResponse extends RespStructure
      */
     public static CreateResponse fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(CreateResponse.class);
+        return new TpmBuffer(byteBuf).createObj(CreateResponse::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -84,7 +85,7 @@ public class CreateResponse extends RespStructure
      */
     public static CreateResponse fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(CreateResponse.class);
+        return buf.createObj(CreateResponse::new);
     }
 
     @Override
@@ -105,6 +106,87 @@ public class CreateResponse extends RespStructure
         _p.add(d, "byte[]", "creationHash", creationHash);
         _p.add(d, "TPMT_TK_CREATION", "creationTicket", creationTicket);
     }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        CreateResponse that = (CreateResponse)o;
+        return Objects.equals(outPrivate, that.outPrivate)
+            && Objects.equals(outPublic, that.outPublic)
+            && Objects.equals(creationData, that.creationData)
+            && Arrays.equals(creationHash, that.creationHash)
+            && Objects.equals(creationTicket, that.creationTicket);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Objects.hashCode(outPrivate);
+        _h = 31 * _h + Objects.hashCode(outPublic);
+        _h = 31 * _h + Objects.hashCode(creationData);
+        _h = 31 * _h + Arrays.hashCode(creationHash);
+        _h = 31 * _h + Objects.hashCode(creationTicket);
+        return _h;
+    }
+
+    /** Lazy view of the response parameters retained in the response buffer
+     *  (see {@link RespView} and {@link Tpm#_view(RespView)})
+     */
+    public static class View extends RespView<CreateResponse>
+    {
+        static final int[] Layout = {SIZED, SIZED, SIZED, SIZED, DECODED};
+
+        public View() { super(CreateResponse.class, Layout); }
+
+        /** The private portion of the object */
+        public TPM2B_PRIVATE outPrivate() { return field(0); }
+
+        /** Read-only wire representation of outPrivate */
+        public ByteBuffer outPrivateBytes() { return bytes(0); }
+
+        /** The public portion of the created object */
+        public TPMT_PUBLIC outPublic() { return field(1); }
+
+        /** Read-only wire representation of outPublic (without its size) */
+        public ByteBuffer outPublicBytes() { return sizedBytes(1); }
+
+        /** Contains a TPMS_CREATION_DATA */
+        public TPMS_CREATION_DATA creationData() { return field(2); }
+
+        /** Read-only wire representation of creationData (without its size) */
+        public ByteBuffer creationDataBytes() { return sizedBytes(2); }
+
+        /** Digest of creationData using nameAlg of outPublic */
+        public ByteBuffer creationHash() { return sizedBytes(3); }
+
+        /** Ticket used by TPM2_CertifyCreation() to validate that the creation data was produced
+         *  by the TPM
+         */
+        public TPMT_TK_CREATION creationTicket() { return field(4); }
+
+        /** Read-only wire representation of creationTicket */
+        public ByteBuffer creationTicketBytes() { return bytes(4); }
+
+        @Override
+        protected CreateResponse newResponse() { return new CreateResponse(); }
+
+        @Override
+        protected Object readField(int field, TpmBuffer buf)
+        {
+            switch (field) {
+                case 0: return TPM2B_PRIVATE.fromTpm(buf);
+                case 1: return buf.createSizedObj(TPMT_PUBLIC::new);
+                case 2: return buf.createSizedObj(TPMS_CREATION_DATA::new);
+                case 3: return buf.readSizedByteBuf();
+                case 4: return TPMT_TK_CREATION.fromTpm(buf);
+                default: return null;
+            }
+        }
+    }
 }
 
 //<<<
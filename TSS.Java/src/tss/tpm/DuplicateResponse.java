@@ -1,7 +1,8 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
+import java.nio.ByteBuffer;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -56,7 +57,7 @@ public class DuplicateResponse extends RespStructure
      */
     public static DuplicateResponse fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(DuplicateResponse.class);
+        return new TpmBuffer(byteBuf).createObj(DuplicateResponse::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -71,7 +72,7 @@ public class DuplicateResponse extends RespStructure
      */
     public static DuplicateResponse fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(DuplicateResponse.class);
+        return buf.createObj(DuplicateResponse::new);
     }
 
     @Override
@@ -91,8 +92,69 @@ public class DuplicateResponse extends RespStructure
         _p.add(d, "byte[]", "outSymSeed", outSymSeed);
     }
 
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        DuplicateResponse that = (DuplicateResponse)o;
+        return Arrays.equals(encryptionKeyOut, that.encryptionKeyOut)
+            && Objects.equals(duplicate, that.duplicate)
+            && Arrays.equals(outSymSeed, that.outSymSeed);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Arrays.hashCode(encryptionKeyOut);
+        _h = 31 * _h + Objects.hashCode(duplicate);
+        _h = 31 * _h + Arrays.hashCode(outSymSeed);
+        return _h;
+    }
+
     @Override
     public SessEncInfo sessEncInfo() { return new SessEncInfo(2, 1); }
+
+    /** Lazy view of the response parameters retained in the response buffer
+     *  (see {@link RespView} and {@link Tpm#_view(RespView)})
+     */
+    public static class View extends RespView<DuplicateResponse>
+    {
+        static final int[] Layout = {SIZED, SIZED, SIZED};
+
+        public View() { super(DuplicateResponse.class, Layout); }
+
+        /** If the caller provided an encryption key or if symmetricAlg was TPM_ALG_NULL, then
+         *  this will be the Empty Buffer; otherwise, it shall contain the TPM-generated,
+         *  symmetric encryption key for the inner wrapper.
+         */
+        public ByteBuffer encryptionKeyOut() { return sizedBytes(0); }
+
+        /** Private area that may be encrypted by encryptionKeyIn; and may be doubly encrypted */
+        public TPM2B_PRIVATE duplicate() { return field(1); }
+
+        /** Read-only wire representation of duplicate */
+        public ByteBuffer duplicateBytes() { return bytes(1); }
+
+        /** Seed protected by the asymmetric algorithms of new parent (NP) */
+        public ByteBuffer outSymSeed() { return sizedBytes(2); }
+
+        @Override
+        protected DuplicateResponse newResponse() { return new DuplicateResponse(); }
+
+        @Override
+        protected Object readField(int field, TpmBuffer buf)
+        {
+            switch (field) {
+                case 0: return buf.readSizedByteBuf();
+                case 1: return TPM2B_PRIVATE.fromTpm(buf);
+                case 2: return buf.readSizedByteBuf();
+                default: return null;
+            }
+        }
+    }
 }
 
 //<<<
@@ -1,7 +1,8 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
+import java.nio.ByteBuffer;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -34,7 +35,7 @@ public class ECC_DecryptResponse extends RespStructure
      */
     public static ECC_DecryptResponse fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(ECC_DecryptResponse.class);
+        return new TpmBuffer(byteBuf).createObj(ECC_DecryptResponse::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -49,7 +50,7 @@ public class ECC_DecryptResponse extends RespStructure
      */
     public static ECC_DecryptResponse fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(ECC_DecryptResponse.class);
+        return buf.createObj(ECC_DecryptResponse::new);
     }
 
     @Override
@@ -67,8 +68,41 @@ public class ECC_DecryptResponse extends RespStructure
         _p.add(d, "byte[]", "plainText", plainText);
     }
 
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        ECC_DecryptResponse that = (ECC_DecryptResponse)o;
+        return Arrays.equals(plainText, that.plainText);
+    }
+
+    @Override
+    public int hashCode() { return Arrays.hashCode(plainText); }
+
     @Override
     public SessEncInfo sessEncInfo() { return new SessEncInfo(2, 1); }
+
+    /** Lazy view of the response parameters retained in the response buffer
+     *  (see {@link RespView} and {@link Tpm#_view(RespView)})
+     */
+    public static class View extends RespView<ECC_DecryptResponse>
+    {
+        static final int[] Layout = {SIZED};
+
+        public View() { super(ECC_DecryptResponse.class, Layout); }
+
+        /** Decrypted output */
+        public ByteBuffer plainText() { return sizedBytes(0); }
+
+        @Override
+        protected ECC_DecryptResponse newResponse() { return new ECC_DecryptResponse(); }
+
+        @Override
+        protected Object readField(int field, TpmBuffer buf) { return buf.readSizedByteBuf(); }
+    }
 }
 
 //<<<
@@ -1,7 +1,8 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
+import java.nio.ByteBuffer;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -34,7 +35,7 @@ public class ECC_EncryptResponse extends RespStructure
     @Override
     public void initFromTpm(TpmBuffer buf)
     {
-        C1 = buf.createSizedObj(TPMS_ECC_POINT.class);
+        C1 = buf.createSizedObj(TPMS_ECC_POINT::new);
         C2 = buf.readSizedByteBuf();
         C3 = buf.readSizedByteBuf();
     }
@@ -50,7 +51,7 @@ public class ECC_EncryptResponse extends RespStructure
      */
     public static ECC_EncryptResponse fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(ECC_EncryptResponse.class);
+        return new TpmBuffer(byteBuf).createObj(ECC_EncryptResponse::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -65,7 +66,7 @@ public class ECC_EncryptResponse extends RespStructure
      */
     public static ECC_EncryptResponse fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(ECC_EncryptResponse.class);
+        return buf.createObj(ECC_EncryptResponse::new);
     }
 
     @Override
@@ -85,8 +86,66 @@ public class ECC_EncryptResponse extends RespStructure
         _p.add(d, "byte[]", "C3", C3);
     }
 
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        ECC_EncryptResponse that = (ECC_EncryptResponse)o;
+        return Objects.equals(C1, that.C1)
+            && Arrays.equals(C2, that.C2)
+            && Arrays.equals(C3, that.C3);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Objects.hashCode(C1);
+        _h = 31 * _h + Arrays.hashCode(C2);
+        _h = 31 * _h + Arrays.hashCode(C3);
+        return _h;
+    }
+
     @Override
     public SessEncInfo sessEncInfo() { return new SessEncInfo(2, 1); }
+
+    /** Lazy view of the response parameters retained in the response buffer
+     *  (see {@link RespView} and {@link Tpm#_view(RespView)})
+     */
+    public static class View extends RespView<ECC_EncryptResponse>
+    {
+        static final int[] Layout = {SIZED, SIZED, SIZED};
+
+        public View() { super(ECC_EncryptResponse.class, Layout); }
+
+        /** The public ephemeral key used for ECDH */
+        public TPMS_ECC_POINT C1() { return field(0); }
+
+        /** Read-only wire representation of C1 (without its size) */
+        public ByteBuffer C1Bytes() { return sizedBytes(0); }
+
+        /** The data block produced by the XOR process */
+        public ByteBuffer C2() { return sizedBytes(1); }
+
+        /** The integrity value */
+        public ByteBuffer C3() { return sizedBytes(2); }
+
+        @Override
+        protected ECC_EncryptResponse newResponse() { return new ECC_EncryptResponse(); }
+
+        @Override
+        protected Object readField(int field, TpmBuffer buf)
+        {
+            switch (field) {
+                case 0: return buf.createSizedObj(TPMS_ECC_POINT::new);
+                case 1: return buf.readSizedByteBuf();
+                case 2: return buf.readSizedByteBuf();
+                default: return null;
+            }
+        }
+    }
 }
 
 //<<<
@@ -1,7 +1,8 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
+import java.nio.ByteBuffer;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -34,7 +35,7 @@ public class ECC_ParametersResponse extends RespStructure
      */
     public static ECC_ParametersResponse fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(ECC_ParametersResponse.class);
+        return new TpmBuffer(byteBuf).createObj(ECC_ParametersResponse::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -49,7 +50,7 @@ public class ECC_ParametersResponse extends RespStructure
      */
     public static ECC_ParametersResponse fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(ECC_ParametersResponse.class);
+        return buf.createObj(ECC_ParametersResponse::new);
     }
 
     @Override
@@ -66,6 +67,42 @@ public class ECC_ParametersResponse extends RespStructure
     {
         _p.add(d, "TPMS_ALGORITHM_DETAIL_ECC", "parameters", parameters);
     }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        ECC_ParametersResponse that = (ECC_ParametersResponse)o;
+        return Objects.equals(parameters, that.parameters);
+    }
+
+    @Override
+    public int hashCode() { return Objects.hashCode(parameters); }
+
+    /** Lazy view of the response parameters retained in the response buffer
+     *  (see {@link RespView} and {@link Tpm#_view(RespView)})
+     */
+    public static class View extends RespView<ECC_ParametersResponse>
+    {
+        static final int[] Layout = {DECODED};
+
+        public View() { super(ECC_ParametersResponse.class, Layout); }
+
+        /** ECC parameters for the selected curve */
+        public TPMS_ALGORITHM_DETAIL_ECC parameters() { return field(0); }
+
+        /** Read-only wire representation of parameters */
+        public ByteBuffer parametersBytes() { return bytes(0); }
+
+        @Override
+        protected ECC_ParametersResponse newResponse() { return new ECC_ParametersResponse(); }
+
+        @Override
+        protected Object readField(int field, TpmBuffer buf) { return TPMS_ALGORITHM_DETAIL_ECC.fromTpm(buf); }
+    }
 }
 
 //<<<
@@ -1,7 +1,8 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
+import java.nio.ByteBuffer;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -33,8 +34,8 @@ public class ECDH_KeyGenResponse extends RespStructure
     @Override
     public void initFromTpm(TpmBuffer buf)
     {
-        zPoint = buf.createSizedObj(TPMS_ECC_POINT.class);
-        pubPoint = buf.createSizedObj(TPMS_ECC_POINT.class);
+        zPoint = buf.createSizedObj(TPMS_ECC_POINT::new);
+        pubPoint = buf.createSizedObj(TPMS_ECC_POINT::new);
     }
 
     /** @deprecated Use {@link #toBytes()} instead
@@ -48,7 +49,7 @@ public class ECDH_KeyGenResponse extends RespStructure
      */
     public static ECDH_KeyGenResponse fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(ECDH_KeyGenResponse.class);
+        return new TpmBuffer(byteBuf).createObj(ECDH_KeyGenResponse::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -63,7 +64,7 @@ public class ECDH_KeyGenResponse extends RespStructure
      */
     public static ECDH_KeyGenResponse fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(ECDH_KeyGenResponse.class);
+        return buf.createObj(ECDH_KeyGenResponse::new);
     }
 
     @Override
@@ -82,8 +83,63 @@ public class ECDH_KeyGenResponse extends RespStructure
         _p.add(d, "TPMS_ECC_POINT", "pubPoint", pubPoint);
     }
 
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        ECDH_KeyGenResponse that = (ECDH_KeyGenResponse)o;
+        return Objects.equals(zPoint, that.zPoint)
+            && Objects.equals(pubPoint, that.pubPoint);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Objects.hashCode(zPoint);
+        _h = 31 * _h + Objects.hashCode(pubPoint);
+        return _h;
+    }
+
     @Override
     public SessEncInfo sessEncInfo() { return new SessEncInfo(2, 1); }
+
+    /** Lazy view of the response parameters retained in the response buffer
+     *  (see {@link RespView} and {@link Tpm#_view(RespView)})
+     */
+    public static class View extends RespView<ECDH_KeyGenResponse>
+    {
+        static final int[] Layout = {SIZED, SIZED};
+
+        public View() { super(ECDH_KeyGenResponse.class, Layout); }
+
+        /** Results of P h[de]Qs */
+        public TPMS_ECC_POINT zPoint() { return field(0); }
+
+        /** Read-only wire representation of zPoint (without its size) */
+        public ByteBuffer zPointBytes() { return sizedBytes(0); }
+
+        /** Generated ephemeral public point (Qe) */
+        public TPMS_ECC_POINT pubPoint() { return field(1); }
+
+        /** Read-only wire representation of pubPoint (without its size) */
+        public ByteBuffer pubPointBytes() { return sizedBytes(1); }
+
+        @Override
+        protected ECDH_KeyGenResponse newResponse() { return new ECDH_KeyGenResponse(); }
+
+        @Override
+        protected Object readField(int field, TpmBuffer buf)
+        {
+            switch (field) {
+                case 0: return buf.createSizedObj(TPMS_ECC_POINT::new);
+                case 1: return buf.createSizedObj(TPMS_ECC_POINT::new);
+                default: return null;
+            }
+        }
+    }
 }
 
 //<<<
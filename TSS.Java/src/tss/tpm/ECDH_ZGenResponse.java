@@ -1,7 +1,8 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
+import java.nio.ByteBuffer;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -25,7 +26,7 @@ public class ECDH_ZGenResponse extends RespStructure
 
     /** TpmMarshaller method */
     @Override
-    public void initFromTpm(TpmBuffer buf) { outPoint = buf.createSizedObj(TPMS_ECC_POINT.class); }
+    public void initFromTpm(TpmBuffer buf) { outPoint = buf.createSizedObj(TPMS_ECC_POINT::new); }
 
     /** @deprecated Use {@link #toBytes()} instead
      *  @return Wire (marshaled) representation of this object
@@ -38,7 +39,7 @@ public class ECDH_ZGenResponse extends RespStructure
      */
     public static ECDH_ZGenResponse fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(ECDH_ZGenResponse.class);
+        return new TpmBuffer(byteBuf).createObj(ECDH_ZGenResponse::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -53,7 +54,7 @@ public class ECDH_ZGenResponse extends RespStructure
      */
     public static ECDH_ZGenResponse fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(ECDH_ZGenResponse.class);
+        return buf.createObj(ECDH_ZGenResponse::new);
     }
 
     @Override
@@ -71,8 +72,44 @@ public class ECDH_ZGenResponse extends RespStructure
         _p.add(d, "TPMS_ECC_POINT", "outPoint", outPoint);
     }
 
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        ECDH_ZGenResponse that = (ECDH_ZGenResponse)o;
+        return Objects.equals(outPoint, that.outPoint);
+    }
+
+    @Override
+    public int hashCode() { return Objects.hashCode(outPoint); }
+
     @Override
     public SessEncInfo sessEncInfo() { return new SessEncInfo(2, 1); }
+
+    /** Lazy view of the response parameters retained in the response buffer
+     *  (see {@link RespView} and {@link Tpm#_view(RespView)})
+     */
+    public static class View extends RespView<ECDH_ZGenResponse>
+    {
+        static final int[] Layout = {SIZED};
+
+        public View() { super(ECDH_ZGenResponse.class, Layout); }
+
+        /** X and Y coordinates of the product of the multiplication Z = (xZ , yZ) [hdS]QB */
+        public TPMS_ECC_POINT outPoint() { return field(0); }
+
+        /** Read-only wire representation of outPoint (without its size) */
+        public ByteBuffer outPointBytes() { return sizedBytes(0); }
+
+        @Override
+        protected ECDH_ZGenResponse newResponse() { return new ECDH_ZGenResponse(); }
+
+        @Override
+        protected Object readField(int field, TpmBuffer buf) { return buf.createSizedObj(TPMS_ECC_POINT::new); }
+    }
 }
 
 //<<<
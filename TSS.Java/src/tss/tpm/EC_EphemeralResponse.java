@@ -1,7 +1,8 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
+import java.nio.ByteBuffer;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -30,7 +31,7 @@ public class EC_EphemeralResponse extends RespStructure
     @Override
     public void initFromTpm(TpmBuffer buf)
     {
-        Q = buf.createSizedObj(TPMS_ECC_POINT.class);
+        Q = buf.createSizedObj(TPMS_ECC_POINT::new);
         counter = buf.readShort();
     }
 
@@ -45,7 +46,7 @@ public class EC_EphemeralResponse extends RespStructure
      */
     public static EC_EphemeralResponse fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(EC_EphemeralResponse.class);
+        return new TpmBuffer(byteBuf).createObj(EC_EphemeralResponse::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -60,7 +61,7 @@ public class EC_EphemeralResponse extends RespStructure
      */
     public static EC_EphemeralResponse fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(EC_EphemeralResponse.class);
+        return buf.createObj(EC_EphemeralResponse::new);
     }
 
     @Override
@@ -79,8 +80,60 @@ public class EC_EphemeralResponse extends RespStructure
         _p.add(d, "int", "counter", counter);
     }
 
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        EC_EphemeralResponse that = (EC_EphemeralResponse)o;
+        return Objects.equals(Q, that.Q)
+            && counter == that.counter;
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Objects.hashCode(Q);
+        _h = 31 * _h + counter;
+        return _h;
+    }
+
     @Override
     public SessEncInfo sessEncInfo() { return new SessEncInfo(2, 1); }
+
+    /** Lazy view of the response parameters retained in the response buffer
+     *  (see {@link RespView} and {@link Tpm#_view(RespView)})
+     */
+    public static class View extends RespView<EC_EphemeralResponse>
+    {
+        static final int[] Layout = {SIZED, 2};
+
+        public View() { super(EC_EphemeralResponse.class, Layout); }
+
+        /** Ephemeral public key Q [r]G */
+        public TPMS_ECC_POINT Q() { return field(0); }
+
+        /** Read-only wire representation of Q (without its size) */
+        public ByteBuffer QBytes() { return sizedBytes(0); }
+
+        /** Least-significant 16 bits of commitCount */
+        public int counter() { return shortAt(1); }
+
+        @Override
+        protected EC_EphemeralResponse newResponse() { return new EC_EphemeralResponse(); }
+
+        @Override
+        protected Object readField(int field, TpmBuffer buf)
+        {
+            switch (field) {
+                case 0: return buf.createSizedObj(TPMS_ECC_POINT::new);
+                case 1: return buf.readShort();
+                default: return null;
+            }
+        }
+    }
 }
 
 //<<<
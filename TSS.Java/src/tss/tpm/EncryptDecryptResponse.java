@@ -1,7 +1,8 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
+import java.nio.ByteBuffer;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -47,7 +48,7 @@ public class EncryptDecryptResponse extends RespStructure
      */
     public static EncryptDecryptResponse fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(EncryptDecryptResponse.class);
+        return new TpmBuffer(byteBuf).createObj(EncryptDecryptResponse::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -62,7 +63,7 @@ public class EncryptDecryptResponse extends RespStructure
      */
     public static EncryptDecryptResponse fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(EncryptDecryptResponse.class);
+        return buf.createObj(EncryptDecryptResponse::new);
     }
 
     @Override
@@ -81,8 +82,57 @@ public class EncryptDecryptResponse extends RespStructure
         _p.add(d, "byte[]", "ivOut", ivOut);
     }
 
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        EncryptDecryptResponse that = (EncryptDecryptResponse)o;
+        return Arrays.equals(outData, that.outData)
+            && Arrays.equals(ivOut, that.ivOut);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Arrays.hashCode(outData);
+        _h = 31 * _h + Arrays.hashCode(ivOut);
+        return _h;
+    }
+
     @Override
     public SessEncInfo sessEncInfo() { return new SessEncInfo(2, 1); }
+
+    /** Lazy view of the response parameters retained in the response buffer
+     *  (see {@link RespView} and {@link Tpm#_view(RespView)})
+     */
+    public static class View extends RespView<EncryptDecryptResponse>
+    {
+        static final int[] Layout = {SIZED, SIZED};
+
+        public View() { super(EncryptDecryptResponse.class, Layout); }
+
+        /** Encrypted or decrypted output */
+        public ByteBuffer outData() { return sizedBytes(0); }
+
+        /** Chaining value to use for IV in next round */
+        public ByteBuffer ivOut() { return sizedBytes(1); }
+
+        @Override
+        protected EncryptDecryptResponse newResponse() { return new EncryptDecryptResponse(); }
+
+        @Override
+        protected Object readField(int field, TpmBuffer buf)
+        {
+            switch (field) {
+                case 0: return buf.readSizedByteBuf();
+                case 1: return buf.readSizedByteBuf();
+                default: return null;
+            }
+        }
+    }
 }
 
 //<<<
@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -26,7 +26,7 @@ public class EventSequenceCompleteResponse extends RespStructure
 
     /** TpmMarshaller method */
     @Override
-    public void initFromTpm(TpmBuffer buf) { results = buf.readObjArr(TPMT_HA.class); }
+    public void initFromTpm(TpmBuffer buf) { results = buf.readObjArr(TPMT_HA::fromTpm, TPMT_HA[]::new); }
 
     /** @deprecated Use {@link #toBytes()} instead
      *  @return Wire (marshaled) representation of this object
@@ -39,7 +39,7 @@ public class EventSequenceCompleteResponse extends RespStructure
      */
     public static EventSequenceCompleteResponse fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(EventSequenceCompleteResponse.class);
+        return new TpmBuffer(byteBuf).createObj(EventSequenceCompleteResponse::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -54,7 +54,7 @@ public class EventSequenceCompleteResponse extends RespStructure
      */
     public static EventSequenceCompleteResponse fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(EventSequenceCompleteResponse.class);
+        return buf.createObj(EventSequenceCompleteResponse::new);
     }
 
     @Override
@@ -72,8 +72,41 @@ public class EventSequenceCompleteResponse extends RespStructure
         _p.add(d, "TPMT_HA[]", "results", results);
     }
 
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        EventSequenceCompleteResponse that = (EventSequenceCompleteResponse)o;
+        return Arrays.equals(results, that.results);
+    }
+
+    @Override
+    public int hashCode() { return Arrays.hashCode(results); }
+
     @Override
     public SessEncInfo sessEncInfo() { return new SessEncInfo(4, 66); }
+
+    /** Lazy view of the response parameters retained in the response buffer
+     *  (see {@link RespView} and {@link Tpm#_view(RespView)})
+     */
+    public static class View extends RespView<EventSequenceCompleteResponse>
+    {
+        static final int[] Layout = {DECODED};
+
+        public View() { super(EventSequenceCompleteResponse.class, Layout); }
+
+        /** List of digests computed for the PCR */
+        public TPMT_HA[] results() { return field(0); }
+
+        @Override
+        protected EventSequenceCompleteResponse newResponse() { return new EventSequenceCompleteResponse(); }
+
+        @Override
+        protected Object readField(int field, TpmBuffer buf) { return buf.readObjArr(TPMT_HA::fromTpm, TPMT_HA[]::new); }
+    }
 }
 
 //<<<
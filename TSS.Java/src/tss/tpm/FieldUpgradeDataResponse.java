@@ -1,7 +1,8 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
+import java.nio.ByteBuffer;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -51,7 +52,7 @@ public class FieldUpgradeDataResponse extends RespStructure
      */
     public static FieldUpgradeDataResponse fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(FieldUpgradeDataResponse.class);
+        return new TpmBuffer(byteBuf).createObj(FieldUpgradeDataResponse::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -66,7 +67,7 @@ public class FieldUpgradeDataResponse extends RespStructure
      */
     public static FieldUpgradeDataResponse fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(FieldUpgradeDataResponse.class);
+        return buf.createObj(FieldUpgradeDataResponse::new);
     }
 
     @Override
@@ -84,6 +85,63 @@ public class FieldUpgradeDataResponse extends RespStructure
         _p.add(d, "TPMT_HA", "nextDigest", nextDigest);
         _p.add(d, "TPMT_HA", "firstDigest", firstDigest);
     }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        FieldUpgradeDataResponse that = (FieldUpgradeDataResponse)o;
+        return Objects.equals(nextDigest, that.nextDigest)
+            && Objects.equals(firstDigest, that.firstDigest);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Objects.hashCode(nextDigest);
+        _h = 31 * _h + Objects.hashCode(firstDigest);
+        return _h;
+    }
+
+    /** Lazy view of the response parameters retained in the response buffer
+     *  (see {@link RespView} and {@link Tpm#_view(RespView)})
+     */
+    public static class View extends RespView<FieldUpgradeDataResponse>
+    {
+        static final int[] Layout = {DECODED, DECODED};
+
+        public View() { super(FieldUpgradeDataResponse.class, Layout); }
+
+        /** Tagged digest of the next block
+         *  TPM_ALG_NULL if field update is complete
+         */
+        public TPMT_HA nextDigest() { return field(0); }
+
+        /** Read-only wire representation of nextDigest */
+        public ByteBuffer nextDigestBytes() { return bytes(0); }
+
+        /** Tagged digest of the first block of the sequence */
+        public TPMT_HA firstDigest() { return field(1); }
+
+        /** Read-only wire representation of firstDigest */
+        public ByteBuffer firstDigestBytes() { return bytes(1); }
+
+        @Override
+        protected FieldUpgradeDataResponse newResponse() { return new FieldUpgradeDataResponse(); }
+
+        @Override
+        protected Object readField(int field, TpmBuffer buf)
+        {
+            switch (field) {
+                case 0: return TPMT_HA.fromTpm(buf);
+                case 1: return TPMT_HA.fromTpm(buf);
+                default: return null;
+            }
+        }
+    }
 }
 
 //<<<
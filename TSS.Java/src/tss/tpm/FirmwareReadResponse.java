@@ -1,7 +1,8 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
+import java.nio.ByteBuffer;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -34,7 +35,7 @@ public class FirmwareReadResponse extends RespStructure
      */
     public static FirmwareReadResponse fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(FirmwareReadResponse.class);
+        return new TpmBuffer(byteBuf).createObj(FirmwareReadResponse::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -49,7 +50,7 @@ public class FirmwareReadResponse extends RespStructure
      */
     public static FirmwareReadResponse fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(FirmwareReadResponse.class);
+        return buf.createObj(FirmwareReadResponse::new);
     }
 
     @Override
@@ -67,8 +68,41 @@ public class FirmwareReadResponse extends RespStructure
         _p.add(d, "byte[]", "fuData", fuData);
     }
 
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        FirmwareReadResponse that = (FirmwareReadResponse)o;
+        return Arrays.equals(fuData, that.fuData);
+    }
+
+    @Override
+    public int hashCode() { return Arrays.hashCode(fuData); }
+
     @Override
     public SessEncInfo sessEncInfo() { return new SessEncInfo(2, 1); }
+
+    /** Lazy view of the response parameters retained in the response buffer
+     *  (see {@link RespView} and {@link Tpm#_view(RespView)})
+     */
+    public static class View extends RespView<FirmwareReadResponse>
+    {
+        static final int[] Layout = {SIZED};
+
+        public View() { super(FirmwareReadResponse.class, Layout); }
+
+        /** Field upgrade image data */
+        public ByteBuffer fuData() { return sizedBytes(0); }
+
+        @Override
+        protected FirmwareReadResponse newResponse() { return new FirmwareReadResponse(); }
+
+        @Override
+        protected Object readField(int field, TpmBuffer buf) { return buf.readSizedByteBuf(); }
+    }
 }
 
 //<<<
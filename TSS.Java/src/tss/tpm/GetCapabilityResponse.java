@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -40,7 +40,7 @@ public class GetCapabilityResponse extends RespStructure
     {
         moreData = buf.readByte();
         TPM_CAP capabilityDataCapability = TPM_CAP.fromTpm(buf);
-        capabilityData = UnionFactory.create("TPMU_CAPABILITIES", capabilityDataCapability);
+        capabilityData = UnionFactory.createTPMU_CAPABILITIES(capabilityDataCapability);
         capabilityData.initFromTpm(buf);
     }
 
@@ -55,7 +55,7 @@ public class GetCapabilityResponse extends RespStructure
      */
     public static GetCapabilityResponse fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(GetCapabilityResponse.class);
+        return new TpmBuffer(byteBuf).createObj(GetCapabilityResponse::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -70,7 +70,7 @@ public class GetCapabilityResponse extends RespStructure
      */
     public static GetCapabilityResponse fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(GetCapabilityResponse.class);
+        return buf.createObj(GetCapabilityResponse::new);
     }
 
     @Override
@@ -88,6 +88,62 @@ public class GetCapabilityResponse extends RespStructure
         _p.add(d, "byte", "moreData", moreData);
         _p.add(d, "TPMU_CAPABILITIES", "capabilityData", capabilityData);
     }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        GetCapabilityResponse that = (GetCapabilityResponse)o;
+        return moreData == that.moreData
+            && Objects.equals(capabilityData, that.capabilityData);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = moreData;
+        _h = 31 * _h + Objects.hashCode(capabilityData);
+        return _h;
+    }
+
+    /** Lazy view of the response parameters retained in the response buffer
+     *  (see {@link RespView} and {@link Tpm#_view(RespView)})
+     */
+    public static class View extends RespView<GetCapabilityResponse>
+    {
+        static final int[] Layout = {1, DECODED};
+
+        public View() { super(GetCapabilityResponse.class, Layout); }
+
+        /** Flag to indicate if there are more values of this type */
+        public byte moreData() { return byteAt(0); }
+
+        /** The capability data
+         *  One of: TPML_ALG_PROPERTY, TPML_HANDLE, TPML_CCA, TPML_CC, TPML_PCR_SELECTION,
+         *  TPML_TAGGED_TPM_PROPERTY, TPML_TAGGED_PCR_PROPERTY, TPML_ECC_CURVE,
+         *  TPML_TAGGED_POLICY, TPML_ACT_DATA.
+         */
+        public TPMU_CAPABILITIES capabilityData() { return field(1); }
+
+        /** The capability */
+        public TPM_CAP capabilityDataCapability() { return capabilityData().GetUnionSelector(); }
+
+        @Override
+        protected GetCapabilityResponse newResponse() { return new GetCapabilityResponse(); }
+
+        @Override
+        protected Object readField(int field, TpmBuffer buf)
+        {
+            switch (field) {
+                case 0: return buf.readByte();
+                case 1: return readUnion(UnionFactory.createTPMU_CAPABILITIES(TPM_CAP.fromTpm(buf)), buf);
+                default: return null;
+            }
+        }
+    }
 }
 
 //<<<
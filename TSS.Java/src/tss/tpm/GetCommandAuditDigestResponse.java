@@ -1,7 +1,8 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
+import java.nio.ByteBuffer;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -41,9 +42,9 @@ public class GetCommandAuditDigestResponse extends RespStructure
     @Override
     public void initFromTpm(TpmBuffer buf)
     {
-        auditInfo = buf.createSizedObj(TPMS_ATTEST.class);
+        auditInfo = buf.createSizedObj(TPMS_ATTEST::new);
         TPM_ALG_ID signatureSigAlg = TPM_ALG_ID.fromTpm(buf);
-        signature = UnionFactory.create("TPMU_SIGNATURE", signatureSigAlg);
+        signature = UnionFactory.createTPMU_SIGNATURE(signatureSigAlg);
         signature.initFromTpm(buf);
     }
 
@@ -58,7 +59,7 @@ public class GetCommandAuditDigestResponse extends RespStructure
      */
     public static GetCommandAuditDigestResponse fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(GetCommandAuditDigestResponse.class);
+        return new TpmBuffer(byteBuf).createObj(GetCommandAuditDigestResponse::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -73,7 +74,7 @@ public class GetCommandAuditDigestResponse extends RespStructure
      */
     public static GetCommandAuditDigestResponse fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(GetCommandAuditDigestResponse.class);
+        return buf.createObj(GetCommandAuditDigestResponse::new);
     }
 
     @Override
@@ -92,8 +93,67 @@ public class GetCommandAuditDigestResponse extends RespStructure
         _p.add(d, "TPMU_SIGNATURE", "signature", signature);
     }
 
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        GetCommandAuditDigestResponse that = (GetCommandAuditDigestResponse)o;
+        return Objects.equals(auditInfo, that.auditInfo)
+            && Objects.equals(signature, that.signature);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Objects.hashCode(auditInfo);
+        _h = 31 * _h + Objects.hashCode(signature);
+        return _h;
+    }
+
     @Override
     public SessEncInfo sessEncInfo() { return new SessEncInfo(2, 1); }
+
+    /** Lazy view of the response parameters retained in the response buffer
+     *  (see {@link RespView} and {@link Tpm#_view(RespView)})
+     */
+    public static class View extends RespView<GetCommandAuditDigestResponse>
+    {
+        static final int[] Layout = {SIZED, DECODED};
+
+        public View() { super(GetCommandAuditDigestResponse.class, Layout); }
+
+        /** The auditInfo that was signed */
+        public TPMS_ATTEST auditInfo() { return field(0); }
+
+        /** Read-only wire representation of auditInfo (without its size) */
+        public ByteBuffer auditInfoBytes() { return sizedBytes(0); }
+
+        /** The signature over auditInfo
+         *  One of: TPMS_SIGNATURE_RSASSA, TPMS_SIGNATURE_RSAPSS, TPMS_SIGNATURE_ECDSA,
+         *  TPMS_SIGNATURE_ECDAA, TPMS_SIGNATURE_SM2, TPMS_SIGNATURE_ECSCHNORR, TPMT_HA,
+         *  TPMS_SCHEME_HASH, TPMS_NULL_SIGNATURE.
+         */
+        public TPMU_SIGNATURE signature() { return field(1); }
+
+        /** Selector of the algorithm used to construct the signature */
+        public TPM_ALG_ID signatureSigAlg() { return signature().GetUnionSelector(); }
+
+        @Override
+        protected GetCommandAuditDigestResponse newResponse() { return new GetCommandAuditDigestResponse(); }
+
+        @Override
+        protected Object readField(int field, TpmBuffer buf)
+        {
+            switch (field) {
+                case 0: return buf.createSizedObj(TPMS_ATTEST::new);
+                case 1: return readUnion(UnionFactory.createTPMU_SIGNATURE(TPM_ALG_ID.fromTpm(buf)), buf);
+                default: return null;
+            }
+        }
+    }
 }
 
 //<<<
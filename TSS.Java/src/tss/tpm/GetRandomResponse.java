@@ -1,7 +1,8 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
+import java.nio.ByteBuffer;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -34,7 +35,7 @@ public class GetRandomResponse extends RespStructure
      */
     public static GetRandomResponse fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(GetRandomResponse.class);
+        return new TpmBuffer(byteBuf).createObj(GetRandomResponse::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -49,7 +50,7 @@ public class GetRandomResponse extends RespStructure
      */
     public static GetRandomResponse fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(GetRandomResponse.class);
+        return buf.createObj(GetRandomResponse::new);
     }
 
     @Override
@@ -67,8 +68,41 @@ public class GetRandomResponse extends RespStructure
         _p.add(d, "byte[]", "randomBytes", randomBytes);
     }
 
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        GetRandomResponse that = (GetRandomResponse)o;
+        return Arrays.equals(randomBytes, that.randomBytes);
+    }
+
+    @Override
+    public int hashCode() { return Arrays.hashCode(randomBytes); }
+
     @Override
     public SessEncInfo sessEncInfo() { return new SessEncInfo(2, 1); }
+
+    /** Lazy view of the response parameters retained in the response buffer
+     *  (see {@link RespView} and {@link Tpm#_view(RespView)})
+     */
+    public static class View extends RespView<GetRandomResponse>
+    {
+        static final int[] Layout = {SIZED};
+
+        public View() { super(GetRandomResponse.class, Layout); }
+
+        /** The random octets */
+        public ByteBuffer randomBytes() { return sizedBytes(0); }
+
+        @Override
+        protected GetRandomResponse newResponse() { return new GetRandomResponse(); }
+
+        @Override
+        protected Object readField(int field, TpmBuffer buf) { return buf.readSizedByteBuf(); }
+    }
 }
 
 //<<<
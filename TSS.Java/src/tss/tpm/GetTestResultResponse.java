@@ -1,7 +1,8 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
+import java.nio.ByteBuffer;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -47,7 +48,7 @@ public class GetTestResultResponse extends RespStructure
      */
     public static GetTestResultResponse fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(GetTestResultResponse.class);
+        return new TpmBuffer(byteBuf).createObj(GetTestResultResponse::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -62,7 +63,7 @@ public class GetTestResultResponse extends RespStructure
      */
     public static GetTestResultResponse fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(GetTestResultResponse.class);
+        return buf.createObj(GetTestResultResponse::new);
     }
 
     @Override
@@ -81,8 +82,58 @@ public class GetTestResultResponse extends RespStructure
         _p.add(d, "TPM_RC", "testResult", testResult);
     }
 
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        GetTestResultResponse that = (GetTestResultResponse)o;
+        return Arrays.equals(outData, that.outData)
+            && Objects.equals(testResult, that.testResult);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Arrays.hashCode(outData);
+        _h = 31 * _h + Objects.hashCode(testResult);
+        return _h;
+    }
+
     @Override
     public SessEncInfo sessEncInfo() { return new SessEncInfo(2, 1); }
+
+    /** Lazy view of the response parameters retained in the response buffer
+     *  (see {@link RespView} and {@link Tpm#_view(RespView)})
+     */
+    public static class View extends RespView<GetTestResultResponse>
+    {
+        static final int[] Layout = {SIZED, 4};
+
+        public View() { super(GetTestResultResponse.class, Layout); }
+
+        /** Test result data
+         *  contains manufacturer-specific information
+         */
+        public ByteBuffer outData() { return sizedBytes(0); }
+
+        public TPM_RC testResult() { return field(1); }
+
+        @Override
+        protected GetTestResultResponse newResponse() { return new GetTestResultResponse(); }
+
+        @Override
+        protected Object readField(int field, TpmBuffer buf)
+        {
+            switch (field) {
+                case 0: return buf.readSizedByteBuf();
+                case 1: return TPM_RC.fromTpm(buf);
+                default: return null;
+            }
+        }
+    }
 }
 
 //<<<
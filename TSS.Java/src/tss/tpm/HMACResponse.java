@@ -1,7 +1,8 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
+import java.nio.ByteBuffer;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -34,7 +35,7 @@ public class HMACResponse extends RespStructure
      */
     public static HMACResponse fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(HMACResponse.class);
+        return new TpmBuffer(byteBuf).createObj(HMACResponse::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -49,7 +50,7 @@ public class HMACResponse extends RespStructure
      */
     public static HMACResponse fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(HMACResponse.class);
+        return buf.createObj(HMACResponse::new);
     }
 
     @Override
@@ -67,8 +68,41 @@ public class HMACResponse extends RespStructure
         _p.add(d, "byte[]", "outHMAC", outHMAC);
     }
 
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        HMACResponse that = (HMACResponse)o;
+        return Arrays.equals(outHMAC, that.outHMAC);
+    }
+
+    @Override
+    public int hashCode() { return Arrays.hashCode(outHMAC); }
+
     @Override
     public SessEncInfo sessEncInfo() { return new SessEncInfo(2, 1); }
+
+    /** Lazy view of the response parameters retained in the response buffer
+     *  (see {@link RespView} and {@link Tpm#_view(RespView)})
+     */
+    public static class View extends RespView<HMACResponse>
+    {
+        static final int[] Layout = {SIZED};
+
+        public View() { super(HMACResponse.class, Layout); }
+
+        /** The returned HMAC in a sized buffer */
+        public ByteBuffer outHMAC() { return sizedBytes(0); }
+
+        @Override
+        protected HMACResponse newResponse() { return new HMACResponse(); }
+
+        @Override
+        protected Object readField(int field, TpmBuffer buf) { return buf.readSizedByteBuf(); }
+    }
 }
 
 //<<<
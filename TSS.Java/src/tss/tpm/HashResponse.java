@@ -1,7 +1,8 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
+import java.nio.ByteBuffer;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -48,7 +49,7 @@ public class HashResponse extends RespStructure
      */
     public static HashResponse fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(HashResponse.class);
+        return new TpmBuffer(byteBuf).createObj(HashResponse::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -63,7 +64,7 @@ public class HashResponse extends RespStructure
      */
     public static HashResponse fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(HashResponse.class);
+        return buf.createObj(HashResponse::new);
     }
 
     @Override
@@ -82,8 +83,63 @@ public class HashResponse extends RespStructure
         _p.add(d, "TPMT_TK_HASHCHECK", "validation", validation);
     }
 
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        HashResponse that = (HashResponse)o;
+        return Arrays.equals(outHash, that.outHash)
+            && Objects.equals(validation, that.validation);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Arrays.hashCode(outHash);
+        _h = 31 * _h + Objects.hashCode(validation);
+        return _h;
+    }
+
     @Override
     public SessEncInfo sessEncInfo() { return new SessEncInfo(2, 1); }
+
+    /** Lazy view of the response parameters retained in the response buffer
+     *  (see {@link RespView} and {@link Tpm#_view(RespView)})
+     */
+    public static class View extends RespView<HashResponse>
+    {
+        static final int[] Layout = {SIZED, DECODED};
+
+        public View() { super(HashResponse.class, Layout); }
+
+        /** Results */
+        public ByteBuffer outHash() { return sizedBytes(0); }
+
+        /** Ticket indicating that the sequence of octets used to compute outDigest did not start
+         *  with TPM_GENERATED_VALUE
+         *  will be a NULL ticket if the digest may not be signed with a restricted key
+         */
+        public TPMT_TK_HASHCHECK validation() { return field(1); }
+
+        /** Read-only wire representation of validation */
+        public ByteBuffer validationBytes() { return bytes(1); }
+
+        @Override
+        protected HashResponse newResponse() { return new HashResponse(); }
+
+        @Override
+        protected Object readField(int field, TpmBuffer buf)
+        {
+            switch (field) {
+                case 0: return buf.readSizedByteBuf();
+                case 1: return TPMT_TK_HASHCHECK.fromTpm(buf);
+                default: return null;
+            }
+        }
+    }
 }
 
 //<<<
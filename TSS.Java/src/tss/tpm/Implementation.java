@@ -166,7 +166,7 @@ public final class Implementation extends TpmEnum<Implementation>
         PRIVATE_VENDOR_SPECIFIC_BYTES
     }
 
-    private static ValueMap<Implementation> _ValueMap = new ValueMap<Implementation>();
+    private static ValueMap<Implementation> _ValueMap = new ValueMap<Implementation>(4, Implementation::new);
 
     /** These definitions provide mapping of the Java enum constants to their TPM integer values */
     public static final Implementation
@@ -221,9 +221,9 @@ public final class Implementation extends TpmEnum<Implementation>
 
     public Implementation () { super(0, _ValueMap); }
     public Implementation (int value) { super(value, _ValueMap); }
-    public static Implementation fromInt (int value) { return TpmEnum.fromInt(value, _ValueMap, Implementation.class); }
-    public static Implementation fromTpm (byte[] buf) { return TpmEnum.fromTpm(buf, _ValueMap, Implementation.class); }
-    public static Implementation fromTpm (TpmBuffer buf) { return TpmEnum.fromTpm(buf, _ValueMap, Implementation.class); }
+    public static Implementation fromInt (int value) { return TpmEnum.fromInt(value, _ValueMap); }
+    public static Implementation fromTpm (byte[] buf) { return TpmEnum.fromTpm(buf, _ValueMap); }
+    public static Implementation fromTpm (TpmBuffer buf) { return TpmEnum.fromTpm(buf, _ValueMap); }
     public Implementation._N asEnum() { return (Implementation._N)NameAsEnum; }
     public static Collection<Implementation> values() { return _ValueMap.values(); }
     private Implementation (int value, _N nameAsEnum) { super(value, nameAsEnum, _ValueMap); }
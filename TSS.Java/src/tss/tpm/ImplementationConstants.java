@@ -41,7 +41,7 @@ public final class ImplementationConstants extends TpmEnum<ImplementationConstan
         MAX_ACT_DATA
     }
 
-    private static ValueMap<ImplementationConstants> _ValueMap = new ValueMap<ImplementationConstants>();
+    private static ValueMap<ImplementationConstants> _ValueMap = new ValueMap<ImplementationConstants>(4, ImplementationConstants::new);
 
     /** These definitions provide mapping of the Java enum constants to their TPM integer values */
     public static final ImplementationConstants
@@ -71,9 +71,9 @@ public final class ImplementationConstants extends TpmEnum<ImplementationConstan
 
     public ImplementationConstants () { super(0, _ValueMap); }
     public ImplementationConstants (int value) { super(value, _ValueMap); }
-    public static ImplementationConstants fromInt (int value) { return TpmEnum.fromInt(value, _ValueMap, ImplementationConstants.class); }
-    public static ImplementationConstants fromTpm (byte[] buf) { return TpmEnum.fromTpm(buf, _ValueMap, ImplementationConstants.class); }
-    public static ImplementationConstants fromTpm (TpmBuffer buf) { return TpmEnum.fromTpm(buf, _ValueMap, ImplementationConstants.class); }
+    public static ImplementationConstants fromInt (int value) { return TpmEnum.fromInt(value, _ValueMap); }
+    public static ImplementationConstants fromTpm (byte[] buf) { return TpmEnum.fromTpm(buf, _ValueMap); }
+    public static ImplementationConstants fromTpm (TpmBuffer buf) { return TpmEnum.fromTpm(buf, _ValueMap); }
     public ImplementationConstants._N asEnum() { return (ImplementationConstants._N)NameAsEnum; }
     public static Collection<ImplementationConstants> values() { return _ValueMap.values(); }
     private ImplementationConstants (int value, _N nameAsEnum) { super(value, nameAsEnum, _ValueMap); }
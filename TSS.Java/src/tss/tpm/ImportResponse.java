@@ -1,7 +1,8 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
+import java.nio.ByteBuffer;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -38,7 +39,7 @@ public class ImportResponse extends RespStructure
      */
     public static ImportResponse fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(ImportResponse.class);
+        return new TpmBuffer(byteBuf).createObj(ImportResponse::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -53,7 +54,7 @@ public class ImportResponse extends RespStructure
      */
     public static ImportResponse fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(ImportResponse.class);
+        return buf.createObj(ImportResponse::new);
     }
 
     @Override
@@ -70,6 +71,42 @@ public class ImportResponse extends RespStructure
     {
         _p.add(d, "TPM2B_PRIVATE", "outPrivate", outPrivate);
     }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        ImportResponse that = (ImportResponse)o;
+        return Objects.equals(outPrivate, that.outPrivate);
+    }
+
+    @Override
+    public int hashCode() { return Objects.hashCode(outPrivate); }
+
+    /** Lazy view of the response parameters retained in the response buffer
+     *  (see {@link RespView} and {@link Tpm#_view(RespView)})
+     */
+    public static class View extends RespView<ImportResponse>
+    {
+        static final int[] Layout = {SIZED};
+
+        public View() { super(ImportResponse.class, Layout); }
+
+        /** The sensitive area encrypted with the symmetric key of parentHandle */
+        public TPM2B_PRIVATE outPrivate() { return field(0); }
+
+        /** Read-only wire representation of outPrivate */
+        public ByteBuffer outPrivateBytes() { return bytes(0); }
+
+        @Override
+        protected ImportResponse newResponse() { return new ImportResponse(); }
+
+        @Override
+        protected Object readField(int field, TpmBuffer buf) { return TPM2B_PRIVATE.fromTpm(buf); }
+    }
 }
 
 //<<<
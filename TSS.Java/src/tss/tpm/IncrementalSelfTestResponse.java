@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -21,7 +21,7 @@ public class IncrementalSelfTestResponse extends RespStructure
 
     /** TpmMarshaller method */
     @Override
-    public void initFromTpm(TpmBuffer buf) { toDoList = buf.readObjArr(TPM_ALG_ID.class); }
+    public void initFromTpm(TpmBuffer buf) { toDoList = buf.readObjArr(TPM_ALG_ID::fromTpm, TPM_ALG_ID[]::new); }
 
     /** @deprecated Use {@link #toBytes()} instead
      *  @return Wire (marshaled) representation of this object
@@ -34,7 +34,7 @@ public class IncrementalSelfTestResponse extends RespStructure
      */
     public static IncrementalSelfTestResponse fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(IncrementalSelfTestResponse.class);
+        return new TpmBuffer(byteBuf).createObj(IncrementalSelfTestResponse::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -49,7 +49,7 @@ public class IncrementalSelfTestResponse extends RespStructure
      */
     public static IncrementalSelfTestResponse fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(IncrementalSelfTestResponse.class);
+        return buf.createObj(IncrementalSelfTestResponse::new);
     }
 
     @Override
@@ -67,8 +67,41 @@ public class IncrementalSelfTestResponse extends RespStructure
         _p.add(d, "TPM_ALG_ID[]", "toDoList", toDoList);
     }
 
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        IncrementalSelfTestResponse that = (IncrementalSelfTestResponse)o;
+        return Arrays.equals(toDoList, that.toDoList);
+    }
+
+    @Override
+    public int hashCode() { return Arrays.hashCode(toDoList); }
+
     @Override
     public SessEncInfo sessEncInfo() { return new SessEncInfo(4, 2); }
+
+    /** Lazy view of the response parameters retained in the response buffer
+     *  (see {@link RespView} and {@link Tpm#_view(RespView)})
+     */
+    public static class View extends RespView<IncrementalSelfTestResponse>
+    {
+        static final int[] Layout = {DECODED};
+
+        public View() { super(IncrementalSelfTestResponse.class, Layout); }
+
+        /** List of algorithms that need testing */
+        public TPM_ALG_ID[] toDoList() { return field(0); }
+
+        @Override
+        protected IncrementalSelfTestResponse newResponse() { return new IncrementalSelfTestResponse(); }
+
+        @Override
+        protected Object readField(int field, TpmBuffer buf) { return buf.readObjArr(TPM_ALG_ID::fromTpm, TPM_ALG_ID[]::new); }
+    }
 }
 
 //<<<
@@ -1,7 +1,8 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
+import java.nio.ByteBuffer;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -39,7 +40,7 @@ public class LoadExternalResponse extends RespStructure
      */
     public static LoadExternalResponse fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(LoadExternalResponse.class);
+        return new TpmBuffer(byteBuf).createObj(LoadExternalResponse::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -54,7 +55,7 @@ public class LoadExternalResponse extends RespStructure
      */
     public static LoadExternalResponse fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(LoadExternalResponse.class);
+        return buf.createObj(LoadExternalResponse::new);
     }
 
     @Override
@@ -73,6 +74,26 @@ public class LoadExternalResponse extends RespStructure
         _p.add(d, "byte[]", "name", name);
     }
 
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        LoadExternalResponse that = (LoadExternalResponse)o;
+        return Objects.equals(handle, that.handle)
+            && Arrays.equals(name, that.name);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Objects.hashCode(handle);
+        _h = 31 * _h + Arrays.hashCode(name);
+        return _h;
+    }
+
     @Override
     public int numHandles() { return 1; }
 
@@ -84,6 +105,25 @@ public class LoadExternalResponse extends RespStructure
 
     @Override
     public SessEncInfo sessEncInfo() { return new SessEncInfo(2, 1); }
+
+    /** Lazy view of the response parameters retained in the response buffer
+     *  (see {@link RespView} and {@link Tpm#_view(RespView)})
+     */
+    public static class View extends RespView<LoadExternalResponse>
+    {
+        static final int[] Layout = {SIZED};
+
+        public View() { super(LoadExternalResponse.class, Layout); }
+
+        /** Name of the loaded object */
+        public ByteBuffer name() { return sizedBytes(0); }
+
+        @Override
+        protected LoadExternalResponse newResponse() { return new LoadExternalResponse(); }
+
+        @Override
+        protected Object readField(int field, TpmBuffer buf) { return buf.readSizedByteBuf(); }
+    }
 }
 
 //<<<
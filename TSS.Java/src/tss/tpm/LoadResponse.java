@@ -1,7 +1,8 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
+import java.nio.ByteBuffer;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -40,7 +41,7 @@ public class LoadResponse extends RespStructure
      */
     public static LoadResponse fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(LoadResponse.class);
+        return new TpmBuffer(byteBuf).createObj(LoadResponse::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -55,7 +56,7 @@ public class LoadResponse extends RespStructure
      */
     public static LoadResponse fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(LoadResponse.class);
+        return buf.createObj(LoadResponse::new);
     }
 
     @Override
@@ -74,6 +75,26 @@ public class LoadResponse extends RespStructure
         _p.add(d, "byte[]", "name", name);
     }
 
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        LoadResponse that = (LoadResponse)o;
+        return Objects.equals(handle, that.handle)
+            && Arrays.equals(name, that.name);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Objects.hashCode(handle);
+        _h = 31 * _h + Arrays.hashCode(name);
+        return _h;
+    }
+
     @Override
     public int numHandles() { return 1; }
 
@@ -85,6 +106,25 @@ public class LoadResponse extends RespStructure
 
     @Override
     public SessEncInfo sessEncInfo() { return new SessEncInfo(2, 1); }
+
+    /** Lazy view of the response parameters retained in the response buffer
+     *  (see {@link RespView} and {@link Tpm#_view(RespView)})
+     */
+    public static class View extends RespView<LoadResponse>
+    {
+        static final int[] Layout = {SIZED};
+
+        public View() { super(LoadResponse.class, Layout); }
+
+        /** Name of the loaded object */
+        public ByteBuffer name() { return sizedBytes(0); }
+
+        @Override
+        protected LoadResponse newResponse() { return new LoadResponse(); }
+
+        @Override
+        protected Object readField(int field, TpmBuffer buf) { return buf.readSizedByteBuf(); }
+    }
 }
 
 //<<<
@@ -24,7 +24,7 @@ public final class Logic extends TpmEnum<Logic>
         CLEAR
     }
 
-    private static ValueMap<Logic> _ValueMap = new ValueMap<Logic>();
+    private static ValueMap<Logic> _ValueMap = new ValueMap<Logic>(1, Logic::new);
 
     /** These definitions provide mapping of the Java enum constants to their TPM integer values */
     public static final Logic
@@ -37,9 +37,9 @@ public final class Logic extends TpmEnum<Logic>
 
     public Logic () { super(0, _ValueMap); }
     public Logic (int value) { super(value, _ValueMap); }
-    public static Logic fromInt (int value) { return TpmEnum.fromInt(value, _ValueMap, Logic.class); }
-    public static Logic fromTpm (byte[] buf) { return TpmEnum.fromTpm(buf, _ValueMap, Logic.class); }
-    public static Logic fromTpm (TpmBuffer buf) { return TpmEnum.fromTpm(buf, _ValueMap, Logic.class); }
+    public static Logic fromInt (int value) { return TpmEnum.fromInt(value, _ValueMap); }
+    public static Logic fromTpm (byte[] buf) { return TpmEnum.fromTpm(buf, _ValueMap); }
+    public static Logic fromTpm (TpmBuffer buf) { return TpmEnum.fromTpm(buf, _ValueMap); }
     public Logic._N asEnum() { return (Logic._N)NameAsEnum; }
     public static Collection<Logic> values() { return _ValueMap.values(); }
     private Logic (int value, _N nameAsEnum) { super(value, nameAsEnum, _ValueMap); }
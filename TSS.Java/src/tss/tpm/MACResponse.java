@@ -1,7 +1,8 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
+import java.nio.ByteBuffer;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -36,7 +37,7 @@ public class MACResponse extends RespStructure
      */
     public static MACResponse fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(MACResponse.class);
+        return new TpmBuffer(byteBuf).createObj(MACResponse::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -51,7 +52,7 @@ public class MACResponse extends RespStructure
      */
     public static MACResponse fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(MACResponse.class);
+        return buf.createObj(MACResponse::new);
     }
 
     @Override
@@ -69,8 +70,41 @@ public class MACResponse extends RespStructure
         _p.add(d, "byte[]", "outMAC", outMAC);
     }
 
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        MACResponse that = (MACResponse)o;
+        return Arrays.equals(outMAC, that.outMAC);
+    }
+
+    @Override
+    public int hashCode() { return Arrays.hashCode(outMAC); }
+
     @Override
     public SessEncInfo sessEncInfo() { return new SessEncInfo(2, 1); }
+
+    /** Lazy view of the response parameters retained in the response buffer
+     *  (see {@link RespView} and {@link Tpm#_view(RespView)})
+     */
+    public static class View extends RespView<MACResponse>
+    {
+        static final int[] Layout = {SIZED};
+
+        public View() { super(MACResponse.class, Layout); }
+
+        /** The returned MAC in a sized buffer */
+        public ByteBuffer outMAC() { return sizedBytes(0); }
+
+        @Override
+        protected MACResponse newResponse() { return new MACResponse(); }
+
+        @Override
+        protected Object readField(int field, TpmBuffer buf) { return buf.readSizedByteBuf(); }
+    }
 }
 
 //<<<
@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -29,7 +29,7 @@ public class MAC_StartResponse extends RespStructure
      */
     public static MAC_StartResponse fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(MAC_StartResponse.class);
+        return new TpmBuffer(byteBuf).createObj(MAC_StartResponse::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -44,7 +44,7 @@ public class MAC_StartResponse extends RespStructure
      */
     public static MAC_StartResponse fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(MAC_StartResponse.class);
+        return buf.createObj(MAC_StartResponse::new);
     }
 
     @Override
@@ -62,6 +62,20 @@ public class MAC_StartResponse extends RespStructure
         _p.add(d, "TPM_HANDLE", "handle", handle);
     }
 
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        MAC_StartResponse that = (MAC_StartResponse)o;
+        return Objects.equals(handle, that.handle);
+    }
+
+    @Override
+    public int hashCode() { return Objects.hashCode(handle); }
+
     @Override
     public int numHandles() { return 1; }
 
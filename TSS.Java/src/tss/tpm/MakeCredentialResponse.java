@@ -1,7 +1,8 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
+import java.nio.ByteBuffer;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -32,7 +33,7 @@ public class MakeCredentialResponse extends RespStructure
     @Override
     public void initFromTpm(TpmBuffer buf)
     {
-        credentialBlob = buf.createSizedObj(TPMS_ID_OBJECT.class);
+        credentialBlob = buf.createSizedObj(TPMS_ID_OBJECT::new);
         secret = buf.readSizedByteBuf();
     }
 
@@ -47,7 +48,7 @@ public class MakeCredentialResponse extends RespStructure
      */
     public static MakeCredentialResponse fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(MakeCredentialResponse.class);
+        return new TpmBuffer(byteBuf).createObj(MakeCredentialResponse::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -62,7 +63,7 @@ public class MakeCredentialResponse extends RespStructure
      */
     public static MakeCredentialResponse fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(MakeCredentialResponse.class);
+        return buf.createObj(MakeCredentialResponse::new);
     }
 
     @Override
@@ -81,8 +82,60 @@ public class MakeCredentialResponse extends RespStructure
         _p.add(d, "byte[]", "secret", secret);
     }
 
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        MakeCredentialResponse that = (MakeCredentialResponse)o;
+        return Objects.equals(credentialBlob, that.credentialBlob)
+            && Arrays.equals(secret, that.secret);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Objects.hashCode(credentialBlob);
+        _h = 31 * _h + Arrays.hashCode(secret);
+        return _h;
+    }
+
     @Override
     public SessEncInfo sessEncInfo() { return new SessEncInfo(2, 1); }
+
+    /** Lazy view of the response parameters retained in the response buffer
+     *  (see {@link RespView} and {@link Tpm#_view(RespView)})
+     */
+    public static class View extends RespView<MakeCredentialResponse>
+    {
+        static final int[] Layout = {SIZED, SIZED};
+
+        public View() { super(MakeCredentialResponse.class, Layout); }
+
+        /** The credential */
+        public TPMS_ID_OBJECT credentialBlob() { return field(0); }
+
+        /** Read-only wire representation of credentialBlob (without its size) */
+        public ByteBuffer credentialBlobBytes() { return sizedBytes(0); }
+
+        /** Handle algorithm-dependent data that wraps the key that encrypts credentialBlob */
+        public ByteBuffer secret() { return sizedBytes(1); }
+
+        @Override
+        protected MakeCredentialResponse newResponse() { return new MakeCredentialResponse(); }
+
+        @Override
+        protected Object readField(int field, TpmBuffer buf)
+        {
+            switch (field) {
+                case 0: return buf.createSizedObj(TPMS_ID_OBJECT::new);
+                case 1: return buf.readSizedByteBuf();
+                default: return null;
+            }
+        }
+    }
 }
 
 //<<<
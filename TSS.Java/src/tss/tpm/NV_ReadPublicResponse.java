@@ -1,7 +1,8 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
+import java.nio.ByteBuffer;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -32,7 +33,7 @@ public class NV_ReadPublicResponse extends RespStructure
     @Override
     public void initFromTpm(TpmBuffer buf)
     {
-        nvPublic = buf.createSizedObj(TPMS_NV_PUBLIC.class);
+        nvPublic = buf.createSizedObj(TPMS_NV_PUBLIC::new);
         nvName = buf.readSizedByteBuf();
     }
 
@@ -47,7 +48,7 @@ public class NV_ReadPublicResponse extends RespStructure
      */
     public static NV_ReadPublicResponse fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(NV_ReadPublicResponse.class);
+        return new TpmBuffer(byteBuf).createObj(NV_ReadPublicResponse::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -62,7 +63,7 @@ public class NV_ReadPublicResponse extends RespStructure
      */
     public static NV_ReadPublicResponse fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(NV_ReadPublicResponse.class);
+        return buf.createObj(NV_ReadPublicResponse::new);
     }
 
     @Override
@@ -81,8 +82,60 @@ public class NV_ReadPublicResponse extends RespStructure
         _p.add(d, "byte[]", "nvName", nvName);
     }
 
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        NV_ReadPublicResponse that = (NV_ReadPublicResponse)o;
+        return Objects.equals(nvPublic, that.nvPublic)
+            && Arrays.equals(nvName, that.nvName);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Objects.hashCode(nvPublic);
+        _h = 31 * _h + Arrays.hashCode(nvName);
+        return _h;
+    }
+
     @Override
     public SessEncInfo sessEncInfo() { return new SessEncInfo(2, 1); }
+
+    /** Lazy view of the response parameters retained in the response buffer
+     *  (see {@link RespView} and {@link Tpm#_view(RespView)})
+     */
+    public static class View extends RespView<NV_ReadPublicResponse>
+    {
+        static final int[] Layout = {SIZED, SIZED};
+
+        public View() { super(NV_ReadPublicResponse.class, Layout); }
+
+        /** The public area of the NV Index */
+        public TPMS_NV_PUBLIC nvPublic() { return field(0); }
+
+        /** Read-only wire representation of nvPublic (without its size) */
+        public ByteBuffer nvPublicBytes() { return sizedBytes(0); }
+
+        /** The Name of the nvIndex */
+        public ByteBuffer nvName() { return sizedBytes(1); }
+
+        @Override
+        protected NV_ReadPublicResponse newResponse() { return new NV_ReadPublicResponse(); }
+
+        @Override
+        protected Object readField(int field, TpmBuffer buf)
+        {
+            switch (field) {
+                case 0: return buf.createSizedObj(TPMS_NV_PUBLIC::new);
+                case 1: return buf.readSizedByteBuf();
+                default: return null;
+            }
+        }
+    }
 }
 
 //<<<
@@ -1,7 +1,8 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
+import java.nio.ByteBuffer;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -34,7 +35,7 @@ public class NV_ReadResponse extends RespStructure
      */
     public static NV_ReadResponse fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(NV_ReadResponse.class);
+        return new TpmBuffer(byteBuf).createObj(NV_ReadResponse::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -49,7 +50,7 @@ public class NV_ReadResponse extends RespStructure
      */
     public static NV_ReadResponse fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(NV_ReadResponse.class);
+        return buf.createObj(NV_ReadResponse::new);
     }
 
     @Override
@@ -67,8 +68,41 @@ public class NV_ReadResponse extends RespStructure
         _p.add(d, "byte[]", "data", data);
     }
 
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        NV_ReadResponse that = (NV_ReadResponse)o;
+        return Arrays.equals(data, that.data);
+    }
+
+    @Override
+    public int hashCode() { return Arrays.hashCode(data); }
+
     @Override
     public SessEncInfo sessEncInfo() { return new SessEncInfo(2, 1); }
+
+    /** Lazy view of the response parameters retained in the response buffer
+     *  (see {@link RespView} and {@link Tpm#_view(RespView)})
+     */
+    public static class View extends RespView<NV_ReadResponse>
+    {
+        static final int[] Layout = {SIZED};
+
+        public View() { super(NV_ReadResponse.class, Layout); }
+
+        /** The data read */
+        public ByteBuffer data() { return sizedBytes(0); }
+
+        @Override
+        protected NV_ReadResponse newResponse() { return new NV_ReadResponse(); }
+
+        @Override
+        protected Object readField(int field, TpmBuffer buf) { return buf.readSizedByteBuf(); }
+    }
 }
 
 //<<<
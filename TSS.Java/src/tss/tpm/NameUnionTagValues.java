@@ -21,7 +21,7 @@ public final class NameUnionTagValues extends TpmEnum<NameUnionTagValues>
         
     }
     
-    private static ValueMap<NameUnionTagValues> _ValueMap = new ValueMap<NameUnionTagValues>();
+    private static ValueMap<NameUnionTagValues> _ValueMap = new ValueMap<NameUnionTagValues>(1, NameUnionTagValues::new);
     
     public static final NameUnionTagValues
     
@@ -30,11 +30,11 @@ public final class NameUnionTagValues extends TpmEnum<NameUnionTagValues>
         TAG_TPMU_NAME_TPM_HANDLE = new NameUnionTagValues(1, _N.TAG_TPMU_NAME_TPM_HANDLE);
     public NameUnionTagValues (int value) { super(value, _ValueMap); }
     
-    public static NameUnionTagValues fromInt (int value) { return TpmEnum.fromInt(value, _ValueMap, NameUnionTagValues.class); }
+    public static NameUnionTagValues fromInt (int value) { return TpmEnum.fromInt(value, _ValueMap); }
     
-    public static NameUnionTagValues fromTpm (byte[] buf) { return TpmEnum.fromTpm(buf, _ValueMap, NameUnionTagValues.class); }
+    public static NameUnionTagValues fromTpm (byte[] buf) { return TpmEnum.fromTpm(buf, _ValueMap); }
     
-    public static NameUnionTagValues fromTpm (TpmBuffer buf) { return TpmEnum.fromTpm(buf, _ValueMap, NameUnionTagValues.class); }
+    public static NameUnionTagValues fromTpm (TpmBuffer buf) { return TpmEnum.fromTpm(buf, _ValueMap); }
     
     public NameUnionTagValues._N asEnum() { return (NameUnionTagValues._N)NameAsEnum; }
     
@@ -1,7 +1,8 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
+import java.nio.ByteBuffer;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -34,7 +35,7 @@ public class ObjectChangeAuthResponse extends RespStructure
      */
     public static ObjectChangeAuthResponse fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(ObjectChangeAuthResponse.class);
+        return new TpmBuffer(byteBuf).createObj(ObjectChangeAuthResponse::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -49,7 +50,7 @@ public class ObjectChangeAuthResponse extends RespStructure
      */
     public static ObjectChangeAuthResponse fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(ObjectChangeAuthResponse.class);
+        return buf.createObj(ObjectChangeAuthResponse::new);
     }
 
     @Override
@@ -66,6 +67,42 @@ public class ObjectChangeAuthResponse extends RespStructure
     {
         _p.add(d, "TPM2B_PRIVATE", "outPrivate", outPrivate);
     }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        ObjectChangeAuthResponse that = (ObjectChangeAuthResponse)o;
+        return Objects.equals(outPrivate, that.outPrivate);
+    }
+
+    @Override
+    public int hashCode() { return Objects.hashCode(outPrivate); }
+
+    /** Lazy view of the response parameters retained in the response buffer
+     *  (see {@link RespView} and {@link Tpm#_view(RespView)})
+     */
+    public static class View extends RespView<ObjectChangeAuthResponse>
+    {
+        static final int[] Layout = {SIZED};
+
+        public View() { super(ObjectChangeAuthResponse.class, Layout); }
+
+        /** Private area containing the new authorization value */
+        public TPM2B_PRIVATE outPrivate() { return field(0); }
+
+        /** Read-only wire representation of outPrivate */
+        public ByteBuffer outPrivateBytes() { return bytes(0); }
+
+        @Override
+        protected ObjectChangeAuthResponse newResponse() { return new ObjectChangeAuthResponse(); }
+
+        @Override
+        protected Object readField(int field, TpmBuffer buf) { return TPM2B_PRIVATE.fromTpm(buf); }
+    }
 }
 
 //<<<
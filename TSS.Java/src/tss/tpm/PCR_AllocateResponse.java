@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -57,7 +57,7 @@ public class PCR_AllocateResponse extends RespStructure
      */
     public static PCR_AllocateResponse fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(PCR_AllocateResponse.class);
+        return new TpmBuffer(byteBuf).createObj(PCR_AllocateResponse::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -72,7 +72,7 @@ public class PCR_AllocateResponse extends RespStructure
      */
     public static PCR_AllocateResponse fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(PCR_AllocateResponse.class);
+        return buf.createObj(PCR_AllocateResponse::new);
     }
 
     @Override
@@ -92,6 +92,67 @@ public class PCR_AllocateResponse extends RespStructure
         _p.add(d, "int", "sizeNeeded", sizeNeeded);
         _p.add(d, "int", "sizeAvailable", sizeAvailable);
     }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        PCR_AllocateResponse that = (PCR_AllocateResponse)o;
+        return allocationSuccess == that.allocationSuccess
+            && maxPCR == that.maxPCR
+            && sizeNeeded == that.sizeNeeded
+            && sizeAvailable == that.sizeAvailable;
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = allocationSuccess;
+        _h = 31 * _h + maxPCR;
+        _h = 31 * _h + sizeNeeded;
+        _h = 31 * _h + sizeAvailable;
+        return _h;
+    }
+
+    /** Lazy view of the response parameters retained in the response buffer
+     *  (see {@link RespView} and {@link Tpm#_view(RespView)})
+     */
+    public static class View extends RespView<PCR_AllocateResponse>
+    {
+        static final int[] Layout = {1, 4, 4, 4};
+
+        public View() { super(PCR_AllocateResponse.class, Layout); }
+
+        /** YES if the allocation succeeded */
+        public byte allocationSuccess() { return byteAt(0); }
+
+        /** Maximum number of PCR that may be in a bank */
+        public int maxPCR() { return intAt(1); }
+
+        /** Number of octets required to satisfy the request */
+        public int sizeNeeded() { return intAt(2); }
+
+        /** Number of octets available. Computed before the allocation. */
+        public int sizeAvailable() { return intAt(3); }
+
+        @Override
+        protected PCR_AllocateResponse newResponse() { return new PCR_AllocateResponse(); }
+
+        @Override
+        protected Object readField(int field, TpmBuffer buf)
+        {
+            switch (field) {
+                case 0: return buf.readByte();
+                case 1: return buf.readInt();
+                case 2: return buf.readInt();
+                case 3: return buf.readInt();
+                default: return null;
+            }
+        }
+    }
 }
 
 //<<<
@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -20,7 +20,7 @@ public class PCR_EventResponse extends RespStructure
 
     /** TpmMarshaller method */
     @Override
-    public void initFromTpm(TpmBuffer buf) { digests = buf.readObjArr(TPMT_HA.class); }
+    public void initFromTpm(TpmBuffer buf) { digests = buf.readObjArr(TPMT_HA::fromTpm, TPMT_HA[]::new); }
 
     /** @deprecated Use {@link #toBytes()} instead
      *  @return Wire (marshaled) representation of this object
@@ -33,7 +33,7 @@ public class PCR_EventResponse extends RespStructure
      */
     public static PCR_EventResponse fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(PCR_EventResponse.class);
+        return new TpmBuffer(byteBuf).createObj(PCR_EventResponse::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -48,7 +48,7 @@ public class PCR_EventResponse extends RespStructure
      */
     public static PCR_EventResponse fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(PCR_EventResponse.class);
+        return buf.createObj(PCR_EventResponse::new);
     }
 
     @Override
@@ -66,8 +66,40 @@ public class PCR_EventResponse extends RespStructure
         _p.add(d, "TPMT_HA[]", "digests", digests);
     }
 
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        PCR_EventResponse that = (PCR_EventResponse)o;
+        return Arrays.equals(digests, that.digests);
+    }
+
+    @Override
+    public int hashCode() { return Arrays.hashCode(digests); }
+
     @Override
     public SessEncInfo sessEncInfo() { return new SessEncInfo(4, 66); }
+
+    /** Lazy view of the response parameters retained in the response buffer
+     *  (see {@link RespView} and {@link Tpm#_view(RespView)})
+     */
+    public static class View extends RespView<PCR_EventResponse>
+    {
+        static final int[] Layout = {DECODED};
+
+        public View() { super(PCR_EventResponse.class, Layout); }
+
+        public TPMT_HA[] digests() { return field(0); }
+
+        @Override
+        protected PCR_EventResponse newResponse() { return new PCR_EventResponse(); }
+
+        @Override
+        protected Object readField(int field, TpmBuffer buf) { return buf.readObjArr(TPMT_HA::fromTpm, TPMT_HA[]::new); }
+    }
 }
 
 //<<<
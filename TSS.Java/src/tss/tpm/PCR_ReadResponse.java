@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -35,8 +35,8 @@ public class PCR_ReadResponse extends RespStructure
     public void initFromTpm(TpmBuffer buf)
     {
         pcrUpdateCounter = buf.readInt();
-        pcrSelectionOut = buf.readObjArr(TPMS_PCR_SELECTION.class);
-        pcrValues = buf.readObjArr(TPM2B_DIGEST.class);
+        pcrSelectionOut = buf.readObjArr(TPMS_PCR_SELECTION::fromTpm, TPMS_PCR_SELECTION[]::new);
+        pcrValues = buf.readObjArr(TPM2B_DIGEST::fromTpm, TPM2B_DIGEST[]::new);
     }
 
     /** @deprecated Use {@link #toBytes()} instead
@@ -50,7 +50,7 @@ public class PCR_ReadResponse extends RespStructure
      */
     public static PCR_ReadResponse fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(PCR_ReadResponse.class);
+        return new TpmBuffer(byteBuf).createObj(PCR_ReadResponse::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -65,7 +65,7 @@ public class PCR_ReadResponse extends RespStructure
      */
     public static PCR_ReadResponse fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(PCR_ReadResponse.class);
+        return buf.createObj(PCR_ReadResponse::new);
     }
 
     @Override
@@ -84,6 +84,61 @@ public class PCR_ReadResponse extends RespStructure
         _p.add(d, "TPMS_PCR_SELECTION[]", "pcrSelectionOut", pcrSelectionOut);
         _p.add(d, "TPM2B_DIGEST[]", "pcrValues", pcrValues);
     }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        PCR_ReadResponse that = (PCR_ReadResponse)o;
+        return pcrUpdateCounter == that.pcrUpdateCounter
+            && Arrays.equals(pcrSelectionOut, that.pcrSelectionOut)
+            && Arrays.equals(pcrValues, that.pcrValues);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = pcrUpdateCounter;
+        _h = 31 * _h + Arrays.hashCode(pcrSelectionOut);
+        _h = 31 * _h + Arrays.hashCode(pcrValues);
+        return _h;
+    }
+
+    /** Lazy view of the response parameters retained in the response buffer
+     *  (see {@link RespView} and {@link Tpm#_view(RespView)})
+     */
+    public static class View extends RespView<PCR_ReadResponse>
+    {
+        static final int[] Layout = {4, DECODED, DECODED};
+
+        public View() { super(PCR_ReadResponse.class, Layout); }
+
+        /** The current value of the PCR update counter */
+        public int pcrUpdateCounter() { return intAt(0); }
+
+        /** The PCR in the returned list */
+        public TPMS_PCR_SELECTION[] pcrSelectionOut() { return field(1); }
+
+        /** The contents of the PCR indicated in pcrSelectOut-˃ pcrSelection[] as tagged digests */
+        public TPM2B_DIGEST[] pcrValues() { return field(2); }
+
+        @Override
+        protected PCR_ReadResponse newResponse() { return new PCR_ReadResponse(); }
+
+        @Override
+        protected Object readField(int field, TpmBuffer buf)
+        {
+            switch (field) {
+                case 0: return buf.readInt();
+                case 1: return buf.readObjArr(TPMS_PCR_SELECTION::fromTpm, TPMS_PCR_SELECTION[]::new);
+                case 2: return buf.readObjArr(TPM2B_DIGEST::fromTpm, TPM2B_DIGEST[]::new);
+                default: return null;
+            }
+        }
+    }
 }
 
 //<<<
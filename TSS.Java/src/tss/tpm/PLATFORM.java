@@ -23,7 +23,7 @@ public final class PLATFORM extends TpmEnum<PLATFORM>
         DAY_OF_YEAR
     }
 
-    private static ValueMap<PLATFORM> _ValueMap = new ValueMap<PLATFORM>();
+    private static ValueMap<PLATFORM> _ValueMap = new ValueMap<PLATFORM>(4, PLATFORM::new);
 
     /** These definitions provide mapping of the Java enum constants to their TPM integer values */
     public static final PLATFORM
@@ -35,9 +35,9 @@ public final class PLATFORM extends TpmEnum<PLATFORM>
 
     public PLATFORM () { super(0, _ValueMap); }
     public PLATFORM (int value) { super(value, _ValueMap); }
-    public static PLATFORM fromInt (int value) { return TpmEnum.fromInt(value, _ValueMap, PLATFORM.class); }
-    public static PLATFORM fromTpm (byte[] buf) { return TpmEnum.fromTpm(buf, _ValueMap, PLATFORM.class); }
-    public static PLATFORM fromTpm (TpmBuffer buf) { return TpmEnum.fromTpm(buf, _ValueMap, PLATFORM.class); }
+    public static PLATFORM fromInt (int value) { return TpmEnum.fromInt(value, _ValueMap); }
+    public static PLATFORM fromTpm (byte[] buf) { return TpmEnum.fromTpm(buf, _ValueMap); }
+    public static PLATFORM fromTpm (TpmBuffer buf) { return TpmEnum.fromTpm(buf, _ValueMap); }
     public PLATFORM._N asEnum() { return (PLATFORM._N)NameAsEnum; }
     public static Collection<PLATFORM> values() { return _ValueMap.values(); }
     private PLATFORM (int value, _N nameAsEnum) { super(value, nameAsEnum, _ValueMap); }
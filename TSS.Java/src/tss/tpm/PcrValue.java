@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -54,7 +54,7 @@ public class PcrValue extends TpmStructure
      */
     public static PcrValue fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(PcrValue.class);
+        return new TpmBuffer(byteBuf).createObj(PcrValue::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -69,7 +69,7 @@ public class PcrValue extends TpmStructure
      */
     public static PcrValue fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(PcrValue.class);
+        return buf.createObj(PcrValue::new);
     }
 
     @Override
@@ -87,6 +87,26 @@ public class PcrValue extends TpmStructure
         _p.add(d, "int", "index", index);
         _p.add(d, "TPMT_HA", "value", value);
     }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        PcrValue that = (PcrValue)o;
+        return index == that.index
+            && Objects.equals(value, that.value);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = index;
+        _h = 31 * _h + Objects.hashCode(value);
+        return _h;
+    }
 }
 
 //<<<
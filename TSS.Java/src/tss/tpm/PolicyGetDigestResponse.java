@@ -1,7 +1,8 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
+import java.nio.ByteBuffer;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -36,7 +37,7 @@ public class PolicyGetDigestResponse extends RespStructure
      */
     public static PolicyGetDigestResponse fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(PolicyGetDigestResponse.class);
+        return new TpmBuffer(byteBuf).createObj(PolicyGetDigestResponse::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -51,7 +52,7 @@ public class PolicyGetDigestResponse extends RespStructure
      */
     public static PolicyGetDigestResponse fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(PolicyGetDigestResponse.class);
+        return buf.createObj(PolicyGetDigestResponse::new);
     }
 
     @Override
@@ -69,8 +70,41 @@ public class PolicyGetDigestResponse extends RespStructure
         _p.add(d, "byte[]", "policyDigest", policyDigest);
     }
 
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        PolicyGetDigestResponse that = (PolicyGetDigestResponse)o;
+        return Arrays.equals(policyDigest, that.policyDigest);
+    }
+
+    @Override
+    public int hashCode() { return Arrays.hashCode(policyDigest); }
+
     @Override
     public SessEncInfo sessEncInfo() { return new SessEncInfo(2, 1); }
+
+    /** Lazy view of the response parameters retained in the response buffer
+     *  (see {@link RespView} and {@link Tpm#_view(RespView)})
+     */
+    public static class View extends RespView<PolicyGetDigestResponse>
+    {
+        static final int[] Layout = {SIZED};
+
+        public View() { super(PolicyGetDigestResponse.class, Layout); }
+
+        /** The current value of the policySessionpolicyDigest */
+        public ByteBuffer policyDigest() { return sizedBytes(0); }
+
+        @Override
+        protected PolicyGetDigestResponse newResponse() { return new PolicyGetDigestResponse(); }
+
+        @Override
+        protected Object readField(int field, TpmBuffer buf) { return buf.readSizedByteBuf(); }
+    }
 }
 
 //<<<
@@ -1,7 +1,8 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
+import java.nio.ByteBuffer;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -51,7 +52,7 @@ public class PolicySecretResponse extends RespStructure
      */
     public static PolicySecretResponse fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(PolicySecretResponse.class);
+        return new TpmBuffer(byteBuf).createObj(PolicySecretResponse::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -66,7 +67,7 @@ public class PolicySecretResponse extends RespStructure
      */
     public static PolicySecretResponse fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(PolicySecretResponse.class);
+        return buf.createObj(PolicySecretResponse::new);
     }
 
     @Override
@@ -85,8 +86,62 @@ public class PolicySecretResponse extends RespStructure
         _p.add(d, "TPMT_TK_AUTH", "policyTicket", policyTicket);
     }
 
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        PolicySecretResponse that = (PolicySecretResponse)o;
+        return Arrays.equals(timeout, that.timeout)
+            && Objects.equals(policyTicket, that.policyTicket);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Arrays.hashCode(timeout);
+        _h = 31 * _h + Objects.hashCode(policyTicket);
+        return _h;
+    }
+
     @Override
     public SessEncInfo sessEncInfo() { return new SessEncInfo(2, 1); }
+
+    /** Lazy view of the response parameters retained in the response buffer
+     *  (see {@link RespView} and {@link Tpm#_view(RespView)})
+     */
+    public static class View extends RespView<PolicySecretResponse>
+    {
+        static final int[] Layout = {SIZED, DECODED};
+
+        public View() { super(PolicySecretResponse.class, Layout); }
+
+        /** Implementation-specific time value used to indicate to the TPM when the ticket expires */
+        public ByteBuffer timeout() { return sizedBytes(0); }
+
+        /** Produced if the command succeeds and expiration in the command was non-zero ( See
+         *  23.2.5). This ticket will use the TPMT_ST_AUTH_SECRET structure tag
+         */
+        public TPMT_TK_AUTH policyTicket() { return field(1); }
+
+        /** Read-only wire representation of policyTicket */
+        public ByteBuffer policyTicketBytes() { return bytes(1); }
+
+        @Override
+        protected PolicySecretResponse newResponse() { return new PolicySecretResponse(); }
+
+        @Override
+        protected Object readField(int field, TpmBuffer buf)
+        {
+            switch (field) {
+                case 0: return buf.readSizedByteBuf();
+                case 1: return TPMT_TK_AUTH.fromTpm(buf);
+                default: return null;
+            }
+        }
+    }
 }
 
 //<<<
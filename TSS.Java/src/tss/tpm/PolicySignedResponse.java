@@ -1,7 +1,8 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
+import java.nio.ByteBuffer;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -51,7 +52,7 @@ public class PolicySignedResponse extends RespStructure
      */
     public static PolicySignedResponse fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(PolicySignedResponse.class);
+        return new TpmBuffer(byteBuf).createObj(PolicySignedResponse::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -66,7 +67,7 @@ public class PolicySignedResponse extends RespStructure
      */
     public static PolicySignedResponse fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(PolicySignedResponse.class);
+        return buf.createObj(PolicySignedResponse::new);
     }
 
     @Override
@@ -85,8 +86,64 @@ public class PolicySignedResponse extends RespStructure
         _p.add(d, "TPMT_TK_AUTH", "policyTicket", policyTicket);
     }
 
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        PolicySignedResponse that = (PolicySignedResponse)o;
+        return Arrays.equals(timeout, that.timeout)
+            && Objects.equals(policyTicket, that.policyTicket);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Arrays.hashCode(timeout);
+        _h = 31 * _h + Objects.hashCode(policyTicket);
+        return _h;
+    }
+
     @Override
     public SessEncInfo sessEncInfo() { return new SessEncInfo(2, 1); }
+
+    /** Lazy view of the response parameters retained in the response buffer
+     *  (see {@link RespView} and {@link Tpm#_view(RespView)})
+     */
+    public static class View extends RespView<PolicySignedResponse>
+    {
+        static final int[] Layout = {SIZED, DECODED};
+
+        public View() { super(PolicySignedResponse.class, Layout); }
+
+        /** Implementation-specific time value, used to indicate to the TPM when the ticket expires
+         *  NOTE If policyTicket is a NULL Ticket, then this shall be the Empty Buffer.
+         */
+        public ByteBuffer timeout() { return sizedBytes(0); }
+
+        /** Produced if the command succeeds and expiration in the command was non-zero; this
+         *  ticket will use the TPMT_ST_AUTH_SIGNED structure tag. See 23.2.5
+         */
+        public TPMT_TK_AUTH policyTicket() { return field(1); }
+
+        /** Read-only wire representation of policyTicket */
+        public ByteBuffer policyTicketBytes() { return bytes(1); }
+
+        @Override
+        protected PolicySignedResponse newResponse() { return new PolicySignedResponse(); }
+
+        @Override
+        protected Object readField(int field, TpmBuffer buf)
+        {
+            switch (field) {
+                case 0: return buf.readSizedByteBuf();
+                case 1: return TPMT_TK_AUTH.fromTpm(buf);
+                default: return null;
+            }
+        }
+    }
 }
 
 //<<<
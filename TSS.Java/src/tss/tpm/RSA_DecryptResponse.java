@@ -1,7 +1,8 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
+import java.nio.ByteBuffer;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -36,7 +37,7 @@ public class RSA_DecryptResponse extends RespStructure
      */
     public static RSA_DecryptResponse fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(RSA_DecryptResponse.class);
+        return new TpmBuffer(byteBuf).createObj(RSA_DecryptResponse::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -51,7 +52,7 @@ public class RSA_DecryptResponse extends RespStructure
      */
     public static RSA_DecryptResponse fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(RSA_DecryptResponse.class);
+        return buf.createObj(RSA_DecryptResponse::new);
     }
 
     @Override
@@ -69,8 +70,41 @@ public class RSA_DecryptResponse extends RespStructure
         _p.add(d, "byte[]", "message", message);
     }
 
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        RSA_DecryptResponse that = (RSA_DecryptResponse)o;
+        return Arrays.equals(message, that.message);
+    }
+
+    @Override
+    public int hashCode() { return Arrays.hashCode(message); }
+
     @Override
     public SessEncInfo sessEncInfo() { return new SessEncInfo(2, 1); }
+
+    /** Lazy view of the response parameters retained in the response buffer
+     *  (see {@link RespView} and {@link Tpm#_view(RespView)})
+     */
+    public static class View extends RespView<RSA_DecryptResponse>
+    {
+        static final int[] Layout = {SIZED};
+
+        public View() { super(RSA_DecryptResponse.class, Layout); }
+
+        /** Decrypted output */
+        public ByteBuffer message() { return sizedBytes(0); }
+
+        @Override
+        protected RSA_DecryptResponse newResponse() { return new RSA_DecryptResponse(); }
+
+        @Override
+        protected Object readField(int field, TpmBuffer buf) { return buf.readSizedByteBuf(); }
+    }
 }
 
 //<<<
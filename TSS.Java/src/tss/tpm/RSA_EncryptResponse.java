@@ -1,7 +1,8 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
+import java.nio.ByteBuffer;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -38,7 +39,7 @@ public class RSA_EncryptResponse extends RespStructure
      */
     public static RSA_EncryptResponse fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(RSA_EncryptResponse.class);
+        return new TpmBuffer(byteBuf).createObj(RSA_EncryptResponse::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -53,7 +54,7 @@ public class RSA_EncryptResponse extends RespStructure
      */
     public static RSA_EncryptResponse fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(RSA_EncryptResponse.class);
+        return buf.createObj(RSA_EncryptResponse::new);
     }
 
     @Override
@@ -71,8 +72,41 @@ public class RSA_EncryptResponse extends RespStructure
         _p.add(d, "byte[]", "outData", outData);
     }
 
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        RSA_EncryptResponse that = (RSA_EncryptResponse)o;
+        return Arrays.equals(outData, that.outData);
+    }
+
+    @Override
+    public int hashCode() { return Arrays.hashCode(outData); }
+
     @Override
     public SessEncInfo sessEncInfo() { return new SessEncInfo(2, 1); }
+
+    /** Lazy view of the response parameters retained in the response buffer
+     *  (see {@link RespView} and {@link Tpm#_view(RespView)})
+     */
+    public static class View extends RespView<RSA_EncryptResponse>
+    {
+        static final int[] Layout = {SIZED};
+
+        public View() { super(RSA_EncryptResponse.class, Layout); }
+
+        /** Encrypted output */
+        public ByteBuffer outData() { return sizedBytes(0); }
+
+        @Override
+        protected RSA_EncryptResponse newResponse() { return new RSA_EncryptResponse(); }
+
+        @Override
+        protected Object readField(int field, TpmBuffer buf) { return buf.readSizedByteBuf(); }
+    }
 }
 
 //<<<
@@ -1,7 +1,8 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
+import java.nio.ByteBuffer;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -35,7 +36,7 @@ public class ReadClockResponse extends RespStructure
      */
     public static ReadClockResponse fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(ReadClockResponse.class);
+        return new TpmBuffer(byteBuf).createObj(ReadClockResponse::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -50,7 +51,7 @@ public class ReadClockResponse extends RespStructure
      */
     public static ReadClockResponse fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(ReadClockResponse.class);
+        return buf.createObj(ReadClockResponse::new);
     }
 
     @Override
@@ -67,6 +68,41 @@ public class ReadClockResponse extends RespStructure
     {
         _p.add(d, "TPMS_TIME_INFO", "currentTime", currentTime);
     }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        ReadClockResponse that = (ReadClockResponse)o;
+        return Objects.equals(currentTime, that.currentTime);
+    }
+
+    @Override
+    public int hashCode() { return Objects.hashCode(currentTime); }
+
+    /** Lazy view of the response parameters retained in the response buffer
+     *  (see {@link RespView} and {@link Tpm#_view(RespView)})
+     */
+    public static class View extends RespView<ReadClockResponse>
+    {
+        static final int[] Layout = {DECODED};
+
+        public View() { super(ReadClockResponse.class, Layout); }
+
+        public TPMS_TIME_INFO currentTime() { return field(0); }
+
+        /** Read-only wire representation of currentTime */
+        public ByteBuffer currentTimeBytes() { return bytes(0); }
+
+        @Override
+        protected ReadClockResponse newResponse() { return new ReadClockResponse(); }
+
+        @Override
+        protected Object readField(int field, TpmBuffer buf) { return TPMS_TIME_INFO.fromTpm(buf); }
+    }
 }
 
 //<<<
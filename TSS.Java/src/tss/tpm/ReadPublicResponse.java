@@ -1,7 +1,8 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
+import java.nio.ByteBuffer;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -34,7 +35,7 @@ public class ReadPublicResponse extends RespStructure
     @Override
     public void initFromTpm(TpmBuffer buf)
     {
-        outPublic = buf.createSizedObj(TPMT_PUBLIC.class);
+        outPublic = buf.createSizedObj(TPMT_PUBLIC::new);
         name = buf.readSizedByteBuf();
         qualifiedName = buf.readSizedByteBuf();
     }
@@ -50,7 +51,7 @@ public class ReadPublicResponse extends RespStructure
      */
     public static ReadPublicResponse fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(ReadPublicResponse.class);
+        return new TpmBuffer(byteBuf).createObj(ReadPublicResponse::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -65,7 +66,7 @@ public class ReadPublicResponse extends RespStructure
      */
     public static ReadPublicResponse fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(ReadPublicResponse.class);
+        return buf.createObj(ReadPublicResponse::new);
     }
 
     @Override
@@ -85,8 +86,66 @@ public class ReadPublicResponse extends RespStructure
         _p.add(d, "byte[]", "qualifiedName", qualifiedName);
     }
 
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        ReadPublicResponse that = (ReadPublicResponse)o;
+        return Objects.equals(outPublic, that.outPublic)
+            && Arrays.equals(name, that.name)
+            && Arrays.equals(qualifiedName, that.qualifiedName);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Objects.hashCode(outPublic);
+        _h = 31 * _h + Arrays.hashCode(name);
+        _h = 31 * _h + Arrays.hashCode(qualifiedName);
+        return _h;
+    }
+
     @Override
     public SessEncInfo sessEncInfo() { return new SessEncInfo(2, 1); }
+
+    /** Lazy view of the response parameters retained in the response buffer
+     *  (see {@link RespView} and {@link Tpm#_view(RespView)})
+     */
+    public static class View extends RespView<ReadPublicResponse>
+    {
+        static final int[] Layout = {SIZED, SIZED, SIZED};
+
+        public View() { super(ReadPublicResponse.class, Layout); }
+
+        /** Structure containing the public area of an object */
+        public TPMT_PUBLIC outPublic() { return field(0); }
+
+        /** Read-only wire representation of outPublic (without its size) */
+        public ByteBuffer outPublicBytes() { return sizedBytes(0); }
+
+        /** Name of the object */
+        public ByteBuffer name() { return sizedBytes(1); }
+
+        /** The Qualified Name of the object */
+        public ByteBuffer qualifiedName() { return sizedBytes(2); }
+
+        @Override
+        protected ReadPublicResponse newResponse() { return new ReadPublicResponse(); }
+
+        @Override
+        protected Object readField(int field, TpmBuffer buf)
+        {
+            switch (field) {
+                case 0: return buf.createSizedObj(TPMT_PUBLIC::new);
+                case 1: return buf.readSizedByteBuf();
+                case 2: return buf.readSizedByteBuf();
+                default: return null;
+            }
+        }
+    }
 }
 
 //<<<
@@ -1,7 +1,8 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
+import java.nio.ByteBuffer;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -51,7 +52,7 @@ public class RewrapResponse extends RespStructure
      */
     public static RewrapResponse fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(RewrapResponse.class);
+        return new TpmBuffer(byteBuf).createObj(RewrapResponse::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -66,7 +67,7 @@ public class RewrapResponse extends RespStructure
      */
     public static RewrapResponse fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(RewrapResponse.class);
+        return buf.createObj(RewrapResponse::new);
     }
 
     @Override
@@ -84,6 +85,58 @@ public class RewrapResponse extends RespStructure
         _p.add(d, "TPM2B_PRIVATE", "outDuplicate", outDuplicate);
         _p.add(d, "byte[]", "outSymSeed", outSymSeed);
     }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        RewrapResponse that = (RewrapResponse)o;
+        return Objects.equals(outDuplicate, that.outDuplicate)
+            && Arrays.equals(outSymSeed, that.outSymSeed);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Objects.hashCode(outDuplicate);
+        _h = 31 * _h + Arrays.hashCode(outSymSeed);
+        return _h;
+    }
+
+    /** Lazy view of the response parameters retained in the response buffer
+     *  (see {@link RespView} and {@link Tpm#_view(RespView)})
+     */
+    public static class View extends RespView<RewrapResponse>
+    {
+        static final int[] Layout = {SIZED, SIZED};
+
+        public View() { super(RewrapResponse.class, Layout); }
+
+        /** An object encrypted using symmetric key derived from outSymSeed */
+        public TPM2B_PRIVATE outDuplicate() { return field(0); }
+
+        /** Read-only wire representation of outDuplicate */
+        public ByteBuffer outDuplicateBytes() { return bytes(0); }
+
+        /** Seed for a symmetric key protected by newParent asymmetric key */
+        public ByteBuffer outSymSeed() { return sizedBytes(1); }
+
+        @Override
+        protected RewrapResponse newResponse() { return new RewrapResponse(); }
+
+        @Override
+        protected Object readField(int field, TpmBuffer buf)
+        {
+            switch (field) {
+                case 0: return TPM2B_PRIVATE.fromTpm(buf);
+                case 1: return buf.readSizedByteBuf();
+                default: return null;
+            }
+        }
+    }
 }
 
 //<<<
@@ -23,7 +23,7 @@ public final class SHA1 extends TpmEnum<SHA1>
         BLOCK_SIZE
     }
 
-    private static ValueMap<SHA1> _ValueMap = new ValueMap<SHA1>();
+    private static ValueMap<SHA1> _ValueMap = new ValueMap<SHA1>(4, SHA1::new);
 
     /** These definitions provide mapping of the Java enum constants to their TPM integer values */
     public static final SHA1
@@ -32,9 +32,9 @@ public final class SHA1 extends TpmEnum<SHA1>
 
     public SHA1 () { super(0, _ValueMap); }
     public SHA1 (int value) { super(value, _ValueMap); }
-    public static SHA1 fromInt (int value) { return TpmEnum.fromInt(value, _ValueMap, SHA1.class); }
-    public static SHA1 fromTpm (byte[] buf) { return TpmEnum.fromTpm(buf, _ValueMap, SHA1.class); }
-    public static SHA1 fromTpm (TpmBuffer buf) { return TpmEnum.fromTpm(buf, _ValueMap, SHA1.class); }
+    public static SHA1 fromInt (int value) { return TpmEnum.fromInt(value, _ValueMap); }
+    public static SHA1 fromTpm (byte[] buf) { return TpmEnum.fromTpm(buf, _ValueMap); }
+    public static SHA1 fromTpm (TpmBuffer buf) { return TpmEnum.fromTpm(buf, _ValueMap); }
     public SHA1._N asEnum() { return (SHA1._N)NameAsEnum; }
     public static Collection<SHA1> values() { return _ValueMap.values(); }
     private SHA1 (int value, _N nameAsEnum) { super(value, nameAsEnum, _ValueMap); }
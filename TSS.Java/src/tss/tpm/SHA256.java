@@ -23,7 +23,7 @@ public final class SHA256 extends TpmEnum<SHA256>
         BLOCK_SIZE
     }
 
-    private static ValueMap<SHA256> _ValueMap = new ValueMap<SHA256>();
+    private static ValueMap<SHA256> _ValueMap = new ValueMap<SHA256>(4, SHA256::new);
 
     /** These definitions provide mapping of the Java enum constants to their TPM integer values */
     public static final SHA256
@@ -32,9 +32,9 @@ public final class SHA256 extends TpmEnum<SHA256>
 
     public SHA256 () { super(0, _ValueMap); }
     public SHA256 (int value) { super(value, _ValueMap); }
-    public static SHA256 fromInt (int value) { return TpmEnum.fromInt(value, _ValueMap, SHA256.class); }
-    public static SHA256 fromTpm (byte[] buf) { return TpmEnum.fromTpm(buf, _ValueMap, SHA256.class); }
-    public static SHA256 fromTpm (TpmBuffer buf) { return TpmEnum.fromTpm(buf, _ValueMap, SHA256.class); }
+    public static SHA256 fromInt (int value) { return TpmEnum.fromInt(value, _ValueMap); }
+    public static SHA256 fromTpm (byte[] buf) { return TpmEnum.fromTpm(buf, _ValueMap); }
+    public static SHA256 fromTpm (TpmBuffer buf) { return TpmEnum.fromTpm(buf, _ValueMap); }
     public SHA256._N asEnum() { return (SHA256._N)NameAsEnum; }
     public static Collection<SHA256> values() { return _ValueMap.values(); }
     private SHA256 (int value, _N nameAsEnum) { super(value, nameAsEnum, _ValueMap); }
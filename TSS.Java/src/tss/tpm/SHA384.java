@@ -23,7 +23,7 @@ public final class SHA384 extends TpmEnum<SHA384>
         BLOCK_SIZE
     }
 
-    private static ValueMap<SHA384> _ValueMap = new ValueMap<SHA384>();
+    private static ValueMap<SHA384> _ValueMap = new ValueMap<SHA384>(4, SHA384::new);
 
     /** These definitions provide mapping of the Java enum constants to their TPM integer values */
     public static final SHA384
@@ -32,9 +32,9 @@ public final class SHA384 extends TpmEnum<SHA384>
 
     public SHA384 () { super(0, _ValueMap); }
     public SHA384 (int value) { super(value, _ValueMap); }
-    public static SHA384 fromInt (int value) { return TpmEnum.fromInt(value, _ValueMap, SHA384.class); }
-    public static SHA384 fromTpm (byte[] buf) { return TpmEnum.fromTpm(buf, _ValueMap, SHA384.class); }
-    public static SHA384 fromTpm (TpmBuffer buf) { return TpmEnum.fromTpm(buf, _ValueMap, SHA384.class); }
+    public static SHA384 fromInt (int value) { return TpmEnum.fromInt(value, _ValueMap); }
+    public static SHA384 fromTpm (byte[] buf) { return TpmEnum.fromTpm(buf, _ValueMap); }
+    public static SHA384 fromTpm (TpmBuffer buf) { return TpmEnum.fromTpm(buf, _ValueMap); }
     public SHA384._N asEnum() { return (SHA384._N)NameAsEnum; }
     public static Collection<SHA384> values() { return _ValueMap.values(); }
     private SHA384 (int value, _N nameAsEnum) { super(value, nameAsEnum, _ValueMap); }
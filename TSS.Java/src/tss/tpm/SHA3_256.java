@@ -23,7 +23,7 @@ public final class SHA3_256 extends TpmEnum<SHA3_256>
         BLOCK_SIZE
     }
 
-    private static ValueMap<SHA3_256> _ValueMap = new ValueMap<SHA3_256>();
+    private static ValueMap<SHA3_256> _ValueMap = new ValueMap<SHA3_256>(4, SHA3_256::new);
 
     /** These definitions provide mapping of the Java enum constants to their TPM integer values */
     public static final SHA3_256
@@ -32,9 +32,9 @@ public final class SHA3_256 extends TpmEnum<SHA3_256>
 
     public SHA3_256 () { super(0, _ValueMap); }
     public SHA3_256 (int value) { super(value, _ValueMap); }
-    public static SHA3_256 fromInt (int value) { return TpmEnum.fromInt(value, _ValueMap, SHA3_256.class); }
-    public static SHA3_256 fromTpm (byte[] buf) { return TpmEnum.fromTpm(buf, _ValueMap, SHA3_256.class); }
-    public static SHA3_256 fromTpm (TpmBuffer buf) { return TpmEnum.fromTpm(buf, _ValueMap, SHA3_256.class); }
+    public static SHA3_256 fromInt (int value) { return TpmEnum.fromInt(value, _ValueMap); }
+    public static SHA3_256 fromTpm (byte[] buf) { return TpmEnum.fromTpm(buf, _ValueMap); }
+    public static SHA3_256 fromTpm (TpmBuffer buf) { return TpmEnum.fromTpm(buf, _ValueMap); }
     public SHA3_256._N asEnum() { return (SHA3_256._N)NameAsEnum; }
     public static Collection<SHA3_256> values() { return _ValueMap.values(); }
     private SHA3_256 (int value, _N nameAsEnum) { super(value, nameAsEnum, _ValueMap); }
@@ -23,7 +23,7 @@ public final class SHA3_512 extends TpmEnum<SHA3_512>
         BLOCK_SIZE
     }
 
-    private static ValueMap<SHA3_512> _ValueMap = new ValueMap<SHA3_512>();
+    private static ValueMap<SHA3_512> _ValueMap = new ValueMap<SHA3_512>(4, SHA3_512::new);
 
     /** These definitions provide mapping of the Java enum constants to their TPM integer values */
     public static final SHA3_512
@@ -32,9 +32,9 @@ public final class SHA3_512 extends TpmEnum<SHA3_512>
 
     public SHA3_512 () { super(0, _ValueMap); }
     public SHA3_512 (int value) { super(value, _ValueMap); }
-    public static SHA3_512 fromInt (int value) { return TpmEnum.fromInt(value, _ValueMap, SHA3_512.class); }
-    public static SHA3_512 fromTpm (byte[] buf) { return TpmEnum.fromTpm(buf, _ValueMap, SHA3_512.class); }
-    public static SHA3_512 fromTpm (TpmBuffer buf) { return TpmEnum.fromTpm(buf, _ValueMap, SHA3_512.class); }
+    public static SHA3_512 fromInt (int value) { return TpmEnum.fromInt(value, _ValueMap); }
+    public static SHA3_512 fromTpm (byte[] buf) { return TpmEnum.fromTpm(buf, _ValueMap); }
+    public static SHA3_512 fromTpm (TpmBuffer buf) { return TpmEnum.fromTpm(buf, _ValueMap); }
     public SHA3_512._N asEnum() { return (SHA3_512._N)NameAsEnum; }
     public static Collection<SHA3_512> values() { return _ValueMap.values(); }
     private SHA3_512 (int value, _N nameAsEnum) { super(value, nameAsEnum, _ValueMap); }
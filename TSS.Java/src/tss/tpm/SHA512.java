@@ -23,7 +23,7 @@ public final class SHA512 extends TpmEnum<SHA512>
         BLOCK_SIZE
     }
 
-    private static ValueMap<SHA512> _ValueMap = new ValueMap<SHA512>();
+    private static ValueMap<SHA512> _ValueMap = new ValueMap<SHA512>(4, SHA512::new);
 
     /** These definitions provide mapping of the Java enum constants to their TPM integer values */
     public static final SHA512
@@ -32,9 +32,9 @@ public final class SHA512 extends TpmEnum<SHA512>
 
     public SHA512 () { super(0, _ValueMap); }
     public SHA512 (int value) { super(value, _ValueMap); }
-    public static SHA512 fromInt (int value) { return TpmEnum.fromInt(value, _ValueMap, SHA512.class); }
-    public static SHA512 fromTpm (byte[] buf) { return TpmEnum.fromTpm(buf, _ValueMap, SHA512.class); }
-    public static SHA512 fromTpm (TpmBuffer buf) { return TpmEnum.fromTpm(buf, _ValueMap, SHA512.class); }
+    public static SHA512 fromInt (int value) { return TpmEnum.fromInt(value, _ValueMap); }
+    public static SHA512 fromTpm (byte[] buf) { return TpmEnum.fromTpm(buf, _ValueMap); }
+    public static SHA512 fromTpm (TpmBuffer buf) { return TpmEnum.fromTpm(buf, _ValueMap); }
     public SHA512._N asEnum() { return (SHA512._N)NameAsEnum; }
     public static Collection<SHA512> values() { return _ValueMap.values(); }
     private SHA512 (int value, _N nameAsEnum) { super(value, nameAsEnum, _ValueMap); }
@@ -23,7 +23,7 @@ public final class SM3_256 extends TpmEnum<SM3_256>
         BLOCK_SIZE
     }
 
-    private static ValueMap<SM3_256> _ValueMap = new ValueMap<SM3_256>();
+    private static ValueMap<SM3_256> _ValueMap = new ValueMap<SM3_256>(4, SM3_256::new);
 
     /** These definitions provide mapping of the Java enum constants to their TPM integer values */
     public static final SM3_256
@@ -32,9 +32,9 @@ public final class SM3_256 extends TpmEnum<SM3_256>
 
     public SM3_256 () { super(0, _ValueMap); }
     public SM3_256 (int value) { super(value, _ValueMap); }
-    public static SM3_256 fromInt (int value) { return TpmEnum.fromInt(value, _ValueMap, SM3_256.class); }
-    public static SM3_256 fromTpm (byte[] buf) { return TpmEnum.fromTpm(buf, _ValueMap, SM3_256.class); }
-    public static SM3_256 fromTpm (TpmBuffer buf) { return TpmEnum.fromTpm(buf, _ValueMap, SM3_256.class); }
+    public static SM3_256 fromInt (int value) { return TpmEnum.fromInt(value, _ValueMap); }
+    public static SM3_256 fromTpm (byte[] buf) { return TpmEnum.fromTpm(buf, _ValueMap); }
+    public static SM3_256 fromTpm (TpmBuffer buf) { return TpmEnum.fromTpm(buf, _ValueMap); }
     public SM3_256._N asEnum() { return (SM3_256._N)NameAsEnum; }
     public static Collection<SM3_256> values() { return _ValueMap.values(); }
     private SM3_256 (int value, _N nameAsEnum) { super(value, nameAsEnum, _ValueMap); }
@@ -1,7 +1,8 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
+import java.nio.ByteBuffer;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -50,7 +51,7 @@ public class SequenceCompleteResponse extends RespStructure
      */
     public static SequenceCompleteResponse fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(SequenceCompleteResponse.class);
+        return new TpmBuffer(byteBuf).createObj(SequenceCompleteResponse::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -65,7 +66,7 @@ public class SequenceCompleteResponse extends RespStructure
      */
     public static SequenceCompleteResponse fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(SequenceCompleteResponse.class);
+        return buf.createObj(SequenceCompleteResponse::new);
     }
 
     @Override
@@ -84,8 +85,63 @@ public class SequenceCompleteResponse extends RespStructure
         _p.add(d, "TPMT_TK_HASHCHECK", "validation", validation);
     }
 
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        SequenceCompleteResponse that = (SequenceCompleteResponse)o;
+        return Arrays.equals(result, that.result)
+            && Objects.equals(validation, that.validation);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Arrays.hashCode(result);
+        _h = 31 * _h + Objects.hashCode(validation);
+        return _h;
+    }
+
     @Override
     public SessEncInfo sessEncInfo() { return new SessEncInfo(2, 1); }
+
+    /** Lazy view of the response parameters retained in the response buffer
+     *  (see {@link RespView} and {@link Tpm#_view(RespView)})
+     */
+    public static class View extends RespView<SequenceCompleteResponse>
+    {
+        static final int[] Layout = {SIZED, DECODED};
+
+        public View() { super(SequenceCompleteResponse.class, Layout); }
+
+        /** The returned HMAC or digest in a sized buffer */
+        public ByteBuffer result() { return sizedBytes(0); }
+
+        /** Ticket indicating that the sequence of octets used to compute outDigest did not start
+         *  with TPM_GENERATED_VALUE
+         *  This is a NULL Ticket when the sequence is HMAC.
+         */
+        public TPMT_TK_HASHCHECK validation() { return field(1); }
+
+        /** Read-only wire representation of validation */
+        public ByteBuffer validationBytes() { return bytes(1); }
+
+        @Override
+        protected SequenceCompleteResponse newResponse() { return new SequenceCompleteResponse(); }
+
+        @Override
+        protected Object readField(int field, TpmBuffer buf)
+        {
+            switch (field) {
+                case 0: return buf.readSizedByteBuf();
+                case 1: return TPMT_TK_HASHCHECK.fromTpm(buf);
+                default: return null;
+            }
+        }
+    }
 }
 
 //<<<
@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -68,7 +68,7 @@ public class SessionIn extends TpmStructure
      */
     public static SessionIn fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(SessionIn.class);
+        return new TpmBuffer(byteBuf).createObj(SessionIn::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -83,7 +83,7 @@ public class SessionIn extends TpmStructure
      */
     public static SessionIn fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(SessionIn.class);
+        return buf.createObj(SessionIn::new);
     }
 
     @Override
@@ -103,6 +103,30 @@ public class SessionIn extends TpmStructure
         _p.add(d, "TPMA_SESSION", "attributes", attributes);
         _p.add(d, "byte[]", "auth", auth);
     }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        SessionIn that = (SessionIn)o;
+        return Objects.equals(handle, that.handle)
+            && Arrays.equals(nonceCaller, that.nonceCaller)
+            && Objects.equals(attributes, that.attributes)
+            && Arrays.equals(auth, that.auth);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Objects.hashCode(handle);
+        _h = 31 * _h + Arrays.hashCode(nonceCaller);
+        _h = 31 * _h + Objects.hashCode(attributes);
+        _h = 31 * _h + Arrays.hashCode(auth);
+        return _h;
+    }
 }
 
 //<<<
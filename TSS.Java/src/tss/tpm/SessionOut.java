@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -61,7 +61,7 @@ public class SessionOut extends TpmStructure
      */
     public static SessionOut fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(SessionOut.class);
+        return new TpmBuffer(byteBuf).createObj(SessionOut::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -76,7 +76,7 @@ public class SessionOut extends TpmStructure
      */
     public static SessionOut fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(SessionOut.class);
+        return buf.createObj(SessionOut::new);
     }
 
     @Override
@@ -95,6 +95,28 @@ public class SessionOut extends TpmStructure
         _p.add(d, "TPMA_SESSION", "attributes", attributes);
         _p.add(d, "byte[]", "auth", auth);
     }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        SessionOut that = (SessionOut)o;
+        return Arrays.equals(nonceTpm, that.nonceTpm)
+            && Objects.equals(attributes, that.attributes)
+            && Arrays.equals(auth, that.auth);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Arrays.hashCode(nonceTpm);
+        _h = 31 * _h + Objects.hashCode(attributes);
+        _h = 31 * _h + Arrays.hashCode(auth);
+        return _h;
+    }
 }
 
 //<<<
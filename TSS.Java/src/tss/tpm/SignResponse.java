@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -38,7 +38,7 @@ public class SignResponse extends RespStructure
     public void initFromTpm(TpmBuffer buf)
     {
         TPM_ALG_ID signatureSigAlg = TPM_ALG_ID.fromTpm(buf);
-        signature = UnionFactory.create("TPMU_SIGNATURE", signatureSigAlg);
+        signature = UnionFactory.createTPMU_SIGNATURE(signatureSigAlg);
         signature.initFromTpm(buf);
     }
 
@@ -53,7 +53,7 @@ public class SignResponse extends RespStructure
      */
     public static SignResponse fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(SignResponse.class);
+        return new TpmBuffer(byteBuf).createObj(SignResponse::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -68,7 +68,7 @@ public class SignResponse extends RespStructure
      */
     public static SignResponse fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(SignResponse.class);
+        return buf.createObj(SignResponse::new);
     }
 
     @Override
@@ -85,6 +85,46 @@ public class SignResponse extends RespStructure
     {
         _p.add(d, "TPMU_SIGNATURE", "signature", signature);
     }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        SignResponse that = (SignResponse)o;
+        return Objects.equals(signature, that.signature);
+    }
+
+    @Override
+    public int hashCode() { return Objects.hashCode(signature); }
+
+    /** Lazy view of the response parameters retained in the response buffer
+     *  (see {@link RespView} and {@link Tpm#_view(RespView)})
+     */
+    public static class View extends RespView<SignResponse>
+    {
+        static final int[] Layout = {DECODED};
+
+        public View() { super(SignResponse.class, Layout); }
+
+        /** The signature
+         *  One of: TPMS_SIGNATURE_RSASSA, TPMS_SIGNATURE_RSAPSS, TPMS_SIGNATURE_ECDSA,
+         *  TPMS_SIGNATURE_ECDAA, TPMS_SIGNATURE_SM2, TPMS_SIGNATURE_ECSCHNORR, TPMT_HA,
+         *  TPMS_SCHEME_HASH, TPMS_NULL_SIGNATURE.
+         */
+        public TPMU_SIGNATURE signature() { return field(0); }
+
+        /** Selector of the algorithm used to construct the signature */
+        public TPM_ALG_ID signatureSigAlg() { return signature().GetUnionSelector(); }
+
+        @Override
+        protected SignResponse newResponse() { return new SignResponse(); }
+
+        @Override
+        protected Object readField(int field, TpmBuffer buf) { return readUnion(UnionFactory.createTPMU_SIGNATURE(TPM_ALG_ID.fromTpm(buf)), buf); }
+    }
 }
 
 //<<<
@@ -1,7 +1,8 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
+import java.nio.ByteBuffer;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -40,7 +41,7 @@ public class StartAuthSessionResponse extends RespStructure
      */
     public static StartAuthSessionResponse fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(StartAuthSessionResponse.class);
+        return new TpmBuffer(byteBuf).createObj(StartAuthSessionResponse::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -55,7 +56,7 @@ public class StartAuthSessionResponse extends RespStructure
      */
     public static StartAuthSessionResponse fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(StartAuthSessionResponse.class);
+        return buf.createObj(StartAuthSessionResponse::new);
     }
 
     @Override
@@ -74,6 +75,26 @@ public class StartAuthSessionResponse extends RespStructure
         _p.add(d, "byte[]", "nonceTPM", nonceTPM);
     }
 
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        StartAuthSessionResponse that = (StartAuthSessionResponse)o;
+        return Objects.equals(handle, that.handle)
+            && Arrays.equals(nonceTPM, that.nonceTPM);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Objects.hashCode(handle);
+        _h = 31 * _h + Arrays.hashCode(nonceTPM);
+        return _h;
+    }
+
     @Override
     public int numHandles() { return 1; }
 
@@ -85,6 +106,25 @@ public class StartAuthSessionResponse extends RespStructure
 
     @Override
     public SessEncInfo sessEncInfo() { return new SessEncInfo(2, 1); }
+
+    /** Lazy view of the response parameters retained in the response buffer
+     *  (see {@link RespView} and {@link Tpm#_view(RespView)})
+     */
+    public static class View extends RespView<StartAuthSessionResponse>
+    {
+        static final int[] Layout = {SIZED};
+
+        public View() { super(StartAuthSessionResponse.class, Layout); }
+
+        /** The initial nonce from the TPM, used in the computation of the sessionKey */
+        public ByteBuffer nonceTPM() { return sizedBytes(0); }
+
+        @Override
+        protected StartAuthSessionResponse newResponse() { return new StartAuthSessionResponse(); }
+
+        @Override
+        protected Object readField(int field, TpmBuffer buf) { return buf.readSizedByteBuf(); }
+    }
 }
 
 //<<<
@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -26,7 +26,7 @@ public class TPM2B_ATTEST extends TpmStructure
 
     /** TpmMarshaller method */
     @Override
-    public void initFromTpm(TpmBuffer buf) { attestationData = buf.createSizedObj(TPMS_ATTEST.class); }
+    public void initFromTpm(TpmBuffer buf) { attestationData = buf.createSizedObj(TPMS_ATTEST::new); }
 
     /** @deprecated Use {@link #toBytes()} instead
      *  @return Wire (marshaled) representation of this object
@@ -39,7 +39,7 @@ public class TPM2B_ATTEST extends TpmStructure
      */
     public static TPM2B_ATTEST fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPM2B_ATTEST.class);
+        return new TpmBuffer(byteBuf).createObj(TPM2B_ATTEST::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -54,7 +54,7 @@ public class TPM2B_ATTEST extends TpmStructure
      */
     public static TPM2B_ATTEST fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPM2B_ATTEST.class);
+        return buf.createObj(TPM2B_ATTEST::new);
     }
 
     @Override
@@ -71,6 +71,20 @@ public class TPM2B_ATTEST extends TpmStructure
     {
         _p.add(d, "TPMS_ATTEST", "attestationData", attestationData);
     }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPM2B_ATTEST that = (TPM2B_ATTEST)o;
+        return Objects.equals(attestationData, that.attestationData);
+    }
+
+    @Override
+    public int hashCode() { return Objects.hashCode(attestationData); }
 }
 
 //<<<
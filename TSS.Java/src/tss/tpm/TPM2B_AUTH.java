@@ -31,7 +31,7 @@ public class TPM2B_AUTH extends TPM2B_DIGEST
      */
     public static TPM2B_AUTH fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPM2B_AUTH.class);
+        return new TpmBuffer(byteBuf).createObj(TPM2B_AUTH::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -46,7 +46,7 @@ public class TPM2B_AUTH extends TPM2B_DIGEST
      */
     public static TPM2B_AUTH fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPM2B_AUTH.class);
+        return buf.createObj(TPM2B_AUTH::new);
     }
 
     @Override
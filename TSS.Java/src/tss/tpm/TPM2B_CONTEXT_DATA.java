@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -23,7 +23,7 @@ public class TPM2B_CONTEXT_DATA extends TpmStructure
 
     /** TpmMarshaller method */
     @Override
-    public void initFromTpm(TpmBuffer buf) { buffer = buf.createSizedObj(TPMS_CONTEXT_DATA.class); }
+    public void initFromTpm(TpmBuffer buf) { buffer = buf.createSizedObj(TPMS_CONTEXT_DATA::new); }
 
     /** @deprecated Use {@link #toBytes()} instead
      *  @return Wire (marshaled) representation of this object
@@ -36,7 +36,7 @@ public class TPM2B_CONTEXT_DATA extends TpmStructure
      */
     public static TPM2B_CONTEXT_DATA fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPM2B_CONTEXT_DATA.class);
+        return new TpmBuffer(byteBuf).createObj(TPM2B_CONTEXT_DATA::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -51,7 +51,7 @@ public class TPM2B_CONTEXT_DATA extends TpmStructure
      */
     public static TPM2B_CONTEXT_DATA fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPM2B_CONTEXT_DATA.class);
+        return buf.createObj(TPM2B_CONTEXT_DATA::new);
     }
 
     @Override
@@ -68,6 +68,20 @@ public class TPM2B_CONTEXT_DATA extends TpmStructure
     {
         _p.add(d, "TPMS_CONTEXT_DATA", "buffer", buffer);
     }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPM2B_CONTEXT_DATA that = (TPM2B_CONTEXT_DATA)o;
+        return Objects.equals(buffer, that.buffer);
+    }
+
+    @Override
+    public int hashCode() { return Objects.hashCode(buffer); }
 }
 
 //<<<
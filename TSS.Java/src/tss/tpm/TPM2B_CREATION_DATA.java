@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -25,7 +25,7 @@ public class TPM2B_CREATION_DATA extends TpmStructure
 
     /** TpmMarshaller method */
     @Override
-    public void initFromTpm(TpmBuffer buf) { creationData = buf.createSizedObj(TPMS_CREATION_DATA.class); }
+    public void initFromTpm(TpmBuffer buf) { creationData = buf.createSizedObj(TPMS_CREATION_DATA::new); }
 
     /** @deprecated Use {@link #toBytes()} instead
      *  @return Wire (marshaled) representation of this object
@@ -38,7 +38,7 @@ public class TPM2B_CREATION_DATA extends TpmStructure
      */
     public static TPM2B_CREATION_DATA fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPM2B_CREATION_DATA.class);
+        return new TpmBuffer(byteBuf).createObj(TPM2B_CREATION_DATA::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -53,7 +53,7 @@ public class TPM2B_CREATION_DATA extends TpmStructure
      */
     public static TPM2B_CREATION_DATA fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPM2B_CREATION_DATA.class);
+        return buf.createObj(TPM2B_CREATION_DATA::new);
     }
 
     @Override
@@ -70,6 +70,20 @@ public class TPM2B_CREATION_DATA extends TpmStructure
     {
         _p.add(d, "TPMS_CREATION_DATA", "creationData", creationData);
     }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPM2B_CREATION_DATA that = (TPM2B_CREATION_DATA)o;
+        return Objects.equals(creationData, that.creationData);
+    }
+
+    @Override
+    public int hashCode() { return Objects.hashCode(creationData); }
 }
 
 //<<<
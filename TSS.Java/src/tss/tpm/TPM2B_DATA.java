@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -38,7 +38,7 @@ public class TPM2B_DATA extends TpmStructure
      */
     public static TPM2B_DATA fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPM2B_DATA.class);
+        return new TpmBuffer(byteBuf).createObj(TPM2B_DATA::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -53,7 +53,7 @@ public class TPM2B_DATA extends TpmStructure
      */
     public static TPM2B_DATA fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPM2B_DATA.class);
+        return buf.createObj(TPM2B_DATA::new);
     }
 
     @Override
@@ -70,6 +70,20 @@ public class TPM2B_DATA extends TpmStructure
     {
         _p.add(d, "byte[]", "buffer", buffer);
     }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPM2B_DATA that = (TPM2B_DATA)o;
+        return Arrays.equals(buffer, that.buffer);
+    }
+
+    @Override
+    public int hashCode() { return Arrays.hashCode(buffer); }
 }
 
 //<<<
@@ -29,7 +29,7 @@ public class TPM2B_DIGEST_KEYEDHASH extends TPM2B_DIGEST
      */
     public static TPM2B_DIGEST_KEYEDHASH fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPM2B_DIGEST_KEYEDHASH.class);
+        return new TpmBuffer(byteBuf).createObj(TPM2B_DIGEST_KEYEDHASH::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -44,7 +44,7 @@ public class TPM2B_DIGEST_KEYEDHASH extends TPM2B_DIGEST
      */
     public static TPM2B_DIGEST_KEYEDHASH fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPM2B_DIGEST_KEYEDHASH.class);
+        return buf.createObj(TPM2B_DIGEST_KEYEDHASH::new);
     }
 
     @Override
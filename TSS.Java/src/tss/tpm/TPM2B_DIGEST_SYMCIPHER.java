@@ -29,7 +29,7 @@ public class TPM2B_DIGEST_SYMCIPHER extends TPM2B_DIGEST
      */
     public static TPM2B_DIGEST_SYMCIPHER fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPM2B_DIGEST_SYMCIPHER.class);
+        return new TpmBuffer(byteBuf).createObj(TPM2B_DIGEST_SYMCIPHER::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -44,7 +44,7 @@ public class TPM2B_DIGEST_SYMCIPHER extends TPM2B_DIGEST
      */
     public static TPM2B_DIGEST_SYMCIPHER fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPM2B_DIGEST_SYMCIPHER.class);
+        return buf.createObj(TPM2B_DIGEST_SYMCIPHER::new);
     }
 
     @Override
@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -40,7 +40,7 @@ public class TPM2B_ECC_PARAMETER extends TpmStructure implements TPMU_SENSITIVE_
      */
     public static TPM2B_ECC_PARAMETER fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPM2B_ECC_PARAMETER.class);
+        return new TpmBuffer(byteBuf).createObj(TPM2B_ECC_PARAMETER::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -55,7 +55,7 @@ public class TPM2B_ECC_PARAMETER extends TpmStructure implements TPMU_SENSITIVE_
      */
     public static TPM2B_ECC_PARAMETER fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPM2B_ECC_PARAMETER.class);
+        return buf.createObj(TPM2B_ECC_PARAMETER::new);
     }
 
     @Override
@@ -72,6 +72,20 @@ public class TPM2B_ECC_PARAMETER extends TpmStructure implements TPMU_SENSITIVE_
     {
         _p.add(d, "byte[]", "buffer", buffer);
     }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPM2B_ECC_PARAMETER that = (TPM2B_ECC_PARAMETER)o;
+        return Arrays.equals(buffer, that.buffer);
+    }
+
+    @Override
+    public int hashCode() { return Arrays.hashCode(buffer); }
 }
 
 //<<<
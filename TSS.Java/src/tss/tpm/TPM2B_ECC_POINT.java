@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -26,7 +26,7 @@ public class TPM2B_ECC_POINT extends TpmStructure
 
     /** TpmMarshaller method */
     @Override
-    public void initFromTpm(TpmBuffer buf) { point = buf.createSizedObj(TPMS_ECC_POINT.class); }
+    public void initFromTpm(TpmBuffer buf) { point = buf.createSizedObj(TPMS_ECC_POINT::new); }
 
     /** @deprecated Use {@link #toBytes()} instead
      *  @return Wire (marshaled) representation of this object
@@ -39,7 +39,7 @@ public class TPM2B_ECC_POINT extends TpmStructure
      */
     public static TPM2B_ECC_POINT fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPM2B_ECC_POINT.class);
+        return new TpmBuffer(byteBuf).createObj(TPM2B_ECC_POINT::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -54,7 +54,7 @@ public class TPM2B_ECC_POINT extends TpmStructure
      */
     public static TPM2B_ECC_POINT fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPM2B_ECC_POINT.class);
+        return buf.createObj(TPM2B_ECC_POINT::new);
     }
 
     @Override
@@ -71,6 +71,20 @@ public class TPM2B_ECC_POINT extends TpmStructure
     {
         _p.add(d, "TPMS_ECC_POINT", "point", point);
     }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPM2B_ECC_POINT that = (TPM2B_ECC_POINT)o;
+        return Objects.equals(point, that.point);
+    }
+
+    @Override
+    public int hashCode() { return Objects.hashCode(point); }
 }
 
 //<<<
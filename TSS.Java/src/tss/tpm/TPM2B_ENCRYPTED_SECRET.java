@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -37,7 +37,7 @@ public class TPM2B_ENCRYPTED_SECRET extends TpmStructure
      */
     public static TPM2B_ENCRYPTED_SECRET fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPM2B_ENCRYPTED_SECRET.class);
+        return new TpmBuffer(byteBuf).createObj(TPM2B_ENCRYPTED_SECRET::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -52,7 +52,7 @@ public class TPM2B_ENCRYPTED_SECRET extends TpmStructure
      */
     public static TPM2B_ENCRYPTED_SECRET fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPM2B_ENCRYPTED_SECRET.class);
+        return buf.createObj(TPM2B_ENCRYPTED_SECRET::new);
     }
 
     @Override
@@ -69,6 +69,20 @@ public class TPM2B_ENCRYPTED_SECRET extends TpmStructure
     {
         _p.add(d, "byte[]", "secret", secret);
     }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPM2B_ENCRYPTED_SECRET that = (TPM2B_ENCRYPTED_SECRET)o;
+        return Arrays.equals(secret, that.secret);
+    }
+
+    @Override
+    public int hashCode() { return Arrays.hashCode(secret); }
 }
 
 //<<<
@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -37,7 +37,7 @@ public class TPM2B_EVENT extends TpmStructure
      */
     public static TPM2B_EVENT fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPM2B_EVENT.class);
+        return new TpmBuffer(byteBuf).createObj(TPM2B_EVENT::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -52,7 +52,7 @@ public class TPM2B_EVENT extends TpmStructure
      */
     public static TPM2B_EVENT fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPM2B_EVENT.class);
+        return buf.createObj(TPM2B_EVENT::new);
     }
 
     @Override
@@ -69,6 +69,20 @@ public class TPM2B_EVENT extends TpmStructure
     {
         _p.add(d, "byte[]", "buffer", buffer);
     }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPM2B_EVENT that = (TPM2B_EVENT)o;
+        return Arrays.equals(buffer, that.buffer);
+    }
+
+    @Override
+    public int hashCode() { return Arrays.hashCode(buffer); }
 }
 
 //<<<
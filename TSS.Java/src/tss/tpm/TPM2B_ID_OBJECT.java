@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -26,7 +26,7 @@ public class TPM2B_ID_OBJECT extends TpmStructure
 
     /** TpmMarshaller method */
     @Override
-    public void initFromTpm(TpmBuffer buf) { credential = buf.createSizedObj(TPMS_ID_OBJECT.class); }
+    public void initFromTpm(TpmBuffer buf) { credential = buf.createSizedObj(TPMS_ID_OBJECT::new); }
 
     /** @deprecated Use {@link #toBytes()} instead
      *  @return Wire (marshaled) representation of this object
@@ -39,7 +39,7 @@ public class TPM2B_ID_OBJECT extends TpmStructure
      */
     public static TPM2B_ID_OBJECT fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPM2B_ID_OBJECT.class);
+        return new TpmBuffer(byteBuf).createObj(TPM2B_ID_OBJECT::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -54,7 +54,7 @@ public class TPM2B_ID_OBJECT extends TpmStructure
      */
     public static TPM2B_ID_OBJECT fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPM2B_ID_OBJECT.class);
+        return buf.createObj(TPM2B_ID_OBJECT::new);
     }
 
     @Override
@@ -71,6 +71,20 @@ public class TPM2B_ID_OBJECT extends TpmStructure
     {
         _p.add(d, "TPMS_ID_OBJECT", "credential", credential);
     }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPM2B_ID_OBJECT that = (TPM2B_ID_OBJECT)o;
+        return Objects.equals(credential, that.credential);
+    }
+
+    @Override
+    public int hashCode() { return Objects.hashCode(credential); }
 }
 
 //<<<
@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -40,7 +40,7 @@ public class TPM2B_IV extends TpmStructure
      */
     public static TPM2B_IV fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPM2B_IV.class);
+        return new TpmBuffer(byteBuf).createObj(TPM2B_IV::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -55,7 +55,7 @@ public class TPM2B_IV extends TpmStructure
      */
     public static TPM2B_IV fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPM2B_IV.class);
+        return buf.createObj(TPM2B_IV::new);
     }
 
     @Override
@@ -72,6 +72,20 @@ public class TPM2B_IV extends TpmStructure
     {
         _p.add(d, "byte[]", "buffer", buffer);
     }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPM2B_IV that = (TPM2B_IV)o;
+        return Arrays.equals(buffer, that.buffer);
+    }
+
+    @Override
+    public int hashCode() { return Arrays.hashCode(buffer); }
 }
 
 //<<<
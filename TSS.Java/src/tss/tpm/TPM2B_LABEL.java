@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -42,7 +42,7 @@ public class TPM2B_LABEL extends TpmStructure
      */
     public static TPM2B_LABEL fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPM2B_LABEL.class);
+        return new TpmBuffer(byteBuf).createObj(TPM2B_LABEL::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -57,7 +57,7 @@ public class TPM2B_LABEL extends TpmStructure
      */
     public static TPM2B_LABEL fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPM2B_LABEL.class);
+        return buf.createObj(TPM2B_LABEL::new);
     }
 
     @Override
@@ -74,6 +74,20 @@ public class TPM2B_LABEL extends TpmStructure
     {
         _p.add(d, "byte[]", "buffer", buffer);
     }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPM2B_LABEL that = (TPM2B_LABEL)o;
+        return Arrays.equals(buffer, that.buffer);
+    }
+
+    @Override
+    public int hashCode() { return Arrays.hashCode(buffer); }
 }
 
 //<<<
@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -43,7 +43,7 @@ public class TPM2B_MAX_NV_BUFFER extends TpmStructure
      */
     public static TPM2B_MAX_NV_BUFFER fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPM2B_MAX_NV_BUFFER.class);
+        return new TpmBuffer(byteBuf).createObj(TPM2B_MAX_NV_BUFFER::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -58,7 +58,7 @@ public class TPM2B_MAX_NV_BUFFER extends TpmStructure
      */
     public static TPM2B_MAX_NV_BUFFER fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPM2B_MAX_NV_BUFFER.class);
+        return buf.createObj(TPM2B_MAX_NV_BUFFER::new);
     }
 
     @Override
@@ -75,6 +75,20 @@ public class TPM2B_MAX_NV_BUFFER extends TpmStructure
     {
         _p.add(d, "byte[]", "buffer", buffer);
     }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPM2B_MAX_NV_BUFFER that = (TPM2B_MAX_NV_BUFFER)o;
+        return Arrays.equals(buffer, that.buffer);
+    }
+
+    @Override
+    public int hashCode() { return Arrays.hashCode(buffer); }
 }
 
 //<<<
@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -37,7 +37,7 @@ public class TPM2B_NAME extends TpmStructure
      */
     public static TPM2B_NAME fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPM2B_NAME.class);
+        return new TpmBuffer(byteBuf).createObj(TPM2B_NAME::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -52,7 +52,7 @@ public class TPM2B_NAME extends TpmStructure
      */
     public static TPM2B_NAME fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPM2B_NAME.class);
+        return buf.createObj(TPM2B_NAME::new);
     }
 
     @Override
@@ -69,6 +69,20 @@ public class TPM2B_NAME extends TpmStructure
     {
         _p.add(d, "byte[]", "name", name);
     }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPM2B_NAME that = (TPM2B_NAME)o;
+        return Arrays.equals(name, that.name);
+    }
+
+    @Override
+    public int hashCode() { return Arrays.hashCode(name); }
 }
 
 //<<<
@@ -26,7 +26,7 @@ public class TPM2B_NONCE extends TPM2B_DIGEST
      */
     public static TPM2B_NONCE fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPM2B_NONCE.class);
+        return new TpmBuffer(byteBuf).createObj(TPM2B_NONCE::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -41,7 +41,7 @@ public class TPM2B_NONCE extends TPM2B_DIGEST
      */
     public static TPM2B_NONCE fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPM2B_NONCE.class);
+        return buf.createObj(TPM2B_NONCE::new);
     }
 
     @Override
@@ -30,7 +30,7 @@ public class TPM2B_OPERAND extends TPM2B_DIGEST
      */
     public static TPM2B_OPERAND fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPM2B_OPERAND.class);
+        return new TpmBuffer(byteBuf).createObj(TPM2B_OPERAND::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -45,7 +45,7 @@ public class TPM2B_OPERAND extends TPM2B_DIGEST
      */
     public static TPM2B_OPERAND fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPM2B_OPERAND.class);
+        return buf.createObj(TPM2B_OPERAND::new);
     }
 
     @Override
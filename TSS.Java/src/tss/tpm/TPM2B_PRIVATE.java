@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -39,7 +39,7 @@ public class TPM2B_PRIVATE extends TpmStructure
      */
     public static TPM2B_PRIVATE fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPM2B_PRIVATE.class);
+        return new TpmBuffer(byteBuf).createObj(TPM2B_PRIVATE::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -54,7 +54,7 @@ public class TPM2B_PRIVATE extends TpmStructure
      */
     public static TPM2B_PRIVATE fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPM2B_PRIVATE.class);
+        return buf.createObj(TPM2B_PRIVATE::new);
     }
 
     @Override
@@ -71,6 +71,20 @@ public class TPM2B_PRIVATE extends TpmStructure
     {
         _p.add(d, "byte[]", "buffer", buffer);
     }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPM2B_PRIVATE that = (TPM2B_PRIVATE)o;
+        return Arrays.equals(buffer, that.buffer);
+    }
+
+    @Override
+    public int hashCode() { return Arrays.hashCode(buffer); }
 }
 
 //<<<
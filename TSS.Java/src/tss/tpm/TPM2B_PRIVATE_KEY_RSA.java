@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -39,7 +39,7 @@ public class TPM2B_PRIVATE_KEY_RSA extends TpmStructure implements TPMU_SENSITIV
      */
     public static TPM2B_PRIVATE_KEY_RSA fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPM2B_PRIVATE_KEY_RSA.class);
+        return new TpmBuffer(byteBuf).createObj(TPM2B_PRIVATE_KEY_RSA::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -54,7 +54,7 @@ public class TPM2B_PRIVATE_KEY_RSA extends TpmStructure implements TPMU_SENSITIV
      */
     public static TPM2B_PRIVATE_KEY_RSA fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPM2B_PRIVATE_KEY_RSA.class);
+        return buf.createObj(TPM2B_PRIVATE_KEY_RSA::new);
     }
 
     @Override
@@ -71,6 +71,20 @@ public class TPM2B_PRIVATE_KEY_RSA extends TpmStructure implements TPMU_SENSITIV
     {
         _p.add(d, "byte[]", "buffer", buffer);
     }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPM2B_PRIVATE_KEY_RSA that = (TPM2B_PRIVATE_KEY_RSA)o;
+        return Arrays.equals(buffer, that.buffer);
+    }
+
+    @Override
+    public int hashCode() { return Arrays.hashCode(buffer); }
 }
 
 //<<<
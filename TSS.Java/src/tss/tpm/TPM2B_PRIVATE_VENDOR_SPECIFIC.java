@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -45,7 +45,7 @@ public class TPM2B_PRIVATE_VENDOR_SPECIFIC extends TpmStructure implements TPMU_
      */
     public static TPM2B_PRIVATE_VENDOR_SPECIFIC fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPM2B_PRIVATE_VENDOR_SPECIFIC.class);
+        return new TpmBuffer(byteBuf).createObj(TPM2B_PRIVATE_VENDOR_SPECIFIC::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -60,7 +60,7 @@ public class TPM2B_PRIVATE_VENDOR_SPECIFIC extends TpmStructure implements TPMU_
      */
     public static TPM2B_PRIVATE_VENDOR_SPECIFIC fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPM2B_PRIVATE_VENDOR_SPECIFIC.class);
+        return buf.createObj(TPM2B_PRIVATE_VENDOR_SPECIFIC::new);
     }
 
     @Override
@@ -77,6 +77,20 @@ public class TPM2B_PRIVATE_VENDOR_SPECIFIC extends TpmStructure implements TPMU_
     {
         _p.add(d, "byte[]", "buffer", buffer);
     }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPM2B_PRIVATE_VENDOR_SPECIFIC that = (TPM2B_PRIVATE_VENDOR_SPECIFIC)o;
+        return Arrays.equals(buffer, that.buffer);
+    }
+
+    @Override
+    public int hashCode() { return Arrays.hashCode(buffer); }
 }
 
 //<<<
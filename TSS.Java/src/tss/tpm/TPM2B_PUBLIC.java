@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -32,7 +32,7 @@ public class TPM2B_PUBLIC extends TpmStructure
 
     /** TpmMarshaller method */
     @Override
-    public void initFromTpm(TpmBuffer buf) { publicArea = buf.createSizedObj(TPMT_PUBLIC.class); }
+    public void initFromTpm(TpmBuffer buf) { publicArea = buf.createSizedObj(TPMT_PUBLIC::new); }
 
     /** @deprecated Use {@link #toBytes()} instead
      *  @return Wire (marshaled) representation of this object
@@ -45,7 +45,7 @@ public class TPM2B_PUBLIC extends TpmStructure
      */
     public static TPM2B_PUBLIC fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPM2B_PUBLIC.class);
+        return new TpmBuffer(byteBuf).createObj(TPM2B_PUBLIC::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -60,7 +60,7 @@ public class TPM2B_PUBLIC extends TpmStructure
      */
     public static TPM2B_PUBLIC fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPM2B_PUBLIC.class);
+        return buf.createObj(TPM2B_PUBLIC::new);
     }
 
     @Override
@@ -77,6 +77,20 @@ public class TPM2B_PUBLIC extends TpmStructure
     {
         _p.add(d, "TPMT_PUBLIC", "publicArea", publicArea);
     }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPM2B_PUBLIC that = (TPM2B_PUBLIC)o;
+        return Objects.equals(publicArea, that.publicArea);
+    }
+
+    @Override
+    public int hashCode() { return Objects.hashCode(publicArea); }
 }
 
 //<<<
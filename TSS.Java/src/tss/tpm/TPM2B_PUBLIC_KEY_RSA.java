@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -40,7 +40,7 @@ public class TPM2B_PUBLIC_KEY_RSA extends TpmStructure implements TPMU_PUBLIC_ID
      */
     public static TPM2B_PUBLIC_KEY_RSA fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPM2B_PUBLIC_KEY_RSA.class);
+        return new TpmBuffer(byteBuf).createObj(TPM2B_PUBLIC_KEY_RSA::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -55,7 +55,7 @@ public class TPM2B_PUBLIC_KEY_RSA extends TpmStructure implements TPMU_PUBLIC_ID
      */
     public static TPM2B_PUBLIC_KEY_RSA fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPM2B_PUBLIC_KEY_RSA.class);
+        return buf.createObj(TPM2B_PUBLIC_KEY_RSA::new);
     }
 
     @Override
@@ -72,6 +72,20 @@ public class TPM2B_PUBLIC_KEY_RSA extends TpmStructure implements TPMU_PUBLIC_ID
     {
         _p.add(d, "byte[]", "buffer", buffer);
     }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPM2B_PUBLIC_KEY_RSA that = (TPM2B_PUBLIC_KEY_RSA)o;
+        return Arrays.equals(buffer, that.buffer);
+    }
+
+    @Override
+    public int hashCode() { return Arrays.hashCode(buffer); }
 }
 
 //<<<
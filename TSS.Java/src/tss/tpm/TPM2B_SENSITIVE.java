@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -26,7 +26,7 @@ public class TPM2B_SENSITIVE extends TpmStructure
 
     /** TpmMarshaller method */
     @Override
-    public void initFromTpm(TpmBuffer buf) { sensitiveArea = buf.createSizedObj(TPMT_SENSITIVE.class); }
+    public void initFromTpm(TpmBuffer buf) { sensitiveArea = buf.createSizedObj(TPMT_SENSITIVE::new); }
 
     /** @deprecated Use {@link #toBytes()} instead
      *  @return Wire (marshaled) representation of this object
@@ -39,7 +39,7 @@ public class TPM2B_SENSITIVE extends TpmStructure
      */
     public static TPM2B_SENSITIVE fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPM2B_SENSITIVE.class);
+        return new TpmBuffer(byteBuf).createObj(TPM2B_SENSITIVE::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -54,7 +54,7 @@ public class TPM2B_SENSITIVE extends TpmStructure
      */
     public static TPM2B_SENSITIVE fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPM2B_SENSITIVE.class);
+        return buf.createObj(TPM2B_SENSITIVE::new);
     }
 
     @Override
@@ -71,6 +71,20 @@ public class TPM2B_SENSITIVE extends TpmStructure
     {
         _p.add(d, "TPMT_SENSITIVE", "sensitiveArea", sensitiveArea);
     }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPM2B_SENSITIVE that = (TPM2B_SENSITIVE)o;
+        return Objects.equals(sensitiveArea, that.sensitiveArea);
+    }
+
+    @Override
+    public int hashCode() { return Objects.hashCode(sensitiveArea); }
 }
 
 //<<<
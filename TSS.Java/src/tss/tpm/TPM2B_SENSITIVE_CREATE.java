@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -27,7 +27,7 @@ public class TPM2B_SENSITIVE_CREATE extends TpmStructure
 
     /** TpmMarshaller method */
     @Override
-    public void initFromTpm(TpmBuffer buf) { sensitive = buf.createSizedObj(TPMS_SENSITIVE_CREATE.class); }
+    public void initFromTpm(TpmBuffer buf) { sensitive = buf.createSizedObj(TPMS_SENSITIVE_CREATE::new); }
 
     /** @deprecated Use {@link #toBytes()} instead
      *  @return Wire (marshaled) representation of this object
@@ -40,7 +40,7 @@ public class TPM2B_SENSITIVE_CREATE extends TpmStructure
      */
     public static TPM2B_SENSITIVE_CREATE fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPM2B_SENSITIVE_CREATE.class);
+        return new TpmBuffer(byteBuf).createObj(TPM2B_SENSITIVE_CREATE::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -55,7 +55,7 @@ public class TPM2B_SENSITIVE_CREATE extends TpmStructure
      */
     public static TPM2B_SENSITIVE_CREATE fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPM2B_SENSITIVE_CREATE.class);
+        return buf.createObj(TPM2B_SENSITIVE_CREATE::new);
     }
 
     @Override
@@ -72,6 +72,20 @@ public class TPM2B_SENSITIVE_CREATE extends TpmStructure
     {
         _p.add(d, "TPMS_SENSITIVE_CREATE", "sensitive", sensitive);
     }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPM2B_SENSITIVE_CREATE that = (TPM2B_SENSITIVE_CREATE)o;
+        return Objects.equals(sensitive, that.sensitive);
+    }
+
+    @Override
+    public int hashCode() { return Objects.hashCode(sensitive); }
 }
 
 //<<<
@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -42,7 +42,7 @@ public class TPM2B_SENSITIVE_DATA extends TpmStructure implements TPMU_SENSITIVE
      */
     public static TPM2B_SENSITIVE_DATA fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPM2B_SENSITIVE_DATA.class);
+        return new TpmBuffer(byteBuf).createObj(TPM2B_SENSITIVE_DATA::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -57,7 +57,7 @@ public class TPM2B_SENSITIVE_DATA extends TpmStructure implements TPMU_SENSITIVE
      */
     public static TPM2B_SENSITIVE_DATA fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPM2B_SENSITIVE_DATA.class);
+        return buf.createObj(TPM2B_SENSITIVE_DATA::new);
     }
 
     @Override
@@ -74,6 +74,20 @@ public class TPM2B_SENSITIVE_DATA extends TpmStructure implements TPMU_SENSITIVE
     {
         _p.add(d, "byte[]", "buffer", buffer);
     }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPM2B_SENSITIVE_DATA that = (TPM2B_SENSITIVE_DATA)o;
+        return Arrays.equals(buffer, that.buffer);
+    }
+
+    @Override
+    public int hashCode() { return Arrays.hashCode(buffer); }
 }
 
 //<<<
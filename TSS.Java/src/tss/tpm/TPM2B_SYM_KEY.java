@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -40,7 +40,7 @@ public class TPM2B_SYM_KEY extends TpmStructure implements TPMU_SENSITIVE_COMPOS
      */
     public static TPM2B_SYM_KEY fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPM2B_SYM_KEY.class);
+        return new TpmBuffer(byteBuf).createObj(TPM2B_SYM_KEY::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -55,7 +55,7 @@ public class TPM2B_SYM_KEY extends TpmStructure implements TPMU_SENSITIVE_COMPOS
      */
     public static TPM2B_SYM_KEY fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPM2B_SYM_KEY.class);
+        return buf.createObj(TPM2B_SYM_KEY::new);
     }
 
     @Override
@@ -72,6 +72,20 @@ public class TPM2B_SYM_KEY extends TpmStructure implements TPMU_SENSITIVE_COMPOS
     {
         _p.add(d, "byte[]", "buffer", buffer);
     }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPM2B_SYM_KEY that = (TPM2B_SYM_KEY)o;
+        return Arrays.equals(buffer, that.buffer);
+    }
+
+    @Override
+    public int hashCode() { return Arrays.hashCode(buffer); }
 }
 
 //<<<
@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -37,7 +37,7 @@ public class TPM2B_TEMPLATE extends TpmStructure
      */
     public static TPM2B_TEMPLATE fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPM2B_TEMPLATE.class);
+        return new TpmBuffer(byteBuf).createObj(TPM2B_TEMPLATE::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -52,7 +52,7 @@ public class TPM2B_TEMPLATE extends TpmStructure
      */
     public static TPM2B_TEMPLATE fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPM2B_TEMPLATE.class);
+        return buf.createObj(TPM2B_TEMPLATE::new);
     }
 
     @Override
@@ -69,6 +69,20 @@ public class TPM2B_TEMPLATE extends TpmStructure
     {
         _p.add(d, "byte[]", "buffer", buffer);
     }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPM2B_TEMPLATE that = (TPM2B_TEMPLATE)o;
+        return Arrays.equals(buffer, that.buffer);
+    }
+
+    @Override
+    public int hashCode() { return Arrays.hashCode(buffer); }
 }
 
 //<<<
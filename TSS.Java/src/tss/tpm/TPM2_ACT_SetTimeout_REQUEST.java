@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -53,7 +53,7 @@ public class TPM2_ACT_SetTimeout_REQUEST extends ReqStructure
      */
     public static TPM2_ACT_SetTimeout_REQUEST fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPM2_ACT_SetTimeout_REQUEST.class);
+        return new TpmBuffer(byteBuf).createObj(TPM2_ACT_SetTimeout_REQUEST::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -68,7 +68,7 @@ public class TPM2_ACT_SetTimeout_REQUEST extends ReqStructure
      */
     public static TPM2_ACT_SetTimeout_REQUEST fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPM2_ACT_SetTimeout_REQUEST.class);
+        return buf.createObj(TPM2_ACT_SetTimeout_REQUEST::new);
     }
 
     @Override
@@ -87,6 +87,26 @@ public class TPM2_ACT_SetTimeout_REQUEST extends ReqStructure
         _p.add(d, "int", "startTimeout", startTimeout);
     }
 
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPM2_ACT_SetTimeout_REQUEST that = (TPM2_ACT_SetTimeout_REQUEST)o;
+        return Objects.equals(actHandle, that.actHandle)
+            && startTimeout == that.startTimeout;
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Objects.hashCode(actHandle);
+        _h = 31 * _h + startTimeout;
+        return _h;
+    }
+
     @Override
     public int numHandles() { return 1; }
 
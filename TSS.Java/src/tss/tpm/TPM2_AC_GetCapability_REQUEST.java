@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -64,7 +64,7 @@ public class TPM2_AC_GetCapability_REQUEST extends ReqStructure
      */
     public static TPM2_AC_GetCapability_REQUEST fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPM2_AC_GetCapability_REQUEST.class);
+        return new TpmBuffer(byteBuf).createObj(TPM2_AC_GetCapability_REQUEST::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -79,7 +79,7 @@ public class TPM2_AC_GetCapability_REQUEST extends ReqStructure
      */
     public static TPM2_AC_GetCapability_REQUEST fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPM2_AC_GetCapability_REQUEST.class);
+        return buf.createObj(TPM2_AC_GetCapability_REQUEST::new);
     }
 
     @Override
@@ -99,6 +99,28 @@ public class TPM2_AC_GetCapability_REQUEST extends ReqStructure
         _p.add(d, "int", "count", count);
     }
 
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPM2_AC_GetCapability_REQUEST that = (TPM2_AC_GetCapability_REQUEST)o;
+        return Objects.equals(ac, that.ac)
+            && Objects.equals(capability, that.capability)
+            && count == that.count;
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Objects.hashCode(ac);
+        _h = 31 * _h + Objects.hashCode(capability);
+        _h = 31 * _h + count;
+        return _h;
+    }
+
     @Override
     public int numHandles() { return 1; }
 
@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -76,7 +76,7 @@ public class TPM2_AC_Send_REQUEST extends ReqStructure
      */
     public static TPM2_AC_Send_REQUEST fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPM2_AC_Send_REQUEST.class);
+        return new TpmBuffer(byteBuf).createObj(TPM2_AC_Send_REQUEST::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -91,7 +91,7 @@ public class TPM2_AC_Send_REQUEST extends ReqStructure
      */
     public static TPM2_AC_Send_REQUEST fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPM2_AC_Send_REQUEST.class);
+        return buf.createObj(TPM2_AC_Send_REQUEST::new);
     }
 
     @Override
@@ -112,6 +112,30 @@ public class TPM2_AC_Send_REQUEST extends ReqStructure
         _p.add(d, "byte[]", "acDataIn", acDataIn);
     }
 
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPM2_AC_Send_REQUEST that = (TPM2_AC_Send_REQUEST)o;
+        return Objects.equals(sendObject, that.sendObject)
+            && Objects.equals(authHandle, that.authHandle)
+            && Objects.equals(ac, that.ac)
+            && Arrays.equals(acDataIn, that.acDataIn);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Objects.hashCode(sendObject);
+        _h = 31 * _h + Objects.hashCode(authHandle);
+        _h = 31 * _h + Objects.hashCode(ac);
+        _h = 31 * _h + Arrays.hashCode(acDataIn);
+        return _h;
+    }
+
     @Override
     public int numHandles() { return 3; }
 
@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -65,7 +65,7 @@ public class TPM2_ActivateCredential_REQUEST extends ReqStructure
     @Override
     public void initFromTpm(TpmBuffer buf)
     {
-        credentialBlob = buf.createSizedObj(TPMS_ID_OBJECT.class);
+        credentialBlob = buf.createSizedObj(TPMS_ID_OBJECT::new);
         secret = buf.readSizedByteBuf();
     }
 
@@ -80,7 +80,7 @@ public class TPM2_ActivateCredential_REQUEST extends ReqStructure
      */
     public static TPM2_ActivateCredential_REQUEST fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPM2_ActivateCredential_REQUEST.class);
+        return new TpmBuffer(byteBuf).createObj(TPM2_ActivateCredential_REQUEST::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -95,7 +95,7 @@ public class TPM2_ActivateCredential_REQUEST extends ReqStructure
      */
     public static TPM2_ActivateCredential_REQUEST fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPM2_ActivateCredential_REQUEST.class);
+        return buf.createObj(TPM2_ActivateCredential_REQUEST::new);
     }
 
     @Override
@@ -116,6 +116,30 @@ public class TPM2_ActivateCredential_REQUEST extends ReqStructure
         _p.add(d, "byte[]", "secret", secret);
     }
 
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPM2_ActivateCredential_REQUEST that = (TPM2_ActivateCredential_REQUEST)o;
+        return Objects.equals(activateHandle, that.activateHandle)
+            && Objects.equals(keyHandle, that.keyHandle)
+            && Objects.equals(credentialBlob, that.credentialBlob)
+            && Arrays.equals(secret, that.secret);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Objects.hashCode(activateHandle);
+        _h = 31 * _h + Objects.hashCode(keyHandle);
+        _h = 31 * _h + Objects.hashCode(credentialBlob);
+        _h = 31 * _h + Arrays.hashCode(secret);
+        return _h;
+    }
+
     @Override
     public int numHandles() { return 2; }
 
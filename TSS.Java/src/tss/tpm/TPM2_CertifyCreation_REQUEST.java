@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -91,7 +91,7 @@ public class TPM2_CertifyCreation_REQUEST extends ReqStructure
         qualifyingData = buf.readSizedByteBuf();
         creationHash = buf.readSizedByteBuf();
         TPM_ALG_ID inSchemeScheme = TPM_ALG_ID.fromTpm(buf);
-        inScheme = UnionFactory.create("TPMU_SIG_SCHEME", inSchemeScheme);
+        inScheme = UnionFactory.createTPMU_SIG_SCHEME(inSchemeScheme);
         inScheme.initFromTpm(buf);
         creationTicket = TPMT_TK_CREATION.fromTpm(buf);
     }
@@ -107,7 +107,7 @@ public class TPM2_CertifyCreation_REQUEST extends ReqStructure
      */
     public static TPM2_CertifyCreation_REQUEST fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPM2_CertifyCreation_REQUEST.class);
+        return new TpmBuffer(byteBuf).createObj(TPM2_CertifyCreation_REQUEST::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -122,7 +122,7 @@ public class TPM2_CertifyCreation_REQUEST extends ReqStructure
      */
     public static TPM2_CertifyCreation_REQUEST fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPM2_CertifyCreation_REQUEST.class);
+        return buf.createObj(TPM2_CertifyCreation_REQUEST::new);
     }
 
     @Override
@@ -145,6 +145,34 @@ public class TPM2_CertifyCreation_REQUEST extends ReqStructure
         _p.add(d, "TPMT_TK_CREATION", "creationTicket", creationTicket);
     }
 
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPM2_CertifyCreation_REQUEST that = (TPM2_CertifyCreation_REQUEST)o;
+        return Objects.equals(signHandle, that.signHandle)
+            && Objects.equals(objectHandle, that.objectHandle)
+            && Arrays.equals(qualifyingData, that.qualifyingData)
+            && Arrays.equals(creationHash, that.creationHash)
+            && Objects.equals(inScheme, that.inScheme)
+            && Objects.equals(creationTicket, that.creationTicket);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Objects.hashCode(signHandle);
+        _h = 31 * _h + Objects.hashCode(objectHandle);
+        _h = 31 * _h + Arrays.hashCode(qualifyingData);
+        _h = 31 * _h + Arrays.hashCode(creationHash);
+        _h = 31 * _h + Objects.hashCode(inScheme);
+        _h = 31 * _h + Objects.hashCode(creationTicket);
+        return _h;
+    }
+
     @Override
     public int numHandles() { return 2; }
 
@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -88,7 +88,7 @@ public class TPM2_CertifyX509_REQUEST extends ReqStructure
     {
         reserved = buf.readSizedByteBuf();
         TPM_ALG_ID inSchemeScheme = TPM_ALG_ID.fromTpm(buf);
-        inScheme = UnionFactory.create("TPMU_SIG_SCHEME", inSchemeScheme);
+        inScheme = UnionFactory.createTPMU_SIG_SCHEME(inSchemeScheme);
         inScheme.initFromTpm(buf);
         partialCertificate = buf.readSizedByteBuf();
     }
@@ -104,7 +104,7 @@ public class TPM2_CertifyX509_REQUEST extends ReqStructure
      */
     public static TPM2_CertifyX509_REQUEST fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPM2_CertifyX509_REQUEST.class);
+        return new TpmBuffer(byteBuf).createObj(TPM2_CertifyX509_REQUEST::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -119,7 +119,7 @@ public class TPM2_CertifyX509_REQUEST extends ReqStructure
      */
     public static TPM2_CertifyX509_REQUEST fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPM2_CertifyX509_REQUEST.class);
+        return buf.createObj(TPM2_CertifyX509_REQUEST::new);
     }
 
     @Override
@@ -141,6 +141,32 @@ public class TPM2_CertifyX509_REQUEST extends ReqStructure
         _p.add(d, "byte[]", "partialCertificate", partialCertificate);
     }
 
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPM2_CertifyX509_REQUEST that = (TPM2_CertifyX509_REQUEST)o;
+        return Objects.equals(objectHandle, that.objectHandle)
+            && Objects.equals(signHandle, that.signHandle)
+            && Arrays.equals(reserved, that.reserved)
+            && Objects.equals(inScheme, that.inScheme)
+            && Arrays.equals(partialCertificate, that.partialCertificate);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Objects.hashCode(objectHandle);
+        _h = 31 * _h + Objects.hashCode(signHandle);
+        _h = 31 * _h + Arrays.hashCode(reserved);
+        _h = 31 * _h + Objects.hashCode(inScheme);
+        _h = 31 * _h + Arrays.hashCode(partialCertificate);
+        return _h;
+    }
+
     @Override
     public int numHandles() { return 2; }
 
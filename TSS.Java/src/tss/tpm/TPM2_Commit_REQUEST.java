@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -59,7 +59,7 @@ public class TPM2_Commit_REQUEST extends ReqStructure
     @Override
     public void initFromTpm(TpmBuffer buf)
     {
-        P1 = buf.createSizedObj(TPMS_ECC_POINT.class);
+        P1 = buf.createSizedObj(TPMS_ECC_POINT::new);
         s2 = buf.readSizedByteBuf();
         y2 = buf.readSizedByteBuf();
     }
@@ -75,7 +75,7 @@ public class TPM2_Commit_REQUEST extends ReqStructure
      */
     public static TPM2_Commit_REQUEST fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPM2_Commit_REQUEST.class);
+        return new TpmBuffer(byteBuf).createObj(TPM2_Commit_REQUEST::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -90,7 +90,7 @@ public class TPM2_Commit_REQUEST extends ReqStructure
      */
     public static TPM2_Commit_REQUEST fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPM2_Commit_REQUEST.class);
+        return buf.createObj(TPM2_Commit_REQUEST::new);
     }
 
     @Override
@@ -111,6 +111,30 @@ public class TPM2_Commit_REQUEST extends ReqStructure
         _p.add(d, "byte[]", "y2", y2);
     }
 
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPM2_Commit_REQUEST that = (TPM2_Commit_REQUEST)o;
+        return Objects.equals(signHandle, that.signHandle)
+            && Objects.equals(P1, that.P1)
+            && Arrays.equals(s2, that.s2)
+            && Arrays.equals(y2, that.y2);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Objects.hashCode(signHandle);
+        _h = 31 * _h + Objects.hashCode(P1);
+        _h = 31 * _h + Arrays.hashCode(s2);
+        _h = 31 * _h + Arrays.hashCode(y2);
+        return _h;
+    }
+
     @Override
     public int numHandles() { return 1; }
 
@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -56,7 +56,7 @@ public class TPM2_CreateLoaded_REQUEST extends ReqStructure
     @Override
     public void initFromTpm(TpmBuffer buf)
     {
-        inSensitive = buf.createSizedObj(TPMS_SENSITIVE_CREATE.class);
+        inSensitive = buf.createSizedObj(TPMS_SENSITIVE_CREATE::new);
         inPublic = buf.readSizedByteBuf();
     }
 
@@ -71,7 +71,7 @@ public class TPM2_CreateLoaded_REQUEST extends ReqStructure
      */
     public static TPM2_CreateLoaded_REQUEST fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPM2_CreateLoaded_REQUEST.class);
+        return new TpmBuffer(byteBuf).createObj(TPM2_CreateLoaded_REQUEST::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -86,7 +86,7 @@ public class TPM2_CreateLoaded_REQUEST extends ReqStructure
      */
     public static TPM2_CreateLoaded_REQUEST fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPM2_CreateLoaded_REQUEST.class);
+        return buf.createObj(TPM2_CreateLoaded_REQUEST::new);
     }
 
     @Override
@@ -106,6 +106,28 @@ public class TPM2_CreateLoaded_REQUEST extends ReqStructure
         _p.add(d, "byte[]", "inPublic", inPublic);
     }
 
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPM2_CreateLoaded_REQUEST that = (TPM2_CreateLoaded_REQUEST)o;
+        return Objects.equals(parentHandle, that.parentHandle)
+            && Objects.equals(inSensitive, that.inSensitive)
+            && Arrays.equals(inPublic, that.inPublic);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Objects.hashCode(parentHandle);
+        _h = 31 * _h + Objects.hashCode(inSensitive);
+        _h = 31 * _h + Arrays.hashCode(inPublic);
+        return _h;
+    }
+
     @Override
     public int numHandles() { return 1; }
 
@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -70,10 +70,10 @@ public class TPM2_CreatePrimary_REQUEST extends ReqStructure
     @Override
     public void initFromTpm(TpmBuffer buf)
     {
-        inSensitive = buf.createSizedObj(TPMS_SENSITIVE_CREATE.class);
-        inPublic = buf.createSizedObj(TPMT_PUBLIC.class);
+        inSensitive = buf.createSizedObj(TPMS_SENSITIVE_CREATE::new);
+        inPublic = buf.createSizedObj(TPMT_PUBLIC::new);
         outsideInfo = buf.readSizedByteBuf();
-        creationPCR = buf.readObjArr(TPMS_PCR_SELECTION.class);
+        creationPCR = buf.readObjArr(TPMS_PCR_SELECTION::fromTpm, TPMS_PCR_SELECTION[]::new);
     }
 
     /** @deprecated Use {@link #toBytes()} instead
@@ -87,7 +87,7 @@ public class TPM2_CreatePrimary_REQUEST extends ReqStructure
      */
     public static TPM2_CreatePrimary_REQUEST fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPM2_CreatePrimary_REQUEST.class);
+        return new TpmBuffer(byteBuf).createObj(TPM2_CreatePrimary_REQUEST::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -102,7 +102,7 @@ public class TPM2_CreatePrimary_REQUEST extends ReqStructure
      */
     public static TPM2_CreatePrimary_REQUEST fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPM2_CreatePrimary_REQUEST.class);
+        return buf.createObj(TPM2_CreatePrimary_REQUEST::new);
     }
 
     @Override
@@ -124,6 +124,32 @@ public class TPM2_CreatePrimary_REQUEST extends ReqStructure
         _p.add(d, "TPMS_PCR_SELECTION[]", "creationPCR", creationPCR);
     }
 
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPM2_CreatePrimary_REQUEST that = (TPM2_CreatePrimary_REQUEST)o;
+        return Objects.equals(primaryHandle, that.primaryHandle)
+            && Objects.equals(inSensitive, that.inSensitive)
+            && Objects.equals(inPublic, that.inPublic)
+            && Arrays.equals(outsideInfo, that.outsideInfo)
+            && Arrays.equals(creationPCR, that.creationPCR);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Objects.hashCode(primaryHandle);
+        _h = 31 * _h + Objects.hashCode(inSensitive);
+        _h = 31 * _h + Objects.hashCode(inPublic);
+        _h = 31 * _h + Arrays.hashCode(outsideInfo);
+        _h = 31 * _h + Arrays.hashCode(creationPCR);
+        return _h;
+    }
+
     @Override
     public int numHandles() { return 1; }
 
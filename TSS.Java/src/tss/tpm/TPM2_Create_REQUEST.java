@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -72,10 +72,10 @@ public class TPM2_Create_REQUEST extends ReqStructure
     @Override
     public void initFromTpm(TpmBuffer buf)
     {
-        inSensitive = buf.createSizedObj(TPMS_SENSITIVE_CREATE.class);
-        inPublic = buf.createSizedObj(TPMT_PUBLIC.class);
+        inSensitive = buf.createSizedObj(TPMS_SENSITIVE_CREATE::new);
+        inPublic = buf.createSizedObj(TPMT_PUBLIC::new);
         outsideInfo = buf.readSizedByteBuf();
-        creationPCR = buf.readObjArr(TPMS_PCR_SELECTION.class);
+        creationPCR = buf.readObjArr(TPMS_PCR_SELECTION::fromTpm, TPMS_PCR_SELECTION[]::new);
     }
 
     /** @deprecated Use {@link #toBytes()} instead
@@ -89,7 +89,7 @@ public class TPM2_Create_REQUEST extends ReqStructure
      */
     public static TPM2_Create_REQUEST fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPM2_Create_REQUEST.class);
+        return new TpmBuffer(byteBuf).createObj(TPM2_Create_REQUEST::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -104,7 +104,7 @@ public class TPM2_Create_REQUEST extends ReqStructure
      */
     public static TPM2_Create_REQUEST fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPM2_Create_REQUEST.class);
+        return buf.createObj(TPM2_Create_REQUEST::new);
     }
 
     @Override
@@ -126,6 +126,32 @@ public class TPM2_Create_REQUEST extends ReqStructure
         _p.add(d, "TPMS_PCR_SELECTION[]", "creationPCR", creationPCR);
     }
 
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPM2_Create_REQUEST that = (TPM2_Create_REQUEST)o;
+        return Objects.equals(parentHandle, that.parentHandle)
+            && Objects.equals(inSensitive, that.inSensitive)
+            && Objects.equals(inPublic, that.inPublic)
+            && Arrays.equals(outsideInfo, that.outsideInfo)
+            && Arrays.equals(creationPCR, that.creationPCR);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Objects.hashCode(parentHandle);
+        _h = 31 * _h + Objects.hashCode(inSensitive);
+        _h = 31 * _h + Objects.hashCode(inPublic);
+        _h = 31 * _h + Arrays.hashCode(outsideInfo);
+        _h = 31 * _h + Arrays.hashCode(creationPCR);
+        return _h;
+    }
+
     @Override
     public int numHandles() { return 1; }
 
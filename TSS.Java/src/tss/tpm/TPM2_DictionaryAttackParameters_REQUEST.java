@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -79,7 +79,7 @@ public class TPM2_DictionaryAttackParameters_REQUEST extends ReqStructure
      */
     public static TPM2_DictionaryAttackParameters_REQUEST fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPM2_DictionaryAttackParameters_REQUEST.class);
+        return new TpmBuffer(byteBuf).createObj(TPM2_DictionaryAttackParameters_REQUEST::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -94,7 +94,7 @@ public class TPM2_DictionaryAttackParameters_REQUEST extends ReqStructure
      */
     public static TPM2_DictionaryAttackParameters_REQUEST fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPM2_DictionaryAttackParameters_REQUEST.class);
+        return buf.createObj(TPM2_DictionaryAttackParameters_REQUEST::new);
     }
 
     @Override
@@ -115,6 +115,30 @@ public class TPM2_DictionaryAttackParameters_REQUEST extends ReqStructure
         _p.add(d, "int", "lockoutRecovery", lockoutRecovery);
     }
 
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPM2_DictionaryAttackParameters_REQUEST that = (TPM2_DictionaryAttackParameters_REQUEST)o;
+        return Objects.equals(lockHandle, that.lockHandle)
+            && newMaxTries == that.newMaxTries
+            && newRecoveryTime == that.newRecoveryTime
+            && lockoutRecovery == that.lockoutRecovery;
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Objects.hashCode(lockHandle);
+        _h = 31 * _h + newMaxTries;
+        _h = 31 * _h + newRecoveryTime;
+        _h = 31 * _h + lockoutRecovery;
+        return _h;
+    }
+
     @Override
     public int numHandles() { return 1; }
 
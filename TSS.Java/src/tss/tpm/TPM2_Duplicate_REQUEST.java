@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -87,7 +87,7 @@ public class TPM2_Duplicate_REQUEST extends ReqStructure
      */
     public static TPM2_Duplicate_REQUEST fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPM2_Duplicate_REQUEST.class);
+        return new TpmBuffer(byteBuf).createObj(TPM2_Duplicate_REQUEST::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -102,7 +102,7 @@ public class TPM2_Duplicate_REQUEST extends ReqStructure
      */
     public static TPM2_Duplicate_REQUEST fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPM2_Duplicate_REQUEST.class);
+        return buf.createObj(TPM2_Duplicate_REQUEST::new);
     }
 
     @Override
@@ -123,6 +123,30 @@ public class TPM2_Duplicate_REQUEST extends ReqStructure
         _p.add(d, "TPMT_SYM_DEF_OBJECT", "symmetricAlg", symmetricAlg);
     }
 
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPM2_Duplicate_REQUEST that = (TPM2_Duplicate_REQUEST)o;
+        return Objects.equals(objectHandle, that.objectHandle)
+            && Objects.equals(newParentHandle, that.newParentHandle)
+            && Arrays.equals(encryptionKeyIn, that.encryptionKeyIn)
+            && Objects.equals(symmetricAlg, that.symmetricAlg);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Objects.hashCode(objectHandle);
+        _h = 31 * _h + Objects.hashCode(newParentHandle);
+        _h = 31 * _h + Arrays.hashCode(encryptionKeyIn);
+        _h = 31 * _h + Objects.hashCode(symmetricAlg);
+        return _h;
+    }
+
     @Override
     public int numHandles() { return 2; }
 
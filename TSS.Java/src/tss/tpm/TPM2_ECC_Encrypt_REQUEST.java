@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -58,7 +58,7 @@ public class TPM2_ECC_Encrypt_REQUEST extends ReqStructure
     {
         plainText = buf.readSizedByteBuf();
         TPM_ALG_ID inSchemeScheme = TPM_ALG_ID.fromTpm(buf);
-        inScheme = UnionFactory.create("TPMU_KDF_SCHEME", inSchemeScheme);
+        inScheme = UnionFactory.createTPMU_KDF_SCHEME(inSchemeScheme);
         inScheme.initFromTpm(buf);
     }
 
@@ -73,7 +73,7 @@ public class TPM2_ECC_Encrypt_REQUEST extends ReqStructure
      */
     public static TPM2_ECC_Encrypt_REQUEST fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPM2_ECC_Encrypt_REQUEST.class);
+        return new TpmBuffer(byteBuf).createObj(TPM2_ECC_Encrypt_REQUEST::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -88,7 +88,7 @@ public class TPM2_ECC_Encrypt_REQUEST extends ReqStructure
      */
     public static TPM2_ECC_Encrypt_REQUEST fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPM2_ECC_Encrypt_REQUEST.class);
+        return buf.createObj(TPM2_ECC_Encrypt_REQUEST::new);
     }
 
     @Override
@@ -108,6 +108,28 @@ public class TPM2_ECC_Encrypt_REQUEST extends ReqStructure
         _p.add(d, "TPMU_KDF_SCHEME", "inScheme", inScheme);
     }
 
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPM2_ECC_Encrypt_REQUEST that = (TPM2_ECC_Encrypt_REQUEST)o;
+        return Objects.equals(keyHandle, that.keyHandle)
+            && Arrays.equals(plainText, that.plainText)
+            && Objects.equals(inScheme, that.inScheme);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Objects.hashCode(keyHandle);
+        _h = 31 * _h + Arrays.hashCode(plainText);
+        _h = 31 * _h + Objects.hashCode(inScheme);
+        return _h;
+    }
+
     @Override
     public int numHandles() { return 1; }
 
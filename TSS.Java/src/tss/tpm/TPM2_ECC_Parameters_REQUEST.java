@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -37,7 +37,7 @@ public class TPM2_ECC_Parameters_REQUEST extends ReqStructure
      */
     public static TPM2_ECC_Parameters_REQUEST fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPM2_ECC_Parameters_REQUEST.class);
+        return new TpmBuffer(byteBuf).createObj(TPM2_ECC_Parameters_REQUEST::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -52,7 +52,7 @@ public class TPM2_ECC_Parameters_REQUEST extends ReqStructure
      */
     public static TPM2_ECC_Parameters_REQUEST fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPM2_ECC_Parameters_REQUEST.class);
+        return buf.createObj(TPM2_ECC_Parameters_REQUEST::new);
     }
 
     @Override
@@ -69,6 +69,20 @@ public class TPM2_ECC_Parameters_REQUEST extends ReqStructure
     {
         _p.add(d, "TPM_ECC_CURVE", "curveID", curveID);
     }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPM2_ECC_Parameters_REQUEST that = (TPM2_ECC_Parameters_REQUEST)o;
+        return Objects.equals(curveID, that.curveID);
+    }
+
+    @Override
+    public int hashCode() { return Objects.hashCode(curveID); }
 }
 
 //<<<
@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -87,7 +87,7 @@ public class TPM2_EncryptDecrypt_REQUEST extends ReqStructure
      */
     public static TPM2_EncryptDecrypt_REQUEST fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPM2_EncryptDecrypt_REQUEST.class);
+        return new TpmBuffer(byteBuf).createObj(TPM2_EncryptDecrypt_REQUEST::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -102,7 +102,7 @@ public class TPM2_EncryptDecrypt_REQUEST extends ReqStructure
      */
     public static TPM2_EncryptDecrypt_REQUEST fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPM2_EncryptDecrypt_REQUEST.class);
+        return buf.createObj(TPM2_EncryptDecrypt_REQUEST::new);
     }
 
     @Override
@@ -124,6 +124,32 @@ public class TPM2_EncryptDecrypt_REQUEST extends ReqStructure
         _p.add(d, "byte[]", "inData", inData);
     }
 
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPM2_EncryptDecrypt_REQUEST that = (TPM2_EncryptDecrypt_REQUEST)o;
+        return Objects.equals(keyHandle, that.keyHandle)
+            && decrypt == that.decrypt
+            && Objects.equals(mode, that.mode)
+            && Arrays.equals(ivIn, that.ivIn)
+            && Arrays.equals(inData, that.inData);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Objects.hashCode(keyHandle);
+        _h = 31 * _h + decrypt;
+        _h = 31 * _h + Objects.hashCode(mode);
+        _h = 31 * _h + Arrays.hashCode(ivIn);
+        _h = 31 * _h + Arrays.hashCode(inData);
+        return _h;
+    }
+
     @Override
     public int numHandles() { return 1; }
 
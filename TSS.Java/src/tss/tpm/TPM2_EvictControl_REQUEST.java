@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -73,7 +73,7 @@ public class TPM2_EvictControl_REQUEST extends ReqStructure
      */
     public static TPM2_EvictControl_REQUEST fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPM2_EvictControl_REQUEST.class);
+        return new TpmBuffer(byteBuf).createObj(TPM2_EvictControl_REQUEST::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -88,7 +88,7 @@ public class TPM2_EvictControl_REQUEST extends ReqStructure
      */
     public static TPM2_EvictControl_REQUEST fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPM2_EvictControl_REQUEST.class);
+        return buf.createObj(TPM2_EvictControl_REQUEST::new);
     }
 
     @Override
@@ -108,6 +108,28 @@ public class TPM2_EvictControl_REQUEST extends ReqStructure
         _p.add(d, "TPM_HANDLE", "persistentHandle", persistentHandle);
     }
 
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPM2_EvictControl_REQUEST that = (TPM2_EvictControl_REQUEST)o;
+        return Objects.equals(auth, that.auth)
+            && Objects.equals(objectHandle, that.objectHandle)
+            && Objects.equals(persistentHandle, that.persistentHandle);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Objects.hashCode(auth);
+        _h = 31 * _h + Objects.hashCode(objectHandle);
+        _h = 31 * _h + Objects.hashCode(persistentHandle);
+        return _h;
+    }
+
     @Override
     public int numHandles() { return 2; }
 
@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -41,7 +41,7 @@ public class TPM2_FieldUpgradeData_REQUEST extends ReqStructure
      */
     public static TPM2_FieldUpgradeData_REQUEST fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPM2_FieldUpgradeData_REQUEST.class);
+        return new TpmBuffer(byteBuf).createObj(TPM2_FieldUpgradeData_REQUEST::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -56,7 +56,7 @@ public class TPM2_FieldUpgradeData_REQUEST extends ReqStructure
      */
     public static TPM2_FieldUpgradeData_REQUEST fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPM2_FieldUpgradeData_REQUEST.class);
+        return buf.createObj(TPM2_FieldUpgradeData_REQUEST::new);
     }
 
     @Override
@@ -74,6 +74,20 @@ public class TPM2_FieldUpgradeData_REQUEST extends ReqStructure
         _p.add(d, "byte[]", "fuData", fuData);
     }
 
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPM2_FieldUpgradeData_REQUEST that = (TPM2_FieldUpgradeData_REQUEST)o;
+        return Arrays.equals(fuData, that.fuData);
+    }
+
+    @Override
+    public int hashCode() { return Arrays.hashCode(fuData); }
+
     @Override
     public SessEncInfo sessEncInfo() { return new SessEncInfo(2, 1); }
 }
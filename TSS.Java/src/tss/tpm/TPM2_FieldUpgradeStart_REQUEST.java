@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -79,7 +79,7 @@ public class TPM2_FieldUpgradeStart_REQUEST extends ReqStructure
     {
         fuDigest = buf.readSizedByteBuf();
         TPM_ALG_ID manifestSignatureSigAlg = TPM_ALG_ID.fromTpm(buf);
-        manifestSignature = UnionFactory.create("TPMU_SIGNATURE", manifestSignatureSigAlg);
+        manifestSignature = UnionFactory.createTPMU_SIGNATURE(manifestSignatureSigAlg);
         manifestSignature.initFromTpm(buf);
     }
 
@@ -94,7 +94,7 @@ public class TPM2_FieldUpgradeStart_REQUEST extends ReqStructure
      */
     public static TPM2_FieldUpgradeStart_REQUEST fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPM2_FieldUpgradeStart_REQUEST.class);
+        return new TpmBuffer(byteBuf).createObj(TPM2_FieldUpgradeStart_REQUEST::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -109,7 +109,7 @@ public class TPM2_FieldUpgradeStart_REQUEST extends ReqStructure
      */
     public static TPM2_FieldUpgradeStart_REQUEST fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPM2_FieldUpgradeStart_REQUEST.class);
+        return buf.createObj(TPM2_FieldUpgradeStart_REQUEST::new);
     }
 
     @Override
@@ -130,6 +130,30 @@ public class TPM2_FieldUpgradeStart_REQUEST extends ReqStructure
         _p.add(d, "TPMU_SIGNATURE", "manifestSignature", manifestSignature);
     }
 
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPM2_FieldUpgradeStart_REQUEST that = (TPM2_FieldUpgradeStart_REQUEST)o;
+        return Objects.equals(authorization, that.authorization)
+            && Objects.equals(keyHandle, that.keyHandle)
+            && Arrays.equals(fuDigest, that.fuDigest)
+            && Objects.equals(manifestSignature, that.manifestSignature);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Objects.hashCode(authorization);
+        _h = 31 * _h + Objects.hashCode(keyHandle);
+        _h = 31 * _h + Arrays.hashCode(fuDigest);
+        _h = 31 * _h + Objects.hashCode(manifestSignature);
+        return _h;
+    }
+
     @Override
     public int numHandles() { return 2; }
 
@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -41,7 +41,7 @@ public class TPM2_FirmwareRead_REQUEST extends ReqStructure
      */
     public static TPM2_FirmwareRead_REQUEST fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPM2_FirmwareRead_REQUEST.class);
+        return new TpmBuffer(byteBuf).createObj(TPM2_FirmwareRead_REQUEST::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -56,7 +56,7 @@ public class TPM2_FirmwareRead_REQUEST extends ReqStructure
      */
     public static TPM2_FirmwareRead_REQUEST fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPM2_FirmwareRead_REQUEST.class);
+        return buf.createObj(TPM2_FirmwareRead_REQUEST::new);
     }
 
     @Override
@@ -73,6 +73,20 @@ public class TPM2_FirmwareRead_REQUEST extends ReqStructure
     {
         _p.add(d, "int", "sequenceNumber", sequenceNumber);
     }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPM2_FirmwareRead_REQUEST that = (TPM2_FirmwareRead_REQUEST)o;
+        return sequenceNumber == that.sequenceNumber;
+    }
+
+    @Override
+    public int hashCode() { return sequenceNumber; }
 }
 
 //<<<
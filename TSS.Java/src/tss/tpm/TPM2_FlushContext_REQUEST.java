@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -43,7 +43,7 @@ public class TPM2_FlushContext_REQUEST extends ReqStructure
      */
     public static TPM2_FlushContext_REQUEST fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPM2_FlushContext_REQUEST.class);
+        return new TpmBuffer(byteBuf).createObj(TPM2_FlushContext_REQUEST::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -58,7 +58,7 @@ public class TPM2_FlushContext_REQUEST extends ReqStructure
      */
     public static TPM2_FlushContext_REQUEST fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPM2_FlushContext_REQUEST.class);
+        return buf.createObj(TPM2_FlushContext_REQUEST::new);
     }
 
     @Override
@@ -75,6 +75,20 @@ public class TPM2_FlushContext_REQUEST extends ReqStructure
     {
         _p.add(d, "TPM_HANDLE", "flushHandle", flushHandle);
     }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPM2_FlushContext_REQUEST that = (TPM2_FlushContext_REQUEST)o;
+        return Objects.equals(flushHandle, that.flushHandle);
+    }
+
+    @Override
+    public int hashCode() { return Objects.hashCode(flushHandle); }
 }
 
 //<<<
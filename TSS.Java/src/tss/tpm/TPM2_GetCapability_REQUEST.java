@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -61,7 +61,7 @@ public class TPM2_GetCapability_REQUEST extends ReqStructure
      */
     public static TPM2_GetCapability_REQUEST fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPM2_GetCapability_REQUEST.class);
+        return new TpmBuffer(byteBuf).createObj(TPM2_GetCapability_REQUEST::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -76,7 +76,7 @@ public class TPM2_GetCapability_REQUEST extends ReqStructure
      */
     public static TPM2_GetCapability_REQUEST fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPM2_GetCapability_REQUEST.class);
+        return buf.createObj(TPM2_GetCapability_REQUEST::new);
     }
 
     @Override
@@ -95,6 +95,28 @@ public class TPM2_GetCapability_REQUEST extends ReqStructure
         _p.add(d, "int", "property", property);
         _p.add(d, "int", "propertyCount", propertyCount);
     }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPM2_GetCapability_REQUEST that = (TPM2_GetCapability_REQUEST)o;
+        return Objects.equals(capability, that.capability)
+            && property == that.property
+            && propertyCount == that.propertyCount;
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Objects.hashCode(capability);
+        _h = 31 * _h + property;
+        _h = 31 * _h + propertyCount;
+        return _h;
+    }
 }
 
 //<<<
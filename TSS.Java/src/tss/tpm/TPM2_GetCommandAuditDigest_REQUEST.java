@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -79,7 +79,7 @@ public class TPM2_GetCommandAuditDigest_REQUEST extends ReqStructure
     {
         qualifyingData = buf.readSizedByteBuf();
         TPM_ALG_ID inSchemeScheme = TPM_ALG_ID.fromTpm(buf);
-        inScheme = UnionFactory.create("TPMU_SIG_SCHEME", inSchemeScheme);
+        inScheme = UnionFactory.createTPMU_SIG_SCHEME(inSchemeScheme);
         inScheme.initFromTpm(buf);
     }
 
@@ -94,7 +94,7 @@ public class TPM2_GetCommandAuditDigest_REQUEST extends ReqStructure
      */
     public static TPM2_GetCommandAuditDigest_REQUEST fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPM2_GetCommandAuditDigest_REQUEST.class);
+        return new TpmBuffer(byteBuf).createObj(TPM2_GetCommandAuditDigest_REQUEST::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -109,7 +109,7 @@ public class TPM2_GetCommandAuditDigest_REQUEST extends ReqStructure
      */
     public static TPM2_GetCommandAuditDigest_REQUEST fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPM2_GetCommandAuditDigest_REQUEST.class);
+        return buf.createObj(TPM2_GetCommandAuditDigest_REQUEST::new);
     }
 
     @Override
@@ -130,6 +130,30 @@ public class TPM2_GetCommandAuditDigest_REQUEST extends ReqStructure
         _p.add(d, "TPMU_SIG_SCHEME", "inScheme", inScheme);
     }
 
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPM2_GetCommandAuditDigest_REQUEST that = (TPM2_GetCommandAuditDigest_REQUEST)o;
+        return Objects.equals(privacyHandle, that.privacyHandle)
+            && Objects.equals(signHandle, that.signHandle)
+            && Arrays.equals(qualifyingData, that.qualifyingData)
+            && Objects.equals(inScheme, that.inScheme);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Objects.hashCode(privacyHandle);
+        _h = 31 * _h + Objects.hashCode(signHandle);
+        _h = 31 * _h + Arrays.hashCode(qualifyingData);
+        _h = 31 * _h + Objects.hashCode(inScheme);
+        return _h;
+    }
+
     @Override
     public int numHandles() { return 2; }
 
@@ -25,7 +25,7 @@ public class TPM2_GetTestResult_REQUEST extends ReqStructure
      */
     public static TPM2_GetTestResult_REQUEST fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPM2_GetTestResult_REQUEST.class);
+        return new TpmBuffer(byteBuf).createObj(TPM2_GetTestResult_REQUEST::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -40,7 +40,7 @@ public class TPM2_GetTestResult_REQUEST extends ReqStructure
      */
     public static TPM2_GetTestResult_REQUEST fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPM2_GetTestResult_REQUEST.class);
+        return buf.createObj(TPM2_GetTestResult_REQUEST::new);
     }
 
     @Override
@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -61,7 +61,7 @@ public class TPM2_HashSequenceStart_REQUEST extends ReqStructure
      */
     public static TPM2_HashSequenceStart_REQUEST fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPM2_HashSequenceStart_REQUEST.class);
+        return new TpmBuffer(byteBuf).createObj(TPM2_HashSequenceStart_REQUEST::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -76,7 +76,7 @@ public class TPM2_HashSequenceStart_REQUEST extends ReqStructure
      */
     public static TPM2_HashSequenceStart_REQUEST fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPM2_HashSequenceStart_REQUEST.class);
+        return buf.createObj(TPM2_HashSequenceStart_REQUEST::new);
     }
 
     @Override
@@ -95,6 +95,26 @@ public class TPM2_HashSequenceStart_REQUEST extends ReqStructure
         _p.add(d, "TPM_ALG_ID", "hashAlg", hashAlg);
     }
 
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPM2_HashSequenceStart_REQUEST that = (TPM2_HashSequenceStart_REQUEST)o;
+        return Arrays.equals(auth, that.auth)
+            && Objects.equals(hashAlg, that.hashAlg);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Arrays.hashCode(auth);
+        _h = 31 * _h + Objects.hashCode(hashAlg);
+        return _h;
+    }
+
     @Override
     public SessEncInfo sessEncInfo() { return new SessEncInfo(2, 1); }
 }
@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -65,7 +65,7 @@ public class TPM2_Hash_REQUEST extends ReqStructure
      */
     public static TPM2_Hash_REQUEST fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPM2_Hash_REQUEST.class);
+        return new TpmBuffer(byteBuf).createObj(TPM2_Hash_REQUEST::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -80,7 +80,7 @@ public class TPM2_Hash_REQUEST extends ReqStructure
      */
     public static TPM2_Hash_REQUEST fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPM2_Hash_REQUEST.class);
+        return buf.createObj(TPM2_Hash_REQUEST::new);
     }
 
     @Override
@@ -100,6 +100,28 @@ public class TPM2_Hash_REQUEST extends ReqStructure
         _p.add(d, "TPM_HANDLE", "hierarchy", hierarchy);
     }
 
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPM2_Hash_REQUEST that = (TPM2_Hash_REQUEST)o;
+        return Arrays.equals(data, that.data)
+            && Objects.equals(hashAlg, that.hashAlg)
+            && Objects.equals(hierarchy, that.hierarchy);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Arrays.hashCode(data);
+        _h = 31 * _h + Objects.hashCode(hashAlg);
+        _h = 31 * _h + Objects.hashCode(hierarchy);
+        return _h;
+    }
+
     @Override
     public SessEncInfo sessEncInfo() { return new SessEncInfo(2, 1); }
 }
@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -74,7 +74,7 @@ public class TPM2_HierarchyControl_REQUEST extends ReqStructure
      */
     public static TPM2_HierarchyControl_REQUEST fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPM2_HierarchyControl_REQUEST.class);
+        return new TpmBuffer(byteBuf).createObj(TPM2_HierarchyControl_REQUEST::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -89,7 +89,7 @@ public class TPM2_HierarchyControl_REQUEST extends ReqStructure
      */
     public static TPM2_HierarchyControl_REQUEST fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPM2_HierarchyControl_REQUEST.class);
+        return buf.createObj(TPM2_HierarchyControl_REQUEST::new);
     }
 
     @Override
@@ -109,6 +109,28 @@ public class TPM2_HierarchyControl_REQUEST extends ReqStructure
         _p.add(d, "byte", "state", state);
     }
 
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPM2_HierarchyControl_REQUEST that = (TPM2_HierarchyControl_REQUEST)o;
+        return Objects.equals(authHandle, that.authHandle)
+            && Objects.equals(enable, that.enable)
+            && state == that.state;
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Objects.hashCode(authHandle);
+        _h = 31 * _h + Objects.hashCode(enable);
+        _h = 31 * _h + state;
+        return _h;
+    }
+
     @Override
     public int numHandles() { return 1; }
 
@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -94,7 +94,7 @@ public class TPM2_Import_REQUEST extends ReqStructure
     public void initFromTpm(TpmBuffer buf)
     {
         encryptionKey = buf.readSizedByteBuf();
-        objectPublic = buf.createSizedObj(TPMT_PUBLIC.class);
+        objectPublic = buf.createSizedObj(TPMT_PUBLIC::new);
         duplicate = TPM2B_PRIVATE.fromTpm(buf);
         inSymSeed = buf.readSizedByteBuf();
         symmetricAlg = TPMT_SYM_DEF_OBJECT.fromTpm(buf);
@@ -111,7 +111,7 @@ public class TPM2_Import_REQUEST extends ReqStructure
      */
     public static TPM2_Import_REQUEST fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPM2_Import_REQUEST.class);
+        return new TpmBuffer(byteBuf).createObj(TPM2_Import_REQUEST::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -126,7 +126,7 @@ public class TPM2_Import_REQUEST extends ReqStructure
      */
     public static TPM2_Import_REQUEST fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPM2_Import_REQUEST.class);
+        return buf.createObj(TPM2_Import_REQUEST::new);
     }
 
     @Override
@@ -149,6 +149,34 @@ public class TPM2_Import_REQUEST extends ReqStructure
         _p.add(d, "TPMT_SYM_DEF_OBJECT", "symmetricAlg", symmetricAlg);
     }
 
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPM2_Import_REQUEST that = (TPM2_Import_REQUEST)o;
+        return Objects.equals(parentHandle, that.parentHandle)
+            && Arrays.equals(encryptionKey, that.encryptionKey)
+            && Objects.equals(objectPublic, that.objectPublic)
+            && Objects.equals(duplicate, that.duplicate)
+            && Arrays.equals(inSymSeed, that.inSymSeed)
+            && Objects.equals(symmetricAlg, that.symmetricAlg);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Objects.hashCode(parentHandle);
+        _h = 31 * _h + Arrays.hashCode(encryptionKey);
+        _h = 31 * _h + Objects.hashCode(objectPublic);
+        _h = 31 * _h + Objects.hashCode(duplicate);
+        _h = 31 * _h + Arrays.hashCode(inSymSeed);
+        _h = 31 * _h + Objects.hashCode(symmetricAlg);
+        return _h;
+    }
+
     @Override
     public int numHandles() { return 1; }
 
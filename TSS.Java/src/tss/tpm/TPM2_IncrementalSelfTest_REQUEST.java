@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -24,7 +24,7 @@ public class TPM2_IncrementalSelfTest_REQUEST extends ReqStructure
 
     /** TpmMarshaller method */
     @Override
-    public void initFromTpm(TpmBuffer buf) { toTest = buf.readObjArr(TPM_ALG_ID.class); }
+    public void initFromTpm(TpmBuffer buf) { toTest = buf.readObjArr(TPM_ALG_ID::fromTpm, TPM_ALG_ID[]::new); }
 
     /** @deprecated Use {@link #toBytes()} instead
      *  @return Wire (marshaled) representation of this object
@@ -37,7 +37,7 @@ public class TPM2_IncrementalSelfTest_REQUEST extends ReqStructure
      */
     public static TPM2_IncrementalSelfTest_REQUEST fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPM2_IncrementalSelfTest_REQUEST.class);
+        return new TpmBuffer(byteBuf).createObj(TPM2_IncrementalSelfTest_REQUEST::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -52,7 +52,7 @@ public class TPM2_IncrementalSelfTest_REQUEST extends ReqStructure
      */
     public static TPM2_IncrementalSelfTest_REQUEST fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPM2_IncrementalSelfTest_REQUEST.class);
+        return buf.createObj(TPM2_IncrementalSelfTest_REQUEST::new);
     }
 
     @Override
@@ -70,6 +70,20 @@ public class TPM2_IncrementalSelfTest_REQUEST extends ReqStructure
         _p.add(d, "TPM_ALG_ID[]", "toTest", toTest);
     }
 
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPM2_IncrementalSelfTest_REQUEST that = (TPM2_IncrementalSelfTest_REQUEST)o;
+        return Arrays.equals(toTest, that.toTest);
+    }
+
+    @Override
+    public int hashCode() { return Arrays.hashCode(toTest); }
+
     @Override
     public SessEncInfo sessEncInfo() { return new SessEncInfo(4, 2); }
 }
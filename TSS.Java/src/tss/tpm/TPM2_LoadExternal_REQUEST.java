@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -47,8 +47,8 @@ public class TPM2_LoadExternal_REQUEST extends ReqStructure
     @Override
     public void initFromTpm(TpmBuffer buf)
     {
-        inPrivate = buf.createSizedObj(TPMT_SENSITIVE.class);
-        inPublic = buf.createSizedObj(TPMT_PUBLIC.class);
+        inPrivate = buf.createSizedObj(TPMT_SENSITIVE::new);
+        inPublic = buf.createSizedObj(TPMT_PUBLIC::new);
         hierarchy = TPM_HANDLE.fromTpm(buf);
     }
 
@@ -63,7 +63,7 @@ public class TPM2_LoadExternal_REQUEST extends ReqStructure
      */
     public static TPM2_LoadExternal_REQUEST fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPM2_LoadExternal_REQUEST.class);
+        return new TpmBuffer(byteBuf).createObj(TPM2_LoadExternal_REQUEST::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -78,7 +78,7 @@ public class TPM2_LoadExternal_REQUEST extends ReqStructure
      */
     public static TPM2_LoadExternal_REQUEST fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPM2_LoadExternal_REQUEST.class);
+        return buf.createObj(TPM2_LoadExternal_REQUEST::new);
     }
 
     @Override
@@ -98,6 +98,28 @@ public class TPM2_LoadExternal_REQUEST extends ReqStructure
         _p.add(d, "TPM_HANDLE", "hierarchy", hierarchy);
     }
 
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPM2_LoadExternal_REQUEST that = (TPM2_LoadExternal_REQUEST)o;
+        return Objects.equals(inPrivate, that.inPrivate)
+            && Objects.equals(inPublic, that.inPublic)
+            && Objects.equals(hierarchy, that.hierarchy);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Objects.hashCode(inPrivate);
+        _h = 31 * _h + Objects.hashCode(inPublic);
+        _h = 31 * _h + Objects.hashCode(hierarchy);
+        return _h;
+    }
+
     @Override
     public SessEncInfo sessEncInfo() { return new SessEncInfo(2, 1); }
 }
@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -53,7 +53,7 @@ public class TPM2_Load_REQUEST extends ReqStructure
     public void initFromTpm(TpmBuffer buf)
     {
         inPrivate = TPM2B_PRIVATE.fromTpm(buf);
-        inPublic = buf.createSizedObj(TPMT_PUBLIC.class);
+        inPublic = buf.createSizedObj(TPMT_PUBLIC::new);
     }
 
     /** @deprecated Use {@link #toBytes()} instead
@@ -67,7 +67,7 @@ public class TPM2_Load_REQUEST extends ReqStructure
      */
     public static TPM2_Load_REQUEST fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPM2_Load_REQUEST.class);
+        return new TpmBuffer(byteBuf).createObj(TPM2_Load_REQUEST::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -82,7 +82,7 @@ public class TPM2_Load_REQUEST extends ReqStructure
      */
     public static TPM2_Load_REQUEST fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPM2_Load_REQUEST.class);
+        return buf.createObj(TPM2_Load_REQUEST::new);
     }
 
     @Override
@@ -102,6 +102,28 @@ public class TPM2_Load_REQUEST extends ReqStructure
         _p.add(d, "TPMT_PUBLIC", "inPublic", inPublic);
     }
 
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPM2_Load_REQUEST that = (TPM2_Load_REQUEST)o;
+        return Objects.equals(parentHandle, that.parentHandle)
+            && Objects.equals(inPrivate, that.inPrivate)
+            && Objects.equals(inPublic, that.inPublic);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Objects.hashCode(parentHandle);
+        _h = 31 * _h + Objects.hashCode(inPrivate);
+        _h = 31 * _h + Objects.hashCode(inPublic);
+        return _h;
+    }
+
     @Override
     public int numHandles() { return 1; }
 
@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -70,7 +70,7 @@ public class TPM2_MAC_REQUEST extends ReqStructure
      */
     public static TPM2_MAC_REQUEST fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPM2_MAC_REQUEST.class);
+        return new TpmBuffer(byteBuf).createObj(TPM2_MAC_REQUEST::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -85,7 +85,7 @@ public class TPM2_MAC_REQUEST extends ReqStructure
      */
     public static TPM2_MAC_REQUEST fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPM2_MAC_REQUEST.class);
+        return buf.createObj(TPM2_MAC_REQUEST::new);
     }
 
     @Override
@@ -105,6 +105,28 @@ public class TPM2_MAC_REQUEST extends ReqStructure
         _p.add(d, "TPM_ALG_ID", "inScheme", inScheme);
     }
 
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPM2_MAC_REQUEST that = (TPM2_MAC_REQUEST)o;
+        return Objects.equals(handle, that.handle)
+            && Arrays.equals(buffer, that.buffer)
+            && Objects.equals(inScheme, that.inScheme);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Objects.hashCode(handle);
+        _h = 31 * _h + Arrays.hashCode(buffer);
+        _h = 31 * _h + Objects.hashCode(inScheme);
+        return _h;
+    }
+
     @Override
     public int numHandles() { return 1; }
 
@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -65,7 +65,7 @@ public class TPM2_MakeCredential_REQUEST extends ReqStructure
      */
     public static TPM2_MakeCredential_REQUEST fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPM2_MakeCredential_REQUEST.class);
+        return new TpmBuffer(byteBuf).createObj(TPM2_MakeCredential_REQUEST::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -80,7 +80,7 @@ public class TPM2_MakeCredential_REQUEST extends ReqStructure
      */
     public static TPM2_MakeCredential_REQUEST fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPM2_MakeCredential_REQUEST.class);
+        return buf.createObj(TPM2_MakeCredential_REQUEST::new);
     }
 
     @Override
@@ -100,6 +100,28 @@ public class TPM2_MakeCredential_REQUEST extends ReqStructure
         _p.add(d, "byte[]", "objectName", objectName);
     }
 
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPM2_MakeCredential_REQUEST that = (TPM2_MakeCredential_REQUEST)o;
+        return Objects.equals(handle, that.handle)
+            && Arrays.equals(credential, that.credential)
+            && Arrays.equals(objectName, that.objectName);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Objects.hashCode(handle);
+        _h = 31 * _h + Arrays.hashCode(credential);
+        _h = 31 * _h + Arrays.hashCode(objectName);
+        return _h;
+    }
+
     @Override
     public int numHandles() { return 1; }
 
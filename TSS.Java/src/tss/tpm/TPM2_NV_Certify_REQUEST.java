@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -102,7 +102,7 @@ public class TPM2_NV_Certify_REQUEST extends ReqStructure
     {
         qualifyingData = buf.readSizedByteBuf();
         TPM_ALG_ID inSchemeScheme = TPM_ALG_ID.fromTpm(buf);
-        inScheme = UnionFactory.create("TPMU_SIG_SCHEME", inSchemeScheme);
+        inScheme = UnionFactory.createTPMU_SIG_SCHEME(inSchemeScheme);
         inScheme.initFromTpm(buf);
         size = buf.readShort();
         offset = buf.readShort();
@@ -119,7 +119,7 @@ public class TPM2_NV_Certify_REQUEST extends ReqStructure
      */
     public static TPM2_NV_Certify_REQUEST fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPM2_NV_Certify_REQUEST.class);
+        return new TpmBuffer(byteBuf).createObj(TPM2_NV_Certify_REQUEST::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -134,7 +134,7 @@ public class TPM2_NV_Certify_REQUEST extends ReqStructure
      */
     public static TPM2_NV_Certify_REQUEST fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPM2_NV_Certify_REQUEST.class);
+        return buf.createObj(TPM2_NV_Certify_REQUEST::new);
     }
 
     @Override
@@ -158,6 +158,36 @@ public class TPM2_NV_Certify_REQUEST extends ReqStructure
         _p.add(d, "int", "offset", offset);
     }
 
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPM2_NV_Certify_REQUEST that = (TPM2_NV_Certify_REQUEST)o;
+        return Objects.equals(signHandle, that.signHandle)
+            && Objects.equals(authHandle, that.authHandle)
+            && Objects.equals(nvIndex, that.nvIndex)
+            && Arrays.equals(qualifyingData, that.qualifyingData)
+            && Objects.equals(inScheme, that.inScheme)
+            && size == that.size
+            && offset == that.offset;
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Objects.hashCode(signHandle);
+        _h = 31 * _h + Objects.hashCode(authHandle);
+        _h = 31 * _h + Objects.hashCode(nvIndex);
+        _h = 31 * _h + Arrays.hashCode(qualifyingData);
+        _h = 31 * _h + Objects.hashCode(inScheme);
+        _h = 31 * _h + size;
+        _h = 31 * _h + offset;
+        return _h;
+    }
+
     @Override
     public int numHandles() { return 3; }
 
@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -51,7 +51,7 @@ public class TPM2_NV_ChangeAuth_REQUEST extends ReqStructure
      */
     public static TPM2_NV_ChangeAuth_REQUEST fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPM2_NV_ChangeAuth_REQUEST.class);
+        return new TpmBuffer(byteBuf).createObj(TPM2_NV_ChangeAuth_REQUEST::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -66,7 +66,7 @@ public class TPM2_NV_ChangeAuth_REQUEST extends ReqStructure
      */
     public static TPM2_NV_ChangeAuth_REQUEST fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPM2_NV_ChangeAuth_REQUEST.class);
+        return buf.createObj(TPM2_NV_ChangeAuth_REQUEST::new);
     }
 
     @Override
@@ -85,6 +85,26 @@ public class TPM2_NV_ChangeAuth_REQUEST extends ReqStructure
         _p.add(d, "byte[]", "newAuth", newAuth);
     }
 
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPM2_NV_ChangeAuth_REQUEST that = (TPM2_NV_ChangeAuth_REQUEST)o;
+        return Objects.equals(nvIndex, that.nvIndex)
+            && Arrays.equals(newAuth, that.newAuth);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Objects.hashCode(nvIndex);
+        _h = 31 * _h + Arrays.hashCode(newAuth);
+        return _h;
+    }
+
     @Override
     public int numHandles() { return 1; }
 
@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -53,7 +53,7 @@ public class TPM2_NV_DefineSpace_REQUEST extends ReqStructure
     public void initFromTpm(TpmBuffer buf)
     {
         auth = buf.readSizedByteBuf();
-        publicInfo = buf.createSizedObj(TPMS_NV_PUBLIC.class);
+        publicInfo = buf.createSizedObj(TPMS_NV_PUBLIC::new);
     }
 
     /** @deprecated Use {@link #toBytes()} instead
@@ -67,7 +67,7 @@ public class TPM2_NV_DefineSpace_REQUEST extends ReqStructure
      */
     public static TPM2_NV_DefineSpace_REQUEST fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPM2_NV_DefineSpace_REQUEST.class);
+        return new TpmBuffer(byteBuf).createObj(TPM2_NV_DefineSpace_REQUEST::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -82,7 +82,7 @@ public class TPM2_NV_DefineSpace_REQUEST extends ReqStructure
      */
     public static TPM2_NV_DefineSpace_REQUEST fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPM2_NV_DefineSpace_REQUEST.class);
+        return buf.createObj(TPM2_NV_DefineSpace_REQUEST::new);
     }
 
     @Override
@@ -102,6 +102,28 @@ public class TPM2_NV_DefineSpace_REQUEST extends ReqStructure
         _p.add(d, "TPMS_NV_PUBLIC", "publicInfo", publicInfo);
     }
 
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPM2_NV_DefineSpace_REQUEST that = (TPM2_NV_DefineSpace_REQUEST)o;
+        return Objects.equals(authHandle, that.authHandle)
+            && Arrays.equals(auth, that.auth)
+            && Objects.equals(publicInfo, that.publicInfo);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Objects.hashCode(authHandle);
+        _h = 31 * _h + Arrays.hashCode(auth);
+        _h = 31 * _h + Objects.hashCode(publicInfo);
+        return _h;
+    }
+
     @Override
     public int numHandles() { return 1; }
 
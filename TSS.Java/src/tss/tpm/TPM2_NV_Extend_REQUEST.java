@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -65,7 +65,7 @@ public class TPM2_NV_Extend_REQUEST extends ReqStructure
      */
     public static TPM2_NV_Extend_REQUEST fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPM2_NV_Extend_REQUEST.class);
+        return new TpmBuffer(byteBuf).createObj(TPM2_NV_Extend_REQUEST::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -80,7 +80,7 @@ public class TPM2_NV_Extend_REQUEST extends ReqStructure
      */
     public static TPM2_NV_Extend_REQUEST fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPM2_NV_Extend_REQUEST.class);
+        return buf.createObj(TPM2_NV_Extend_REQUEST::new);
     }
 
     @Override
@@ -100,6 +100,28 @@ public class TPM2_NV_Extend_REQUEST extends ReqStructure
         _p.add(d, "byte[]", "data", data);
     }
 
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPM2_NV_Extend_REQUEST that = (TPM2_NV_Extend_REQUEST)o;
+        return Objects.equals(authHandle, that.authHandle)
+            && Objects.equals(nvIndex, that.nvIndex)
+            && Arrays.equals(data, that.data);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Objects.hashCode(authHandle);
+        _h = 31 * _h + Objects.hashCode(nvIndex);
+        _h = 31 * _h + Arrays.hashCode(data);
+        return _h;
+    }
+
     @Override
     public int numHandles() { return 2; }
 
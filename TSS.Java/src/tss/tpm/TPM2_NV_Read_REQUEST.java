@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -79,7 +79,7 @@ public class TPM2_NV_Read_REQUEST extends ReqStructure
      */
     public static TPM2_NV_Read_REQUEST fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPM2_NV_Read_REQUEST.class);
+        return new TpmBuffer(byteBuf).createObj(TPM2_NV_Read_REQUEST::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -94,7 +94,7 @@ public class TPM2_NV_Read_REQUEST extends ReqStructure
      */
     public static TPM2_NV_Read_REQUEST fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPM2_NV_Read_REQUEST.class);
+        return buf.createObj(TPM2_NV_Read_REQUEST::new);
     }
 
     @Override
@@ -115,6 +115,30 @@ public class TPM2_NV_Read_REQUEST extends ReqStructure
         _p.add(d, "int", "offset", offset);
     }
 
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPM2_NV_Read_REQUEST that = (TPM2_NV_Read_REQUEST)o;
+        return Objects.equals(authHandle, that.authHandle)
+            && Objects.equals(nvIndex, that.nvIndex)
+            && size == that.size
+            && offset == that.offset;
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Objects.hashCode(authHandle);
+        _h = 31 * _h + Objects.hashCode(nvIndex);
+        _h = 31 * _h + size;
+        _h = 31 * _h + offset;
+        return _h;
+    }
+
     @Override
     public int numHandles() { return 2; }
 
@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -66,7 +66,7 @@ public class TPM2_NV_SetBits_REQUEST extends ReqStructure
      */
     public static TPM2_NV_SetBits_REQUEST fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPM2_NV_SetBits_REQUEST.class);
+        return new TpmBuffer(byteBuf).createObj(TPM2_NV_SetBits_REQUEST::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -81,7 +81,7 @@ public class TPM2_NV_SetBits_REQUEST extends ReqStructure
      */
     public static TPM2_NV_SetBits_REQUEST fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPM2_NV_SetBits_REQUEST.class);
+        return buf.createObj(TPM2_NV_SetBits_REQUEST::new);
     }
 
     @Override
@@ -101,6 +101,28 @@ public class TPM2_NV_SetBits_REQUEST extends ReqStructure
         _p.add(d, "long", "bits", bits);
     }
 
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPM2_NV_SetBits_REQUEST that = (TPM2_NV_SetBits_REQUEST)o;
+        return Objects.equals(authHandle, that.authHandle)
+            && Objects.equals(nvIndex, that.nvIndex)
+            && bits == that.bits;
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Objects.hashCode(authHandle);
+        _h = 31 * _h + Objects.hashCode(nvIndex);
+        _h = 31 * _h + Long.hashCode(bits);
+        return _h;
+    }
+
     @Override
     public int numHandles() { return 2; }
 
@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -54,7 +54,7 @@ public class TPM2_NV_UndefineSpaceSpecial_REQUEST extends ReqStructure
      */
     public static TPM2_NV_UndefineSpaceSpecial_REQUEST fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPM2_NV_UndefineSpaceSpecial_REQUEST.class);
+        return new TpmBuffer(byteBuf).createObj(TPM2_NV_UndefineSpaceSpecial_REQUEST::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -69,7 +69,7 @@ public class TPM2_NV_UndefineSpaceSpecial_REQUEST extends ReqStructure
      */
     public static TPM2_NV_UndefineSpaceSpecial_REQUEST fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPM2_NV_UndefineSpaceSpecial_REQUEST.class);
+        return buf.createObj(TPM2_NV_UndefineSpaceSpecial_REQUEST::new);
     }
 
     @Override
@@ -88,6 +88,26 @@ public class TPM2_NV_UndefineSpaceSpecial_REQUEST extends ReqStructure
         _p.add(d, "TPM_HANDLE", "platform", platform);
     }
 
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPM2_NV_UndefineSpaceSpecial_REQUEST that = (TPM2_NV_UndefineSpaceSpecial_REQUEST)o;
+        return Objects.equals(nvIndex, that.nvIndex)
+            && Objects.equals(platform, that.platform);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Objects.hashCode(nvIndex);
+        _h = 31 * _h + Objects.hashCode(platform);
+        return _h;
+    }
+
     @Override
     public int numHandles() { return 2; }
 
@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -50,7 +50,7 @@ public class TPM2_NV_UndefineSpace_REQUEST extends ReqStructure
      */
     public static TPM2_NV_UndefineSpace_REQUEST fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPM2_NV_UndefineSpace_REQUEST.class);
+        return new TpmBuffer(byteBuf).createObj(TPM2_NV_UndefineSpace_REQUEST::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -65,7 +65,7 @@ public class TPM2_NV_UndefineSpace_REQUEST extends ReqStructure
      */
     public static TPM2_NV_UndefineSpace_REQUEST fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPM2_NV_UndefineSpace_REQUEST.class);
+        return buf.createObj(TPM2_NV_UndefineSpace_REQUEST::new);
     }
 
     @Override
@@ -84,6 +84,26 @@ public class TPM2_NV_UndefineSpace_REQUEST extends ReqStructure
         _p.add(d, "TPM_HANDLE", "nvIndex", nvIndex);
     }
 
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPM2_NV_UndefineSpace_REQUEST that = (TPM2_NV_UndefineSpace_REQUEST)o;
+        return Objects.equals(authHandle, that.authHandle)
+            && Objects.equals(nvIndex, that.nvIndex);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Objects.hashCode(authHandle);
+        _h = 31 * _h + Objects.hashCode(nvIndex);
+        return _h;
+    }
+
     @Override
     public int numHandles() { return 2; }
 
@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -63,7 +63,7 @@ public class TPM2_ObjectChangeAuth_REQUEST extends ReqStructure
      */
     public static TPM2_ObjectChangeAuth_REQUEST fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPM2_ObjectChangeAuth_REQUEST.class);
+        return new TpmBuffer(byteBuf).createObj(TPM2_ObjectChangeAuth_REQUEST::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -78,7 +78,7 @@ public class TPM2_ObjectChangeAuth_REQUEST extends ReqStructure
      */
     public static TPM2_ObjectChangeAuth_REQUEST fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPM2_ObjectChangeAuth_REQUEST.class);
+        return buf.createObj(TPM2_ObjectChangeAuth_REQUEST::new);
     }
 
     @Override
@@ -98,6 +98,28 @@ public class TPM2_ObjectChangeAuth_REQUEST extends ReqStructure
         _p.add(d, "byte[]", "newAuth", newAuth);
     }
 
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPM2_ObjectChangeAuth_REQUEST that = (TPM2_ObjectChangeAuth_REQUEST)o;
+        return Objects.equals(objectHandle, that.objectHandle)
+            && Objects.equals(parentHandle, that.parentHandle)
+            && Arrays.equals(newAuth, that.newAuth);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Objects.hashCode(objectHandle);
+        _h = 31 * _h + Objects.hashCode(parentHandle);
+        _h = 31 * _h + Arrays.hashCode(newAuth);
+        return _h;
+    }
+
     @Override
     public int numHandles() { return 2; }
 
@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -40,7 +40,7 @@ public class TPM2_PCR_Allocate_REQUEST extends ReqStructure
 
     /** TpmMarshaller method */
     @Override
-    public void initFromTpm(TpmBuffer buf) { pcrAllocation = buf.readObjArr(TPMS_PCR_SELECTION.class); }
+    public void initFromTpm(TpmBuffer buf) { pcrAllocation = buf.readObjArr(TPMS_PCR_SELECTION::fromTpm, TPMS_PCR_SELECTION[]::new); }
 
     /** @deprecated Use {@link #toBytes()} instead
      *  @return Wire (marshaled) representation of this object
@@ -53,7 +53,7 @@ public class TPM2_PCR_Allocate_REQUEST extends ReqStructure
      */
     public static TPM2_PCR_Allocate_REQUEST fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPM2_PCR_Allocate_REQUEST.class);
+        return new TpmBuffer(byteBuf).createObj(TPM2_PCR_Allocate_REQUEST::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -68,7 +68,7 @@ public class TPM2_PCR_Allocate_REQUEST extends ReqStructure
      */
     public static TPM2_PCR_Allocate_REQUEST fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPM2_PCR_Allocate_REQUEST.class);
+        return buf.createObj(TPM2_PCR_Allocate_REQUEST::new);
     }
 
     @Override
@@ -87,6 +87,26 @@ public class TPM2_PCR_Allocate_REQUEST extends ReqStructure
         _p.add(d, "TPMS_PCR_SELECTION[]", "pcrAllocation", pcrAllocation);
     }
 
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPM2_PCR_Allocate_REQUEST that = (TPM2_PCR_Allocate_REQUEST)o;
+        return Objects.equals(authHandle, that.authHandle)
+            && Arrays.equals(pcrAllocation, that.pcrAllocation);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Objects.hashCode(authHandle);
+        _h = 31 * _h + Arrays.hashCode(pcrAllocation);
+        return _h;
+    }
+
     @Override
     public int numHandles() { return 1; }
 
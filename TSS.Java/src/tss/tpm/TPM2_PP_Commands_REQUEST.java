@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -53,8 +53,8 @@ public class TPM2_PP_Commands_REQUEST extends ReqStructure
     @Override
     public void initFromTpm(TpmBuffer buf)
     {
-        setList = buf.readObjArr(TPM_CC.class);
-        clearList = buf.readObjArr(TPM_CC.class);
+        setList = buf.readObjArr(TPM_CC::fromTpm, TPM_CC[]::new);
+        clearList = buf.readObjArr(TPM_CC::fromTpm, TPM_CC[]::new);
     }
 
     /** @deprecated Use {@link #toBytes()} instead
@@ -68,7 +68,7 @@ public class TPM2_PP_Commands_REQUEST extends ReqStructure
      */
     public static TPM2_PP_Commands_REQUEST fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPM2_PP_Commands_REQUEST.class);
+        return new TpmBuffer(byteBuf).createObj(TPM2_PP_Commands_REQUEST::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -83,7 +83,7 @@ public class TPM2_PP_Commands_REQUEST extends ReqStructure
      */
     public static TPM2_PP_Commands_REQUEST fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPM2_PP_Commands_REQUEST.class);
+        return buf.createObj(TPM2_PP_Commands_REQUEST::new);
     }
 
     @Override
@@ -103,6 +103,28 @@ public class TPM2_PP_Commands_REQUEST extends ReqStructure
         _p.add(d, "TPM_CC[]", "clearList", clearList);
     }
 
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPM2_PP_Commands_REQUEST that = (TPM2_PP_Commands_REQUEST)o;
+        return Objects.equals(auth, that.auth)
+            && Arrays.equals(setList, that.setList)
+            && Arrays.equals(clearList, that.clearList);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Objects.hashCode(auth);
+        _h = 31 * _h + Arrays.hashCode(setList);
+        _h = 31 * _h + Arrays.hashCode(clearList);
+        return _h;
+    }
+
     @Override
     public int numHandles() { return 1; }
 
@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -80,7 +80,7 @@ public class TPM2_PolicyAuthorize_REQUEST extends ReqStructure
      */
     public static TPM2_PolicyAuthorize_REQUEST fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPM2_PolicyAuthorize_REQUEST.class);
+        return new TpmBuffer(byteBuf).createObj(TPM2_PolicyAuthorize_REQUEST::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -95,7 +95,7 @@ public class TPM2_PolicyAuthorize_REQUEST extends ReqStructure
      */
     public static TPM2_PolicyAuthorize_REQUEST fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPM2_PolicyAuthorize_REQUEST.class);
+        return buf.createObj(TPM2_PolicyAuthorize_REQUEST::new);
     }
 
     @Override
@@ -117,6 +117,32 @@ public class TPM2_PolicyAuthorize_REQUEST extends ReqStructure
         _p.add(d, "TPMT_TK_VERIFIED", "checkTicket", checkTicket);
     }
 
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPM2_PolicyAuthorize_REQUEST that = (TPM2_PolicyAuthorize_REQUEST)o;
+        return Objects.equals(policySession, that.policySession)
+            && Arrays.equals(approvedPolicy, that.approvedPolicy)
+            && Arrays.equals(policyRef, that.policyRef)
+            && Arrays.equals(keySign, that.keySign)
+            && Objects.equals(checkTicket, that.checkTicket);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Objects.hashCode(policySession);
+        _h = 31 * _h + Arrays.hashCode(approvedPolicy);
+        _h = 31 * _h + Arrays.hashCode(policyRef);
+        _h = 31 * _h + Arrays.hashCode(keySign);
+        _h = 31 * _h + Objects.hashCode(checkTicket);
+        return _h;
+    }
+
     @Override
     public int numHandles() { return 1; }
 
@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -72,7 +72,7 @@ public class TPM2_PolicyCounterTimer_REQUEST extends ReqStructure
      */
     public static TPM2_PolicyCounterTimer_REQUEST fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPM2_PolicyCounterTimer_REQUEST.class);
+        return new TpmBuffer(byteBuf).createObj(TPM2_PolicyCounterTimer_REQUEST::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -87,7 +87,7 @@ public class TPM2_PolicyCounterTimer_REQUEST extends ReqStructure
      */
     public static TPM2_PolicyCounterTimer_REQUEST fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPM2_PolicyCounterTimer_REQUEST.class);
+        return buf.createObj(TPM2_PolicyCounterTimer_REQUEST::new);
     }
 
     @Override
@@ -108,6 +108,30 @@ public class TPM2_PolicyCounterTimer_REQUEST extends ReqStructure
         _p.add(d, "TPM_EO", "operation", operation);
     }
 
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPM2_PolicyCounterTimer_REQUEST that = (TPM2_PolicyCounterTimer_REQUEST)o;
+        return Objects.equals(policySession, that.policySession)
+            && Arrays.equals(operandB, that.operandB)
+            && offset == that.offset
+            && Objects.equals(operation, that.operation);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Objects.hashCode(policySession);
+        _h = 31 * _h + Arrays.hashCode(operandB);
+        _h = 31 * _h + offset;
+        _h = 31 * _h + Objects.hashCode(operation);
+        return _h;
+    }
+
     @Override
     public int numHandles() { return 1; }
 
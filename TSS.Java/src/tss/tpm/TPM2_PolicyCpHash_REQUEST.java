@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -49,7 +49,7 @@ public class TPM2_PolicyCpHash_REQUEST extends ReqStructure
      */
     public static TPM2_PolicyCpHash_REQUEST fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPM2_PolicyCpHash_REQUEST.class);
+        return new TpmBuffer(byteBuf).createObj(TPM2_PolicyCpHash_REQUEST::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -64,7 +64,7 @@ public class TPM2_PolicyCpHash_REQUEST extends ReqStructure
      */
     public static TPM2_PolicyCpHash_REQUEST fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPM2_PolicyCpHash_REQUEST.class);
+        return buf.createObj(TPM2_PolicyCpHash_REQUEST::new);
     }
 
     @Override
@@ -83,6 +83,26 @@ public class TPM2_PolicyCpHash_REQUEST extends ReqStructure
         _p.add(d, "byte[]", "cpHashA", cpHashA);
     }
 
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPM2_PolicyCpHash_REQUEST that = (TPM2_PolicyCpHash_REQUEST)o;
+        return Objects.equals(policySession, that.policySession)
+            && Arrays.equals(cpHashA, that.cpHashA);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Objects.hashCode(policySession);
+        _h = 31 * _h + Arrays.hashCode(cpHashA);
+        return _h;
+    }
+
     @Override
     public int numHandles() { return 1; }
 
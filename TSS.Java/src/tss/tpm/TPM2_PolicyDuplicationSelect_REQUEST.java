@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -72,7 +72,7 @@ public class TPM2_PolicyDuplicationSelect_REQUEST extends ReqStructure
      */
     public static TPM2_PolicyDuplicationSelect_REQUEST fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPM2_PolicyDuplicationSelect_REQUEST.class);
+        return new TpmBuffer(byteBuf).createObj(TPM2_PolicyDuplicationSelect_REQUEST::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -87,7 +87,7 @@ public class TPM2_PolicyDuplicationSelect_REQUEST extends ReqStructure
      */
     public static TPM2_PolicyDuplicationSelect_REQUEST fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPM2_PolicyDuplicationSelect_REQUEST.class);
+        return buf.createObj(TPM2_PolicyDuplicationSelect_REQUEST::new);
     }
 
     @Override
@@ -108,6 +108,30 @@ public class TPM2_PolicyDuplicationSelect_REQUEST extends ReqStructure
         _p.add(d, "byte", "includeObject", includeObject);
     }
 
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPM2_PolicyDuplicationSelect_REQUEST that = (TPM2_PolicyDuplicationSelect_REQUEST)o;
+        return Objects.equals(policySession, that.policySession)
+            && Arrays.equals(objectName, that.objectName)
+            && Arrays.equals(newParentName, that.newParentName)
+            && includeObject == that.includeObject;
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Objects.hashCode(policySession);
+        _h = 31 * _h + Arrays.hashCode(objectName);
+        _h = 31 * _h + Arrays.hashCode(newParentName);
+        _h = 31 * _h + includeObject;
+        return _h;
+    }
+
     @Override
     public int numHandles() { return 1; }
 
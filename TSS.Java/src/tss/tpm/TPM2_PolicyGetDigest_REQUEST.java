@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -35,7 +35,7 @@ public class TPM2_PolicyGetDigest_REQUEST extends ReqStructure
      */
     public static TPM2_PolicyGetDigest_REQUEST fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPM2_PolicyGetDigest_REQUEST.class);
+        return new TpmBuffer(byteBuf).createObj(TPM2_PolicyGetDigest_REQUEST::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -50,7 +50,7 @@ public class TPM2_PolicyGetDigest_REQUEST extends ReqStructure
      */
     public static TPM2_PolicyGetDigest_REQUEST fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPM2_PolicyGetDigest_REQUEST.class);
+        return buf.createObj(TPM2_PolicyGetDigest_REQUEST::new);
     }
 
     @Override
@@ -68,6 +68,20 @@ public class TPM2_PolicyGetDigest_REQUEST extends ReqStructure
         _p.add(d, "TPM_HANDLE", "policySession", policySession);
     }
 
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPM2_PolicyGetDigest_REQUEST that = (TPM2_PolicyGetDigest_REQUEST)o;
+        return Objects.equals(policySession, that.policySession);
+    }
+
+    @Override
+    public int hashCode() { return Objects.hashCode(policySession); }
+
     @Override
     public int numHandles() { return 1; }
 
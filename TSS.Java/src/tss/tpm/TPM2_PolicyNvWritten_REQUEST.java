@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -55,7 +55,7 @@ public class TPM2_PolicyNvWritten_REQUEST extends ReqStructure
      */
     public static TPM2_PolicyNvWritten_REQUEST fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPM2_PolicyNvWritten_REQUEST.class);
+        return new TpmBuffer(byteBuf).createObj(TPM2_PolicyNvWritten_REQUEST::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -70,7 +70,7 @@ public class TPM2_PolicyNvWritten_REQUEST extends ReqStructure
      */
     public static TPM2_PolicyNvWritten_REQUEST fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPM2_PolicyNvWritten_REQUEST.class);
+        return buf.createObj(TPM2_PolicyNvWritten_REQUEST::new);
     }
 
     @Override
@@ -89,6 +89,26 @@ public class TPM2_PolicyNvWritten_REQUEST extends ReqStructure
         _p.add(d, "byte", "writtenSet", writtenSet);
     }
 
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPM2_PolicyNvWritten_REQUEST that = (TPM2_PolicyNvWritten_REQUEST)o;
+        return Objects.equals(policySession, that.policySession)
+            && writtenSet == that.writtenSet;
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Objects.hashCode(policySession);
+        _h = 31 * _h + writtenSet;
+        return _h;
+    }
+
     @Override
     public int numHandles() { return 1; }
 
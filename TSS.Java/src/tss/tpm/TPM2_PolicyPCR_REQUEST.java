@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -55,7 +55,7 @@ public class TPM2_PolicyPCR_REQUEST extends ReqStructure
     public void initFromTpm(TpmBuffer buf)
     {
         pcrDigest = buf.readSizedByteBuf();
-        pcrs = buf.readObjArr(TPMS_PCR_SELECTION.class);
+        pcrs = buf.readObjArr(TPMS_PCR_SELECTION::fromTpm, TPMS_PCR_SELECTION[]::new);
     }
 
     /** @deprecated Use {@link #toBytes()} instead
@@ -69,7 +69,7 @@ public class TPM2_PolicyPCR_REQUEST extends ReqStructure
      */
     public static TPM2_PolicyPCR_REQUEST fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPM2_PolicyPCR_REQUEST.class);
+        return new TpmBuffer(byteBuf).createObj(TPM2_PolicyPCR_REQUEST::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -84,7 +84,7 @@ public class TPM2_PolicyPCR_REQUEST extends ReqStructure
      */
     public static TPM2_PolicyPCR_REQUEST fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPM2_PolicyPCR_REQUEST.class);
+        return buf.createObj(TPM2_PolicyPCR_REQUEST::new);
     }
 
     @Override
@@ -104,6 +104,28 @@ public class TPM2_PolicyPCR_REQUEST extends ReqStructure
         _p.add(d, "TPMS_PCR_SELECTION[]", "pcrs", pcrs);
     }
 
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPM2_PolicyPCR_REQUEST that = (TPM2_PolicyPCR_REQUEST)o;
+        return Objects.equals(policySession, that.policySession)
+            && Arrays.equals(pcrDigest, that.pcrDigest)
+            && Arrays.equals(pcrs, that.pcrs);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Objects.hashCode(policySession);
+        _h = 31 * _h + Arrays.hashCode(pcrDigest);
+        _h = 31 * _h + Arrays.hashCode(pcrs);
+        return _h;
+    }
+
     @Override
     public int numHandles() { return 1; }
 
@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -112,7 +112,7 @@ public class TPM2_PolicySecret_REQUEST extends ReqStructure
      */
     public static TPM2_PolicySecret_REQUEST fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPM2_PolicySecret_REQUEST.class);
+        return new TpmBuffer(byteBuf).createObj(TPM2_PolicySecret_REQUEST::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -127,7 +127,7 @@ public class TPM2_PolicySecret_REQUEST extends ReqStructure
      */
     public static TPM2_PolicySecret_REQUEST fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPM2_PolicySecret_REQUEST.class);
+        return buf.createObj(TPM2_PolicySecret_REQUEST::new);
     }
 
     @Override
@@ -150,6 +150,34 @@ public class TPM2_PolicySecret_REQUEST extends ReqStructure
         _p.add(d, "int", "expiration", expiration);
     }
 
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPM2_PolicySecret_REQUEST that = (TPM2_PolicySecret_REQUEST)o;
+        return Objects.equals(authHandle, that.authHandle)
+            && Objects.equals(policySession, that.policySession)
+            && Arrays.equals(nonceTPM, that.nonceTPM)
+            && Arrays.equals(cpHashA, that.cpHashA)
+            && Arrays.equals(policyRef, that.policyRef)
+            && expiration == that.expiration;
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Objects.hashCode(authHandle);
+        _h = 31 * _h + Objects.hashCode(policySession);
+        _h = 31 * _h + Arrays.hashCode(nonceTPM);
+        _h = 31 * _h + Arrays.hashCode(cpHashA);
+        _h = 31 * _h + Arrays.hashCode(policyRef);
+        _h = 31 * _h + expiration;
+        return _h;
+    }
+
     @Override
     public int numHandles() { return 2; }
 
@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -113,7 +113,7 @@ public class TPM2_PolicySigned_REQUEST extends ReqStructure
         policyRef = buf.readSizedByteBuf();
         expiration = buf.readInt();
         TPM_ALG_ID authSigAlg = TPM_ALG_ID.fromTpm(buf);
-        auth = UnionFactory.create("TPMU_SIGNATURE", authSigAlg);
+        auth = UnionFactory.createTPMU_SIGNATURE(authSigAlg);
         auth.initFromTpm(buf);
     }
 
@@ -128,7 +128,7 @@ public class TPM2_PolicySigned_REQUEST extends ReqStructure
      */
     public static TPM2_PolicySigned_REQUEST fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPM2_PolicySigned_REQUEST.class);
+        return new TpmBuffer(byteBuf).createObj(TPM2_PolicySigned_REQUEST::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -143,7 +143,7 @@ public class TPM2_PolicySigned_REQUEST extends ReqStructure
      */
     public static TPM2_PolicySigned_REQUEST fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPM2_PolicySigned_REQUEST.class);
+        return buf.createObj(TPM2_PolicySigned_REQUEST::new);
     }
 
     @Override
@@ -167,6 +167,36 @@ public class TPM2_PolicySigned_REQUEST extends ReqStructure
         _p.add(d, "TPMU_SIGNATURE", "auth", auth);
     }
 
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPM2_PolicySigned_REQUEST that = (TPM2_PolicySigned_REQUEST)o;
+        return Objects.equals(authObject, that.authObject)
+            && Objects.equals(policySession, that.policySession)
+            && Arrays.equals(nonceTPM, that.nonceTPM)
+            && Arrays.equals(cpHashA, that.cpHashA)
+            && Arrays.equals(policyRef, that.policyRef)
+            && expiration == that.expiration
+            && Objects.equals(auth, that.auth);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Objects.hashCode(authObject);
+        _h = 31 * _h + Objects.hashCode(policySession);
+        _h = 31 * _h + Arrays.hashCode(nonceTPM);
+        _h = 31 * _h + Arrays.hashCode(cpHashA);
+        _h = 31 * _h + Arrays.hashCode(policyRef);
+        _h = 31 * _h + expiration;
+        _h = 31 * _h + Objects.hashCode(auth);
+        return _h;
+    }
+
     @Override
     public int numHandles() { return 2; }
 
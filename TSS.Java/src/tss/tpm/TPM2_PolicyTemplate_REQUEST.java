@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -52,7 +52,7 @@ public class TPM2_PolicyTemplate_REQUEST extends ReqStructure
      */
     public static TPM2_PolicyTemplate_REQUEST fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPM2_PolicyTemplate_REQUEST.class);
+        return new TpmBuffer(byteBuf).createObj(TPM2_PolicyTemplate_REQUEST::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -67,7 +67,7 @@ public class TPM2_PolicyTemplate_REQUEST extends ReqStructure
      */
     public static TPM2_PolicyTemplate_REQUEST fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPM2_PolicyTemplate_REQUEST.class);
+        return buf.createObj(TPM2_PolicyTemplate_REQUEST::new);
     }
 
     @Override
@@ -86,6 +86,26 @@ public class TPM2_PolicyTemplate_REQUEST extends ReqStructure
         _p.add(d, "byte[]", "templateHash", templateHash);
     }
 
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPM2_PolicyTemplate_REQUEST that = (TPM2_PolicyTemplate_REQUEST)o;
+        return Objects.equals(policySession, that.policySession)
+            && Arrays.equals(templateHash, that.templateHash);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Objects.hashCode(policySession);
+        _h = 31 * _h + Arrays.hashCode(templateHash);
+        return _h;
+    }
+
     @Override
     public int numHandles() { return 1; }
 
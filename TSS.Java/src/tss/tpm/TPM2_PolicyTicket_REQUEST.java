@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -96,7 +96,7 @@ public class TPM2_PolicyTicket_REQUEST extends ReqStructure
      */
     public static TPM2_PolicyTicket_REQUEST fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPM2_PolicyTicket_REQUEST.class);
+        return new TpmBuffer(byteBuf).createObj(TPM2_PolicyTicket_REQUEST::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -111,7 +111,7 @@ public class TPM2_PolicyTicket_REQUEST extends ReqStructure
      */
     public static TPM2_PolicyTicket_REQUEST fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPM2_PolicyTicket_REQUEST.class);
+        return buf.createObj(TPM2_PolicyTicket_REQUEST::new);
     }
 
     @Override
@@ -134,6 +134,34 @@ public class TPM2_PolicyTicket_REQUEST extends ReqStructure
         _p.add(d, "TPMT_TK_AUTH", "ticket", ticket);
     }
 
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPM2_PolicyTicket_REQUEST that = (TPM2_PolicyTicket_REQUEST)o;
+        return Objects.equals(policySession, that.policySession)
+            && Arrays.equals(timeout, that.timeout)
+            && Arrays.equals(cpHashA, that.cpHashA)
+            && Arrays.equals(policyRef, that.policyRef)
+            && Arrays.equals(authName, that.authName)
+            && Objects.equals(ticket, that.ticket);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Objects.hashCode(policySession);
+        _h = 31 * _h + Arrays.hashCode(timeout);
+        _h = 31 * _h + Arrays.hashCode(cpHashA);
+        _h = 31 * _h + Arrays.hashCode(policyRef);
+        _h = 31 * _h + Arrays.hashCode(authName);
+        _h = 31 * _h + Objects.hashCode(ticket);
+        return _h;
+    }
+
     @Override
     public int numHandles() { return 1; }
 
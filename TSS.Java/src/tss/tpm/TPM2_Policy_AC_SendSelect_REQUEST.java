@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -81,7 +81,7 @@ public class TPM2_Policy_AC_SendSelect_REQUEST extends ReqStructure
      */
     public static TPM2_Policy_AC_SendSelect_REQUEST fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPM2_Policy_AC_SendSelect_REQUEST.class);
+        return new TpmBuffer(byteBuf).createObj(TPM2_Policy_AC_SendSelect_REQUEST::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -96,7 +96,7 @@ public class TPM2_Policy_AC_SendSelect_REQUEST extends ReqStructure
      */
     public static TPM2_Policy_AC_SendSelect_REQUEST fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPM2_Policy_AC_SendSelect_REQUEST.class);
+        return buf.createObj(TPM2_Policy_AC_SendSelect_REQUEST::new);
     }
 
     @Override
@@ -118,6 +118,32 @@ public class TPM2_Policy_AC_SendSelect_REQUEST extends ReqStructure
         _p.add(d, "byte", "includeObject", includeObject);
     }
 
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPM2_Policy_AC_SendSelect_REQUEST that = (TPM2_Policy_AC_SendSelect_REQUEST)o;
+        return Objects.equals(policySession, that.policySession)
+            && Arrays.equals(objectName, that.objectName)
+            && Arrays.equals(authHandleName, that.authHandleName)
+            && Arrays.equals(acName, that.acName)
+            && includeObject == that.includeObject;
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Objects.hashCode(policySession);
+        _h = 31 * _h + Arrays.hashCode(objectName);
+        _h = 31 * _h + Arrays.hashCode(authHandleName);
+        _h = 31 * _h + Arrays.hashCode(acName);
+        _h = 31 * _h + includeObject;
+        return _h;
+    }
+
     @Override
     public int numHandles() { return 1; }
 
@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -68,9 +68,9 @@ public class TPM2_Quote_REQUEST extends ReqStructure
     {
         qualifyingData = buf.readSizedByteBuf();
         TPM_ALG_ID inSchemeScheme = TPM_ALG_ID.fromTpm(buf);
-        inScheme = UnionFactory.create("TPMU_SIG_SCHEME", inSchemeScheme);
+        inScheme = UnionFactory.createTPMU_SIG_SCHEME(inSchemeScheme);
         inScheme.initFromTpm(buf);
-        PCRselect = buf.readObjArr(TPMS_PCR_SELECTION.class);
+        PCRselect = buf.readObjArr(TPMS_PCR_SELECTION::fromTpm, TPMS_PCR_SELECTION[]::new);
     }
 
     /** @deprecated Use {@link #toBytes()} instead
@@ -84,7 +84,7 @@ public class TPM2_Quote_REQUEST extends ReqStructure
      */
     public static TPM2_Quote_REQUEST fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPM2_Quote_REQUEST.class);
+        return new TpmBuffer(byteBuf).createObj(TPM2_Quote_REQUEST::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -99,7 +99,7 @@ public class TPM2_Quote_REQUEST extends ReqStructure
      */
     public static TPM2_Quote_REQUEST fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPM2_Quote_REQUEST.class);
+        return buf.createObj(TPM2_Quote_REQUEST::new);
     }
 
     @Override
@@ -120,6 +120,30 @@ public class TPM2_Quote_REQUEST extends ReqStructure
         _p.add(d, "TPMS_PCR_SELECTION[]", "PCRselect", PCRselect);
     }
 
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPM2_Quote_REQUEST that = (TPM2_Quote_REQUEST)o;
+        return Objects.equals(signHandle, that.signHandle)
+            && Arrays.equals(qualifyingData, that.qualifyingData)
+            && Objects.equals(inScheme, that.inScheme)
+            && Arrays.equals(PCRselect, that.PCRselect);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Objects.hashCode(signHandle);
+        _h = 31 * _h + Arrays.hashCode(qualifyingData);
+        _h = 31 * _h + Objects.hashCode(inScheme);
+        _h = 31 * _h + Arrays.hashCode(PCRselect);
+        return _h;
+    }
+
     @Override
     public int numHandles() { return 1; }
 
@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -85,7 +85,7 @@ public class TPM2_RSA_Encrypt_REQUEST extends ReqStructure
     {
         message = buf.readSizedByteBuf();
         TPM_ALG_ID inSchemeScheme = TPM_ALG_ID.fromTpm(buf);
-        inScheme = UnionFactory.create("TPMU_ASYM_SCHEME", inSchemeScheme);
+        inScheme = UnionFactory.createTPMU_ASYM_SCHEME(inSchemeScheme);
         inScheme.initFromTpm(buf);
         label = buf.readSizedByteBuf();
     }
@@ -101,7 +101,7 @@ public class TPM2_RSA_Encrypt_REQUEST extends ReqStructure
      */
     public static TPM2_RSA_Encrypt_REQUEST fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPM2_RSA_Encrypt_REQUEST.class);
+        return new TpmBuffer(byteBuf).createObj(TPM2_RSA_Encrypt_REQUEST::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -116,7 +116,7 @@ public class TPM2_RSA_Encrypt_REQUEST extends ReqStructure
      */
     public static TPM2_RSA_Encrypt_REQUEST fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPM2_RSA_Encrypt_REQUEST.class);
+        return buf.createObj(TPM2_RSA_Encrypt_REQUEST::new);
     }
 
     @Override
@@ -137,6 +137,30 @@ public class TPM2_RSA_Encrypt_REQUEST extends ReqStructure
         _p.add(d, "byte[]", "label", label);
     }
 
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPM2_RSA_Encrypt_REQUEST that = (TPM2_RSA_Encrypt_REQUEST)o;
+        return Objects.equals(keyHandle, that.keyHandle)
+            && Arrays.equals(message, that.message)
+            && Objects.equals(inScheme, that.inScheme)
+            && Arrays.equals(label, that.label);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Objects.hashCode(keyHandle);
+        _h = 31 * _h + Arrays.hashCode(message);
+        _h = 31 * _h + Objects.hashCode(inScheme);
+        _h = 31 * _h + Arrays.hashCode(label);
+        return _h;
+    }
+
     @Override
     public int numHandles() { return 1; }
 
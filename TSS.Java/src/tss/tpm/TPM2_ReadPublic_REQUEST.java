@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -33,7 +33,7 @@ public class TPM2_ReadPublic_REQUEST extends ReqStructure
      */
     public static TPM2_ReadPublic_REQUEST fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPM2_ReadPublic_REQUEST.class);
+        return new TpmBuffer(byteBuf).createObj(TPM2_ReadPublic_REQUEST::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -48,7 +48,7 @@ public class TPM2_ReadPublic_REQUEST extends ReqStructure
      */
     public static TPM2_ReadPublic_REQUEST fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPM2_ReadPublic_REQUEST.class);
+        return buf.createObj(TPM2_ReadPublic_REQUEST::new);
     }
 
     @Override
@@ -66,6 +66,20 @@ public class TPM2_ReadPublic_REQUEST extends ReqStructure
         _p.add(d, "TPM_HANDLE", "objectHandle", objectHandle);
     }
 
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPM2_ReadPublic_REQUEST that = (TPM2_ReadPublic_REQUEST)o;
+        return Objects.equals(objectHandle, that.objectHandle);
+    }
+
+    @Override
+    public int hashCode() { return Objects.hashCode(objectHandle); }
+
     @Override
     public int numHandles() { return 1; }
 
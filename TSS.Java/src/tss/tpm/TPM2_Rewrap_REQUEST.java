@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -92,7 +92,7 @@ public class TPM2_Rewrap_REQUEST extends ReqStructure
      */
     public static TPM2_Rewrap_REQUEST fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPM2_Rewrap_REQUEST.class);
+        return new TpmBuffer(byteBuf).createObj(TPM2_Rewrap_REQUEST::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -107,7 +107,7 @@ public class TPM2_Rewrap_REQUEST extends ReqStructure
      */
     public static TPM2_Rewrap_REQUEST fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPM2_Rewrap_REQUEST.class);
+        return buf.createObj(TPM2_Rewrap_REQUEST::new);
     }
 
     @Override
@@ -129,6 +129,32 @@ public class TPM2_Rewrap_REQUEST extends ReqStructure
         _p.add(d, "byte[]", "inSymSeed", inSymSeed);
     }
 
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPM2_Rewrap_REQUEST that = (TPM2_Rewrap_REQUEST)o;
+        return Objects.equals(oldParent, that.oldParent)
+            && Objects.equals(newParent, that.newParent)
+            && Objects.equals(inDuplicate, that.inDuplicate)
+            && Arrays.equals(name, that.name)
+            && Arrays.equals(inSymSeed, that.inSymSeed);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Objects.hashCode(oldParent);
+        _h = 31 * _h + Objects.hashCode(newParent);
+        _h = 31 * _h + Objects.hashCode(inDuplicate);
+        _h = 31 * _h + Arrays.hashCode(name);
+        _h = 31 * _h + Arrays.hashCode(inSymSeed);
+        return _h;
+    }
+
     @Override
     public int numHandles() { return 2; }
 
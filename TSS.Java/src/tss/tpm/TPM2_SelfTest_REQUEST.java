@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -44,7 +44,7 @@ public class TPM2_SelfTest_REQUEST extends ReqStructure
      */
     public static TPM2_SelfTest_REQUEST fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPM2_SelfTest_REQUEST.class);
+        return new TpmBuffer(byteBuf).createObj(TPM2_SelfTest_REQUEST::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -59,7 +59,7 @@ public class TPM2_SelfTest_REQUEST extends ReqStructure
      */
     public static TPM2_SelfTest_REQUEST fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPM2_SelfTest_REQUEST.class);
+        return buf.createObj(TPM2_SelfTest_REQUEST::new);
     }
 
     @Override
@@ -76,6 +76,20 @@ public class TPM2_SelfTest_REQUEST extends ReqStructure
     {
         _p.add(d, "byte", "fullTest", fullTest);
     }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPM2_SelfTest_REQUEST that = (TPM2_SelfTest_REQUEST)o;
+        return fullTest == that.fullTest;
+    }
+
+    @Override
+    public int hashCode() { return fullTest; }
 }
 
 //<<<
@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -53,7 +53,7 @@ public class TPM2_SetAlgorithmSet_REQUEST extends ReqStructure
      */
     public static TPM2_SetAlgorithmSet_REQUEST fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPM2_SetAlgorithmSet_REQUEST.class);
+        return new TpmBuffer(byteBuf).createObj(TPM2_SetAlgorithmSet_REQUEST::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -68,7 +68,7 @@ public class TPM2_SetAlgorithmSet_REQUEST extends ReqStructure
      */
     public static TPM2_SetAlgorithmSet_REQUEST fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPM2_SetAlgorithmSet_REQUEST.class);
+        return buf.createObj(TPM2_SetAlgorithmSet_REQUEST::new);
     }
 
     @Override
@@ -87,6 +87,26 @@ public class TPM2_SetAlgorithmSet_REQUEST extends ReqStructure
         _p.add(d, "int", "algorithmSet", algorithmSet);
     }
 
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPM2_SetAlgorithmSet_REQUEST that = (TPM2_SetAlgorithmSet_REQUEST)o;
+        return Objects.equals(authHandle, that.authHandle)
+            && algorithmSet == that.algorithmSet;
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Objects.hashCode(authHandle);
+        _h = 31 * _h + algorithmSet;
+        return _h;
+    }
+
     @Override
     public int numHandles() { return 1; }
 
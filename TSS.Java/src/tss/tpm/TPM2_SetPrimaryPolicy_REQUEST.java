@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -80,7 +80,7 @@ public class TPM2_SetPrimaryPolicy_REQUEST extends ReqStructure
      */
     public static TPM2_SetPrimaryPolicy_REQUEST fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPM2_SetPrimaryPolicy_REQUEST.class);
+        return new TpmBuffer(byteBuf).createObj(TPM2_SetPrimaryPolicy_REQUEST::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -95,7 +95,7 @@ public class TPM2_SetPrimaryPolicy_REQUEST extends ReqStructure
      */
     public static TPM2_SetPrimaryPolicy_REQUEST fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPM2_SetPrimaryPolicy_REQUEST.class);
+        return buf.createObj(TPM2_SetPrimaryPolicy_REQUEST::new);
     }
 
     @Override
@@ -115,6 +115,28 @@ public class TPM2_SetPrimaryPolicy_REQUEST extends ReqStructure
         _p.add(d, "TPM_ALG_ID", "hashAlg", hashAlg);
     }
 
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPM2_SetPrimaryPolicy_REQUEST that = (TPM2_SetPrimaryPolicy_REQUEST)o;
+        return Objects.equals(authHandle, that.authHandle)
+            && Arrays.equals(authPolicy, that.authPolicy)
+            && Objects.equals(hashAlg, that.hashAlg);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Objects.hashCode(authHandle);
+        _h = 31 * _h + Arrays.hashCode(authPolicy);
+        _h = 31 * _h + Objects.hashCode(hashAlg);
+        return _h;
+    }
+
     @Override
     public int numHandles() { return 1; }
 
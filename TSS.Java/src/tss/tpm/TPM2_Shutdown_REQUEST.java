@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -39,7 +39,7 @@ public class TPM2_Shutdown_REQUEST extends ReqStructure
      */
     public static TPM2_Shutdown_REQUEST fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPM2_Shutdown_REQUEST.class);
+        return new TpmBuffer(byteBuf).createObj(TPM2_Shutdown_REQUEST::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -54,7 +54,7 @@ public class TPM2_Shutdown_REQUEST extends ReqStructure
      */
     public static TPM2_Shutdown_REQUEST fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPM2_Shutdown_REQUEST.class);
+        return buf.createObj(TPM2_Shutdown_REQUEST::new);
     }
 
     @Override
@@ -71,6 +71,20 @@ public class TPM2_Shutdown_REQUEST extends ReqStructure
     {
         _p.add(d, "TPM_SU", "shutdownType", shutdownType);
     }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPM2_Shutdown_REQUEST that = (TPM2_Shutdown_REQUEST)o;
+        return Objects.equals(shutdownType, that.shutdownType);
+    }
+
+    @Override
+    public int hashCode() { return Objects.hashCode(shutdownType); }
 }
 
 //<<<
@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -75,7 +75,7 @@ public class TPM2_Sign_REQUEST extends ReqStructure
     {
         digest = buf.readSizedByteBuf();
         TPM_ALG_ID inSchemeScheme = TPM_ALG_ID.fromTpm(buf);
-        inScheme = UnionFactory.create("TPMU_SIG_SCHEME", inSchemeScheme);
+        inScheme = UnionFactory.createTPMU_SIG_SCHEME(inSchemeScheme);
         inScheme.initFromTpm(buf);
         validation = TPMT_TK_HASHCHECK.fromTpm(buf);
     }
@@ -91,7 +91,7 @@ public class TPM2_Sign_REQUEST extends ReqStructure
      */
     public static TPM2_Sign_REQUEST fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPM2_Sign_REQUEST.class);
+        return new TpmBuffer(byteBuf).createObj(TPM2_Sign_REQUEST::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -106,7 +106,7 @@ public class TPM2_Sign_REQUEST extends ReqStructure
      */
     public static TPM2_Sign_REQUEST fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPM2_Sign_REQUEST.class);
+        return buf.createObj(TPM2_Sign_REQUEST::new);
     }
 
     @Override
@@ -127,6 +127,30 @@ public class TPM2_Sign_REQUEST extends ReqStructure
         _p.add(d, "TPMT_TK_HASHCHECK", "validation", validation);
     }
 
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPM2_Sign_REQUEST that = (TPM2_Sign_REQUEST)o;
+        return Objects.equals(keyHandle, that.keyHandle)
+            && Arrays.equals(digest, that.digest)
+            && Objects.equals(inScheme, that.inScheme)
+            && Objects.equals(validation, that.validation);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Objects.hashCode(keyHandle);
+        _h = 31 * _h + Arrays.hashCode(digest);
+        _h = 31 * _h + Objects.hashCode(inScheme);
+        _h = 31 * _h + Objects.hashCode(validation);
+        return _h;
+    }
+
     @Override
     public int numHandles() { return 1; }
 
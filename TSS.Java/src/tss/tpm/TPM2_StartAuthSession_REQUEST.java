@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -117,7 +117,7 @@ public class TPM2_StartAuthSession_REQUEST extends ReqStructure
      */
     public static TPM2_StartAuthSession_REQUEST fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPM2_StartAuthSession_REQUEST.class);
+        return new TpmBuffer(byteBuf).createObj(TPM2_StartAuthSession_REQUEST::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -132,7 +132,7 @@ public class TPM2_StartAuthSession_REQUEST extends ReqStructure
      */
     public static TPM2_StartAuthSession_REQUEST fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPM2_StartAuthSession_REQUEST.class);
+        return buf.createObj(TPM2_StartAuthSession_REQUEST::new);
     }
 
     @Override
@@ -156,6 +156,36 @@ public class TPM2_StartAuthSession_REQUEST extends ReqStructure
         _p.add(d, "TPM_ALG_ID", "authHash", authHash);
     }
 
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPM2_StartAuthSession_REQUEST that = (TPM2_StartAuthSession_REQUEST)o;
+        return Objects.equals(tpmKey, that.tpmKey)
+            && Objects.equals(bind, that.bind)
+            && Arrays.equals(nonceCaller, that.nonceCaller)
+            && Arrays.equals(encryptedSalt, that.encryptedSalt)
+            && Objects.equals(sessionType, that.sessionType)
+            && Objects.equals(symmetric, that.symmetric)
+            && Objects.equals(authHash, that.authHash);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Objects.hashCode(tpmKey);
+        _h = 31 * _h + Objects.hashCode(bind);
+        _h = 31 * _h + Arrays.hashCode(nonceCaller);
+        _h = 31 * _h + Arrays.hashCode(encryptedSalt);
+        _h = 31 * _h + Objects.hashCode(sessionType);
+        _h = 31 * _h + Objects.hashCode(symmetric);
+        _h = 31 * _h + Objects.hashCode(authHash);
+        return _h;
+    }
+
     @Override
     public int numHandles() { return 2; }
 
@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -43,7 +43,7 @@ public class TPM2_TestParms_REQUEST extends ReqStructure
     public void initFromTpm(TpmBuffer buf)
     {
         TPM_ALG_ID parametersType = TPM_ALG_ID.fromTpm(buf);
-        parameters = UnionFactory.create("TPMU_PUBLIC_PARMS", parametersType);
+        parameters = UnionFactory.createTPMU_PUBLIC_PARMS(parametersType);
         parameters.initFromTpm(buf);
     }
 
@@ -58,7 +58,7 @@ public class TPM2_TestParms_REQUEST extends ReqStructure
      */
     public static TPM2_TestParms_REQUEST fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPM2_TestParms_REQUEST.class);
+        return new TpmBuffer(byteBuf).createObj(TPM2_TestParms_REQUEST::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -73,7 +73,7 @@ public class TPM2_TestParms_REQUEST extends ReqStructure
      */
     public static TPM2_TestParms_REQUEST fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPM2_TestParms_REQUEST.class);
+        return buf.createObj(TPM2_TestParms_REQUEST::new);
     }
 
     @Override
@@ -90,6 +90,20 @@ public class TPM2_TestParms_REQUEST extends ReqStructure
     {
         _p.add(d, "TPMU_PUBLIC_PARMS", "parameters", parameters);
     }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPM2_TestParms_REQUEST that = (TPM2_TestParms_REQUEST)o;
+        return Objects.equals(parameters, that.parameters);
+    }
+
+    @Override
+    public int hashCode() { return Objects.hashCode(parameters); }
 }
 
 //<<<
@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -37,7 +37,7 @@ public class TPM2_Vendor_TCG_Test_REQUEST extends ReqStructure
      */
     public static TPM2_Vendor_TCG_Test_REQUEST fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPM2_Vendor_TCG_Test_REQUEST.class);
+        return new TpmBuffer(byteBuf).createObj(TPM2_Vendor_TCG_Test_REQUEST::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -52,7 +52,7 @@ public class TPM2_Vendor_TCG_Test_REQUEST extends ReqStructure
      */
     public static TPM2_Vendor_TCG_Test_REQUEST fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPM2_Vendor_TCG_Test_REQUEST.class);
+        return buf.createObj(TPM2_Vendor_TCG_Test_REQUEST::new);
     }
 
     @Override
@@ -70,6 +70,20 @@ public class TPM2_Vendor_TCG_Test_REQUEST extends ReqStructure
         _p.add(d, "byte[]", "inputData", inputData);
     }
 
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPM2_Vendor_TCG_Test_REQUEST that = (TPM2_Vendor_TCG_Test_REQUEST)o;
+        return Arrays.equals(inputData, that.inputData);
+    }
+
+    @Override
+    public int hashCode() { return Arrays.hashCode(inputData); }
+
     @Override
     public SessEncInfo sessEncInfo() { return new SessEncInfo(2, 1); }
 }
@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -62,7 +62,7 @@ public class TPM2_VerifySignature_REQUEST extends ReqStructure
     {
         digest = buf.readSizedByteBuf();
         TPM_ALG_ID signatureSigAlg = TPM_ALG_ID.fromTpm(buf);
-        signature = UnionFactory.create("TPMU_SIGNATURE", signatureSigAlg);
+        signature = UnionFactory.createTPMU_SIGNATURE(signatureSigAlg);
         signature.initFromTpm(buf);
     }
 
@@ -77,7 +77,7 @@ public class TPM2_VerifySignature_REQUEST extends ReqStructure
      */
     public static TPM2_VerifySignature_REQUEST fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPM2_VerifySignature_REQUEST.class);
+        return new TpmBuffer(byteBuf).createObj(TPM2_VerifySignature_REQUEST::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -92,7 +92,7 @@ public class TPM2_VerifySignature_REQUEST extends ReqStructure
      */
     public static TPM2_VerifySignature_REQUEST fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPM2_VerifySignature_REQUEST.class);
+        return buf.createObj(TPM2_VerifySignature_REQUEST::new);
     }
 
     @Override
@@ -112,6 +112,28 @@ public class TPM2_VerifySignature_REQUEST extends ReqStructure
         _p.add(d, "TPMU_SIGNATURE", "signature", signature);
     }
 
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPM2_VerifySignature_REQUEST that = (TPM2_VerifySignature_REQUEST)o;
+        return Objects.equals(keyHandle, that.keyHandle)
+            && Arrays.equals(digest, that.digest)
+            && Objects.equals(signature, that.signature);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Objects.hashCode(keyHandle);
+        _h = 31 * _h + Arrays.hashCode(digest);
+        _h = 31 * _h + Objects.hashCode(signature);
+        return _h;
+    }
+
     @Override
     public int numHandles() { return 1; }
 
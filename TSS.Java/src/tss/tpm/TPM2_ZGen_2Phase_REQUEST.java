@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -71,8 +71,8 @@ public class TPM2_ZGen_2Phase_REQUEST extends ReqStructure
     @Override
     public void initFromTpm(TpmBuffer buf)
     {
-        inQsB = buf.createSizedObj(TPMS_ECC_POINT.class);
-        inQeB = buf.createSizedObj(TPMS_ECC_POINT.class);
+        inQsB = buf.createSizedObj(TPMS_ECC_POINT::new);
+        inQeB = buf.createSizedObj(TPMS_ECC_POINT::new);
         inScheme = TPM_ALG_ID.fromTpm(buf);
         counter = buf.readShort();
     }
@@ -88,7 +88,7 @@ public class TPM2_ZGen_2Phase_REQUEST extends ReqStructure
      */
     public static TPM2_ZGen_2Phase_REQUEST fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPM2_ZGen_2Phase_REQUEST.class);
+        return new TpmBuffer(byteBuf).createObj(TPM2_ZGen_2Phase_REQUEST::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -103,7 +103,7 @@ public class TPM2_ZGen_2Phase_REQUEST extends ReqStructure
      */
     public static TPM2_ZGen_2Phase_REQUEST fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPM2_ZGen_2Phase_REQUEST.class);
+        return buf.createObj(TPM2_ZGen_2Phase_REQUEST::new);
     }
 
     @Override
@@ -125,6 +125,32 @@ public class TPM2_ZGen_2Phase_REQUEST extends ReqStructure
         _p.add(d, "int", "counter", counter);
     }
 
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPM2_ZGen_2Phase_REQUEST that = (TPM2_ZGen_2Phase_REQUEST)o;
+        return Objects.equals(keyA, that.keyA)
+            && Objects.equals(inQsB, that.inQsB)
+            && Objects.equals(inQeB, that.inQeB)
+            && Objects.equals(inScheme, that.inScheme)
+            && counter == that.counter;
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Objects.hashCode(keyA);
+        _h = 31 * _h + Objects.hashCode(inQsB);
+        _h = 31 * _h + Objects.hashCode(inQeB);
+        _h = 31 * _h + Objects.hashCode(inScheme);
+        _h = 31 * _h + counter;
+        return _h;
+    }
+
     @Override
     public int numHandles() { return 1; }
 
@@ -54,7 +54,7 @@ public final class TPMA_ALGORITHM extends TpmAttribute<TPMA_ALGORITHM>
         method
     }
 
-    private static ValueMap<TPMA_ALGORITHM> _ValueMap = new ValueMap<TPMA_ALGORITHM>();
+    private static ValueMap<TPMA_ALGORITHM> _ValueMap = new ValueMap<TPMA_ALGORITHM>(4, TPMA_ALGORITHM::new);
 
     /** These definitions provide mapping of the Java enum constants to their TPM integer values */
     public static final TPMA_ALGORITHM
@@ -69,13 +69,13 @@ public final class TPMA_ALGORITHM extends TpmAttribute<TPMA_ALGORITHM>
     public TPMA_ALGORITHM () { super(0, _ValueMap); }
     public TPMA_ALGORITHM (int value) { super(value, _ValueMap); }
     public TPMA_ALGORITHM (TPMA_ALGORITHM...attrs) { super(_ValueMap, attrs); }
-    public static TPMA_ALGORITHM fromInt (int value) { return TpmEnum.fromInt(value, _ValueMap, TPMA_ALGORITHM.class); }
-    public static TPMA_ALGORITHM fromTpm (byte[] buf) { return TpmEnum.fromTpm(buf, _ValueMap, TPMA_ALGORITHM.class); }
-    public static TPMA_ALGORITHM fromTpm (TpmBuffer buf) { return TpmEnum.fromTpm(buf, _ValueMap, TPMA_ALGORITHM.class); }
+    public static TPMA_ALGORITHM fromInt (int value) { return TpmEnum.fromInt(value, _ValueMap); }
+    public static TPMA_ALGORITHM fromTpm (byte[] buf) { return TpmEnum.fromTpm(buf, _ValueMap); }
+    public static TPMA_ALGORITHM fromTpm (TpmBuffer buf) { return TpmEnum.fromTpm(buf, _ValueMap); }
     public TPMA_ALGORITHM._N asEnum() { return (TPMA_ALGORITHM._N)NameAsEnum; }
     public static Collection<TPMA_ALGORITHM> values() { return _ValueMap.values(); }
     public boolean hasAttr (TPMA_ALGORITHM attr) { return super.hasAttr(attr); }
-    public TPMA_ALGORITHM maskAttr (TPMA_ALGORITHM attr) { return super.maskAttr(attr, _ValueMap, TPMA_ALGORITHM.class); }
+    public TPMA_ALGORITHM maskAttr (TPMA_ALGORITHM attr) { return super.maskAttr(attr, _ValueMap); }
     private TPMA_ALGORITHM (int value, _N nameAsEnum) { super(value, nameAsEnum, _ValueMap); }
     private TPMA_ALGORITHM (int value, _N nameAsEnum, boolean noConvFromInt) { super(value, nameAsEnum, null); }
 
@@ -59,7 +59,7 @@ public final class TPMA_CC extends TpmAttribute<TPMA_CC>
         Res_BIT_LENGTH
     }
 
-    private static ValueMap<TPMA_CC> _ValueMap = new ValueMap<TPMA_CC>();
+    private static ValueMap<TPMA_CC> _ValueMap = new ValueMap<TPMA_CC>(4, TPMA_CC::new);
 
     /** These definitions provide mapping of the Java enum constants to their TPM integer values */
     public static final TPMA_CC
@@ -81,13 +81,13 @@ public final class TPMA_CC extends TpmAttribute<TPMA_CC>
     public TPMA_CC () { super(0, _ValueMap); }
     public TPMA_CC (int value) { super(value, _ValueMap); }
     public TPMA_CC (TPMA_CC...attrs) { super(_ValueMap, attrs); }
-    public static TPMA_CC fromInt (int value) { return TpmEnum.fromInt(value, _ValueMap, TPMA_CC.class); }
-    public static TPMA_CC fromTpm (byte[] buf) { return TpmEnum.fromTpm(buf, _ValueMap, TPMA_CC.class); }
-    public static TPMA_CC fromTpm (TpmBuffer buf) { return TpmEnum.fromTpm(buf, _ValueMap, TPMA_CC.class); }
+    public static TPMA_CC fromInt (int value) { return TpmEnum.fromInt(value, _ValueMap); }
+    public static TPMA_CC fromTpm (byte[] buf) { return TpmEnum.fromTpm(buf, _ValueMap); }
+    public static TPMA_CC fromTpm (TpmBuffer buf) { return TpmEnum.fromTpm(buf, _ValueMap); }
     public TPMA_CC._N asEnum() { return (TPMA_CC._N)NameAsEnum; }
     public static Collection<TPMA_CC> values() { return _ValueMap.values(); }
     public boolean hasAttr (TPMA_CC attr) { return super.hasAttr(attr); }
-    public TPMA_CC maskAttr (TPMA_CC attr) { return super.maskAttr(attr, _ValueMap, TPMA_CC.class); }
+    public TPMA_CC maskAttr (TPMA_CC attr) { return super.maskAttr(attr, _ValueMap); }
     private TPMA_CC (int value, _N nameAsEnum) { super(value, nameAsEnum, _ValueMap); }
     private TPMA_CC (int value, _N nameAsEnum, boolean noConvFromInt) { super(value, nameAsEnum, null); }
 
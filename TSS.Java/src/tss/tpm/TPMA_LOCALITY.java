@@ -31,7 +31,7 @@ public final class TPMA_LOCALITY extends TpmAttribute<TPMA_LOCALITY>
         Extended_BIT_LENGTH
     }
 
-    private static ValueMap<TPMA_LOCALITY> _ValueMap = new ValueMap<TPMA_LOCALITY>();
+    private static ValueMap<TPMA_LOCALITY> _ValueMap = new ValueMap<TPMA_LOCALITY>(1, TPMA_LOCALITY::new);
 
     /** These definitions provide mapping of the Java enum constants to their TPM integer values */
     public static final TPMA_LOCALITY
@@ -47,13 +47,13 @@ public final class TPMA_LOCALITY extends TpmAttribute<TPMA_LOCALITY>
     public TPMA_LOCALITY () { super(0, _ValueMap); }
     public TPMA_LOCALITY (int value) { super(value, _ValueMap); }
     public TPMA_LOCALITY (TPMA_LOCALITY...attrs) { super(_ValueMap, attrs); }
-    public static TPMA_LOCALITY fromInt (int value) { return TpmEnum.fromInt(value, _ValueMap, TPMA_LOCALITY.class); }
-    public static TPMA_LOCALITY fromTpm (byte[] buf) { return TpmEnum.fromTpm(buf, _ValueMap, TPMA_LOCALITY.class); }
-    public static TPMA_LOCALITY fromTpm (TpmBuffer buf) { return TpmEnum.fromTpm(buf, _ValueMap, TPMA_LOCALITY.class); }
+    public static TPMA_LOCALITY fromInt (int value) { return TpmEnum.fromInt(value, _ValueMap); }
+    public static TPMA_LOCALITY fromTpm (byte[] buf) { return TpmEnum.fromTpm(buf, _ValueMap); }
+    public static TPMA_LOCALITY fromTpm (TpmBuffer buf) { return TpmEnum.fromTpm(buf, _ValueMap); }
     public TPMA_LOCALITY._N asEnum() { return (TPMA_LOCALITY._N)NameAsEnum; }
     public static Collection<TPMA_LOCALITY> values() { return _ValueMap.values(); }
     public boolean hasAttr (TPMA_LOCALITY attr) { return super.hasAttr(attr); }
-    public TPMA_LOCALITY maskAttr (TPMA_LOCALITY attr) { return super.maskAttr(attr, _ValueMap, TPMA_LOCALITY.class); }
+    public TPMA_LOCALITY maskAttr (TPMA_LOCALITY attr) { return super.maskAttr(attr, _ValueMap); }
     private TPMA_LOCALITY (int value, _N nameAsEnum) { super(value, nameAsEnum, _ValueMap); }
     private TPMA_LOCALITY (int value, _N nameAsEnum, boolean noConvFromInt) { super(value, nameAsEnum, null); }
 
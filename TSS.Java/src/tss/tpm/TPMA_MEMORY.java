@@ -42,7 +42,7 @@ public final class TPMA_MEMORY extends TpmAttribute<TPMA_MEMORY>
         objectCopiedToRam
     }
 
-    private static ValueMap<TPMA_MEMORY> _ValueMap = new ValueMap<TPMA_MEMORY>();
+    private static ValueMap<TPMA_MEMORY> _ValueMap = new ValueMap<TPMA_MEMORY>(4, TPMA_MEMORY::new);
 
     /** These definitions provide mapping of the Java enum constants to their TPM integer values */
     public static final TPMA_MEMORY
@@ -53,13 +53,13 @@ public final class TPMA_MEMORY extends TpmAttribute<TPMA_MEMORY>
     public TPMA_MEMORY () { super(0, _ValueMap); }
     public TPMA_MEMORY (int value) { super(value, _ValueMap); }
     public TPMA_MEMORY (TPMA_MEMORY...attrs) { super(_ValueMap, attrs); }
-    public static TPMA_MEMORY fromInt (int value) { return TpmEnum.fromInt(value, _ValueMap, TPMA_MEMORY.class); }
-    public static TPMA_MEMORY fromTpm (byte[] buf) { return TpmEnum.fromTpm(buf, _ValueMap, TPMA_MEMORY.class); }
-    public static TPMA_MEMORY fromTpm (TpmBuffer buf) { return TpmEnum.fromTpm(buf, _ValueMap, TPMA_MEMORY.class); }
+    public static TPMA_MEMORY fromInt (int value) { return TpmEnum.fromInt(value, _ValueMap); }
+    public static TPMA_MEMORY fromTpm (byte[] buf) { return TpmEnum.fromTpm(buf, _ValueMap); }
+    public static TPMA_MEMORY fromTpm (TpmBuffer buf) { return TpmEnum.fromTpm(buf, _ValueMap); }
     public TPMA_MEMORY._N asEnum() { return (TPMA_MEMORY._N)NameAsEnum; }
     public static Collection<TPMA_MEMORY> values() { return _ValueMap.values(); }
     public boolean hasAttr (TPMA_MEMORY attr) { return super.hasAttr(attr); }
-    public TPMA_MEMORY maskAttr (TPMA_MEMORY attr) { return super.maskAttr(attr, _ValueMap, TPMA_MEMORY.class); }
+    public TPMA_MEMORY maskAttr (TPMA_MEMORY attr) { return super.maskAttr(attr, _ValueMap); }
     private TPMA_MEMORY (int value, _N nameAsEnum) { super(value, nameAsEnum, _ValueMap); }
     private TPMA_MEMORY (int value, _N nameAsEnum, boolean noConvFromInt) { super(value, nameAsEnum, null); }
 
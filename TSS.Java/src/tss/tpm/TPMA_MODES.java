@@ -25,7 +25,7 @@ public final class TPMA_MODES extends TpmAttribute<TPMA_MODES>
         FIPS_140_2
     }
 
-    private static ValueMap<TPMA_MODES> _ValueMap = new ValueMap<TPMA_MODES>();
+    private static ValueMap<TPMA_MODES> _ValueMap = new ValueMap<TPMA_MODES>(4, TPMA_MODES::new);
 
     /** These definitions provide mapping of the Java enum constants to their TPM integer values */
     public static final TPMA_MODES
@@ -34,13 +34,13 @@ public final class TPMA_MODES extends TpmAttribute<TPMA_MODES>
     public TPMA_MODES () { super(0, _ValueMap); }
     public TPMA_MODES (int value) { super(value, _ValueMap); }
     public TPMA_MODES (TPMA_MODES...attrs) { super(_ValueMap, attrs); }
-    public static TPMA_MODES fromInt (int value) { return TpmEnum.fromInt(value, _ValueMap, TPMA_MODES.class); }
-    public static TPMA_MODES fromTpm (byte[] buf) { return TpmEnum.fromTpm(buf, _ValueMap, TPMA_MODES.class); }
-    public static TPMA_MODES fromTpm (TpmBuffer buf) { return TpmEnum.fromTpm(buf, _ValueMap, TPMA_MODES.class); }
+    public static TPMA_MODES fromInt (int value) { return TpmEnum.fromInt(value, _ValueMap); }
+    public static TPMA_MODES fromTpm (byte[] buf) { return TpmEnum.fromTpm(buf, _ValueMap); }
+    public static TPMA_MODES fromTpm (TpmBuffer buf) { return TpmEnum.fromTpm(buf, _ValueMap); }
     public TPMA_MODES._N asEnum() { return (TPMA_MODES._N)NameAsEnum; }
     public static Collection<TPMA_MODES> values() { return _ValueMap.values(); }
     public boolean hasAttr (TPMA_MODES attr) { return super.hasAttr(attr); }
-    public TPMA_MODES maskAttr (TPMA_MODES attr) { return super.maskAttr(attr, _ValueMap, TPMA_MODES.class); }
+    public TPMA_MODES maskAttr (TPMA_MODES attr) { return super.maskAttr(attr, _ValueMap); }
     private TPMA_MODES (int value, _N nameAsEnum) { super(value, nameAsEnum, _ValueMap); }
     private TPMA_MODES (int value, _N nameAsEnum, boolean noConvFromInt) { super(value, nameAsEnum, null); }
 
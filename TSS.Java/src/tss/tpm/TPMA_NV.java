@@ -180,7 +180,7 @@ public final class TPMA_NV extends TpmAttribute<TPMA_NV>
         READ_STCLEAR
     }
 
-    private static ValueMap<TPMA_NV> _ValueMap = new ValueMap<TPMA_NV>();
+    private static ValueMap<TPMA_NV> _ValueMap = new ValueMap<TPMA_NV>(4, TPMA_NV::new);
 
     /** These definitions provide mapping of the Java enum constants to their TPM integer values */
     public static final TPMA_NV
@@ -218,13 +218,13 @@ public final class TPMA_NV extends TpmAttribute<TPMA_NV>
     public TPMA_NV () { super(0, _ValueMap); }
     public TPMA_NV (int value) { super(value, _ValueMap); }
     public TPMA_NV (TPMA_NV...attrs) { super(_ValueMap, attrs); }
-    public static TPMA_NV fromInt (int value) { return TpmEnum.fromInt(value, _ValueMap, TPMA_NV.class); }
-    public static TPMA_NV fromTpm (byte[] buf) { return TpmEnum.fromTpm(buf, _ValueMap, TPMA_NV.class); }
-    public static TPMA_NV fromTpm (TpmBuffer buf) { return TpmEnum.fromTpm(buf, _ValueMap, TPMA_NV.class); }
+    public static TPMA_NV fromInt (int value) { return TpmEnum.fromInt(value, _ValueMap); }
+    public static TPMA_NV fromTpm (byte[] buf) { return TpmEnum.fromTpm(buf, _ValueMap); }
+    public static TPMA_NV fromTpm (TpmBuffer buf) { return TpmEnum.fromTpm(buf, _ValueMap); }
     public TPMA_NV._N asEnum() { return (TPMA_NV._N)NameAsEnum; }
     public static Collection<TPMA_NV> values() { return _ValueMap.values(); }
     public boolean hasAttr (TPMA_NV attr) { return super.hasAttr(attr); }
-    public TPMA_NV maskAttr (TPMA_NV attr) { return super.maskAttr(attr, _ValueMap, TPMA_NV.class); }
+    public TPMA_NV maskAttr (TPMA_NV attr) { return super.maskAttr(attr, _ValueMap); }
     private TPMA_NV (int value, _N nameAsEnum) { super(value, nameAsEnum, _ValueMap); }
     private TPMA_NV (int value, _N nameAsEnum, boolean noConvFromInt) { super(value, nameAsEnum, null); }
 
@@ -98,7 +98,7 @@ public final class TPMA_OBJECT extends TpmAttribute<TPMA_OBJECT>
         x509sign
     }
 
-    private static ValueMap<TPMA_OBJECT> _ValueMap = new ValueMap<TPMA_OBJECT>();
+    private static ValueMap<TPMA_OBJECT> _ValueMap = new ValueMap<TPMA_OBJECT>(4, TPMA_OBJECT::new);
 
     /** These definitions provide mapping of the Java enum constants to their TPM integer values */
     public static final TPMA_OBJECT
@@ -119,13 +119,13 @@ public final class TPMA_OBJECT extends TpmAttribute<TPMA_OBJECT>
     public TPMA_OBJECT () { super(0, _ValueMap); }
     public TPMA_OBJECT (int value) { super(value, _ValueMap); }
     public TPMA_OBJECT (TPMA_OBJECT...attrs) { super(_ValueMap, attrs); }
-    public static TPMA_OBJECT fromInt (int value) { return TpmEnum.fromInt(value, _ValueMap, TPMA_OBJECT.class); }
-    public static TPMA_OBJECT fromTpm (byte[] buf) { return TpmEnum.fromTpm(buf, _ValueMap, TPMA_OBJECT.class); }
-    public static TPMA_OBJECT fromTpm (TpmBuffer buf) { return TpmEnum.fromTpm(buf, _ValueMap, TPMA_OBJECT.class); }
+    public static TPMA_OBJECT fromInt (int value) { return TpmEnum.fromInt(value, _ValueMap); }
+    public static TPMA_OBJECT fromTpm (byte[] buf) { return TpmEnum.fromTpm(buf, _ValueMap); }
+    public static TPMA_OBJECT fromTpm (TpmBuffer buf) { return TpmEnum.fromTpm(buf, _ValueMap); }
     public TPMA_OBJECT._N asEnum() { return (TPMA_OBJECT._N)NameAsEnum; }
     public static Collection<TPMA_OBJECT> values() { return _ValueMap.values(); }
     public boolean hasAttr (TPMA_OBJECT attr) { return super.hasAttr(attr); }
-    public TPMA_OBJECT maskAttr (TPMA_OBJECT attr) { return super.maskAttr(attr, _ValueMap, TPMA_OBJECT.class); }
+    public TPMA_OBJECT maskAttr (TPMA_OBJECT attr) { return super.maskAttr(attr, _ValueMap); }
     private TPMA_OBJECT (int value, _N nameAsEnum) { super(value, nameAsEnum, _ValueMap); }
     private TPMA_OBJECT (int value, _N nameAsEnum, boolean noConvFromInt) { super(value, nameAsEnum, null); }
 
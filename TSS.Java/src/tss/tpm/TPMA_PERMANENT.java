@@ -52,7 +52,7 @@ public final class TPMA_PERMANENT extends TpmAttribute<TPMA_PERMANENT>
         tpmGeneratedEPS
     }
 
-    private static ValueMap<TPMA_PERMANENT> _ValueMap = new ValueMap<TPMA_PERMANENT>();
+    private static ValueMap<TPMA_PERMANENT> _ValueMap = new ValueMap<TPMA_PERMANENT>(4, TPMA_PERMANENT::new);
 
     /** These definitions provide mapping of the Java enum constants to their TPM integer values */
     public static final TPMA_PERMANENT
@@ -66,13 +66,13 @@ public final class TPMA_PERMANENT extends TpmAttribute<TPMA_PERMANENT>
     public TPMA_PERMANENT () { super(0, _ValueMap); }
     public TPMA_PERMANENT (int value) { super(value, _ValueMap); }
     public TPMA_PERMANENT (TPMA_PERMANENT...attrs) { super(_ValueMap, attrs); }
-    public static TPMA_PERMANENT fromInt (int value) { return TpmEnum.fromInt(value, _ValueMap, TPMA_PERMANENT.class); }
-    public static TPMA_PERMANENT fromTpm (byte[] buf) { return TpmEnum.fromTpm(buf, _ValueMap, TPMA_PERMANENT.class); }
-    public static TPMA_PERMANENT fromTpm (TpmBuffer buf) { return TpmEnum.fromTpm(buf, _ValueMap, TPMA_PERMANENT.class); }
+    public static TPMA_PERMANENT fromInt (int value) { return TpmEnum.fromInt(value, _ValueMap); }
+    public static TPMA_PERMANENT fromTpm (byte[] buf) { return TpmEnum.fromTpm(buf, _ValueMap); }
+    public static TPMA_PERMANENT fromTpm (TpmBuffer buf) { return TpmEnum.fromTpm(buf, _ValueMap); }
     public TPMA_PERMANENT._N asEnum() { return (TPMA_PERMANENT._N)NameAsEnum; }
     public static Collection<TPMA_PERMANENT> values() { return _ValueMap.values(); }
     public boolean hasAttr (TPMA_PERMANENT attr) { return super.hasAttr(attr); }
-    public TPMA_PERMANENT maskAttr (TPMA_PERMANENT attr) { return super.maskAttr(attr, _ValueMap, TPMA_PERMANENT.class); }
+    public TPMA_PERMANENT maskAttr (TPMA_PERMANENT attr) { return super.maskAttr(attr, _ValueMap); }
     private TPMA_PERMANENT (int value, _N nameAsEnum) { super(value, nameAsEnum, _ValueMap); }
     private TPMA_PERMANENT (int value, _N nameAsEnum, boolean noConvFromInt) { super(value, nameAsEnum, null); }
 
@@ -86,7 +86,7 @@ public final class TPMA_SESSION extends TpmAttribute<TPMA_SESSION>
         audit
     }
 
-    private static ValueMap<TPMA_SESSION> _ValueMap = new ValueMap<TPMA_SESSION>();
+    private static ValueMap<TPMA_SESSION> _ValueMap = new ValueMap<TPMA_SESSION>(1, TPMA_SESSION::new);
 
     /** These definitions provide mapping of the Java enum constants to their TPM integer values */
     public static final TPMA_SESSION
@@ -100,13 +100,13 @@ public final class TPMA_SESSION extends TpmAttribute<TPMA_SESSION>
     public TPMA_SESSION () { super(0, _ValueMap); }
     public TPMA_SESSION (int value) { super(value, _ValueMap); }
     public TPMA_SESSION (TPMA_SESSION...attrs) { super(_ValueMap, attrs); }
-    public static TPMA_SESSION fromInt (int value) { return TpmEnum.fromInt(value, _ValueMap, TPMA_SESSION.class); }
-    public static TPMA_SESSION fromTpm (byte[] buf) { return TpmEnum.fromTpm(buf, _ValueMap, TPMA_SESSION.class); }
-    public static TPMA_SESSION fromTpm (TpmBuffer buf) { return TpmEnum.fromTpm(buf, _ValueMap, TPMA_SESSION.class); }
+    public static TPMA_SESSION fromInt (int value) { return TpmEnum.fromInt(value, _ValueMap); }
+    public static TPMA_SESSION fromTpm (byte[] buf) { return TpmEnum.fromTpm(buf, _ValueMap); }
+    public static TPMA_SESSION fromTpm (TpmBuffer buf) { return TpmEnum.fromTpm(buf, _ValueMap); }
     public TPMA_SESSION._N asEnum() { return (TPMA_SESSION._N)NameAsEnum; }
     public static Collection<TPMA_SESSION> values() { return _ValueMap.values(); }
     public boolean hasAttr (TPMA_SESSION attr) { return super.hasAttr(attr); }
-    public TPMA_SESSION maskAttr (TPMA_SESSION attr) { return super.maskAttr(attr, _ValueMap, TPMA_SESSION.class); }
+    public TPMA_SESSION maskAttr (TPMA_SESSION attr) { return super.maskAttr(attr, _ValueMap); }
     private TPMA_SESSION (int value, _N nameAsEnum) { super(value, nameAsEnum, _ValueMap); }
     private TPMA_SESSION (int value, _N nameAsEnum, boolean noConvFromInt) { super(value, nameAsEnum, null); }
 
@@ -52,7 +52,7 @@ public final class TPMA_X509_KEY_USAGE extends TpmAttribute<TPMA_X509_KEY_USAGE>
         digitalSignature
     }
 
-    private static ValueMap<TPMA_X509_KEY_USAGE> _ValueMap = new ValueMap<TPMA_X509_KEY_USAGE>();
+    private static ValueMap<TPMA_X509_KEY_USAGE> _ValueMap = new ValueMap<TPMA_X509_KEY_USAGE>(4, TPMA_X509_KEY_USAGE::new);
 
     /** These definitions provide mapping of the Java enum constants to their TPM integer values */
     public static final TPMA_X509_KEY_USAGE
@@ -70,13 +70,13 @@ public final class TPMA_X509_KEY_USAGE extends TpmAttribute<TPMA_X509_KEY_USAGE>
     public TPMA_X509_KEY_USAGE () { super(0, _ValueMap); }
     public TPMA_X509_KEY_USAGE (int value) { super(value, _ValueMap); }
     public TPMA_X509_KEY_USAGE (TPMA_X509_KEY_USAGE...attrs) { super(_ValueMap, attrs); }
-    public static TPMA_X509_KEY_USAGE fromInt (int value) { return TpmEnum.fromInt(value, _ValueMap, TPMA_X509_KEY_USAGE.class); }
-    public static TPMA_X509_KEY_USAGE fromTpm (byte[] buf) { return TpmEnum.fromTpm(buf, _ValueMap, TPMA_X509_KEY_USAGE.class); }
-    public static TPMA_X509_KEY_USAGE fromTpm (TpmBuffer buf) { return TpmEnum.fromTpm(buf, _ValueMap, TPMA_X509_KEY_USAGE.class); }
+    public static TPMA_X509_KEY_USAGE fromInt (int value) { return TpmEnum.fromInt(value, _ValueMap); }
+    public static TPMA_X509_KEY_USAGE fromTpm (byte[] buf) { return TpmEnum.fromTpm(buf, _ValueMap); }
+    public static TPMA_X509_KEY_USAGE fromTpm (TpmBuffer buf) { return TpmEnum.fromTpm(buf, _ValueMap); }
     public TPMA_X509_KEY_USAGE._N asEnum() { return (TPMA_X509_KEY_USAGE._N)NameAsEnum; }
     public static Collection<TPMA_X509_KEY_USAGE> values() { return _ValueMap.values(); }
     public boolean hasAttr (TPMA_X509_KEY_USAGE attr) { return super.hasAttr(attr); }
-    public TPMA_X509_KEY_USAGE maskAttr (TPMA_X509_KEY_USAGE attr) { return super.maskAttr(attr, _ValueMap, TPMA_X509_KEY_USAGE.class); }
+    public TPMA_X509_KEY_USAGE maskAttr (TPMA_X509_KEY_USAGE attr) { return super.maskAttr(attr, _ValueMap); }
     private TPMA_X509_KEY_USAGE (int value, _N nameAsEnum) { super(value, nameAsEnum, _ValueMap); }
     private TPMA_X509_KEY_USAGE (int value, _N nameAsEnum, boolean noConvFromInt) { super(value, nameAsEnum, null); }
 
@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -29,7 +29,7 @@ public class TPML_ACT_DATA extends TpmStructure implements TPMU_CAPABILITIES
 
     /** TpmMarshaller method */
     @Override
-    public void initFromTpm(TpmBuffer buf) { actData = buf.readObjArr(TPMS_ACT_DATA.class); }
+    public void initFromTpm(TpmBuffer buf) { actData = buf.readObjArr(TPMS_ACT_DATA::fromTpm, TPMS_ACT_DATA[]::new); }
 
     /** @deprecated Use {@link #toBytes()} instead
      *  @return Wire (marshaled) representation of this object
@@ -42,7 +42,7 @@ public class TPML_ACT_DATA extends TpmStructure implements TPMU_CAPABILITIES
      */
     public static TPML_ACT_DATA fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPML_ACT_DATA.class);
+        return new TpmBuffer(byteBuf).createObj(TPML_ACT_DATA::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -57,7 +57,7 @@ public class TPML_ACT_DATA extends TpmStructure implements TPMU_CAPABILITIES
      */
     public static TPML_ACT_DATA fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPML_ACT_DATA.class);
+        return buf.createObj(TPML_ACT_DATA::new);
     }
 
     @Override
@@ -74,6 +74,20 @@ public class TPML_ACT_DATA extends TpmStructure implements TPMU_CAPABILITIES
     {
         _p.add(d, "TPMS_ACT_DATA[]", "actData", actData);
     }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPML_ACT_DATA that = (TPML_ACT_DATA)o;
+        return Arrays.equals(actData, that.actData);
+    }
+
+    @Override
+    public int hashCode() { return Arrays.hashCode(actData); }
 }
 
 //<<<
@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -24,7 +24,7 @@ public class TPML_AC_CAPABILITIES extends TpmStructure
 
     /** TpmMarshaller method */
     @Override
-    public void initFromTpm(TpmBuffer buf) { acCapabilities = buf.readObjArr(TPMS_AC_OUTPUT.class); }
+    public void initFromTpm(TpmBuffer buf) { acCapabilities = buf.readObjArr(TPMS_AC_OUTPUT::fromTpm, TPMS_AC_OUTPUT[]::new); }
 
     /** @deprecated Use {@link #toBytes()} instead
      *  @return Wire (marshaled) representation of this object
@@ -37,7 +37,7 @@ public class TPML_AC_CAPABILITIES extends TpmStructure
      */
     public static TPML_AC_CAPABILITIES fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPML_AC_CAPABILITIES.class);
+        return new TpmBuffer(byteBuf).createObj(TPML_AC_CAPABILITIES::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -52,7 +52,7 @@ public class TPML_AC_CAPABILITIES extends TpmStructure
      */
     public static TPML_AC_CAPABILITIES fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPML_AC_CAPABILITIES.class);
+        return buf.createObj(TPML_AC_CAPABILITIES::new);
     }
 
     @Override
@@ -69,6 +69,20 @@ public class TPML_AC_CAPABILITIES extends TpmStructure
     {
         _p.add(d, "TPMS_AC_OUTPUT[]", "acCapabilities", acCapabilities);
     }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPML_AC_CAPABILITIES that = (TPML_AC_CAPABILITIES)o;
+        return Arrays.equals(acCapabilities, that.acCapabilities);
+    }
+
+    @Override
+    public int hashCode() { return Arrays.hashCode(acCapabilities); }
 }
 
 //<<<
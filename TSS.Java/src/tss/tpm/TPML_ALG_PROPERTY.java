@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -29,7 +29,7 @@ public class TPML_ALG_PROPERTY extends TpmStructure implements TPMU_CAPABILITIES
 
     /** TpmMarshaller method */
     @Override
-    public void initFromTpm(TpmBuffer buf) { algProperties = buf.readObjArr(TPMS_ALG_PROPERTY.class); }
+    public void initFromTpm(TpmBuffer buf) { algProperties = buf.readObjArr(TPMS_ALG_PROPERTY::fromTpm, TPMS_ALG_PROPERTY[]::new); }
 
     /** @deprecated Use {@link #toBytes()} instead
      *  @return Wire (marshaled) representation of this object
@@ -42,7 +42,7 @@ public class TPML_ALG_PROPERTY extends TpmStructure implements TPMU_CAPABILITIES
      */
     public static TPML_ALG_PROPERTY fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPML_ALG_PROPERTY.class);
+        return new TpmBuffer(byteBuf).createObj(TPML_ALG_PROPERTY::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -57,7 +57,7 @@ public class TPML_ALG_PROPERTY extends TpmStructure implements TPMU_CAPABILITIES
      */
     public static TPML_ALG_PROPERTY fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPML_ALG_PROPERTY.class);
+        return buf.createObj(TPML_ALG_PROPERTY::new);
     }
 
     @Override
@@ -74,6 +74,20 @@ public class TPML_ALG_PROPERTY extends TpmStructure implements TPMU_CAPABILITIES
     {
         _p.add(d, "TPMS_ALG_PROPERTY[]", "algProperties", algProperties);
     }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPML_ALG_PROPERTY that = (TPML_ALG_PROPERTY)o;
+        return Arrays.equals(algProperties, that.algProperties);
+    }
+
+    @Override
+    public int hashCode() { return Arrays.hashCode(algProperties); }
 }
 
 //<<<
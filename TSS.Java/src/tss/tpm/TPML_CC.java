@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -36,7 +36,7 @@ public class TPML_CC extends TpmStructure implements TPMU_CAPABILITIES
 
     /** TpmMarshaller method */
     @Override
-    public void initFromTpm(TpmBuffer buf) { commandCodes = buf.readObjArr(TPM_CC.class); }
+    public void initFromTpm(TpmBuffer buf) { commandCodes = buf.readObjArr(TPM_CC::fromTpm, TPM_CC[]::new); }
 
     /** @deprecated Use {@link #toBytes()} instead
      *  @return Wire (marshaled) representation of this object
@@ -49,7 +49,7 @@ public class TPML_CC extends TpmStructure implements TPMU_CAPABILITIES
      */
     public static TPML_CC fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPML_CC.class);
+        return new TpmBuffer(byteBuf).createObj(TPML_CC::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -64,7 +64,7 @@ public class TPML_CC extends TpmStructure implements TPMU_CAPABILITIES
      */
     public static TPML_CC fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPML_CC.class);
+        return buf.createObj(TPML_CC::new);
     }
 
     @Override
@@ -81,6 +81,20 @@ public class TPML_CC extends TpmStructure implements TPMU_CAPABILITIES
     {
         _p.add(d, "TPM_CC[]", "commandCodes", commandCodes);
     }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPML_CC that = (TPML_CC)o;
+        return Arrays.equals(commandCodes, that.commandCodes);
+    }
+
+    @Override
+    public int hashCode() { return Arrays.hashCode(commandCodes); }
 }
 
 //<<<
@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -27,7 +27,7 @@ public class TPML_CCA extends TpmStructure implements TPMU_CAPABILITIES
 
     /** TpmMarshaller method */
     @Override
-    public void initFromTpm(TpmBuffer buf) { commandAttributes = buf.readObjArr(TPMA_CC.class); }
+    public void initFromTpm(TpmBuffer buf) { commandAttributes = buf.readObjArr(TPMA_CC::fromTpm, TPMA_CC[]::new); }
 
     /** @deprecated Use {@link #toBytes()} instead
      *  @return Wire (marshaled) representation of this object
@@ -40,7 +40,7 @@ public class TPML_CCA extends TpmStructure implements TPMU_CAPABILITIES
      */
     public static TPML_CCA fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPML_CCA.class);
+        return new TpmBuffer(byteBuf).createObj(TPML_CCA::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -55,7 +55,7 @@ public class TPML_CCA extends TpmStructure implements TPMU_CAPABILITIES
      */
     public static TPML_CCA fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPML_CCA.class);
+        return buf.createObj(TPML_CCA::new);
     }
 
     @Override
@@ -72,6 +72,20 @@ public class TPML_CCA extends TpmStructure implements TPMU_CAPABILITIES
     {
         _p.add(d, "TPMA_CC[]", "commandAttributes", commandAttributes);
     }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPML_CCA that = (TPML_CCA)o;
+        return Arrays.equals(commandAttributes, that.commandAttributes);
+    }
+
+    @Override
+    public int hashCode() { return Arrays.hashCode(commandAttributes); }
 }
 
 //<<<
@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -35,7 +35,7 @@ public class TPML_DIGEST extends TpmStructure
 
     /** TpmMarshaller method */
     @Override
-    public void initFromTpm(TpmBuffer buf) { digests = buf.readObjArr(TPM2B_DIGEST.class); }
+    public void initFromTpm(TpmBuffer buf) { digests = buf.readObjArr(TPM2B_DIGEST::fromTpm, TPM2B_DIGEST[]::new); }
 
     /** @deprecated Use {@link #toBytes()} instead
      *  @return Wire (marshaled) representation of this object
@@ -48,7 +48,7 @@ public class TPML_DIGEST extends TpmStructure
      */
     public static TPML_DIGEST fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPML_DIGEST.class);
+        return new TpmBuffer(byteBuf).createObj(TPML_DIGEST::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -63,7 +63,7 @@ public class TPML_DIGEST extends TpmStructure
      */
     public static TPML_DIGEST fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPML_DIGEST.class);
+        return buf.createObj(TPML_DIGEST::new);
     }
 
     @Override
@@ -80,6 +80,20 @@ public class TPML_DIGEST extends TpmStructure
     {
         _p.add(d, "TPM2B_DIGEST[]", "digests", digests);
     }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPML_DIGEST that = (TPML_DIGEST)o;
+        return Arrays.equals(digests, that.digests);
+    }
+
+    @Override
+    public int hashCode() { return Arrays.hashCode(digests); }
 }
 
 //<<<
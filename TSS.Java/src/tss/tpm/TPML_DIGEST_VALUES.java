@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -26,7 +26,7 @@ public class TPML_DIGEST_VALUES extends TpmStructure
 
     /** TpmMarshaller method */
     @Override
-    public void initFromTpm(TpmBuffer buf) { digests = buf.readObjArr(TPMT_HA.class); }
+    public void initFromTpm(TpmBuffer buf) { digests = buf.readObjArr(TPMT_HA::fromTpm, TPMT_HA[]::new); }
 
     /** @deprecated Use {@link #toBytes()} instead
      *  @return Wire (marshaled) representation of this object
@@ -39,7 +39,7 @@ public class TPML_DIGEST_VALUES extends TpmStructure
      */
     public static TPML_DIGEST_VALUES fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPML_DIGEST_VALUES.class);
+        return new TpmBuffer(byteBuf).createObj(TPML_DIGEST_VALUES::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -54,7 +54,7 @@ public class TPML_DIGEST_VALUES extends TpmStructure
      */
     public static TPML_DIGEST_VALUES fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPML_DIGEST_VALUES.class);
+        return buf.createObj(TPML_DIGEST_VALUES::new);
     }
 
     @Override
@@ -71,6 +71,20 @@ public class TPML_DIGEST_VALUES extends TpmStructure
     {
         _p.add(d, "TPMT_HA[]", "digests", digests);
     }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPML_DIGEST_VALUES that = (TPML_DIGEST_VALUES)o;
+        return Arrays.equals(digests, that.digests);
+    }
+
+    @Override
+    public int hashCode() { return Arrays.hashCode(digests); }
 }
 
 //<<<
@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -29,7 +29,7 @@ public class TPML_ECC_CURVE extends TpmStructure implements TPMU_CAPABILITIES
 
     /** TpmMarshaller method */
     @Override
-    public void initFromTpm(TpmBuffer buf) { eccCurves = buf.readObjArr(TPM_ECC_CURVE.class); }
+    public void initFromTpm(TpmBuffer buf) { eccCurves = buf.readObjArr(TPM_ECC_CURVE::fromTpm, TPM_ECC_CURVE[]::new); }
 
     /** @deprecated Use {@link #toBytes()} instead
      *  @return Wire (marshaled) representation of this object
@@ -42,7 +42,7 @@ public class TPML_ECC_CURVE extends TpmStructure implements TPMU_CAPABILITIES
      */
     public static TPML_ECC_CURVE fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPML_ECC_CURVE.class);
+        return new TpmBuffer(byteBuf).createObj(TPML_ECC_CURVE::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -57,7 +57,7 @@ public class TPML_ECC_CURVE extends TpmStructure implements TPMU_CAPABILITIES
      */
     public static TPML_ECC_CURVE fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPML_ECC_CURVE.class);
+        return buf.createObj(TPML_ECC_CURVE::new);
     }
 
     @Override
@@ -74,6 +74,20 @@ public class TPML_ECC_CURVE extends TpmStructure implements TPMU_CAPABILITIES
     {
         _p.add(d, "TPM_ECC_CURVE[]", "eccCurves", eccCurves);
     }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPML_ECC_CURVE that = (TPML_ECC_CURVE)o;
+        return Arrays.equals(eccCurves, that.eccCurves);
+    }
+
+    @Override
+    public int hashCode() { return Arrays.hashCode(eccCurves); }
 }
 
 //<<<
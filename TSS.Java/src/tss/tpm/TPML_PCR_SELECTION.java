@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -29,7 +29,7 @@ public class TPML_PCR_SELECTION extends TpmStructure implements TPMU_CAPABILITIE
 
     /** TpmMarshaller method */
     @Override
-    public void initFromTpm(TpmBuffer buf) { pcrSelections = buf.readObjArr(TPMS_PCR_SELECTION.class); }
+    public void initFromTpm(TpmBuffer buf) { pcrSelections = buf.readObjArr(TPMS_PCR_SELECTION::fromTpm, TPMS_PCR_SELECTION[]::new); }
 
     /** @deprecated Use {@link #toBytes()} instead
      *  @return Wire (marshaled) representation of this object
@@ -42,7 +42,7 @@ public class TPML_PCR_SELECTION extends TpmStructure implements TPMU_CAPABILITIE
      */
     public static TPML_PCR_SELECTION fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPML_PCR_SELECTION.class);
+        return new TpmBuffer(byteBuf).createObj(TPML_PCR_SELECTION::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -57,7 +57,7 @@ public class TPML_PCR_SELECTION extends TpmStructure implements TPMU_CAPABILITIE
      */
     public static TPML_PCR_SELECTION fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPML_PCR_SELECTION.class);
+        return buf.createObj(TPML_PCR_SELECTION::new);
     }
 
     @Override
@@ -74,6 +74,20 @@ public class TPML_PCR_SELECTION extends TpmStructure implements TPMU_CAPABILITIE
     {
         _p.add(d, "TPMS_PCR_SELECTION[]", "pcrSelections", pcrSelections);
     }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPML_PCR_SELECTION that = (TPML_PCR_SELECTION)o;
+        return Arrays.equals(pcrSelections, that.pcrSelections);
+    }
+
+    @Override
+    public int hashCode() { return Arrays.hashCode(pcrSelections); }
 }
 
 //<<<
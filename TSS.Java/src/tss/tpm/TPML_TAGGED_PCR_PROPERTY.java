@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -29,7 +29,7 @@ public class TPML_TAGGED_PCR_PROPERTY extends TpmStructure implements TPMU_CAPAB
 
     /** TpmMarshaller method */
     @Override
-    public void initFromTpm(TpmBuffer buf) { pcrProperty = buf.readObjArr(TPMS_TAGGED_PCR_SELECT.class); }
+    public void initFromTpm(TpmBuffer buf) { pcrProperty = buf.readObjArr(TPMS_TAGGED_PCR_SELECT::fromTpm, TPMS_TAGGED_PCR_SELECT[]::new); }
 
     /** @deprecated Use {@link #toBytes()} instead
      *  @return Wire (marshaled) representation of this object
@@ -42,7 +42,7 @@ public class TPML_TAGGED_PCR_PROPERTY extends TpmStructure implements TPMU_CAPAB
      */
     public static TPML_TAGGED_PCR_PROPERTY fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPML_TAGGED_PCR_PROPERTY.class);
+        return new TpmBuffer(byteBuf).createObj(TPML_TAGGED_PCR_PROPERTY::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -57,7 +57,7 @@ public class TPML_TAGGED_PCR_PROPERTY extends TpmStructure implements TPMU_CAPAB
      */
     public static TPML_TAGGED_PCR_PROPERTY fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPML_TAGGED_PCR_PROPERTY.class);
+        return buf.createObj(TPML_TAGGED_PCR_PROPERTY::new);
     }
 
     @Override
@@ -74,6 +74,20 @@ public class TPML_TAGGED_PCR_PROPERTY extends TpmStructure implements TPMU_CAPAB
     {
         _p.add(d, "TPMS_TAGGED_PCR_SELECT[]", "pcrProperty", pcrProperty);
     }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPML_TAGGED_PCR_PROPERTY that = (TPML_TAGGED_PCR_PROPERTY)o;
+        return Arrays.equals(pcrProperty, that.pcrProperty);
+    }
+
+    @Override
+    public int hashCode() { return Arrays.hashCode(pcrProperty); }
 }
 
 //<<<
@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -30,7 +30,7 @@ public class TPML_TAGGED_POLICY extends TpmStructure implements TPMU_CAPABILITIE
 
     /** TpmMarshaller method */
     @Override
-    public void initFromTpm(TpmBuffer buf) { policies = buf.readObjArr(TPMS_TAGGED_POLICY.class); }
+    public void initFromTpm(TpmBuffer buf) { policies = buf.readObjArr(TPMS_TAGGED_POLICY::fromTpm, TPMS_TAGGED_POLICY[]::new); }
 
     /** @deprecated Use {@link #toBytes()} instead
      *  @return Wire (marshaled) representation of this object
@@ -43,7 +43,7 @@ public class TPML_TAGGED_POLICY extends TpmStructure implements TPMU_CAPABILITIE
      */
     public static TPML_TAGGED_POLICY fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPML_TAGGED_POLICY.class);
+        return new TpmBuffer(byteBuf).createObj(TPML_TAGGED_POLICY::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -58,7 +58,7 @@ public class TPML_TAGGED_POLICY extends TpmStructure implements TPMU_CAPABILITIE
      */
     public static TPML_TAGGED_POLICY fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPML_TAGGED_POLICY.class);
+        return buf.createObj(TPML_TAGGED_POLICY::new);
     }
 
     @Override
@@ -75,6 +75,20 @@ public class TPML_TAGGED_POLICY extends TpmStructure implements TPMU_CAPABILITIE
     {
         _p.add(d, "TPMS_TAGGED_POLICY[]", "policies", policies);
     }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPML_TAGGED_POLICY that = (TPML_TAGGED_POLICY)o;
+        return Arrays.equals(policies, that.policies);
+    }
+
+    @Override
+    public int hashCode() { return Arrays.hashCode(policies); }
 }
 
 //<<<
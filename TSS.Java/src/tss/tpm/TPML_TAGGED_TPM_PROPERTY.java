@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -29,7 +29,7 @@ public class TPML_TAGGED_TPM_PROPERTY extends TpmStructure implements TPMU_CAPAB
 
     /** TpmMarshaller method */
     @Override
-    public void initFromTpm(TpmBuffer buf) { tpmProperty = buf.readObjArr(TPMS_TAGGED_PROPERTY.class); }
+    public void initFromTpm(TpmBuffer buf) { tpmProperty = buf.readObjArr(TPMS_TAGGED_PROPERTY::fromTpm, TPMS_TAGGED_PROPERTY[]::new); }
 
     /** @deprecated Use {@link #toBytes()} instead
      *  @return Wire (marshaled) representation of this object
@@ -42,7 +42,7 @@ public class TPML_TAGGED_TPM_PROPERTY extends TpmStructure implements TPMU_CAPAB
      */
     public static TPML_TAGGED_TPM_PROPERTY fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPML_TAGGED_TPM_PROPERTY.class);
+        return new TpmBuffer(byteBuf).createObj(TPML_TAGGED_TPM_PROPERTY::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -57,7 +57,7 @@ public class TPML_TAGGED_TPM_PROPERTY extends TpmStructure implements TPMU_CAPAB
      */
     public static TPML_TAGGED_TPM_PROPERTY fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPML_TAGGED_TPM_PROPERTY.class);
+        return buf.createObj(TPML_TAGGED_TPM_PROPERTY::new);
     }
 
     @Override
@@ -74,6 +74,20 @@ public class TPML_TAGGED_TPM_PROPERTY extends TpmStructure implements TPMU_CAPAB
     {
         _p.add(d, "TPMS_TAGGED_PROPERTY[]", "tpmProperty", tpmProperty);
     }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPML_TAGGED_TPM_PROPERTY that = (TPML_TAGGED_TPM_PROPERTY)o;
+        return Arrays.equals(tpmProperty, that.tpmProperty);
+    }
+
+    @Override
+    public int hashCode() { return Arrays.hashCode(tpmProperty); }
 }
 
 //<<<
@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -61,7 +61,7 @@ public class TPMS_ACT_DATA extends TpmStructure
      */
     public static TPMS_ACT_DATA fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPMS_ACT_DATA.class);
+        return new TpmBuffer(byteBuf).createObj(TPMS_ACT_DATA::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -76,7 +76,7 @@ public class TPMS_ACT_DATA extends TpmStructure
      */
     public static TPMS_ACT_DATA fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPMS_ACT_DATA.class);
+        return buf.createObj(TPMS_ACT_DATA::new);
     }
 
     @Override
@@ -95,6 +95,28 @@ public class TPMS_ACT_DATA extends TpmStructure
         _p.add(d, "int", "timeout", timeout);
         _p.add(d, "TPMA_ACT", "attributes", attributes);
     }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPMS_ACT_DATA that = (TPMS_ACT_DATA)o;
+        return Objects.equals(handle, that.handle)
+            && timeout == that.timeout
+            && Objects.equals(attributes, that.attributes);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Objects.hashCode(handle);
+        _h = 31 * _h + timeout;
+        _h = 31 * _h + Objects.hashCode(attributes);
+        return _h;
+    }
 }
 
 //<<<
@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -56,7 +56,7 @@ public class TPMS_AC_OUTPUT extends TpmStructure
      */
     public static TPMS_AC_OUTPUT fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPMS_AC_OUTPUT.class);
+        return new TpmBuffer(byteBuf).createObj(TPMS_AC_OUTPUT::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -71,7 +71,7 @@ public class TPMS_AC_OUTPUT extends TpmStructure
      */
     public static TPMS_AC_OUTPUT fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPMS_AC_OUTPUT.class);
+        return buf.createObj(TPMS_AC_OUTPUT::new);
     }
 
     @Override
@@ -89,6 +89,26 @@ public class TPMS_AC_OUTPUT extends TpmStructure
         _p.add(d, "TPM_AT", "tag", tag);
         _p.add(d, "int", "data", data);
     }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPMS_AC_OUTPUT that = (TPMS_AC_OUTPUT)o;
+        return Objects.equals(tag, that.tag)
+            && data == that.data;
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Objects.hashCode(tag);
+        _h = 31 * _h + data;
+        return _h;
+    }
 }
 
 //<<<
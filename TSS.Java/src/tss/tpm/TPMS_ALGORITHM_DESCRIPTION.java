@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -54,7 +54,7 @@ public class TPMS_ALGORITHM_DESCRIPTION extends TpmStructure
      */
     public static TPMS_ALGORITHM_DESCRIPTION fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPMS_ALGORITHM_DESCRIPTION.class);
+        return new TpmBuffer(byteBuf).createObj(TPMS_ALGORITHM_DESCRIPTION::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -69,7 +69,7 @@ public class TPMS_ALGORITHM_DESCRIPTION extends TpmStructure
      */
     public static TPMS_ALGORITHM_DESCRIPTION fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPMS_ALGORITHM_DESCRIPTION.class);
+        return buf.createObj(TPMS_ALGORITHM_DESCRIPTION::new);
     }
 
     @Override
@@ -87,6 +87,26 @@ public class TPMS_ALGORITHM_DESCRIPTION extends TpmStructure
         _p.add(d, "TPM_ALG_ID", "alg", alg);
         _p.add(d, "TPMA_ALGORITHM", "attributes", attributes);
     }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPMS_ALGORITHM_DESCRIPTION that = (TPMS_ALGORITHM_DESCRIPTION)o;
+        return Objects.equals(alg, that.alg)
+            && Objects.equals(attributes, that.attributes);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Objects.hashCode(alg);
+        _h = 31 * _h + Objects.hashCode(attributes);
+        return _h;
+    }
 }
 
 //<<<
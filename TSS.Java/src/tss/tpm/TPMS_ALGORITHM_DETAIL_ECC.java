@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -123,10 +123,10 @@ public class TPMS_ALGORITHM_DETAIL_ECC extends TpmStructure
         curveID = TPM_ECC_CURVE.fromTpm(buf);
         keySize = buf.readShort();
         TPM_ALG_ID kdfScheme = TPM_ALG_ID.fromTpm(buf);
-        kdf = UnionFactory.create("TPMU_KDF_SCHEME", kdfScheme);
+        kdf = UnionFactory.createTPMU_KDF_SCHEME(kdfScheme);
         kdf.initFromTpm(buf);
         TPM_ALG_ID signScheme = TPM_ALG_ID.fromTpm(buf);
-        sign = UnionFactory.create("TPMU_ASYM_SCHEME", signScheme);
+        sign = UnionFactory.createTPMU_ASYM_SCHEME(signScheme);
         sign.initFromTpm(buf);
         p = buf.readSizedByteBuf();
         a = buf.readSizedByteBuf();
@@ -148,7 +148,7 @@ public class TPMS_ALGORITHM_DETAIL_ECC extends TpmStructure
      */
     public static TPMS_ALGORITHM_DETAIL_ECC fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPMS_ALGORITHM_DETAIL_ECC.class);
+        return new TpmBuffer(byteBuf).createObj(TPMS_ALGORITHM_DETAIL_ECC::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -163,7 +163,7 @@ public class TPMS_ALGORITHM_DETAIL_ECC extends TpmStructure
      */
     public static TPMS_ALGORITHM_DETAIL_ECC fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPMS_ALGORITHM_DETAIL_ECC.class);
+        return buf.createObj(TPMS_ALGORITHM_DETAIL_ECC::new);
     }
 
     @Override
@@ -190,6 +190,44 @@ public class TPMS_ALGORITHM_DETAIL_ECC extends TpmStructure
         _p.add(d, "byte[]", "n", n);
         _p.add(d, "byte[]", "h", h);
     }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPMS_ALGORITHM_DETAIL_ECC that = (TPMS_ALGORITHM_DETAIL_ECC)o;
+        return Objects.equals(curveID, that.curveID)
+            && keySize == that.keySize
+            && Objects.equals(kdf, that.kdf)
+            && Objects.equals(sign, that.sign)
+            && Arrays.equals(p, that.p)
+            && Arrays.equals(a, that.a)
+            && Arrays.equals(b, that.b)
+            && Arrays.equals(gX, that.gX)
+            && Arrays.equals(gY, that.gY)
+            && Arrays.equals(n, that.n)
+            && Arrays.equals(h, that.h);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Objects.hashCode(curveID);
+        _h = 31 * _h + keySize;
+        _h = 31 * _h + Objects.hashCode(kdf);
+        _h = 31 * _h + Objects.hashCode(sign);
+        _h = 31 * _h + Arrays.hashCode(p);
+        _h = 31 * _h + Arrays.hashCode(a);
+        _h = 31 * _h + Arrays.hashCode(b);
+        _h = 31 * _h + Arrays.hashCode(gX);
+        _h = 31 * _h + Arrays.hashCode(gY);
+        _h = 31 * _h + Arrays.hashCode(n);
+        _h = 31 * _h + Arrays.hashCode(h);
+        return _h;
+    }
 }
 
 //<<<
@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -56,7 +56,7 @@ public class TPMS_ALG_PROPERTY extends TpmStructure
      */
     public static TPMS_ALG_PROPERTY fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPMS_ALG_PROPERTY.class);
+        return new TpmBuffer(byteBuf).createObj(TPMS_ALG_PROPERTY::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -71,7 +71,7 @@ public class TPMS_ALG_PROPERTY extends TpmStructure
      */
     public static TPMS_ALG_PROPERTY fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPMS_ALG_PROPERTY.class);
+        return buf.createObj(TPMS_ALG_PROPERTY::new);
     }
 
     @Override
@@ -89,6 +89,26 @@ public class TPMS_ALG_PROPERTY extends TpmStructure
         _p.add(d, "TPM_ALG_ID", "alg", alg);
         _p.add(d, "TPMA_ALGORITHM", "algProperties", algProperties);
     }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPMS_ALG_PROPERTY that = (TPMS_ALG_PROPERTY)o;
+        return Objects.equals(alg, that.alg)
+            && Objects.equals(algProperties, that.algProperties);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Objects.hashCode(alg);
+        _h = 31 * _h + Objects.hashCode(algProperties);
+        return _h;
+    }
 }
 
 //<<<
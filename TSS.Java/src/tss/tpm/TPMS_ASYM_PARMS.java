@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -72,7 +72,7 @@ public class TPMS_ASYM_PARMS extends TpmStructure implements TPMU_PUBLIC_PARMS
     {
         symmetric = TPMT_SYM_DEF_OBJECT.fromTpm(buf);
         TPM_ALG_ID schemeScheme = TPM_ALG_ID.fromTpm(buf);
-        scheme = UnionFactory.create("TPMU_ASYM_SCHEME", schemeScheme);
+        scheme = UnionFactory.createTPMU_ASYM_SCHEME(schemeScheme);
         scheme.initFromTpm(buf);
     }
 
@@ -87,7 +87,7 @@ public class TPMS_ASYM_PARMS extends TpmStructure implements TPMU_PUBLIC_PARMS
      */
     public static TPMS_ASYM_PARMS fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPMS_ASYM_PARMS.class);
+        return new TpmBuffer(byteBuf).createObj(TPMS_ASYM_PARMS::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -102,7 +102,7 @@ public class TPMS_ASYM_PARMS extends TpmStructure implements TPMU_PUBLIC_PARMS
      */
     public static TPMS_ASYM_PARMS fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPMS_ASYM_PARMS.class);
+        return buf.createObj(TPMS_ASYM_PARMS::new);
     }
 
     @Override
@@ -120,6 +120,26 @@ public class TPMS_ASYM_PARMS extends TpmStructure implements TPMU_PUBLIC_PARMS
         _p.add(d, "TPMT_SYM_DEF_OBJECT", "symmetric", symmetric);
         _p.add(d, "TPMU_ASYM_SCHEME", "scheme", scheme);
     }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPMS_ASYM_PARMS that = (TPMS_ASYM_PARMS)o;
+        return Objects.equals(symmetric, that.symmetric)
+            && Objects.equals(scheme, that.scheme);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Objects.hashCode(symmetric);
+        _h = 31 * _h + Objects.hashCode(scheme);
+        return _h;
+    }
 }
 
 //<<<
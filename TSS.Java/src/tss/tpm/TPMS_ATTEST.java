@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -91,7 +91,7 @@ public class TPMS_ATTEST extends TpmStructure
         extraData = buf.readSizedByteBuf();
         clockInfo = TPMS_CLOCK_INFO.fromTpm(buf);
         firmwareVersion = buf.readInt64();
-        attested = UnionFactory.create("TPMU_ATTEST", type);
+        attested = UnionFactory.createTPMU_ATTEST(type);
         attested.initFromTpm(buf);
     }
 
@@ -106,7 +106,7 @@ public class TPMS_ATTEST extends TpmStructure
      */
     public static TPMS_ATTEST fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPMS_ATTEST.class);
+        return new TpmBuffer(byteBuf).createObj(TPMS_ATTEST::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -121,7 +121,7 @@ public class TPMS_ATTEST extends TpmStructure
      */
     public static TPMS_ATTEST fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPMS_ATTEST.class);
+        return buf.createObj(TPMS_ATTEST::new);
     }
 
     @Override
@@ -143,6 +143,34 @@ public class TPMS_ATTEST extends TpmStructure
         _p.add(d, "long", "firmwareVersion", firmwareVersion);
         _p.add(d, "TPMU_ATTEST", "attested", attested);
     }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPMS_ATTEST that = (TPMS_ATTEST)o;
+        return Objects.equals(magic, that.magic)
+            && Arrays.equals(qualifiedSigner, that.qualifiedSigner)
+            && Arrays.equals(extraData, that.extraData)
+            && Objects.equals(clockInfo, that.clockInfo)
+            && firmwareVersion == that.firmwareVersion
+            && Objects.equals(attested, that.attested);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Objects.hashCode(magic);
+        _h = 31 * _h + Arrays.hashCode(qualifiedSigner);
+        _h = 31 * _h + Arrays.hashCode(extraData);
+        _h = 31 * _h + Objects.hashCode(clockInfo);
+        _h = 31 * _h + Long.hashCode(firmwareVersion);
+        _h = 31 * _h + Objects.hashCode(attested);
+        return _h;
+    }
 }
 
 //<<<
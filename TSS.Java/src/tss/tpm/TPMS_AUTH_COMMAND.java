@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -68,7 +68,7 @@ public class TPMS_AUTH_COMMAND extends TpmStructure
      */
     public static TPMS_AUTH_COMMAND fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPMS_AUTH_COMMAND.class);
+        return new TpmBuffer(byteBuf).createObj(TPMS_AUTH_COMMAND::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -83,7 +83,7 @@ public class TPMS_AUTH_COMMAND extends TpmStructure
      */
     public static TPMS_AUTH_COMMAND fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPMS_AUTH_COMMAND.class);
+        return buf.createObj(TPMS_AUTH_COMMAND::new);
     }
 
     @Override
@@ -103,6 +103,30 @@ public class TPMS_AUTH_COMMAND extends TpmStructure
         _p.add(d, "TPMA_SESSION", "sessionAttributes", sessionAttributes);
         _p.add(d, "byte[]", "hmac", hmac);
     }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPMS_AUTH_COMMAND that = (TPMS_AUTH_COMMAND)o;
+        return Objects.equals(sessionHandle, that.sessionHandle)
+            && Arrays.equals(nonce, that.nonce)
+            && Objects.equals(sessionAttributes, that.sessionAttributes)
+            && Arrays.equals(hmac, that.hmac);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Objects.hashCode(sessionHandle);
+        _h = 31 * _h + Arrays.hashCode(nonce);
+        _h = 31 * _h + Objects.hashCode(sessionAttributes);
+        _h = 31 * _h + Arrays.hashCode(hmac);
+        return _h;
+    }
 }
 
 //<<<
@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -64,7 +64,7 @@ public class TPMS_AUTH_RESPONSE extends TpmStructure
      */
     public static TPMS_AUTH_RESPONSE fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPMS_AUTH_RESPONSE.class);
+        return new TpmBuffer(byteBuf).createObj(TPMS_AUTH_RESPONSE::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -79,7 +79,7 @@ public class TPMS_AUTH_RESPONSE extends TpmStructure
      */
     public static TPMS_AUTH_RESPONSE fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPMS_AUTH_RESPONSE.class);
+        return buf.createObj(TPMS_AUTH_RESPONSE::new);
     }
 
     @Override
@@ -98,6 +98,28 @@ public class TPMS_AUTH_RESPONSE extends TpmStructure
         _p.add(d, "TPMA_SESSION", "sessionAttributes", sessionAttributes);
         _p.add(d, "byte[]", "hmac", hmac);
     }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPMS_AUTH_RESPONSE that = (TPMS_AUTH_RESPONSE)o;
+        return Arrays.equals(nonce, that.nonce)
+            && Objects.equals(sessionAttributes, that.sessionAttributes)
+            && Arrays.equals(hmac, that.hmac);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Arrays.hashCode(nonce);
+        _h = 31 * _h + Objects.hashCode(sessionAttributes);
+        _h = 31 * _h + Arrays.hashCode(hmac);
+        return _h;
+    }
 }
 
 //<<<
@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -43,7 +43,7 @@ public class TPMS_CAPABILITY_DATA extends TpmStructure
     public void initFromTpm(TpmBuffer buf)
     {
         TPM_CAP capability = TPM_CAP.fromTpm(buf);
-        data = UnionFactory.create("TPMU_CAPABILITIES", capability);
+        data = UnionFactory.createTPMU_CAPABILITIES(capability);
         data.initFromTpm(buf);
     }
 
@@ -58,7 +58,7 @@ public class TPMS_CAPABILITY_DATA extends TpmStructure
      */
     public static TPMS_CAPABILITY_DATA fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPMS_CAPABILITY_DATA.class);
+        return new TpmBuffer(byteBuf).createObj(TPMS_CAPABILITY_DATA::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -73,7 +73,7 @@ public class TPMS_CAPABILITY_DATA extends TpmStructure
      */
     public static TPMS_CAPABILITY_DATA fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPMS_CAPABILITY_DATA.class);
+        return buf.createObj(TPMS_CAPABILITY_DATA::new);
     }
 
     @Override
@@ -90,6 +90,20 @@ public class TPMS_CAPABILITY_DATA extends TpmStructure
     {
         _p.add(d, "TPMU_CAPABILITIES", "data", data);
     }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPMS_CAPABILITY_DATA that = (TPMS_CAPABILITY_DATA)o;
+        return Objects.equals(data, that.data);
+    }
+
+    @Override
+    public int hashCode() { return Objects.hashCode(data); }
 }
 
 //<<<
@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -57,7 +57,7 @@ public class TPMS_CERTIFY_INFO extends TpmStructure implements TPMU_ATTEST
      */
     public static TPMS_CERTIFY_INFO fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPMS_CERTIFY_INFO.class);
+        return new TpmBuffer(byteBuf).createObj(TPMS_CERTIFY_INFO::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -72,7 +72,7 @@ public class TPMS_CERTIFY_INFO extends TpmStructure implements TPMU_ATTEST
      */
     public static TPMS_CERTIFY_INFO fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPMS_CERTIFY_INFO.class);
+        return buf.createObj(TPMS_CERTIFY_INFO::new);
     }
 
     @Override
@@ -90,6 +90,26 @@ public class TPMS_CERTIFY_INFO extends TpmStructure implements TPMU_ATTEST
         _p.add(d, "byte[]", "name", name);
         _p.add(d, "byte[]", "qualifiedName", qualifiedName);
     }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPMS_CERTIFY_INFO that = (TPMS_CERTIFY_INFO)o;
+        return Arrays.equals(name, that.name)
+            && Arrays.equals(qualifiedName, that.qualifiedName);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Arrays.hashCode(name);
+        _h = 31 * _h + Arrays.hashCode(qualifiedName);
+        return _h;
+    }
 }
 
 //<<<
@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -85,7 +85,7 @@ public class TPMS_CLOCK_INFO extends TpmStructure
      */
     public static TPMS_CLOCK_INFO fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPMS_CLOCK_INFO.class);
+        return new TpmBuffer(byteBuf).createObj(TPMS_CLOCK_INFO::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -100,7 +100,7 @@ public class TPMS_CLOCK_INFO extends TpmStructure
      */
     public static TPMS_CLOCK_INFO fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPMS_CLOCK_INFO.class);
+        return buf.createObj(TPMS_CLOCK_INFO::new);
     }
 
     @Override
@@ -120,6 +120,30 @@ public class TPMS_CLOCK_INFO extends TpmStructure
         _p.add(d, "int", "restartCount", restartCount);
         _p.add(d, "byte", "safe", safe);
     }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPMS_CLOCK_INFO that = (TPMS_CLOCK_INFO)o;
+        return clock == that.clock
+            && resetCount == that.resetCount
+            && restartCount == that.restartCount
+            && safe == that.safe;
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Long.hashCode(clock);
+        _h = 31 * _h + resetCount;
+        _h = 31 * _h + restartCount;
+        _h = 31 * _h + safe;
+        return _h;
+    }
 }
 
 //<<<
@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -71,7 +71,7 @@ public class TPMS_COMMAND_AUDIT_INFO extends TpmStructure implements TPMU_ATTEST
      */
     public static TPMS_COMMAND_AUDIT_INFO fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPMS_COMMAND_AUDIT_INFO.class);
+        return new TpmBuffer(byteBuf).createObj(TPMS_COMMAND_AUDIT_INFO::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -86,7 +86,7 @@ public class TPMS_COMMAND_AUDIT_INFO extends TpmStructure implements TPMU_ATTEST
      */
     public static TPMS_COMMAND_AUDIT_INFO fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPMS_COMMAND_AUDIT_INFO.class);
+        return buf.createObj(TPMS_COMMAND_AUDIT_INFO::new);
     }
 
     @Override
@@ -106,6 +106,30 @@ public class TPMS_COMMAND_AUDIT_INFO extends TpmStructure implements TPMU_ATTEST
         _p.add(d, "byte[]", "auditDigest", auditDigest);
         _p.add(d, "byte[]", "commandDigest", commandDigest);
     }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPMS_COMMAND_AUDIT_INFO that = (TPMS_COMMAND_AUDIT_INFO)o;
+        return auditCounter == that.auditCounter
+            && Objects.equals(digestAlg, that.digestAlg)
+            && Arrays.equals(auditDigest, that.auditDigest)
+            && Arrays.equals(commandDigest, that.commandDigest);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Long.hashCode(auditCounter);
+        _h = 31 * _h + Objects.hashCode(digestAlg);
+        _h = 31 * _h + Arrays.hashCode(auditDigest);
+        _h = 31 * _h + Arrays.hashCode(commandDigest);
+        return _h;
+    }
 }
 
 //<<<
@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -67,7 +67,7 @@ public class TPMS_CONTEXT extends TpmStructure
         sequence = buf.readInt64();
         savedHandle = TPM_HANDLE.fromTpm(buf);
         hierarchy = TPM_HANDLE.fromTpm(buf);
-        contextBlob = buf.createSizedObj(TPMS_CONTEXT_DATA.class);
+        contextBlob = buf.createSizedObj(TPMS_CONTEXT_DATA::new);
     }
 
     /** @deprecated Use {@link #toBytes()} instead
@@ -81,7 +81,7 @@ public class TPMS_CONTEXT extends TpmStructure
      */
     public static TPMS_CONTEXT fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPMS_CONTEXT.class);
+        return new TpmBuffer(byteBuf).createObj(TPMS_CONTEXT::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -96,7 +96,7 @@ public class TPMS_CONTEXT extends TpmStructure
      */
     public static TPMS_CONTEXT fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPMS_CONTEXT.class);
+        return buf.createObj(TPMS_CONTEXT::new);
     }
 
     @Override
@@ -116,6 +116,72 @@ public class TPMS_CONTEXT extends TpmStructure
         _p.add(d, "TPM_HANDLE", "hierarchy", hierarchy);
         _p.add(d, "TPMS_CONTEXT_DATA", "contextBlob", contextBlob);
     }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPMS_CONTEXT that = (TPMS_CONTEXT)o;
+        return sequence == that.sequence
+            && Objects.equals(savedHandle, that.savedHandle)
+            && Objects.equals(hierarchy, that.hierarchy)
+            && Objects.equals(contextBlob, that.contextBlob);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Long.hashCode(sequence);
+        _h = 31 * _h + Objects.hashCode(savedHandle);
+        _h = 31 * _h + Objects.hashCode(hierarchy);
+        _h = 31 * _h + Objects.hashCode(contextBlob);
+        return _h;
+    }
+
+    /**
+     * Wraps the wire representation of a context without decoding its blob, e.g. to load a context
+     * saved via the response view of TPM2_ContextSave() without copying it into a new object:
+     * <pre>
+     *  ContextSaveResponse.View v = new ContextSaveResponse.View();
+     *  tpm._view(v).ContextSave(h);
+     *  tpm.ContextLoad(TPMS_CONTEXT.wrap(v.contextBytes()));
+     * </pre>
+     * Only the sequence number and the handles of the returned context are decoded, and its
+     * contextBlob is null. It is marshaled from the wrapped bytes as is, so the changes of its
+     * fields have no effect. Wrapped contexts are compared and hashed by their wire representation,
+     * and never equal a decoded TPMS_CONTEXT (use fromBytes(toBytes()) to compare them).
+     * @param wire Wire representation of a context. Its contents must not change while the
+     *        returned object is in use.
+     * @return Context marshaled from the given wire representation
+     */
+    public static TPMS_CONTEXT wrap(java.nio.ByteBuffer wire)
+    {
+        int pos = wire.position();
+        if (wire.remaining() < 16)
+            throw new TpmException("Bad TPMS_CONTEXT wire representation");
+        java.nio.ByteBuffer bytes = wire.duplicate();
+        return new TPMS_CONTEXT(wire.getLong(pos), new TPM_HANDLE(wire.getInt(pos + 8)),
+                                new TPM_HANDLE(wire.getInt(pos + 12)), null) {
+            @Override
+            public void toTpm(TpmBuffer buf) { buf.writeByteBuf(bytes); }
+
+            @Override
+            public boolean equals(Object o)
+            {
+                if (this == o)
+                    return true;
+                if (o == null || o.getClass() != getClass())
+                    return false;
+                return Arrays.equals(toBytes(), ((TPMS_CONTEXT)o).toBytes());
+            }
+
+            @Override
+            public int hashCode() { return Arrays.hashCode(toBytes()); }
+        };
+    }
 }
 
 //<<<
@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -54,7 +54,7 @@ public class TPMS_CONTEXT_DATA extends TpmStructure
      */
     public static TPMS_CONTEXT_DATA fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPMS_CONTEXT_DATA.class);
+        return new TpmBuffer(byteBuf).createObj(TPMS_CONTEXT_DATA::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -69,7 +69,7 @@ public class TPMS_CONTEXT_DATA extends TpmStructure
      */
     public static TPMS_CONTEXT_DATA fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPMS_CONTEXT_DATA.class);
+        return buf.createObj(TPMS_CONTEXT_DATA::new);
     }
 
     @Override
@@ -87,6 +87,26 @@ public class TPMS_CONTEXT_DATA extends TpmStructure
         _p.add(d, "byte[]", "integrity", integrity);
         _p.add(d, "byte[]", "encrypted", encrypted);
     }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPMS_CONTEXT_DATA that = (TPMS_CONTEXT_DATA)o;
+        return Arrays.equals(integrity, that.integrity)
+            && Arrays.equals(encrypted, that.encrypted);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Arrays.hashCode(integrity);
+        _h = 31 * _h + Arrays.hashCode(encrypted);
+        return _h;
+    }
 }
 
 //<<<
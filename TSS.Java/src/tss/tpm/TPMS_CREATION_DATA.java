@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -92,7 +92,7 @@ public class TPMS_CREATION_DATA extends TpmStructure
     @Override
     public void initFromTpm(TpmBuffer buf)
     {
-        pcrSelect = buf.readObjArr(TPMS_PCR_SELECTION.class);
+        pcrSelect = buf.readObjArr(TPMS_PCR_SELECTION::fromTpm, TPMS_PCR_SELECTION[]::new);
         pcrDigest = buf.readSizedByteBuf();
         locality = TPMA_LOCALITY.fromTpm(buf);
         parentNameAlg = TPM_ALG_ID.fromTpm(buf);
@@ -112,7 +112,7 @@ public class TPMS_CREATION_DATA extends TpmStructure
      */
     public static TPMS_CREATION_DATA fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPMS_CREATION_DATA.class);
+        return new TpmBuffer(byteBuf).createObj(TPMS_CREATION_DATA::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -127,7 +127,7 @@ public class TPMS_CREATION_DATA extends TpmStructure
      */
     public static TPMS_CREATION_DATA fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPMS_CREATION_DATA.class);
+        return buf.createObj(TPMS_CREATION_DATA::new);
     }
 
     @Override
@@ -150,6 +150,36 @@ public class TPMS_CREATION_DATA extends TpmStructure
         _p.add(d, "byte[]", "parentQualifiedName", parentQualifiedName);
         _p.add(d, "byte[]", "outsideInfo", outsideInfo);
     }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPMS_CREATION_DATA that = (TPMS_CREATION_DATA)o;
+        return Arrays.equals(pcrSelect, that.pcrSelect)
+            && Arrays.equals(pcrDigest, that.pcrDigest)
+            && Objects.equals(locality, that.locality)
+            && Objects.equals(parentNameAlg, that.parentNameAlg)
+            && Arrays.equals(parentName, that.parentName)
+            && Arrays.equals(parentQualifiedName, that.parentQualifiedName)
+            && Arrays.equals(outsideInfo, that.outsideInfo);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Arrays.hashCode(pcrSelect);
+        _h = 31 * _h + Arrays.hashCode(pcrDigest);
+        _h = 31 * _h + Objects.hashCode(locality);
+        _h = 31 * _h + Objects.hashCode(parentNameAlg);
+        _h = 31 * _h + Arrays.hashCode(parentName);
+        _h = 31 * _h + Arrays.hashCode(parentQualifiedName);
+        _h = 31 * _h + Arrays.hashCode(outsideInfo);
+        return _h;
+    }
 }
 
 //<<<
@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -57,7 +57,7 @@ public class TPMS_CREATION_INFO extends TpmStructure implements TPMU_ATTEST
      */
     public static TPMS_CREATION_INFO fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPMS_CREATION_INFO.class);
+        return new TpmBuffer(byteBuf).createObj(TPMS_CREATION_INFO::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -72,7 +72,7 @@ public class TPMS_CREATION_INFO extends TpmStructure implements TPMU_ATTEST
      */
     public static TPMS_CREATION_INFO fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPMS_CREATION_INFO.class);
+        return buf.createObj(TPMS_CREATION_INFO::new);
     }
 
     @Override
@@ -90,6 +90,26 @@ public class TPMS_CREATION_INFO extends TpmStructure implements TPMU_ATTEST
         _p.add(d, "byte[]", "objectName", objectName);
         _p.add(d, "byte[]", "creationHash", creationHash);
     }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPMS_CREATION_INFO that = (TPMS_CREATION_INFO)o;
+        return Arrays.equals(objectName, that.objectName)
+            && Arrays.equals(creationHash, that.creationHash);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Arrays.hashCode(objectName);
+        _h = 31 * _h + Arrays.hashCode(creationHash);
+        return _h;
+    }
 }
 
 //<<<
@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -57,7 +57,7 @@ public class TPMS_DERIVE extends TpmStructure implements TPMU_SENSITIVE_CREATE,
      */
     public static TPMS_DERIVE fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPMS_DERIVE.class);
+        return new TpmBuffer(byteBuf).createObj(TPMS_DERIVE::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -72,7 +72,7 @@ public class TPMS_DERIVE extends TpmStructure implements TPMU_SENSITIVE_CREATE,
      */
     public static TPMS_DERIVE fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPMS_DERIVE.class);
+        return buf.createObj(TPMS_DERIVE::new);
     }
 
     @Override
@@ -90,6 +90,26 @@ public class TPMS_DERIVE extends TpmStructure implements TPMU_SENSITIVE_CREATE,
         _p.add(d, "byte[]", "label", label);
         _p.add(d, "byte[]", "context", context);
     }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPMS_DERIVE that = (TPMS_DERIVE)o;
+        return Arrays.equals(label, that.label)
+            && Arrays.equals(context, that.context);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Arrays.hashCode(label);
+        _h = 31 * _h + Arrays.hashCode(context);
+        return _h;
+    }
 }
 
 //<<<
@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -57,7 +57,7 @@ public class TPMS_ECC_POINT extends TpmStructure implements TPMU_PUBLIC_ID
      */
     public static TPMS_ECC_POINT fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPMS_ECC_POINT.class);
+        return new TpmBuffer(byteBuf).createObj(TPMS_ECC_POINT::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -72,7 +72,7 @@ public class TPMS_ECC_POINT extends TpmStructure implements TPMU_PUBLIC_ID
      */
     public static TPMS_ECC_POINT fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPMS_ECC_POINT.class);
+        return buf.createObj(TPMS_ECC_POINT::new);
     }
 
     @Override
@@ -90,6 +90,26 @@ public class TPMS_ECC_POINT extends TpmStructure implements TPMU_PUBLIC_ID
         _p.add(d, "byte[]", "x", x);
         _p.add(d, "byte[]", "y", y);
     }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPMS_ECC_POINT that = (TPMS_ECC_POINT)o;
+        return Arrays.equals(x, that.x)
+            && Arrays.equals(y, that.y);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Arrays.hashCode(x);
+        _h = 31 * _h + Arrays.hashCode(y);
+        return _h;
+    }
 }
 
 //<<<
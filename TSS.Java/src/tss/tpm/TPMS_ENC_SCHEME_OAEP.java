@@ -29,7 +29,7 @@ public class TPMS_ENC_SCHEME_OAEP extends TPMS_SCHEME_HASH
      */
     public static TPMS_ENC_SCHEME_OAEP fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPMS_ENC_SCHEME_OAEP.class);
+        return new TpmBuffer(byteBuf).createObj(TPMS_ENC_SCHEME_OAEP::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -44,7 +44,7 @@ public class TPMS_ENC_SCHEME_OAEP extends TPMS_SCHEME_HASH
      */
     public static TPMS_ENC_SCHEME_OAEP fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPMS_ENC_SCHEME_OAEP.class);
+        return buf.createObj(TPMS_ENC_SCHEME_OAEP::new);
     }
 
     @Override
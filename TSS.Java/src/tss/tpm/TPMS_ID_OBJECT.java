@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -65,7 +65,7 @@ public class TPMS_ID_OBJECT extends TpmStructure
      */
     public static TPMS_ID_OBJECT fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPMS_ID_OBJECT.class);
+        return new TpmBuffer(byteBuf).createObj(TPMS_ID_OBJECT::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -80,7 +80,7 @@ public class TPMS_ID_OBJECT extends TpmStructure
      */
     public static TPMS_ID_OBJECT fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPMS_ID_OBJECT.class);
+        return buf.createObj(TPMS_ID_OBJECT::new);
     }
 
     @Override
@@ -98,6 +98,26 @@ public class TPMS_ID_OBJECT extends TpmStructure
         _p.add(d, "byte[]", "integrityHMAC", integrityHMAC);
         _p.add(d, "byte[]", "encIdentity", encIdentity);
     }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPMS_ID_OBJECT that = (TPMS_ID_OBJECT)o;
+        return Arrays.equals(integrityHMAC, that.integrityHMAC)
+            && Arrays.equals(encIdentity, that.encIdentity);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Arrays.hashCode(integrityHMAC);
+        _h = 31 * _h + Arrays.hashCode(encIdentity);
+        return _h;
+    }
 }
 
 //<<<
@@ -29,7 +29,7 @@ public class TPMS_KEY_SCHEME_ECDH extends TPMS_SCHEME_HASH
      */
     public static TPMS_KEY_SCHEME_ECDH fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPMS_KEY_SCHEME_ECDH.class);
+        return new TpmBuffer(byteBuf).createObj(TPMS_KEY_SCHEME_ECDH::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -44,7 +44,7 @@ public class TPMS_KEY_SCHEME_ECDH extends TPMS_SCHEME_HASH
      */
     public static TPMS_KEY_SCHEME_ECDH fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPMS_KEY_SCHEME_ECDH.class);
+        return buf.createObj(TPMS_KEY_SCHEME_ECDH::new);
     }
 
     @Override
@@ -29,7 +29,7 @@ public class TPMS_KEY_SCHEME_ECMQV extends TPMS_SCHEME_HASH
      */
     public static TPMS_KEY_SCHEME_ECMQV fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPMS_KEY_SCHEME_ECMQV.class);
+        return new TpmBuffer(byteBuf).createObj(TPMS_KEY_SCHEME_ECMQV::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -44,7 +44,7 @@ public class TPMS_KEY_SCHEME_ECMQV extends TPMS_SCHEME_HASH
      */
     public static TPMS_KEY_SCHEME_ECMQV fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPMS_KEY_SCHEME_ECMQV.class);
+        return buf.createObj(TPMS_KEY_SCHEME_ECMQV::new);
     }
 
     @Override
@@ -28,7 +28,7 @@ public class TPMS_NULL_SCHEME_KEYEDHASH extends TPMS_NULL_UNION
      */
     public static TPMS_NULL_SCHEME_KEYEDHASH fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPMS_NULL_SCHEME_KEYEDHASH.class);
+        return new TpmBuffer(byteBuf).createObj(TPMS_NULL_SCHEME_KEYEDHASH::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -43,7 +43,7 @@ public class TPMS_NULL_SCHEME_KEYEDHASH extends TPMS_NULL_UNION
      */
     public static TPMS_NULL_SCHEME_KEYEDHASH fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPMS_NULL_SCHEME_KEYEDHASH.class);
+        return buf.createObj(TPMS_NULL_SCHEME_KEYEDHASH::new);
     }
 
     @Override
@@ -30,7 +30,7 @@ public class TPMS_NULL_UNION extends TpmStructure implements TPMU_SYM_DETAILS, T
      */
     public static TPMS_NULL_UNION fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPMS_NULL_UNION.class);
+        return new TpmBuffer(byteBuf).createObj(TPMS_NULL_UNION::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -45,7 +45,7 @@ public class TPMS_NULL_UNION extends TpmStructure implements TPMU_SYM_DETAILS, T
      */
     public static TPMS_NULL_UNION fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPMS_NULL_UNION.class);
+        return buf.createObj(TPMS_NULL_UNION::new);
     }
 
     @Override
@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -66,7 +66,7 @@ public class TPMS_NV_CERTIFY_INFO extends TpmStructure implements TPMU_ATTEST
      */
     public static TPMS_NV_CERTIFY_INFO fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPMS_NV_CERTIFY_INFO.class);
+        return new TpmBuffer(byteBuf).createObj(TPMS_NV_CERTIFY_INFO::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -81,7 +81,7 @@ public class TPMS_NV_CERTIFY_INFO extends TpmStructure implements TPMU_ATTEST
      */
     public static TPMS_NV_CERTIFY_INFO fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPMS_NV_CERTIFY_INFO.class);
+        return buf.createObj(TPMS_NV_CERTIFY_INFO::new);
     }
 
     @Override
@@ -100,6 +100,28 @@ public class TPMS_NV_CERTIFY_INFO extends TpmStructure implements TPMU_ATTEST
         _p.add(d, "int", "offset", offset);
         _p.add(d, "byte[]", "nvContents", nvContents);
     }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPMS_NV_CERTIFY_INFO that = (TPMS_NV_CERTIFY_INFO)o;
+        return Arrays.equals(indexName, that.indexName)
+            && offset == that.offset
+            && Arrays.equals(nvContents, that.nvContents);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Arrays.hashCode(indexName);
+        _h = 31 * _h + offset;
+        _h = 31 * _h + Arrays.hashCode(nvContents);
+        return _h;
+    }
 }
 
 //<<<
@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -59,7 +59,7 @@ public class TPMS_NV_DIGEST_CERTIFY_INFO extends TpmStructure implements TPMU_AT
      */
     public static TPMS_NV_DIGEST_CERTIFY_INFO fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPMS_NV_DIGEST_CERTIFY_INFO.class);
+        return new TpmBuffer(byteBuf).createObj(TPMS_NV_DIGEST_CERTIFY_INFO::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -74,7 +74,7 @@ public class TPMS_NV_DIGEST_CERTIFY_INFO extends TpmStructure implements TPMU_AT
      */
     public static TPMS_NV_DIGEST_CERTIFY_INFO fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPMS_NV_DIGEST_CERTIFY_INFO.class);
+        return buf.createObj(TPMS_NV_DIGEST_CERTIFY_INFO::new);
     }
 
     @Override
@@ -92,6 +92,26 @@ public class TPMS_NV_DIGEST_CERTIFY_INFO extends TpmStructure implements TPMU_AT
         _p.add(d, "byte[]", "indexName", indexName);
         _p.add(d, "byte[]", "nvDigest", nvDigest);
     }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPMS_NV_DIGEST_CERTIFY_INFO that = (TPMS_NV_DIGEST_CERTIFY_INFO)o;
+        return Arrays.equals(indexName, that.indexName)
+            && Arrays.equals(nvDigest, that.nvDigest);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Arrays.hashCode(indexName);
+        _h = 31 * _h + Arrays.hashCode(nvDigest);
+        return _h;
+    }
 }
 
 //<<<
@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -65,7 +65,7 @@ public class TPMS_NV_PIN_COUNTER_PARAMETERS extends TpmStructure
      */
     public static TPMS_NV_PIN_COUNTER_PARAMETERS fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPMS_NV_PIN_COUNTER_PARAMETERS.class);
+        return new TpmBuffer(byteBuf).createObj(TPMS_NV_PIN_COUNTER_PARAMETERS::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -80,7 +80,7 @@ public class TPMS_NV_PIN_COUNTER_PARAMETERS extends TpmStructure
      */
     public static TPMS_NV_PIN_COUNTER_PARAMETERS fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPMS_NV_PIN_COUNTER_PARAMETERS.class);
+        return buf.createObj(TPMS_NV_PIN_COUNTER_PARAMETERS::new);
     }
 
     @Override
@@ -98,6 +98,26 @@ public class TPMS_NV_PIN_COUNTER_PARAMETERS extends TpmStructure
         _p.add(d, "int", "pinCount", pinCount);
         _p.add(d, "int", "pinLimit", pinLimit);
     }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPMS_NV_PIN_COUNTER_PARAMETERS that = (TPMS_NV_PIN_COUNTER_PARAMETERS)o;
+        return pinCount == that.pinCount
+            && pinLimit == that.pinLimit;
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = pinCount;
+        _h = 31 * _h + pinLimit;
+        return _h;
+    }
 }
 
 //<<<
@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -91,7 +91,7 @@ public class TPMS_NV_PUBLIC extends TpmStructure
      */
     public static TPMS_NV_PUBLIC fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPMS_NV_PUBLIC.class);
+        return new TpmBuffer(byteBuf).createObj(TPMS_NV_PUBLIC::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -106,7 +106,7 @@ public class TPMS_NV_PUBLIC extends TpmStructure
      */
     public static TPMS_NV_PUBLIC fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPMS_NV_PUBLIC.class);
+        return buf.createObj(TPMS_NV_PUBLIC::new);
     }
 
     @Override
@@ -127,6 +127,32 @@ public class TPMS_NV_PUBLIC extends TpmStructure
         _p.add(d, "byte[]", "authPolicy", authPolicy);
         _p.add(d, "int", "dataSize", dataSize);
     }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPMS_NV_PUBLIC that = (TPMS_NV_PUBLIC)o;
+        return Objects.equals(nvIndex, that.nvIndex)
+            && Objects.equals(nameAlg, that.nameAlg)
+            && Objects.equals(attributes, that.attributes)
+            && Arrays.equals(authPolicy, that.authPolicy)
+            && dataSize == that.dataSize;
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Objects.hashCode(nvIndex);
+        _h = 31 * _h + Objects.hashCode(nameAlg);
+        _h = 31 * _h + Objects.hashCode(attributes);
+        _h = 31 * _h + Arrays.hashCode(authPolicy);
+        _h = 31 * _h + dataSize;
+        return _h;
+    }
 }
 
 //<<<
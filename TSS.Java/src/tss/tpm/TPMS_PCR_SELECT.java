@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -37,7 +37,7 @@ public class TPMS_PCR_SELECT extends TpmStructure
      */
     public static TPMS_PCR_SELECT fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPMS_PCR_SELECT.class);
+        return new TpmBuffer(byteBuf).createObj(TPMS_PCR_SELECT::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -52,7 +52,7 @@ public class TPMS_PCR_SELECT extends TpmStructure
      */
     public static TPMS_PCR_SELECT fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPMS_PCR_SELECT.class);
+        return buf.createObj(TPMS_PCR_SELECT::new);
     }
 
     @Override
@@ -69,6 +69,20 @@ public class TPMS_PCR_SELECT extends TpmStructure
     {
         _p.add(d, "byte[]", "pcrSelect", pcrSelect);
     }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPMS_PCR_SELECT that = (TPMS_PCR_SELECT)o;
+        return Arrays.equals(pcrSelect, that.pcrSelect);
+    }
+
+    @Override
+    public int hashCode() { return Arrays.hashCode(pcrSelect); }
 }
 
 //<<<
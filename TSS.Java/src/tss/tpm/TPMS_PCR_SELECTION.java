@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -54,7 +54,7 @@ public class TPMS_PCR_SELECTION extends TpmStructure
      */
     public static TPMS_PCR_SELECTION fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPMS_PCR_SELECTION.class);
+        return new TpmBuffer(byteBuf).createObj(TPMS_PCR_SELECTION::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -69,7 +69,7 @@ public class TPMS_PCR_SELECTION extends TpmStructure
      */
     public static TPMS_PCR_SELECTION fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPMS_PCR_SELECTION.class);
+        return buf.createObj(TPMS_PCR_SELECTION::new);
     }
 
     @Override
@@ -88,6 +88,26 @@ public class TPMS_PCR_SELECTION extends TpmStructure
         _p.add(d, "byte[]", "pcrSelect", pcrSelect);
     }
 
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPMS_PCR_SELECTION that = (TPMS_PCR_SELECTION)o;
+        return Objects.equals(hash, that.hash)
+            && Arrays.equals(pcrSelect, that.pcrSelect);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Objects.hashCode(hash);
+        _h = 31 * _h + Arrays.hashCode(pcrSelect);
+        return _h;
+    }
+
     /** Create a PCR_SELECTION naming a single PCR
      * @param pcrAlg The hash algorithm
      * @param pcrIndex The PCR index
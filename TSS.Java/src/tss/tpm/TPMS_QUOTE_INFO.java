@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -42,7 +42,7 @@ public class TPMS_QUOTE_INFO extends TpmStructure implements TPMU_ATTEST
     @Override
     public void initFromTpm(TpmBuffer buf)
     {
-        pcrSelect = buf.readObjArr(TPMS_PCR_SELECTION.class);
+        pcrSelect = buf.readObjArr(TPMS_PCR_SELECTION::fromTpm, TPMS_PCR_SELECTION[]::new);
         pcrDigest = buf.readSizedByteBuf();
     }
 
@@ -57,7 +57,7 @@ public class TPMS_QUOTE_INFO extends TpmStructure implements TPMU_ATTEST
      */
     public static TPMS_QUOTE_INFO fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPMS_QUOTE_INFO.class);
+        return new TpmBuffer(byteBuf).createObj(TPMS_QUOTE_INFO::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -72,7 +72,7 @@ public class TPMS_QUOTE_INFO extends TpmStructure implements TPMU_ATTEST
      */
     public static TPMS_QUOTE_INFO fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPMS_QUOTE_INFO.class);
+        return buf.createObj(TPMS_QUOTE_INFO::new);
     }
 
     @Override
@@ -90,6 +90,26 @@ public class TPMS_QUOTE_INFO extends TpmStructure implements TPMU_ATTEST
         _p.add(d, "TPMS_PCR_SELECTION[]", "pcrSelect", pcrSelect);
         _p.add(d, "byte[]", "pcrDigest", pcrDigest);
     }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPMS_QUOTE_INFO that = (TPMS_QUOTE_INFO)o;
+        return Arrays.equals(pcrSelect, that.pcrSelect)
+            && Arrays.equals(pcrDigest, that.pcrDigest);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Arrays.hashCode(pcrSelect);
+        _h = 31 * _h + Arrays.hashCode(pcrDigest);
+        return _h;
+    }
 }
 
 //<<<
@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -57,7 +57,7 @@ public class TPMS_SCHEME_ECDAA extends TpmStructure implements TPMU_SIG_SCHEME,
      */
     public static TPMS_SCHEME_ECDAA fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPMS_SCHEME_ECDAA.class);
+        return new TpmBuffer(byteBuf).createObj(TPMS_SCHEME_ECDAA::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -72,7 +72,7 @@ public class TPMS_SCHEME_ECDAA extends TpmStructure implements TPMU_SIG_SCHEME,
      */
     public static TPMS_SCHEME_ECDAA fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPMS_SCHEME_ECDAA.class);
+        return buf.createObj(TPMS_SCHEME_ECDAA::new);
     }
 
     @Override
@@ -90,6 +90,26 @@ public class TPMS_SCHEME_ECDAA extends TpmStructure implements TPMU_SIG_SCHEME,
         _p.add(d, "TPM_ALG_ID", "hashAlg", hashAlg);
         _p.add(d, "int", "count", count);
     }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPMS_SCHEME_ECDAA that = (TPMS_SCHEME_ECDAA)o;
+        return Objects.equals(hashAlg, that.hashAlg)
+            && count == that.count;
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Objects.hashCode(hashAlg);
+        _h = 31 * _h + count;
+        return _h;
+    }
 }
 
 //<<<
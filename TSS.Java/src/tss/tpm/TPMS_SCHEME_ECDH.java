@@ -26,7 +26,7 @@ public class TPMS_SCHEME_ECDH extends TPMS_KEY_SCHEME_ECDH
      */
     public static TPMS_SCHEME_ECDH fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPMS_SCHEME_ECDH.class);
+        return new TpmBuffer(byteBuf).createObj(TPMS_SCHEME_ECDH::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -41,7 +41,7 @@ public class TPMS_SCHEME_ECDH extends TPMS_KEY_SCHEME_ECDH
      */
     public static TPMS_SCHEME_ECDH fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPMS_SCHEME_ECDH.class);
+        return buf.createObj(TPMS_SCHEME_ECDH::new);
     }
 
     @Override
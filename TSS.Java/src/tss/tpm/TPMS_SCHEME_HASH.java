@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -42,7 +42,7 @@ public class TPMS_SCHEME_HASH extends TpmStructure implements TPMU_SCHEME_KEYEDH
      */
     public static TPMS_SCHEME_HASH fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPMS_SCHEME_HASH.class);
+        return new TpmBuffer(byteBuf).createObj(TPMS_SCHEME_HASH::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -57,7 +57,7 @@ public class TPMS_SCHEME_HASH extends TpmStructure implements TPMU_SCHEME_KEYEDH
      */
     public static TPMS_SCHEME_HASH fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPMS_SCHEME_HASH.class);
+        return buf.createObj(TPMS_SCHEME_HASH::new);
     }
 
     @Override
@@ -74,6 +74,20 @@ public class TPMS_SCHEME_HASH extends TpmStructure implements TPMU_SCHEME_KEYEDH
     {
         _p.add(d, "TPM_ALG_ID", "hashAlg", hashAlg);
     }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPMS_SCHEME_HASH that = (TPMS_SCHEME_HASH)o;
+        return Objects.equals(hashAlg, that.hashAlg);
+    }
+
+    @Override
+    public int hashCode() { return Objects.hashCode(hashAlg); }
 }
 
 //<<<
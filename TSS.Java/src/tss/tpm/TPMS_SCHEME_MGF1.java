@@ -29,7 +29,7 @@ public class TPMS_SCHEME_MGF1 extends TPMS_KDF_SCHEME_MGF1
      */
     public static TPMS_SCHEME_MGF1 fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPMS_SCHEME_MGF1.class);
+        return new TpmBuffer(byteBuf).createObj(TPMS_SCHEME_MGF1::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -44,7 +44,7 @@ public class TPMS_SCHEME_MGF1 extends TPMS_KDF_SCHEME_MGF1
      */
     public static TPMS_SCHEME_MGF1 fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPMS_SCHEME_MGF1.class);
+        return buf.createObj(TPMS_SCHEME_MGF1::new);
     }
 
     @Override
@@ -29,7 +29,7 @@ public class TPMS_SCHEME_SM2 extends TPMS_SIG_SCHEME_SM2
      */
     public static TPMS_SCHEME_SM2 fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPMS_SCHEME_SM2.class);
+        return new TpmBuffer(byteBuf).createObj(TPMS_SCHEME_SM2::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -44,7 +44,7 @@ public class TPMS_SCHEME_SM2 extends TPMS_SIG_SCHEME_SM2
      */
     public static TPMS_SCHEME_SM2 fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPMS_SCHEME_SM2.class);
+        return buf.createObj(TPMS_SCHEME_SM2::new);
     }
 
     @Override
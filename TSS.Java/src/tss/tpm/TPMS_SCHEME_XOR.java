@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -61,7 +61,7 @@ public class TPMS_SCHEME_XOR extends TpmStructure implements TPMU_SCHEME_KEYEDHA
      */
     public static TPMS_SCHEME_XOR fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPMS_SCHEME_XOR.class);
+        return new TpmBuffer(byteBuf).createObj(TPMS_SCHEME_XOR::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -76,7 +76,7 @@ public class TPMS_SCHEME_XOR extends TpmStructure implements TPMU_SCHEME_KEYEDHA
      */
     public static TPMS_SCHEME_XOR fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPMS_SCHEME_XOR.class);
+        return buf.createObj(TPMS_SCHEME_XOR::new);
     }
 
     @Override
@@ -94,6 +94,26 @@ public class TPMS_SCHEME_XOR extends TpmStructure implements TPMU_SCHEME_KEYEDHA
         _p.add(d, "TPM_ALG_ID", "hashAlg", hashAlg);
         _p.add(d, "TPM_ALG_ID", "kdf", kdf);
     }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPMS_SCHEME_XOR that = (TPMS_SCHEME_XOR)o;
+        return Objects.equals(hashAlg, that.hashAlg)
+            && Objects.equals(kdf, that.kdf);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Objects.hashCode(hashAlg);
+        _h = 31 * _h + Objects.hashCode(kdf);
+        return _h;
+    }
 }
 
 //<<<
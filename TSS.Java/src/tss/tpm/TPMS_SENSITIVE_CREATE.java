@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -56,7 +56,7 @@ public class TPMS_SENSITIVE_CREATE extends TpmStructure
      */
     public static TPMS_SENSITIVE_CREATE fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPMS_SENSITIVE_CREATE.class);
+        return new TpmBuffer(byteBuf).createObj(TPMS_SENSITIVE_CREATE::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -71,7 +71,7 @@ public class TPMS_SENSITIVE_CREATE extends TpmStructure
      */
     public static TPMS_SENSITIVE_CREATE fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPMS_SENSITIVE_CREATE.class);
+        return buf.createObj(TPMS_SENSITIVE_CREATE::new);
     }
 
     @Override
@@ -89,6 +89,26 @@ public class TPMS_SENSITIVE_CREATE extends TpmStructure
         _p.add(d, "byte[]", "userAuth", userAuth);
         _p.add(d, "byte[]", "data", data);
     }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPMS_SENSITIVE_CREATE that = (TPMS_SENSITIVE_CREATE)o;
+        return Arrays.equals(userAuth, that.userAuth)
+            && Arrays.equals(data, that.data);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Arrays.hashCode(userAuth);
+        _h = 31 * _h + Arrays.hashCode(data);
+        return _h;
+    }
 }
 
 //<<<
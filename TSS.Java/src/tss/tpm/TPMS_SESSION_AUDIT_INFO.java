@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -63,7 +63,7 @@ public class TPMS_SESSION_AUDIT_INFO extends TpmStructure implements TPMU_ATTEST
      */
     public static TPMS_SESSION_AUDIT_INFO fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPMS_SESSION_AUDIT_INFO.class);
+        return new TpmBuffer(byteBuf).createObj(TPMS_SESSION_AUDIT_INFO::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -78,7 +78,7 @@ public class TPMS_SESSION_AUDIT_INFO extends TpmStructure implements TPMU_ATTEST
      */
     public static TPMS_SESSION_AUDIT_INFO fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPMS_SESSION_AUDIT_INFO.class);
+        return buf.createObj(TPMS_SESSION_AUDIT_INFO::new);
     }
 
     @Override
@@ -96,6 +96,26 @@ public class TPMS_SESSION_AUDIT_INFO extends TpmStructure implements TPMU_ATTEST
         _p.add(d, "byte", "exclusiveSession", exclusiveSession);
         _p.add(d, "byte[]", "sessionDigest", sessionDigest);
     }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPMS_SESSION_AUDIT_INFO that = (TPMS_SESSION_AUDIT_INFO)o;
+        return exclusiveSession == that.exclusiveSession
+            && Arrays.equals(sessionDigest, that.sessionDigest);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = exclusiveSession;
+        _h = 31 * _h + Arrays.hashCode(sessionDigest);
+        return _h;
+    }
 }
 
 //<<<
@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -63,7 +63,7 @@ public class TPMS_SIGNATURE_ECC extends TpmStructure implements TPMU_SIGNATURE
      */
     public static TPMS_SIGNATURE_ECC fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPMS_SIGNATURE_ECC.class);
+        return new TpmBuffer(byteBuf).createObj(TPMS_SIGNATURE_ECC::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -78,7 +78,7 @@ public class TPMS_SIGNATURE_ECC extends TpmStructure implements TPMU_SIGNATURE
      */
     public static TPMS_SIGNATURE_ECC fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPMS_SIGNATURE_ECC.class);
+        return buf.createObj(TPMS_SIGNATURE_ECC::new);
     }
 
     @Override
@@ -97,6 +97,28 @@ public class TPMS_SIGNATURE_ECC extends TpmStructure implements TPMU_SIGNATURE
         _p.add(d, "byte[]", "signatureR", signatureR);
         _p.add(d, "byte[]", "signatureS", signatureS);
     }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPMS_SIGNATURE_ECC that = (TPMS_SIGNATURE_ECC)o;
+        return Objects.equals(hash, that.hash)
+            && Arrays.equals(signatureR, that.signatureR)
+            && Arrays.equals(signatureS, that.signatureS);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Objects.hashCode(hash);
+        _h = 31 * _h + Arrays.hashCode(signatureR);
+        _h = 31 * _h + Arrays.hashCode(signatureS);
+        return _h;
+    }
 }
 
 //<<<
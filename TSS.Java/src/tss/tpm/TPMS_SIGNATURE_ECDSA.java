@@ -36,7 +36,7 @@ public class TPMS_SIGNATURE_ECDSA extends TPMS_SIGNATURE_ECC
      */
     public static TPMS_SIGNATURE_ECDSA fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPMS_SIGNATURE_ECDSA.class);
+        return new TpmBuffer(byteBuf).createObj(TPMS_SIGNATURE_ECDSA::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -51,7 +51,7 @@ public class TPMS_SIGNATURE_ECDSA extends TPMS_SIGNATURE_ECC
      */
     public static TPMS_SIGNATURE_ECDSA fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPMS_SIGNATURE_ECDSA.class);
+        return buf.createObj(TPMS_SIGNATURE_ECDSA::new);
     }
 
     @Override
@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -60,7 +60,7 @@ public class TPMS_SIGNATURE_RSA extends TpmStructure implements TPMU_SIGNATURE
      */
     public static TPMS_SIGNATURE_RSA fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPMS_SIGNATURE_RSA.class);
+        return new TpmBuffer(byteBuf).createObj(TPMS_SIGNATURE_RSA::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -75,7 +75,7 @@ public class TPMS_SIGNATURE_RSA extends TpmStructure implements TPMU_SIGNATURE
      */
     public static TPMS_SIGNATURE_RSA fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPMS_SIGNATURE_RSA.class);
+        return buf.createObj(TPMS_SIGNATURE_RSA::new);
     }
 
     @Override
@@ -93,6 +93,26 @@ public class TPMS_SIGNATURE_RSA extends TpmStructure implements TPMU_SIGNATURE
         _p.add(d, "TPM_ALG_ID", "hash", hash);
         _p.add(d, "byte[]", "sig", sig);
     }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPMS_SIGNATURE_RSA that = (TPMS_SIGNATURE_RSA)o;
+        return Objects.equals(hash, that.hash)
+            && Arrays.equals(sig, that.sig);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Objects.hashCode(hash);
+        _h = 31 * _h + Arrays.hashCode(sig);
+        return _h;
+    }
 }
 
 //<<<
@@ -35,7 +35,7 @@ public class TPMS_SIGNATURE_RSASSA extends TPMS_SIGNATURE_RSA
      */
     public static TPMS_SIGNATURE_RSASSA fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPMS_SIGNATURE_RSASSA.class);
+        return new TpmBuffer(byteBuf).createObj(TPMS_SIGNATURE_RSASSA::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -50,7 +50,7 @@ public class TPMS_SIGNATURE_RSASSA extends TPMS_SIGNATURE_RSA
      */
     public static TPMS_SIGNATURE_RSASSA fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPMS_SIGNATURE_RSASSA.class);
+        return buf.createObj(TPMS_SIGNATURE_RSASSA::new);
     }
 
     @Override
@@ -36,7 +36,7 @@ public class TPMS_SIGNATURE_SM2 extends TPMS_SIGNATURE_ECC
      */
     public static TPMS_SIGNATURE_SM2 fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPMS_SIGNATURE_SM2.class);
+        return new TpmBuffer(byteBuf).createObj(TPMS_SIGNATURE_SM2::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -51,7 +51,7 @@ public class TPMS_SIGNATURE_SM2 extends TPMS_SIGNATURE_ECC
      */
     public static TPMS_SIGNATURE_SM2 fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPMS_SIGNATURE_SM2.class);
+        return buf.createObj(TPMS_SIGNATURE_SM2::new);
     }
 
     @Override
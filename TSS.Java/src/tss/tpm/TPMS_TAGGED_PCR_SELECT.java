@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -54,7 +54,7 @@ public class TPMS_TAGGED_PCR_SELECT extends TpmStructure
      */
     public static TPMS_TAGGED_PCR_SELECT fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPMS_TAGGED_PCR_SELECT.class);
+        return new TpmBuffer(byteBuf).createObj(TPMS_TAGGED_PCR_SELECT::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -69,7 +69,7 @@ public class TPMS_TAGGED_PCR_SELECT extends TpmStructure
      */
     public static TPMS_TAGGED_PCR_SELECT fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPMS_TAGGED_PCR_SELECT.class);
+        return buf.createObj(TPMS_TAGGED_PCR_SELECT::new);
     }
 
     @Override
@@ -87,6 +87,26 @@ public class TPMS_TAGGED_PCR_SELECT extends TpmStructure
         _p.add(d, "TPM_PT_PCR", "tag", tag);
         _p.add(d, "byte[]", "pcrSelect", pcrSelect);
     }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPMS_TAGGED_PCR_SELECT that = (TPMS_TAGGED_PCR_SELECT)o;
+        return Objects.equals(tag, that.tag)
+            && Arrays.equals(pcrSelect, that.pcrSelect);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Objects.hashCode(tag);
+        _h = 31 * _h + Arrays.hashCode(pcrSelect);
+        return _h;
+    }
 }
 
 //<<<
@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -56,7 +56,7 @@ public class TPMS_TAGGED_POLICY extends TpmStructure
      */
     public static TPMS_TAGGED_POLICY fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPMS_TAGGED_POLICY.class);
+        return new TpmBuffer(byteBuf).createObj(TPMS_TAGGED_POLICY::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -71,7 +71,7 @@ public class TPMS_TAGGED_POLICY extends TpmStructure
      */
     public static TPMS_TAGGED_POLICY fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPMS_TAGGED_POLICY.class);
+        return buf.createObj(TPMS_TAGGED_POLICY::new);
     }
 
     @Override
@@ -89,6 +89,26 @@ public class TPMS_TAGGED_POLICY extends TpmStructure
         _p.add(d, "TPM_HANDLE", "handle", handle);
         _p.add(d, "TPMT_HA", "policyHash", policyHash);
     }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPMS_TAGGED_POLICY that = (TPMS_TAGGED_POLICY)o;
+        return Objects.equals(handle, that.handle)
+            && Objects.equals(policyHash, that.policyHash);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Objects.hashCode(handle);
+        _h = 31 * _h + Objects.hashCode(policyHash);
+        return _h;
+    }
 }
 
 //<<<
@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -56,7 +56,7 @@ public class TPMS_TAGGED_PROPERTY extends TpmStructure
      */
     public static TPMS_TAGGED_PROPERTY fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPMS_TAGGED_PROPERTY.class);
+        return new TpmBuffer(byteBuf).createObj(TPMS_TAGGED_PROPERTY::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -71,7 +71,7 @@ public class TPMS_TAGGED_PROPERTY extends TpmStructure
      */
     public static TPMS_TAGGED_PROPERTY fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPMS_TAGGED_PROPERTY.class);
+        return buf.createObj(TPMS_TAGGED_PROPERTY::new);
     }
 
     @Override
@@ -89,6 +89,26 @@ public class TPMS_TAGGED_PROPERTY extends TpmStructure
         _p.add(d, "TPM_PT", "property", property);
         _p.add(d, "int", "value", value);
     }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPMS_TAGGED_PROPERTY that = (TPMS_TAGGED_PROPERTY)o;
+        return Objects.equals(property, that.property)
+            && value == that.value;
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Objects.hashCode(property);
+        _h = 31 * _h + value;
+        return _h;
+    }
 }
 
 //<<<
@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -58,7 +58,7 @@ public class TPMS_TIME_ATTEST_INFO extends TpmStructure implements TPMU_ATTEST
      */
     public static TPMS_TIME_ATTEST_INFO fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPMS_TIME_ATTEST_INFO.class);
+        return new TpmBuffer(byteBuf).createObj(TPMS_TIME_ATTEST_INFO::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -73,7 +73,7 @@ public class TPMS_TIME_ATTEST_INFO extends TpmStructure implements TPMU_ATTEST
      */
     public static TPMS_TIME_ATTEST_INFO fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPMS_TIME_ATTEST_INFO.class);
+        return buf.createObj(TPMS_TIME_ATTEST_INFO::new);
     }
 
     @Override
@@ -91,6 +91,26 @@ public class TPMS_TIME_ATTEST_INFO extends TpmStructure implements TPMU_ATTEST
         _p.add(d, "TPMS_TIME_INFO", "time", time);
         _p.add(d, "long", "firmwareVersion", firmwareVersion);
     }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPMS_TIME_ATTEST_INFO that = (TPMS_TIME_ATTEST_INFO)o;
+        return Objects.equals(time, that.time)
+            && firmwareVersion == that.firmwareVersion;
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Objects.hashCode(time);
+        _h = 31 * _h + Long.hashCode(firmwareVersion);
+        return _h;
+    }
 }
 
 //<<<
@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -57,7 +57,7 @@ public class TPMS_TIME_INFO extends TpmStructure
      */
     public static TPMS_TIME_INFO fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPMS_TIME_INFO.class);
+        return new TpmBuffer(byteBuf).createObj(TPMS_TIME_INFO::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -72,7 +72,7 @@ public class TPMS_TIME_INFO extends TpmStructure
      */
     public static TPMS_TIME_INFO fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPMS_TIME_INFO.class);
+        return buf.createObj(TPMS_TIME_INFO::new);
     }
 
     @Override
@@ -90,6 +90,26 @@ public class TPMS_TIME_INFO extends TpmStructure
         _p.add(d, "long", "time", time);
         _p.add(d, "TPMS_CLOCK_INFO", "clockInfo", clockInfo);
     }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPMS_TIME_INFO that = (TPMS_TIME_INFO)o;
+        return time == that.time
+            && Objects.equals(clockInfo, that.clockInfo);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Long.hashCode(time);
+        _h = 31 * _h + Objects.hashCode(clockInfo);
+        return _h;
+    }
 }
 
 //<<<
@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -68,7 +68,7 @@ public class TPMT_HA extends TpmStructure implements TPMU_SIGNATURE
      */
     public static TPMT_HA fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPMT_HA.class);
+        return new TpmBuffer(byteBuf).createObj(TPMT_HA::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -83,7 +83,7 @@ public class TPMT_HA extends TpmStructure implements TPMU_SIGNATURE
      */
     public static TPMT_HA fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPMT_HA.class);
+        return buf.createObj(TPMT_HA::new);
     }
 
     @Override
@@ -102,6 +102,26 @@ public class TPMT_HA extends TpmStructure implements TPMU_SIGNATURE
         _p.add(d, "byte[]", "digest", digest);
     }
 
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPMT_HA that = (TPMT_HA)o;
+        return Objects.equals(hashAlg, that.hashAlg)
+            && Arrays.equals(digest, that.digest);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Objects.hashCode(hashAlg);
+        _h = 31 * _h + Arrays.hashCode(digest);
+        return _h;
+    }
+
     /** Create a TPMT_HA from the hash of data
      * @param hashAlg The hash algorithm
      * @param data The data to hash
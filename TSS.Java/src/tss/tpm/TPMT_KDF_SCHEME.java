@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -41,7 +41,7 @@ public class TPMT_KDF_SCHEME extends TpmStructure
     public void initFromTpm(TpmBuffer buf)
     {
         TPM_ALG_ID scheme = TPM_ALG_ID.fromTpm(buf);
-        details = UnionFactory.create("TPMU_KDF_SCHEME", scheme);
+        details = UnionFactory.createTPMU_KDF_SCHEME(scheme);
         details.initFromTpm(buf);
     }
 
@@ -56,7 +56,7 @@ public class TPMT_KDF_SCHEME extends TpmStructure
      */
     public static TPMT_KDF_SCHEME fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPMT_KDF_SCHEME.class);
+        return new TpmBuffer(byteBuf).createObj(TPMT_KDF_SCHEME::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -71,7 +71,7 @@ public class TPMT_KDF_SCHEME extends TpmStructure
      */
     public static TPMT_KDF_SCHEME fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPMT_KDF_SCHEME.class);
+        return buf.createObj(TPMT_KDF_SCHEME::new);
     }
 
     @Override
@@ -88,6 +88,20 @@ public class TPMT_KDF_SCHEME extends TpmStructure
     {
         _p.add(d, "TPMU_KDF_SCHEME", "details", details);
     }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPMT_KDF_SCHEME that = (TPMT_KDF_SCHEME)o;
+        return Objects.equals(details, that.details);
+    }
+
+    @Override
+    public int hashCode() { return Objects.hashCode(details); }
 }
 
 //<<<
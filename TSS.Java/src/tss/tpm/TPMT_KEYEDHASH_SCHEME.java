@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -39,7 +39,7 @@ public class TPMT_KEYEDHASH_SCHEME extends TpmStructure
     public void initFromTpm(TpmBuffer buf)
     {
         TPM_ALG_ID scheme = TPM_ALG_ID.fromTpm(buf);
-        details = UnionFactory.create("TPMU_SCHEME_KEYEDHASH", scheme);
+        details = UnionFactory.createTPMU_SCHEME_KEYEDHASH(scheme);
         details.initFromTpm(buf);
     }
 
@@ -54,7 +54,7 @@ public class TPMT_KEYEDHASH_SCHEME extends TpmStructure
      */
     public static TPMT_KEYEDHASH_SCHEME fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPMT_KEYEDHASH_SCHEME.class);
+        return new TpmBuffer(byteBuf).createObj(TPMT_KEYEDHASH_SCHEME::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -69,7 +69,7 @@ public class TPMT_KEYEDHASH_SCHEME extends TpmStructure
      */
     public static TPMT_KEYEDHASH_SCHEME fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPMT_KEYEDHASH_SCHEME.class);
+        return buf.createObj(TPMT_KEYEDHASH_SCHEME::new);
     }
 
     @Override
@@ -86,6 +86,20 @@ public class TPMT_KEYEDHASH_SCHEME extends TpmStructure
     {
         _p.add(d, "TPMU_SCHEME_KEYEDHASH", "details", details);
     }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPMT_KEYEDHASH_SCHEME that = (TPMT_KEYEDHASH_SCHEME)o;
+        return Objects.equals(details, that.details);
+    }
+
+    @Override
+    public int hashCode() { return Objects.hashCode(details); }
 }
 
 //<<<
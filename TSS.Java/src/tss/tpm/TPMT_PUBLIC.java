@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -92,9 +92,9 @@ public class TPMT_PUBLIC extends TpmStructure
         nameAlg = TPM_ALG_ID.fromTpm(buf);
         objectAttributes = TPMA_OBJECT.fromTpm(buf);
         authPolicy = buf.readSizedByteBuf();
-        parameters = UnionFactory.create("TPMU_PUBLIC_PARMS", type);
+        parameters = UnionFactory.createTPMU_PUBLIC_PARMS(type);
         parameters.initFromTpm(buf);
-        unique = UnionFactory.create("TPMU_PUBLIC_ID", type);
+        unique = UnionFactory.createTPMU_PUBLIC_ID(type);
         unique.initFromTpm(buf);
     }
 
@@ -109,7 +109,7 @@ public class TPMT_PUBLIC extends TpmStructure
      */
     public static TPMT_PUBLIC fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPMT_PUBLIC.class);
+        return new TpmBuffer(byteBuf).createObj(TPMT_PUBLIC::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -124,7 +124,7 @@ public class TPMT_PUBLIC extends TpmStructure
      */
     public static TPMT_PUBLIC fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPMT_PUBLIC.class);
+        return buf.createObj(TPMT_PUBLIC::new);
     }
 
     @Override
@@ -146,6 +146,32 @@ public class TPMT_PUBLIC extends TpmStructure
         _p.add(d, "TPMU_PUBLIC_ID", "unique", unique);
     }
 
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPMT_PUBLIC that = (TPMT_PUBLIC)o;
+        return Objects.equals(nameAlg, that.nameAlg)
+            && Objects.equals(objectAttributes, that.objectAttributes)
+            && Arrays.equals(authPolicy, that.authPolicy)
+            && Objects.equals(parameters, that.parameters)
+            && Objects.equals(unique, that.unique);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Objects.hashCode(nameAlg);
+        _h = 31 * _h + Objects.hashCode(objectAttributes);
+        _h = 31 * _h + Arrays.hashCode(authPolicy);
+        _h = 31 * _h + Objects.hashCode(parameters);
+        _h = 31 * _h + Objects.hashCode(unique);
+        return _h;
+    }
+
     /**
      * Validate a TPM signature.  Note that this function hashes dataThatWasSigned before
      * verifying the signature.
@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -43,7 +43,7 @@ public class TPMT_PUBLIC_PARMS extends TpmStructure
     public void initFromTpm(TpmBuffer buf)
     {
         TPM_ALG_ID type = TPM_ALG_ID.fromTpm(buf);
-        parameters = UnionFactory.create("TPMU_PUBLIC_PARMS", type);
+        parameters = UnionFactory.createTPMU_PUBLIC_PARMS(type);
         parameters.initFromTpm(buf);
     }
 
@@ -58,7 +58,7 @@ public class TPMT_PUBLIC_PARMS extends TpmStructure
      */
     public static TPMT_PUBLIC_PARMS fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPMT_PUBLIC_PARMS.class);
+        return new TpmBuffer(byteBuf).createObj(TPMT_PUBLIC_PARMS::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -73,7 +73,7 @@ public class TPMT_PUBLIC_PARMS extends TpmStructure
      */
     public static TPMT_PUBLIC_PARMS fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPMT_PUBLIC_PARMS.class);
+        return buf.createObj(TPMT_PUBLIC_PARMS::new);
     }
 
     @Override
@@ -90,6 +90,20 @@ public class TPMT_PUBLIC_PARMS extends TpmStructure
     {
         _p.add(d, "TPMU_PUBLIC_PARMS", "parameters", parameters);
     }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPMT_PUBLIC_PARMS that = (TPMT_PUBLIC_PARMS)o;
+        return Objects.equals(parameters, that.parameters);
+    }
+
+    @Override
+    public int hashCode() { return Objects.hashCode(parameters); }
 }
 
 //<<<
@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -45,7 +45,7 @@ public class TPMT_RSA_SCHEME extends TpmStructure
     public void initFromTpm(TpmBuffer buf)
     {
         TPM_ALG_ID scheme = TPM_ALG_ID.fromTpm(buf);
-        details = UnionFactory.create("TPMU_ASYM_SCHEME", scheme);
+        details = UnionFactory.createTPMU_ASYM_SCHEME(scheme);
         details.initFromTpm(buf);
     }
 
@@ -60,7 +60,7 @@ public class TPMT_RSA_SCHEME extends TpmStructure
      */
     public static TPMT_RSA_SCHEME fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPMT_RSA_SCHEME.class);
+        return new TpmBuffer(byteBuf).createObj(TPMT_RSA_SCHEME::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -75,7 +75,7 @@ public class TPMT_RSA_SCHEME extends TpmStructure
      */
     public static TPMT_RSA_SCHEME fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPMT_RSA_SCHEME.class);
+        return buf.createObj(TPMT_RSA_SCHEME::new);
     }
 
     @Override
@@ -92,6 +92,20 @@ public class TPMT_RSA_SCHEME extends TpmStructure
     {
         _p.add(d, "TPMU_ASYM_SCHEME", "details", details);
     }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPMT_RSA_SCHEME that = (TPMT_RSA_SCHEME)o;
+        return Objects.equals(details, that.details);
+    }
+
+    @Override
+    public int hashCode() { return Objects.hashCode(details); }
 }
 
 //<<<
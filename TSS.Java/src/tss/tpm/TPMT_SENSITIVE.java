@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -66,7 +66,7 @@ public class TPMT_SENSITIVE extends TpmStructure
         TPM_ALG_ID sensitiveType = TPM_ALG_ID.fromTpm(buf);
         authValue = buf.readSizedByteBuf();
         seedValue = buf.readSizedByteBuf();
-        sensitive = UnionFactory.create("TPMU_SENSITIVE_COMPOSITE", sensitiveType);
+        sensitive = UnionFactory.createTPMU_SENSITIVE_COMPOSITE(sensitiveType);
         sensitive.initFromTpm(buf);
     }
 
@@ -81,7 +81,7 @@ public class TPMT_SENSITIVE extends TpmStructure
      */
     public static TPMT_SENSITIVE fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPMT_SENSITIVE.class);
+        return new TpmBuffer(byteBuf).createObj(TPMT_SENSITIVE::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -96,7 +96,7 @@ public class TPMT_SENSITIVE extends TpmStructure
      */
     public static TPMT_SENSITIVE fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPMT_SENSITIVE.class);
+        return buf.createObj(TPMT_SENSITIVE::new);
     }
 
     @Override
@@ -115,6 +115,28 @@ public class TPMT_SENSITIVE extends TpmStructure
         _p.add(d, "byte[]", "seedValue", seedValue);
         _p.add(d, "TPMU_SENSITIVE_COMPOSITE", "sensitive", sensitive);
     }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPMT_SENSITIVE that = (TPMT_SENSITIVE)o;
+        return Arrays.equals(authValue, that.authValue)
+            && Arrays.equals(seedValue, that.seedValue)
+            && Objects.equals(sensitive, that.sensitive);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Arrays.hashCode(authValue);
+        _h = 31 * _h + Arrays.hashCode(seedValue);
+        _h = 31 * _h + Objects.hashCode(sensitive);
+        return _h;
+    }
 }
 
 //<<<
@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -48,7 +48,7 @@ public class TPMT_SIGNATURE extends TpmStructure
     public void initFromTpm(TpmBuffer buf)
     {
         TPM_ALG_ID sigAlg = TPM_ALG_ID.fromTpm(buf);
-        signature = UnionFactory.create("TPMU_SIGNATURE", sigAlg);
+        signature = UnionFactory.createTPMU_SIGNATURE(sigAlg);
         signature.initFromTpm(buf);
     }
 
@@ -63,7 +63,7 @@ public class TPMT_SIGNATURE extends TpmStructure
      */
     public static TPMT_SIGNATURE fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPMT_SIGNATURE.class);
+        return new TpmBuffer(byteBuf).createObj(TPMT_SIGNATURE::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -78,7 +78,7 @@ public class TPMT_SIGNATURE extends TpmStructure
      */
     public static TPMT_SIGNATURE fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPMT_SIGNATURE.class);
+        return buf.createObj(TPMT_SIGNATURE::new);
     }
 
     @Override
@@ -95,6 +95,20 @@ public class TPMT_SIGNATURE extends TpmStructure
     {
         _p.add(d, "TPMU_SIGNATURE", "signature", signature);
     }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPMT_SIGNATURE that = (TPMT_SIGNATURE)o;
+        return Objects.equals(signature, that.signature);
+    }
+
+    @Override
+    public int hashCode() { return Objects.hashCode(signature); }
 }
 
 //<<<
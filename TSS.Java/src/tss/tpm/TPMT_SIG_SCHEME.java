@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -43,7 +43,7 @@ public class TPMT_SIG_SCHEME extends TpmStructure
     public void initFromTpm(TpmBuffer buf)
     {
         TPM_ALG_ID scheme = TPM_ALG_ID.fromTpm(buf);
-        details = UnionFactory.create("TPMU_SIG_SCHEME", scheme);
+        details = UnionFactory.createTPMU_SIG_SCHEME(scheme);
         details.initFromTpm(buf);
     }
 
@@ -58,7 +58,7 @@ public class TPMT_SIG_SCHEME extends TpmStructure
      */
     public static TPMT_SIG_SCHEME fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPMT_SIG_SCHEME.class);
+        return new TpmBuffer(byteBuf).createObj(TPMT_SIG_SCHEME::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -73,7 +73,7 @@ public class TPMT_SIG_SCHEME extends TpmStructure
      */
     public static TPMT_SIG_SCHEME fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPMT_SIG_SCHEME.class);
+        return buf.createObj(TPMT_SIG_SCHEME::new);
     }
 
     @Override
@@ -90,6 +90,20 @@ public class TPMT_SIG_SCHEME extends TpmStructure
     {
         _p.add(d, "TPMU_SIG_SCHEME", "details", details);
     }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPMT_SIG_SCHEME that = (TPMT_SIG_SCHEME)o;
+        return Objects.equals(details, that.details);
+    }
+
+    @Override
+    public int hashCode() { return Objects.hashCode(details); }
 }
 
 //<<<
@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -69,7 +69,7 @@ public class TPMT_SYM_DEF extends TpmStructure
      */
     public static TPMT_SYM_DEF fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPMT_SYM_DEF.class);
+        return new TpmBuffer(byteBuf).createObj(TPMT_SYM_DEF::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -84,7 +84,7 @@ public class TPMT_SYM_DEF extends TpmStructure
      */
     public static TPMT_SYM_DEF fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPMT_SYM_DEF.class);
+        return buf.createObj(TPMT_SYM_DEF::new);
     }
 
     @Override
@@ -104,6 +104,28 @@ public class TPMT_SYM_DEF extends TpmStructure
         _p.add(d, "TPM_ALG_ID", "mode", mode);
     }
 
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPMT_SYM_DEF that = (TPMT_SYM_DEF)o;
+        return Objects.equals(algorithm, that.algorithm)
+            && keyBits == that.keyBits
+            && Objects.equals(mode, that.mode);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Objects.hashCode(algorithm);
+        _h = 31 * _h + keyBits;
+        _h = 31 * _h + Objects.hashCode(mode);
+        return _h;
+    }
+
     /** @deprecated Use default constructor instead */
 
     @Deprecated
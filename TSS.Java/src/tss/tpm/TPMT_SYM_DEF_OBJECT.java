@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -78,7 +78,7 @@ public class TPMT_SYM_DEF_OBJECT extends TpmStructure
      */
     public static TPMT_SYM_DEF_OBJECT fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPMT_SYM_DEF_OBJECT.class);
+        return new TpmBuffer(byteBuf).createObj(TPMT_SYM_DEF_OBJECT::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -93,7 +93,7 @@ public class TPMT_SYM_DEF_OBJECT extends TpmStructure
      */
     public static TPMT_SYM_DEF_OBJECT fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPMT_SYM_DEF_OBJECT.class);
+        return buf.createObj(TPMT_SYM_DEF_OBJECT::new);
     }
 
     @Override
@@ -113,6 +113,28 @@ public class TPMT_SYM_DEF_OBJECT extends TpmStructure
         _p.add(d, "TPM_ALG_ID", "mode", mode);
     }
 
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPMT_SYM_DEF_OBJECT that = (TPMT_SYM_DEF_OBJECT)o;
+        return Objects.equals(algorithm, that.algorithm)
+            && keyBits == that.keyBits
+            && Objects.equals(mode, that.mode);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Objects.hashCode(algorithm);
+        _h = 31 * _h + keyBits;
+        _h = 31 * _h + Objects.hashCode(mode);
+        return _h;
+    }
+
     /** @deprecated Use default constructor instead */
 
     @Deprecated
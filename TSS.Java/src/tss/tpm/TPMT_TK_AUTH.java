@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -64,7 +64,7 @@ public class TPMT_TK_AUTH extends TpmStructure
      */
     public static TPMT_TK_AUTH fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPMT_TK_AUTH.class);
+        return new TpmBuffer(byteBuf).createObj(TPMT_TK_AUTH::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -79,7 +79,7 @@ public class TPMT_TK_AUTH extends TpmStructure
      */
     public static TPMT_TK_AUTH fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPMT_TK_AUTH.class);
+        return buf.createObj(TPMT_TK_AUTH::new);
     }
 
     @Override
@@ -98,6 +98,28 @@ public class TPMT_TK_AUTH extends TpmStructure
         _p.add(d, "TPM_HANDLE", "hierarchy", hierarchy);
         _p.add(d, "byte[]", "digest", digest);
     }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPMT_TK_AUTH that = (TPMT_TK_AUTH)o;
+        return Objects.equals(tag, that.tag)
+            && Objects.equals(hierarchy, that.hierarchy)
+            && Arrays.equals(digest, that.digest);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Objects.hashCode(tag);
+        _h = 31 * _h + Objects.hashCode(hierarchy);
+        _h = 31 * _h + Arrays.hashCode(digest);
+        return _h;
+    }
 }
 
 //<<<
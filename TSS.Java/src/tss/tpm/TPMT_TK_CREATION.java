@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -58,7 +58,7 @@ public class TPMT_TK_CREATION extends TpmStructure
      */
     public static TPMT_TK_CREATION fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPMT_TK_CREATION.class);
+        return new TpmBuffer(byteBuf).createObj(TPMT_TK_CREATION::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -73,7 +73,7 @@ public class TPMT_TK_CREATION extends TpmStructure
      */
     public static TPMT_TK_CREATION fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPMT_TK_CREATION.class);
+        return buf.createObj(TPMT_TK_CREATION::new);
     }
 
     @Override
@@ -91,6 +91,26 @@ public class TPMT_TK_CREATION extends TpmStructure
         _p.add(d, "TPM_HANDLE", "hierarchy", hierarchy);
         _p.add(d, "byte[]", "digest", digest);
     }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPMT_TK_CREATION that = (TPMT_TK_CREATION)o;
+        return Objects.equals(hierarchy, that.hierarchy)
+            && Arrays.equals(digest, that.digest);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Objects.hashCode(hierarchy);
+        _h = 31 * _h + Arrays.hashCode(digest);
+        return _h;
+    }
 }
 
 //<<<
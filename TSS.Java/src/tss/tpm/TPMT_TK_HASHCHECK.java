@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -58,7 +58,7 @@ public class TPMT_TK_HASHCHECK extends TpmStructure
      */
     public static TPMT_TK_HASHCHECK fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPMT_TK_HASHCHECK.class);
+        return new TpmBuffer(byteBuf).createObj(TPMT_TK_HASHCHECK::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -73,7 +73,7 @@ public class TPMT_TK_HASHCHECK extends TpmStructure
      */
     public static TPMT_TK_HASHCHECK fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPMT_TK_HASHCHECK.class);
+        return buf.createObj(TPMT_TK_HASHCHECK::new);
     }
 
     @Override
@@ -92,6 +92,26 @@ public class TPMT_TK_HASHCHECK extends TpmStructure
         _p.add(d, "byte[]", "digest", digest);
     }
 
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPMT_TK_HASHCHECK that = (TPMT_TK_HASHCHECK)o;
+        return Objects.equals(hierarchy, that.hierarchy)
+            && Arrays.equals(digest, that.digest);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Objects.hashCode(hierarchy);
+        _h = 31 * _h + Arrays.hashCode(digest);
+        return _h;
+    }
+
     /** Create a NULL ticket (e.g. used for signing data with non-restricted keys)
      * @return The null ticket
      */
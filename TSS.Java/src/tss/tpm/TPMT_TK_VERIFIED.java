@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -59,7 +59,7 @@ public class TPMT_TK_VERIFIED extends TpmStructure
      */
     public static TPMT_TK_VERIFIED fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TPMT_TK_VERIFIED.class);
+        return new TpmBuffer(byteBuf).createObj(TPMT_TK_VERIFIED::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -74,7 +74,7 @@ public class TPMT_TK_VERIFIED extends TpmStructure
      */
     public static TPMT_TK_VERIFIED fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TPMT_TK_VERIFIED.class);
+        return buf.createObj(TPMT_TK_VERIFIED::new);
     }
 
     @Override
@@ -92,6 +92,26 @@ public class TPMT_TK_VERIFIED extends TpmStructure
         _p.add(d, "TPM_HANDLE", "hierarchy", hierarchy);
         _p.add(d, "byte[]", "digest", digest);
     }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TPMT_TK_VERIFIED that = (TPMT_TK_VERIFIED)o;
+        return Objects.equals(hierarchy, that.hierarchy)
+            && Arrays.equals(digest, that.digest);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Objects.hashCode(hierarchy);
+        _h = 31 * _h + Arrays.hashCode(digest);
+        return _h;
+    }
 }
 
 //<<<
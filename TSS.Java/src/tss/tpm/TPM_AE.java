@@ -22,7 +22,7 @@ public final class TPM_AE extends TpmEnum<TPM_AE>
         NONE
     }
 
-    private static ValueMap<TPM_AE> _ValueMap = new ValueMap<TPM_AE>();
+    private static ValueMap<TPM_AE> _ValueMap = new ValueMap<TPM_AE>(4, TPM_AE::new);
 
     /** These definitions provide mapping of the Java enum constants to their TPM integer values */
     public static final TPM_AE
@@ -30,9 +30,9 @@ public final class TPM_AE extends TpmEnum<TPM_AE>
 
     public TPM_AE () { super(0, _ValueMap); }
     public TPM_AE (int value) { super(value, _ValueMap); }
-    public static TPM_AE fromInt (int value) { return TpmEnum.fromInt(value, _ValueMap, TPM_AE.class); }
-    public static TPM_AE fromTpm (byte[] buf) { return TpmEnum.fromTpm(buf, _ValueMap, TPM_AE.class); }
-    public static TPM_AE fromTpm (TpmBuffer buf) { return TpmEnum.fromTpm(buf, _ValueMap, TPM_AE.class); }
+    public static TPM_AE fromInt (int value) { return TpmEnum.fromInt(value, _ValueMap); }
+    public static TPM_AE fromTpm (byte[] buf) { return TpmEnum.fromTpm(buf, _ValueMap); }
+    public static TPM_AE fromTpm (TpmBuffer buf) { return TpmEnum.fromTpm(buf, _ValueMap); }
     public TPM_AE._N asEnum() { return (TPM_AE._N)NameAsEnum; }
     public static Collection<TPM_AE> values() { return _ValueMap.values(); }
     private TPM_AE (int value, _N nameAsEnum) { super(value, nameAsEnum, _ValueMap); }
@@ -170,7 +170,7 @@ public final class TPM_ALG_ID extends TpmEnum<TPM_ALG_ID>
         ANY2
     }
 
-    private static ValueMap<TPM_ALG_ID> _ValueMap = new ValueMap<TPM_ALG_ID>();
+    private static ValueMap<TPM_ALG_ID> _ValueMap = new ValueMap<TPM_ALG_ID>(2, TPM_ALG_ID::new);
 
     /** These definitions provide mapping of the Java enum constants to their TPM integer values */
     public static final TPM_ALG_ID
@@ -222,9 +222,9 @@ public final class TPM_ALG_ID extends TpmEnum<TPM_ALG_ID>
 
     public TPM_ALG_ID () { super(0, _ValueMap); }
     public TPM_ALG_ID (int value) { super(value, _ValueMap); }
-    public static TPM_ALG_ID fromInt (int value) { return TpmEnum.fromInt(value, _ValueMap, TPM_ALG_ID.class); }
-    public static TPM_ALG_ID fromTpm (byte[] buf) { return TpmEnum.fromTpm(buf, _ValueMap, TPM_ALG_ID.class); }
-    public static TPM_ALG_ID fromTpm (TpmBuffer buf) { return TpmEnum.fromTpm(buf, _ValueMap, TPM_ALG_ID.class); }
+    public static TPM_ALG_ID fromInt (int value) { return TpmEnum.fromInt(value, _ValueMap); }
+    public static TPM_ALG_ID fromTpm (byte[] buf) { return TpmEnum.fromTpm(buf, _ValueMap); }
+    public static TPM_ALG_ID fromTpm (TpmBuffer buf) { return TpmEnum.fromTpm(buf, _ValueMap); }
     public TPM_ALG_ID._N asEnum() { return (TPM_ALG_ID._N)NameAsEnum; }
     public static Collection<TPM_ALG_ID> values() { return _ValueMap.values(); }
     private TPM_ALG_ID (int value, _N nameAsEnum) { super(value, nameAsEnum, _ValueMap); }
@@ -33,7 +33,7 @@ public final class TPM_AT extends TpmEnum<TPM_AT>
         VEND
     }
 
-    private static ValueMap<TPM_AT> _ValueMap = new ValueMap<TPM_AT>();
+    private static ValueMap<TPM_AT> _ValueMap = new ValueMap<TPM_AT>(4, TPM_AT::new);
 
     /** These definitions provide mapping of the Java enum constants to their TPM integer values */
     public static final TPM_AT
@@ -44,9 +44,9 @@ public final class TPM_AT extends TpmEnum<TPM_AT>
 
     public TPM_AT () { super(0, _ValueMap); }
     public TPM_AT (int value) { super(value, _ValueMap); }
-    public static TPM_AT fromInt (int value) { return TpmEnum.fromInt(value, _ValueMap, TPM_AT.class); }
-    public static TPM_AT fromTpm (byte[] buf) { return TpmEnum.fromTpm(buf, _ValueMap, TPM_AT.class); }
-    public static TPM_AT fromTpm (TpmBuffer buf) { return TpmEnum.fromTpm(buf, _ValueMap, TPM_AT.class); }
+    public static TPM_AT fromInt (int value) { return TpmEnum.fromInt(value, _ValueMap); }
+    public static TPM_AT fromTpm (byte[] buf) { return TpmEnum.fromTpm(buf, _ValueMap); }
+    public static TPM_AT fromTpm (TpmBuffer buf) { return TpmEnum.fromTpm(buf, _ValueMap); }
     public TPM_AT._N asEnum() { return (TPM_AT._N)NameAsEnum; }
     public static Collection<TPM_AT> values() { return _ValueMap.values(); }
     private TPM_AT (int value, _N nameAsEnum) { super(value, nameAsEnum, _ValueMap); }
@@ -58,7 +58,7 @@ public final class TPM_CAP extends TpmEnum<TPM_CAP>
         VENDOR_PROPERTY
     }
 
-    private static ValueMap<TPM_CAP> _ValueMap = new ValueMap<TPM_CAP>();
+    private static ValueMap<TPM_CAP> _ValueMap = new ValueMap<TPM_CAP>(4, TPM_CAP::new);
 
     /** These definitions provide mapping of the Java enum constants to their TPM integer values */
     public static final TPM_CAP
@@ -79,9 +79,9 @@ public final class TPM_CAP extends TpmEnum<TPM_CAP>
 
     public TPM_CAP () { super(0, _ValueMap); }
     public TPM_CAP (int value) { super(value, _ValueMap); }
-    public static TPM_CAP fromInt (int value) { return TpmEnum.fromInt(value, _ValueMap, TPM_CAP.class); }
-    public static TPM_CAP fromTpm (byte[] buf) { return TpmEnum.fromTpm(buf, _ValueMap, TPM_CAP.class); }
-    public static TPM_CAP fromTpm (TpmBuffer buf) { return TpmEnum.fromTpm(buf, _ValueMap, TPM_CAP.class); }
+    public static TPM_CAP fromInt (int value) { return TpmEnum.fromInt(value, _ValueMap); }
+    public static TPM_CAP fromTpm (byte[] buf) { return TpmEnum.fromTpm(buf, _ValueMap); }
+    public static TPM_CAP fromTpm (TpmBuffer buf) { return TpmEnum.fromTpm(buf, _ValueMap); }
     public TPM_CAP._N asEnum() { return (TPM_CAP._N)NameAsEnum; }
     public static Collection<TPM_CAP> values() { return _ValueMap.values(); }
     private TPM_CAP (int value, _N nameAsEnum) { super(value, nameAsEnum, _ValueMap); }
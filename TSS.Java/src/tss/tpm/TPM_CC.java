@@ -210,7 +210,7 @@ public final class TPM_CC extends TpmEnum<TPM_CC>
         Vendor_TCG_Test
     }
 
-    private static ValueMap<TPM_CC> _ValueMap = new ValueMap<TPM_CC>();
+    private static ValueMap<TPM_CC> _ValueMap = new ValueMap<TPM_CC>(4, TPM_CC::new);
 
     /** These definitions provide mapping of the Java enum constants to their TPM integer values */
     public static final TPM_CC
@@ -342,9 +342,9 @@ public final class TPM_CC extends TpmEnum<TPM_CC>
 
     public TPM_CC () { super(0, _ValueMap); }
     public TPM_CC (int value) { super(value, _ValueMap); }
-    public static TPM_CC fromInt (int value) { return TpmEnum.fromInt(value, _ValueMap, TPM_CC.class); }
-    public static TPM_CC fromTpm (byte[] buf) { return TpmEnum.fromTpm(buf, _ValueMap, TPM_CC.class); }
-    public static TPM_CC fromTpm (TpmBuffer buf) { return TpmEnum.fromTpm(buf, _ValueMap, TPM_CC.class); }
+    public static TPM_CC fromInt (int value) { return TpmEnum.fromInt(value, _ValueMap); }
+    public static TPM_CC fromTpm (byte[] buf) { return TpmEnum.fromTpm(buf, _ValueMap); }
+    public static TPM_CC fromTpm (TpmBuffer buf) { return TpmEnum.fromTpm(buf, _ValueMap); }
     public TPM_CC._N asEnum() { return (TPM_CC._N)NameAsEnum; }
     public static Collection<TPM_CC> values() { return _ValueMap.values(); }
     private TPM_CC (int value, _N nameAsEnum) { super(value, nameAsEnum, _ValueMap); }
@@ -41,7 +41,7 @@ public final class TPM_CLOCK_ADJUST extends TpmEnum<TPM_CLOCK_ADJUST>
         COARSE_FASTER
     }
 
-    private static ValueMap<TPM_CLOCK_ADJUST> _ValueMap = new ValueMap<TPM_CLOCK_ADJUST>();
+    private static ValueMap<TPM_CLOCK_ADJUST> _ValueMap = new ValueMap<TPM_CLOCK_ADJUST>(1, TPM_CLOCK_ADJUST::new);
 
     /** These definitions provide mapping of the Java enum constants to their TPM integer values */
     public static final TPM_CLOCK_ADJUST
@@ -55,9 +55,9 @@ public final class TPM_CLOCK_ADJUST extends TpmEnum<TPM_CLOCK_ADJUST>
 
     public TPM_CLOCK_ADJUST () { super(0, _ValueMap); }
     public TPM_CLOCK_ADJUST (int value) { super(value, _ValueMap); }
-    public static TPM_CLOCK_ADJUST fromInt (int value) { return TpmEnum.fromInt(value, _ValueMap, TPM_CLOCK_ADJUST.class); }
-    public static TPM_CLOCK_ADJUST fromTpm (byte[] buf) { return TpmEnum.fromTpm(buf, _ValueMap, TPM_CLOCK_ADJUST.class); }
-    public static TPM_CLOCK_ADJUST fromTpm (TpmBuffer buf) { return TpmEnum.fromTpm(buf, _ValueMap, TPM_CLOCK_ADJUST.class); }
+    public static TPM_CLOCK_ADJUST fromInt (int value) { return TpmEnum.fromInt(value, _ValueMap); }
+    public static TPM_CLOCK_ADJUST fromTpm (byte[] buf) { return TpmEnum.fromTpm(buf, _ValueMap); }
+    public static TPM_CLOCK_ADJUST fromTpm (TpmBuffer buf) { return TpmEnum.fromTpm(buf, _ValueMap); }
     public TPM_CLOCK_ADJUST._N asEnum() { return (TPM_CLOCK_ADJUST._N)NameAsEnum; }
     public static Collection<TPM_CLOCK_ADJUST> values() { return _ValueMap.values(); }
     private TPM_CLOCK_ADJUST (int value, _N nameAsEnum) { super(value, nameAsEnum, _ValueMap); }
@@ -34,7 +34,7 @@ public final class TPM_ECC_CURVE extends TpmEnum<TPM_ECC_CURVE>
         TEST_P192
     }
 
-    private static ValueMap<TPM_ECC_CURVE> _ValueMap = new ValueMap<TPM_ECC_CURVE>();
+    private static ValueMap<TPM_ECC_CURVE> _ValueMap = new ValueMap<TPM_ECC_CURVE>(2, TPM_ECC_CURVE::new);
 
     /** These definitions provide mapping of the Java enum constants to their TPM integer values */
     public static final TPM_ECC_CURVE
@@ -51,9 +51,9 @@ public final class TPM_ECC_CURVE extends TpmEnum<TPM_ECC_CURVE>
 
     public TPM_ECC_CURVE () { super(0, _ValueMap); }
     public TPM_ECC_CURVE (int value) { super(value, _ValueMap); }
-    public static TPM_ECC_CURVE fromInt (int value) { return TpmEnum.fromInt(value, _ValueMap, TPM_ECC_CURVE.class); }
-    public static TPM_ECC_CURVE fromTpm (byte[] buf) { return TpmEnum.fromTpm(buf, _ValueMap, TPM_ECC_CURVE.class); }
-    public static TPM_ECC_CURVE fromTpm (TpmBuffer buf) { return TpmEnum.fromTpm(buf, _ValueMap, TPM_ECC_CURVE.class); }
+    public static TPM_ECC_CURVE fromInt (int value) { return TpmEnum.fromInt(value, _ValueMap); }
+    public static TPM_ECC_CURVE fromTpm (byte[] buf) { return TpmEnum.fromTpm(buf, _ValueMap); }
+    public static TPM_ECC_CURVE fromTpm (TpmBuffer buf) { return TpmEnum.fromTpm(buf, _ValueMap); }
     public TPM_ECC_CURVE._N asEnum() { return (TPM_ECC_CURVE._N)NameAsEnum; }
     public static Collection<TPM_ECC_CURVE> values() { return _ValueMap.values(); }
     private TPM_ECC_CURVE (int value, _N nameAsEnum) { super(value, nameAsEnum, _ValueMap); }
@@ -53,7 +53,7 @@ public final class TPM_EO extends TpmEnum<TPM_EO>
         BITCLEAR
     }
 
-    private static ValueMap<TPM_EO> _ValueMap = new ValueMap<TPM_EO>();
+    private static ValueMap<TPM_EO> _ValueMap = new ValueMap<TPM_EO>(2, TPM_EO::new);
 
     /** These definitions provide mapping of the Java enum constants to their TPM integer values */
     public static final TPM_EO
@@ -72,9 +72,9 @@ public final class TPM_EO extends TpmEnum<TPM_EO>
 
     public TPM_EO () { super(0, _ValueMap); }
     public TPM_EO (int value) { super(value, _ValueMap); }
-    public static TPM_EO fromInt (int value) { return TpmEnum.fromInt(value, _ValueMap, TPM_EO.class); }
-    public static TPM_EO fromTpm (byte[] buf) { return TpmEnum.fromTpm(buf, _ValueMap, TPM_EO.class); }
-    public static TPM_EO fromTpm (TpmBuffer buf) { return TpmEnum.fromTpm(buf, _ValueMap, TPM_EO.class); }
+    public static TPM_EO fromInt (int value) { return TpmEnum.fromInt(value, _ValueMap); }
+    public static TPM_EO fromTpm (byte[] buf) { return TpmEnum.fromTpm(buf, _ValueMap); }
+    public static TPM_EO fromTpm (TpmBuffer buf) { return TpmEnum.fromTpm(buf, _ValueMap); }
     public TPM_EO._N asEnum() { return (TPM_EO._N)NameAsEnum; }
     public static Collection<TPM_EO> values() { return _ValueMap.values(); }
     private TPM_EO (int value, _N nameAsEnum) { super(value, nameAsEnum, _ValueMap); }
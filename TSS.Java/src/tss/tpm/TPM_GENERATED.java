@@ -20,7 +20,7 @@ public final class TPM_GENERATED extends TpmEnum<TPM_GENERATED>
         VALUE
     }
 
-    private static ValueMap<TPM_GENERATED> _ValueMap = new ValueMap<TPM_GENERATED>();
+    private static ValueMap<TPM_GENERATED> _ValueMap = new ValueMap<TPM_GENERATED>(4, TPM_GENERATED::new);
 
     /** These definitions provide mapping of the Java enum constants to their TPM integer values */
     public static final TPM_GENERATED
@@ -28,9 +28,9 @@ public final class TPM_GENERATED extends TpmEnum<TPM_GENERATED>
 
     public TPM_GENERATED () { super(0, _ValueMap); }
     public TPM_GENERATED (int value) { super(value, _ValueMap); }
-    public static TPM_GENERATED fromInt (int value) { return TpmEnum.fromInt(value, _ValueMap, TPM_GENERATED.class); }
-    public static TPM_GENERATED fromTpm (byte[] buf) { return TpmEnum.fromTpm(buf, _ValueMap, TPM_GENERATED.class); }
-    public static TPM_GENERATED fromTpm (TpmBuffer buf) { return TpmEnum.fromTpm(buf, _ValueMap, TPM_GENERATED.class); }
+    public static TPM_GENERATED fromInt (int value) { return TpmEnum.fromInt(value, _ValueMap); }
+    public static TPM_GENERATED fromTpm (byte[] buf) { return TpmEnum.fromTpm(buf, _ValueMap); }
+    public static TPM_GENERATED fromTpm (TpmBuffer buf) { return TpmEnum.fromTpm(buf, _ValueMap); }
     public TPM_GENERATED._N asEnum() { return (TPM_GENERATED._N)NameAsEnum; }
     public static Collection<TPM_GENERATED> values() { return _ValueMap.values(); }
     private TPM_GENERATED (int value, _N nameAsEnum) { super(value, nameAsEnum, _ValueMap); }
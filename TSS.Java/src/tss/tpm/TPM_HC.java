@@ -102,7 +102,7 @@ public final class TPM_HC extends TpmEnum<TPM_HC>
         AC_LAST
     }
 
-    private static ValueMap<TPM_HC> _ValueMap = new ValueMap<TPM_HC>();
+    private static ValueMap<TPM_HC> _ValueMap = new ValueMap<TPM_HC>(4, TPM_HC::new);
 
     /** These definitions provide mapping of the Java enum constants to their TPM integer values */
     public static final TPM_HC
@@ -144,9 +144,9 @@ public final class TPM_HC extends TpmEnum<TPM_HC>
 
     public TPM_HC () { super(0, _ValueMap); }
     public TPM_HC (int value) { super(value, _ValueMap); }
-    public static TPM_HC fromInt (int value) { return TpmEnum.fromInt(value, _ValueMap, TPM_HC.class); }
-    public static TPM_HC fromTpm (byte[] buf) { return TpmEnum.fromTpm(buf, _ValueMap, TPM_HC.class); }
-    public static TPM_HC fromTpm (TpmBuffer buf) { return TpmEnum.fromTpm(buf, _ValueMap, TPM_HC.class); }
+    public static TPM_HC fromInt (int value) { return TpmEnum.fromInt(value, _ValueMap); }
+    public static TPM_HC fromTpm (byte[] buf) { return TpmEnum.fromTpm(buf, _ValueMap); }
+    public static TPM_HC fromTpm (TpmBuffer buf) { return TpmEnum.fromTpm(buf, _ValueMap); }
     public TPM_HC._N asEnum() { return (TPM_HC._N)NameAsEnum; }
     public static Collection<TPM_HC> values() { return _ValueMap.values(); }
     private TPM_HC (int value, _N nameAsEnum) { super(value, nameAsEnum, _ValueMap); }
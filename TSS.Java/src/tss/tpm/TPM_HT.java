@@ -59,7 +59,7 @@ public final class TPM_HT extends TpmEnum<TPM_HT>
         AC
     }
 
-    private static ValueMap<TPM_HT> _ValueMap = new ValueMap<TPM_HT>();
+    private static ValueMap<TPM_HT> _ValueMap = new ValueMap<TPM_HT>(1, TPM_HT::new);
 
     /** These definitions provide mapping of the Java enum constants to their TPM integer values */
     public static final TPM_HT
@@ -76,9 +76,9 @@ public final class TPM_HT extends TpmEnum<TPM_HT>
 
     public TPM_HT () { super(0, _ValueMap); }
     public TPM_HT (int value) { super(value, _ValueMap); }
-    public static TPM_HT fromInt (int value) { return TpmEnum.fromInt(value, _ValueMap, TPM_HT.class); }
-    public static TPM_HT fromTpm (byte[] buf) { return TpmEnum.fromTpm(buf, _ValueMap, TPM_HT.class); }
-    public static TPM_HT fromTpm (TpmBuffer buf) { return TpmEnum.fromTpm(buf, _ValueMap, TPM_HT.class); }
+    public static TPM_HT fromInt (int value) { return TpmEnum.fromInt(value, _ValueMap); }
+    public static TPM_HT fromTpm (byte[] buf) { return TpmEnum.fromTpm(buf, _ValueMap); }
+    public static TPM_HT fromTpm (TpmBuffer buf) { return TpmEnum.fromTpm(buf, _ValueMap); }
     public TPM_HT._N asEnum() { return (TPM_HT._N)NameAsEnum; }
     public static Collection<TPM_HT> values() { return _ValueMap.values(); }
     private TPM_HT (int value, _N nameAsEnum) { super(value, nameAsEnum, _ValueMap); }
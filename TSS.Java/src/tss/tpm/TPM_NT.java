@@ -41,7 +41,7 @@ public final class TPM_NT extends TpmEnum<TPM_NT>
         PIN_PASS
     }
 
-    private static ValueMap<TPM_NT> _ValueMap = new ValueMap<TPM_NT>();
+    private static ValueMap<TPM_NT> _ValueMap = new ValueMap<TPM_NT>(4, TPM_NT::new);
 
     /** These definitions provide mapping of the Java enum constants to their TPM integer values */
     public static final TPM_NT
@@ -54,9 +54,9 @@ public final class TPM_NT extends TpmEnum<TPM_NT>
 
     public TPM_NT () { super(0, _ValueMap); }
     public TPM_NT (int value) { super(value, _ValueMap); }
-    public static TPM_NT fromInt (int value) { return TpmEnum.fromInt(value, _ValueMap, TPM_NT.class); }
-    public static TPM_NT fromTpm (byte[] buf) { return TpmEnum.fromTpm(buf, _ValueMap, TPM_NT.class); }
-    public static TPM_NT fromTpm (TpmBuffer buf) { return TpmEnum.fromTpm(buf, _ValueMap, TPM_NT.class); }
+    public static TPM_NT fromInt (int value) { return TpmEnum.fromInt(value, _ValueMap); }
+    public static TPM_NT fromTpm (byte[] buf) { return TpmEnum.fromTpm(buf, _ValueMap); }
+    public static TPM_NT fromTpm (TpmBuffer buf) { return TpmEnum.fromTpm(buf, _ValueMap); }
     public TPM_NT._N asEnum() { return (TPM_NT._N)NameAsEnum; }
     public static Collection<TPM_NT> values() { return _ValueMap.values(); }
     private TPM_NT (int value, _N nameAsEnum) { super(value, nameAsEnum, _ValueMap); }
@@ -65,7 +65,7 @@ public final class TPM_PS extends TpmEnum<TPM_PS>
         TC
     }
 
-    private static ValueMap<TPM_PS> _ValueMap = new ValueMap<TPM_PS>();
+    private static ValueMap<TPM_PS> _ValueMap = new ValueMap<TPM_PS>(4, TPM_PS::new);
 
     /** These definitions provide mapping of the Java enum constants to their TPM integer values */
     public static final TPM_PS
@@ -88,9 +88,9 @@ public final class TPM_PS extends TpmEnum<TPM_PS>
 
     public TPM_PS () { super(0, _ValueMap); }
     public TPM_PS (int value) { super(value, _ValueMap); }
-    public static TPM_PS fromInt (int value) { return TpmEnum.fromInt(value, _ValueMap, TPM_PS.class); }
-    public static TPM_PS fromTpm (byte[] buf) { return TpmEnum.fromTpm(buf, _ValueMap, TPM_PS.class); }
-    public static TPM_PS fromTpm (TpmBuffer buf) { return TpmEnum.fromTpm(buf, _ValueMap, TPM_PS.class); }
+    public static TPM_PS fromInt (int value) { return TpmEnum.fromInt(value, _ValueMap); }
+    public static TPM_PS fromTpm (byte[] buf) { return TpmEnum.fromTpm(buf, _ValueMap); }
+    public static TPM_PS fromTpm (TpmBuffer buf) { return TpmEnum.fromTpm(buf, _ValueMap); }
     public TPM_PS._N asEnum() { return (TPM_PS._N)NameAsEnum; }
     public static Collection<TPM_PS> values() { return _ValueMap.values(); }
     private TPM_PS (int value, _N nameAsEnum) { super(value, nameAsEnum, _ValueMap); }
@@ -343,7 +343,7 @@ public final class TPM_PT extends TpmEnum<TPM_PT>
         AUDIT_COUNTER_1
     }
 
-    private static ValueMap<TPM_PT> _ValueMap = new ValueMap<TPM_PT>();
+    private static ValueMap<TPM_PT> _ValueMap = new ValueMap<TPM_PT>(4, TPM_PT::new);
 
     /** These definitions provide mapping of the Java enum constants to their TPM integer values */
     public static final TPM_PT
@@ -421,9 +421,9 @@ public final class TPM_PT extends TpmEnum<TPM_PT>
 
     public TPM_PT () { super(0, _ValueMap); }
     public TPM_PT (int value) { super(value, _ValueMap); }
-    public static TPM_PT fromInt (int value) { return TpmEnum.fromInt(value, _ValueMap, TPM_PT.class); }
-    public static TPM_PT fromTpm (byte[] buf) { return TpmEnum.fromTpm(buf, _ValueMap, TPM_PT.class); }
-    public static TPM_PT fromTpm (TpmBuffer buf) { return TpmEnum.fromTpm(buf, _ValueMap, TPM_PT.class); }
+    public static TPM_PT fromInt (int value) { return TpmEnum.fromInt(value, _ValueMap); }
+    public static TPM_PT fromTpm (byte[] buf) { return TpmEnum.fromTpm(buf, _ValueMap); }
+    public static TPM_PT fromTpm (TpmBuffer buf) { return TpmEnum.fromTpm(buf, _ValueMap); }
     public TPM_PT._N asEnum() { return (TPM_PT._N)NameAsEnum; }
     public static Collection<TPM_PT> values() { return _ValueMap.values(); }
     private TPM_PT (int value, _N nameAsEnum) { super(value, nameAsEnum, _ValueMap); }
@@ -111,7 +111,7 @@ public final class TPM_PT_PCR extends TpmEnum<TPM_PT_PCR>
         LAST
     }
 
-    private static ValueMap<TPM_PT_PCR> _ValueMap = new ValueMap<TPM_PT_PCR>();
+    private static ValueMap<TPM_PT_PCR> _ValueMap = new ValueMap<TPM_PT_PCR>(4, TPM_PT_PCR::new);
 
     /** These definitions provide mapping of the Java enum constants to their TPM integer values */
     public static final TPM_PT_PCR
@@ -135,9 +135,9 @@ public final class TPM_PT_PCR extends TpmEnum<TPM_PT_PCR>
 
     public TPM_PT_PCR () { super(0, _ValueMap); }
     public TPM_PT_PCR (int value) { super(value, _ValueMap); }
-    public static TPM_PT_PCR fromInt (int value) { return TpmEnum.fromInt(value, _ValueMap, TPM_PT_PCR.class); }
-    public static TPM_PT_PCR fromTpm (byte[] buf) { return TpmEnum.fromTpm(buf, _ValueMap, TPM_PT_PCR.class); }
-    public static TPM_PT_PCR fromTpm (TpmBuffer buf) { return TpmEnum.fromTpm(buf, _ValueMap, TPM_PT_PCR.class); }
+    public static TPM_PT_PCR fromInt (int value) { return TpmEnum.fromInt(value, _ValueMap); }
+    public static TPM_PT_PCR fromTpm (byte[] buf) { return TpmEnum.fromTpm(buf, _ValueMap); }
+    public static TPM_PT_PCR fromTpm (TpmBuffer buf) { return TpmEnum.fromTpm(buf, _ValueMap); }
     public TPM_PT_PCR._N asEnum() { return (TPM_PT_PCR._N)NameAsEnum; }
     public static Collection<TPM_PT_PCR> values() { return _ValueMap.values(); }
     private TPM_PT_PCR (int value, _N nameAsEnum) { super(value, nameAsEnum, _ValueMap); }
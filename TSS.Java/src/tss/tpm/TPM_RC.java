@@ -547,7 +547,7 @@ public final class TPM_RC extends TpmEnum<TPM_RC>
         TBS_OWNER_AUTH_NOT_FOUND
     }
 
-    private static ValueMap<TPM_RC> _ValueMap = new ValueMap<TPM_RC>();
+    private static ValueMap<TPM_RC> _ValueMap = new ValueMap<TPM_RC>(4, TPM_RC::new);
 
     /** These definitions provide mapping of the Java enum constants to their TPM integer values */
     public static final TPM_RC
@@ -712,9 +712,9 @@ public final class TPM_RC extends TpmEnum<TPM_RC>
 
     public TPM_RC () { super(0, _ValueMap); }
     public TPM_RC (int value) { super(value, _ValueMap); }
-    public static TPM_RC fromInt (int value) { return TpmEnum.fromInt(value, _ValueMap, TPM_RC.class); }
-    public static TPM_RC fromTpm (byte[] buf) { return TpmEnum.fromTpm(buf, _ValueMap, TPM_RC.class); }
-    public static TPM_RC fromTpm (TpmBuffer buf) { return TpmEnum.fromTpm(buf, _ValueMap, TPM_RC.class); }
+    public static TPM_RC fromInt (int value) { return TpmEnum.fromInt(value, _ValueMap); }
+    public static TPM_RC fromTpm (byte[] buf) { return TpmEnum.fromTpm(buf, _ValueMap); }
+    public static TPM_RC fromTpm (TpmBuffer buf) { return TpmEnum.fromTpm(buf, _ValueMap); }
     public TPM_RC._N asEnum() { return (TPM_RC._N)NameAsEnum; }
     public static Collection<TPM_RC> values() { return _ValueMap.values(); }
     private TPM_RC (int value, _N nameAsEnum) { super(value, nameAsEnum, _ValueMap); }
@@ -28,7 +28,7 @@ public final class TPM_SE extends TpmEnum<TPM_SE>
         TRIAL
     }
 
-    private static ValueMap<TPM_SE> _ValueMap = new ValueMap<TPM_SE>();
+    private static ValueMap<TPM_SE> _ValueMap = new ValueMap<TPM_SE>(1, TPM_SE::new);
 
     /** These definitions provide mapping of the Java enum constants to their TPM integer values */
     public static final TPM_SE
@@ -38,9 +38,9 @@ public final class TPM_SE extends TpmEnum<TPM_SE>
 
     public TPM_SE () { super(0, _ValueMap); }
     public TPM_SE (int value) { super(value, _ValueMap); }
-    public static TPM_SE fromInt (int value) { return TpmEnum.fromInt(value, _ValueMap, TPM_SE.class); }
-    public static TPM_SE fromTpm (byte[] buf) { return TpmEnum.fromTpm(buf, _ValueMap, TPM_SE.class); }
-    public static TPM_SE fromTpm (TpmBuffer buf) { return TpmEnum.fromTpm(buf, _ValueMap, TPM_SE.class); }
+    public static TPM_SE fromInt (int value) { return TpmEnum.fromInt(value, _ValueMap); }
+    public static TPM_SE fromTpm (byte[] buf) { return TpmEnum.fromTpm(buf, _ValueMap); }
+    public static TPM_SE fromTpm (TpmBuffer buf) { return TpmEnum.fromTpm(buf, _ValueMap); }
     public TPM_SE._N asEnum() { return (TPM_SE._N)NameAsEnum; }
     public static Collection<TPM_SE> values() { return _ValueMap.values(); }
     private TPM_SE (int value, _N nameAsEnum) { super(value, nameAsEnum, _ValueMap); }
@@ -32,7 +32,7 @@ public final class TPM_SPEC extends TpmEnum<TPM_SPEC>
         DAY_OF_YEAR
     }
 
-    private static ValueMap<TPM_SPEC> _ValueMap = new ValueMap<TPM_SPEC>();
+    private static ValueMap<TPM_SPEC> _ValueMap = new ValueMap<TPM_SPEC>(4, TPM_SPEC::new);
 
     /** These definitions provide mapping of the Java enum constants to their TPM integer values */
     public static final TPM_SPEC
@@ -44,9 +44,9 @@ public final class TPM_SPEC extends TpmEnum<TPM_SPEC>
 
     public TPM_SPEC () { super(0, _ValueMap); }
     public TPM_SPEC (int value) { super(value, _ValueMap); }
-    public static TPM_SPEC fromInt (int value) { return TpmEnum.fromInt(value, _ValueMap, TPM_SPEC.class); }
-    public static TPM_SPEC fromTpm (byte[] buf) { return TpmEnum.fromTpm(buf, _ValueMap, TPM_SPEC.class); }
-    public static TPM_SPEC fromTpm (TpmBuffer buf) { return TpmEnum.fromTpm(buf, _ValueMap, TPM_SPEC.class); }
+    public static TPM_SPEC fromInt (int value) { return TpmEnum.fromInt(value, _ValueMap); }
+    public static TPM_SPEC fromTpm (byte[] buf) { return TpmEnum.fromTpm(buf, _ValueMap); }
+    public static TPM_SPEC fromTpm (TpmBuffer buf) { return TpmEnum.fromTpm(buf, _ValueMap); }
     public TPM_SPEC._N asEnum() { return (TPM_SPEC._N)NameAsEnum; }
     public static Collection<TPM_SPEC> values() { return _ValueMap.values(); }
     private TPM_SPEC (int value, _N nameAsEnum) { super(value, nameAsEnum, _ValueMap); }
@@ -95,7 +95,7 @@ public final class TPM_ST extends TpmEnum<TPM_ST>
         FU_MANIFEST
     }
 
-    private static ValueMap<TPM_ST> _ValueMap = new ValueMap<TPM_ST>();
+    private static ValueMap<TPM_ST> _ValueMap = new ValueMap<TPM_ST>(2, TPM_ST::new);
 
     /** These definitions provide mapping of the Java enum constants to their TPM integer values */
     public static final TPM_ST
@@ -120,9 +120,9 @@ public final class TPM_ST extends TpmEnum<TPM_ST>
 
     public TPM_ST () { super(0, _ValueMap); }
     public TPM_ST (int value) { super(value, _ValueMap); }
-    public static TPM_ST fromInt (int value) { return TpmEnum.fromInt(value, _ValueMap, TPM_ST.class); }
-    public static TPM_ST fromTpm (byte[] buf) { return TpmEnum.fromTpm(buf, _ValueMap, TPM_ST.class); }
-    public static TPM_ST fromTpm (TpmBuffer buf) { return TpmEnum.fromTpm(buf, _ValueMap, TPM_ST.class); }
+    public static TPM_ST fromInt (int value) { return TpmEnum.fromInt(value, _ValueMap); }
+    public static TPM_ST fromTpm (byte[] buf) { return TpmEnum.fromTpm(buf, _ValueMap); }
+    public static TPM_ST fromTpm (TpmBuffer buf) { return TpmEnum.fromTpm(buf, _ValueMap); }
     public TPM_ST._N asEnum() { return (TPM_ST._N)NameAsEnum; }
     public static Collection<TPM_ST> values() { return _ValueMap.values(); }
     private TPM_ST (int value, _N nameAsEnum) { super(value, nameAsEnum, _ValueMap); }
@@ -32,7 +32,7 @@ public final class TPM_SU extends TpmEnum<TPM_SU>
         STATE
     }
 
-    private static ValueMap<TPM_SU> _ValueMap = new ValueMap<TPM_SU>();
+    private static ValueMap<TPM_SU> _ValueMap = new ValueMap<TPM_SU>(2, TPM_SU::new);
 
     /** These definitions provide mapping of the Java enum constants to their TPM integer values */
     public static final TPM_SU
@@ -41,9 +41,9 @@ public final class TPM_SU extends TpmEnum<TPM_SU>
 
     public TPM_SU () { super(0, _ValueMap); }
     public TPM_SU (int value) { super(value, _ValueMap); }
-    public static TPM_SU fromInt (int value) { return TpmEnum.fromInt(value, _ValueMap, TPM_SU.class); }
-    public static TPM_SU fromTpm (byte[] buf) { return TpmEnum.fromTpm(buf, _ValueMap, TPM_SU.class); }
-    public static TPM_SU fromTpm (TpmBuffer buf) { return TpmEnum.fromTpm(buf, _ValueMap, TPM_SU.class); }
+    public static TPM_SU fromInt (int value) { return TpmEnum.fromInt(value, _ValueMap); }
+    public static TPM_SU fromTpm (byte[] buf) { return TpmEnum.fromTpm(buf, _ValueMap); }
+    public static TPM_SU fromTpm (TpmBuffer buf) { return TpmEnum.fromTpm(buf, _ValueMap); }
     public TPM_SU._N asEnum() { return (TPM_SU._N)NameAsEnum; }
     public static Collection<TPM_SU> values() { return _ValueMap.values(); }
     private TPM_SU (int value, _N nameAsEnum) { super(value, nameAsEnum, _ValueMap); }
@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -54,7 +54,7 @@ public class TSS_KEY extends TpmStructure
      */
     public static TSS_KEY fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TSS_KEY.class);
+        return new TpmBuffer(byteBuf).createObj(TSS_KEY::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -69,7 +69,7 @@ public class TSS_KEY extends TpmStructure
      */
     public static TSS_KEY fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TSS_KEY.class);
+        return buf.createObj(TSS_KEY::new);
     }
 
     @Override
@@ -87,6 +87,26 @@ public class TSS_KEY extends TpmStructure
         _p.add(d, "TPMT_PUBLIC", "publicPart", publicPart);
         _p.add(d, "byte[]", "privatePart", privatePart);
     }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TSS_KEY that = (TSS_KEY)o;
+        return Objects.equals(publicPart, that.publicPart)
+            && Arrays.equals(privatePart, that.privatePart);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Objects.hashCode(publicPart);
+        _h = 31 * _h + Arrays.hashCode(privatePart);
+        return _h;
+    }
 }
 
 //<<<
@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -63,7 +63,7 @@ public class TssObject extends TpmStructure
      */
     public static TssObject fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(TssObject.class);
+        return new TpmBuffer(byteBuf).createObj(TssObject::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -78,7 +78,7 @@ public class TssObject extends TpmStructure
      */
     public static TssObject fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(TssObject.class);
+        return buf.createObj(TssObject::new);
     }
 
     @Override
@@ -97,6 +97,28 @@ public class TssObject extends TpmStructure
         _p.add(d, "TPMT_SENSITIVE", "Sensitive", Sensitive);
         _p.add(d, "TPM2B_PRIVATE", "Private", Private);
     }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        TssObject that = (TssObject)o;
+        return Objects.equals(Public, that.Public)
+            && Objects.equals(Sensitive, that.Sensitive)
+            && Objects.equals(Private, that.Private);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Objects.hashCode(Public);
+        _h = 31 * _h + Objects.hashCode(Sensitive);
+        _h = 31 * _h + Objects.hashCode(Private);
+        return _h;
+    }
 }
 
 //<<<
@@ -1,7 +1,8 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
+import java.nio.ByteBuffer;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -36,7 +37,7 @@ public class UnsealResponse extends RespStructure
      */
     public static UnsealResponse fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(UnsealResponse.class);
+        return new TpmBuffer(byteBuf).createObj(UnsealResponse::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -51,7 +52,7 @@ public class UnsealResponse extends RespStructure
      */
     public static UnsealResponse fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(UnsealResponse.class);
+        return buf.createObj(UnsealResponse::new);
     }
 
     @Override
@@ -69,8 +70,43 @@ public class UnsealResponse extends RespStructure
         _p.add(d, "byte[]", "outData", outData);
     }
 
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        UnsealResponse that = (UnsealResponse)o;
+        return Arrays.equals(outData, that.outData);
+    }
+
+    @Override
+    public int hashCode() { return Arrays.hashCode(outData); }
+
     @Override
     public SessEncInfo sessEncInfo() { return new SessEncInfo(2, 1); }
+
+    /** Lazy view of the response parameters retained in the response buffer
+     *  (see {@link RespView} and {@link Tpm#_view(RespView)})
+     */
+    public static class View extends RespView<UnsealResponse>
+    {
+        static final int[] Layout = {SIZED};
+
+        public View() { super(UnsealResponse.class, Layout); }
+
+        /** Unsealed data
+         *  Size of outData is limited to be no more than 128 octets.
+         */
+        public ByteBuffer outData() { return sizedBytes(0); }
+
+        @Override
+        protected UnsealResponse newResponse() { return new UnsealResponse(); }
+
+        @Override
+        protected Object readField(int field, TpmBuffer buf) { return buf.readSizedByteBuf(); }
+    }
 }
 
 //<<<
@@ -1,7 +1,8 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
+import java.nio.ByteBuffer;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -34,7 +35,7 @@ public class Vendor_TCG_TestResponse extends RespStructure
      */
     public static Vendor_TCG_TestResponse fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(Vendor_TCG_TestResponse.class);
+        return new TpmBuffer(byteBuf).createObj(Vendor_TCG_TestResponse::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -49,7 +50,7 @@ public class Vendor_TCG_TestResponse extends RespStructure
      */
     public static Vendor_TCG_TestResponse fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(Vendor_TCG_TestResponse.class);
+        return buf.createObj(Vendor_TCG_TestResponse::new);
     }
 
     @Override
@@ -67,8 +68,41 @@ public class Vendor_TCG_TestResponse extends RespStructure
         _p.add(d, "byte[]", "outputData", outputData);
     }
 
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        Vendor_TCG_TestResponse that = (Vendor_TCG_TestResponse)o;
+        return Arrays.equals(outputData, that.outputData);
+    }
+
+    @Override
+    public int hashCode() { return Arrays.hashCode(outputData); }
+
     @Override
     public SessEncInfo sessEncInfo() { return new SessEncInfo(2, 1); }
+
+    /** Lazy view of the response parameters retained in the response buffer
+     *  (see {@link RespView} and {@link Tpm#_view(RespView)})
+     */
+    public static class View extends RespView<Vendor_TCG_TestResponse>
+    {
+        static final int[] Layout = {SIZED};
+
+        public View() { super(Vendor_TCG_TestResponse.class, Layout); }
+
+        /** Dummy data */
+        public ByteBuffer outputData() { return sizedBytes(0); }
+
+        @Override
+        protected Vendor_TCG_TestResponse newResponse() { return new Vendor_TCG_TestResponse(); }
+
+        @Override
+        protected Object readField(int field, TpmBuffer buf) { return buf.readSizedByteBuf(); }
+    }
 }
 
 //<<<
@@ -1,7 +1,8 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
+import java.nio.ByteBuffer;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -35,7 +36,7 @@ public class VerifySignatureResponse extends RespStructure
      */
     public static VerifySignatureResponse fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(VerifySignatureResponse.class);
+        return new TpmBuffer(byteBuf).createObj(VerifySignatureResponse::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -50,7 +51,7 @@ public class VerifySignatureResponse extends RespStructure
      */
     public static VerifySignatureResponse fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(VerifySignatureResponse.class);
+        return buf.createObj(VerifySignatureResponse::new);
     }
 
     @Override
@@ -67,6 +68,41 @@ public class VerifySignatureResponse extends RespStructure
     {
         _p.add(d, "TPMT_TK_VERIFIED", "validation", validation);
     }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        VerifySignatureResponse that = (VerifySignatureResponse)o;
+        return Objects.equals(validation, that.validation);
+    }
+
+    @Override
+    public int hashCode() { return Objects.hashCode(validation); }
+
+    /** Lazy view of the response parameters retained in the response buffer
+     *  (see {@link RespView} and {@link Tpm#_view(RespView)})
+     */
+    public static class View extends RespView<VerifySignatureResponse>
+    {
+        static final int[] Layout = {DECODED};
+
+        public View() { super(VerifySignatureResponse.class, Layout); }
+
+        public TPMT_TK_VERIFIED validation() { return field(0); }
+
+        /** Read-only wire representation of validation */
+        public ByteBuffer validationBytes() { return bytes(0); }
+
+        @Override
+        protected VerifySignatureResponse newResponse() { return new VerifySignatureResponse(); }
+
+        @Override
+        protected Object readField(int field, TpmBuffer buf) { return TPMT_TK_VERIFIED.fromTpm(buf); }
+    }
 }
 
 //<<<
@@ -1,7 +1,8 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
+import java.nio.ByteBuffer;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -34,8 +35,8 @@ public class ZGen_2PhaseResponse extends RespStructure
     @Override
     public void initFromTpm(TpmBuffer buf)
     {
-        outZ1 = buf.createSizedObj(TPMS_ECC_POINT.class);
-        outZ2 = buf.createSizedObj(TPMS_ECC_POINT.class);
+        outZ1 = buf.createSizedObj(TPMS_ECC_POINT::new);
+        outZ2 = buf.createSizedObj(TPMS_ECC_POINT::new);
     }
 
     /** @deprecated Use {@link #toBytes()} instead
@@ -49,7 +50,7 @@ public class ZGen_2PhaseResponse extends RespStructure
      */
     public static ZGen_2PhaseResponse fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(ZGen_2PhaseResponse.class);
+        return new TpmBuffer(byteBuf).createObj(ZGen_2PhaseResponse::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -64,7 +65,7 @@ public class ZGen_2PhaseResponse extends RespStructure
      */
     public static ZGen_2PhaseResponse fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(ZGen_2PhaseResponse.class);
+        return buf.createObj(ZGen_2PhaseResponse::new);
     }
 
     @Override
@@ -83,8 +84,63 @@ public class ZGen_2PhaseResponse extends RespStructure
         _p.add(d, "TPMS_ECC_POINT", "outZ2", outZ2);
     }
 
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        ZGen_2PhaseResponse that = (ZGen_2PhaseResponse)o;
+        return Objects.equals(outZ1, that.outZ1)
+            && Objects.equals(outZ2, that.outZ2);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Objects.hashCode(outZ1);
+        _h = 31 * _h + Objects.hashCode(outZ2);
+        return _h;
+    }
+
     @Override
     public SessEncInfo sessEncInfo() { return new SessEncInfo(2, 1); }
+
+    /** Lazy view of the response parameters retained in the response buffer
+     *  (see {@link RespView} and {@link Tpm#_view(RespView)})
+     */
+    public static class View extends RespView<ZGen_2PhaseResponse>
+    {
+        static final int[] Layout = {SIZED, SIZED};
+
+        public View() { super(ZGen_2PhaseResponse.class, Layout); }
+
+        /** X and Y coordinates of the computed value (scheme dependent) */
+        public TPMS_ECC_POINT outZ1() { return field(0); }
+
+        /** Read-only wire representation of outZ1 (without its size) */
+        public ByteBuffer outZ1Bytes() { return sizedBytes(0); }
+
+        /** X and Y coordinates of the second computed value (scheme dependent) */
+        public TPMS_ECC_POINT outZ2() { return field(1); }
+
+        /** Read-only wire representation of outZ2 (without its size) */
+        public ByteBuffer outZ2Bytes() { return sizedBytes(1); }
+
+        @Override
+        protected ZGen_2PhaseResponse newResponse() { return new ZGen_2PhaseResponse(); }
+
+        @Override
+        protected Object readField(int field, TpmBuffer buf)
+        {
+            switch (field) {
+                case 0: return buf.createSizedObj(TPMS_ECC_POINT::new);
+                case 1: return buf.createSizedObj(TPMS_ECC_POINT::new);
+                default: return null;
+            }
+        }
+    }
 }
 
 //<<<
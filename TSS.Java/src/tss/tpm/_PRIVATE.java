@@ -1,7 +1,7 @@
 package tss.tpm;
 
 import tss.*;
-
+import java.util.*;
 
 // -----------This is an auto-generated file: do not edit
 
@@ -48,7 +48,7 @@ public class _PRIVATE extends TpmStructure
     {
         integrityOuter = buf.readSizedByteBuf();
         integrityInner = buf.readSizedByteBuf();
-        sensitive = buf.createSizedObj(TPMT_SENSITIVE.class);
+        sensitive = buf.createSizedObj(TPMT_SENSITIVE::new);
     }
 
     /** @deprecated Use {@link #toBytes()} instead
@@ -62,7 +62,7 @@ public class _PRIVATE extends TpmStructure
      */
     public static _PRIVATE fromBytes (byte[] byteBuf) 
     {
-        return new TpmBuffer(byteBuf).createObj(_PRIVATE.class);
+        return new TpmBuffer(byteBuf).createObj(_PRIVATE::new);
     }
 
     /** @deprecated Use {@link #fromBytes(byte[])} instead
@@ -77,7 +77,7 @@ public class _PRIVATE extends TpmStructure
      */
     public static _PRIVATE fromTpm (TpmBuffer buf) 
     {
-        return buf.createObj(_PRIVATE.class);
+        return buf.createObj(_PRIVATE::new);
     }
 
     @Override
@@ -96,6 +96,28 @@ public class _PRIVATE extends TpmStructure
         _p.add(d, "byte[]", "integrityInner", integrityInner);
         _p.add(d, "TPMT_SENSITIVE", "sensitive", sensitive);
     }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+            return true;
+        if (o == null || o.getClass() != getClass())
+            return false;
+        _PRIVATE that = (_PRIVATE)o;
+        return Arrays.equals(integrityOuter, that.integrityOuter)
+            && Arrays.equals(integrityInner, that.integrityInner)
+            && Objects.equals(sensitive, that.sensitive);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int _h = Arrays.hashCode(integrityOuter);
+        _h = 31 * _h + Arrays.hashCode(integrityInner);
+        _h = 31 * _h + Objects.hashCode(sensitive);
+        return _h;
+    }
 }
 
 //<<<
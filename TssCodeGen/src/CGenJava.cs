@@ -16,6 +16,7 @@ namespace CodeGen
     class CGenJava : CodeGenBase
     {
         bool needsUtil; // needs java.util.*
+        bool needsNio;  // needs java.nio.ByteBuffer
 
         public CGenJava(string rootDir) : base(rootDir + @"src\", "TpmExtensions.java.snips") { }
 
@@ -91,7 +92,7 @@ namespace CodeGen
             }
             TabOut("}");
 
-            Write($"private static ValueMap<{e.Name}> _ValueMap = new ValueMap<{e.Name}>();");
+            Write($"private static ValueMap<{e.Name}> _ValueMap = new ValueMap<{e.Name}>({wireSize}, {e.Name}::new);");
 
             WriteComment("These definitions provide mapping of the Java enum constants to their TPM integer values");
             Write($"public static final {e.Name}");
@@ -119,15 +120,15 @@ namespace CodeGen
             Write($"public {e.Name} (int value) {{ super(value, _ValueMap); }}", true);
             if (e is TpmBitfield)
                 Write($"public {e.Name} ({e.Name}...attrs) {{ super(_ValueMap, attrs); }}", true);
-            Write($"public static {e.Name} fromInt (int value) {{ return TpmEnum.fromInt(value, _ValueMap, {e.Name}.class); }}", true);
-            Write($"public static {e.Name} fromTpm (byte[] buf) {{ return TpmEnum.fromTpm(buf, _ValueMap, {e.Name}.class); }}", true);
-            Write($"public static {e.Name} fromTpm (TpmBuffer buf) {{ return TpmEnum.fromTpm(buf, _ValueMap, {e.Name}.class); }}", true);
+            Write($"public static {e.Name} fromInt (int value) {{ return TpmEnum.fromInt(value, _ValueMap); }}", true);
+            Write($"public static {e.Name} fromTpm (byte[] buf) {{ return TpmEnum.fromTpm(buf, _ValueMap); }}", true);
+            Write($"public static {e.Name} fromTpm (TpmBuffer buf) {{ return TpmEnum.fromTpm(buf, _ValueMap); }}", true);
             Write($"public {e.Name}._N asEnum() {{ return ({e.Name}._N)NameAsEnum; }}", true);
             Write($"public static Collection<{e.Name}> values() {{ return _ValueMap.values(); }}", true);
             if (e is TpmBitfield)
             {
                 Write($"public boolean hasAttr ({ e.Name} attr) {{ return super.hasAttr(attr); }}", true);
-                Write($"public {e.Name} maskAttr ({e.Name} attr) {{ return super.maskAttr(attr, _ValueMap, {e.Name}.class); }}", true);
+                Write($"public {e.Name} maskAttr ({e.Name} attr) {{ return super.maskAttr(attr, _ValueMap); }}", true);
             }
 
             // Do not include params and bits of a mask of a multibit member of a bitfield
@@ -167,35 +168,31 @@ namespace CodeGen
 
         void GenUnionFactory()
         {
-            WriteComment("Holds static factory method for instantiating TPM unions.\n" +
+            WriteComment("Holds static factory methods for instantiating TPM unions, one per union type.\n" +
                 "Note: A wrapper class is used instead of simply static function solely " +
                 "for the sake of uniformity with languages like C# and Java.");
             Write("class UnionFactory");
             TabIn("{");
-            WriteComment("Creates specific TPM union member based on the union type and selector (tag) value");
-            Write("@SuppressWarnings(\"unchecked\")");
-            Write("public static <U extends TpmUnion, S extends TpmEnum<S>>");
-            Write("U create(String unionType, S selector) // S = TPM_ALG_ID | TPM_CAP | TPM_ST");
-            TabIn("{");
-            string elsePref = "";
             foreach (TpmUnion u in TpmTypes.Get<TpmUnion>())
             {
-                TabIn($"{elsePref}if (unionType == \"{u.Name}\")");
-                elsePref = "else ";
-                TabIn($"switch ((({GetUnionSelectorType(u)})selector).asEnum()) {{");
+                string selType = GetUnionSelectorType(u);
+                WriteComment($"Creates specific {u.Name} union member based on the selector (tag) value");
+                Write($"public static {u.Name} create{u.Name}({selType} selector)");
+                TabIn("{");
+                Write($"{selType}._N sel = selector.asEnum();");
+                TabIn("if (sel != null)");
+                TabIn("switch (sel) {");
                 foreach (UnionMember m in u.Members)
                 {
                     string newObj = m.Type.IsElementary() ? TargetLang.Null : $"new {m.Type.Name}()";
-                    Write($"case {m.SelectorValue.Name}: return (U) {newObj};");
+                    Write($"case {m.SelectorValue.Name}: return {newObj};");
                 }
                 Write("default:");
-                TabOut("}", false);  // switch (selector)
-                TabOut();   // if / else if
+                TabOut("}", false);  // switch (sel)
+                TabOut();   // if (sel != null)
+                Write($"throw new RuntimeException(\"Unknown selector value \" + selector.toString() + \" for union {u.Name}\");");
+                TabOut($"}} // create{u.Name}()");
             }
-            TabIn("else");
-            Write("throw new RuntimeException(\"UnionFactory::Create(): Unknown union type \" + unionType);");
-            TabOut("throw new RuntimeException(\"Unknown selector value \" + selector.toString() + \" for union \" + unionType);");
-            TabOut("} // create()");
             TabOut("}; // class UnionFactory");
         }
 
@@ -379,7 +376,7 @@ namespace CodeGen
                          "@return New object constructed from its wire representation");
             Write($"public static {className} fromBytes (byte[] byteBuf) ");
             TabIn("{");
-            Write($"return new TpmBuffer(byteBuf).createObj({className}.class);");
+            Write($"return new TpmBuffer(byteBuf).createObj({className}::new);");
             TabOut("}");
 
             WriteComment("@deprecated Use {@link #fromBytes(byte[])} instead\n" +
@@ -392,7 +389,7 @@ namespace CodeGen
                          "@return New object constructed from its wire representation");
             Write($"public static {className} fromTpm (TpmBuffer buf) ");
             TabIn("{");
-            Write($"return buf.createObj({className}.class);");
+            Write($"return buf.createObj({className}::new);");
             TabOut("}");
 
             Write("@Override");
@@ -412,6 +409,8 @@ namespace CodeGen
                 foreach (StructField f in ctorParams)
                     Write($"_p.add(d, \"{f.TypeName}\", \"{f.Name}\", {f.Name});");
                 TabOut("}", false);
+
+                GenEqualsHashCode(s, ctorParams);
             }
 
             var info = s.IsCmdStruct() ? s.Info as CmdStructInfo : null;
@@ -446,10 +445,165 @@ namespace CodeGen
                 }
             }
 
+            if (info != null && info.IsResponse() && s.MarshalFields.Count() > 0)
+                GenRespView(s);
+
             InsertSnip(s.Name);
             TabOut("}", false);
         } // GenStruct()
 
+        /// <summary> Generates field-wise equals() and hashCode() </summary>
+        void GenEqualsHashCode(TpmStruct s, StructField[] fields)
+        {
+            needsUtil = true;   // Arrays and Objects
+            var primitives = new string[] {"byte", "short", "int", "long"};
+            var eqOps = new List<string>();
+            var hashOps = new List<string>();
+            foreach (var f in fields)
+            {
+                string name = f.Name;
+                if (f.TypeName.EndsWith("[]"))
+                {
+                    eqOps.Add($"Arrays.equals({name}, that.{name})");
+                    hashOps.Add($"Arrays.hashCode({name})");
+                }
+                else if (primitives.Contains(f.TypeName))
+                {
+                    eqOps.Add($"{name} == that.{name}");
+                    hashOps.Add(f.TypeName == "long" ? $"Long.hashCode({name})" : name);
+                }
+                else
+                {
+                    eqOps.Add($"Objects.equals({name}, that.{name})");
+                    hashOps.Add($"Objects.hashCode({name})");
+                }
+            }
+
+            Write("@Override");
+            Write("public boolean equals(Object o)");
+            TabIn("{");
+            Write("if (this == o)");
+            Write("    return true;");
+            Write("if (o == null || o.getClass() != getClass())");
+            Write("    return false;");
+            Write($"{s.Name} that = ({s.Name})o;");
+            Write("return " + string.Join("\n    && ", eqOps) + ";");
+            TabOut("}");
+
+            Write("@Override");
+            if (hashOps.Count == 1)
+                Write($"public int hashCode() {{ return {hashOps[0]}; }}");
+            else
+            {
+                Write("public int hashCode()");
+                TabIn("{");
+                // The accumulator name cannot clash with the fields (cf. _p above)
+                Write($"int _h = {hashOps[0]};");
+                foreach (var op in hashOps.Skip(1))
+                    Write($"_h = 31 * _h + {op};");
+                Write("return _h;");
+                TabOut("}", false);
+            }
+        } // GenEqualsHashCode()
+
+        /// <summary> Generates the nested View class of a response structure exposing its fields
+        /// lazily over the retained response buffer (see RespView) </summary>
+        void GenRespView(TpmStruct s)
+        {
+            // Union selectors are unmarshaled as a part of the union field
+            var fields = s.MarshalFields.Where(f => f.MarshalType != MarshalType.UnionSelector).ToArray();
+            var layout = new List<string>();
+            var readOps = new List<string>();
+            foreach (var f in fields)
+            {
+                var t = f.Type.StripTypedefs();
+                string layoutCode = "DECODED",
+                       readOp = GetFromTpmFieldsMarshalOps(new StructField[] {f})[0];
+                readOp = readOp.Substring(readOp.IndexOf(" = ") + 3);
+                if (f.MarshalType == MarshalType.UnionObject)
+                {
+                    var sel = (f as UnionField).UnionSelector;
+                    string selOp = sel.IsValueType() ? $"buf.read{WireNameForInt(sel.Type.GetSize())}()"
+                                                     : $"{sel.TypeName}.fromTpm(buf)";
+                    readOp = $"readUnion(UnionFactory.create{f.TypeName}({selOp}), buf)";
+                }
+                else if (f.MarshalType == MarshalType.SizedStruct || f.IsByteBuffer() && f.SizeTagField.Type.GetSize() == 2
+                         || f.MarshalType == MarshalType.Normal && t.SpecName.StartsWith("TPM2B_"))
+                {
+                    layoutCode = "SIZED";
+                }
+                else if (f.MarshalType == MarshalType.Normal && (f.IsValueType() || t is TpmEnum || t is TpmBitfield))
+                {
+                    layoutCode = f.Type.GetSize().ToString();
+                }
+                layout.Add(layoutCode);
+                readOps.Add(readOp);
+            }
+
+            WriteComment("Lazy view of the response parameters retained in the response buffer\n" +
+                         "(see {@link RespView} and {@link Tpm#_view(RespView)})");
+            Write($"public static class View extends RespView<{s.Name}>");
+            TabIn("{");
+            Write($"static final int[] Layout = {{{string.Join(", ", layout)}}};");
+            Write("");
+            Write($"public View() {{ super({s.Name}.class, Layout); }}");
+
+            for (int i = 0; i < fields.Length; ++i)
+            {
+                var f = fields[i];
+                var t = f.Type.StripTypedefs();
+                Write("");
+                WriteComment(f);
+                if (f.IsByteBuffer() && layout[i] == "SIZED")
+                {
+                    needsNio = true;
+                    Write($"public ByteBuffer {f.Name}() {{ return sizedBytes({i}); }}");
+                    continue;
+                }
+                if (f.IsValueType())
+                {
+                    string wireName = WireNameForInt(f.Type.GetSize());
+                    Write($"public {f.TypeName} {f.Name}() {{ return {char.ToLower(wireName[0]) + wireName.Substring(1)}At({i}); }}");
+                    continue;
+                }
+                Write($"public {f.TypeName} {f.Name}() {{ return field({i}); }}");
+                if (f.MarshalType == MarshalType.UnionObject)
+                {
+                    var sel = (f as UnionField).UnionSelector;
+                    WriteComment(sel);
+                    Write($"public {sel.TypeName} {sel.Name}() {{ return {f.Name}().GetUnionSelector(); }}");
+                }
+                else if ((layout[i] != "DECODED" || f.MarshalType == MarshalType.Normal)
+                         && !(t is TpmEnum || t is TpmBitfield))
+                {
+                    needsNio = true;
+                    bool sized = f.MarshalType == MarshalType.SizedStruct;
+                    WriteComment($"Read-only wire representation of {f.Name}" + (sized ? " (without its size)" : ""));
+                    Write($"public ByteBuffer {f.Name}Bytes() {{ return {(sized ? "sizedBytes" : "bytes")}({i}); }}");
+                }
+            }
+
+            Write("@Override");
+            Write($"protected {s.Name} newResponse() {{ return new {s.Name}(); }}");
+            Write("@Override");
+            if (readOps.Count == 1)
+                Write($"protected Object readField(int field, TpmBuffer buf) {{ return {readOps[0]}; }}");
+            else
+            {
+                Write("protected Object readField(int field, TpmBuffer buf)");
+                TabIn("{");
+                Write("switch (field) {");
+                TabIn();
+                for (int i = 0; i < readOps.Count; ++i)
+                    Write($"case {i}: return {readOps[i]};");
+                Write("default: return null;");
+                TabOut();
+                Write("}");
+                TabOut("}", false);
+            }
+            TabOut("}", false);
+        } // GenRespView()
+
         void GenCommands()
         {
             string tpmComment =
@@ -601,8 +755,13 @@ namespace CodeGen
 
             string temp = b.ToString();
             b.Clear();
-            temp = temp.Replace(ExtraImportsTag, needsUtil ? "import java.util.*;" : "");
-            needsUtil = false;
+            var imports = new List<string>();
+            if (needsUtil)
+                imports.Add("import java.util.*;");
+            if (needsNio)
+                imports.Add("import java.nio.ByteBuffer;");
+            temp = temp.Replace(ExtraImportsTag, string.Join(eol, imports));
+            needsUtil = needsNio = false;
             File.WriteAllText(fileName, temp);
         }
 
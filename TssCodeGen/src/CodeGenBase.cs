@@ -195,6 +195,7 @@ namespace CodeGen
                     case MarshalType.SizedStruct:
                         Debug.Assert(f.SizeTagField != null);
                         marshalOps.Add(TargetLang.Cpp ? $"buf.readSizedObj({fieldName})"
+                                     : TargetLang.Java ? $"{fieldName} = buf.createSizedObj({f.TypeName}::new)"
                                                       : $"{fieldName} = buf.createSizedObj({TargetLang.TypeInfo(f.TypeName)})");
                         break;
 
@@ -216,8 +217,12 @@ namespace CodeGen
                             marshalOps.Add(TargetLang.Cpp ? $"buf.readValArr({fieldName}, {f.Type.GetSize()})"
                                                           : $"{fieldName} = buf.readValArr({f.Type.GetSize()})");
                         else
+                        {
+                            string elemType = f.TypeName.TrimEnd('[', ']');
                             marshalOps.Add(TargetLang.Cpp ? $"buf.readObjArr({fieldName})"
-                                                          : $"{fieldName} = buf.readObjArr({TargetLang.TypeInfo(f.TypeName.TrimEnd('[', ']'))})");
+                                         : TargetLang.Java ? $"{fieldName} = buf.readObjArr({elemType}::fromTpm, {elemType}[]::new)"
+                                                          : $"{fieldName} = buf.readObjArr({TargetLang.TypeInfo(elemType)})");
+                        }
                         break;
 
                     case MarshalType.UnionSelector:
@@ -229,6 +234,7 @@ namespace CodeGen
                     case MarshalType.UnionObject:
                         var selector = (f as UnionField).UnionSelector.Name;
                         marshalOps.Add(TargetLang.Cpp ? $"UnionFactory::Create({fieldName}, {selector})"
+                                     : TargetLang.Java ? $"{fieldName} = UnionFactory.create{f.TypeName}({selector})"
                                                       : $"{fieldName} = UnionFactory.create({TargetLang.Quote(f.TypeName)}, {selector})");
                         marshalOps.Add($"{fieldName}{TargetLang.Member}initFromTpm(buf)");
                         break;